@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
 
 import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
 import com.holonplatform.async.http.internal.AsyncRestClientFactoryRegistry;
@@ -204,6 +205,28 @@ public interface AsyncRestClient extends RestClientOperations<AsyncRestClient, A
 			return getForEntity(rt).thenApply(r -> r.orElse(Collections.emptyList()));
 		}
 
+		/**
+		 * Invoke the request using <code>GET</code> method and asynchronously receive a JSON array response entity
+		 * payload back as a {@link Stream} of elements.
+		 * <p>
+		 * The {@link CompletionStage} is completed as soon as the response is available: the array elements are then
+		 * read from the response stream and decoded one at a time, while the stream is consumed, so that the whole
+		 * array is never kept in memory. Cancelling the {@link CompletionStage} before its completion cancels the
+		 * request invocation, while closing the stream releases the response resources when the stream is not fully
+		 * consumed. The response is closed automatically when the array end is reached.
+		 * </p>
+		 * @param <T> Response element type
+		 * @param responseType Expected array element type
+		 * @return A {@link CompletionStage} to handle the stream of the response array elements, an empty stream if the
+		 *         response entity is empty
+		 * @throws HttpClientInvocationException Internal invocation failure (for example, an I/O error on communication
+		 *         channel or a malformed JSON array, also thrown during the stream consumption)
+		 * @throws UnsuccessfulResponseException In case the status code of the response returned by the server is not a
+		 *         successful type status code, i.e. it is not a <code>2xx</code> status code
+		 * @since 5.6.0
+		 */
+		<T> CompletionStage<Stream<T>> getAsStream(Class<T> responseType);
+
 		// POST
 
 		/**
@@ -765,6 +788,74 @@ public interface AsyncRestClient extends RestClientOperations<AsyncRestClient, A
 
 	}
 
+	/**
+	 * Set whether to coalesce the identical in-flight requests (single-flight mode).
+	 * <p>
+	 * When enabled, a <code>GET</code> or <code>HEAD</code> request without entity which matches a request still in
+	 * flight (same method, resolved URI, query parameters and headers) is not performed again: the response of the
+	 * in-flight request is shared by all the waiting callers, each of which receives its own {@link ResponseEntity}
+	 * instance, decoded from the buffered response body. Requests which expect an {@link InputStream} response are
+	 * never coalesced.
+	 * </p>
+	 * <p>
+	 * Cancelling the {@link CompletionStage} returned to a caller does not affect the other callers: the shared request
+	 * is cancelled only when all the waiting callers have cancelled.
+	 * </p>
+	 * @param coalesceRequests <code>true</code> to enable the request coalescing, <code>false</code> to disable it
+	 * @return The updated AsyncRestClient
+	 * @since 5.6.0
+	 */
+	AsyncRestClient withRequestCoalescing(boolean coalesceRequests);
+
+	/**
+	 * Get whether the identical in-flight requests are coalesced.
+	 * @return <code>true</code> if the request coalescing is enabled
+	 * @since 5.6.0
+	 * @see #withRequestCoalescing(boolean)
+	 */
+	boolean isRequestCoalescing();
+
+	/**
+	 * Set the {@link HedgingPolicy} to use to send hedged requests: when a request is not completed within the hedge
+	 * delay, a backup request is sent and the first successful response is used.
+	 * <p>
+	 * When a {@link #withRetryPolicy(com.holonplatform.http.rest.RetryPolicy)} is configured too, each attempt is
+	 * hedged.
+	 * </p>
+	 * @param hedgingPolicy The hedging policy to use, <code>null</code> to disable the hedged requests
+	 * @return The updated AsyncRestClient
+	 * @since 5.6.0
+	 */
+	AsyncRestClient withHedgingPolicy(HedgingPolicy hedgingPolicy);
+
+	/**
+	 * Get the {@link HedgingPolicy} used to send hedged requests, if configured.
+	 * @return Optional hedging policy
+	 * @since 5.6.0
+	 */
+	Optional<HedgingPolicy> getHedgingPolicy();
+
+	/**
+	 * Set the {@link ConcurrencyLimit} to use to limit the in-flight requests of each request target (scheme, host and
+	 * port). The requests which exceed the limit are queued or rejected with a
+	 * {@link com.holonplatform.http.exceptions.ConcurrencyLimitExceededException}.
+	 * <p>
+	 * The limit applies to the actual request invocations: each retried or hedged request counts against the limit,
+	 * while the responses served by the {@link com.holonplatform.http.rest.HttpCache} do not.
+	 * </p>
+	 * @param concurrencyLimit The concurrency limit to use, <code>null</code> to disable the concurrency limit
+	 * @return The updated AsyncRestClient
+	 * @since 5.6.0
+	 */
+	AsyncRestClient withConcurrencyLimit(ConcurrencyLimit concurrencyLimit);
+
+	/**
+	 * Get the {@link ConcurrencyLimit} used to limit the in-flight requests, if configured.
+	 * @return Optional concurrency limit
+	 * @since 5.6.0
+	 */
+	Optional<ConcurrencyLimit> getConcurrencyLimit();
+
 	// Builders
 
 	/**
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.holonplatform.async.http.internal.DefaultConcurrencyLimit;
+import com.holonplatform.http.exceptions.ConcurrencyLimitExceededException;
+
+/**
+ * Limits the number of in-flight requests for each request target (scheme, host and port), acting as a bulkhead which
+ * can be configured for an {@link AsyncRestClient} using {@link AsyncRestClient#withConcurrencyLimit(ConcurrencyLimit)}.
+ * <p>
+ * When the limit of a target is reached, the new requests are queued until a running request completes. When the
+ * queue is full, or a request waits in the queue longer than the queue timeout, a request is rejected according to
+ * the {@link RejectionPolicy}: a rejected request completes with a {@link ConcurrencyLimitExceededException}.
+ * </p>
+ * <p>
+ * The limit of each target can be fixed or adjusted according to the observed latency, see {@link Algorithm}. Since
+ * the limit state is bound to this object, the same {@link ConcurrencyLimit} can be shared by more clients to limit
+ * the overall requests to the same targets.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public interface ConcurrencyLimit {
+
+	/**
+	 * Default initial limit
+	 */
+	static final int DEFAULT_LIMIT = 20;
+
+	/**
+	 * Default minimum limit
+	 */
+	static final int DEFAULT_MIN_LIMIT = 1;
+
+	/**
+	 * Default maximum limit
+	 */
+	static final int DEFAULT_MAX_LIMIT = 200;
+
+	/**
+	 * Default maximum number of queued requests for each target
+	 */
+	static final int DEFAULT_MAX_QUEUE_SIZE = 100;
+
+	/**
+	 * Default {@link Algorithm#AIMD} decrease ratio
+	 */
+	static final double DEFAULT_BACKOFF_RATIO = 0.9d;
+
+	/**
+	 * Default {@link Algorithm#AIMD} latency threshold in milliseconds
+	 */
+	static final long DEFAULT_LATENCY_THRESHOLD = 5000L;
+
+	/**
+	 * Default {@link Algorithm#GRADIENT} latency tolerance
+	 */
+	static final double DEFAULT_TOLERANCE = 1.5d;
+
+	/**
+	 * Limit adjustment algorithms.
+	 */
+	public enum Algorithm {
+
+		/**
+		 * The limit never changes.
+		 */
+		FIXED,
+
+		/**
+		 * Additive increase, multiplicative decrease: the limit is increased by one when a request succeeds while the
+		 * limit is used for at least a half, and multiplied by the backoff ratio when a request fails, is rejected by
+		 * the server with a <code>429</code> or <code>503</code> status, or takes longer than the latency threshold.
+		 */
+		AIMD,
+
+		/**
+		 * The limit follows the ratio between the long term average latency and the latency of each request: when
+		 * the requests latency grows beyond the long term average multiplied by the tolerance, the limit is reduced,
+		 * otherwise it is increased by the square root of the current limit.
+		 */
+		GRADIENT
+
+	}
+
+	/**
+	 * Policies to select the request to reject when a target queue is full.
+	 */
+	public enum RejectionPolicy {
+
+		/**
+		 * Reject the new request.
+		 */
+		REJECT_NEWEST,
+
+		/**
+		 * Reject the request which has been queued for the longest time and queue the new request.
+		 */
+		REJECT_OLDEST
+
+	}
+
+	/**
+	 * Get the limit adjustment algorithm.
+	 * @return The limit algorithm
+	 */
+	Algorithm getAlgorithm();
+
+	/**
+	 * Get the limit of a new target.
+	 * @return The initial limit
+	 */
+	int getInitialLimit();
+
+	/**
+	 * Get the minimum limit.
+	 * @return The minimum limit
+	 */
+	int getMinLimit();
+
+	/**
+	 * Get the maximum limit.
+	 * @return The maximum limit
+	 */
+	int getMaxLimit();
+
+	/**
+	 * Get the maximum number of queued requests for each target.
+	 * @return The maximum queue size, <code>0</code> if the requests are never queued
+	 */
+	int getMaxQueueSize();
+
+	/**
+	 * Get the maximum time a request can wait in the queue.
+	 * @return The queue timeout in milliseconds, <code>0</code> for no timeout
+	 */
+	long getQueueTimeout();
+
+	/**
+	 * Get the policy used to select the request to reject when a target queue is full.
+	 * @return The rejection policy
+	 */
+	RejectionPolicy getRejectionPolicy();
+
+	/**
+	 * Get the live metrics of given request target.
+	 * @param target The request target, i.e. the scheme, host and port of the request URI
+	 * @return Optional target metrics, empty if no request was sent to given target or if the target was evicted
+	 *         after being idle for a while
+	 */
+	Optional<Metrics> getMetrics(String target);
+
+	/**
+	 * Get the live metrics of the request targets.
+	 * @return An unmodifiable map of the target metrics, using the request target as key
+	 */
+	Map<String, Metrics> getMetrics();
+
+	/**
+	 * Create a new {@link ConcurrencyLimit} using the default configuration, i.e. a {@link Algorithm#GRADIENT}
+	 * limit.
+	 * @return A new {@link ConcurrencyLimit}
+	 */
+	static ConcurrencyLimit create() {
+		return builder().build();
+	}
+
+	/**
+	 * Create a new {@link ConcurrencyLimit} using a {@link Algorithm#FIXED} limit.
+	 * @param limit The limit (must be greater than 0)
+	 * @return A new {@link ConcurrencyLimit}
+	 */
+	static ConcurrencyLimit fixed(int limit) {
+		return builder().algorithm(Algorithm.FIXED).limit(limit, limit, limit).build();
+	}
+
+	/**
+	 * Get a builder to create and configure a new {@link ConcurrencyLimit}.
+	 * @return A new {@link ConcurrencyLimit} builder
+	 */
+	static Builder builder() {
+		return new DefaultConcurrencyLimit.DefaultBuilder();
+	}
+
+	/**
+	 * Live metrics of a request target.
+	 */
+	public interface Metrics {
+
+		/**
+		 * Get the current limit.
+		 * @return The current limit
+		 */
+		int getLimit();
+
+		/**
+		 * Get the number of in-flight requests.
+		 * @return The in-flight requests count
+		 */
+		int getInFlight();
+
+		/**
+		 * Get the number of queued requests.
+		 * @return The queue depth
+		 */
+		int getQueueSize();
+
+		/**
+		 * Get the number of completed requests.
+		 * @return The completed requests count
+		 */
+		long getCompletedCount();
+
+		/**
+		 * Get the number of rejected requests.
+		 * @return The rejected requests count
+		 */
+		long getRejectedCount();
+
+	}
+
+	/**
+	 * {@link ConcurrencyLimit} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the limit adjustment algorithm. Default is {@link Algorithm#GRADIENT}.
+		 * @param algorithm The algorithm (not null)
+		 * @return this
+		 */
+		Builder algorithm(Algorithm algorithm);
+
+		/**
+		 * Set the limits. Defaults are {@link ConcurrencyLimit#DEFAULT_LIMIT}, {@link ConcurrencyLimit#DEFAULT_MIN_LIMIT}
+		 * and {@link ConcurrencyLimit#DEFAULT_MAX_LIMIT}.
+		 * @param initialLimit The limit of a new target (must be between the minimum and the maximum limit)
+		 * @param minLimit The minimum limit (must be greater than 0)
+		 * @param maxLimit The maximum limit (must be greater than or equal to the minimum limit)
+		 * @return this
+		 */
+		Builder limit(int initialLimit, int minLimit, int maxLimit);
+
+		/**
+		 * Set the maximum number of queued requests for each target. Default is
+		 * {@link ConcurrencyLimit#DEFAULT_MAX_QUEUE_SIZE}.
+		 * @param maxQueueSize The maximum queue size, <code>0</code> to never queue the requests
+		 * @return this
+		 */
+		Builder maxQueueSize(int maxQueueSize);
+
+		/**
+		 * Set the maximum time a request can wait in the queue. By default, there is no timeout.
+		 * @param timeout The queue timeout, <code>0</code> for no timeout
+		 * @param unit The timeout unit (not null)
+		 * @return this
+		 */
+		Builder queueTimeout(long timeout, TimeUnit unit);
+
+		/**
+		 * Set the policy used to select the request to reject when a target queue is full. Default is
+		 * {@link RejectionPolicy#REJECT_NEWEST}.
+		 * @param rejectionPolicy The rejection policy (not null)
+		 * @return this
+		 */
+		Builder rejectionPolicy(RejectionPolicy rejectionPolicy);
+
+		/**
+		 * Set the ratio by which the {@link Algorithm#AIMD} limit is multiplied when a request fails. Default is
+		 * {@link ConcurrencyLimit#DEFAULT_BACKOFF_RATIO}.
+		 * @param backoffRatio The backoff ratio (must be greater than 0 and lower than 1)
+		 * @return this
+		 */
+		Builder backoffRatio(double backoffRatio);
+
+		/**
+		 * Set the latency beyond which a request is considered failed by the {@link Algorithm#AIMD} limit. Default is
+		 * {@link ConcurrencyLimit#DEFAULT_LATENCY_THRESHOLD} milliseconds.
+		 * @param threshold The latency threshold (must be greater than 0)
+		 * @param unit The threshold unit (not null)
+		 * @return this
+		 */
+		Builder latencyThreshold(long threshold, TimeUnit unit);
+
+		/**
+		 * Set the ratio between the request latency and the long term average latency tolerated by the
+		 * {@link Algorithm#GRADIENT} limit before reducing the limit. Default is
+		 * {@link ConcurrencyLimit#DEFAULT_TOLERANCE}.
+		 * @param tolerance The latency tolerance (must be greater than or equal to 1)
+		 * @return this
+		 */
+		Builder tolerance(double tolerance);
+
+		/**
+		 * Build the {@link ConcurrencyLimit}.
+		 * @return A new {@link ConcurrencyLimit}
+		 */
+		ConcurrencyLimit build();
+
+	}
+
+}
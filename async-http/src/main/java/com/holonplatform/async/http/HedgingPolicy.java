@@ -0,0 +1,206 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.holonplatform.async.http.internal.DefaultHedgingPolicy;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.rest.LatencyHistogram;
+import com.holonplatform.http.rest.RetryBudget;
+
+/**
+ * Policy to send hedged requests, which can be configured for an {@link AsyncRestClient} using
+ * {@link AsyncRestClient#withHedgingPolicy(HedgingPolicy)}.
+ * <p>
+ * When a request with a hedgeable method is not completed within the <em>hedge delay</em>, a backup request is sent
+ * and the first successful response is used, while the other request is cancelled. A response is considered
+ * successful if its status code is not a server error one.
+ * </p>
+ * <p>
+ * The latency of each request is recorded in a {@link LatencyHistogram} bound to the request target (scheme, host and
+ * port) and the hedge delay is the latency at the configured percentile, bounded by the configured minimum and maximum
+ * delays. Until enough samples are available, the initial delay is used. An optional {@link RetryBudget} can be used
+ * to limit the overall number of hedged requests.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public interface HedgingPolicy {
+
+	/**
+	 * Default latency percentile used as hedge delay
+	 */
+	static final double DEFAULT_PERCENTILE = 95d;
+
+	/**
+	 * Default hedge delay in milliseconds used until enough latency samples are available
+	 */
+	static final long DEFAULT_INITIAL_DELAY = 100L;
+
+	/**
+	 * Default minimum hedge delay in milliseconds
+	 */
+	static final long DEFAULT_MIN_DELAY = 10L;
+
+	/**
+	 * Default maximum hedge delay in milliseconds
+	 */
+	static final long DEFAULT_MAX_DELAY = 5000L;
+
+	/**
+	 * Default number of latency samples required to compute the hedge delay
+	 */
+	static final int DEFAULT_MIN_SAMPLES = 20;
+
+	/**
+	 * Get the maximum number of backup requests to send for each request.
+	 * @return The maximum number of hedged requests
+	 */
+	int getMaxHedgedRequests();
+
+	/**
+	 * Get whether the requests with given method can be hedged.
+	 * @param method The request method
+	 * @return <code>true</code> if the requests with given method can be hedged
+	 */
+	boolean isHedgeableMethod(HttpMethod method);
+
+	/**
+	 * Get the current hedge delay for given request target.
+	 * @param target The request target, i.e. the scheme, host and port of the request URI
+	 * @return The hedge delay in milliseconds
+	 */
+	long getHedgeDelay(String target);
+
+	/**
+	 * Record the latency of a request.
+	 * @param target The request target, i.e. the scheme, host and port of the request URI
+	 * @param latency The request latency in milliseconds
+	 */
+	void recordLatency(String target, long latency);
+
+	/**
+	 * Get the latency histograms of the request targets.
+	 * @return An unmodifiable map of the latency histograms, using the request target as key
+	 */
+	Map<String, LatencyHistogram> getLatencyHistograms();
+
+	/**
+	 * Get the number of hedged requests sent.
+	 * @return The hedged requests count
+	 */
+	long getHedgedRequestCount();
+
+	/**
+	 * Get the number of times a hedged request completed before the original request.
+	 * @return The hedged requests wins count
+	 */
+	long getHedgeWinCount();
+
+	/**
+	 * Get the budget used to limit the overall number of hedged requests, if any.
+	 * @return Optional budget
+	 */
+	Optional<RetryBudget> getBudget();
+
+	/**
+	 * Create a new {@link HedgingPolicy} using the default configuration.
+	 * @return A new {@link HedgingPolicy}
+	 */
+	static HedgingPolicy create() {
+		return builder().build();
+	}
+
+	/**
+	 * Get a builder to create and configure a new {@link HedgingPolicy}.
+	 * @return A new {@link HedgingPolicy} builder
+	 */
+	static Builder builder() {
+		return new DefaultHedgingPolicy.DefaultBuilder();
+	}
+
+	/**
+	 * {@link HedgingPolicy} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the latency percentile to use as hedge delay. Default is {@link HedgingPolicy#DEFAULT_PERCENTILE}.
+		 * @param percentile The percentile (from <code>0</code> to <code>100</code>)
+		 * @return this
+		 */
+		Builder percentile(double percentile);
+
+		/**
+		 * Set the hedge delay bounds. Defaults are {@link HedgingPolicy#DEFAULT_MIN_DELAY} and
+		 * {@link HedgingPolicy#DEFAULT_MAX_DELAY} milliseconds.
+		 * @param minDelay The minimum delay (must be greater than or equal to 0)
+		 * @param maxDelay The maximum delay (must be greater than or equal to the minimum delay)
+		 * @param unit The delays time unit (not null)
+		 * @return this
+		 */
+		Builder delay(long minDelay, long maxDelay, TimeUnit unit);
+
+		/**
+		 * Set the hedge delay to use until enough latency samples are available. Default is
+		 * {@link HedgingPolicy#DEFAULT_INITIAL_DELAY} milliseconds.
+		 * @param initialDelay The initial delay (must be greater than or equal to 0)
+		 * @param unit The delay time unit (not null)
+		 * @return this
+		 */
+		Builder initialDelay(long initialDelay, TimeUnit unit);
+
+		/**
+		 * Set the number of latency samples required to compute the hedge delay. Default is
+		 * {@link HedgingPolicy#DEFAULT_MIN_SAMPLES}.
+		 * @param minSamples The minimum number of samples (must be greater than 0)
+		 * @return this
+		 */
+		Builder minSamples(int minSamples);
+
+		/**
+		 * Set the maximum number of backup requests to send for each request. Default is <code>1</code>.
+		 * @param maxHedgedRequests The maximum number of hedged requests (must be greater than 0)
+		 * @return this
+		 */
+		Builder maxHedgedRequests(int maxHedgedRequests);
+
+		/**
+		 * Set the request methods which can be hedged, replacing the default idempotent methods.
+		 * @param methods The hedgeable methods
+		 * @return this
+		 */
+		Builder methods(HttpMethod... methods);
+
+		/**
+		 * Set the budget to use to limit the overall number of hedged requests.
+		 * @param budget The budget
+		 * @return this
+		 */
+		Builder budget(RetryBudget budget);
+
+		/**
+		 * Build the {@link HedgingPolicy}.
+		 * @return A new {@link HedgingPolicy}
+		 */
+		HedgingPolicy build();
+
+	}
+
+}
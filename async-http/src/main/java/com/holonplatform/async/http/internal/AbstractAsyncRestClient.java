@@ -19,11 +19,23 @@ import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import com.holonplatform.async.http.AsyncRestClient;
+import com.holonplatform.async.http.ConcurrencyLimit;
+import com.holonplatform.async.http.HedgingPolicy;
+import com.holonplatform.core.instrumentation.Instrumentation;
 import com.holonplatform.core.internal.Logger;
 import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.ContentEncoding;
+import com.holonplatform.http.HttpHeaders;
 import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.internal.rest.CachedResponseFactory;
+import com.holonplatform.http.internal.rest.DefaultRequestTemplate;
+import com.holonplatform.http.rest.HttpCache;
+import com.holonplatform.http.rest.RequestTemplate;
+import com.holonplatform.http.rest.RetryPolicy;
 
 /**
  * Abstract {@link AsyncRestClient} implementation.
@@ -47,6 +59,48 @@ public abstract class AbstractAsyncRestClient implements AsyncRestClient, AsyncI
 	 */
 	private final Map<String, String> defaultHeaders = new HashMap<>(4);
 
+	/**
+	 * HTTP cache
+	 */
+	private HttpCache cache;
+
+	/**
+	 * Whether to coalesce the identical in-flight requests
+	 */
+	private boolean requestCoalescing = false;
+
+	/**
+	 * Retry policy
+	 */
+	private RetryPolicy retryPolicy;
+
+	/**
+	 * Invocations instrumentation
+	 */
+	private Instrumentation instrumentation;
+
+	/**
+	 * Request entities coding
+	 */
+	private ContentEncoding compression;
+
+	/**
+	 * Minimum request entity size to compress it
+	 */
+	private int compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
+
+	/**
+	 * Hedging policy
+	 */
+	private HedgingPolicy hedgingPolicy;
+
+	private ConcurrencyLimit concurrencyLimit;
+
+	/**
+	 * Invoker to use with the HTTP cache, the request coalescing, the retry policy and/or the hedging policy
+	 */
+	private AsyncInvoker invoker;
+
 	@Override
 	public AsyncRestClient defaultTarget(URI baseUri) {
 		this.defaultTargetURI = baseUri;
@@ -78,6 +132,236 @@ public abstract class AbstractAsyncRestClient implements AsyncRestClient, AsyncI
 		return this;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#withCache(com.holonplatform.http.rest.HttpCache)
+	 */
+	@Override
+	public AsyncRestClient withCache(HttpCache cache) {
+		this.cache = cache;
+		configureInvoker();
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#getCache()
+	 */
+	@Override
+	public Optional<HttpCache> getCache() {
+		return Optional.ofNullable(cache);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncRestClient#withRequestCoalescing(boolean)
+	 */
+	@Override
+	public AsyncRestClient withRequestCoalescing(boolean coalesceRequests) {
+		this.requestCoalescing = coalesceRequests;
+		configureInvoker();
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncRestClient#isRequestCoalescing()
+	 */
+	@Override
+	public boolean isRequestCoalescing() {
+		return requestCoalescing;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#withRetryPolicy(com.holonplatform.http.rest.RetryPolicy)
+	 */
+	@Override
+	public AsyncRestClient withRetryPolicy(RetryPolicy retryPolicy) {
+		this.retryPolicy = retryPolicy;
+		configureInvoker();
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#getRetryPolicy()
+	 */
+	@Override
+	public Optional<RetryPolicy> getRetryPolicy() {
+		return Optional.ofNullable(retryPolicy);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#withInstrumentation(com.holonplatform.core.
+	 * instrumentation.Instrumentation)
+	 */
+	@Override
+	public AsyncRestClient withInstrumentation(Instrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+		configureInvoker();
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#getInstrumentation()
+	 */
+	@Override
+	public Optional<Instrumentation> getInstrumentation() {
+		return Optional.ofNullable(instrumentation);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#withCompression(com.holonplatform.http.ContentEncoding,
+	 * int)
+	 */
+	@Override
+	public AsyncRestClient withCompression(ContentEncoding encoding, int threshold) {
+		if (threshold < 0) {
+			throw new IllegalArgumentException("Compression threshold must be greater than or equal to 0");
+		}
+		this.compression = encoding;
+		this.compressionThreshold = threshold;
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#getCompression()
+	 */
+	@Override
+	public Optional<ContentEncoding> getCompression() {
+		return Optional.ofNullable(compression);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#getCompressionThreshold()
+	 */
+	@Override
+	public int getCompressionThreshold() {
+		return compressionThreshold;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncRestClient#withHedgingPolicy(com.holonplatform.async.http.HedgingPolicy)
+	 */
+	@Override
+	public AsyncRestClient withHedgingPolicy(HedgingPolicy hedgingPolicy) {
+		this.hedgingPolicy = hedgingPolicy;
+		configureInvoker();
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncRestClient#getHedgingPolicy()
+	 */
+	@Override
+	public Optional<HedgingPolicy> getHedgingPolicy() {
+		return Optional.ofNullable(hedgingPolicy);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncRestClient#withConcurrencyLimit(com.holonplatform.async.http.
+	 * ConcurrencyLimit)
+	 */
+	@Override
+	public AsyncRestClient withConcurrencyLimit(ConcurrencyLimit concurrencyLimit) {
+		this.concurrencyLimit = concurrencyLimit;
+		configureInvoker();
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncRestClient#getConcurrencyLimit()
+	 */
+	@Override
+	public Optional<ConcurrencyLimit> getConcurrencyLimit() {
+		return Optional.ofNullable(concurrencyLimit);
+	}
+
+	/**
+	 * Get the {@link AsyncInvoker} to use with the request definitions: if a {@link HttpCache}, the request
+	 * coalescing, a {@link RetryPolicy}, a {@link HedgingPolicy} and/or a {@link ConcurrencyLimit} are configured, an
+	 * invoker which applies them and delegates the actual invocations to this client is returned, otherwise this
+	 * client.
+	 * @return The request definitions invoker
+	 */
+	protected AsyncInvoker getInvoker() {
+		return (invoker != null) ? invoker : this;
+	}
+
+	/**
+	 * Get the scheduler to use to perform the delayed retries and hedged requests. By default, a shared single thread
+	 * scheduler is used, which only starts the request invocations: the concrete clients should never block when a
+	 * request is invoked.
+	 * @return The scheduler
+	 */
+	protected ScheduledExecutorService getScheduler() {
+		return SchedulerHolder.SCHEDULER;
+	}
+
+	/**
+	 * Build the invoker chain according to the current configuration. From the outermost invoker: the instrumentation,
+	 * so that the invocations are observed as seen by the caller, the HTTP cache, so
+	 * that only the actual server invocations are performed by the next invokers, the request coalescing, so that the
+	 * concurrent cache misses and revalidations of the same resource are coalesced too, the retries, the hedged
+	 * requests, so that each attempt is hedged, and the concurrency limit, so that each sent request counts against
+	 * the limit.
+	 */
+	private void configureInvoker() {
+		AsyncInvoker chain = this;
+		if (concurrencyLimit != null) {
+			chain = new ConcurrencyLimitingAsyncInvoker(chain, concurrencyLimit, getScheduler());
+		}
+		if (hedgingPolicy != null) {
+			final boolean deposit = hedgingPolicy.getBudget()
+					.map(b -> retryPolicy == null || !retryPolicy.getBudget().filter(rb -> rb == b).isPresent())
+					.orElse(Boolean.FALSE);
+			chain = new HedgingAsyncInvoker(chain, hedgingPolicy, getScheduler(), deposit);
+		}
+		if (retryPolicy != null) {
+			chain = new RetryingAsyncInvoker(chain, retryPolicy, getScheduler());
+		}
+		if (requestCoalescing) {
+			chain = new CoalescingAsyncInvoker(chain, getCachedResponseFactory());
+		}
+		if (cache != null) {
+			chain = new AsyncCachingInvoker(chain, cache, getCachedResponseFactory());
+		}
+		if (instrumentation != null) {
+			chain = new InstrumentingAsyncInvoker(chain, instrumentation);
+		}
+		this.invoker = (chain != this) ? chain : null;
+	}
+
+	/**
+	 * Get the factory to use to build the responses served by the {@link HttpCache} and the responses shared by the
+	 * coalesced requests. The default factory supports only the <code>byte[]</code>, {@link String} and
+	 * {@link java.io.InputStream} response types: the concrete clients should override this method to provide a
+	 * factory which reads the response entity using their own message converters.
+	 * @return The cached responses factory
+	 */
+	protected CachedResponseFactory getCachedResponseFactory() {
+		return CachedResponseFactory.getDefault();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#getResponseFactory()
+	 */
+	@Override
+	public CachedResponseFactory getResponseFactory() {
+		return getCachedResponseFactory();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.http.rest.RestClientOperations#request()
@@ -90,7 +374,7 @@ public abstract class AbstractAsyncRestClient implements AsyncRestClient, AsyncI
 		getDefaultTarget().ifPresent(t -> definition.target(t));
 
 		// set default headers
-		defaultHeaders.forEach((n, v) -> {
+		getRequestHeaders().forEach((n, v) -> {
 			if (!definition.getHeaders().containsKey(n)) {
 				definition.getHeaders().put(n, v);
 			}
@@ -101,10 +385,58 @@ public abstract class AbstractAsyncRestClient implements AsyncRestClient, AsyncI
 		return definition;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#template(java.lang.String)
+	 */
+	@Override
+	public RequestTemplate<AsyncRequestDefinition> template(String path) {
+		return template(getDefaultTarget().orElseThrow(
+				() -> new IllegalStateException("A default target must be configured to use a request template")),
+				path);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#template(java.net.URI, java.lang.String)
+	 */
+	@Override
+	public RequestTemplate<AsyncRequestDefinition> template(URI target, String path) {
+		return new DefaultRequestTemplate<>(this::buildDefinition, target, path, getRequestHeaders());
+	}
+
+	/**
+	 * Get the headers to add to each request: the default headers and, if the content coding support is enabled, the
+	 * {@link HttpHeaders#ACCEPT_ENCODING} header.
+	 * @return The request headers
+	 */
+	private Map<String, String> getRequestHeaders() {
+		if (compression == null || defaultHeaders.containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+			return defaultHeaders;
+		}
+		final Map<String, String> headers = new HashMap<>(defaultHeaders);
+		headers.put(HttpHeaders.ACCEPT_ENCODING, ContentEncoding.ACCEPT_ALL);
+		return headers;
+	}
+
 	/**
-	 * Build a new {@link AsyncRequestDefinition} to be used for request configuration.
+	 * Build a new {@link AsyncRequestDefinition} to be used for request configuration. The request definition should
+	 * use the {@link AsyncInvoker} provided by {@link #getInvoker()}.
 	 * @return The request definition
 	 */
 	protected abstract AsyncRequestDefinition buildDefinition();
 
+	/**
+	 * Lazy holder of the default scheduler.
+	 */
+	private static final class SchedulerHolder {
+
+		static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+			final Thread thread = new Thread(r, "AsyncRestClient-scheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+	}
+
 }
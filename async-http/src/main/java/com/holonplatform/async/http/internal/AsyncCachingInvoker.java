@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.internal;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.internal.rest.CachedResponseFactory;
+import com.holonplatform.http.internal.rest.DefaultHttpCache;
+import com.holonplatform.http.internal.rest.HttpCacheEntry;
+import com.holonplatform.http.internal.rest.HttpCacheInvocation;
+import com.holonplatform.http.rest.HttpCache;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+
+/**
+ * An {@link AsyncInvoker} which uses a {@link HttpCache} to serve the cacheable requests, delegating the actual
+ * request invocations to a concrete {@link AsyncInvoker}.
+ *
+ * @since 5.6.0
+ */
+public class AsyncCachingInvoker implements AsyncInvoker {
+
+	private final AsyncInvoker invoker;
+	private final DefaultHttpCache cache;
+	private final CachedResponseFactory responseFactory;
+
+	/**
+	 * Constructor.
+	 * @param invoker The concrete invoker (not null)
+	 * @param cache The cache to use (not null)
+	 * @param responseFactory The factory to use to build the responses from the stored entries (not null)
+	 */
+	public AsyncCachingInvoker(AsyncInvoker invoker, HttpCache cache, CachedResponseFactory responseFactory) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		ObjectUtils.argumentNotNull(responseFactory, "Response factory must be not null");
+		this.invoker = invoker;
+		this.cache = DefaultHttpCache.of(cache);
+		this.responseFactory = responseFactory;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#getResponseFactory()
+	 */
+	@Override
+	public CachedResponseFactory getResponseFactory() {
+		return responseFactory;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#invoke(com.holonplatform.async.http.AsyncRestClient.
+	 * AsyncRequestDefinition, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		if (!cache.isCacheable(method, requestDefinition, requestEntity, responseType)) {
+			return invoker.invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode)
+					.thenApply(response -> {
+						cache.invalidate(method, requestDefinition, response.getStatusCode());
+						return response;
+					});
+		}
+		final HttpCacheInvocation invocation = cache.begin(requestDefinition);
+		final Optional<HttpCacheEntry> fresh = invocation.lookup();
+		if (fresh.isPresent()) {
+			final CompletableFuture<ResponseEntity<T>> response = new CompletableFuture<>();
+			try {
+				response.complete(HttpCacheInvocation.checkStatus(
+						invocation.toResponse(fresh.get(), responseType, responseFactory), onlySuccessfulStatusCode));
+			} catch (RuntimeException e) {
+				response.completeExceptionally(e);
+			}
+			return response;
+		}
+		final AsyncRequestDefinition definition = withConditionalHeaders(requestDefinition, invocation);
+		return invoker.invoke(definition, method, requestEntity, responseType, false)
+				.thenApply(r -> HttpCacheInvocation.checkStatus(invocation.complete(r, responseType, responseFactory),
+						onlySuccessfulStatusCode));
+	}
+
+	/**
+	 * Get the request definition to use for given cache invocation, i.e. a copy of the request definition which
+	 * includes the conditional headers, if any.
+	 * @param requestDefinition The request definition
+	 * @param invocation The cache invocation
+	 * @return The request definition to use
+	 */
+	private static AsyncRequestDefinition withConditionalHeaders(AsyncRequestDefinition requestDefinition,
+			HttpCacheInvocation invocation) {
+		final Map<String, String> conditionalHeaders = invocation.getConditionalHeaders();
+		if (conditionalHeaders.isEmpty() || !(requestDefinition instanceof DefaultAsyncRequestDefinition)) {
+			return requestDefinition;
+		}
+		final DefaultAsyncRequestDefinition definition = ((DefaultAsyncRequestDefinition) requestDefinition).copy();
+		definition.getHeaders().putAll(conditionalHeaders);
+		return definition;
+	}
+
+}
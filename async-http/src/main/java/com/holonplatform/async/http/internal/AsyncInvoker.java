@@ -20,6 +20,7 @@ import java.util.concurrent.CompletionStage;
 import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
 import com.holonplatform.http.HttpMethod;
 import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
+import com.holonplatform.http.internal.rest.CachedResponseFactory;
 import com.holonplatform.http.rest.RequestEntity;
 import com.holonplatform.http.rest.ResponseEntity;
 import com.holonplatform.http.rest.ResponseType;
@@ -48,4 +49,14 @@ public interface AsyncInvoker {
 	<T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition, HttpMethod method,
 			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode);
 
+	/**
+	 * Get the factory to use to build a response from a buffered response body, for example to decode the elements of
+	 * a streamed JSON array response.
+	 * @return The response factory
+	 * @since 5.6.0
+	 */
+	default CachedResponseFactory getResponseFactory() {
+		return CachedResponseFactory.getDefault();
+	}
+
 }
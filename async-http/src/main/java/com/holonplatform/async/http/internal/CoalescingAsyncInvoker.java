@@ -0,0 +1,311 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.internal;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.internal.rest.CachedResponseFactory;
+import com.holonplatform.http.internal.rest.DefaultHttpCache;
+import com.holonplatform.http.internal.rest.HttpCacheEntry;
+import com.holonplatform.http.internal.rest.HttpCacheInvocation;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+
+/**
+ * An {@link AsyncInvoker} which coalesces the identical <code>GET</code> and <code>HEAD</code> requests while one of
+ * them is in flight, delegating the actual request invocations to a concrete {@link AsyncInvoker}.
+ * <p>
+ * The response body of the shared request is buffered and each caller receives its own {@link ResponseEntity},
+ * built using a {@link CachedResponseFactory}. Requests which expect an {@link InputStream} response are never
+ * coalesced.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class CoalescingAsyncInvoker implements AsyncInvoker {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private final AsyncInvoker invoker;
+	private final CachedResponseFactory responseFactory;
+
+	/**
+	 * The requests in flight, by key
+	 */
+	private final ConcurrentMap<String, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor.
+	 * @param invoker The concrete invoker (not null)
+	 * @param responseFactory The factory to use to build the responses from the buffered shared response (not null)
+	 */
+	public CoalescingAsyncInvoker(AsyncInvoker invoker, CachedResponseFactory responseFactory) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		ObjectUtils.argumentNotNull(responseFactory, "Response factory must be not null");
+		this.invoker = invoker;
+		this.responseFactory = responseFactory;
+	}
+
+	/**
+	 * Get the number of requests currently in flight which can be joined by identical requests.
+	 * @return The in-flight requests count
+	 */
+	public int getInFlightCount() {
+		return inFlight.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#getResponseFactory()
+	 */
+	@Override
+	public CachedResponseFactory getResponseFactory() {
+		return responseFactory;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#invoke(com.holonplatform.async.http.AsyncRestClient.
+	 * AsyncRequestDefinition, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		if (!isCoalescable(method, requestEntity, responseType)) {
+			return invoker.invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode);
+		}
+		final String key = getKey(requestDefinition, method);
+		while (true) {
+			final InFlightRequest created = new InFlightRequest(key);
+			final InFlightRequest request = inFlight.putIfAbsent(key, created);
+			if (request == null) {
+				final CompletableFuture<ResponseEntity<T>> response = created.subscribe(requestDefinition, responseType,
+						onlySuccessfulStatusCode);
+				perform(created, requestDefinition, method);
+				return response;
+			}
+			final CompletableFuture<ResponseEntity<T>> response = request.subscribe(requestDefinition, responseType,
+					onlySuccessfulStatusCode);
+			if (response != null) {
+				LOGGER.debug(() -> "AsyncRestClient: coalesced request [" + key + "]");
+				return response;
+			}
+			// abandoned by all its callers
+			inFlight.remove(key, request);
+		}
+	}
+
+	/**
+	 * Perform the shared request and buffer the response.
+	 * @param request The in-flight request
+	 * @param requestDefinition The request definition
+	 * @param method The request method
+	 */
+	private void perform(InFlightRequest request, AsyncRequestDefinition requestDefinition, HttpMethod method) {
+		final CompletionStage<ResponseEntity<byte[]>> response;
+		try {
+			response = invoker.invoke(requestDefinition, method, null, ResponseType.of(byte[].class), false);
+		} catch (RuntimeException e) {
+			inFlight.remove(request.key, request);
+			request.result.completeExceptionally(e);
+			return;
+		}
+		request.upstream = response;
+		if (request.isAbandoned()) {
+			// all the callers cancelled while the request was being invoked
+			request.cancelUpstream();
+		}
+		response.whenComplete((r, e) -> {
+			inFlight.remove(request.key, request);
+			if (e != null) {
+				request.result.completeExceptionally(e);
+				return;
+			}
+			try {
+				final byte[] body = r.getPayload().orElse(EMPTY);
+				request.result.complete(new HttpCacheEntry(request.key, r.getStatusCode(), r.getHeaders(), body,
+						request.requestTime, System.currentTimeMillis(), Collections.emptyMap()));
+			} catch (RuntimeException re) {
+				request.result.completeExceptionally(re);
+			} finally {
+				close(r);
+			}
+		});
+	}
+
+	/**
+	 * Checks whether given request invocation can be coalesced.
+	 * @param method Request method
+	 * @param requestEntity Request entity
+	 * @param responseType Response type
+	 * @return <code>true</code> if the request can be coalesced
+	 */
+	private static boolean isCoalescable(HttpMethod method, RequestEntity<?> requestEntity,
+			ResponseType<?> responseType) {
+		return (HttpMethod.GET == method || HttpMethod.HEAD == method)
+				&& (requestEntity == null || !requestEntity.getPayload().isPresent())
+				&& InputStream.class != responseType.getType();
+	}
+
+	/**
+	 * Get the key which identifies given request, including the method, the resolved URI, the query parameters and
+	 * the request headers.
+	 * @param requestDefinition Request definition
+	 * @param method Request method
+	 * @return The request key
+	 */
+	private static String getKey(AsyncRequestDefinition requestDefinition, HttpMethod method) {
+		final StringBuilder sb = new StringBuilder(method.getMethodName()).append(' ')
+				.append(DefaultHttpCache.getKey(requestDefinition));
+		final Map<String, String> headers = new TreeMap<>();
+		requestDefinition.getHeaders().forEach((n, v) -> {
+			if (n != null) {
+				headers.put(n.toLowerCase(Locale.ENGLISH), v);
+			}
+		});
+		headers.forEach((n, v) -> sb.append(" [").append(n).append(": ").append(v).append(']'));
+		return sb.toString();
+	}
+
+	private static Throwable unwrap(Throwable error) {
+		return (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+	}
+
+	private static void close(ResponseEntity<?> response) {
+		try {
+			response.close();
+		} catch (Exception e) {
+			LOGGER.debug(() -> "Failed to close the response", e);
+		}
+	}
+
+	/**
+	 * A request in flight, shared by one or more callers.
+	 */
+	private final class InFlightRequest {
+
+		final String key;
+		final long requestTime = System.currentTimeMillis();
+		final CompletableFuture<HttpCacheEntry> result = new CompletableFuture<>();
+
+		volatile CompletionStage<?> upstream;
+
+		private int callers = 0;
+		private boolean abandoned = false;
+
+		InFlightRequest(String key) {
+			super();
+			this.key = key;
+		}
+
+		/**
+		 * Subscribe a new caller.
+		 * @param <T> Response type
+		 * @param requestDefinition Caller request definition
+		 * @param responseType Caller response type
+		 * @param onlySuccessfulStatusCode Whether the caller expects only successful responses
+		 * @return The caller response, <code>null</code> if the request was abandoned by all its callers
+		 */
+		<T> CompletableFuture<ResponseEntity<T>> subscribe(AsyncRequestDefinition requestDefinition,
+				ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+			synchronized (this) {
+				if (abandoned) {
+					return null;
+				}
+				callers++;
+			}
+			final CompletableFuture<ResponseEntity<T>> response = new CompletableFuture<>();
+			response.whenComplete((r, e) -> {
+				if (response.isCancelled()) {
+					cancelled();
+				}
+			});
+			result.whenComplete((entry, error) -> {
+				if (error != null) {
+					response.completeExceptionally(unwrap(error));
+					return;
+				}
+				try {
+					response.complete(HttpCacheInvocation.checkStatus(
+							responseFactory.create(requestDefinition, entry, responseType), onlySuccessfulStatusCode));
+				} catch (RuntimeException e) {
+					response.completeExceptionally(e);
+				}
+			});
+			return response;
+		}
+
+		/**
+		 * A caller cancelled its response: if no caller is left, the shared request is cancelled.
+		 */
+		private void cancelled() {
+			synchronized (this) {
+				callers--;
+				if (callers > 0 || result.isDone()) {
+					return;
+				}
+				abandoned = true;
+			}
+			inFlight.remove(key, this);
+			LOGGER.debug(() -> "AsyncRestClient: coalesced request [" + key + "] abandoned by all its callers");
+			cancelUpstream();
+		}
+
+		/**
+		 * Checks whether the request was abandoned by all its callers.
+		 * @return <code>true</code> if the request was abandoned
+		 */
+		synchronized boolean isAbandoned() {
+			return abandoned;
+		}
+
+		/**
+		 * Cancel the shared request invocation, if available.
+		 */
+		void cancelUpstream() {
+			final CompletionStage<?> stage = upstream;
+			if (stage != null) {
+				try {
+					stage.toCompletableFuture().cancel(true);
+				} catch (@SuppressWarnings("unused") UnsupportedOperationException e) {
+					// ignore
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.internal;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+
+import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.async.http.ConcurrencyLimit;
+import com.holonplatform.async.http.internal.DefaultConcurrencyLimit.TargetLimit;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.HttpStatus;
+import com.holonplatform.http.exceptions.ConcurrencyLimitExceededException;
+import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.internal.rest.CachedResponseFactory;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+
+/**
+ * An {@link AsyncInvoker} which limits the in-flight requests of each request target according to a
+ * {@link ConcurrencyLimit}, delegating the actual request invocations to a concrete {@link AsyncInvoker}.
+ *
+ * @since 5.6.0
+ */
+public class ConcurrencyLimitingAsyncInvoker implements AsyncInvoker {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	private final AsyncInvoker invoker;
+	private final DefaultConcurrencyLimit limit;
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * Constructor.
+	 * @param invoker The concrete invoker (not null)
+	 * @param limit The concurrency limit (not null)
+	 * @param scheduler The scheduler to use for the queue timeouts (not null)
+	 */
+	public ConcurrencyLimitingAsyncInvoker(AsyncInvoker invoker, ConcurrencyLimit limit,
+			ScheduledExecutorService scheduler) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		ObjectUtils.argumentNotNull(scheduler, "Scheduler must be not null");
+		this.invoker = invoker;
+		this.limit = DefaultConcurrencyLimit.of(limit);
+		this.scheduler = scheduler;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#getResponseFactory()
+	 */
+	@Override
+	public CachedResponseFactory getResponseFactory() {
+		return invoker.getResponseFactory();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#invoke(com.holonplatform.async.http.AsyncRestClient.
+	 * AsyncRequestDefinition, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		final String target = DefaultHedgingPolicy.getTarget(requestDefinition.getRequestURI());
+		while (true) {
+			final TargetLimit targetLimit = limit.getTargetLimit(target);
+			final LimitedInvocation<T, R> invocation = new LimitedInvocation<>(targetLimit, requestDefinition,
+					method, requestEntity, responseType, onlySuccessfulStatusCode);
+			if (targetLimit.submit(invocation, scheduler)) {
+				return invocation.result;
+			}
+			// evicted while idle
+		}
+	}
+
+	private static Throwable unwrap(Throwable error) {
+		return (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+	}
+
+	private static boolean isOverloadStatus(int statusCode) {
+		return statusCode == HttpStatus.TOO_MANY_REQUESTS.getCode()
+				|| statusCode == HttpStatus.SERVICE_UNAVAILABLE.getCode();
+	}
+
+	private static void cancel(CompletionStage<?> stage) {
+		try {
+			stage.toCompletableFuture().cancel(true);
+		} catch (@SuppressWarnings("unused") UnsupportedOperationException e) {
+			// ignore
+		}
+	}
+
+	/**
+	 * A request invocation subject to the concurrency limit.
+	 * @param <T> Response type
+	 * @param <R> Request entity type
+	 */
+	private final class LimitedInvocation<T, R> implements DefaultConcurrencyLimit.Task {
+
+		final TargetLimit target;
+		final AsyncRequestDefinition requestDefinition;
+		final HttpMethod method;
+		final RequestEntity<R> requestEntity;
+		final ResponseType<T> responseType;
+		final boolean onlySuccessfulStatusCode;
+
+		final CompletableFuture<ResponseEntity<T>> result = new CompletableFuture<>();
+
+		private volatile CompletionStage<ResponseEntity<T>> stage;
+
+		LimitedInvocation(TargetLimit target, AsyncRequestDefinition requestDefinition, HttpMethod method,
+				RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+			super();
+			this.target = target;
+			this.requestDefinition = requestDefinition;
+			this.method = method;
+			this.requestEntity = requestEntity;
+			this.responseType = responseType;
+			this.onlySuccessfulStatusCode = onlySuccessfulStatusCode;
+			result.whenComplete((r, e) -> {
+				if (result.isCancelled()) {
+					target.remove(this);
+					final CompletionStage<?> running = stage;
+					if (running != null) {
+						cancel(running);
+					}
+				}
+			});
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.internal.DefaultConcurrencyLimit.Task#start()
+		 */
+		@Override
+		public void start() {
+			if (result.isDone()) {
+				target.release(-1, false);
+				return;
+			}
+			final long start = System.nanoTime();
+			final CompletionStage<ResponseEntity<T>> invocation;
+			try {
+				invocation = invoker.invoke(requestDefinition, method, requestEntity, responseType,
+						onlySuccessfulStatusCode);
+			} catch (RuntimeException e) {
+				target.release(-1, false);
+				result.completeExceptionally(e);
+				return;
+			}
+			stage = invocation;
+			if (result.isDone()) {
+				cancel(invocation);
+			}
+			invocation.whenComplete((r, e) -> {
+				final Throwable error = (e != null) ? unwrap(e) : null;
+				if (error instanceof CancellationException) {
+					target.release(-1, false);
+				} else {
+					final boolean dropped = (error == null) ? isOverloadStatus(r.getStatusCode())
+							: !(error instanceof UnsuccessfulResponseException)
+									|| isOverloadStatus(((UnsuccessfulResponseException) error).getStatusCode());
+					target.release(System.nanoTime() - start, dropped);
+				}
+				if (error != null) {
+					result.completeExceptionally(error);
+				} else if (!result.complete(r)) {
+					try {
+						r.close();
+					} catch (Exception ce) {
+						LOGGER.debug(() -> "Failed to close the response", ce);
+					}
+				}
+			});
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.internal.DefaultConcurrencyLimit.Task#reject(com.holonplatform.http.
+		 * exceptions.ConcurrencyLimitExceededException)
+		 */
+		@Override
+		public void reject(ConcurrencyLimitExceededException error) {
+			result.completeExceptionally(error);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.internal.DefaultConcurrencyLimit.Task#isDone()
+		 */
+		@Override
+		public boolean isDone() {
+			return result.isDone();
+		}
+
+	}
+
+}
@@ -17,13 +17,17 @@ package com.holonplatform.async.http.internal;
 
 import java.io.InputStream;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
 
 import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.http.HttpMethod;
 import com.holonplatform.http.exceptions.HttpClientInvocationException;
 import com.holonplatform.http.internal.rest.AbstractRequestDefinition;
+import com.holonplatform.http.internal.rest.JsonArrayReader;
 import com.holonplatform.http.rest.RequestEntity;
 import com.holonplatform.http.rest.ResponseEntity;
 import com.holonplatform.http.rest.ResponseType;
@@ -51,6 +55,15 @@ public class DefaultAsyncRequestDefinition extends AbstractRequestDefinition<Asy
 		this.invoker = invoker;
 	}
 
+	/**
+	 * Create a copy of this definition, bound to the same {@link AsyncInvoker}.
+	 * @return A new {@link DefaultAsyncRequestDefinition} with the same configuration
+	 * @since 5.6.0
+	 */
+	public DefaultAsyncRequestDefinition copy() {
+		return copyTo(new DefaultAsyncRequestDefinition(invoker));
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.http.internal.rest.AbstractRequestDefinition#getActualDefinition()
@@ -111,4 +124,45 @@ public class DefaultAsyncRequestDefinition extends AbstractRequestDefinition<Asy
 		});
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.AsyncRestClient.AsyncInvocation#getAsStream(java.lang.Class)
+	 */
+	@Override
+	public <T> CompletionStage<Stream<T>> getAsStream(Class<T> responseType) {
+		ObjectUtils.argumentNotNull(responseType, "Response type must be not null");
+		final CompletionStage<ResponseEntity<InputStream>> invocation = invoker.invoke(this, HttpMethod.GET, null,
+				ResponseType.of(InputStream.class), true);
+		final CompletableFuture<Stream<T>> result = new CompletableFuture<>();
+		invocation.whenComplete((response, error) -> {
+			if (error != null) {
+				result.completeExceptionally(
+						(error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error);
+				return;
+			}
+			final Stream<T> stream;
+			try {
+				stream = JsonArrayReader.stream(this, response, ResponseType.of(responseType),
+						invoker.getResponseFactory());
+			} catch (RuntimeException e) {
+				result.completeExceptionally(e);
+				return;
+			}
+			if (!result.complete(stream)) {
+				// cancelled
+				stream.close();
+			}
+		});
+		result.whenComplete((s, e) -> {
+			if (result.isCancelled()) {
+				try {
+					invocation.toCompletableFuture().cancel(true);
+				} catch (@SuppressWarnings("unused") UnsupportedOperationException uoe) {
+					// ignore
+				}
+			}
+		});
+		return result;
+	}
+
 }
@@ -0,0 +1,738 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.internal;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.holonplatform.async.http.ConcurrencyLimit;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.exceptions.ConcurrencyLimitExceededException;
+import com.holonplatform.http.internal.HttpLogger;
+
+/**
+ * Default {@link ConcurrencyLimit} implementation.
+ * <p>
+ * The state of a request target is evicted when no request is sent to it for {@link #IDLE_TARGET_TIMEOUT}
+ * milliseconds, so a new target starts again from the initial limit.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class DefaultConcurrencyLimit implements ConcurrencyLimit {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	/**
+	 * Number of samples of the long term average latency used by the {@link Algorithm#GRADIENT} limit
+	 */
+	private static final int LONG_WINDOW = 100;
+
+	/**
+	 * Weight of a new {@link Algorithm#GRADIENT} limit estimate
+	 */
+	private static final double SMOOTHING = 0.2d;
+
+	/**
+	 * Time in milliseconds after which the state of an idle target is evicted
+	 */
+	public static final long IDLE_TARGET_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+	private final Algorithm algorithm;
+	private final int initialLimit;
+	private final int minLimit;
+	private final int maxLimit;
+	private final int maxQueueSize;
+	private final long queueTimeout;
+	private final RejectionPolicy rejectionPolicy;
+	private final double backoffRatio;
+	private final long latencyThreshold;
+	private final double tolerance;
+
+	private final ConcurrentMap<String, TargetLimit> targets = new ConcurrentHashMap<>();
+
+	private volatile long lastEviction = System.nanoTime();
+
+	DefaultConcurrencyLimit(DefaultBuilder builder) {
+		super();
+		this.algorithm = builder.algorithm;
+		this.initialLimit = builder.initialLimit;
+		this.minLimit = builder.minLimit;
+		this.maxLimit = builder.maxLimit;
+		this.maxQueueSize = builder.maxQueueSize;
+		this.queueTimeout = builder.queueTimeout;
+		this.rejectionPolicy = builder.rejectionPolicy;
+		this.backoffRatio = builder.backoffRatio;
+		this.latencyThreshold = TimeUnit.MILLISECONDS.toNanos(builder.latencyThreshold);
+		this.tolerance = builder.tolerance;
+	}
+
+	/**
+	 * Get the {@link DefaultConcurrencyLimit} instance of given limit.
+	 * @param limit The concurrency limit (not null)
+	 * @return The {@link DefaultConcurrencyLimit}
+	 * @throws IllegalArgumentException If the limit is not a {@link DefaultConcurrencyLimit}
+	 */
+	public static DefaultConcurrencyLimit of(ConcurrencyLimit limit) {
+		ObjectUtils.argumentNotNull(limit, "Concurrency limit must be not null");
+		if (!(limit instanceof DefaultConcurrencyLimit)) {
+			throw new IllegalArgumentException(
+					"Unsupported ConcurrencyLimit type: [" + limit.getClass().getName() + "]");
+		}
+		return (DefaultConcurrencyLimit) limit;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.ConcurrencyLimit#getAlgorithm()
+	 */
+	@Override
+	public Algorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.ConcurrencyLimit#getInitialLimit()
+	 */
+	@Override
+	public int getInitialLimit() {
+		return initialLimit;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.ConcurrencyLimit#getMinLimit()
+	 */
+	@Override
+	public int getMinLimit() {
+		return minLimit;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.ConcurrencyLimit#getMaxLimit()
+	 */
+	@Override
+	public int getMaxLimit() {
+		return maxLimit;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.ConcurrencyLimit#getMaxQueueSize()
+	 */
+	@Override
+	public int getMaxQueueSize() {
+		return maxQueueSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.ConcurrencyLimit#getQueueTimeout()
+	 */
+	@Override
+	public long getQueueTimeout() {
+		return queueTimeout;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.ConcurrencyLimit#getRejectionPolicy()
+	 */
+	@Override
+	public RejectionPolicy getRejectionPolicy() {
+		return rejectionPolicy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.ConcurrencyLimit#getMetrics(java.lang.String)
+	 */
+	@Override
+	public Optional<Metrics> getMetrics(String target) {
+		return Optional.ofNullable((target != null) ? targets.get(target) : null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.ConcurrencyLimit#getMetrics()
+	 */
+	@Override
+	public Map<String, Metrics> getMetrics() {
+		return Collections.unmodifiableMap(new HashMap<>(targets));
+	}
+
+	/**
+	 * Get the limit of given request target. The returned limit could be evicted before a request is submitted, so
+	 * a new one must be obtained when {@link TargetLimit#submit(Task, ScheduledExecutorService)} returns
+	 * <code>false</code>.
+	 * @param target The request target (not null)
+	 * @return The target limit
+	 */
+	TargetLimit getTargetLimit(String target) {
+		final long now = System.nanoTime();
+		if (now - lastEviction > TimeUnit.MILLISECONDS.toNanos(IDLE_TARGET_TIMEOUT)) {
+			lastEviction = now;
+			evictIdleTargets(IDLE_TARGET_TIMEOUT, TimeUnit.MILLISECONDS);
+		}
+		return targets.computeIfAbsent(target, TargetLimit::new);
+	}
+
+	/**
+	 * Evict the state of the targets which have no in-flight or queued request and which received no request for
+	 * more than given time. The idle targets are evicted automatically after {@link #IDLE_TARGET_TIMEOUT}
+	 * milliseconds.
+	 * @param idleTime The idle time (must be greater than or equal to 0)
+	 * @param unit The idle time unit (not null)
+	 * @return The number of evicted targets
+	 */
+	public int evictIdleTargets(long idleTime, TimeUnit unit) {
+		ObjectUtils.argumentNotNull(unit, "Time unit must be not null");
+		if (idleTime < 0) {
+			throw new IllegalArgumentException("The idle time must be greater than or equal to 0");
+		}
+		final long idleNanos = unit.toNanos(idleTime);
+		final long now = System.nanoTime();
+		int evicted = 0;
+		for (Iterator<TargetLimit> i = targets.values().iterator(); i.hasNext();) {
+			if (i.next().evictIfIdle(now, idleNanos)) {
+				i.remove();
+				evicted++;
+			}
+		}
+		return evicted;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultConcurrencyLimit [algorithm=" + algorithm + ", initialLimit=" + initialLimit + ", minLimit="
+				+ minLimit + ", maxLimit=" + maxLimit + ", maxQueueSize=" + maxQueueSize + ", queueTimeout="
+				+ queueTimeout + ", rejectionPolicy=" + rejectionPolicy + "]";
+	}
+
+	/**
+	 * A request subject to a concurrency limit.
+	 */
+	interface Task {
+
+		/**
+		 * Send the request: the limit must be released when the request completes.
+		 */
+		void start();
+
+		/**
+		 * Reject the request.
+		 * @param error The rejection error
+		 */
+		void reject(ConcurrencyLimitExceededException error);
+
+		/**
+		 * Get whether the request is already completed, for example because it was cancelled.
+		 * @return <code>true</code> if the request is completed
+		 */
+		boolean isDone();
+
+	}
+
+	/**
+	 * The limit state of a request target.
+	 */
+	final class TargetLimit implements Metrics {
+
+		private final String target;
+		private final ArrayDeque<QueuedTask> queue = new ArrayDeque<>();
+
+		/**
+		 * The dequeued requests waiting to be started
+		 */
+		private final ArrayDeque<QueuedTask> ready = new ArrayDeque<>();
+		private boolean starting = false;
+
+		private double limit;
+		private int inFlight = 0;
+		private long completed = 0;
+		private long rejected = 0;
+		private double longLatency = 0;
+		private long lastActivity = System.nanoTime();
+		private boolean evicted = false;
+
+		TargetLimit(String target) {
+			super();
+			this.target = target;
+			this.limit = initialLimit;
+		}
+
+		/**
+		 * Start given request if the limit is not reached, queue it or reject a request otherwise.
+		 * @param task The request
+		 * @param scheduler The scheduler to use for the queue timeout
+		 * @return <code>false</code> if this target limit was evicted and the request was not submitted
+		 */
+		boolean submit(Task task, ScheduledExecutorService scheduler) {
+			boolean start = false;
+			QueuedTask queued = null;
+			QueuedTask rejectedTask = null;
+			synchronized (this) {
+				if (evicted) {
+					return false;
+				}
+				lastActivity = System.nanoTime();
+				if (inFlight < (int) limit) {
+					inFlight++;
+					start = true;
+				} else if (queue.size() < maxQueueSize) {
+					queued = new QueuedTask(task);
+					queue.add(queued);
+				} else if (maxQueueSize > 0 && rejectionPolicy == RejectionPolicy.REJECT_OLDEST) {
+					rejectedTask = dequeue(queue.poll());
+					queued = new QueuedTask(task);
+					queue.add(queued);
+					rejected++;
+				} else {
+					rejectedTask = new QueuedTask(task);
+					rejected++;
+				}
+			}
+			if (rejectedTask != null) {
+				LOGGER.debug(() -> "AsyncRestClient: concurrency limit exceeded for target [" + target + "]");
+				rejectedTask.cancelTimeout();
+				rejectedTask.task.reject(new ConcurrencyLimitExceededException(
+						"Concurrency limit exceeded for target [" + target + "]: the request queue is full"));
+			}
+			if (start) {
+				task.start();
+			} else if (queued != null && queueTimeout > 0) {
+				final QueuedTask expiring = queued;
+				try {
+					final ScheduledFuture<?> timeout = scheduler.schedule(() -> expire(expiring), queueTimeout,
+							TimeUnit.MILLISECONDS);
+					synchronized (this) {
+						expiring.timeout = timeout;
+					}
+					if (expiring.isDequeued()) {
+						expiring.cancelTimeout();
+					}
+				} catch (RejectedExecutionException e) {
+					LOGGER.debug(() -> "AsyncRestClient: failed to schedule the queue timeout", e);
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Reject given request if it is still queued.
+		 * @param queued The queued request
+		 */
+		private void expire(QueuedTask queued) {
+			final boolean removed;
+			synchronized (this) {
+				removed = queue.remove(queued);
+				if (removed) {
+					dequeue(queued);
+					rejected++;
+				}
+			}
+			if (removed) {
+				queued.task.reject(new ConcurrencyLimitExceededException("Concurrency limit exceeded for target ["
+						+ target + "]: the request was queued for more than " + queueTimeout + " ms"));
+			}
+		}
+
+		/**
+		 * Remove given request from the queue, if queued.
+		 * @param task The request
+		 */
+		void remove(Task task) {
+			QueuedTask removed = null;
+			synchronized (this) {
+				for (Iterator<QueuedTask> i = queue.iterator(); i.hasNext();) {
+					final QueuedTask queued = i.next();
+					if (queued.task == task) {
+						i.remove();
+						removed = dequeue(queued);
+						break;
+					}
+				}
+			}
+			if (removed != null) {
+				removed.cancelTimeout();
+			}
+		}
+
+		/**
+		 * Mark given request as no longer queued. Must be called holding this target lock.
+		 * @param queued The queued request
+		 * @return The queued request
+		 */
+		private QueuedTask dequeue(QueuedTask queued) {
+			queued.dequeued = true;
+			return queued;
+		}
+
+		/**
+		 * Release the limit acquired by a request and start the queued requests which fit the new limit.
+		 * <p>
+		 * Starting a request can release the limit again, for example when the request fails immediately: the
+		 * dequeued requests are started in a loop by the first releasing thread, so that the call stack does not grow
+		 * with the queue size.
+		 * </p>
+		 * @param latency The request latency in nanoseconds, a negative value if the request was not completed
+		 * @param dropped Whether the request failed or was rejected by the server
+		 */
+		void release(long latency, boolean dropped) {
+			synchronized (this) {
+				final int current = inFlight--;
+				lastActivity = System.nanoTime();
+				if (latency >= 0) {
+					completed++;
+					update(latency, dropped, current);
+				}
+				while (inFlight < (int) limit && !queue.isEmpty()) {
+					final QueuedTask queued = dequeue(queue.poll());
+					if (!queued.task.isDone()) {
+						inFlight++;
+						ready.add(queued);
+					}
+				}
+				if (starting) {
+					// the releasing thread which is starting the requests will start them
+					return;
+				}
+				starting = true;
+			}
+			while (true) {
+				final QueuedTask next;
+				synchronized (this) {
+					next = ready.poll();
+					if (next == null) {
+						starting = false;
+						return;
+					}
+				}
+				next.cancelTimeout();
+				try {
+					next.task.start();
+				} catch (RuntimeException e) {
+					LOGGER.error("AsyncRestClient: failed to start a queued request for target [" + target + "]", e);
+				}
+			}
+		}
+
+		/**
+		 * Mark this target limit as evicted if it has no in-flight or queued request and it is idle for more than
+		 * given time.
+		 * @param now The current time in nanoseconds
+		 * @param idleNanos The idle time in nanoseconds
+		 * @return <code>true</code> if this target limit was evicted
+		 */
+		synchronized boolean evictIfIdle(long now, long idleNanos) {
+			if (!evicted && inFlight == 0 && queue.isEmpty() && ready.isEmpty() && now - lastActivity >= idleNanos) {
+				evicted = true;
+			}
+			return evicted;
+		}
+
+		/**
+		 * Adjust the limit using a request sample.
+		 * @param latency The request latency in nanoseconds
+		 * @param dropped Whether the request failed or was rejected by the server
+		 * @param current The in-flight requests, including the sampled one
+		 */
+		private void update(long latency, boolean dropped, int current) {
+			switch (algorithm) {
+			case AIMD:
+				if (dropped || latency > latencyThreshold) {
+					limit = limit * backoffRatio;
+				} else if (current * 2 >= limit) {
+					limit = limit + 1;
+				}
+				break;
+			case GRADIENT:
+				if (dropped) {
+					limit = limit * backoffRatio;
+					break;
+				}
+				final double sample = Math.max(1, latency);
+				longLatency = (longLatency == 0) ? sample : longLatency + (sample - longLatency) / LONG_WINDOW;
+				if (longLatency / sample > 2) {
+					// the latency dropped: let the long term average recover faster
+					longLatency = longLatency * 0.95d;
+				}
+				final double gradient = Math.max(0.5d, Math.min(1.0d, tolerance * longLatency / sample));
+				final double estimate = limit * gradient + Math.sqrt(limit);
+				if (estimate < limit || current * 2 >= limit) {
+					limit = limit * (1 - SMOOTHING) + estimate * SMOOTHING;
+				}
+				break;
+			case FIXED:
+			default:
+				break;
+			}
+			limit = Math.max(minLimit, Math.min(maxLimit, limit));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Metrics#getLimit()
+		 */
+		@Override
+		public synchronized int getLimit() {
+			return (int) limit;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Metrics#getInFlight()
+		 */
+		@Override
+		public synchronized int getInFlight() {
+			return inFlight;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Metrics#getQueueSize()
+		 */
+		@Override
+		public synchronized int getQueueSize() {
+			return queue.size();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Metrics#getCompletedCount()
+		 */
+		@Override
+		public synchronized long getCompletedCount() {
+			return completed;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Metrics#getRejectedCount()
+		 */
+		@Override
+		public synchronized long getRejectedCount() {
+			return rejected;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public synchronized String toString() {
+			return "TargetLimit [target=" + target + ", limit=" + (int) limit + ", inFlight=" + inFlight
+					+ ", queueSize=" + queue.size() + ", completed=" + completed + ", rejected=" + rejected + "]";
+		}
+
+		/**
+		 * A queued request, with its queue timeout, if any.
+		 */
+		private final class QueuedTask {
+
+			final Task task;
+
+			// guarded by the target limit lock
+			ScheduledFuture<?> timeout;
+			boolean dequeued = false;
+
+			QueuedTask(Task task) {
+				super();
+				this.task = task;
+			}
+
+			boolean isDequeued() {
+				synchronized (TargetLimit.this) {
+					return dequeued;
+				}
+			}
+
+			/**
+			 * Cancel the queue timeout, if scheduled.
+			 */
+			void cancelTimeout() {
+				final ScheduledFuture<?> scheduled;
+				synchronized (TargetLimit.this) {
+					scheduled = timeout;
+					timeout = null;
+				}
+				if (scheduled != null) {
+					scheduled.cancel(false);
+				}
+			}
+
+		}
+
+	}
+
+	/**
+	 * Default {@link ConcurrencyLimit.Builder}.
+	 */
+	public static class DefaultBuilder implements ConcurrencyLimit.Builder {
+
+		private Algorithm algorithm = Algorithm.GRADIENT;
+		private int initialLimit = DEFAULT_LIMIT;
+		private int minLimit = DEFAULT_MIN_LIMIT;
+		private int maxLimit = DEFAULT_MAX_LIMIT;
+		private int maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+		private long queueTimeout = 0L;
+		private RejectionPolicy rejectionPolicy = RejectionPolicy.REJECT_NEWEST;
+		private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+		private long latencyThreshold = DEFAULT_LATENCY_THRESHOLD;
+		private double tolerance = DEFAULT_TOLERANCE;
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Builder#algorithm(com.holonplatform.async.http.
+		 * ConcurrencyLimit.Algorithm)
+		 */
+		@Override
+		public ConcurrencyLimit.Builder algorithm(Algorithm algorithm) {
+			ObjectUtils.argumentNotNull(algorithm, "Algorithm must be not null");
+			this.algorithm = algorithm;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Builder#limit(int, int, int)
+		 */
+		@Override
+		public ConcurrencyLimit.Builder limit(int initialLimit, int minLimit, int maxLimit) {
+			if (minLimit < 1) {
+				throw new IllegalArgumentException("The minimum limit must be greater than 0");
+			}
+			if (maxLimit < minLimit) {
+				throw new IllegalArgumentException("The maximum limit must be greater than or equal to the minimum limit");
+			}
+			if (initialLimit < minLimit || initialLimit > maxLimit) {
+				throw new IllegalArgumentException("The initial limit must be between the minimum and the maximum limit");
+			}
+			this.initialLimit = initialLimit;
+			this.minLimit = minLimit;
+			this.maxLimit = maxLimit;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Builder#maxQueueSize(int)
+		 */
+		@Override
+		public ConcurrencyLimit.Builder maxQueueSize(int maxQueueSize) {
+			if (maxQueueSize < 0) {
+				throw new IllegalArgumentException("The maximum queue size must be greater than or equal to 0");
+			}
+			this.maxQueueSize = maxQueueSize;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Builder#queueTimeout(long, java.util.concurrent.TimeUnit)
+		 */
+		@Override
+		public ConcurrencyLimit.Builder queueTimeout(long timeout, TimeUnit unit) {
+			ObjectUtils.argumentNotNull(unit, "Time unit must be not null");
+			if (timeout < 0) {
+				throw new IllegalArgumentException("The queue timeout must be greater than or equal to 0");
+			}
+			this.queueTimeout = unit.toMillis(timeout);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Builder#rejectionPolicy(com.holonplatform.async.http.
+		 * ConcurrencyLimit.RejectionPolicy)
+		 */
+		@Override
+		public ConcurrencyLimit.Builder rejectionPolicy(RejectionPolicy rejectionPolicy) {
+			ObjectUtils.argumentNotNull(rejectionPolicy, "Rejection policy must be not null");
+			this.rejectionPolicy = rejectionPolicy;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Builder#backoffRatio(double)
+		 */
+		@Override
+		public ConcurrencyLimit.Builder backoffRatio(double backoffRatio) {
+			if (backoffRatio <= 0d || backoffRatio >= 1d) {
+				throw new IllegalArgumentException("The backoff ratio must be greater than 0 and lower than 1");
+			}
+			this.backoffRatio = backoffRatio;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Builder#latencyThreshold(long,
+		 * java.util.concurrent.TimeUnit)
+		 */
+		@Override
+		public ConcurrencyLimit.Builder latencyThreshold(long threshold, TimeUnit unit) {
+			ObjectUtils.argumentNotNull(unit, "Time unit must be not null");
+			if (threshold <= 0) {
+				throw new IllegalArgumentException("The latency threshold must be greater than 0");
+			}
+			this.latencyThreshold = unit.toMillis(threshold);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Builder#tolerance(double)
+		 */
+		@Override
+		public ConcurrencyLimit.Builder tolerance(double tolerance) {
+			if (tolerance < 1d) {
+				throw new IllegalArgumentException("The tolerance must be greater than or equal to 1");
+			}
+			this.tolerance = tolerance;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.ConcurrencyLimit.Builder#build()
+		 */
+		@Override
+		public ConcurrencyLimit build() {
+			return new DefaultConcurrencyLimit(this);
+		}
+
+	}
+
+}
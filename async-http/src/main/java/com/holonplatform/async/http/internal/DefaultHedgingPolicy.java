@@ -0,0 +1,317 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.holonplatform.async.http.HedgingPolicy;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.internal.HttpUtils;
+import com.holonplatform.http.internal.rest.DefaultRetryPolicy;
+import com.holonplatform.http.rest.LatencyHistogram;
+import com.holonplatform.http.rest.RetryBudget;
+
+/**
+ * Default {@link HedgingPolicy} implementation.
+ *
+ * @since 5.6.0
+ */
+public class DefaultHedgingPolicy implements HedgingPolicy {
+
+	private final double percentile;
+	private final long initialDelay;
+	private final long minDelay;
+	private final long maxDelay;
+	private final int minSamples;
+	private final int maxHedgedRequests;
+	private final Set<HttpMethod> methods;
+	private final RetryBudget budget;
+
+	private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+	private final LongAdder hedged = new LongAdder();
+	private final LongAdder wins = new LongAdder();
+
+	DefaultHedgingPolicy(DefaultBuilder builder) {
+		super();
+		this.percentile = builder.percentile;
+		this.initialDelay = builder.initialDelay;
+		this.minDelay = builder.minDelay;
+		this.maxDelay = builder.maxDelay;
+		this.minSamples = builder.minSamples;
+		this.maxHedgedRequests = builder.maxHedgedRequests;
+		this.methods = builder.methods.isEmpty() ? EnumSet.noneOf(HttpMethod.class) : EnumSet.copyOf(builder.methods);
+		this.budget = builder.budget;
+	}
+
+	/**
+	 * Get the {@link DefaultHedgingPolicy} instance of given policy.
+	 * @param policy The hedging policy (not null)
+	 * @return The {@link DefaultHedgingPolicy}
+	 * @throws IllegalArgumentException If the policy is not a {@link DefaultHedgingPolicy}
+	 */
+	public static DefaultHedgingPolicy of(HedgingPolicy policy) {
+		ObjectUtils.argumentNotNull(policy, "Hedging policy must be not null");
+		if (!(policy instanceof DefaultHedgingPolicy)) {
+			throw new IllegalArgumentException(
+					"Unsupported HedgingPolicy type: [" + policy.getClass().getName() + "]");
+		}
+		return (DefaultHedgingPolicy) policy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.HedgingPolicy#getMaxHedgedRequests()
+	 */
+	@Override
+	public int getMaxHedgedRequests() {
+		return maxHedgedRequests;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.HedgingPolicy#isHedgeableMethod(com.holonplatform.http.HttpMethod)
+	 */
+	@Override
+	public boolean isHedgeableMethod(HttpMethod method) {
+		return method != null && methods.contains(method);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.HedgingPolicy#getHedgeDelay(java.lang.String)
+	 */
+	@Override
+	public long getHedgeDelay(String target) {
+		final LatencyHistogram histogram = (target != null) ? latencies.get(target) : null;
+		if (histogram == null || histogram.getCount() < minSamples) {
+			return initialDelay;
+		}
+		return Math.min(maxDelay, Math.max(minDelay, histogram.getValueAtPercentile(percentile)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.HedgingPolicy#recordLatency(java.lang.String, long)
+	 */
+	@Override
+	public void recordLatency(String target, long latency) {
+		if (target != null) {
+			latencies.computeIfAbsent(target, t -> LatencyHistogram.create()).record(latency);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.HedgingPolicy#getLatencyHistograms()
+	 */
+	@Override
+	public Map<String, LatencyHistogram> getLatencyHistograms() {
+		return Collections.unmodifiableMap(new HashMap<>(latencies));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.HedgingPolicy#getHedgedRequestCount()
+	 */
+	@Override
+	public long getHedgedRequestCount() {
+		return hedged.sum();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.HedgingPolicy#getHedgeWinCount()
+	 */
+	@Override
+	public long getHedgeWinCount() {
+		return wins.sum();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.HedgingPolicy#getBudget()
+	 */
+	@Override
+	public Optional<RetryBudget> getBudget() {
+		return Optional.ofNullable(budget);
+	}
+
+	/**
+	 * Register a hedged request.
+	 */
+	void hedged() {
+		hedged.increment();
+	}
+
+	/**
+	 * Register a hedged request completed before the original one.
+	 */
+	void win() {
+		wins.increment();
+	}
+
+	/**
+	 * Get the target of given request URI, i.e. its scheme, host and port.
+	 * @param requestURI The request URI
+	 * @return The request target
+	 */
+	static String getTarget(String requestURI) {
+		return HttpUtils.getRequestTarget(requestURI);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultHedgingPolicy [percentile=" + percentile + ", initialDelay=" + initialDelay + ", minDelay="
+				+ minDelay + ", maxDelay=" + maxDelay + ", minSamples=" + minSamples + ", maxHedgedRequests="
+				+ maxHedgedRequests + ", methods=" + methods + ", budget=" + budget + "]";
+	}
+
+	/**
+	 * Default {@link HedgingPolicy.Builder}.
+	 */
+	public static class DefaultBuilder implements HedgingPolicy.Builder {
+
+		private double percentile = DEFAULT_PERCENTILE;
+		private long initialDelay = DEFAULT_INITIAL_DELAY;
+		private long minDelay = DEFAULT_MIN_DELAY;
+		private long maxDelay = DEFAULT_MAX_DELAY;
+		private int minSamples = DEFAULT_MIN_SAMPLES;
+		private int maxHedgedRequests = 1;
+		private Set<HttpMethod> methods = EnumSet.copyOf(DefaultRetryPolicy.IDEMPOTENT_METHODS);
+		private RetryBudget budget;
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.HedgingPolicy.Builder#percentile(double)
+		 */
+		@Override
+		public HedgingPolicy.Builder percentile(double percentile) {
+			if (percentile < 0d || percentile > 100d) {
+				throw new IllegalArgumentException("The percentile must be between 0 and 100");
+			}
+			this.percentile = percentile;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.HedgingPolicy.Builder#delay(long, long, java.util.concurrent.TimeUnit)
+		 */
+		@Override
+		public HedgingPolicy.Builder delay(long minDelay, long maxDelay, TimeUnit unit) {
+			ObjectUtils.argumentNotNull(unit, "Time unit must be not null");
+			if (minDelay < 0) {
+				throw new IllegalArgumentException("The minimum delay must be greater than or equal to 0");
+			}
+			if (maxDelay < minDelay) {
+				throw new IllegalArgumentException("The maximum delay must be greater than or equal to the minimum delay");
+			}
+			this.minDelay = unit.toMillis(minDelay);
+			this.maxDelay = unit.toMillis(maxDelay);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.HedgingPolicy.Builder#initialDelay(long, java.util.concurrent.TimeUnit)
+		 */
+		@Override
+		public HedgingPolicy.Builder initialDelay(long initialDelay, TimeUnit unit) {
+			ObjectUtils.argumentNotNull(unit, "Time unit must be not null");
+			if (initialDelay < 0) {
+				throw new IllegalArgumentException("The initial delay must be greater than or equal to 0");
+			}
+			this.initialDelay = unit.toMillis(initialDelay);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.HedgingPolicy.Builder#minSamples(int)
+		 */
+		@Override
+		public HedgingPolicy.Builder minSamples(int minSamples) {
+			if (minSamples < 1) {
+				throw new IllegalArgumentException("The minimum number of samples must be greater than 0");
+			}
+			this.minSamples = minSamples;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.HedgingPolicy.Builder#maxHedgedRequests(int)
+		 */
+		@Override
+		public HedgingPolicy.Builder maxHedgedRequests(int maxHedgedRequests) {
+			if (maxHedgedRequests < 1) {
+				throw new IllegalArgumentException("The maximum number of hedged requests must be greater than 0");
+			}
+			this.maxHedgedRequests = maxHedgedRequests;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.HedgingPolicy.Builder#methods(com.holonplatform.http.HttpMethod[])
+		 */
+		@Override
+		public HedgingPolicy.Builder methods(HttpMethod... methods) {
+			this.methods = EnumSet.noneOf(HttpMethod.class);
+			if (methods != null) {
+				Arrays.stream(methods).filter(m -> m != null).forEach(this.methods::add);
+			}
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.HedgingPolicy.Builder#budget(com.holonplatform.http.rest.RetryBudget)
+		 */
+		@Override
+		public HedgingPolicy.Builder budget(RetryBudget budget) {
+			this.budget = budget;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.async.http.HedgingPolicy.Builder#build()
+		 */
+		@Override
+		public HedgingPolicy build() {
+			return new DefaultHedgingPolicy(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.internal;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.async.http.HedgingPolicy;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.HttpStatus;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.internal.rest.CachedResponseFactory;
+import com.holonplatform.http.internal.rest.HttpCacheInvocation;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RetryBudget;
+
+/**
+ * An {@link AsyncInvoker} which sends hedged requests according to a {@link HedgingPolicy}, delegating the actual
+ * request invocations to a concrete {@link AsyncInvoker}. The latency of every request is recorded in the policy, so
+ * that the hedge delay follows the target latency distribution.
+ *
+ * @since 5.6.0
+ */
+public class HedgingAsyncInvoker implements AsyncInvoker {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	private final AsyncInvoker invoker;
+	private final DefaultHedgingPolicy policy;
+	private final ScheduledExecutorService scheduler;
+	private final boolean deposit;
+
+	/**
+	 * Constructor.
+	 * @param invoker The concrete invoker (not null)
+	 * @param policy The hedging policy (not null)
+	 * @param scheduler The scheduler to use to send the hedged requests (not null)
+	 * @param deposit Whether to deposit each original request in the policy budget, if any. Should be
+	 *        <code>false</code> when the budget is already fed by a retry policy
+	 */
+	public HedgingAsyncInvoker(AsyncInvoker invoker, HedgingPolicy policy, ScheduledExecutorService scheduler,
+			boolean deposit) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		ObjectUtils.argumentNotNull(scheduler, "Scheduler must be not null");
+		this.invoker = invoker;
+		this.policy = DefaultHedgingPolicy.of(policy);
+		this.scheduler = scheduler;
+		this.deposit = deposit;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#getResponseFactory()
+	 */
+	@Override
+	public CachedResponseFactory getResponseFactory() {
+		return invoker.getResponseFactory();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#invoke(com.holonplatform.async.http.AsyncRestClient.
+	 * AsyncRequestDefinition, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		final String target = DefaultHedgingPolicy.getTarget(requestDefinition.getRequestURI());
+		if (deposit) {
+			policy.getBudget().ifPresent(RetryBudget::deposit);
+		}
+		if (!policy.isHedgeableMethod(method) || (requestEntity != null
+				&& requestEntity.getPayload().filter(p -> p instanceof InputStream).isPresent())) {
+			final long start = System.nanoTime();
+			return invoker.invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode)
+					.whenComplete((r, e) -> {
+						if (r != null) {
+							policy.recordLatency(target, elapsed(start));
+						}
+					});
+		}
+		final Hedge<T, R> hedge = new Hedge<>(target, requestDefinition, method, requestEntity, responseType,
+				onlySuccessfulStatusCode);
+		hedge.send();
+		return hedge.result;
+	}
+
+	private static long elapsed(long start) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+
+	private static Throwable unwrap(Throwable error) {
+		return (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+	}
+
+	private static void close(ResponseEntity<?> response) {
+		try {
+			response.close();
+		} catch (Exception e) {
+			LOGGER.debug(() -> "Failed to close the response", e);
+		}
+	}
+
+	private static void cancel(CompletionStage<?> stage) {
+		try {
+			stage.toCompletableFuture().cancel(true);
+		} catch (@SuppressWarnings("unused") UnsupportedOperationException e) {
+			// ignore
+		}
+	}
+
+	/**
+	 * A hedged request invocation.
+	 * @param <T> Response type
+	 * @param <R> Request entity type
+	 */
+	private final class Hedge<T, R> {
+
+		final String target;
+		final AsyncRequestDefinition requestDefinition;
+		final HttpMethod method;
+		final RequestEntity<R> requestEntity;
+		final ResponseType<T> responseType;
+		final boolean onlySuccessfulStatusCode;
+
+		final CompletableFuture<ResponseEntity<T>> result = new CompletableFuture<>();
+
+		private final List<CompletionStage<?>> attempts = new ArrayList<>(2);
+		private int sent = 0;
+		private int outstanding = 0;
+
+		Hedge(String target, AsyncRequestDefinition requestDefinition, HttpMethod method,
+				RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+			super();
+			this.target = target;
+			this.requestDefinition = requestDefinition;
+			this.method = method;
+			this.requestEntity = requestEntity;
+			this.responseType = responseType;
+			this.onlySuccessfulStatusCode = onlySuccessfulStatusCode;
+			result.whenComplete((r, e) -> {
+				final List<CompletionStage<?>> pending;
+				synchronized (this) {
+					pending = new ArrayList<>(attempts);
+				}
+				pending.forEach(HedgingAsyncInvoker::cancel);
+			});
+		}
+
+		/**
+		 * Send the original request or a hedged request and schedule the next hedged request, if any.
+		 */
+		void send() {
+			final int index;
+			synchronized (this) {
+				index = sent++;
+				outstanding++;
+			}
+			final long start = System.nanoTime();
+			final CompletionStage<ResponseEntity<T>> stage;
+			try {
+				stage = invoker.invoke(requestDefinition, method, requestEntity, responseType, false);
+			} catch (RuntimeException e) {
+				completed(index, null, e);
+				return;
+			}
+			synchronized (this) {
+				attempts.add(stage);
+			}
+			if (result.isDone()) {
+				cancel(stage);
+			}
+			stage.whenComplete((r, e) -> {
+				if (r != null) {
+					policy.recordLatency(target, elapsed(start));
+				}
+				completed(index, r, (e != null) ? unwrap(e) : null);
+			});
+			if (index < policy.getMaxHedgedRequests()) {
+				final long delay = policy.getHedgeDelay(target);
+				try {
+					scheduler.schedule(this::hedge, delay, TimeUnit.MILLISECONDS);
+				} catch (RejectedExecutionException e) {
+					LOGGER.debug(() -> "AsyncRestClient: failed to schedule a hedged request", e);
+				}
+			}
+		}
+
+		/**
+		 * Send a hedged request if no response was received yet.
+		 */
+		private void hedge() {
+			if (result.isDone() || !policy.getBudget().map(RetryBudget::tryWithdraw).orElse(Boolean.TRUE)) {
+				return;
+			}
+			policy.hedged();
+			LOGGER.debug(() -> "AsyncRestClient: hedged request [" + requestDefinition.getRequestURI() + "]");
+			send();
+		}
+
+		/**
+		 * Handle a request completion: the first successful response is used.
+		 * @param index The request index, <code>0</code> for the original request
+		 * @param response The response, <code>null</code> if the request failed
+		 * @param error The request failure, <code>null</code> if a response was received
+		 */
+		private void completed(int index, ResponseEntity<T> response, Throwable error) {
+			final boolean last;
+			synchronized (this) {
+				last = (--outstanding == 0);
+			}
+			if (result.isDone()) {
+				if (response != null) {
+					close(response);
+				}
+				return;
+			}
+			final boolean success = (error == null) && !HttpStatus.isServerErrorStatusCode(response.getStatusCode());
+			if (!success && !last) {
+				// wait for the other requests
+				if (response != null) {
+					close(response);
+				}
+				return;
+			}
+			if (error != null) {
+				result.completeExceptionally(error);
+				return;
+			}
+			final ResponseEntity<T> checked;
+			try {
+				checked = HttpCacheInvocation.checkStatus(response, onlySuccessfulStatusCode);
+			} catch (RuntimeException e) {
+				result.completeExceptionally(e);
+				return;
+			}
+			if (index > 0 && !result.isDone()) {
+				policy.win();
+			}
+			if (!result.complete(checked)) {
+				close(response);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.internal;
+
+import java.util.concurrent.CompletionStage;
+
+import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.core.instrumentation.Instrumentation;
+import com.holonplatform.core.instrumentation.Instrumentation.Observation;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.internal.HttpUtils;
+import com.holonplatform.http.internal.rest.CachedResponseFactory;
+import com.holonplatform.http.internal.rest.InstrumentingInvoker;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+
+/**
+ * An {@link AsyncInvoker} which notifies an {@link Instrumentation} of each request invocation, delegating the actual
+ * request invocations to a concrete {@link AsyncInvoker}.
+ * 
+ * @see InstrumentingInvoker
+ *
+ * @since 5.6.0
+ */
+public class InstrumentingAsyncInvoker implements AsyncInvoker {
+
+	private final AsyncInvoker invoker;
+	private final Instrumentation instrumentation;
+
+	/**
+	 * Constructor.
+	 * @param invoker The concrete invoker (not null)
+	 * @param instrumentation The instrumentation to notify (not null)
+	 */
+	public InstrumentingAsyncInvoker(AsyncInvoker invoker, Instrumentation instrumentation) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		ObjectUtils.argumentNotNull(instrumentation, "Instrumentation must be not null");
+		this.invoker = invoker;
+		this.instrumentation = instrumentation;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#getResponseFactory()
+	 */
+	@Override
+	public CachedResponseFactory getResponseFactory() {
+		return invoker.getResponseFactory();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#invoke(com.holonplatform.async.http.AsyncRestClient.
+	 * AsyncRequestDefinition, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		final Observation observation = instrumentation.start(Instrumentation.REST_CLIENT, method.getMethodName(),
+				HttpUtils.getRequestTarget(requestDefinition.getRequestURI()));
+		final CompletionStage<ResponseEntity<T>> stage;
+		try {
+			stage = invoker.invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode);
+		} catch (RuntimeException e) {
+			observation.failure(e);
+			throw e;
+		}
+		// the returned stage is the delegate one, so that cancellations are propagated
+		stage.whenComplete((r, e) -> {
+			if (e != null) {
+				observation.failure(e);
+			} else {
+				InstrumentingInvoker.complete(observation, r);
+			}
+		});
+		return stage;
+	}
+
+}
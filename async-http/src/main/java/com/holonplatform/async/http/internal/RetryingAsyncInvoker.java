@@ -0,0 +1,212 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.internal.rest.CachedResponseFactory;
+import com.holonplatform.http.internal.rest.DefaultRetryPolicy;
+import com.holonplatform.http.internal.rest.HttpCacheInvocation;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RetryBudget;
+import com.holonplatform.http.rest.RetryPolicy;
+
+/**
+ * An {@link AsyncInvoker} which retries the failed requests according to a {@link RetryPolicy}, delegating the actual
+ * request invocations to a concrete {@link AsyncInvoker}. The retries are scheduled using a
+ * {@link ScheduledExecutorService}.
+ *
+ * @since 5.6.0
+ */
+public class RetryingAsyncInvoker implements AsyncInvoker {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	private final AsyncInvoker invoker;
+	private final RetryPolicy policy;
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * Constructor.
+	 * @param invoker The concrete invoker (not null)
+	 * @param policy The retry policy (not null)
+	 * @param scheduler The scheduler to use to perform the retries (not null)
+	 */
+	public RetryingAsyncInvoker(AsyncInvoker invoker, RetryPolicy policy, ScheduledExecutorService scheduler) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		ObjectUtils.argumentNotNull(policy, "Retry policy must be not null");
+		ObjectUtils.argumentNotNull(scheduler, "Scheduler must be not null");
+		this.invoker = invoker;
+		this.policy = policy;
+		this.scheduler = scheduler;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#getResponseFactory()
+	 */
+	@Override
+	public CachedResponseFactory getResponseFactory() {
+		return invoker.getResponseFactory();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.async.http.internal.AsyncInvoker#invoke(com.holonplatform.async.http.AsyncRestClient.
+	 * AsyncRequestDefinition, com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+			HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+			boolean onlySuccessfulStatusCode) {
+		if (!DefaultRetryPolicy.isRetryable(policy, method, requestEntity)) {
+			return invoker.invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode);
+		}
+		policy.getBudget().ifPresent(RetryBudget::deposit);
+		final Retry<T, R> retry = new Retry<>(requestDefinition, method, requestEntity, responseType,
+				onlySuccessfulStatusCode);
+		retry.attempt(1);
+		return retry.result;
+	}
+
+	private static Throwable unwrap(Throwable error) {
+		return (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+	}
+
+	private static void close(ResponseEntity<?> response) {
+		try {
+			response.close();
+		} catch (Exception e) {
+			LOGGER.debug(() -> "Failed to close the response", e);
+		}
+	}
+
+	/**
+	 * A retryable request invocation.
+	 * @param <T> Response type
+	 * @param <R> Request entity type
+	 */
+	private final class Retry<T, R> {
+
+		final AsyncRequestDefinition requestDefinition;
+		final HttpMethod method;
+		final RequestEntity<R> requestEntity;
+		final ResponseType<T> responseType;
+		final boolean onlySuccessfulStatusCode;
+
+		final CompletableFuture<ResponseEntity<T>> result = new CompletableFuture<>();
+
+		Retry(AsyncRequestDefinition requestDefinition, HttpMethod method, RequestEntity<R> requestEntity,
+				ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+			super();
+			this.requestDefinition = requestDefinition;
+			this.method = method;
+			this.requestEntity = requestEntity;
+			this.responseType = responseType;
+			this.onlySuccessfulStatusCode = onlySuccessfulStatusCode;
+		}
+
+		/**
+		 * Perform an attempt.
+		 * @param attempt The attempt number
+		 */
+		void attempt(int attempt) {
+			if (result.isDone()) {
+				return;
+			}
+			final CompletionStage<ResponseEntity<T>> stage;
+			try {
+				stage = invoker.invoke(requestDefinition, method, requestEntity, responseType, false);
+			} catch (RuntimeException e) {
+				completed(attempt, null, e);
+				return;
+			}
+			result.whenComplete((r, e) -> {
+				if (result.isCancelled()) {
+					cancel(stage);
+				}
+			});
+			stage.whenComplete((r, e) -> completed(attempt, r, (e != null) ? unwrap(e) : null));
+		}
+
+		/**
+		 * Handle an attempt completion, scheduling a new attempt if the request has to be retried.
+		 * @param attempt The attempt number
+		 * @param response The response, <code>null</code> if the attempt failed
+		 * @param error The attempt failure, <code>null</code> if a response was received
+		 */
+		private void completed(int attempt, ResponseEntity<T> response, Throwable error) {
+			if (result.isDone()) {
+				if (response != null) {
+					close(response);
+				}
+				return;
+			}
+			final boolean retryable = (error != null) ? policy.isRetryableException(error)
+					: policy.isRetryableStatus(response.getStatusCode());
+			if (!retryable || attempt >= policy.getMaxAttempts()
+					|| !policy.getBudget().map(RetryBudget::tryWithdraw).orElse(Boolean.TRUE)) {
+				if (error != null) {
+					result.completeExceptionally(error);
+				} else {
+					try {
+						result.complete(HttpCacheInvocation.checkStatus(response, onlySuccessfulStatusCode));
+					} catch (RuntimeException e) {
+						result.completeExceptionally(e);
+					}
+				}
+				return;
+			}
+			final int next = attempt + 1;
+			final long delay = policy.getDelay(next, response);
+			final String cause = (error != null) ? error.getMessage() : ("status " + response.getStatusCode());
+			if (response != null) {
+				close(response);
+			}
+			LOGGER.debug(() -> "AsyncRestClient: retry [" + requestDefinition.getRequestURI() + "] attempt " + next
+					+ " in " + delay + " ms (" + cause + ")");
+			try {
+				scheduler.schedule(() -> attempt(next), delay, TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException e) {
+				result.completeExceptionally(e);
+			}
+		}
+
+		private void cancel(CompletionStage<?> stage) {
+			try {
+				stage.toCompletableFuture().cancel(true);
+			} catch (@SuppressWarnings("unused") UnsupportedOperationException e) {
+				// ignore
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.async.http.internal.AsyncCachingInvoker;
+import com.holonplatform.async.http.internal.AsyncInvoker;
+import com.holonplatform.async.http.internal.DefaultAsyncRequestDefinition;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.internal.rest.CachedResponseEntity;
+import com.holonplatform.http.internal.rest.CachedResponseFactory;
+import com.holonplatform.http.internal.rest.HttpCacheEntry;
+import com.holonplatform.http.rest.HttpCache;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+
+public class TestAsyncCachingInvoker {
+
+	@Test
+	public void testCaching() throws Exception {
+		final TestInvoker upstream = new TestInvoker("value");
+		final HttpCache cache = HttpCache.create();
+		final AsyncCachingInvoker invoker = new AsyncCachingInvoker(upstream, cache,
+				CachedResponseFactory.getDefault());
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals("value", request(invoker).getForEntity(String.class).toCompletableFuture().get()
+					.orElse(null));
+		}
+		assertEquals(1, upstream.calls.get());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void testStream() throws Exception {
+		final TestInvoker upstream = new TestInvoker("[\"a\",\"b\"]");
+		final HttpCache cache = HttpCache.create();
+		final AsyncCachingInvoker invoker = new AsyncCachingInvoker(upstream, cache,
+				CachedResponseFactory.getDefault());
+
+		for (int i = 1; i <= 2; i++) {
+			upstream.closed.set(false);
+			try (Stream<String> stream = request(invoker).getAsStream(String.class).toCompletableFuture().get()) {
+				// the response body is not read until the stream is consumed
+				assertFalse(upstream.closed.get());
+				assertEquals(Arrays.asList("\"a\"", "\"b\""), stream.collect(Collectors.toList()));
+			}
+			assertTrue(upstream.closed.get());
+			assertEquals(i, upstream.calls.get());
+		}
+		assertEquals(0, cache.size());
+	}
+
+	private static AsyncRequestDefinition request(AsyncInvoker invoker) {
+		return new DefaultAsyncRequestDefinition(invoker).target(URI.create("http://localhost/test")).path("data");
+	}
+
+	private static class TestInvoker implements AsyncInvoker {
+
+		final String body;
+		final AtomicInteger calls = new AtomicInteger();
+		final AtomicBoolean closed = new AtomicBoolean();
+
+		TestInvoker(String body) {
+			super();
+			this.body = body;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+				HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+				boolean onlySuccessfulStatusCode) {
+			calls.incrementAndGet();
+			final long now = System.currentTimeMillis();
+			final Map<String, List<String>> headers = new HashMap<>();
+			headers.put(HttpHeaders.CONTENT_TYPE, Collections.singletonList("application/json"));
+			headers.put(HttpHeaders.CACHE_CONTROL, Collections.singletonList("max-age=60"));
+			final HttpCacheEntry entry = new HttpCacheEntry("response", 200, headers,
+					body.getBytes(StandardCharsets.UTF_8), now, now, Collections.emptyMap());
+			return CompletableFuture.completedFuture(
+					(ResponseEntity<T>) new CachedResponseEntity<Object>(requestDefinition, entry,
+							(ResponseType<Object>) responseType) {
+
+						@Override
+						public void close() {
+							closed.set(true);
+						}
+
+					});
+		}
+
+	}
+
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.async.http.internal.AsyncInvoker;
+import com.holonplatform.async.http.internal.CoalescingAsyncInvoker;
+import com.holonplatform.async.http.internal.DefaultAsyncRequestDefinition;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
+import com.holonplatform.http.internal.rest.CachedResponseEntity;
+import com.holonplatform.http.internal.rest.CachedResponseFactory;
+import com.holonplatform.http.internal.rest.HttpCacheEntry;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+
+public class TestCoalescingAsyncInvoker {
+
+	@Test
+	public void testCoalescing() throws Exception {
+		final TestInvoker upstream = new TestInvoker();
+		final CoalescingAsyncInvoker invoker = new CoalescingAsyncInvoker(upstream,
+				CachedResponseFactory.getDefault());
+
+		final CompletableFuture<ResponseEntity<String>> r1 = get(invoker, request(upstream), String.class);
+		final CompletableFuture<ResponseEntity<String>> r2 = get(invoker, request(upstream), String.class);
+		final CompletableFuture<ResponseEntity<byte[]>> r3 = get(invoker, request(upstream), byte[].class);
+
+		assertEquals(1, upstream.invocations.size());
+		assertEquals(1, invoker.getInFlightCount());
+		assertFalse(r1.isDone());
+
+		upstream.invocations.get(0).complete(200, "value");
+
+		assertEquals("value", r1.get().getPayload().orElse(null));
+		assertEquals("value", r2.get().getPayload().orElse(null));
+		assertEquals("value", new String(r3.get().getPayload().orElse(null), StandardCharsets.UTF_8));
+		assertNotSame(r1.get(), r2.get());
+		assertEquals(0, invoker.getInFlightCount());
+
+		// not in flight anymore
+		final CompletableFuture<ResponseEntity<String>> r4 = get(invoker, request(upstream), String.class);
+		assertEquals(2, upstream.invocations.size());
+		upstream.invocations.get(1).complete(200, "value2");
+		assertEquals("value2", r4.get().getPayload().orElse(null));
+	}
+
+	@Test
+	public void testDistinctRequests() {
+		final TestInvoker upstream = new TestInvoker();
+		final CoalescingAsyncInvoker invoker = new CoalescingAsyncInvoker(upstream,
+				CachedResponseFactory.getDefault());
+
+		get(invoker, request(upstream), String.class);
+		get(invoker, request(upstream).path("other"), String.class);
+		get(invoker, request(upstream).queryParameter("q", "1"), String.class);
+		get(invoker, request(upstream).header("X-Test", "1"), String.class);
+		get(invoker, request(upstream).header("x-test", "1"), String.class);
+		invoker.invoke(request(upstream), HttpMethod.HEAD, null, ResponseType.of(Void.class), false);
+
+		assertEquals(5, upstream.invocations.size());
+		assertEquals(5, invoker.getInFlightCount());
+	}
+
+	@Test
+	public void testNotCoalescable() {
+		final TestInvoker upstream = new TestInvoker();
+		final CoalescingAsyncInvoker invoker = new CoalescingAsyncInvoker(upstream,
+				CachedResponseFactory.getDefault());
+
+		final RequestEntity<String> entity = RequestEntity.text("payload");
+		invoker.invoke(request(upstream), HttpMethod.POST, entity, ResponseType.of(String.class), false);
+		invoker.invoke(request(upstream), HttpMethod.POST, entity, ResponseType.of(String.class), false);
+		assertEquals(2, upstream.invocations.size());
+
+		invoker.invoke(request(upstream), HttpMethod.PUT, entity, ResponseType.of(String.class), false);
+		invoker.invoke(request(upstream), HttpMethod.PUT, entity, ResponseType.of(String.class), false);
+		assertEquals(4, upstream.invocations.size());
+
+		invoker.invoke(request(upstream), HttpMethod.DELETE, null, ResponseType.of(Void.class), false);
+		invoker.invoke(request(upstream), HttpMethod.DELETE, null, ResponseType.of(Void.class), false);
+		assertEquals(6, upstream.invocations.size());
+
+		// streamed responses
+		get(invoker, request(upstream), InputStream.class);
+		get(invoker, request(upstream), InputStream.class);
+		assertEquals(8, upstream.invocations.size());
+
+		assertEquals(0, invoker.getInFlightCount());
+	}
+
+	@Test
+	public void testErrorFanOut() {
+		final TestInvoker upstream = new TestInvoker();
+		final CoalescingAsyncInvoker invoker = new CoalescingAsyncInvoker(upstream,
+				CachedResponseFactory.getDefault());
+
+		final CompletableFuture<ResponseEntity<String>> r1 = get(invoker, request(upstream), String.class);
+		final CompletableFuture<ResponseEntity<String>> r2 = get(invoker, request(upstream), String.class);
+		assertEquals(1, upstream.invocations.size());
+
+		final RuntimeException error = new IllegalStateException("failed");
+		upstream.invocations.get(0).response.completeExceptionally(error);
+
+		ExecutionException ee = assertThrows(ExecutionException.class, () -> r1.get());
+		assertSame(error, ee.getCause());
+		ee = assertThrows(ExecutionException.class, () -> r2.get());
+		assertSame(error, ee.getCause());
+		assertEquals(0, invoker.getInFlightCount());
+	}
+
+	@Test
+	public void testUnsuccessfulStatus() throws Exception {
+		final TestInvoker upstream = new TestInvoker();
+		final CoalescingAsyncInvoker invoker = new CoalescingAsyncInvoker(upstream,
+				CachedResponseFactory.getDefault());
+
+		final CompletableFuture<ResponseEntity<String>> r1 = invoker
+				.invoke(request(upstream), HttpMethod.GET, null, ResponseType.of(String.class), true)
+				.toCompletableFuture();
+		final CompletableFuture<ResponseEntity<String>> r2 = get(invoker, request(upstream), String.class);
+		assertEquals(1, upstream.invocations.size());
+		assertFalse(upstream.invocations.get(0).onlySuccessfulStatusCode);
+
+		upstream.invocations.get(0).complete(404, "missing");
+
+		final ExecutionException ee = assertThrows(ExecutionException.class, () -> r1.get());
+		assertTrue(ee.getCause() instanceof UnsuccessfulResponseException);
+		assertEquals(404, r2.get().getStatusCode());
+		assertEquals("missing", r2.get().getPayload().orElse(null));
+	}
+
+	@Test
+	public void testCancellation() throws Exception {
+		final TestInvoker upstream = new TestInvoker();
+		final CoalescingAsyncInvoker invoker = new CoalescingAsyncInvoker(upstream,
+				CachedResponseFactory.getDefault());
+
+		final CompletableFuture<ResponseEntity<String>> r1 = get(invoker, request(upstream), String.class);
+		final CompletableFuture<ResponseEntity<String>> r2 = get(invoker, request(upstream), String.class);
+		assertEquals(1, upstream.invocations.size());
+		final CompletableFuture<ResponseEntity<byte[]>> shared = upstream.invocations.get(0).response;
+
+		// other callers still waiting
+		r1.cancel(true);
+		assertFalse(shared.isCancelled());
+		assertEquals(1, invoker.getInFlightCount());
+
+		// joined by a new caller
+		final CompletableFuture<ResponseEntity<String>> r3 = get(invoker, request(upstream), String.class);
+		assertEquals(1, upstream.invocations.size());
+
+		// abandoned by all the callers
+		r2.cancel(true);
+		assertFalse(shared.isCancelled());
+		r3.cancel(true);
+		assertTrue(shared.isCancelled());
+		assertEquals(0, invoker.getInFlightCount());
+
+		// a new request is performed
+		final CompletableFuture<ResponseEntity<String>> r4 = get(invoker, request(upstream), String.class);
+		assertEquals(2, upstream.invocations.size());
+		upstream.invocations.get(1).complete(200, "value");
+		assertEquals("value", r4.get().getPayload().orElse(null));
+	}
+
+	@Test
+	public void testCancellationAfterCompletion() throws Exception {
+		final TestInvoker upstream = new TestInvoker();
+		final CoalescingAsyncInvoker invoker = new CoalescingAsyncInvoker(upstream,
+				CachedResponseFactory.getDefault());
+
+		final CompletableFuture<ResponseEntity<String>> r1 = get(invoker, request(upstream), String.class);
+		final CompletableFuture<ResponseEntity<String>> r2 = get(invoker, request(upstream), String.class);
+		upstream.invocations.get(0).complete(200, "value");
+
+		assertFalse(r1.cancel(true));
+		assertFalse(r2.cancel(true));
+		assertEquals("value", r2.get().getPayload().orElse(null));
+	}
+
+	@Test
+	public void testInvocationFailure() {
+		final TestInvoker upstream = new TestInvoker();
+		upstream.failure = new IllegalStateException("invocation failed");
+		final CoalescingAsyncInvoker invoker = new CoalescingAsyncInvoker(upstream,
+				CachedResponseFactory.getDefault());
+
+		final CompletableFuture<ResponseEntity<String>> r1 = get(invoker, request(upstream), String.class);
+		final ExecutionException ee = assertThrows(ExecutionException.class, () -> r1.get());
+		assertSame(upstream.failure, ee.getCause());
+		assertEquals(0, invoker.getInFlightCount());
+	}
+
+	private static AsyncRequestDefinition request(AsyncInvoker invoker) {
+		return new DefaultAsyncRequestDefinition(invoker).target(URI.create("http://localhost/test")).path("data");
+	}
+
+	private static <T> CompletableFuture<ResponseEntity<T>> get(AsyncInvoker invoker,
+			AsyncRequestDefinition request, Class<T> responseType) {
+		return invoker.invoke(request, HttpMethod.GET, null, ResponseType.of(responseType), false)
+				.toCompletableFuture();
+	}
+
+	private static class Invocation {
+
+		final AsyncRequestDefinition request;
+		final boolean onlySuccessfulStatusCode;
+		final CompletableFuture<ResponseEntity<byte[]>> response = new CompletableFuture<>();
+
+		Invocation(AsyncRequestDefinition request, boolean onlySuccessfulStatusCode) {
+			super();
+			this.request = request;
+			this.onlySuccessfulStatusCode = onlySuccessfulStatusCode;
+		}
+
+		void complete(int status, String body) {
+			final long now = System.currentTimeMillis();
+			response.complete(new CachedResponseEntity<>(request,
+					new HttpCacheEntry("response", status,
+							Collections.singletonMap(HttpHeaders.CONTENT_TYPE,
+									Collections.singletonList("text/plain; charset=UTF-8")),
+							body.getBytes(StandardCharsets.UTF_8), now, now, Collections.emptyMap()),
+					ResponseType.of(byte[].class)));
+		}
+
+	}
+
+	private static class TestInvoker implements AsyncInvoker {
+
+		final List<Invocation> invocations = new CopyOnWriteArrayList<>();
+		volatile RuntimeException failure;
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+				HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+				boolean onlySuccessfulStatusCode) {
+			if (failure != null) {
+				throw failure;
+			}
+			final Invocation invocation = new Invocation(requestDefinition, onlySuccessfulStatusCode);
+			invocations.add(invocation);
+			return (CompletionStage<ResponseEntity<T>>) (CompletionStage<?>) invocation.response;
+		}
+
+	}
+
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.async.http.ConcurrencyLimit;
+import com.holonplatform.async.http.ConcurrencyLimit.Metrics;
+import com.holonplatform.async.http.ConcurrencyLimit.RejectionPolicy;
+import com.holonplatform.async.http.internal.AsyncInvoker;
+import com.holonplatform.async.http.internal.ConcurrencyLimitingAsyncInvoker;
+import com.holonplatform.async.http.internal.DefaultAsyncRequestDefinition;
+import com.holonplatform.async.http.internal.DefaultConcurrencyLimit;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.exceptions.ConcurrencyLimitExceededException;
+import com.holonplatform.http.internal.rest.CachedResponseEntity;
+import com.holonplatform.http.internal.rest.HttpCacheEntry;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+
+public class TestConcurrencyLimit {
+
+	private static final String TARGET = "http://localhost";
+
+	private ScheduledThreadPoolExecutor scheduler;
+
+	@BeforeEach
+	public void setup() {
+		scheduler = new ScheduledThreadPoolExecutor(1);
+		scheduler.setRemoveOnCancelPolicy(true);
+	}
+
+	@AfterEach
+	public void teardown() {
+		scheduler.shutdownNow();
+	}
+
+	@Test
+	public void testLimit() throws Exception {
+		final ConcurrencyLimit limit = ConcurrencyLimit.builder().algorithm(ConcurrencyLimit.Algorithm.FIXED)
+				.limit(2, 2, 2).maxQueueSize(1).build();
+		final TestInvoker upstream = new TestInvoker();
+		final AsyncInvoker invoker = new ConcurrencyLimitingAsyncInvoker(upstream, limit, scheduler);
+
+		assertFalse(limit.getMetrics(TARGET).isPresent());
+
+		final CompletableFuture<ResponseEntity<String>> r1 = get(invoker);
+		final CompletableFuture<ResponseEntity<String>> r2 = get(invoker);
+		final CompletableFuture<ResponseEntity<String>> r3 = get(invoker);
+		assertEquals(2, upstream.invocations.size());
+
+		final Metrics metrics = limit.getMetrics(TARGET).orElse(null);
+		assertEquals(2, metrics.getLimit());
+		assertEquals(2, metrics.getInFlight());
+		assertEquals(1, metrics.getQueueSize());
+
+		// queue full
+		final CompletableFuture<ResponseEntity<String>> r4 = get(invoker);
+		final ExecutionException ee = assertThrows(ExecutionException.class, () -> r4.get());
+		assertTrue(ee.getCause() instanceof ConcurrencyLimitExceededException);
+		assertEquals(1L, metrics.getRejectedCount());
+		assertEquals(2, upstream.invocations.size());
+
+		// the queued request is started when a request completes
+		upstream.invocations.get(0).complete(200, "value1");
+		assertEquals("value1", r1.get().getPayload().orElse(null));
+		assertEquals(3, upstream.invocations.size());
+		assertEquals(2, metrics.getInFlight());
+		assertEquals(0, metrics.getQueueSize());
+		assertFalse(r3.isDone());
+
+		upstream.invocations.get(1).complete(200, "value2");
+		upstream.invocations.get(2).complete(200, "value3");
+		assertEquals("value2", r2.get().getPayload().orElse(null));
+		assertEquals("value3", r3.get().getPayload().orElse(null));
+		assertEquals(0, metrics.getInFlight());
+		assertEquals(3L, metrics.getCompletedCount());
+
+		// limited per target
+		get(invoker, "http://other/test");
+		assertEquals(4, upstream.invocations.size());
+		assertEquals(2, limit.getMetrics().size());
+	}
+
+	@Test
+	public void testRejectOldest() throws Exception {
+		final ConcurrencyLimit limit = ConcurrencyLimit.builder().algorithm(ConcurrencyLimit.Algorithm.FIXED)
+				.limit(1, 1, 1).maxQueueSize(1).rejectionPolicy(RejectionPolicy.REJECT_OLDEST).build();
+		final TestInvoker upstream = new TestInvoker();
+		final AsyncInvoker invoker = new ConcurrencyLimitingAsyncInvoker(upstream, limit, scheduler);
+
+		get(invoker);
+		final CompletableFuture<ResponseEntity<String>> r2 = get(invoker);
+		final CompletableFuture<ResponseEntity<String>> r3 = get(invoker);
+
+		final ExecutionException ee = assertThrows(ExecutionException.class, () -> r2.get());
+		assertTrue(ee.getCause() instanceof ConcurrencyLimitExceededException);
+		assertFalse(r3.isDone());
+
+		upstream.invocations.get(0).complete(200, "value1");
+		assertEquals(2, upstream.invocations.size());
+		upstream.invocations.get(1).complete(200, "value3");
+		assertEquals("value3", r3.get().getPayload().orElse(null));
+	}
+
+	@Test
+	public void testQueueTimeout() throws Exception {
+		final ConcurrencyLimit limit = ConcurrencyLimit.builder().algorithm(ConcurrencyLimit.Algorithm.FIXED)
+				.limit(1, 1, 1).maxQueueSize(10).queueTimeout(100, TimeUnit.MILLISECONDS).build();
+		final TestInvoker upstream = new TestInvoker();
+		final AsyncInvoker invoker = new ConcurrencyLimitingAsyncInvoker(upstream, limit, scheduler);
+
+		get(invoker);
+		final CompletableFuture<ResponseEntity<String>> r2 = get(invoker);
+		assertEquals(1, scheduler.getQueue().size());
+
+		final ExecutionException ee = assertThrows(ExecutionException.class, () -> r2.get(5, TimeUnit.SECONDS));
+		assertTrue(ee.getCause() instanceof ConcurrencyLimitExceededException);
+		final Metrics metrics = limit.getMetrics(TARGET).orElse(null);
+		assertEquals(0, metrics.getQueueSize());
+		assertEquals(1L, metrics.getRejectedCount());
+
+		// the expired request is not started
+		upstream.invocations.get(0).complete(200, "value1");
+		assertEquals(1, upstream.invocations.size());
+		assertEquals(0, metrics.getInFlight());
+	}
+
+	@Test
+	public void testQueueTimeoutCancelledOnStart() throws Exception {
+		final ConcurrencyLimit limit = ConcurrencyLimit.builder().algorithm(ConcurrencyLimit.Algorithm.FIXED)
+				.limit(1, 1, 1).maxQueueSize(10).queueTimeout(1, TimeUnit.MINUTES).build();
+		final TestInvoker upstream = new TestInvoker();
+		final AsyncInvoker invoker = new ConcurrencyLimitingAsyncInvoker(upstream, limit, scheduler);
+
+		get(invoker);
+		final CompletableFuture<ResponseEntity<String>> r2 = get(invoker);
+		final CompletableFuture<ResponseEntity<String>> r3 = get(invoker);
+		assertEquals(2, scheduler.getQueue().size());
+
+		upstream.invocations.get(0).complete(200, "value1");
+		assertEquals(2, upstream.invocations.size());
+		assertEquals(1, scheduler.getQueue().size());
+
+		// a queued request cancellation cancels its timeout too
+		r3.cancel(true);
+		assertEquals(0, scheduler.getQueue().size());
+
+		upstream.invocations.get(1).complete(200, "value2");
+		assertEquals("value2", r2.get().getPayload().orElse(null));
+		assertEquals(2, upstream.invocations.size());
+	}
+
+	@Test
+	public void testCancellation() throws Exception {
+		final ConcurrencyLimit limit = ConcurrencyLimit.builder().algorithm(ConcurrencyLimit.Algorithm.FIXED)
+				.limit(1, 1, 1).maxQueueSize(10).build();
+		final TestInvoker upstream = new TestInvoker();
+		final AsyncInvoker invoker = new ConcurrencyLimitingAsyncInvoker(upstream, limit, scheduler);
+
+		final CompletableFuture<ResponseEntity<String>> r1 = get(invoker);
+		final CompletableFuture<ResponseEntity<String>> r2 = get(invoker);
+		final CompletableFuture<ResponseEntity<String>> r3 = get(invoker);
+		final Metrics metrics = limit.getMetrics(TARGET).orElse(null);
+		assertEquals(2, metrics.getQueueSize());
+
+		// queued request
+		r2.cancel(true);
+		assertEquals(1, metrics.getQueueSize());
+
+		// in-flight request: the permit is released and the next queued request is started
+		r1.cancel(true);
+		assertTrue(upstream.invocations.get(0).response.isCancelled());
+		assertEquals(2, upstream.invocations.size());
+		assertEquals(1, metrics.getInFlight());
+		assertEquals(0, metrics.getQueueSize());
+
+		upstream.invocations.get(1).complete(200, "value3");
+		assertEquals("value3", r3.get().getPayload().orElse(null));
+		assertEquals(0, metrics.getInFlight());
+	}
+
+	@Test
+	public void testQueueDrain() throws Exception {
+		final int count = 20000;
+		final ConcurrencyLimit limit = ConcurrencyLimit.builder().algorithm(ConcurrencyLimit.Algorithm.FIXED)
+				.limit(1, 1, 1).maxQueueSize(count).build();
+		final TestInvoker upstream = new TestInvoker();
+		final AsyncInvoker invoker = new ConcurrencyLimitingAsyncInvoker(upstream, limit, scheduler);
+
+		get(invoker);
+		// the queued requests complete as soon as they are started
+		upstream.immediate = true;
+		final List<CompletableFuture<ResponseEntity<String>>> responses = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			responses.add(get(invoker));
+		}
+		assertEquals(count, limit.getMetrics(TARGET).get().getQueueSize());
+
+		upstream.invocations.get(0).complete(200, "value");
+		for (CompletableFuture<ResponseEntity<String>> response : responses) {
+			assertEquals("immediate", response.get(5, TimeUnit.SECONDS).getPayload().orElse(null));
+		}
+		assertEquals(count + 1L, limit.getMetrics(TARGET).get().getCompletedCount());
+		assertEquals(0, limit.getMetrics(TARGET).get().getInFlight());
+	}
+
+	@Test
+	public void testIdleTargetsEviction() throws Exception {
+		final ConcurrencyLimit limit = ConcurrencyLimit.fixed(1);
+		final TestInvoker upstream = new TestInvoker();
+		final AsyncInvoker invoker = new ConcurrencyLimitingAsyncInvoker(upstream, limit, scheduler);
+
+		get(invoker);
+		get(invoker, "http://other/test");
+		upstream.invocations.get(1).complete(200, "value");
+		assertEquals(2, limit.getMetrics().size());
+
+		// not idle for long enough
+		assertEquals(0, DefaultConcurrencyLimit.of(limit).evictIdleTargets(1, TimeUnit.MINUTES));
+
+		// only the idle target is evicted
+		assertEquals(1, DefaultConcurrencyLimit.of(limit).evictIdleTargets(0, TimeUnit.MILLISECONDS));
+		assertTrue(limit.getMetrics(TARGET).isPresent());
+		assertFalse(limit.getMetrics("http://other").isPresent());
+
+		upstream.invocations.get(0).complete(200, "value");
+		assertEquals(1, DefaultConcurrencyLimit.of(limit).evictIdleTargets(0, TimeUnit.MILLISECONDS));
+		assertTrue(limit.getMetrics().isEmpty());
+
+		// a new target limit is created
+		final CompletableFuture<ResponseEntity<String>> response = get(invoker);
+		assertEquals(3, upstream.invocations.size());
+		assertEquals(1, limit.getMetrics(TARGET).get().getInFlight());
+		upstream.invocations.get(2).complete(200, "value3");
+		assertEquals("value3", response.get().getPayload().orElse(null));
+	}
+
+	@Test
+	public void testAdaptiveLimit() {
+		final ConcurrencyLimit limit = ConcurrencyLimit.builder().algorithm(ConcurrencyLimit.Algorithm.AIMD)
+				.limit(4, 1, 10).backoffRatio(0.5d).build();
+		final TestInvoker upstream = new TestInvoker();
+		final AsyncInvoker invoker = new ConcurrencyLimitingAsyncInvoker(upstream, limit, scheduler);
+
+		get(invoker);
+		upstream.invocations.get(0).complete(503, "unavailable");
+		assertEquals(2, limit.getMetrics(TARGET).get().getLimit());
+
+		final CompletableFuture<ResponseEntity<String>> r = get(invoker);
+		get(invoker);
+		upstream.invocations.get(1).complete(200, "value");
+		assertEquals("value", r.join().getPayload().orElse(null));
+		assertEquals(3, limit.getMetrics(TARGET).get().getLimit());
+	}
+
+	private static CompletableFuture<ResponseEntity<String>> get(AsyncInvoker invoker) {
+		return get(invoker, TARGET + "/test");
+	}
+
+	private static CompletableFuture<ResponseEntity<String>> get(AsyncInvoker invoker, String uri) {
+		final AsyncRequestDefinition request = new DefaultAsyncRequestDefinition(invoker).target(URI.create(uri))
+				.path("data");
+		return invoker.invoke(request, HttpMethod.GET, null, ResponseType.of(String.class), false)
+				.toCompletableFuture();
+	}
+
+	private static class Invocation {
+
+		final AsyncRequestDefinition request;
+		final ResponseType<?> responseType;
+		final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+		Invocation(AsyncRequestDefinition request, ResponseType<?> responseType) {
+			super();
+			this.request = request;
+			this.responseType = responseType;
+		}
+
+		void complete(int status, String body) {
+			final long now = System.currentTimeMillis();
+			response.complete(new CachedResponseEntity<>(request,
+					new HttpCacheEntry("response", status,
+							Collections.singletonMap(HttpHeaders.CONTENT_TYPE,
+									Collections.singletonList("text/plain; charset=UTF-8")),
+							body.getBytes(StandardCharsets.UTF_8), now, now, Collections.emptyMap()),
+					responseType));
+		}
+
+	}
+
+	private static class TestInvoker implements AsyncInvoker {
+
+		final List<Invocation> invocations = new CopyOnWriteArrayList<>();
+		volatile boolean immediate = false;
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+				HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+				boolean onlySuccessfulStatusCode) {
+			final Invocation invocation = new Invocation(requestDefinition, responseType);
+			if (immediate) {
+				invocation.complete(200, "immediate");
+			} else {
+				invocations.add(invocation);
+			}
+			return (CompletionStage<ResponseEntity<T>>) (CompletionStage<?>) invocation.response;
+		}
+
+	}
+
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.async.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.async.http.AsyncRestClient.AsyncRequestDefinition;
+import com.holonplatform.async.http.HedgingPolicy;
+import com.holonplatform.async.http.internal.AsyncInvoker;
+import com.holonplatform.async.http.internal.DefaultAsyncRequestDefinition;
+import com.holonplatform.async.http.internal.HedgingAsyncInvoker;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.internal.rest.CachedResponseEntity;
+import com.holonplatform.http.internal.rest.HttpCacheEntry;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RetryBudget;
+
+public class TestHedgingAsyncInvoker {
+
+	private static final String TARGET = "http://localhost";
+
+	private TestScheduler scheduler;
+
+	@BeforeEach
+	public void setup() {
+		scheduler = new TestScheduler();
+	}
+
+	@AfterEach
+	public void teardown() {
+		scheduler.shutdownNow();
+	}
+
+	@Test
+	public void testPolicyHedgeDelay() {
+		final HedgingPolicy policy = HedgingPolicy.builder().percentile(50d).initialDelay(50, TimeUnit.MILLISECONDS)
+				.delay(20, 500, TimeUnit.MILLISECONDS).minSamples(5).build();
+
+		assertEquals(50L, policy.getHedgeDelay(TARGET));
+		assertEquals(50L, policy.getHedgeDelay(null));
+
+		for (int i = 0; i < 4; i++) {
+			policy.recordLatency(TARGET, 100L);
+		}
+		// not enough samples
+		assertEquals(50L, policy.getHedgeDelay(TARGET));
+
+		policy.recordLatency(TARGET, 100L);
+		long delay = policy.getHedgeDelay(TARGET);
+		assertTrue(delay >= 90L && delay <= 110L, "Unexpected delay: " + delay);
+
+		// bounded by the maximum delay
+		for (int i = 0; i < 20; i++) {
+			policy.recordLatency(TARGET, 10000L);
+		}
+		assertEquals(500L, policy.getHedgeDelay(TARGET));
+
+		// bounded by the minimum delay, per target
+		for (int i = 0; i < 5; i++) {
+			policy.recordLatency("http://other", 1L);
+		}
+		assertEquals(20L, policy.getHedgeDelay("http://other"));
+
+		assertEquals(2, policy.getLatencyHistograms().size());
+		assertEquals(25L, policy.getLatencyHistograms().get(TARGET).getCount());
+	}
+
+	@Test
+	public void testPolicyConfiguration() {
+		final HedgingPolicy policy = HedgingPolicy.create();
+		assertEquals(1, policy.getMaxHedgedRequests());
+		assertTrue(policy.isHedgeableMethod(HttpMethod.GET));
+		assertTrue(policy.isHedgeableMethod(HttpMethod.HEAD));
+		assertFalse(policy.isHedgeableMethod(HttpMethod.POST));
+		assertFalse(policy.isHedgeableMethod(HttpMethod.PATCH));
+		assertFalse(policy.isHedgeableMethod(null));
+		assertFalse(policy.getBudget().isPresent());
+
+		assertThrows(IllegalArgumentException.class, () -> HedgingPolicy.builder().percentile(101d));
+		assertThrows(IllegalArgumentException.class,
+				() -> HedgingPolicy.builder().delay(10, 5, TimeUnit.MILLISECONDS));
+		assertThrows(IllegalArgumentException.class, () -> HedgingPolicy.builder().maxHedgedRequests(0));
+		assertThrows(IllegalArgumentException.class, () -> HedgingPolicy.builder().minSamples(0));
+	}
+
+	@Test
+	public void testHedgeDelay() {
+		final HedgingPolicy policy = HedgingPolicy.builder().initialDelay(30, TimeUnit.MILLISECONDS).minSamples(1)
+				.build();
+		final TestInvoker upstream = new TestInvoker();
+		final HedgingAsyncInvoker invoker = new HedgingAsyncInvoker(upstream, policy, scheduler, false);
+
+		get(invoker);
+		assertEquals(1, upstream.invocations.size());
+		assertEquals(1, scheduler.tasks.size());
+		assertEquals(30L, scheduler.tasks.get(0).delay);
+
+		// the latency of the responses is recorded
+		upstream.invocations.get(0).complete(200, "value");
+		assertEquals(1L, policy.getLatencyHistograms().get(TARGET).getCount());
+		policy.recordLatency(TARGET, 200L);
+		policy.recordLatency(TARGET, 200L);
+		final long delay = policy.getHedgeDelay(TARGET);
+		assertTrue(delay > 30L);
+
+		get(invoker);
+		assertEquals(2, scheduler.tasks.size());
+		assertEquals(delay, scheduler.tasks.get(1).delay);
+	}
+
+	@Test
+	public void testHedgedRequestWins() throws Exception {
+		final HedgingPolicy policy = HedgingPolicy.create();
+		final TestInvoker upstream = new TestInvoker();
+		final HedgingAsyncInvoker invoker = new HedgingAsyncInvoker(upstream, policy, scheduler, false);
+
+		final CompletableFuture<ResponseEntity<String>> response = get(invoker);
+		assertEquals(1, upstream.invocations.size());
+
+		scheduler.run(0);
+		assertEquals(2, upstream.invocations.size());
+		assertEquals(1L, policy.getHedgedRequestCount());
+		assertFalse(response.isDone());
+
+		upstream.invocations.get(1).complete(200, "hedged");
+		assertEquals("hedged", response.get().getPayload().orElse(null));
+		// the loser is cancelled
+		assertTrue(upstream.invocations.get(0).response.isCancelled());
+		assertEquals(1L, policy.getHedgeWinCount());
+	}
+
+	@Test
+	public void testOriginalRequestWins() throws Exception {
+		final HedgingPolicy policy = HedgingPolicy.create();
+		final TestInvoker upstream = new TestInvoker();
+		final HedgingAsyncInvoker invoker = new HedgingAsyncInvoker(upstream, policy, scheduler, false);
+
+		// completed before the hedge delay
+		CompletableFuture<ResponseEntity<String>> response = get(invoker);
+		upstream.invocations.get(0).complete(200, "original");
+		assertEquals("original", response.get().getPayload().orElse(null));
+		scheduler.run(0);
+		assertEquals(1, upstream.invocations.size());
+		assertEquals(0L, policy.getHedgedRequestCount());
+
+		// completed after the hedged request was sent
+		response = get(invoker);
+		scheduler.run(1);
+		assertEquals(3, upstream.invocations.size());
+		upstream.invocations.get(1).complete(200, "original");
+		assertEquals("original", response.get().getPayload().orElse(null));
+		assertTrue(upstream.invocations.get(2).response.isCancelled());
+		assertEquals(1L, policy.getHedgedRequestCount());
+		assertEquals(0L, policy.getHedgeWinCount());
+	}
+
+	@Test
+	public void testServerErrors() throws Exception {
+		final HedgingPolicy policy = HedgingPolicy.create();
+		final TestInvoker upstream = new TestInvoker();
+		final HedgingAsyncInvoker invoker = new HedgingAsyncInvoker(upstream, policy, scheduler, false);
+
+		// a server error waits for the other requests
+		final CompletableFuture<ResponseEntity<String>> response = get(invoker);
+		scheduler.run(0);
+		upstream.invocations.get(0).complete(503, "unavailable");
+		assertFalse(response.isDone());
+		upstream.invocations.get(1).complete(200, "hedged");
+		assertEquals("hedged", response.get().getPayload().orElse(null));
+
+		// the last failure is used when all the requests fail
+		final CompletableFuture<ResponseEntity<String>> failed = get(invoker);
+		scheduler.run(1);
+		final RuntimeException error = new IllegalStateException("failed");
+		upstream.invocations.get(2).response.completeExceptionally(new IllegalStateException("first"));
+		assertFalse(failed.isDone());
+		upstream.invocations.get(3).response.completeExceptionally(error);
+		final ExecutionException ee = assertThrows(ExecutionException.class, () -> failed.get());
+		assertSame(error, ee.getCause());
+	}
+
+	@Test
+	public void testMaxHedgedRequests() throws Exception {
+		final HedgingPolicy policy = HedgingPolicy.builder().maxHedgedRequests(2).build();
+		final TestInvoker upstream = new TestInvoker();
+		final HedgingAsyncInvoker invoker = new HedgingAsyncInvoker(upstream, policy, scheduler, false);
+
+		final CompletableFuture<ResponseEntity<String>> response = get(invoker);
+		scheduler.run(0);
+		assertEquals(2, upstream.invocations.size());
+		assertEquals(2, scheduler.tasks.size());
+		scheduler.run(1);
+		assertEquals(3, upstream.invocations.size());
+		// no more hedged requests
+		assertEquals(2, scheduler.tasks.size());
+		assertEquals(2L, policy.getHedgedRequestCount());
+
+		upstream.invocations.get(2).complete(200, "value");
+		assertEquals("value", response.get().getPayload().orElse(null));
+		assertTrue(upstream.invocations.get(0).response.isCancelled());
+		assertTrue(upstream.invocations.get(1).response.isCancelled());
+	}
+
+	@Test
+	public void testBudget() {
+		final HedgingPolicy policy = HedgingPolicy.builder().budget(RetryBudget.create(0d, 0)).build();
+		final TestInvoker upstream = new TestInvoker();
+		final HedgingAsyncInvoker invoker = new HedgingAsyncInvoker(upstream, policy, scheduler, false);
+
+		get(invoker);
+		scheduler.run(0);
+		assertEquals(1, upstream.invocations.size());
+		assertEquals(0L, policy.getHedgedRequestCount());
+		assertEquals(1L, policy.getBudget().get().getRejectedCount());
+	}
+
+	@Test
+	public void testNotHedgeable() {
+		final HedgingPolicy policy = HedgingPolicy.builder().methods(HttpMethod.GET, HttpMethod.PUT).build();
+		final TestInvoker upstream = new TestInvoker();
+		final HedgingAsyncInvoker invoker = new HedgingAsyncInvoker(upstream, policy, scheduler, false);
+
+		invoker.invoke(request(upstream), HttpMethod.POST, RequestEntity.text("payload"),
+				ResponseType.of(String.class), false);
+		invoker.invoke(request(upstream), HttpMethod.HEAD, null, ResponseType.of(Void.class), false);
+		// streamed request payloads cannot be sent twice
+		invoker.invoke(request(upstream), HttpMethod.PUT,
+				RequestEntity.build("application/octet-stream", new ByteArrayInputStream(new byte[] { 1 })), ResponseType.of(Void.class),
+				false);
+		assertEquals(3, upstream.invocations.size());
+		assertTrue(scheduler.tasks.isEmpty());
+
+		// the latency is recorded anyway
+		upstream.invocations.get(0).complete(200, "value");
+		assertEquals(1L, policy.getLatencyHistograms().get(TARGET).getCount());
+
+		invoker.invoke(request(upstream), HttpMethod.PUT, RequestEntity.text("payload"),
+				ResponseType.of(String.class), false);
+		assertEquals(1, scheduler.tasks.size());
+	}
+
+	private static AsyncRequestDefinition request(AsyncInvoker invoker) {
+		return new DefaultAsyncRequestDefinition(invoker).target(URI.create(TARGET + "/test")).path("data");
+	}
+
+	private static CompletableFuture<ResponseEntity<String>> get(AsyncInvoker invoker) {
+		return invoker.invoke(request(invoker), HttpMethod.GET, null, ResponseType.of(String.class), false)
+				.toCompletableFuture();
+	}
+
+	private static class ScheduledTask {
+
+		final Runnable task;
+		final long delay;
+
+		ScheduledTask(Runnable task, long delay) {
+			super();
+			this.task = task;
+			this.delay = delay;
+		}
+
+	}
+
+	/**
+	 * A scheduler which runs the scheduled tasks on demand.
+	 */
+	private static class TestScheduler extends ScheduledThreadPoolExecutor {
+
+		final List<ScheduledTask> tasks = new CopyOnWriteArrayList<>();
+
+		TestScheduler() {
+			super(1);
+		}
+
+		@Override
+		public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+			tasks.add(new ScheduledTask(command, unit.toMillis(delay)));
+			return null;
+		}
+
+		void run(int index) {
+			tasks.get(index).task.run();
+		}
+
+	}
+
+	private static class Invocation {
+
+		final AsyncRequestDefinition request;
+		final ResponseType<?> responseType;
+		final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+		Invocation(AsyncRequestDefinition request, ResponseType<?> responseType) {
+			super();
+			this.request = request;
+			this.responseType = responseType;
+		}
+
+		void complete(int status, String body) {
+			final long now = System.currentTimeMillis();
+			response.complete(new CachedResponseEntity<>(request,
+					new HttpCacheEntry("response", status,
+							Collections.singletonMap(HttpHeaders.CONTENT_TYPE,
+									Collections.singletonList("text/plain; charset=UTF-8")),
+							body.getBytes(StandardCharsets.UTF_8), now, now, Collections.emptyMap()),
+					responseType));
+		}
+
+	}
+
+	private static class TestInvoker implements AsyncInvoker {
+
+		final List<Invocation> invocations = new CopyOnWriteArrayList<>();
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T, R> CompletionStage<ResponseEntity<T>> invoke(AsyncRequestDefinition requestDefinition,
+				HttpMethod method, RequestEntity<R> requestEntity, ResponseType<T> responseType,
+				boolean onlySuccessfulStatusCode) {
+			final Invocation invocation = new Invocation(requestDefinition, responseType);
+			invocations.add(invocation);
+			return (CompletionStage<ResponseEntity<T>>) (CompletionStage<?>) invocation.response;
+		}
+
+	}
+
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.beans.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+/**
+ * Annotation processor which generates the <code>com.holonplatform.core.beans.BeanMetadata</code> class of each Java
+ * Bean class annotated with <code>com.holonplatform.core.beans.Introspected</code>.
+ * <p>
+ * The bean properties are detected using the same rules of the standard Java Beans introspection: the public, non
+ * static <code>getXxx</code>, <code>isXxx</code> (for <code>boolean</code> values) and <code>setXxx</code> methods
+ * declared by the bean class or by any of its superclasses. The generated metadata provide a direct accessor for each
+ * read and write method, so the property values can be read and written without reflection.
+ * </p>
+ * <p>
+ * If the bean class declares accessor methods whose standard introspection outcome is ambiguous (for example
+ * overloaded setters or indexed accessors), or accessor methods which declare checked exceptions, no metadata is
+ * generated and a warning is reported: at runtime the bean class will be introspected using reflection.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+@SupportedAnnotationTypes(BeanMetadataProcessor.INTROSPECTED_ANNOTATION)
+public class BeanMetadataProcessor extends AbstractProcessor {
+
+	/**
+	 * Bean class marker annotation
+	 */
+	static final String INTROSPECTED_ANNOTATION = "com.holonplatform.core.beans.Introspected";
+
+	/**
+	 * Generated metadata class name suffix, must be consistent with <code>BeanMetadata.CLASS_NAME_SUFFIX</code>
+	 */
+	static final String CLASS_NAME_SUFFIX = "_BeanMetadata";
+
+	private static final String BEAN_METADATA = "com.holonplatform.core.beans.BeanMetadata";
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.annotation.processing.AbstractProcessor#getSupportedSourceVersion()
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.annotation.processing.AbstractProcessor#process(java.util.Set,
+	 * javax.annotation.processing.RoundEnvironment)
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (element.getKind() != ElementKind.CLASS) {
+					processingEnv.getMessager().printMessage(Kind.ERROR,
+							"@Introspected can only be used on Java Bean classes", element);
+					continue;
+				}
+				final TypeElement beanClass = (TypeElement) element;
+				if (checkAccessible(beanClass)) {
+					final List<BeanPropertyMethods> properties = resolveProperties(beanClass);
+					if (properties != null) {
+						generate(beanClass, properties);
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether the bean class can be accessed by the generated metadata class.
+	 * @param beanClass The bean class
+	 * @return <code>true</code> if the bean class is a top level or a static nested class which is not private
+	 */
+	private boolean checkAccessible(TypeElement beanClass) {
+		if (beanClass.getNestingKind() == NestingKind.MEMBER && !beanClass.getModifiers().contains(Modifier.STATIC)
+				&& !beanClass.getEnclosingElement().getKind().isInterface()) {
+			warning(beanClass, "the bean class is a non static inner class");
+			return false;
+		}
+		for (Element element = beanClass; element.getKind().isClass()
+				|| element.getKind().isInterface(); element = element.getEnclosingElement()) {
+			if (element.getModifiers().contains(Modifier.PRIVATE)) {
+				warning(beanClass, "the bean class is not accessible from its package");
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Resolve the bean properties of given bean class.
+	 * @param beanClass The bean class
+	 * @return The bean properties, ordered by name, or <code>null</code> if the bean properties are ambiguous
+	 */
+	private List<BeanPropertyMethods> resolveProperties(TypeElement beanClass) {
+		final DeclaredType beanType = (DeclaredType) beanClass.asType();
+		final Map<String, List<AccessorMethod>> getters = new HashMap<>();
+		final Map<String, List<AccessorMethod>> setters = new HashMap<>();
+		final Set<String> signatures = new HashSet<>();
+
+		TypeElement type = beanClass;
+		while (type != null && !Object.class.getName().equals(type.getQualifiedName().toString())) {
+			for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+				if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)) {
+					continue;
+				}
+				final ExecutableType methodType = (ExecutableType) processingEnv.getTypeUtils().asMemberOf(beanType,
+						method);
+				final List<? extends TypeMirror> parameters = methodType.getParameterTypes();
+				final String name = method.getSimpleName().toString();
+				// skip overridden methods
+				final StringBuilder signature = new StringBuilder(name);
+				for (TypeMirror parameter : parameters) {
+					signature.append(',').append(erasure(parameter));
+				}
+				if (!signatures.add(signature.toString())) {
+					continue;
+				}
+				final TypeMirror returnType = methodType.getReturnType();
+				if (isAccessor(name, parameters.size()) && declaresCheckedExceptions(methodType)) {
+					warning(beanClass, "property accessor method [" + name + "] declares checked exceptions");
+					return null;
+				}
+				if (parameters.isEmpty()) {
+					if (name.length() > 3 && name.startsWith("get") && returnType.getKind() != TypeKind.VOID) {
+						add(getters, decapitalize(name.substring(3)), new AccessorMethod(name, returnType));
+					} else if (name.length() > 2 && name.startsWith("is") && returnType.getKind() == TypeKind.BOOLEAN) {
+						add(getters, decapitalize(name.substring(2)), new AccessorMethod(name, returnType));
+					}
+				} else if (parameters.size() == 1) {
+					if (name.length() > 3 && name.startsWith("set") && returnType.getKind() == TypeKind.VOID) {
+						add(setters, decapitalize(name.substring(3)), new AccessorMethod(name, parameters.get(0)));
+					} else if (name.length() > 3 && name.startsWith("get")
+							&& parameters.get(0).getKind() == TypeKind.INT) {
+						warning(beanClass, "indexed property read method [" + name + "] is not supported");
+						return null;
+					}
+				} else if (parameters.size() == 2 && name.length() > 3 && name.startsWith("set")
+						&& parameters.get(0).getKind() == TypeKind.INT) {
+					warning(beanClass, "indexed property write method [" + name + "] is not supported");
+					return null;
+				}
+			}
+			final TypeMirror superclass = type.getSuperclass();
+			type = (superclass.getKind() == TypeKind.DECLARED)
+					? (TypeElement) ((DeclaredType) superclass).asElement()
+					: null;
+		}
+
+		// ordered by name, like the standard introspection
+		final Set<String> names = new TreeSet<>(getters.keySet());
+		names.addAll(setters.keySet());
+		final List<BeanPropertyMethods> properties = new ArrayList<>(names.size());
+		for (String name : names) {
+			final List<AccessorMethod> readMethods = getters.get(name);
+			final List<AccessorMethod> writeMethods = setters.get(name);
+			if (readMethods != null && readMethods.size() > 1) {
+				warning(beanClass, "property [" + name + "] has both a get and an is read method");
+				return null;
+			}
+			final AccessorMethod read = (readMethods != null) ? readMethods.get(0) : null;
+			AccessorMethod write = null;
+			if (writeMethods != null) {
+				if (read != null) {
+					for (AccessorMethod candidate : writeMethods) {
+						if (erasure(candidate.type).equals(erasure(read.type))) {
+							write = candidate;
+						}
+					}
+					if (write == null) {
+						warning(beanClass, "property [" + name + "] write method type does not match the read method");
+						return null;
+					}
+				} else if (writeMethods.size() > 1) {
+					warning(beanClass, "property [" + name + "] has more than one write method");
+					return null;
+				} else {
+					write = writeMethods.get(0);
+				}
+			}
+			properties.add(new BeanPropertyMethods(name, (read != null) ? read.type : write.type, read, write));
+		}
+		return properties;
+	}
+
+	/**
+	 * Checks whether given method name and parameters count match a bean property accessor method.
+	 * @param name Method name
+	 * @param parameters Parameters count
+	 * @return <code>true</code> if the method is a candidate property read or write method
+	 */
+	private static boolean isAccessor(String name, int parameters) {
+		if (parameters == 0) {
+			return (name.length() > 3 && name.startsWith("get")) || (name.length() > 2 && name.startsWith("is"));
+		}
+		return parameters == 1 && name.length() > 3 && name.startsWith("set");
+	}
+
+	/**
+	 * Checks whether given method declares any checked exception, which cannot be thrown by the generated accessor
+	 * functions.
+	 * @param method The method type
+	 * @return <code>true</code> if the method declares at least one checked exception
+	 */
+	private boolean declaresCheckedExceptions(ExecutableType method) {
+		if (method.getThrownTypes().isEmpty()) {
+			return false;
+		}
+		final Types types = processingEnv.getTypeUtils();
+		final TypeMirror runtimeException = processingEnv.getElementUtils()
+				.getTypeElement(RuntimeException.class.getName()).asType();
+		final TypeMirror error = processingEnv.getElementUtils().getTypeElement(Error.class.getName()).asType();
+		for (TypeMirror thrown : method.getThrownTypes()) {
+			if (!types.isAssignable(thrown, runtimeException) && !types.isAssignable(thrown, error)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Generate the bean metadata class.
+	 * @param beanClass The bean class
+	 * @param properties The bean properties
+	 */
+	private void generate(TypeElement beanClass, List<BeanPropertyMethods> properties) {
+		final PackageElement pkg = processingEnv.getElementUtils().getPackageOf(beanClass);
+		final String packageName = pkg.isUnnamed() ? null : pkg.getQualifiedName().toString();
+		final String binaryName = processingEnv.getElementUtils().getBinaryName(beanClass).toString();
+		final String simpleBinaryName = (packageName != null) ? binaryName.substring(packageName.length() + 1)
+				: binaryName;
+		final String className = simpleBinaryName.replace('$', '_') + CLASS_NAME_SUFFIX;
+		final String beanClassName = processingEnv.getTypeUtils().erasure(beanClass.asType()).toString();
+
+		final StringBuilder sb = new StringBuilder();
+		if (packageName != null) {
+			sb.append("package ").append(packageName).append(";\n\n");
+		}
+		sb.append("/**\n * Generated Java Bean metadata of {@link ").append(beanClassName).append("}.\n */\n");
+		sb.append("@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+		sb.append("public final class ").append(className).append(" implements ").append(BEAN_METADATA).append('<')
+				.append(beanClassName).append("> {\n\n");
+		sb.append("\tprivate static final java.util.List<").append(BEAN_METADATA)
+				.append(".PropertyMetadata> PROPERTIES = ");
+		if (properties.isEmpty()) {
+			sb.append("java.util.Collections.emptyList();\n\n");
+		} else {
+			sb.append("java.util.Collections.unmodifiableList(java.util.Arrays.asList(");
+			for (int i = 0; i < properties.size(); i++) {
+				final BeanPropertyMethods property = properties.get(i);
+				sb.append((i > 0) ? "," : "").append("\n\t\t\t").append(BEAN_METADATA).append(".property(\"")
+						.append(property.name).append("\", ").append(erasure(property.type)).append(".class, ");
+				sb.append((property.read != null) ? "\"" + property.read.name + "\"" : "null").append(", ");
+				sb.append((property.write != null) ? "\"" + property.write.name + "\"" : "null").append(",\n\t\t\t\t\t");
+				if (property.read != null) {
+					sb.append("bean -> ((").append(beanClassName).append(") bean).").append(property.read.name)
+							.append("()");
+				} else {
+					sb.append("null");
+				}
+				sb.append(",\n\t\t\t\t\t");
+				if (property.write != null) {
+					sb.append("(bean, value) -> ((").append(beanClassName).append(") bean).")
+							.append(property.write.name).append("((").append(castType(property.write.type))
+							.append(") value)");
+				} else {
+					sb.append("null");
+				}
+				sb.append(")");
+			}
+			sb.append("));\n\n");
+		}
+		sb.append("\t@Override\n\tpublic Class<").append(beanClassName).append("> getBeanClass() {\n\t\treturn ")
+				.append(beanClassName).append(".class;\n\t}\n\n");
+		sb.append("\t@Override\n\tpublic java.util.List<").append(BEAN_METADATA)
+				.append(".PropertyMetadata> getProperties() {\n\t\treturn PROPERTIES;\n\t}\n\n");
+		sb.append("}\n");
+
+		final String qualifiedName = (packageName != null) ? packageName + "." + className : className;
+		try {
+			final JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, beanClass);
+			try (Writer writer = file.openWriter()) {
+				writer.write(sb.toString());
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.ERROR,
+					"Failed to generate the bean metadata class [" + qualifiedName + "]: " + e.getMessage(),
+					beanClass);
+		}
+	}
+
+	/**
+	 * Get the erased type name of given type.
+	 * @param type The type
+	 * @return The erased type name
+	 */
+	private String erasure(TypeMirror type) {
+		return processingEnv.getTypeUtils().erasure(type).toString();
+	}
+
+	/**
+	 * Get the type to use to cast a value to given type, i.e. the boxed type for primitive types.
+	 * @param type The type
+	 * @return The cast type name
+	 */
+	private String castType(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+		}
+		return erasure(type);
+	}
+
+	private void warning(TypeElement beanClass, String message) {
+		processingEnv.getMessager().printMessage(Kind.WARNING, "Bean metadata not generated for class ["
+				+ beanClass.getQualifiedName() + "]: " + message + ". The bean class will be introspected at runtime.",
+				beanClass);
+	}
+
+	private static void add(Map<String, List<AccessorMethod>> methods, String name, AccessorMethod method) {
+		methods.computeIfAbsent(name, n -> new ArrayList<>(1)).add(method);
+	}
+
+	/**
+	 * Convert given name to the property name, using the Java Beans naming rules.
+	 * @param name The accessor method name without prefix
+	 * @return The property name
+	 * @see java.beans.Introspector#decapitalize(String)
+	 */
+	static String decapitalize(String name) {
+		if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+			return name;
+		}
+		final char[] chars = name.toCharArray();
+		chars[0] = Character.toLowerCase(chars[0]);
+		return new String(chars);
+	}
+
+	/*
+	 * Accessor method
+	 */
+	private static final class AccessorMethod {
+
+		final String name;
+		final TypeMirror type;
+
+		AccessorMethod(String name, TypeMirror type) {
+			super();
+			this.name = name;
+			this.type = type;
+		}
+
+	}
+
+	/*
+	 * Bean property accessor methods
+	 */
+	private static final class BeanPropertyMethods {
+
+		final String name;
+		final TypeMirror type;
+		final AccessorMethod read;
+		final AccessorMethod write;
+
+		BeanPropertyMethods(String name, TypeMirror type, AccessorMethod read, AccessorMethod write) {
+			super();
+			this.name = name;
+			this.type = type;
+			this.read = read;
+			this.write = write;
+		}
+
+	}
+
+}
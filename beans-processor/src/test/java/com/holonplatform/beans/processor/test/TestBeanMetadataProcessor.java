@@ -0,0 +1,164 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.beans.processor.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.beans.processor.test.data.TestAmbiguousBean;
+import com.holonplatform.beans.processor.test.data.TestIntrospectedBean;
+import com.holonplatform.beans.processor.test.data.TestReflectedBean;
+import com.holonplatform.beans.processor.test.data.TestThrowingBean;
+import com.holonplatform.core.beans.BeanIntrospector;
+import com.holonplatform.core.beans.BeanMetadata;
+import com.holonplatform.core.beans.BeanMetadata.PropertyMetadata;
+import com.holonplatform.core.beans.BeanProperty;
+import com.holonplatform.core.beans.BeanPropertySet;
+import com.holonplatform.core.internal.beans.DefaultBeanIntrospector;
+import com.holonplatform.core.property.PropertyBox;
+
+public class TestBeanMetadataProcessor {
+
+	@Test
+	public void testGeneratedMetadata() throws Exception {
+		assertMetadata(TestIntrospectedBean.class);
+		assertMetadata(TestIntrospectedBean.Address.class);
+
+		assertEquals("com.holonplatform.beans.processor.test.data.TestIntrospectedBean_Address_BeanMetadata",
+				BeanMetadata.getMetadataClassName(TestIntrospectedBean.Address.class));
+
+		// ambiguous write methods
+		assertThrows(ClassNotFoundException.class,
+				() -> Class.forName(BeanMetadata.getMetadataClassName(TestAmbiguousBean.class)));
+	}
+
+	@Test
+	public void testCheckedExceptions() {
+		// accessor methods with checked exceptions: no metadata, reflection fallback
+		assertThrows(ClassNotFoundException.class,
+				() -> Class.forName(BeanMetadata.getMetadataClassName(TestThrowingBean.class)));
+
+		final BeanIntrospector introspector = new DefaultBeanIntrospector(getClass().getClassLoader());
+		final BeanPropertySet<TestThrowingBean> set = introspector.getPropertySet(TestThrowingBean.class);
+		assertTrue(set.getProperty("value").isPresent());
+
+		final TestThrowingBean bean = new TestThrowingBean();
+		set.write("value", "test", bean);
+		assertEquals("test", set.read("value", bean));
+	}
+
+	private static void assertMetadata(Class<?> beanClass) throws Exception {
+		final BeanMetadata<?> metadata = (BeanMetadata<?>) Class
+				.forName(BeanMetadata.getMetadataClassName(beanClass)).newInstance();
+		assertEquals(beanClass, metadata.getBeanClass());
+
+		final List<PropertyDescriptor> descriptors = Arrays
+				.stream(Introspector.getBeanInfo(beanClass).getPropertyDescriptors())
+				.filter(d -> !"class".equals(d.getName())).collect(Collectors.toList());
+		assertEquals(descriptors.size(), metadata.getProperties().size());
+		for (int i = 0; i < descriptors.size(); i++) {
+			final PropertyDescriptor descriptor = descriptors.get(i);
+			final PropertyMetadata property = metadata.getProperties().get(i);
+			assertEquals(descriptor.getName(), property.getName());
+			assertEquals(descriptor.getPropertyType(), property.getType());
+			assertEquals(name(descriptor.getReadMethod()), property.getReadMethodName().orElse(null));
+			assertEquals(name(descriptor.getWriteMethod()), property.getWriteMethodName().orElse(null));
+		}
+	}
+
+	private static String name(Method method) {
+		return (method != null) ? method.getName() : null;
+	}
+
+	@Test
+	public void testBeanPropertySet() {
+		final BeanIntrospector introspector = new DefaultBeanIntrospector(getClass().getClassLoader());
+
+		final BeanPropertySet<TestIntrospectedBean> set = introspector.getPropertySet(TestIntrospectedBean.class);
+		final BeanPropertySet<TestReflectedBean> reflected = introspector.getPropertySet(TestReflectedBean.class);
+
+		final List<BeanProperty<?>> properties = set.stream().map(p -> (BeanProperty<?>) p)
+				.collect(Collectors.toList());
+		final List<BeanProperty<?>> expectedProperties = reflected.stream().map(p -> (BeanProperty<?>) p)
+				.collect(Collectors.toList());
+		assertEquals(expectedProperties.size(), properties.size());
+		for (int i = 0; i < properties.size(); i++) {
+			final BeanProperty<?> property = properties.get(i);
+			final BeanProperty<?> expected = expectedProperties.get(i);
+			assertEquals(expected.relativeName(), property.relativeName());
+			assertEquals(expected.getType(), property.getType());
+			assertEquals(expected.isIdentifier(), property.isIdentifier());
+			assertEquals(expected.isReadOnly(), property.isReadOnly());
+			assertEquals(expected.getMessage(), property.getMessage());
+			assertEquals(expected.getReadMethod(), property.getReadMethod());
+			assertEquals(expected.getWriteMethod(), property.getWriteMethod());
+			assertEquals(expected.getField(), property.getField());
+		}
+		assertEquals(reflected.getIdentifiers().size(), set.getIdentifiers().size());
+		assertEquals("The name", set.property("name").getMessage());
+
+		// read and write
+		final TestIntrospectedBean bean = new TestIntrospectedBean();
+		bean.setId(7L);
+		bean.setName("test");
+		bean.setActive(true);
+		bean.setCode(3);
+		bean.setDate(LocalDate.of(2018, 3, 1));
+		bean.setTags(Arrays.asList("a", "b"));
+
+		final PropertyBox box = set.read(bean);
+		assertEquals(Long.valueOf(7L), box.getValue(set.property("id")));
+		assertEquals("test", box.getValue(set.property("name")));
+		assertEquals(Boolean.TRUE, box.getValue(set.property("active")));
+		assertEquals(Integer.valueOf(3), box.getValue(set.property("code")));
+		assertEquals("test (7)", box.getValue(set.property("description")));
+		assertEquals(Arrays.asList("a", "b"), box.getValue(set.property("tags")));
+		assertNull(box.getValue(set.property("address.city")));
+
+		final TestIntrospectedBean written = new TestIntrospectedBean();
+		set.write("id", 7L, written);
+		set.write("name", "changed", written);
+		set.write("active", true, written);
+		set.write("code", 3, written);
+		set.write("date", LocalDate.of(2018, 3, 1), written);
+		set.write("address.city", "Rome", written);
+		assertEquals(7L, written.getId());
+		assertEquals("changed", written.getName());
+		assertTrue(written.isActive());
+		assertEquals(Integer.valueOf(3), written.getCode());
+		assertEquals(LocalDate.of(2018, 3, 1), written.getDate());
+		assertEquals("Rome", written.getAddress().getCity());
+		assertEquals("Rome", set.read("address.city", written));
+
+		// primitive null values
+		set.write("active", null, written);
+		assertFalse(written.isActive());
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import com.holonplatform.core.internal.DefaultContextSnapshot;
+import com.holonplatform.core.internal.PropagatingCompletionStage;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * A snapshot of the {@link Context} resources bound to a thread, i.e. the resources of the
+ * {@link Context#THREAD_SCOPE_NAME} scope, which can be used to propagate them to other threads.
+ * <p>
+ * A snapshot is immutable and it is not copied when it is bound to a thread, so the same snapshot can be used to run
+ * any number of concurrent tasks. While an operation is executed through a snapshot, the snapshot resources replace
+ * the resources bound to the executing thread, which are restored when the operation ends.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public interface ContextSnapshot {
+
+	/**
+	 * Get whether this snapshot contains no resources.
+	 * @return <code>true</code> if this snapshot is empty
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Execute given operation binding the snapshot resources to the current thread.
+	 * @param operation The operation to execute (not null)
+	 */
+	void run(Runnable operation);
+
+	/**
+	 * Execute given operation binding the snapshot resources to the current thread.
+	 * @param <V> Result type
+	 * @param operation The operation to execute (not null)
+	 * @return The operation result
+	 * @throws Exception If the operation failed
+	 */
+	<V> V call(Callable<V> operation) throws Exception;
+
+	/**
+	 * Execute given operation binding the snapshot resources to the current thread.
+	 * @param <V> Result type
+	 * @param operation The operation to execute (not null)
+	 * @return The operation result
+	 */
+	<V> V get(Supplier<V> operation);
+
+	/**
+	 * Wrap given operation so that it is executed binding the snapshot resources to the executing thread.
+	 * @param operation The operation to wrap (not null)
+	 * @return The wrapped operation
+	 */
+	default Runnable wrap(Runnable operation) {
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		return () -> run(operation);
+	}
+
+	/**
+	 * Wrap given operation so that it is executed binding the snapshot resources to the executing thread.
+	 * @param <V> Result type
+	 * @param operation The operation to wrap (not null)
+	 * @return The wrapped operation
+	 */
+	default <V> Callable<V> wrap(Callable<V> operation) {
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		return () -> call(operation);
+	}
+
+	/**
+	 * Wrap given operation so that it is executed binding the snapshot resources to the executing thread.
+	 * @param <V> Result type
+	 * @param operation The operation to wrap (not null)
+	 * @return The wrapped operation
+	 */
+	default <V> Supplier<V> wrapSupplier(Supplier<V> operation) {
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		return () -> get(operation);
+	}
+
+	// ------- Factory
+
+	/**
+	 * Capture the resources currently bound to the calling thread.
+	 * @return The current thread resources snapshot
+	 */
+	static ContextSnapshot capture() {
+		return DefaultContextSnapshot.capture();
+	}
+
+	/**
+	 * Get an {@link Executor} which propagates the resources bound to the thread which submits a task to the thread
+	 * which executes it.
+	 * @param executor The concrete executor (not null)
+	 * @return The propagating executor
+	 */
+	static Executor propagating(Executor executor) {
+		ObjectUtils.argumentNotNull(executor, "Executor must be not null");
+		return command -> executor.execute(capture().wrap(command));
+	}
+
+	/**
+	 * Get a {@link CompletionStage} which propagates the resources bound to the thread which registers a dependent
+	 * action to the thread which executes it. The dependent stages are propagating too.
+	 * @param <T> Stage result type
+	 * @param stage The concrete stage (not null)
+	 * @return The propagating stage
+	 */
+	static <T> CompletionStage<T> propagating(CompletionStage<T> stage) {
+		ObjectUtils.argumentNotNull(stage, "CompletionStage must be not null");
+		return (stage instanceof PropagatingCompletionStage) ? stage : new PropagatingCompletionStage<>(stage);
+	}
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core;
+
+import java.util.Optional;
+
+import com.holonplatform.core.exceptions.TypeMismatchException;
+import com.holonplatform.core.internal.DefaultTypeConverterRegistry;
+
+/**
+ * A registry of type conversion functions.
+ * <p>
+ * The conversion logic for a <code>(source type, target type)</code> pair is resolved only once and then cached, so
+ * that any subsequent conversion between the same types is performed by a direct conversion function, without
+ * inspecting the types again.
+ * </p>
+ * <p>
+ * Besides the builtin conversions (numbers, enumerations, dates and times), custom {@link TypeConverter}s can be
+ * registered using {@link #register(Class, Class, TypeConverter)}. A registered converter takes precedence over the
+ * builtin ones, and it is used for any source type which is assignable to the registered source type.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public interface TypeConverterRegistry {
+
+	/**
+	 * Default {@link Context} resource reference
+	 */
+	public static final String CONTEXT_KEY = TypeConverterRegistry.class.getName();
+
+	/**
+	 * Get the conversion function to convert a value of given <code>sourceType</code> into given
+	 * <code>targetType</code>.
+	 * @param <S> Source type
+	 * @param <T> Target type
+	 * @param sourceType Source type (not null)
+	 * @param targetType Target type (not null)
+	 * @return Optional converter, empty if no conversion is available between given types
+	 */
+	<S, T> Optional<TypeConverter<S, T>> getConverter(Class<S> sourceType, Class<T> targetType);
+
+	/**
+	 * Get the function to parse a {@link String} value into given <code>targetType</code>.
+	 * <p>
+	 * Supported target types are Strings, Characters, Booleans (<code>true</code>/<code>on</code>/<code>yes</code>/
+	 * <code>1</code> and <code>false</code>/<code>off</code>/<code>no</code>/<code>0</code>), Numbers (hexadecimal
+	 * notation supported for integer types) and Enums (by constant name), plus any type for which a converter with a
+	 * String source type was registered.
+	 * </p>
+	 * @param <T> Target type
+	 * @param targetType Target type (not null)
+	 * @return Optional string converter, empty if given type is not supported
+	 */
+	<T> Optional<TypeConverter<String, T>> getStringConverter(Class<T> targetType);
+
+	/**
+	 * Register a {@link TypeConverter}.
+	 * <p>
+	 * Any cached conversion function is discarded when a converter is registered or removed.
+	 * </p>
+	 * @param <S> Source type
+	 * @param <T> Target type
+	 * @param sourceType Source type (not null)
+	 * @param targetType Target type (not null)
+	 * @param converter The converter (not null)
+	 * @return The converter registration, which can be used to remove the converter
+	 */
+	<S, T> Registration register(Class<S> sourceType, Class<T> targetType, TypeConverter<S, T> converter);
+
+	/**
+	 * Convert given value into given target type.
+	 * @param <T> Target type
+	 * @param value Value to convert
+	 * @param targetType Target type (not null)
+	 * @return The converted value, or <code>null</code> if given value was <code>null</code>
+	 * @throws TypeMismatchException If no conversion is available for the value type and the target type
+	 * @throws IllegalArgumentException If the conversion failed
+	 */
+	@SuppressWarnings("unchecked")
+	default <T> T convert(Object value, Class<T> targetType) {
+		if (targetType == null) {
+			throw new IllegalArgumentException("Target type must be not null");
+		}
+		if (value == null) {
+			return null;
+		}
+		final Class<Object> sourceType = (Class<Object>) value.getClass();
+		return getConverter(sourceType, targetType).orElseThrow(() -> new TypeMismatchException(
+				"Cannot convert value type [" + sourceType + "] to type [" + targetType + "]")).convert(value);
+	}
+
+	/**
+	 * Parse given String value into given target type. The value is trimmed before the conversion.
+	 * @param <T> Target type
+	 * @param value Value to convert
+	 * @param targetType Target type (not null)
+	 * @return The converted value, or <code>null</code> if given value was <code>null</code> or empty
+	 * @throws IllegalArgumentException If given target type is not supported or if the conversion failed
+	 * @see #getStringConverter(Class)
+	 */
+	default <T> T convertString(String value, Class<T> targetType) {
+		if (value != null && value.length() > 0) {
+			if (targetType == null) {
+				throw new IllegalArgumentException("Type class must not be null");
+			}
+			return getStringConverter(targetType)
+					.orElseThrow(
+							() -> new IllegalArgumentException("Unsupported String conversion class: " + targetType))
+					.convert(value.trim());
+		}
+		return null;
+	}
+
+	// ------- Factory
+
+	/**
+	 * Get the current {@link TypeConverterRegistry}, i.e. the registry available as {@link Context} resource using
+	 * {@link #CONTEXT_KEY}, or the default registry if not available.
+	 * @return The current {@link TypeConverterRegistry}
+	 * @see #getDefault()
+	 */
+	static TypeConverterRegistry get() {
+		return Context.get().resource(CONTEXT_KEY, TypeConverterRegistry.class).orElse(getDefault());
+	}
+
+	/**
+	 * Get the default, shared {@link TypeConverterRegistry}, used by the platform builtin conversions.
+	 * @return The default {@link TypeConverterRegistry}
+	 */
+	static TypeConverterRegistry getDefault() {
+		return DefaultTypeConverterRegistry.INSTANCE;
+	}
+
+	/**
+	 * Create a new {@link TypeConverterRegistry}, which provides the builtin conversions only.
+	 * @return A new {@link TypeConverterRegistry}
+	 */
+	static TypeConverterRegistry create() {
+		return new DefaultTypeConverterRegistry();
+	}
+
+	// ------- Converter
+
+	/**
+	 * A conversion function.
+	 *
+	 * @param <S> Source type
+	 * @param <T> Target type
+	 */
+	@FunctionalInterface
+	public interface TypeConverter<S, T> {
+
+		/**
+		 * Convert given value.
+		 * @param value The value to convert (never null)
+		 * @return The converted value
+		 * @throws IllegalArgumentException If the conversion failed
+		 */
+		T convert(S value);
+
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.holonplatform.core.Validator.ValidationException;
+import com.holonplatform.core.i18n.Localizable;
+import com.holonplatform.core.internal.DefaultValidationResult;
+
+/**
+ * The result of a value validation performed without using exceptions for control flow, i.e. using
+ * {@link Validator#check(Object)}.
+ * <p>
+ * A valid result carries no failure. An invalid result carries one or more {@link Localizable} validation failure
+ * messages, which can be converted into a {@link ValidationException} when required using {@link #throwIfInvalid()} or
+ * {@link #asException()}.
+ * </p>
+ *
+ * @since 5.6.0
+ *
+ * @see Validator#check(Object)
+ */
+public interface ValidationResult {
+
+	/**
+	 * Gets whether the validation was successful.
+	 * @return <code>true</code> if the validated value is valid, <code>false</code> otherwise
+	 */
+	boolean isValid();
+
+	/**
+	 * Get the validation failure messages.
+	 * <p>
+	 * When a failure was originated by a {@link ValidationException}, the exception itself is returned as failure
+	 * message, since it is {@link Localizable}.
+	 * </p>
+	 * @return The validation failure messages, an empty list if the result is valid
+	 */
+	List<Localizable> getFailures();
+
+	/**
+	 * Get a {@link ValidationException} which represents this validation result, if it is not valid.
+	 * <p>
+	 * If only one failure is available, the exception represents that failure, otherwise the returned exception will
+	 * act as a wrapper for one exception for each failure, accessible through {@link ValidationException#getCauses()}.
+	 * </p>
+	 * <p>
+	 * The exceptions created by this method may not record the stack trace, since they are meant to represent the
+	 * validation failures rather than to be thrown: use {@link #throwIfInvalid()} to throw the exception.
+	 * </p>
+	 * @return Optional validation exception, empty if the result is valid
+	 */
+	Optional<ValidationException> asException();
+
+	/**
+	 * Throws a {@link ValidationException} if this result is not valid.
+	 * @throws ValidationException If the result is not valid
+	 * @see #asException()
+	 */
+	default void throwIfInvalid() throws ValidationException {
+		if (!isValid()) {
+			throw asException().orElseThrow(() -> new IllegalStateException("Missing validation exception"));
+		}
+	}
+
+	// Builders
+
+	/**
+	 * Get a valid {@link ValidationResult}.
+	 * @return A valid result (shared instance)
+	 */
+	static ValidationResult valid() {
+		return DefaultValidationResult.VALID;
+	}
+
+	/**
+	 * Create an invalid {@link ValidationResult} using given failure message.
+	 * @param failure The validation failure message (not null)
+	 * @return A new invalid result
+	 */
+	static ValidationResult invalid(Localizable failure) {
+		return new DefaultValidationResult(failure);
+	}
+
+	/**
+	 * Create an invalid {@link ValidationResult} using given failure message.
+	 * @param message Validation failure message
+	 * @param messageCode Optional validation failure message localization code
+	 * @param messageArguments Optional message localization arguments
+	 * @return A new invalid result
+	 */
+	static ValidationResult invalid(String message, String messageCode, Object... messageArguments) {
+		return new DefaultValidationResult(Localizable.of(message, messageCode, messageArguments));
+	}
+
+	/**
+	 * Create a {@link ValidationResult} from given {@link ValidationException}.
+	 * @param exception The validation exception (not null)
+	 * @return A new invalid result which uses the exception as validation failure
+	 */
+	static ValidationResult of(ValidationException exception) {
+		return new DefaultValidationResult(exception);
+	}
+
+	/**
+	 * Get a builder to accumulate multiple validation failures into a {@link ValidationResult}.
+	 * @return A new {@link Builder}
+	 */
+	static Builder builder() {
+		return new DefaultValidationResult.DefaultBuilder();
+	}
+
+	/**
+	 * {@link ValidationResult} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Add a validation failure.
+		 * @param failure The failure message to add (not null)
+		 * @return this
+		 */
+		Builder failure(Localizable failure);
+
+		/**
+		 * Add all the failures of given validation result, if any.
+		 * @param result The validation result (not null)
+		 * @return this
+		 */
+		Builder add(ValidationResult result);
+
+		/**
+		 * Gets whether no failure has been added so far.
+		 * @return <code>true</code> if no failure has been added, <code>false</code> otherwise
+		 */
+		boolean isValid();
+
+		/**
+		 * Build the {@link ValidationResult}.
+		 * @return A valid result if no failure was added, an invalid result otherwise
+		 */
+		ValidationResult build();
+
+	}
+
+}
@@ -23,10 +23,11 @@ import java.util.Calendar;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -73,6 +74,26 @@ public interface Validator<T> extends Serializable {
 	 */
 	void validate(T value) throws ValidationException;
 
+	/**
+	 * Check given <code>value</code>, returning a {@link ValidationResult} which represents the validation outcome
+	 * instead of throwing a {@link ValidationException} when the value is not valid.
+	 * <p>
+	 * The default implementation relies on {@link #validate(Object)}, while the builtin validators provide a native,
+	 * exception-free implementation.
+	 * </p>
+	 * @param value The value to validate (may be null)
+	 * @return The validation result
+	 * @since 5.6.0
+	 */
+	default ValidationResult check(T value) {
+		try {
+			validate(value);
+		} catch (ValidationException e) {
+			return ValidationResult.of(e);
+		}
+		return ValidationResult.valid();
+	}
+
 	/**
 	 * Declares support for adding and removing {@link Validator}s.
 	 * @param <T> Validation data type
@@ -116,18 +137,22 @@ public interface Validator<T> extends Serializable {
 		 * @throws ValidationException If the value is not valid, providing the validation error message.
 		 */
 		default void validate(T value) throws ValidationException {
-			LinkedList<ValidationException> failures = new LinkedList<>();
+			check(value).throwIfInvalid();
+		}
+
+		/**
+		 * Checks the validity of the given <code>value</code> against every registered validator, if any, collecting
+		 * all the validation failures into a {@link ValidationResult} without throwing any {@link ValidationException}.
+		 * @param value Value to validate
+		 * @return The validation result
+		 * @since 5.6.0
+		 */
+		default ValidationResult check(T value) {
+			final ValidationResult.Builder result = ValidationResult.builder();
 			for (Validator<T> validator : getValidators()) {
-				try {
-					validator.validate(value);
-				} catch (ValidationException ve) {
-					failures.add(ve);
-				}
-			}
-			if (!failures.isEmpty()) {
-				throw (failures.size() == 1) ? failures.getFirst()
-						: new ValidationException(failures.toArray(new ValidationException[failures.size()]));
+				result.add(validator.check(value));
 			}
+			return result.build();
 		}
 
 	}
@@ -221,9 +246,10 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null)
-					throw new ValidationException(message, messageCode);
+					return ValidationResult.invalid(message, messageCode);
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -278,9 +304,10 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v == null)
-					throw new ValidationException(message, messageCode);
+					return ValidationResult.invalid(message, messageCode);
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -338,9 +365,9 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v == null) {
-					throw new ValidationException(message, messageCode);
+					return ValidationResult.invalid(message, messageCode);
 				}
 				if (!v.getClass().isArray() && !CharSequence.class.isAssignableFrom(v.getClass())
 						&& !Collection.class.isAssignableFrom(v.getClass())
@@ -350,13 +377,14 @@ public interface Validator<T> extends Serializable {
 							"Data type not supported by noEmpty validator: " + v.getClass().getName());
 				}
 				if (CharSequence.class.isAssignableFrom(v.getClass()) && ((CharSequence) v).length() == 0)
-					throw new ValidationException(message, messageCode);
+					return ValidationResult.invalid(message, messageCode);
 				if (Collection.class.isAssignableFrom(v.getClass()) && ((Collection<?>) v).isEmpty())
-					throw new ValidationException(message, messageCode);
+					return ValidationResult.invalid(message, messageCode);
 				if (Map.class.isAssignableFrom(v.getClass()) && ((Map<?, ?>) v).isEmpty())
-					throw new ValidationException(message, messageCode);
+					return ValidationResult.invalid(message, messageCode);
 				if (v.getClass().isArray() && ((Object[]) v).length == 0)
-					throw new ValidationException(message, messageCode);
+					return ValidationResult.invalid(message, messageCode);
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -411,9 +439,10 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v == null || v.toString().trim().length() == 0)
-					throw new ValidationException(message, messageCode);
+					return ValidationResult.invalid(message, messageCode);
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -504,7 +533,7 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null) {
 
 					if (!v.getClass().isArray() && !TypeUtils.isNumber(v.getClass())
@@ -519,23 +548,24 @@ public interface Validator<T> extends Serializable {
 					if (TypeUtils.isNumber(v.getClass())) {
 						if (TypeUtils.isDecimalNumber(v.getClass())) {
 							if (((Number) v).doubleValue() > max) {
-								throw new ValidationException(message, messageCode, max);
+								return ValidationResult.invalid(message, messageCode, max);
 							}
 						} else {
 							if (((Number) v).longValue() > (long) max) {
-								throw new ValidationException(message, messageCode, (long) max);
+								return ValidationResult.invalid(message, messageCode, (long) max);
 							}
 						}
 					}
 					if (CharSequence.class.isAssignableFrom(v.getClass()) && ((CharSequence) v).length() > (int) max)
-						throw new ValidationException(message, messageCode, (long) max);
+						return ValidationResult.invalid(message, messageCode, (long) max);
 					if (Collection.class.isAssignableFrom(v.getClass()) && ((Collection<?>) v).size() > (int) max)
-						throw new ValidationException(message, messageCode, (long) max);
+						return ValidationResult.invalid(message, messageCode, (long) max);
 					if (Map.class.isAssignableFrom(v.getClass()) && ((Map<?, ?>) v).size() > (int) max)
-						throw new ValidationException(message, messageCode, (long) max);
+						return ValidationResult.invalid(message, messageCode, (long) max);
 					if (v.getClass().isArray() && ((Object[]) v).length > (int) max)
-						throw new ValidationException(message, messageCode, (long) max);
+						return ValidationResult.invalid(message, messageCode, (long) max);
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -635,7 +665,7 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null) {
 
 					if (!v.getClass().isArray() && !TypeUtils.isNumber(v.getClass())
@@ -650,23 +680,24 @@ public interface Validator<T> extends Serializable {
 					if (TypeUtils.isNumber(v.getClass())) {
 						if (TypeUtils.isDecimalNumber(v.getClass())) {
 							if (((Number) v).doubleValue() < min) {
-								throw new ValidationException(message, messageCode, min);
+								return ValidationResult.invalid(message, messageCode, min);
 							}
 						} else {
 							if (((Number) v).longValue() < (long) min) {
-								throw new ValidationException(message, messageCode, (long) min);
+								return ValidationResult.invalid(message, messageCode, (long) min);
 							}
 						}
 					}
 					if (CharSequence.class.isAssignableFrom(v.getClass()) && ((CharSequence) v).length() < (int) min)
-						throw new ValidationException(message, messageCode, (long) min);
+						return ValidationResult.invalid(message, messageCode, (long) min);
 					if (Collection.class.isAssignableFrom(v.getClass()) && ((Collection<?>) v).size() < (int) min)
-						throw new ValidationException(message, messageCode, (long) min);
+						return ValidationResult.invalid(message, messageCode, (long) min);
 					if (Map.class.isAssignableFrom(v.getClass()) && ((Map<?, ?>) v).size() < (int) min)
-						throw new ValidationException(message, messageCode, (long) min);
+						return ValidationResult.invalid(message, messageCode, (long) min);
 					if (v.getClass().isArray() && ((Object[]) v).length < (int) min)
-						throw new ValidationException(message, messageCode, (long) min);
+						return ValidationResult.invalid(message, messageCode, (long) min);
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -726,20 +757,23 @@ public interface Validator<T> extends Serializable {
 	static <T extends CharSequence> Validator<T> pattern(String regex, String message, String messageCode,
 			PatternFlag... flags) {
 		ObjectUtils.argumentNotNull(regex, "Regular expression must be not null");
+		final Pattern pattern = FormatUtils.getPattern(regex, PatternFlag.asBitValue(flags));
+		final ValidatorDescriptor descriptor = ValidatorDescriptor.builder().pattern(regex).build();
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null) {
-					if (!Pattern.compile(regex, PatternFlag.asBitValue(flags)).matcher(v).matches()) {
-						throw new ValidationException(message, messageCode);
+					if (!pattern.matcher(v).matches()) {
+						return ValidationResult.invalid(message, messageCode);
 					}
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
 			public Optional<ValidatorDescriptor> getDescriptor() {
-				return Optional.of(ValidatorDescriptor.builder().pattern(regex).build());
+				return Optional.of(descriptor);
 			}
 		};
 	}
@@ -795,23 +829,21 @@ public interface Validator<T> extends Serializable {
 		if (values == null || values.length == 0) {
 			throw new IllegalArgumentException("Value must be not null and not empty");
 		}
+		final Set<T> admitted = new HashSet<>(Arrays.asList(values));
+		final ValidatorDescriptor descriptor = ValidatorDescriptor.builder().in(values).build();
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
-				if (v != null) {
-					for (T value : values) {
-						if (v.equals(value)) {
-							return;
-						}
-					}
+			public ValidationResult check(T v) {
+				if (v != null && admitted.contains(v)) {
+					return ValidationResult.valid();
 				}
-				throw new ValidationException(message, messageCode);
+				return ValidationResult.invalid(message, messageCode);
 			}
 
 			@Override
 			public Optional<ValidatorDescriptor> getDescriptor() {
-				return Optional.of(ValidatorDescriptor.builder().in(values).build());
+				return Optional.of(descriptor);
 			}
 		};
 	}
@@ -867,22 +899,21 @@ public interface Validator<T> extends Serializable {
 		if (values == null || values.length == 0) {
 			throw new IllegalArgumentException("Value must be not null and not empty");
 		}
+		final Set<T> excluded = new HashSet<>(Arrays.asList(values));
+		final ValidatorDescriptor descriptor = ValidatorDescriptor.builder().notIn(values).build();
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
-				if (v != null) {
-					for (T value : values) {
-						if (v.equals(value)) {
-							throw new ValidationException(message, messageCode);
-						}
-					}
+			public ValidationResult check(T v) {
+				if (v != null && excluded.contains(v)) {
+					return ValidationResult.invalid(message, messageCode);
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
 			public Optional<ValidatorDescriptor> getDescriptor() {
-				return Optional.of(ValidatorDescriptor.builder().notIn(values).build());
+				return Optional.of(descriptor);
 			}
 		};
 	}
@@ -932,10 +963,11 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null && Math.signum(v.intValue()) == 0) {
-					throw new ValidationException(message, messageCode);
+					return ValidationResult.invalid(message, messageCode);
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -990,10 +1022,11 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null && Math.signum(v.doubleValue()) < 0) {
-					throw new ValidationException(message, messageCode);
+					return ValidationResult.invalid(message, messageCode);
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -1057,41 +1090,46 @@ public interface Validator<T> extends Serializable {
 		if (fractional < 0) {
 			throw new IllegalArgumentException("Fractional digits max number cannot be negative");
 		}
+		final ValidatorDescriptor descriptor = ValidatorDescriptor.builder().integerDigits(integral)
+				.fractionDigits(fractional).build();
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null) {
-					String string = null;
+					final int itg;
+					final int fct;
 					if (TypeUtils.isDecimalNumber(v.getClass())) {
-						BigDecimal bd = (v instanceof BigDecimal) ? (BigDecimal) v
-								: BigDecimal.valueOf(v.doubleValue());
-						string = bd.stripTrailingZeros().toPlainString();
+						// digits count of the plain string representation without trailing zeros
+						final BigDecimal bd = ((v instanceof BigDecimal) ? (BigDecimal) v
+								: BigDecimal.valueOf(v.doubleValue())).stripTrailingZeros();
+						final int precision = bd.precision();
+						final int scale = bd.scale();
+						itg = (scale >= precision) ? 1 : precision - scale;
+						fct = Math.max(scale, 0);
+					} else if (v instanceof BigInteger) {
+						itg = new BigDecimal((BigInteger) v).precision();
+						fct = 0;
 					} else {
-						BigInteger bi = (v instanceof BigInteger) ? (BigInteger) v : BigInteger.valueOf(v.longValue());
-						string = bi.toString();
-					}
-					if (string != null) {
-						if (string.startsWith("-")) {
-							string = string.substring(1);
-						}
-						int index = string.indexOf('.');
-						int itg = index < 0 ? string.length() : index;
-						int fct = index < 0 ? 0 : string.length() - index - 1;
-						if (itg > integral) {
-							throw new ValidationException(message, messageCode);
-						}
-						if (fct > fractional) {
-							throw new ValidationException(message, messageCode);
+						long value = v.longValue();
+						int count = 1;
+						while (value >= 10 || value <= -10) {
+							value /= 10;
+							count++;
 						}
+						itg = count;
+						fct = 0;
+					}
+					if (itg > integral || fct > fractional) {
+						return ValidationResult.invalid(message, messageCode);
 					}
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
 			public Optional<ValidatorDescriptor> getDescriptor() {
-				return Optional
-						.of(ValidatorDescriptor.builder().integerDigits(integral).fractionDigits(fractional).build());
+				return Optional.of(descriptor);
 			}
 		};
 	}
@@ -1147,20 +1185,21 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null) {
 					if (!includeTime) {
 						Date today = CalendarUtils.floorTime(Calendar.getInstance()).getTime();
 						Date date = CalendarUtils.floorTime(v);
 						if (today.equals(date) || date.after(today)) {
-							throw new ValidationException(message, messageCode);
+							return ValidationResult.invalid(message, messageCode);
 						}
 					} else {
 						if (v.getTime() >= System.currentTimeMillis()) {
-							throw new ValidationException(message, messageCode);
+							return ValidationResult.invalid(message, messageCode);
 						}
 					}
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -1221,20 +1260,21 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null) {
 					if (!includeTime) {
 						Date today = CalendarUtils.floorTime(Calendar.getInstance()).getTime();
 						Date date = CalendarUtils.floorTime(v);
 						if (today.equals(date) || date.before(today)) {
-							throw new ValidationException(message, messageCode);
+							return ValidationResult.invalid(message, messageCode);
 						}
 					} else {
 						if (v.getTime() <= System.currentTimeMillis()) {
-							throw new ValidationException(message, messageCode);
+							return ValidationResult.invalid(message, messageCode);
 						}
 					}
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -1293,10 +1333,11 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null && v.compareTo(compareTo) >= 0) {
-					throw new ValidationException(message, messageCode, compareTo);
+					return ValidationResult.invalid(message, messageCode, compareTo);
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -1351,10 +1392,11 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null && v.compareTo(compareTo) > 0) {
-					throw new ValidationException(message, messageCode, compareTo);
+					return ValidationResult.invalid(message, messageCode, compareTo);
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -1416,10 +1458,11 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null && v.compareTo(compareTo) <= 0) {
-					throw new ValidationException(message, messageCode, compareTo);
+					return ValidationResult.invalid(message, messageCode, compareTo);
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -1474,10 +1517,11 @@ public interface Validator<T> extends Serializable {
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null && v.compareTo(compareTo) < 0) {
-					throw new ValidationException(message, messageCode, compareTo);
+					return ValidationResult.invalid(message, messageCode, compareTo);
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
@@ -1532,20 +1576,22 @@ public interface Validator<T> extends Serializable {
 	 */
 	@SuppressWarnings("serial")
 	static <T extends CharSequence> Validator<T> email(String message, String messageCode) {
+		final ValidatorDescriptor descriptor = ValidatorDescriptor.builder().email().build();
 		return new BuiltinValidator<T>() {
 
 			@Override
-			public void validate(T v) throws ValidationException {
+			public ValidationResult check(T v) {
 				if (v != null) {
-					if (!Pattern.compile(FormatUtils.EMAIL_RFC822_REGEXP_PATTERN).matcher(v).matches()) {
-						throw new ValidationException(message, messageCode);
+					if (!FormatUtils.getEmailPattern().matcher(v).matches()) {
+						return ValidationResult.invalid(message, messageCode);
 					}
 				}
+				return ValidationResult.valid();
 			}
 
 			@Override
 			public Optional<ValidatorDescriptor> getDescriptor() {
-				return Optional.of(ValidatorDescriptor.builder().email().build());
+				return Optional.of(descriptor);
 			}
 		};
 	}
@@ -1892,7 +1938,23 @@ public interface Validator<T> extends Serializable {
 		 * @param causes One or more {@link ValidationException}s that caused this exception
 		 */
 		public ValidationException(Localizable message, Collection<ValidationException> causes) {
-			super((message != null) ? message.getMessage() : null);
+			this(message, causes, true);
+		}
+
+		/**
+		 * Constructor with message, causes and stack trace recording control.
+		 * <p>
+		 * A validation exception which is only used to notify a validation failure can be created with a non writable
+		 * stack trace, avoiding the cost of the stack trace capture.
+		 * </p>
+		 * @param message The validation error message
+		 * @param causes One or more {@link ValidationException}s that caused this exception
+		 * @param writableStackTrace Whether or not the stack trace should be writable
+		 * @since 5.6.0
+		 */
+		public ValidationException(Localizable message, Collection<ValidationException> causes,
+				boolean writableStackTrace) {
+			super((message != null) ? message.getMessage() : null, null, true, writableStackTrace);
 			this.message = message;
 			this.causes = (causes != null) ? causes : Collections.emptySet();
 		}
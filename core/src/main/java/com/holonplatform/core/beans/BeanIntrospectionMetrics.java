@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.beans;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of the {@link BeanIntrospector} introspection timing metrics.
+ * <p>
+ * The metrics include the bean classes introspection time and the time spent in each
+ * {@link BeanPropertySetPostProcessor} and {@link BeanPropertyPostProcessor}, which can be used to detect slow post
+ * processors.
+ * </p>
+ *
+ * @since 5.6.0
+ *
+ * @see BeanIntrospector#getMetrics()
+ */
+public interface BeanIntrospectionMetrics {
+
+	/**
+	 * Get the number of bean class introspections performed, i.e. the number of {@link BeanPropertySet}s built.
+	 * @return The introspected bean classes count
+	 */
+	long getIntrospectionCount();
+
+	/**
+	 * Get the total time spent building {@link BeanPropertySet}s, including post processing.
+	 * @param unit The time unit (not null)
+	 * @return The total introspection time
+	 */
+	long getIntrospectionTime(TimeUnit unit);
+
+	/**
+	 * Get the metrics of each post processor which was invoked at least once, sorted by total time in descending
+	 * order.
+	 * @return The post processor metrics, an empty list if none
+	 */
+	List<PostProcessorMetrics> getPostProcessorMetrics();
+
+	/**
+	 * Post processor timing metrics.
+	 */
+	public interface PostProcessorMetrics {
+
+		/**
+		 * Get the post processor, either a {@link BeanPropertySetPostProcessor} or a
+		 * {@link BeanPropertyPostProcessor}.
+		 * @return The post processor
+		 */
+		Object getPostProcessor();
+
+		/**
+		 * Get the number of post processor invocations.
+		 * @return The invocations count
+		 */
+		long getInvocationCount();
+
+		/**
+		 * Get the total time spent in the post processor.
+		 * @param unit The time unit (not null)
+		 * @return The total time
+		 */
+		long getTime(TimeUnit unit);
+
+	}
+
+}
@@ -15,11 +15,17 @@
  */
 package com.holonplatform.core.beans;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 import com.holonplatform.core.Context;
 import com.holonplatform.core.Path;
 import com.holonplatform.core.Path.FinalPath;
 import com.holonplatform.core.Validator.ValidationException;
 import com.holonplatform.core.exceptions.TypeMismatchException;
+import com.holonplatform.core.internal.beans.BeanIntrospectorWarmUp;
 import com.holonplatform.core.internal.beans.DefaultBeanIntrospector;
 import com.holonplatform.core.property.Property.PropertyAccessException;
 import com.holonplatform.core.property.Property.PropertyNotFoundException;
@@ -218,6 +224,74 @@ public interface BeanIntrospector {
 	 */
 	boolean clearCache();
 
+	// ------- Warm-up
+
+	/**
+	 * Introspect given bean classes in parallel, using given executor, so that their {@link BeanPropertySet}s are
+	 * available without further introspection at first use, if caching is enabled.
+	 * @param beanClasses The bean classes to introspect (not null)
+	 * @param executor The executor to use to perform the introspections (not null)
+	 * @return A future which completes with the number of introspected bean classes when all the introspections are
+	 *         completed, or exceptionally if any introspection failed
+	 * @since 5.6.0
+	 */
+	default CompletableFuture<Integer> warmUp(Iterable<? extends Class<?>> beanClasses, Executor executor) {
+		return BeanIntrospectorWarmUp.warmUp(this, beanClasses, executor);
+	}
+
+	/**
+	 * Introspect given bean classes in parallel, using the {@link ForkJoinPool#commonPool()}.
+	 * @param beanClasses The bean classes to introspect (not null)
+	 * @return A future which completes with the number of introspected bean classes when all the introspections are
+	 *         completed, or exceptionally if any introspection failed
+	 * @see #warmUp(Iterable, Executor)
+	 * @since 5.6.0
+	 */
+	default CompletableFuture<Integer> warmUp(Iterable<? extends Class<?>> beanClasses) {
+		return warmUp(beanClasses, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Introspect in parallel the bean classes of given package and of its sub packages, using given executor.
+	 * <p>
+	 * The public classes which are not interfaces, annotations, enums or non static inner classes are considered bean
+	 * classes, so the package should contain only Java Beans: introspecting other classes may fail.
+	 * </p>
+	 * @param packageName The package name (not null)
+	 * @param classLoader The ClassLoader to use to scan the package, <code>null</code> for the default one
+	 * @param executor The executor to use to perform the package scan and the introspections (not null)
+	 * @return A future which completes with the number of introspected bean classes when all the introspections are
+	 *         completed, or exceptionally if the package scan or any introspection failed
+	 * @since 5.6.0
+	 */
+	default CompletableFuture<Integer> warmUp(String packageName, ClassLoader classLoader, Executor executor) {
+		return BeanIntrospectorWarmUp.warmUp(this, packageName, classLoader, executor);
+	}
+
+	/**
+	 * Introspect in parallel the bean classes of given package and of its sub packages, using the default
+	 * {@link ClassLoader} and the {@link ForkJoinPool#commonPool()}.
+	 * @param packageName The package name (not null)
+	 * @return A future which completes with the number of introspected bean classes when all the introspections are
+	 *         completed, or exceptionally if the package scan or any introspection failed
+	 * @see #warmUp(String, ClassLoader, Executor)
+	 * @since 5.6.0
+	 */
+	default CompletableFuture<Integer> warmUp(String packageName) {
+		return warmUp(packageName, null, ForkJoinPool.commonPool());
+	}
+
+	// ------- Metrics
+
+	/**
+	 * Get the introspection timing metrics, if supported.
+	 * @return Optional introspection metrics snapshot, empty if metrics are not supported
+	 * @since 5.6.0
+	 */
+	default Optional<BeanIntrospectionMetrics> getMetrics() {
+		return Optional.empty();
+	}
+
 	// ------- Accessors
 
 	/**
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.beans;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.holonplatform.core.internal.beans.DefaultBeanPropertyMetadata;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * Compile time generated Java Bean metadata: the bean properties, as detected by the standard Java Beans introspection,
+ * and the direct accessors to read and write the property values without reflection.
+ * <p>
+ * The metadata classes are generated by the bean metadata annotation processor for the bean classes annotated with
+ * {@link Introspected}. The metadata class of a bean class must be named as returned by
+ * {@link #getMetadataClassName(Class)} and must provide a public no-args constructor.
+ * </p>
+ *
+ * @param <T> Bean type
+ *
+ * @since 5.6.0
+ */
+public interface BeanMetadata<T> {
+
+	/**
+	 * The suffix of the generated metadata class name
+	 */
+	static final String CLASS_NAME_SUFFIX = "_BeanMetadata";
+
+	/**
+	 * Get the bean class.
+	 * @return The bean class
+	 */
+	Class<T> getBeanClass();
+
+	/**
+	 * Get the bean properties, ordered by name.
+	 * @return The bean properties metadata
+	 */
+	List<PropertyMetadata> getProperties();
+
+	/**
+	 * Get the fully qualified name of the metadata class of given bean class: the metadata class belongs to the bean
+	 * class package and its name is the bean class binary name, with nested class separators replaced by
+	 * <code>_</code>, followed by {@link #CLASS_NAME_SUFFIX}.
+	 * @param beanClass The bean class (not null)
+	 * @return The metadata class name
+	 */
+	static String getMetadataClassName(Class<?> beanClass) {
+		ObjectUtils.argumentNotNull(beanClass, "Bean class must be not null");
+		return getMetadataClassName(beanClass.getName());
+	}
+
+	/**
+	 * Get the fully qualified name of the metadata class of the bean class with given binary name.
+	 * @param beanClassName The bean class binary name (not null)
+	 * @return The metadata class name
+	 * @see #getMetadataClassName(Class)
+	 */
+	static String getMetadataClassName(String beanClassName) {
+		ObjectUtils.argumentNotNull(beanClassName, "Bean class name must be not null");
+		final int idx = beanClassName.lastIndexOf('.');
+		final String packagePrefix = (idx > 0) ? beanClassName.substring(0, idx + 1) : "";
+		final String simpleName = (idx > 0) ? beanClassName.substring(idx + 1) : beanClassName;
+		return packagePrefix + simpleName.replace('$', '_') + CLASS_NAME_SUFFIX;
+	}
+
+	/**
+	 * Create a new {@link PropertyMetadata}.
+	 * @param name Property name (not null)
+	 * @param type Property type (not null)
+	 * @param readMethodName The property read method name, <code>null</code> if not readable
+	 * @param writeMethodName The property write method name, <code>null</code> if not writable
+	 * @param reader The property value reader, <code>null</code> if not readable
+	 * @param writer The property value writer, <code>null</code> if not writable
+	 * @return A new {@link PropertyMetadata}
+	 */
+	static PropertyMetadata property(String name, Class<?> type, String readMethodName, String writeMethodName,
+			Function<Object, Object> reader, BiConsumer<Object, Object> writer) {
+		return new DefaultBeanPropertyMetadata(name, type, readMethodName, writeMethodName, reader, writer);
+	}
+
+	/**
+	 * Bean property metadata.
+	 */
+	public interface PropertyMetadata {
+
+		/**
+		 * Get the property name.
+		 * @return the property name
+		 */
+		String getName();
+
+		/**
+		 * Get the property type.
+		 * @return the property type
+		 */
+		Class<?> getType();
+
+		/**
+		 * Get the name of the public read method.
+		 * @return Optional read method name, empty if the property is not readable
+		 */
+		Optional<String> getReadMethodName();
+
+		/**
+		 * Get the name of the public write method, which accepts a single parameter of the property type.
+		 * @return Optional write method name, empty if the property is not writable
+		 */
+		Optional<String> getWriteMethodName();
+
+		/**
+		 * Read the property value from given bean instance, using the read method.
+		 * @param instance The bean instance (not null)
+		 * @return The property value
+		 * @throws UnsupportedOperationException If the property is not readable
+		 */
+		Object read(Object instance);
+
+		/**
+		 * Write the property value into given bean instance, using the write method.
+		 * @param instance The bean instance (not null)
+		 * @param value The value to write, which must be not <code>null</code> for primitive types
+		 * @throws UnsupportedOperationException If the property is not writable
+		 */
+		void write(Object instance, Object value);
+
+	}
+
+}
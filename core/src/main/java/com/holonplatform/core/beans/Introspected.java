@@ -0,0 +1,42 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.beans;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marker annotation for Java Bean classes whose {@link BeanMetadata} is generated at compile time by the bean metadata
+ * annotation processor.
+ * <p>
+ * When a bean class is annotated with {@link Introspected} and the generated metadata class is available, the
+ * {@link BeanIntrospector} uses the metadata to resolve the bean properties and to read and write the property values,
+ * instead of the reflection based bean introspection. The resulting {@link BeanPropertySet} is the same.
+ * </p>
+ *
+ * @since 5.6.0
+ *
+ * @see BeanMetadata
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Documented
+public @interface Introspected {
+
+}
@@ -17,14 +17,17 @@ package com.holonplatform.core.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Properties;
 import java.util.stream.Stream;
 
+import com.holonplatform.core.Registration;
 import com.holonplatform.core.internal.config.MapConfigPropertyProvider;
 import com.holonplatform.core.internal.config.PrefixedConfigPropertyProvider;
 import com.holonplatform.core.internal.config.PropertiesConfigProvider;
 import com.holonplatform.core.internal.config.SystemConfigPropertyProvider;
+import com.holonplatform.core.internal.config.WatchingPropertiesConfigProvider;
 import com.holonplatform.core.internal.utils.ClassUtils;
 
 /**
@@ -59,6 +62,34 @@ public interface ConfigPropertyProvider {
 	 */
 	Stream<String> getPropertyNames() throws UnsupportedOperationException;
 
+	/**
+	 * Get whether the property values returned by this provider can be cached by the provider consumers.
+	 * <p>
+	 * A provider is cacheable when its property values never change, or when any change is notified to the listeners
+	 * registered using {@link #addChangeListener(ChangeListener)}.
+	 * </p>
+	 * @return <code>true</code> if the property values can be cached, <code>false</code> otherwise (default)
+	 * @since 5.6.0
+	 */
+	default boolean isCacheable() {
+		return false;
+	}
+
+	/**
+	 * Add a {@link ChangeListener} to be notified when the property values of this provider change.
+	 * <p>
+	 * By default, change notifications are not supported and the listener is never invoked.
+	 * </p>
+	 * @param listener The listener to add (not null)
+	 * @return The listener registration
+	 * @since 5.6.0
+	 */
+	default Registration addChangeListener(ChangeListener listener) {
+		return () -> {
+			// noop
+		};
+	}
+
 	// Builders
 
 	/**
@@ -96,7 +127,7 @@ public interface ConfigPropertyProvider {
 	static ConfigPropertyProvider using(InputStream propertySource) throws IOException {
 		Properties source = new Properties();
 		source.load(propertySource);
-		return using(source);
+		return new PropertiesConfigProvider(source, true);
 	}
 
 	/**
@@ -114,7 +145,7 @@ public interface ConfigPropertyProvider {
 	 */
 	static ConfigPropertyProvider using(String sourceFileName, ClassLoader classLoader, boolean lenient)
 			throws IOException {
-		return using(ClassUtils.loadProperties(sourceFileName, classLoader, lenient));
+		return new PropertiesConfigProvider(ClassUtils.loadProperties(sourceFileName, classLoader, lenient), true);
 	}
 
 	/**
@@ -129,7 +160,23 @@ public interface ConfigPropertyProvider {
 	 * @throws IOException File not found or read error
 	 */
 	static ConfigPropertyProvider using(String sourceFileName, ClassLoader classLoader) throws IOException {
-		return using(ClassUtils.loadProperties(sourceFileName, classLoader, false));
+		return new PropertiesConfigProvider(ClassUtils.loadProperties(sourceFileName, classLoader, false), true);
+	}
+
+	/**
+	 * Build a {@link ConfigPropertyProvider} using given <code>propertiesFile</code> as {@link Properties} property
+	 * source, watching the file for changes.
+	 * <p>
+	 * When the file is modified, the properties are reloaded and the registered {@link ChangeListener}s are notified.
+	 * The returned provider should be closed when no longer used, to stop watching the file.
+	 * </p>
+	 * @param propertiesFile Properties file path (not null)
+	 * @return ConfigPropertyProvider with given <code>propertiesFile</code> as property source.
+	 * @throws IOException File not found or read error
+	 * @since 5.6.0
+	 */
+	static WatchingConfigPropertyProvider watching(Path propertiesFile) throws IOException {
+		return new WatchingPropertiesConfigProvider(propertiesFile);
 	}
 
 	/**
@@ -143,4 +190,21 @@ public interface ConfigPropertyProvider {
 		return new PrefixedConfigPropertyProvider(provider, prefix);
 	}
 
+	// Listeners
+
+	/**
+	 * Listener to be notified when the property values of a {@link ConfigPropertyProvider} change.
+	 * @since 5.6.0
+	 */
+	@FunctionalInterface
+	public interface ChangeListener {
+
+		/**
+		 * Invoked when the property values of given provider changed.
+		 * @param provider The changed provider
+		 */
+		void onChange(ConfigPropertyProvider provider);
+
+	}
+
 }
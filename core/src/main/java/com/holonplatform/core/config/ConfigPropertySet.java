@@ -21,6 +21,7 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.function.Supplier;
 
+import com.holonplatform.core.Registration;
 import com.holonplatform.core.internal.config.DefaultConfig;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 
@@ -105,6 +106,38 @@ public interface ConfigPropertySet {
 	 */
 	Map<String, String> getSubPropertiesUsingPrefix(String prefix);
 
+	/**
+	 * Add a {@link ChangeListener} to be notified when the configuration property values of this property set change,
+	 * i.e. when one of its property sources notifies a change.
+	 * <p>
+	 * By default, change notifications are not supported and the listener is never invoked.
+	 * </p>
+	 * @param listener The listener to add (not null)
+	 * @return The listener registration
+	 * @since 5.6.0
+	 * @see ConfigPropertyProvider#addChangeListener(ConfigPropertyProvider.ChangeListener)
+	 */
+	default Registration addChangeListener(ChangeListener listener) {
+		return () -> {
+			// noop
+		};
+	}
+
+	/**
+	 * Listener to be notified when the configuration property values of a {@link ConfigPropertySet} change.
+	 * @since 5.6.0
+	 */
+	@FunctionalInterface
+	public interface ChangeListener {
+
+		/**
+		 * Invoked when the configuration property values of given property set changed.
+		 * @param propertySet The changed property set
+		 */
+		void onChange(ConfigPropertySet propertySet);
+
+	}
+
 	// ------- Builder
 
 	/**
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A {@link ConfigPropertyProvider} which uses a properties file as property source and watches the file for changes.
+ * <p>
+ * The provider owns a file system watch service and a background watcher thread, which are released when the provider
+ * is closed. After closing, the last loaded property values remain available but changes are no longer detected.
+ * </p>
+ * 
+ * @since 5.6.0
+ * 
+ * @see ConfigPropertyProvider#watching(Path)
+ */
+public interface WatchingConfigPropertyProvider extends ConfigPropertyProvider, AutoCloseable {
+
+	/**
+	 * Get the watched properties file.
+	 * @return The properties file path
+	 */
+	Path getFile();
+
+	/**
+	 * Stop watching the properties file and release the watch resources.
+	 * @throws IOException If an I/O error occurs
+	 */
+	@Override
+	void close() throws IOException;
+
+}
@@ -15,10 +15,16 @@
  */
 package com.holonplatform.core.datastore.operation.commons;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.holonplatform.core.Path;
 import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.PropertyBox;
 
 /**
@@ -42,6 +48,67 @@ public interface PropertyBoxOperationConfiguration extends DatastoreOperationCon
 	 */
 	Map<Path<?>, TypedExpression<?>> getValueExpressions(boolean includeNullValues);
 
+	/**
+	 * Get whether the {@link PropertyBox} value tracks the property value changes.
+	 * @return <code>true</code> if the operation value is not <code>null</code> and tracks the property value changes
+	 * @see PropertyBox#isTrackingChanges()
+	 * @since 5.6.0
+	 */
+	default boolean isChangeTracked() {
+		return getValue() != null && getValue().isTrackingChanges();
+	}
+
+	/**
+	 * Get the <em>dirty</em> properties of the {@link PropertyBox} value, i.e. the properties whose value was changed
+	 * since the box was loaded.
+	 * @return The dirty properties, an empty list if none or if the value does not track changes
+	 * @see #isChangeTracked()
+	 * @since 5.6.0
+	 */
+	default List<Property<?>> getDirtyProperties() {
+		return isChangeTracked() ? getValue().getDirtyProperties() : Collections.emptyList();
+	}
+
+	/**
+	 * Get whether the {@link PropertyBox} value tracks the property value changes and no property value was changed.
+	 * Operations which write the property box values can be skipped when this method returns <code>true</code>.
+	 * @return <code>true</code> if the value is change tracked and not dirty
+	 * @since 5.6.0
+	 */
+	default boolean isUnchanged() {
+		return isChangeTracked() && !getValue().isDirty();
+	}
+
+	/**
+	 * Get the {@link PropertyBox} value as a {@link Path} - {@link TypedExpression} map, including only the dirty
+	 * properties if the value tracks the property value changes.
+	 * <p>
+	 * Can be used to perform partial updates. If the value does not track changes, all the values are returned, just
+	 * like {@link #getValueExpressions(boolean)}.
+	 * </p>
+	 * <p>
+	 * The default implementation filters the {@link #getValueExpressions(boolean)} map, keeping the paths which are
+	 * dirty properties themselves, for example {@link com.holonplatform.core.property.PathProperty} instances.
+	 * </p>
+	 * @param includeNullValues Whether to include <code>null</code> property box values
+	 * @return Map of the dirty {@link PropertyBox} properties which can be represented as a {@link Path} and their
+	 *         values as {@link TypedExpression}s
+	 * @since 5.6.0
+	 */
+	default Map<Path<?>, TypedExpression<?>> getDirtyValueExpressions(boolean includeNullValues) {
+		if (!isChangeTracked()) {
+			return getValueExpressions(includeNullValues);
+		}
+		final PropertyBox value = getValue();
+		if (!value.isDirty()) {
+			return Collections.emptyMap();
+		}
+		final Set<Property<?>> dirty = new HashSet<>(value.getDirtyProperties());
+		final Map<Path<?>, TypedExpression<?>> values = new HashMap<>(getValueExpressions(includeNullValues));
+		values.keySet().removeIf(path -> !dirty.contains(path));
+		return values;
+	}
+
 	/**
 	 * {@link PropertyBoxOperationConfiguration} builder.
 	 *
@@ -15,6 +15,7 @@
  */
 package com.holonplatform.core.i18n;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.text.DateFormat;
 import java.text.NumberFormat;
@@ -150,6 +151,41 @@ public interface LocalizationContext {
 	 */
 	String getMessage(Localizable localizable, boolean lenient);
 
+	/**
+	 * Append the localized message for given {@link Localizable} to given <code>target</code>, without creating
+	 * intermediate strings when the message has arguments.
+	 * @param target The target appendable (not null)
+	 * @param localizable Localizable message (not null)
+	 * @throws LocalizationException If context is not localized, or if an I/O error occurs
+	 * @since 5.6.0
+	 */
+	default void appendMessage(Appendable target, Localizable localizable) {
+		appendMessage(target, localizable, false);
+	}
+
+	/**
+	 * Append a possibly localized message for given {@link Localizable} to given <code>target</code>.
+	 * @param target The target appendable (not null)
+	 * @param localizable Localizable message (not null)
+	 * @param lenient if <code>true</code> and the {@link LocalizationContext} is not localized, default
+	 *        {@link Localizable#getMessage()} is appended, otherwise a {@link LocalizationException} is thrown
+	 * @throws LocalizationException If not <code>lenient</code> and context is not localized, or if an I/O error
+	 *         occurs
+	 * @since 5.6.0
+	 * @see #getMessage(Localizable, boolean)
+	 */
+	default void appendMessage(Appendable target, Localizable localizable, boolean lenient) {
+		ObjectUtils.argumentNotNull(target, "Target must be not null");
+		final String message = getMessage(localizable, lenient);
+		if (message != null) {
+			try {
+				target.append(message);
+			} catch (IOException e) {
+				throw new LocalizationException("Failed to append the localized message", e);
+			}
+		}
+	}
+
 	/**
 	 * Sets the default {@link Localizable} message to use to localize a boolean value
 	 * @param value Boolean value
@@ -337,6 +373,57 @@ public interface LocalizationContext {
 		return getDateTimeFormatter(type, null, null);
 	}
 
+	// ------- Snapshots
+
+	/**
+	 * Get an immutable {@link LocalizationSnapshot} bound to the current context {@link Localization}.
+	 * <p>
+	 * The snapshot is not affected by any subsequent {@link #localize(Localization)} call, and can be safely shared
+	 * among threads.
+	 * </p>
+	 * <p>
+	 * The default implementation obtains the snapshot using {@link #snapshot(Locale)} with the current context
+	 * {@link Locale}.
+	 * </p>
+	 * @return The current localization snapshot
+	 * @throws LocalizationException If the context is not localized
+	 * @throws UnsupportedOperationException If the context does not support snapshots
+	 */
+	default LocalizationSnapshot snapshot() {
+		return snapshot(getLocale().orElseThrow(() -> new LocalizationException("Context is not localized")));
+	}
+
+	/**
+	 * Get an immutable {@link LocalizationSnapshot} bound to given {@link Locale}, regardless of the current context
+	 * localization. Snapshots are cached by Locale, so this method can be used to serve many locales concurrently
+	 * from a shared context.
+	 * <p>
+	 * The default implementation obtains the snapshot using {@link #snapshot(Localization)}.
+	 * </p>
+	 * @param locale The snapshot Locale (not null)
+	 * @return The localization snapshot for given Locale
+	 * @throws UnsupportedOperationException If the context does not support snapshots
+	 */
+	default LocalizationSnapshot snapshot(Locale locale) {
+		ObjectUtils.argumentNotNull(locale, "Locale must be not null");
+		return snapshot(Localization.builder(locale).build());
+	}
+
+	/**
+	 * Get an immutable {@link LocalizationSnapshot} bound to given {@link Localization}, regardless of the current
+	 * context localization.
+	 * <p>
+	 * The default implementation throws an {@link UnsupportedOperationException}, since snapshots must be provided by
+	 * the concrete context implementation.
+	 * </p>
+	 * @param localization The snapshot Localization (not null)
+	 * @return The localization snapshot for given Localization
+	 * @throws UnsupportedOperationException If the context does not support snapshots
+	 */
+	default LocalizationSnapshot snapshot(Localization localization) {
+		throw new UnsupportedOperationException("Snapshots are not supported by [" + getClass().getName() + "]");
+	}
+
 	// ------- MessageResolver
 
 	/**
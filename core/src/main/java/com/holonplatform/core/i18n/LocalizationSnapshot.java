@@ -0,0 +1,234 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.i18n;
+
+import java.text.DateFormat;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.Temporal;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Optional;
+
+import com.holonplatform.core.i18n.Localizable.LocalizationException;
+import com.holonplatform.core.temporal.TemporalType;
+
+/**
+ * An immutable view of a {@link LocalizationContext} bound to a single {@link Localization}.
+ * <p>
+ * A snapshot captures the context configuration (message providers, message arguments placeholder, default format
+ * styles and default boolean localizations) at creation time, and precomputes the message resolution chain and the
+ * date/time formatters for its {@link Locale}. Any later change to the context configuration is not reflected by an
+ * existing snapshot.
+ * </p>
+ * <p>
+ * A snapshot is thread-safe: it can be shared among threads and used concurrently, regardless of the current
+ * localization of the {@link LocalizationContext} from which it was obtained. The {@link DateFormat} and
+ * {@link NumberFormat} instances returned by a snapshot are never shared, so they can be freely modified by the
+ * caller.
+ * </p>
+ *
+ * @since 5.6.0
+ *
+ * @see LocalizationContext#snapshot()
+ * @see LocalizationContext#snapshot(Locale)
+ * @see LocalizationContext#snapshot(Localization)
+ */
+public interface LocalizationSnapshot {
+
+	/**
+	 * Get the {@link Localization} to which this snapshot is bound.
+	 * @return The snapshot localization (never null)
+	 */
+	Localization getLocalization();
+
+	/**
+	 * Get the {@link Locale} to which this snapshot is bound.
+	 * @return The snapshot locale (never null)
+	 */
+	default Locale getLocale() {
+		return getLocalization().getLocale();
+	}
+
+	/**
+	 * Get the message arguments placeholder, if any.
+	 * @return Optional message arguments placeholder
+	 */
+	Optional<String> getMessageArgumentsPlaceholder();
+
+	/**
+	 * Get the localized message for given message code, using the snapshot {@link Localization} and its parents as
+	 * fallback.
+	 * @param code Message code (not null)
+	 * @param arguments Optional message arguments to replace in the message
+	 * @return The localized message, or an empty Optional if no message is available for given code
+	 */
+	Optional<String> getMessage(String code, Object... arguments);
+
+	/**
+	 * Get the localized message for given message code, using the snapshot {@link Localization} and its parents as
+	 * fallback.
+	 * @param code Message code (not null)
+	 * @param defaultMessage Default message to use if no message is available for given code
+	 * @param arguments Optional message arguments to replace in the message
+	 * @return The localized message, or the default message if no message is available for given code
+	 */
+	String getMessage(String code, String defaultMessage, Object... arguments);
+
+	/**
+	 * Get the localized message for given {@link Localizable}. If the {@link Localizable} does not provide a message
+	 * code, its default message is returned.
+	 * @param localizable The message to localize (not null)
+	 * @return The localized message
+	 */
+	String getMessage(Localizable localizable);
+
+	/**
+	 * Append the localized message for given message code to given <code>target</code>, without creating
+	 * intermediate strings when the message has arguments.
+	 * @param target The target appendable (not null)
+	 * @param code Message code (not null)
+	 * @param defaultMessage Default message to use if no message is available for given code
+	 * @param arguments Optional message arguments to replace in the message
+	 * @throws LocalizationException If an I/O error occurs
+	 */
+	void appendMessage(Appendable target, String code, String defaultMessage, Object... arguments);
+
+	/**
+	 * Append the localized message for given {@link Localizable} to given <code>target</code>.
+	 * @param target The target appendable (not null)
+	 * @param localizable The message to localize (not null)
+	 * @throws LocalizationException If an I/O error occurs
+	 * @see #getMessage(Localizable)
+	 */
+	void appendMessage(Appendable target, Localizable localizable);
+
+	/**
+	 * Get the default boolean localization message for given value, if available.
+	 * @param value Boolean value
+	 * @return Optional default boolean localization message
+	 */
+	Optional<Localizable> getDefaultBooleanLocalization(boolean value);
+
+	/**
+	 * Format given number using the snapshot locale.
+	 * @param number Number to format
+	 * @param decimalPositions Decimal positions to use, or <code>-1</code> to use the localization default
+	 * @param features Optional format features
+	 * @return The formatted number, or <code>null</code> if given number was <code>null</code>
+	 * @see LocalizationContext#format(Number, int, NumberFormatFeature...)
+	 */
+	String format(Number number, int decimalPositions, NumberFormatFeature... features);
+
+	/**
+	 * Format given number using the snapshot locale and the localization default decimal positions.
+	 * @param number Number to format
+	 * @param features Optional format features
+	 * @return The formatted number, or <code>null</code> if given number was <code>null</code>
+	 */
+	default String format(Number number, NumberFormatFeature... features) {
+		return format(number, -1, features);
+	}
+
+	/**
+	 * Get a new {@link NumberFormat} for given number type.
+	 * @param numberType Number type (not null)
+	 * @param decimalPositions Decimal positions to use, or <code>-1</code> to use the localization default
+	 * @param disableGrouping Whether to disable grouping
+	 * @return A new {@link NumberFormat} instance
+	 * @see LocalizationContext#getNumberFormat(Class, int, boolean)
+	 */
+	NumberFormat getNumberFormat(Class<? extends Number> numberType, int decimalPositions, boolean disableGrouping);
+
+	/**
+	 * Format given date using the snapshot locale.
+	 * @param date Date to format
+	 * @param type Temporal type
+	 * @param dateFormat Date format style
+	 * @param timeFormat Time format style
+	 * @return The formatted date, or <code>null</code> if given date was <code>null</code>
+	 */
+	String format(Date date, TemporalType type, TemporalFormat dateFormat, TemporalFormat timeFormat);
+
+	/**
+	 * Format given date using the snapshot locale and the default format styles.
+	 * @param date Date to format
+	 * @param type Temporal type
+	 * @return The formatted date, or <code>null</code> if given date was <code>null</code>
+	 */
+	default String format(Date date, TemporalType type) {
+		return format(date, type, TemporalFormat.DEFAULT, TemporalFormat.DEFAULT);
+	}
+
+	/**
+	 * Get a new {@link DateFormat} using the snapshot locale.
+	 * @param type Temporal type
+	 * @param dateFormat Date format style
+	 * @param timeFormat Time format style
+	 * @return A new {@link DateFormat} instance
+	 */
+	DateFormat getDateFormat(TemporalType type, TemporalFormat dateFormat, TemporalFormat timeFormat);
+
+	/**
+	 * Format given temporal using the snapshot locale.
+	 * @param temporal Temporal to format
+	 * @param dateFormat Date format style
+	 * @param timeFormat Time format style
+	 * @return The formatted temporal, or <code>null</code> if given temporal was <code>null</code>
+	 */
+	String format(Temporal temporal, TemporalFormat dateFormat, TemporalFormat timeFormat);
+
+	/**
+	 * Format given temporal using the snapshot locale and the default format styles.
+	 * @param temporal Temporal to format
+	 * @return The formatted temporal, or <code>null</code> if given temporal was <code>null</code>
+	 */
+	default String format(Temporal temporal) {
+		return format(temporal, TemporalFormat.DEFAULT, TemporalFormat.DEFAULT);
+	}
+
+	/**
+	 * Format given date using the snapshot locale.
+	 * @param temporal Date to format
+	 * @param dateFormat Date format style
+	 * @return The formatted date, or <code>null</code> if given date was <code>null</code>
+	 */
+	default String format(LocalDate temporal, TemporalFormat dateFormat) {
+		return format(temporal, dateFormat, TemporalFormat.DEFAULT);
+	}
+
+	/**
+	 * Format given time using the snapshot locale.
+	 * @param temporal Time to format
+	 * @param timeFormat Time format style
+	 * @return The formatted time, or <code>null</code> if given time was <code>null</code>
+	 */
+	default String format(LocalTime temporal, TemporalFormat timeFormat) {
+		return format(temporal, TemporalFormat.DEFAULT, timeFormat);
+	}
+
+	/**
+	 * Get the {@link DateTimeFormatter} for the snapshot locale. The returned formatter is immutable and shared.
+	 * @param type Temporal type
+	 * @param dateFormat Date format style
+	 * @param timeFormat Time format style
+	 * @return The {@link DateTimeFormatter}
+	 */
+	DateTimeFormatter getDateTimeFormatter(TemporalType type, TemporalFormat dateFormat, TemporalFormat timeFormat);
+
+}
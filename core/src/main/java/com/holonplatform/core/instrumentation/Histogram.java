@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.instrumentation;
+
+import com.holonplatform.core.internal.instrumentation.DefaultHistogram;
+
+/**
+ * A lock-free histogram of non negative <code>long</code> values.
+ * <p>
+ * The values are recorded in logarithmic buckets with a relative precision of about 6%, like a HDR histogram with one
+ * significant digit, so that the memory footprint is fixed and any value can be recorded. The recording methods can
+ * be safely invoked by concurrent threads without locking, while the read methods return a weakly consistent view of
+ * the recorded values.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public interface Histogram {
+
+	/**
+	 * Record a value.
+	 * @param value The value to record (negative values are recorded as <code>0</code>)
+	 */
+	void record(long value);
+
+	/**
+	 * Get the number of recorded values.
+	 * @return The recorded values count
+	 */
+	long getCount();
+
+	/**
+	 * Get the minimum recorded value.
+	 * @return The minimum value, <code>0</code> if no value was recorded
+	 */
+	long getMin();
+
+	/**
+	 * Get the maximum recorded value.
+	 * @return The maximum value, <code>0</code> if no value was recorded
+	 */
+	long getMax();
+
+	/**
+	 * Get the mean of the recorded values.
+	 * @return The mean value, <code>0</code> if no value was recorded
+	 */
+	double getMean();
+
+	/**
+	 * Get the value at given percentile, i.e. the value below which the given percentage of the recorded values fall.
+	 * @param percentile The percentile, from <code>0</code> to <code>100</code>
+	 * @return The value at given percentile, <code>0</code> if no value was recorded
+	 */
+	long getValueAtPercentile(double percentile);
+
+	/**
+	 * Remove all the recorded values. The values recorded concurrently with the reset may be lost.
+	 */
+	void reset();
+
+	/**
+	 * Create a new {@link Histogram}.
+	 * @return A new {@link Histogram}
+	 */
+	static Histogram create() {
+		return new DefaultHistogram();
+	}
+
+}
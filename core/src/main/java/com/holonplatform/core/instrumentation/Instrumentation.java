@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.instrumentation;
+
+import com.holonplatform.core.internal.instrumentation.CompositeInstrumentation;
+import com.holonplatform.core.internal.instrumentation.DefaultInstrumentationMetrics;
+
+/**
+ * Instrumentation SPI, which is notified of the start and the completion of each client operation, such as a REST
+ * client invocation or a Datastore operation.
+ * <p>
+ * The instrumentation is disabled by default: when no {@link Instrumentation} is configured, the instrumented
+ * components do not perform any additional work. The {@link InstrumentationMetrics} built-in implementation records
+ * the operations latency histograms and counters, while external metrics libraries can be plugged in by implementing
+ * this interface. More instrumentations can be combined using {@link #compose(Instrumentation...)}.
+ * </p>
+ * <p>
+ * Implementations must be thread-safe and should not block, since they are invoked in the operations execution path.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+@FunctionalInterface
+public interface Instrumentation {
+
+	/**
+	 * REST client component name
+	 */
+	static final String REST_CLIENT = "rest-client";
+
+	/**
+	 * Datastore component name
+	 */
+	static final String DATASTORE = "datastore";
+
+	/**
+	 * Notify the start of an operation.
+	 * @param component The component which performs the operation, for example {@link #REST_CLIENT} or
+	 *        {@link #DATASTORE}
+	 * @param operation The operation name, for example the HTTP method or the Datastore operation type
+	 * @param target The operation target, for example the request scheme, host and port or the Datastore data target
+	 *        name. May be empty if not available
+	 * @return The {@link Observation} to notify when the operation completes (not null)
+	 */
+	Observation start(String component, String operation, String target);
+
+	/**
+	 * The observation of a running operation. Exactly one of {@link #success()} and {@link #failure(Throwable)} is
+	 * invoked when the operation completes.
+	 */
+	public interface Observation {
+
+		/**
+		 * An {@link Observation} which ignores all notifications.
+		 */
+		static final Observation NONE = new Observation() {
+
+			@Override
+			public void success() {
+				// noop
+			}
+
+			@Override
+			public void failure(Throwable error) {
+				// noop
+			}
+
+		};
+
+		/**
+		 * Notify the amount of data transferred by the operation, i.e. the response bytes for a REST client
+		 * invocation or the rows read or affected by a Datastore operation. May be invoked more than once.
+		 * @param amount The transferred amount
+		 */
+		default void transferred(long amount) {
+			// noop
+		}
+
+		/**
+		 * Notify that the operation completed successfully.
+		 */
+		void success();
+
+		/**
+		 * Notify that the operation failed.
+		 * @param error The operation error, if available
+		 */
+		void failure(Throwable error);
+
+	}
+
+	/**
+	 * Create a new {@link InstrumentationMetrics}, the built-in {@link Instrumentation} which records a latency
+	 * {@link Histogram} and the operation counters for each component, operation and target.
+	 * @return A new {@link InstrumentationMetrics}
+	 */
+	static InstrumentationMetrics metrics() {
+		return new DefaultInstrumentationMetrics();
+	}
+
+	/**
+	 * Create an {@link Instrumentation} which notifies all the given instrumentations, in the given order.
+	 * @param instrumentations The instrumentations to compose (not null)
+	 * @return The composite {@link Instrumentation}
+	 */
+	static Instrumentation compose(Instrumentation... instrumentations) {
+		return new CompositeInstrumentation(instrumentations);
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.instrumentation;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * The built-in {@link Instrumentation}, which records the metrics of each component, operation and target
+ * combination.
+ *
+ * @since 5.6.0
+ */
+public interface InstrumentationMetrics extends Instrumentation {
+
+	/**
+	 * Get the metrics of given operation.
+	 * @param component The component name (not null)
+	 * @param operation The operation name (not null)
+	 * @param target The operation target (not null)
+	 * @return Optional operation metrics, empty if no such operation was started
+	 */
+	Optional<OperationMetrics> getMetrics(String component, String operation, String target);
+
+	/**
+	 * Get the metrics of all the started operations.
+	 * @return An unmodifiable snapshot of the operation metrics
+	 */
+	Collection<OperationMetrics> getMetrics();
+
+	/**
+	 * Remove all the recorded metrics.
+	 */
+	void reset();
+
+	/**
+	 * The live metrics of an operation.
+	 */
+	public interface OperationMetrics {
+
+		/**
+		 * Get the component name.
+		 * @return The component name
+		 */
+		String getComponent();
+
+		/**
+		 * Get the operation name.
+		 * @return The operation name
+		 */
+		String getOperation();
+
+		/**
+		 * Get the operation target.
+		 * @return The operation target
+		 */
+		String getTarget();
+
+		/**
+		 * Get the latency histogram of the completed operations, both successful and failed.
+		 * @return The latency histogram, in microseconds
+		 */
+		Histogram getLatency();
+
+		/**
+		 * Get the number of completed operations, both successful and failed.
+		 * @return The completed operations count
+		 */
+		long getCount();
+
+		/**
+		 * Get the number of failed operations.
+		 * @return The failed operations count
+		 */
+		long getErrorCount();
+
+		/**
+		 * Get the total amount of data transferred by the operations, i.e. bytes or rows.
+		 * @return The transferred amount
+		 */
+		long getTransferred();
+
+		/**
+		 * Get the number of running operations.
+		 * @return The in-flight operations count
+		 */
+		long getInFlight();
+
+	}
+
+}
@@ -17,10 +17,14 @@ package com.holonplatform.core.internal;
 
 import java.util.Optional;
 
+import com.holonplatform.core.ValidationResult;
 import com.holonplatform.core.Validator;
 
 /**
  * A platform builtin {@link Validator}.
+ * <p>
+ * Builtin validators natively implement {@link #check(Object)}, and {@link #validate(Object)} is derived from it.
+ * </p>
  *
  * @param <T> Validation target value type
  *
@@ -28,6 +32,22 @@ import com.holonplatform.core.Validator;
  */
 public interface BuiltinValidator<T> extends Validator<T> {
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.Validator#validate(java.lang.Object)
+	 */
+	@Override
+	default void validate(T value) throws ValidationException {
+		check(value).throwIfInvalid();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.Validator#check(java.lang.Object)
+	 */
+	@Override
+	ValidationResult check(T value);
+
 	/**
 	 * Get the validator descriptor, if available.
 	 * @return Optional validator descriptor
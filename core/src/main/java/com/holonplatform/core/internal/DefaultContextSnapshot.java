@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+import com.holonplatform.core.Context;
+import com.holonplatform.core.ContextScope;
+import com.holonplatform.core.ContextSnapshot;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * Default {@link ContextSnapshot} implementation.
+ * <p>
+ * Resources can be captured only when the thread scope is a {@link ThreadScope}: otherwise, the snapshot is empty and
+ * operations are executed as-is.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public final class DefaultContextSnapshot implements ContextSnapshot {
+
+	private static final DefaultContextSnapshot EMPTY = new DefaultContextSnapshot(null, ThreadResources.EMPTY);
+
+	private final ThreadScope scope;
+	private final ThreadResources resources;
+
+	private DefaultContextSnapshot(ThreadScope scope, ThreadResources resources) {
+		super();
+		this.scope = scope;
+		this.resources = resources;
+	}
+
+	/**
+	 * Capture the resources bound to the current thread.
+	 * @return The current thread resources snapshot
+	 */
+	public static DefaultContextSnapshot capture() {
+		final ContextScope scope = Context.get().threadScope().orElse(null);
+		if (scope instanceof ThreadScope) {
+			return new DefaultContextSnapshot((ThreadScope) scope, ((ThreadScope) scope).getResources());
+		}
+		return EMPTY;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ContextSnapshot#isEmpty()
+	 */
+	@Override
+	public boolean isEmpty() {
+		return resources.isEmpty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ContextSnapshot#run(java.lang.Runnable)
+	 */
+	@Override
+	public void run(Runnable operation) {
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		if (scope == null) {
+			operation.run();
+			return;
+		}
+		final ThreadResources previous = scope.setResources(resources);
+		try {
+			operation.run();
+		} finally {
+			scope.setResources(previous);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ContextSnapshot#call(java.util.concurrent.Callable)
+	 */
+	@Override
+	public <V> V call(Callable<V> operation) throws Exception {
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		if (scope == null) {
+			return operation.call();
+		}
+		final ThreadResources previous = scope.setResources(resources);
+		try {
+			return operation.call();
+		} finally {
+			scope.setResources(previous);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ContextSnapshot#get(java.util.function.Supplier)
+	 */
+	@Override
+	public <V> V get(Supplier<V> operation) {
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		if (scope == null) {
+			return operation.get();
+		}
+		final ThreadResources previous = scope.setResources(resources);
+		try {
+			return operation.get();
+		} finally {
+			scope.setResources(previous);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultContextSnapshot [resources=" + resources + "]";
+	}
+
+}
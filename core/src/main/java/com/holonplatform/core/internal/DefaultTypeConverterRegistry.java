@@ -0,0 +1,477 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.core.TypeConverterRegistry;
+import com.holonplatform.core.exceptions.TypeMismatchException;
+import com.holonplatform.core.internal.utils.ClassUtils;
+import com.holonplatform.core.internal.utils.ConversionUtils;
+import com.holonplatform.core.internal.utils.FormatUtils;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.internal.utils.TypeUtils;
+
+/**
+ * Default {@link TypeConverterRegistry} implementation.
+ * <p>
+ * The builtin conversions follow the same rules of {@link ConversionUtils#convert(Object, Class)} and
+ * {@link ConversionUtils#convertStringValue(String, Class)}, but the type checks are performed only once for each
+ * <code>(source type, target type)</code> pair.
+ * </p>
+ * <p>
+ * Only the conversions between types which are visible from the ClassLoader of this class are cached, so that the
+ * shared default registry never holds a reference to classes loaded by a child ClassLoader (for example a web
+ * application ClassLoader), which would otherwise be prevented from being garbage collected. The conversions
+ * involving such types are resolved each time.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class DefaultTypeConverterRegistry implements TypeConverterRegistry {
+
+	/**
+	 * Default instance
+	 */
+	public static final TypeConverterRegistry INSTANCE = new DefaultTypeConverterRegistry();
+
+	private static final TypeConverter<Object, Object> IDENTITY = v -> v;
+
+	/*
+	 * Marker for unsupported conversions
+	 */
+	private static final TypeConverter<Object, Object> UNSUPPORTED = v -> {
+		throw new TypeMismatchException("Unsupported conversion");
+	};
+
+	private static final Set<String> BOOLEAN_TRUE_VALUES = new HashSet<>(4);
+	private static final Set<String> BOOLEAN_FALSE_VALUES = new HashSet<>(4);
+
+	static {
+		BOOLEAN_TRUE_VALUES.add("true");
+		BOOLEAN_TRUE_VALUES.add("on");
+		BOOLEAN_TRUE_VALUES.add("yes");
+		BOOLEAN_TRUE_VALUES.add("1");
+
+		BOOLEAN_FALSE_VALUES.add("false");
+		BOOLEAN_FALSE_VALUES.add("off");
+		BOOLEAN_FALSE_VALUES.add("no");
+		BOOLEAN_FALSE_VALUES.add("0");
+	}
+
+	/**
+	 * Registered converters
+	 */
+	private final List<RegisteredConverter> converters = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Resolved converters, by source type and target type
+	 */
+	private volatile ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, TypeConverter<?, ?>>> cache = new ConcurrentHashMap<>(
+			16, 0.75f, 2);
+
+	/**
+	 * Resolved String converters, by target type
+	 */
+	private volatile ConcurrentMap<Class<?>, TypeConverter<String, ?>> stringCache = new ConcurrentHashMap<>(16,
+			0.75f, 2);
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.TypeConverterRegistry#getConverter(java.lang.Class, java.lang.Class)
+	 */
+	@Override
+	public <S, T> Optional<TypeConverter<S, T>> getConverter(Class<S> sourceType, Class<T> targetType) {
+		return Optional.ofNullable(lookup(sourceType, targetType));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.TypeConverterRegistry#getStringConverter(java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> Optional<TypeConverter<String, T>> getStringConverter(Class<T> targetType) {
+		ObjectUtils.argumentNotNull(targetType, "Target type must be not null");
+		final ConcurrentMap<Class<?>, TypeConverter<String, ?>> converters = stringCache;
+		TypeConverter<String, ?> converter = converters.get(targetType);
+		if (converter == null) {
+			converter = resolveStringConverter(targetType);
+			if (converter == null) {
+				converter = (TypeConverter<String, ?>) (TypeConverter<?, ?>) UNSUPPORTED;
+			}
+			if (isCacheSafe(targetType)) {
+				converters.putIfAbsent(targetType, converter);
+			}
+		}
+		return (converter != (TypeConverter<?, ?>) UNSUPPORTED) ? Optional.of((TypeConverter<String, T>) converter)
+				: Optional.empty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.TypeConverterRegistry#convert(java.lang.Object, java.lang.Class)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T convert(Object value, Class<T> targetType) {
+		ObjectUtils.argumentNotNull(targetType, "Target type must be not null");
+		if (value == null) {
+			return null;
+		}
+		final TypeConverter<Object, T> converter = lookup((Class<Object>) value.getClass(), targetType);
+		if (converter == null) {
+			throw new TypeMismatchException(
+					"Cannot convert value type [" + value.getClass() + "] to type [" + targetType + "]");
+		}
+		return converter.convert(value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.TypeConverterRegistry#register(java.lang.Class, java.lang.Class,
+	 * com.holonplatform.core.TypeConverterRegistry.TypeConverter)
+	 */
+	@Override
+	public <S, T> Registration register(Class<S> sourceType, Class<T> targetType, TypeConverter<S, T> converter) {
+		ObjectUtils.argumentNotNull(sourceType, "Source type must be not null");
+		ObjectUtils.argumentNotNull(targetType, "Target type must be not null");
+		ObjectUtils.argumentNotNull(converter, "Converter must be not null");
+		final RegisteredConverter registered = new RegisteredConverter(sourceType, targetType, converter);
+		converters.add(registered);
+		clearCaches();
+		return () -> {
+			if (converters.remove(registered)) {
+				clearCaches();
+			}
+		};
+	}
+
+	/**
+	 * Discard all the resolved converters.
+	 */
+	protected void clearCaches() {
+		cache = new ConcurrentHashMap<>(16, 0.75f, 2);
+		stringCache = new ConcurrentHashMap<>(16, 0.75f, 2);
+	}
+
+	/**
+	 * Get the converter for given types, resolving and caching it if not available.
+	 * @param <S> Source type
+	 * @param <T> Target type
+	 * @param sourceType Source type
+	 * @param targetType Target type
+	 * @return The converter, or <code>null</code> if the conversion is not supported
+	 */
+	@SuppressWarnings("unchecked")
+	private <S, T> TypeConverter<S, T> lookup(Class<S> sourceType, Class<T> targetType) {
+		ObjectUtils.argumentNotNull(sourceType, "Source type must be not null");
+		ObjectUtils.argumentNotNull(targetType, "Target type must be not null");
+		if (!isCacheSafe(sourceType) || !isCacheSafe(targetType)) {
+			final TypeConverter<?, ?> converter = resolveConverter(sourceType, targetType);
+			return (TypeConverter<S, T>) converter;
+		}
+		final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, TypeConverter<?, ?>>> converters = cache;
+		ConcurrentMap<Class<?>, TypeConverter<?, ?>> targets = converters.get(sourceType);
+		if (targets == null) {
+			targets = converters.computeIfAbsent(sourceType, t -> new ConcurrentHashMap<>(4, 0.75f, 2));
+		}
+		TypeConverter<?, ?> converter = targets.get(targetType);
+		if (converter == null) {
+			converter = resolveConverter(sourceType, targetType);
+			if (converter == null) {
+				converter = UNSUPPORTED;
+			}
+			targets.putIfAbsent(targetType, converter);
+		}
+		return (converter != UNSUPPORTED) ? (TypeConverter<S, T>) converter : null;
+	}
+
+	/**
+	 * Checks whether given type can be safely cached, i.e. it is visible from the ClassLoader of this class.
+	 * @param type Type to check
+	 * @return <code>true</code> if the type can be cached
+	 */
+	private static boolean isCacheSafe(Class<?> type) {
+		return ClassUtils.isCacheSafe(type, DefaultTypeConverterRegistry.class.getClassLoader());
+	}
+
+	/**
+	 * Resolve the conversion function for given types.
+	 * @param sourceType Source type
+	 * @param targetType Target type
+	 * @return The converter, or <code>null</code> if the conversion is not supported
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	protected TypeConverter<?, ?> resolveConverter(Class<?> sourceType, Class<?> targetType) {
+		if (TypeUtils.isAssignable(sourceType, targetType)) {
+			return IDENTITY;
+		}
+
+		// registered
+		final TypeConverter<?, ?> registered = findRegistered(sourceType, targetType);
+		if (registered != null) {
+			return registered;
+		}
+
+		// enum
+		if (TypeUtils.isEnum(targetType)) {
+			return enumConverter(sourceType, (Class<Enum>) targetType);
+		}
+
+		// number
+		if (TypeUtils.isNumber(targetType) && TypeUtils.isNumber(sourceType)) {
+			return numberConverter(sourceType, (Class<Number>) targetType);
+		}
+
+		// date and times
+		if (Date.class.isAssignableFrom(sourceType)) {
+			if (LocalDate.class.isAssignableFrom(targetType)) {
+				return (TypeConverter<Date, LocalDate>) ConversionUtils::toLocalDate;
+			}
+			if (LocalDateTime.class.isAssignableFrom(targetType)) {
+				return (TypeConverter<Date, LocalDateTime>) ConversionUtils::toLocalDateTime;
+			}
+			if (LocalTime.class.isAssignableFrom(targetType)) {
+				return (TypeConverter<Date, LocalTime>) ConversionUtils::toLocalTime;
+			}
+		}
+
+		if (Timestamp.class.isAssignableFrom(sourceType) && Date.class.isAssignableFrom(targetType)) {
+			return (TypeConverter<Timestamp, Date>) v -> {
+				Calendar c = Calendar.getInstance();
+				c.setTimeInMillis(v.getTime());
+				return c.getTime();
+			};
+		}
+
+		if (Time.class.isAssignableFrom(sourceType) && LocalTime.class.isAssignableFrom(targetType)) {
+			return (TypeConverter<Time, LocalTime>) Time::toLocalTime;
+		}
+
+		// String to Reader
+		if (TypeUtils.isString(sourceType) && Reader.class.isAssignableFrom(targetType)) {
+			return (TypeConverter<String, Reader>) StringReader::new;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Resolve the String conversion function for given target type.
+	 * @param targetType Target type
+	 * @return The converter, or <code>null</code> if the conversion is not supported
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	protected TypeConverter<String, ?> resolveStringConverter(Class<?> targetType) {
+		if (TypeUtils.isString(targetType)) {
+			return v -> v;
+		}
+
+		// registered
+		final TypeConverter<?, ?> registered = findRegistered(String.class, targetType);
+		if (registered != null) {
+			return (TypeConverter<String, ?>) (TypeConverter) registered;
+		}
+
+		if (TypeUtils.isCharacter(targetType)) {
+			return v -> {
+				if (v.length() != 1) {
+					throw new IllegalArgumentException("Can only convert a String with length of 1 to a Character: " + v);
+				}
+				return Character.valueOf(v.charAt(0));
+			};
+		}
+
+		if (TypeUtils.isBoolean(targetType)) {
+			return v -> {
+				final String bv = v.toLowerCase();
+				if (BOOLEAN_TRUE_VALUES.contains(bv)) {
+					return Boolean.TRUE;
+				}
+				if (BOOLEAN_FALSE_VALUES.contains(bv)) {
+					return Boolean.FALSE;
+				}
+				throw new IllegalArgumentException("Invalid boolean value '" + v + "'");
+			};
+		}
+
+		if (TypeUtils.isEnum(targetType)) {
+			return (TypeConverter<String, ?>) (TypeConverter) enumConverter(String.class, (Class<Enum>) targetType);
+		}
+
+		if (TypeUtils.isNumber(targetType)) {
+			final Function<String, ? extends Number> parser = ConversionUtils
+					.getNumberParser((Class<? extends Number>) targetType).orElse(null);
+			if (parser != null) {
+				return v -> parser.apply(FormatUtils.trimAll(v));
+			}
+			return v -> ConversionUtils.parseNumber(v, (Class<? extends Number>) targetType);
+		}
+
+		return null;
+	}
+
+	private TypeConverter<?, ?> findRegistered(Class<?> sourceType, Class<?> targetType) {
+		for (RegisteredConverter registered : converters) {
+			if (registered.targetType == targetType && registered.sourceType.isAssignableFrom(sourceType)) {
+				return registered.converter;
+			}
+		}
+		return null;
+	}
+
+	// ------- Enums
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static TypeConverter<?, ?> enumConverter(Class<?> sourceType, Class<Enum> targetType) {
+		Class<?> enumType = targetType;
+		while (enumType != null && !enumType.isEnum()) {
+			enumType = enumType.getSuperclass();
+		}
+		if (enumType == null) {
+			final Class<?> type = targetType;
+			return v -> {
+				throw new IllegalArgumentException("The target type " + type + " does not refer to an enum");
+			};
+		}
+		final Class<Enum> enm = (Class<Enum>) enumType;
+
+		if (TypeUtils.isEnum(sourceType)) {
+			return IDENTITY;
+		}
+		if (TypeUtils.isNumber(sourceType)) {
+			final Enum[] constants = enm.getEnumConstants();
+			return (TypeConverter<Number, Enum>) v -> {
+				final Integer ordinal = ConversionUtils.convertNumberToTargetClass(v, int.class);
+				if (ordinal == null || ordinal.intValue() < 0 || ordinal.intValue() >= constants.length) {
+					throw new IllegalArgumentException("Unable to convert to required Enum type " + targetType
+							+ ": ordinal value " + ordinal + " is out of range");
+				}
+				return constants[ordinal.intValue()];
+			};
+		}
+		if (TypeUtils.isString(sourceType)) {
+			final Enum[] constants = enm.getEnumConstants();
+			final Map<String, Enum> names = new HashMap<>(constants.length * 2);
+			for (Enum constant : constants) {
+				names.put(constant.name(), constant);
+			}
+			return (TypeConverter<String, Enum>) v -> {
+				final Enum constant = names.get(v);
+				if (constant == null) {
+					throw new IllegalArgumentException("No enum constant " + enm.getCanonicalName() + "." + v);
+				}
+				return constant;
+			};
+		}
+		return v -> {
+			throw new IllegalArgumentException("Unable to convert type " + sourceType + " to required Enum type");
+		};
+	}
+
+	// ------- Numbers
+
+	private static TypeConverter<?, ?> numberConverter(Class<?> sourceType, Class<Number> targetType) {
+		final Class<?> source = TypeUtils.box(sourceType);
+		if (source == Byte.class || source == Short.class || source == Integer.class || source == Long.class) {
+			// integral source: direct primitive conversions
+			final Class<?> target = TypeUtils.box(targetType);
+			if (target == Long.class) {
+				return (TypeConverter<Number, Long>) v -> Long.valueOf(v.longValue());
+			}
+			if (target == Integer.class) {
+				if (source == Long.class) {
+					return (TypeConverter<Number, Integer>) v -> Integer
+							.valueOf((int) checkRange(v, Integer.MIN_VALUE, Integer.MAX_VALUE, targetType));
+				}
+				return (TypeConverter<Number, Integer>) v -> Integer.valueOf(v.intValue());
+			}
+			if (target == Short.class) {
+				if (source == Byte.class) {
+					return (TypeConverter<Number, Short>) v -> Short.valueOf(v.shortValue());
+				}
+				return (TypeConverter<Number, Short>) v -> Short
+						.valueOf((short) checkRange(v, Short.MIN_VALUE, Short.MAX_VALUE, targetType));
+			}
+			if (target == Byte.class) {
+				return (TypeConverter<Number, Byte>) v -> Byte
+						.valueOf((byte) checkRange(v, Byte.MIN_VALUE, Byte.MAX_VALUE, targetType));
+			}
+			if (target == Double.class) {
+				return (TypeConverter<Number, Double>) v -> Double.valueOf(v.doubleValue());
+			}
+			if (target == Float.class) {
+				return (TypeConverter<Number, Float>) v -> Float.valueOf(v.floatValue());
+			}
+			if (target == BigInteger.class) {
+				return (TypeConverter<Number, BigInteger>) v -> BigInteger.valueOf(v.longValue());
+			}
+			if (target == BigDecimal.class) {
+				return (TypeConverter<Number, BigDecimal>) v -> BigDecimal.valueOf(v.longValue());
+			}
+		}
+		return (TypeConverter<Number, Number>) v -> ConversionUtils.convertNumberToTargetClass(v, targetType);
+	}
+
+	private static long checkRange(Number number, long min, long max, Class<?> targetType) {
+		final long value = number.longValue();
+		if (value < min || value > max) {
+			throw new IllegalArgumentException("Could not convert number [" + number + "] of type ["
+					+ number.getClass().getName() + "] to target class [" + targetType.getName() + "]: overflow");
+		}
+		return value;
+	}
+
+	// ------- Registration
+
+	private static final class RegisteredConverter {
+
+		final Class<?> sourceType;
+		final Class<?> targetType;
+		final TypeConverter<?, ?> converter;
+
+		RegisteredConverter(Class<?> sourceType, Class<?> targetType, TypeConverter<?, ?> converter) {
+			super();
+			this.sourceType = sourceType;
+			this.targetType = targetType;
+			this.converter = converter;
+		}
+
+	}
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.holonplatform.core.ValidationResult;
+import com.holonplatform.core.Validator.ValidationException;
+import com.holonplatform.core.i18n.Localizable;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * Default {@link ValidationResult} implementation.
+ *
+ * @since 5.6.0
+ */
+public class DefaultValidationResult implements ValidationResult {
+
+	/**
+	 * Shared valid result
+	 */
+	public static final ValidationResult VALID = new DefaultValidationResult(Collections.emptyList());
+
+	/*
+	 * Failures
+	 */
+	private final List<Localizable> failures;
+
+	/**
+	 * Constructor for a single failure.
+	 * @param failure Validation failure (not null)
+	 */
+	public DefaultValidationResult(Localizable failure) {
+		super();
+		ObjectUtils.argumentNotNull(failure, "Validation failure must be not null");
+		this.failures = Collections.singletonList(failure);
+	}
+
+	/**
+	 * Constructor.
+	 * @param failures Validation failures (not null)
+	 */
+	public DefaultValidationResult(List<Localizable> failures) {
+		super();
+		ObjectUtils.argumentNotNull(failures, "Validation failures must be not null");
+		this.failures = failures;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ValidationResult#isValid()
+	 */
+	@Override
+	public boolean isValid() {
+		return failures.isEmpty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ValidationResult#getFailures()
+	 */
+	@Override
+	public List<Localizable> getFailures() {
+		return Collections.unmodifiableList(failures);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ValidationResult#asException()
+	 */
+	@Override
+	public Optional<ValidationException> asException() {
+		return Optional.ofNullable(toException(false));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ValidationResult#throwIfInvalid()
+	 */
+	@Override
+	public void throwIfInvalid() throws ValidationException {
+		final ValidationException exception = toException(true);
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+	/**
+	 * Convert the failures into a {@link ValidationException}.
+	 * @param writableStackTrace Whether the created exceptions should record the stack trace
+	 * @return The validation exception, <code>null</code> if there are no failures
+	 */
+	private ValidationException toException(boolean writableStackTrace) {
+		if (failures.isEmpty()) {
+			return null;
+		}
+		if (failures.size() == 1) {
+			return toException(failures.get(0), writableStackTrace);
+		}
+		final List<ValidationException> causes = new ArrayList<>(failures.size());
+		for (Localizable failure : failures) {
+			causes.add(toException(failure, writableStackTrace));
+		}
+		return new ValidationException(null, causes, writableStackTrace);
+	}
+
+	/**
+	 * Convert given failure into a {@link ValidationException}, if it is not already an exception.
+	 * @param failure Failure to convert
+	 * @param writableStackTrace Whether the created exception should record the stack trace
+	 * @return The validation exception
+	 */
+	private static ValidationException toException(Localizable failure, boolean writableStackTrace) {
+		if (failure instanceof ValidationException) {
+			return (ValidationException) failure;
+		}
+		return new ValidationException(failure, Collections.emptySet(), writableStackTrace);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultValidationResult [valid=" + isValid() + ", failures=" + failures + "]";
+	}
+
+	// Builder
+
+	/**
+	 * Default {@link Builder} implementation.
+	 */
+	public static class DefaultBuilder implements Builder {
+
+		/*
+		 * Failures, lazily initialized
+		 */
+		private List<Localizable> failures;
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.ValidationResult.Builder#failure(com.holonplatform.core.i18n.Localizable)
+		 */
+		@Override
+		public Builder failure(Localizable failure) {
+			ObjectUtils.argumentNotNull(failure, "Validation failure must be not null");
+			if (failures == null) {
+				failures = new ArrayList<>(4);
+			}
+			failures.add(failure);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.ValidationResult.Builder#add(com.holonplatform.core.ValidationResult)
+		 */
+		@Override
+		public Builder add(ValidationResult result) {
+			ObjectUtils.argumentNotNull(result, "ValidationResult must be not null");
+			if (!result.isValid()) {
+				for (Localizable failure : result.getFailures()) {
+					failure(failure);
+				}
+			}
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.ValidationResult.Builder#isValid()
+		 */
+		@Override
+		public boolean isValid() {
+			return failures == null;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.ValidationResult.Builder#build()
+		 */
+		@Override
+		public ValidationResult build() {
+			if (failures == null) {
+				return VALID;
+			}
+			return new DefaultValidationResult(new ArrayList<>(failures));
+		}
+
+	}
+
+}
@@ -17,6 +17,7 @@ package com.holonplatform.core.internal;
 
 import java.util.function.Predicate;
 
+import com.holonplatform.core.ValidationResult;
 import com.holonplatform.core.Validator;
 import com.holonplatform.core.i18n.Localizable;
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -55,4 +56,16 @@ public class DefaultValidator<T> implements Validator<T> {
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.Validator#check(java.lang.Object)
+	 */
+	@Override
+	public ValidationResult check(T value) {
+		if (!predicate.test(value)) {
+			return ValidationResult.invalid(message);
+		}
+		return ValidationResult.valid();
+	}
+
 }
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.holonplatform.core.ContextSnapshot;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * A {@link CompletionStage} wrapper which executes any dependent action binding the {@link ContextSnapshot} captured
+ * when the action was registered. Dependent stages are wrapped too.
+ *
+ * @param <T> Stage result type
+ *
+ * @since 5.6.0
+ */
+public class PropagatingCompletionStage<T> implements CompletionStage<T> {
+
+	private final CompletionStage<T> delegate;
+
+	/**
+	 * Constructor
+	 * @param delegate Concrete stage (not null)
+	 */
+	public PropagatingCompletionStage(CompletionStage<T> delegate) {
+		super();
+		ObjectUtils.argumentNotNull(delegate, "CompletionStage must be not null");
+		this.delegate = delegate;
+	}
+
+	private static <U> CompletionStage<U> propagating(CompletionStage<U> stage) {
+		return new PropagatingCompletionStage<>(stage);
+	}
+
+	private static Runnable wrap(Runnable action) {
+		return ContextSnapshot.capture().wrap(action);
+	}
+
+	private static <A, R> Function<A, R> wrap(Function<A, R> fn) {
+		final ContextSnapshot snapshot = ContextSnapshot.capture();
+		return a -> snapshot.get(() -> fn.apply(a));
+	}
+
+	private static <A> Consumer<A> wrap(Consumer<A> action) {
+		final ContextSnapshot snapshot = ContextSnapshot.capture();
+		return a -> snapshot.run(() -> action.accept(a));
+	}
+
+	private static <A, B, R> BiFunction<A, B, R> wrap(BiFunction<A, B, R> fn) {
+		final ContextSnapshot snapshot = ContextSnapshot.capture();
+		return (a, b) -> snapshot.get(() -> fn.apply(a, b));
+	}
+
+	private static <A, B> BiConsumer<A, B> wrap(BiConsumer<A, B> action) {
+		final ContextSnapshot snapshot = ContextSnapshot.capture();
+		return (a, b) -> snapshot.run(() -> action.accept(a, b));
+	}
+
+	@Override
+	public <U> CompletionStage<U> thenApply(Function<? super T, ? extends U> fn) {
+		return propagating(delegate.thenApply(wrap(fn)));
+	}
+
+	@Override
+	public <U> CompletionStage<U> thenApplyAsync(Function<? super T, ? extends U> fn) {
+		return propagating(delegate.thenApplyAsync(wrap(fn)));
+	}
+
+	@Override
+	public <U> CompletionStage<U> thenApplyAsync(Function<? super T, ? extends U> fn, Executor executor) {
+		return propagating(delegate.thenApplyAsync(wrap(fn), executor));
+	}
+
+	@Override
+	public CompletionStage<Void> thenAccept(Consumer<? super T> action) {
+		return propagating(delegate.thenAccept(wrap(action)));
+	}
+
+	@Override
+	public CompletionStage<Void> thenAcceptAsync(Consumer<? super T> action) {
+		return propagating(delegate.thenAcceptAsync(wrap(action)));
+	}
+
+	@Override
+	public CompletionStage<Void> thenAcceptAsync(Consumer<? super T> action, Executor executor) {
+		return propagating(delegate.thenAcceptAsync(wrap(action), executor));
+	}
+
+	@Override
+	public CompletionStage<Void> thenRun(Runnable action) {
+		return propagating(delegate.thenRun(wrap(action)));
+	}
+
+	@Override
+	public CompletionStage<Void> thenRunAsync(Runnable action) {
+		return propagating(delegate.thenRunAsync(wrap(action)));
+	}
+
+	@Override
+	public CompletionStage<Void> thenRunAsync(Runnable action, Executor executor) {
+		return propagating(delegate.thenRunAsync(wrap(action), executor));
+	}
+
+	@Override
+	public <U, V> CompletionStage<V> thenCombine(CompletionStage<? extends U> other,
+			BiFunction<? super T, ? super U, ? extends V> fn) {
+		return propagating(delegate.thenCombine(other, wrap(fn)));
+	}
+
+	@Override
+	public <U, V> CompletionStage<V> thenCombineAsync(CompletionStage<? extends U> other,
+			BiFunction<? super T, ? super U, ? extends V> fn) {
+		return propagating(delegate.thenCombineAsync(other, wrap(fn)));
+	}
+
+	@Override
+	public <U, V> CompletionStage<V> thenCombineAsync(CompletionStage<? extends U> other,
+			BiFunction<? super T, ? super U, ? extends V> fn, Executor executor) {
+		return propagating(delegate.thenCombineAsync(other, wrap(fn), executor));
+	}
+
+	@Override
+	public <U> CompletionStage<Void> thenAcceptBoth(CompletionStage<? extends U> other,
+			BiConsumer<? super T, ? super U> action) {
+		return propagating(delegate.thenAcceptBoth(other, wrap(action)));
+	}
+
+	@Override
+	public <U> CompletionStage<Void> thenAcceptBothAsync(CompletionStage<? extends U> other,
+			BiConsumer<? super T, ? super U> action) {
+		return propagating(delegate.thenAcceptBothAsync(other, wrap(action)));
+	}
+
+	@Override
+	public <U> CompletionStage<Void> thenAcceptBothAsync(CompletionStage<? extends U> other,
+			BiConsumer<? super T, ? super U> action, Executor executor) {
+		return propagating(delegate.thenAcceptBothAsync(other, wrap(action), executor));
+	}
+
+	@Override
+	public CompletionStage<Void> runAfterBoth(CompletionStage<?> other, Runnable action) {
+		return propagating(delegate.runAfterBoth(other, wrap(action)));
+	}
+
+	@Override
+	public CompletionStage<Void> runAfterBothAsync(CompletionStage<?> other, Runnable action) {
+		return propagating(delegate.runAfterBothAsync(other, wrap(action)));
+	}
+
+	@Override
+	public CompletionStage<Void> runAfterBothAsync(CompletionStage<?> other, Runnable action, Executor executor) {
+		return propagating(delegate.runAfterBothAsync(other, wrap(action), executor));
+	}
+
+	@Override
+	public <U> CompletionStage<U> applyToEither(CompletionStage<? extends T> other, Function<? super T, U> fn) {
+		return propagating(delegate.applyToEither(other, wrap(fn)));
+	}
+
+	@Override
+	public <U> CompletionStage<U> applyToEitherAsync(CompletionStage<? extends T> other, Function<? super T, U> fn) {
+		return propagating(delegate.applyToEitherAsync(other, wrap(fn)));
+	}
+
+	@Override
+	public <U> CompletionStage<U> applyToEitherAsync(CompletionStage<? extends T> other, Function<? super T, U> fn,
+			Executor executor) {
+		return propagating(delegate.applyToEitherAsync(other, wrap(fn), executor));
+	}
+
+	@Override
+	public CompletionStage<Void> acceptEither(CompletionStage<? extends T> other, Consumer<? super T> action) {
+		return propagating(delegate.acceptEither(other, wrap(action)));
+	}
+
+	@Override
+	public CompletionStage<Void> acceptEitherAsync(CompletionStage<? extends T> other, Consumer<? super T> action) {
+		return propagating(delegate.acceptEitherAsync(other, wrap(action)));
+	}
+
+	@Override
+	public CompletionStage<Void> acceptEitherAsync(CompletionStage<? extends T> other, Consumer<? super T> action,
+			Executor executor) {
+		return propagating(delegate.acceptEitherAsync(other, wrap(action), executor));
+	}
+
+	@Override
+	public CompletionStage<Void> runAfterEither(CompletionStage<?> other, Runnable action) {
+		return propagating(delegate.runAfterEither(other, wrap(action)));
+	}
+
+	@Override
+	public CompletionStage<Void> runAfterEitherAsync(CompletionStage<?> other, Runnable action) {
+		return propagating(delegate.runAfterEitherAsync(other, wrap(action)));
+	}
+
+	@Override
+	public CompletionStage<Void> runAfterEitherAsync(CompletionStage<?> other, Runnable action, Executor executor) {
+		return propagating(delegate.runAfterEitherAsync(other, wrap(action), executor));
+	}
+
+	@Override
+	public <U> CompletionStage<U> thenCompose(Function<? super T, ? extends CompletionStage<U>> fn) {
+		return propagating(delegate.thenCompose(wrap(fn)));
+	}
+
+	@Override
+	public <U> CompletionStage<U> thenComposeAsync(Function<? super T, ? extends CompletionStage<U>> fn) {
+		return propagating(delegate.thenComposeAsync(wrap(fn)));
+	}
+
+	@Override
+	public <U> CompletionStage<U> thenComposeAsync(Function<? super T, ? extends CompletionStage<U>> fn,
+			Executor executor) {
+		return propagating(delegate.thenComposeAsync(wrap(fn), executor));
+	}
+
+	@Override
+	public CompletionStage<T> exceptionally(Function<Throwable, ? extends T> fn) {
+		return propagating(delegate.exceptionally(wrap(fn)));
+	}
+
+	@Override
+	public CompletionStage<T> whenComplete(BiConsumer<? super T, ? super Throwable> action) {
+		return propagating(delegate.whenComplete(wrap(action)));
+	}
+
+	@Override
+	public CompletionStage<T> whenCompleteAsync(BiConsumer<? super T, ? super Throwable> action) {
+		return propagating(delegate.whenCompleteAsync(wrap(action)));
+	}
+
+	@Override
+	public CompletionStage<T> whenCompleteAsync(BiConsumer<? super T, ? super Throwable> action, Executor executor) {
+		return propagating(delegate.whenCompleteAsync(wrap(action), executor));
+	}
+
+	@Override
+	public <U> CompletionStage<U> handle(BiFunction<? super T, Throwable, ? extends U> fn) {
+		return propagating(delegate.handle(wrap(fn)));
+	}
+
+	@Override
+	public <U> CompletionStage<U> handleAsync(BiFunction<? super T, Throwable, ? extends U> fn) {
+		return propagating(delegate.handleAsync(wrap(fn)));
+	}
+
+	@Override
+	public <U> CompletionStage<U> handleAsync(BiFunction<? super T, Throwable, ? extends U> fn, Executor executor) {
+		return propagating(delegate.handleAsync(wrap(fn), executor));
+	}
+
+	@Override
+	public CompletableFuture<T> toCompletableFuture() {
+		return delegate.toCompletableFuture();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "PropagatingCompletionStage [" + delegate + "]";
+	}
+
+}
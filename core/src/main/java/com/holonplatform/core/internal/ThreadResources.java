@@ -0,0 +1,164 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal;
+
+import java.util.Arrays;
+
+import com.holonplatform.core.Context;
+import com.holonplatform.core.exceptions.TypeMismatchException;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.internal.utils.TypeUtils;
+
+/**
+ * Compact and immutable resource map used by the {@link ThreadScope}.
+ * <p>
+ * Resources are stored in two parallel arrays and any modification returns a new instance, so a resource map can be
+ * safely shared among threads (for example, when it is inherited by a child thread or propagated to an asynchronous
+ * task) without copying it.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public final class ThreadResources {
+
+	/**
+	 * Empty resources
+	 */
+	public static final ThreadResources EMPTY = new ThreadResources(new String[0], new Object[0]);
+
+	private final String[] keys;
+	private final Object[] values;
+
+	private ThreadResources(String[] keys, Object[] values) {
+		super();
+		this.keys = keys;
+		this.values = values;
+	}
+
+	/**
+	 * Get whether this resource map is empty.
+	 * @return <code>true</code> if empty
+	 */
+	public boolean isEmpty() {
+		return keys.length == 0;
+	}
+
+	/**
+	 * Get the number of resources.
+	 * @return The resources count
+	 */
+	public int size() {
+		return keys.length;
+	}
+
+	/**
+	 * Get the resource bound to given key.
+	 * @param key Resource key (not null)
+	 * @return The resource value, or <code>null</code> if not found
+	 */
+	public Object get(String key) {
+		final int index = indexOf(key);
+		return (index > -1) ? values[index] : null;
+	}
+
+	/**
+	 * Get the resource of given <code>type</code> bound to given <code>key</code>.
+	 * @param <T> Resource type
+	 * @param key Resource key (not null)
+	 * @param type Resource type (not null)
+	 * @return The resource value, or <code>null</code> if not found
+	 * @throws TypeMismatchException Expected and actual resource type mismatch
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(String key, Class<T> type) throws TypeMismatchException {
+		ObjectUtils.argumentNotNull(type, "Resource type must be not null");
+		final Object resource = get(key);
+		if (resource != null && !TypeUtils.isAssignable(resource.getClass(), type)) {
+			throw new TypeMismatchException("<" + Context.THREAD_SCOPE_NAME
+					+ "> Actual resource type [" + resource.getClass().getName() + "] and required resource type ["
+					+ type.getName() + "] mismatch");
+		}
+		return (T) resource;
+	}
+
+	/**
+	 * Get a resource map with given resource bound to given key, replacing any previous binding.
+	 * @param key Resource key (not null)
+	 * @param value Resource value. If <code>null</code>, the resource is removed
+	 * @return The new resource map
+	 */
+	public ThreadResources with(String key, Object value) {
+		if (value == null) {
+			return without(key);
+		}
+		final int index = indexOf(key);
+		if (index > -1) {
+			if (values[index] == value) {
+				return this;
+			}
+			final Object[] newValues = values.clone();
+			newValues[index] = value;
+			return new ThreadResources(keys, newValues);
+		}
+		final String[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+		final Object[] newValues = Arrays.copyOf(values, values.length + 1);
+		newKeys[keys.length] = key;
+		newValues[values.length] = value;
+		return new ThreadResources(newKeys, newValues);
+	}
+
+	/**
+	 * Get a resource map without the resource bound to given key.
+	 * @param key Resource key (not null)
+	 * @return The new resource map, or this instance if no resource was bound to given key
+	 */
+	public ThreadResources without(String key) {
+		final int index = indexOf(key);
+		if (index < 0) {
+			return this;
+		}
+		if (keys.length == 1) {
+			return EMPTY;
+		}
+		final String[] newKeys = new String[keys.length - 1];
+		final Object[] newValues = new Object[values.length - 1];
+		System.arraycopy(keys, 0, newKeys, 0, index);
+		System.arraycopy(values, 0, newValues, 0, index);
+		System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+		System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+		return new ThreadResources(newKeys, newValues);
+	}
+
+	private int indexOf(String key) {
+		ObjectUtils.argumentNotNull(key, "Resource key must be not null");
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] == key || keys[i].equals(key)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ThreadResources " + Arrays.toString(keys);
+	}
+
+}
@@ -23,6 +23,11 @@ import com.holonplatform.core.exceptions.TypeMismatchException;
 
 /**
  * A {@link ContextScope} to handle Thread-bound context resources.
+ * <p>
+ * The resources bound to a thread are stored in an immutable {@link ThreadResources} map: any modification replaces
+ * the thread map with a new one. A child thread inherits the parent thread map by reference, without copying it, and
+ * any later modification performed by the parent or by the child thread is not visible to the other one.
+ * </p>
  * 
  * @since 5.0.0
  */
@@ -41,7 +46,7 @@ public final class ThreadScope implements ContextScope {
 	/**
 	 * ThreadLocal resources store as key/value pairs
 	 */
-	private final ThreadLocal<ContextResourceMap> resources;
+	private final ThreadLocal<ThreadResources> resources;
 
 	public ThreadScope() {
 		super();
@@ -73,12 +78,7 @@ public final class ThreadScope implements ContextScope {
 	@Override
 	public <T> Optional<T> get(String resourceKey, Class<T> resourceType) throws TypeMismatchException {
 		LOGGER.debug(() -> "Get resource with key [" + resourceKey + "] and type [" + resourceType + "]");
-		final Optional<T> resource;
-		if (resources.get() != null) {
-			resource = Optional.ofNullable(resources.get().get(resourceKey, resourceType));
-		} else {
-			resource = Optional.empty();
-		}
+		final Optional<T> resource = Optional.ofNullable(getResources().get(resourceKey, resourceType));
 		LOGGER.debug(() -> "Get resource with key [" + resourceKey + "] and type [" + resourceType + "]: "
 				+ (resource.isPresent() ? "found [" + resource.get() + "]" : "not found"));
 		return resource;
@@ -88,22 +88,29 @@ public final class ThreadScope implements ContextScope {
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.context.ContextScope#put(java.lang.String, java.lang.Object)
 	 */
+	@SuppressWarnings("unchecked")
 	@Override
 	public <T> Optional<T> put(String resourceKey, T value) throws UnsupportedOperationException {
-		ensureInited();
 		LOGGER.debug(() -> "Put resource with key [" + resourceKey + "]: [" + value + "]");
-		return Optional.ofNullable(resources.get().put(resourceKey, value));
+		final ThreadResources current = getResources();
+		final Object previous = current.get(resourceKey);
+		setResources(current.with(resourceKey, value));
+		return Optional.ofNullable((T) previous);
 	}
 
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.context.ContextScope#putIfAbsent(java.lang.String, java.lang.Object)
 	 */
+	@SuppressWarnings("unchecked")
 	@Override
 	public <T> Optional<T> putIfAbsent(String resourceKey, T value) throws UnsupportedOperationException {
-		ensureInited();
 		LOGGER.debug(() -> "Put resource if absent with key [" + resourceKey + "]: [" + value + "]");
-		final T resource = resources.get().putIfAbsent(resourceKey, value);
+		final ThreadResources current = getResources();
+		final T resource = (T) current.get(resourceKey);
+		if (resource == null && value != null) {
+			setResources(current.with(resourceKey, value));
+		}
 		LOGGER.debug(() -> "Resource with key [" + resourceKey + "] and [" + value + "] "
 				+ ((resource != null) ? "replaced the resource [" + resource + "]" : " was not present"));
 		return Optional.ofNullable(resource);
@@ -115,23 +122,41 @@ public final class ThreadScope implements ContextScope {
 	 */
 	@Override
 	public boolean remove(String resourceKey) throws UnsupportedOperationException {
-		final boolean removed;
-		if (resources.get() != null) {
-			removed = resources.get().remove(resourceKey);
-		} else {
-			removed = false;
+		final ThreadResources current = getResources();
+		final ThreadResources updated = current.without(resourceKey);
+		final boolean removed = updated != current;
+		if (removed) {
+			setResources(updated);
 		}
 		LOGGER.debug(() -> "Remove resource with key [" + resourceKey + "] - was present:" + removed);
 		return removed;
 	}
 
 	/**
-	 * Check internal ThreadLocal resources map is initialized
+	 * Get the resources bound to the current thread.
+	 * @return The current thread resources, an empty map if none
+	 * @since 5.6.0
 	 */
-	private void ensureInited() {
-		if (resources.get() == null) {
-			resources.set(new ContextResourceMap(Context.THREAD_SCOPE_NAME, false));
+	public ThreadResources getResources() {
+		final ThreadResources current = resources.get();
+		return (current != null) ? current : ThreadResources.EMPTY;
+	}
+
+	/**
+	 * Replace the resources bound to the current thread.
+	 * @param threadResources The resources to bind to the current thread. If <code>null</code> or empty, the current
+	 *        thread bindings are removed
+	 * @return The previous resources bound to the current thread, an empty map if none
+	 * @since 5.6.0
+	 */
+	public ThreadResources setResources(ThreadResources threadResources) {
+		final ThreadResources previous = getResources();
+		if (threadResources == null || threadResources.isEmpty()) {
+			resources.remove();
+		} else {
+			resources.set(threadResources);
 		}
+		return previous;
 	}
 
 }
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import com.holonplatform.core.Path;
+import com.holonplatform.core.beans.BeanMetadata.PropertyMetadata;
 import com.holonplatform.core.beans.BeanProperty;
 import com.holonplatform.core.beans.IgnoreMode;
 import com.holonplatform.core.internal.property.AbstractPathProperty;
@@ -56,6 +57,11 @@ public abstract class AbstractBeanProperty<T> extends AbstractPathProperty<T, Be
 	 */
 	private transient WeakReference<Field> field;
 
+	/**
+	 * Compile time generated property accessor
+	 */
+	private transient PropertyMetadata accessor;
+
 	/**
 	 * Declared field annotations
 	 */
@@ -108,6 +114,22 @@ public abstract class AbstractBeanProperty<T> extends AbstractPathProperty<T, Be
 		return Optional.empty();
 	}
 
+	/**
+	 * Get the compile time generated property accessor, if available.
+	 * @return The property accessor, <code>null</code> if not available
+	 */
+	PropertyMetadata getAccessor() {
+		return accessor;
+	}
+
+	/**
+	 * Set the compile time generated property accessor.
+	 * @param accessor The property accessor
+	 */
+	void setAccessor(PropertyMetadata accessor) {
+		this.accessor = accessor;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.beans.BeanProperty#getReadMethod()
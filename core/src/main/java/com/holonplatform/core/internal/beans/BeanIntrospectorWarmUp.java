@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.beans;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.holonplatform.core.beans.BeanIntrospector;
+import com.holonplatform.core.beans.BeanIntrospector.BeanIntrospectionException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ClassUtils;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * {@link BeanIntrospector} warm-up support: introspects a set of bean classes in parallel, so that the bean property
+ * sets are cached before their first use.
+ *
+ * @since 5.6.0
+ */
+public final class BeanIntrospectorWarmUp {
+
+	private static final Logger LOGGER = BeanLogger.create();
+
+	/*
+	 * Empty private constructor: this class is intended only to provide constants ad utility methods.
+	 */
+	private BeanIntrospectorWarmUp() {
+	}
+
+	/**
+	 * Introspect given bean classes using given {@link BeanIntrospector}, submitting an introspection task for each
+	 * bean class to given executor.
+	 * @param introspector The bean introspector (not null)
+	 * @param beanClasses The bean classes to introspect (not null)
+	 * @param executor The executor to use (not null)
+	 * @return A future which completes with the number of introspected bean classes when all the introspections are
+	 *         completed, or exceptionally if any introspection failed
+	 */
+	public static CompletableFuture<Integer> warmUp(BeanIntrospector introspector,
+			Iterable<? extends Class<?>> beanClasses, Executor executor) {
+		ObjectUtils.argumentNotNull(introspector, "BeanIntrospector must be not null");
+		ObjectUtils.argumentNotNull(beanClasses, "Bean classes must be not null");
+		ObjectUtils.argumentNotNull(executor, "Executor must be not null");
+		final List<CompletableFuture<?>> tasks = new ArrayList<>();
+		for (Class<?> beanClass : beanClasses) {
+			if (beanClass != null) {
+				tasks.add(CompletableFuture.runAsync(() -> introspector.getPropertySet(beanClass), executor));
+			}
+		}
+		final int count = tasks.size();
+		LOGGER.debug(() -> "Warm-up: introspecting " + count + " bean classes");
+		return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[count])).thenApply(v -> count);
+	}
+
+	/**
+	 * Introspect the bean classes of given package and of its sub packages using given {@link BeanIntrospector}. The
+	 * package is scanned asynchronously using given executor.
+	 * @param introspector The bean introspector (not null)
+	 * @param packageName The package name (not null)
+	 * @param classLoader The ClassLoader to use, <code>null</code> for the default one
+	 * @param executor The executor to use (not null)
+	 * @return A future which completes with the number of introspected bean classes when all the introspections are
+	 *         completed, or exceptionally if the package scan or any introspection failed
+	 * @see #getBeanClasses(String, ClassLoader)
+	 */
+	public static CompletableFuture<Integer> warmUp(BeanIntrospector introspector, String packageName,
+			ClassLoader classLoader, Executor executor) {
+		ObjectUtils.argumentNotNull(introspector, "BeanIntrospector must be not null");
+		ObjectUtils.argumentNotNull(packageName, "Package name must be not null");
+		ObjectUtils.argumentNotNull(executor, "Executor must be not null");
+		return CompletableFuture.supplyAsync(() -> getBeanClasses(packageName, classLoader), executor)
+				.thenCompose(beanClasses -> warmUp(introspector, beanClasses, executor));
+	}
+
+	/**
+	 * Get the candidate bean classes of given package and of its sub packages, i.e. the public, concrete or abstract
+	 * classes which are not interfaces, annotations, enums or non static inner classes.
+	 * @param packageName The package name (not null)
+	 * @param classLoader The ClassLoader to use, <code>null</code> for the default one
+	 * @return The bean classes, an empty list if none
+	 * @throws BeanIntrospectionException If the package scan failed
+	 */
+	public static List<Class<?>> getBeanClasses(String packageName, ClassLoader classLoader) {
+		ObjectUtils.argumentNotNull(packageName, "Package name must be not null");
+		final ClassLoader cl = (classLoader != null) ? classLoader : ClassUtils.getDefaultClassLoader();
+		final List<String> classNames;
+		try {
+			classNames = ClassUtils.getClassNames(packageName, cl);
+		} catch (IOException e) {
+			throw new BeanIntrospectionException("Failed to scan package [" + packageName + "]", e);
+		}
+		final List<Class<?>> beanClasses = new ArrayList<>(classNames.size());
+		for (String className : classNames) {
+			try {
+				final Class<?> cls = Class.forName(className, false, cl);
+				if (isBeanClass(cls)) {
+					beanClasses.add(cls);
+				}
+			} catch (ClassNotFoundException | LinkageError e) {
+				LOGGER.debug(() -> "Warm-up: skip class [" + className + "] which cannot be loaded", e);
+			}
+		}
+		return beanClasses;
+	}
+
+	/**
+	 * Checks whether given class is a candidate bean class.
+	 * @param cls The class to check
+	 * @return <code>true</code> if candidate bean class
+	 */
+	private static boolean isBeanClass(Class<?> cls) {
+		if (cls.isInterface() || cls.isAnnotation() || cls.isEnum() || cls.isSynthetic() || cls.isAnonymousClass()
+				|| cls.isLocalClass() || !Modifier.isPublic(cls.getModifiers())) {
+			return false;
+		}
+		return !cls.isMemberClass() || Modifier.isStatic(cls.getModifiers());
+	}
+
+}
@@ -359,6 +359,7 @@ public class BeanPropertyBeanValidationPostProcessor implements BeanPropertyPost
 			for (int i = 0; i < flags.length; i++) {
 				pfs[i] = PatternFlag.fromFlag(flags[i].getValue());
 			}
+			return pfs;
 		}
 		return new PatternFlag[0];
 	}
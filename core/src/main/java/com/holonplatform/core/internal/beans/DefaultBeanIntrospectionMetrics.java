@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.beans;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.holonplatform.core.beans.BeanIntrospectionMetrics;
+import com.holonplatform.core.beans.BeanIntrospectionMetrics.PostProcessorMetrics;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * Collector of the {@link BeanIntrospectionMetrics} of a {@link DefaultBeanIntrospector}.
+ *
+ * @since 5.6.0
+ */
+final class DefaultBeanIntrospectionMetrics {
+
+	private final LongAdder introspections = new LongAdder();
+	private final LongAdder introspectionNanos = new LongAdder();
+
+	private final Map<Object, Timer> postProcessors = new ConcurrentHashMap<>(16);
+
+	/**
+	 * Record a bean class introspection.
+	 * @param nanos The introspection time in nanoseconds
+	 */
+	void recordIntrospection(long nanos) {
+		introspections.increment();
+		introspectionNanos.add(nanos);
+	}
+
+	/**
+	 * Record a post processor invocation.
+	 * @param postProcessor The post processor
+	 * @param nanos The invocation time in nanoseconds
+	 */
+	void recordPostProcessor(Object postProcessor, long nanos) {
+		postProcessors.computeIfAbsent(postProcessor, p -> new Timer()).record(nanos);
+	}
+
+	/**
+	 * Reset all the metrics.
+	 */
+	void reset() {
+		introspections.reset();
+		introspectionNanos.reset();
+		postProcessors.clear();
+	}
+
+	/**
+	 * Get an immutable snapshot of the current metrics.
+	 * @return The metrics snapshot
+	 */
+	BeanIntrospectionMetrics snapshot() {
+		final List<PostProcessorMetrics> metrics = new ArrayList<>(postProcessors.size());
+		postProcessors
+				.forEach((p, t) -> metrics.add(new DefaultPostProcessorMetrics(p, t.count.sum(), t.nanos.sum())));
+		metrics.sort(Comparator.comparingLong((PostProcessorMetrics m) -> m.getTime(TimeUnit.NANOSECONDS)).reversed());
+		return new Snapshot(introspections.sum(), introspectionNanos.sum(), Collections.unmodifiableList(metrics));
+	}
+
+	/*
+	 * Post processor time accumulator
+	 */
+	private static final class Timer {
+
+		final LongAdder count = new LongAdder();
+		final LongAdder nanos = new LongAdder();
+
+		void record(long elapsed) {
+			count.increment();
+			nanos.add(elapsed);
+		}
+
+	}
+
+	/*
+	 * Immutable metrics
+	 */
+	private static final class Snapshot implements BeanIntrospectionMetrics {
+
+		private final long introspectionCount;
+		private final long introspectionNanos;
+		private final List<PostProcessorMetrics> postProcessorMetrics;
+
+		Snapshot(long introspectionCount, long introspectionNanos, List<PostProcessorMetrics> postProcessorMetrics) {
+			super();
+			this.introspectionCount = introspectionCount;
+			this.introspectionNanos = introspectionNanos;
+			this.postProcessorMetrics = postProcessorMetrics;
+		}
+
+		@Override
+		public long getIntrospectionCount() {
+			return introspectionCount;
+		}
+
+		@Override
+		public long getIntrospectionTime(TimeUnit unit) {
+			ObjectUtils.argumentNotNull(unit, "TimeUnit must be not null");
+			return unit.convert(introspectionNanos, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public List<PostProcessorMetrics> getPostProcessorMetrics() {
+			return postProcessorMetrics;
+		}
+
+		@Override
+		public String toString() {
+			return "BeanIntrospectionMetrics [introspectionCount=" + introspectionCount + ", introspectionTime="
+					+ TimeUnit.NANOSECONDS.toMillis(introspectionNanos) + "ms, postProcessorMetrics="
+					+ postProcessorMetrics + "]";
+		}
+
+	}
+
+	/*
+	 * Immutable post processor metrics
+	 */
+	private static final class DefaultPostProcessorMetrics implements PostProcessorMetrics {
+
+		private final Object postProcessor;
+		private final long invocationCount;
+		private final long nanos;
+
+		DefaultPostProcessorMetrics(Object postProcessor, long invocationCount, long nanos) {
+			super();
+			this.postProcessor = postProcessor;
+			this.invocationCount = invocationCount;
+			this.nanos = nanos;
+		}
+
+		@Override
+		public Object getPostProcessor() {
+			return postProcessor;
+		}
+
+		@Override
+		public long getInvocationCount() {
+			return invocationCount;
+		}
+
+		@Override
+		public long getTime(TimeUnit unit) {
+			ObjectUtils.argumentNotNull(unit, "TimeUnit must be not null");
+			return unit.convert(nanos, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public String toString() {
+			return "[" + postProcessor.getClass().getName() + ": invocations=" + invocationCount + ", time="
+					+ TimeUnit.NANOSECONDS.toMicros(nanos) + "us]";
+		}
+
+	}
+
+}
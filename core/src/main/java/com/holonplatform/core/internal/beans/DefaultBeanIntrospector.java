@@ -20,6 +20,7 @@ import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
@@ -31,7 +32,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Priority;
 
@@ -39,7 +43,10 @@ import com.holonplatform.core.Path;
 import com.holonplatform.core.Path.FinalPath;
 import com.holonplatform.core.Path.FinalPath.FinalPathBuilder;
 import com.holonplatform.core.beans.BeanConfigProperties;
+import com.holonplatform.core.beans.BeanIntrospectionMetrics;
 import com.holonplatform.core.beans.BeanIntrospector;
+import com.holonplatform.core.beans.BeanMetadata;
+import com.holonplatform.core.beans.BeanMetadata.PropertyMetadata;
 import com.holonplatform.core.beans.BeanProperty;
 import com.holonplatform.core.beans.BeanPropertyPostProcessor;
 import com.holonplatform.core.beans.BeanPropertySet;
@@ -47,6 +54,7 @@ import com.holonplatform.core.beans.BeanPropertySetPostProcessor;
 import com.holonplatform.core.beans.BooleanBeanProperty;
 import com.holonplatform.core.beans.Ignore;
 import com.holonplatform.core.beans.IgnoreMode;
+import com.holonplatform.core.beans.Introspected;
 import com.holonplatform.core.beans.NumericBeanProperty;
 import com.holonplatform.core.beans.StringBeanProperty;
 import com.holonplatform.core.beans.TemporalBeanProperty;
@@ -63,6 +71,11 @@ import com.holonplatform.core.property.PropertyBox;
  * Cache is supported and active by default. Use {@link BeanConfigProperties#BEAN_INTROSPECTOR_CACHE_ENABLED} to disable
  * cache in the case of memory consumption issues.
  * </p>
+ * <p>
+ * The cache is bound to the bean classes using a {@link ClassValue}, so cached lookups do not require any locking and
+ * each bean class is introspected only once, while different bean classes can be introspected concurrently. The
+ * cached values are released when the cache is cleared.
+ * </p>
  * 
  * @since 5.0.0
  */
@@ -156,12 +169,17 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 	/**
 	 * Property set post processors
 	 */
-	private final List<BeanPropertySetPostProcessor> propertySetPostProcessors = new LinkedList<>();
+	private final List<BeanPropertySetPostProcessor> propertySetPostProcessors = new CopyOnWriteArrayList<>();
 
 	/**
 	 * Property post processors
 	 */
-	private final List<BeanPropertyPostProcessor> propertyPostProcessors = new LinkedList<>();
+	private final List<BeanPropertyPostProcessor> propertyPostProcessors = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Introspection metrics
+	 */
+	private final DefaultBeanIntrospectionMetrics metrics = new DefaultBeanIntrospectionMetrics();
 
 	/**
 	 * Constructor
@@ -281,7 +299,9 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 		for (BeanPropertySetPostProcessor propertySetPostProcessor : propertySetPostProcessors) {
 			LOGGER.debug(() -> "Invoke BeanPropertySetPostProcessor [" + propertySetPostProcessor
 					+ "] on property set of bean class [" + beanClass + "]");
+			final long start = System.nanoTime();
 			propertySetPostProcessor.processBeanPropertySet(processed, beanClass);
+			metrics.recordPostProcessor(propertySetPostProcessor, System.nanoTime() - start);
 
 		}
 	}
@@ -298,7 +318,9 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 		for (BeanPropertyPostProcessor propertyPostProcessor : propertyPostProcessors) {
 			LOGGER.debug(() -> "Invoke BeanPropertyPostProcessor [" + propertyPostProcessor + "] on property ["
 					+ property + "]");
+			final long start = System.nanoTime();
 			processed = propertyPostProcessor.processBeanProperty(processed, beanOrNestedClass);
+			metrics.recordPostProcessor(propertyPostProcessor, System.nanoTime() - start);
 			if (processed == null) {
 				throw new BeanIntrospectionException(
 						"BeanPropertyPostProcessor [" + propertyPostProcessor + "] returned a null property");
@@ -314,25 +336,74 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 	@Override
 	public boolean clearCache() {
 		LOGGER.debug(() -> "Clear cache");
-		synchronized (cache) {
-			cache.clear();
+		final Class<?>[] classes;
+		synchronized (cacheGeneration) {
+			cacheGeneration.incrementAndGet();
+			cacheSize.set(0);
+			synchronized (cachedClasses) {
+				classes = cachedClasses.toArray(new Class<?>[cachedClasses.size()]);
+				cachedClasses.clear();
+			}
+		}
+		// release the cached values
+		for (Class<?> cls : classes) {
+			cache.remove(cls);
 		}
 		return true;
 	}
 
 	/**
-	 * Get the current cache size
+	 * Get the current cache size, i.e. the number of bean classes introspected and cached since the last cache clear.
 	 * @return Cache size
 	 */
 	public int getCacheSize() {
-		return cache.size();
+		return cacheSize.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanIntrospector#getMetrics()
+	 */
+	@Override
+	public Optional<BeanIntrospectionMetrics> getMetrics() {
+		return Optional.of(metrics.snapshot());
 	}
 
 	/**
-	 * Cache: bean class <-> BeanPropertyContext
+	 * Reset the introspection metrics.
 	 */
-	@SuppressWarnings("rawtypes")
-	private final Map<Class<?>, BeanPropertySet> cache = new WeakHashMap<>(16, 0.9f);
+	public void resetMetrics() {
+		metrics.reset();
+	}
+
+	/**
+	 * Cache: bean class <-> cache entry. The entries are bound to the bean classes, so they don't prevent class
+	 * unloading.
+	 */
+	private final ClassValue<CacheEntry> cache = new ClassValue<CacheEntry>() {
+
+		@Override
+		protected CacheEntry computeValue(Class<?> type) {
+			return new CacheEntry();
+		}
+
+	};
+
+	/**
+	 * Cache generation: the cached values of previous generations are considered cleared
+	 */
+	private final AtomicInteger cacheGeneration = new AtomicInteger();
+
+	/**
+	 * Cached values count of the current generation
+	 */
+	private final AtomicInteger cacheSize = new AtomicInteger();
+
+	/**
+	 * The bean classes with a cached value, weakly referenced, used to release the cached values when the cache is
+	 * cleared
+	 */
+	private final Set<Class<?>> cachedClasses = Collections.newSetFromMap(new WeakHashMap<>());
 
 	/*
 	 * (non-Javadoc)
@@ -388,25 +459,52 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 	public <T> BeanPropertySet<T> getPropertySet(Class<? extends T> beanClass) {
 		ObjectUtils.argumentNotNull(beanClass, "Bean class must be not null");
 		LOGGER.debug(() -> "Get BeanPropertySet for bean class [" + beanClass + "]");
-		synchronized (cache) {
-			if (CACHE_ENABLED && cache.containsKey(beanClass)) {
-				return cache.get(beanClass);
+		if (!CACHE_ENABLED) {
+			return introspect(beanClass);
+		}
+		final CacheEntry entry = cache.get(beanClass);
+		final int generation = cacheGeneration.get();
+		BeanPropertySet beanPropertySet = entry.get(generation);
+		if (beanPropertySet == null) {
+			// introspect only once per bean class
+			synchronized (entry) {
+				beanPropertySet = entry.get(generation);
+				if (beanPropertySet == null) {
+					beanPropertySet = introspect(beanClass);
+					entry.set(beanPropertySet, generation);
+					synchronized (cacheGeneration) {
+						if (cacheGeneration.get() == generation) {
+							cacheSize.incrementAndGet();
+							synchronized (cachedClasses) {
+								cachedClasses.add(beanClass);
+							}
+						}
+					}
+				}
 			}
+		}
+		return beanPropertySet;
+	}
 
-			// get bean path
-			final FinalPathBuilder<T> rootBeanPath = FinalPath.of(beanClass.getName(), beanClass);
+	/**
+	 * Introspect given bean class and build the {@link BeanPropertySet}, using the bean class as root path.
+	 * @param beanClass Bean class to introspect
+	 * @return BeanPropertySet instance
+	 * @throws BeanIntrospectionException Error during bean introspection
+	 */
+	private <T> BeanPropertySet<T> introspect(Class<? extends T> beanClass) throws BeanIntrospectionException {
+		final long start = System.nanoTime();
 
-			final BeanPropertySet beanPropertySet = buildBeanPropertySet(beanClass, rootBeanPath);
+		// get bean path
+		final FinalPathBuilder<T> rootBeanPath = FinalPath.of(beanClass.getName(), beanClass);
 
-			// check data path
-			((BeanPropertySet<?>) beanPropertySet).getDataPath().ifPresent(dp -> rootBeanPath.dataPath(dp));
+		final BeanPropertySet<T> beanPropertySet = buildBeanPropertySet(beanClass, rootBeanPath);
 
-			if (CACHE_ENABLED) {
-				BeanPropertySet existing = cache.putIfAbsent(beanClass, beanPropertySet);
-				return (existing != null ? existing : beanPropertySet);
-			}
-			return beanPropertySet;
-		}
+		// check data path
+		beanPropertySet.getDataPath().ifPresent(dp -> rootBeanPath.dataPath(dp));
+
+		metrics.recordIntrospection(System.nanoTime() - start);
+		return beanPropertySet;
 	}
 
 	/**
@@ -451,11 +549,16 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 		if (isIntrospectable(beanClass)) {
 			// get bean info
 			try {
-				PropertyDescriptor[] propertyDescriptors = Introspector.getBeanInfo(beanClass).getPropertyDescriptors();
+				final BeanMetadata<?> metadata = getBeanMetadata(beanClass);
+				final PropertyDescriptor[] propertyDescriptors = (metadata != null)
+						? getPropertyDescriptors(metadata)
+						: Introspector.getBeanInfo(beanClass).getPropertyDescriptors();
 				if (propertyDescriptors != null) {
-					for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
+					for (int i = 0; i < propertyDescriptors.length; i++) {
+						final PropertyDescriptor propertyDescriptor = propertyDescriptors[i];
+						final PropertyMetadata accessor = (metadata != null) ? metadata.getProperties().get(i) : null;
 						if (!EXCLUDE_DEFAULT_BEAN_PROPERTY_NAMES.contains(propertyDescriptor.getName())) {
-							buildBeanProperty(beanClass, parentPath, parent, propertyDescriptor).ifPresent(p -> {
+							buildBeanProperty(beanClass, parentPath, parent, propertyDescriptor, accessor).ifPresent(p -> {
 								if (p.addToPropertySet) {
 									properties.add(p.property);
 									LOGGER.debug(
@@ -475,17 +578,127 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 		return properties;
 	}
 
+	/**
+	 * Get the compile time generated {@link BeanMetadata} of given bean class, if the bean class is annotated with
+	 * {@link Introspected} and the metadata class is available.
+	 * @param beanClass Bean class
+	 * @return The bean metadata, <code>null</code> if not available
+	 */
+	private static BeanMetadata<?> getBeanMetadata(Class<?> beanClass) {
+		if (!beanClass.isAnnotationPresent(Introspected.class)) {
+			return null;
+		}
+		final String className = BeanMetadata.getMetadataClassName(beanClass);
+		try {
+			final Class<?> metadataClass = Class.forName(className, true, beanClass.getClassLoader());
+			final BeanMetadata<?> metadata = (BeanMetadata<?>) metadataClass.newInstance();
+			if (metadata.getBeanClass() != beanClass) {
+				LOGGER.warn("Bean class [" + beanClass.getName() + "] - the metadata class [" + className
+						+ "] refers to a different bean class [" + metadata.getBeanClass() + "]: ignored");
+				return null;
+			}
+			LOGGER.debug(() -> "Bean class [" + beanClass + "] - using generated metadata [" + className + "]");
+			return metadata;
+		} catch (ClassNotFoundException e) {
+			LOGGER.debug(() -> "Bean class [" + beanClass + "] - generated metadata class [" + className
+					+ "] not available, fallback to reflection");
+		} catch (Exception | LinkageError e) {
+			LOGGER.warn("Bean class [" + beanClass.getName() + "] - failed to load the metadata class [" + className
+					+ "], fallback to reflection", e);
+		}
+		return null;
+	}
+
+	/**
+	 * Get the {@link PropertyDescriptor}s which correspond to the properties of given bean metadata, in the same
+	 * order.
+	 * @param metadata Bean metadata
+	 * @return The property descriptors
+	 * @throws IntrospectionException If a property read or write method is not available
+	 */
+	private static PropertyDescriptor[] getPropertyDescriptors(BeanMetadata<?> metadata) throws IntrospectionException {
+		final Class<?> beanClass = metadata.getBeanClass();
+		final List<PropertyMetadata> properties = metadata.getProperties();
+		final PropertyDescriptor[] descriptors = new PropertyDescriptor[properties.size()];
+		for (int i = 0; i < descriptors.length; i++) {
+			final PropertyMetadata property = properties.get(i);
+			try {
+				final Method readMethod = property.getReadMethodName().isPresent()
+						? beanClass.getMethod(property.getReadMethodName().get())
+						: null;
+				final Method writeMethod = property.getWriteMethodName().isPresent()
+						? getWriteMethod(beanClass, property.getWriteMethodName().get(), property.getType())
+						: null;
+				descriptors[i] = new BeanMetadataPropertyDescriptor(property, readMethod, writeMethod);
+			} catch (NoSuchMethodException e) {
+				throw new IntrospectionException("Bean class [" + beanClass.getName() + "] - property ["
+						+ property.getName() + "] metadata does not match the bean class: " + e.getMessage());
+			}
+		}
+		return descriptors;
+	}
+
+	/**
+	 * Get the public write method with given name of the bean class, which accepts a single parameter of given type or,
+	 * when the method is declared by a generic superclass, of a supertype of given type.
+	 * @param beanClass Bean class
+	 * @param name Method name
+	 * @param type Property type
+	 * @return The write method
+	 * @throws NoSuchMethodException If a matching method is not found
+	 */
+	private static Method getWriteMethod(Class<?> beanClass, String name, Class<?> type) throws NoSuchMethodException {
+		try {
+			return beanClass.getMethod(name, type);
+		} catch (NoSuchMethodException e) {
+			for (Method method : beanClass.getMethods()) {
+				if (name.equals(method.getName()) && method.getParameterCount() == 1 && !method.isBridge()
+						&& method.getParameterTypes()[0].isAssignableFrom(type)) {
+					return method;
+				}
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * A {@link PropertyDescriptor} built from the compile time generated {@link PropertyMetadata}, which provides the
+	 * property type resolved against the bean class type variables, consistently with the standard bean introspection.
+	 */
+	private static final class BeanMetadataPropertyDescriptor extends PropertyDescriptor {
+
+		private final Class<?> propertyType;
+
+		BeanMetadataPropertyDescriptor(PropertyMetadata property, Method readMethod, Method writeMethod)
+				throws IntrospectionException {
+			super(property.getName(), readMethod, writeMethod);
+			this.propertyType = property.getType();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.beans.PropertyDescriptor#getPropertyType()
+		 */
+		@Override
+		public synchronized Class<?> getPropertyType() {
+			return propertyType;
+		}
+
+	}
+
 	/**
 	 * Build a {@link BeanProperty} instance using given {@link PropertyDescriptor}.
 	 * @param beanClass Bean class
 	 * @param parentPath Optional parent path
 	 * @param parent Parent bean property if bean class is a nested bean class
 	 * @param propertyDescriptor Bean property descriptor
+	 * @param accessor Optional compile time generated property accessor
 	 * @return BeanProperty instance
 	 * @throws BeanIntrospectionException Error introspecting bean class
 	 */
 	private Optional<ResolvedBeanProperty<?>> buildBeanProperty(Class<?> beanClass, Path<?> parentPath,
-			BeanProperty<?> parent, PropertyDescriptor propertyDescriptor) throws BeanIntrospectionException {
+			BeanProperty<?> parent, PropertyDescriptor propertyDescriptor, PropertyMetadata accessor)
+			throws BeanIntrospectionException {
 
 		boolean addToPropertySet = true;
 
@@ -520,6 +733,10 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 			property.parent(parentPath);
 		}
 
+		if (accessor != null && property instanceof AbstractBeanProperty) {
+			((AbstractBeanProperty<?>) property).setAccessor(accessor);
+		}
+
 		// post processors
 		if (addToPropertySet) {
 			property = postProcessBeanProperty(property, beanClass);
@@ -610,6 +827,42 @@ public class DefaultBeanIntrospector implements BeanIntrospector {
 				&& !Collection.class.isAssignableFrom(propertyClass);
 	}
 
+	/*
+	 * Bean class cache entry
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final class CacheEntry {
+
+		private volatile CachedValue value;
+
+		BeanPropertySet get(int generation) {
+			final CachedValue cached = value;
+			return (cached != null && cached.generation == generation) ? cached.propertySet : null;
+		}
+
+		void set(BeanPropertySet propertySet, int generation) {
+			value = new CachedValue(propertySet, generation);
+		}
+
+	}
+
+	/*
+	 * Cached bean property set
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final class CachedValue {
+
+		final BeanPropertySet propertySet;
+		final int generation;
+
+		CachedValue(BeanPropertySet propertySet, int generation) {
+			super();
+			this.propertySet = propertySet;
+			this.generation = generation;
+		}
+
+	}
+
 	/*
 	 * Support class
 	 */
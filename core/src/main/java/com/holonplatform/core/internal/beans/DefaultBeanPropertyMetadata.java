@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.beans;
+
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.holonplatform.core.beans.BeanMetadata.PropertyMetadata;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * Default {@link PropertyMetadata} implementation.
+ *
+ * @since 5.6.0
+ */
+public class DefaultBeanPropertyMetadata implements PropertyMetadata {
+
+	private final String name;
+	private final Class<?> type;
+	private final String readMethodName;
+	private final String writeMethodName;
+	private final Function<Object, Object> reader;
+	private final BiConsumer<Object, Object> writer;
+
+	/**
+	 * Constructor.
+	 * @param name Property name (not null)
+	 * @param type Property type (not null)
+	 * @param readMethodName The property read method name, <code>null</code> if not readable
+	 * @param writeMethodName The property write method name, <code>null</code> if not writable
+	 * @param reader The property value reader, <code>null</code> if not readable
+	 * @param writer The property value writer, <code>null</code> if not writable
+	 */
+	public DefaultBeanPropertyMetadata(String name, Class<?> type, String readMethodName, String writeMethodName,
+			Function<Object, Object> reader, BiConsumer<Object, Object> writer) {
+		super();
+		ObjectUtils.argumentNotNull(name, "Property name must be not null");
+		ObjectUtils.argumentNotNull(type, "Property type must be not null");
+		this.name = name;
+		this.type = type;
+		this.readMethodName = readMethodName;
+		this.writeMethodName = writeMethodName;
+		this.reader = reader;
+		this.writer = writer;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanMetadata.PropertyMetadata#getName()
+	 */
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanMetadata.PropertyMetadata#getType()
+	 */
+	@Override
+	public Class<?> getType() {
+		return type;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanMetadata.PropertyMetadata#getReadMethodName()
+	 */
+	@Override
+	public Optional<String> getReadMethodName() {
+		return Optional.ofNullable(readMethodName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanMetadata.PropertyMetadata#getWriteMethodName()
+	 */
+	@Override
+	public Optional<String> getWriteMethodName() {
+		return Optional.ofNullable(writeMethodName);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanMetadata.PropertyMetadata#read(java.lang.Object)
+	 */
+	@Override
+	public Object read(Object instance) {
+		if (reader == null) {
+			throw new UnsupportedOperationException("The bean property [" + name + "] is not readable");
+		}
+		return reader.apply(instance);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.beans.BeanMetadata.PropertyMetadata#write(java.lang.Object, java.lang.Object)
+	 */
+	@Override
+	public void write(Object instance, Object value) {
+		if (writer == null) {
+			throw new UnsupportedOperationException("The bean property [" + name + "] is not writable");
+		}
+		writer.accept(instance, value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "BeanPropertyMetadata [name=" + name + ", type=" + type + ", readMethodName=" + readMethodName
+				+ ", writeMethodName=" + writeMethodName + "]";
+	}
+
+}
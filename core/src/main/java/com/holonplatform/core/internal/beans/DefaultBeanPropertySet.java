@@ -29,6 +29,7 @@ import org.apache.commons.lang3.reflect.FieldUtils;
 
 import com.holonplatform.core.ParameterSet;
 import com.holonplatform.core.Path;
+import com.holonplatform.core.beans.BeanMetadata.PropertyMetadata;
 import com.holonplatform.core.beans.BeanProperty;
 import com.holonplatform.core.beans.BeanPropertySet;
 import com.holonplatform.core.exceptions.TypeMismatchException;
@@ -512,7 +513,15 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 
 		final Object value;
 
-		if (property.getReadMethod().isPresent()) {
+		final PropertyMetadata accessor = getAccessor(property);
+		if (accessor != null && accessor.getReadMethodName().isPresent()) {
+			try {
+				value = accessor.read(instance);
+			} catch (RuntimeException e) {
+				throw new PropertyReadException(property,
+						"Failed to read bean property [" + property + "] from instance [" + instance + "]", e);
+			}
+		} else if (property.getReadMethod().isPresent()) {
 			try {
 				value = property.getReadMethod().get().invoke(instance);
 
@@ -597,7 +606,18 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 	private static Object writeValue(BeanProperty<?> property, Object value, Object instance) {
 		ObjectUtils.argumentNotNull(property, CommonMessages.MSG_PROPERTY_NOT_NULL);
 
-		if (property.getWriteMethod().isPresent()) {
+		final PropertyMetadata accessor = getAccessor(property);
+		if (accessor != null && accessor.getWriteMethodName().isPresent()) {
+			try {
+				accessor.write(instance, getValueToWrite(accessor.getType(), value));
+			} catch (RuntimeException e) {
+				throw new PropertyWriteException(property,
+						"Cannot write property [" + property + "] value of type ["
+								+ ((value != null) ? value.getClass().getName() : "null") + "] on bean instance ["
+								+ instance + "]",
+						e);
+			}
+		} else if (property.getWriteMethod().isPresent()) {
 			try {
 				property.getWriteMethod().get().invoke(instance, new Object[] {
 						getValueToWrite(property.getWriteMethod().get().getParameters()[0].getType(), value) });
@@ -631,6 +651,15 @@ public class DefaultBeanPropertySet<T> extends DefaultPropertySet<PathProperty<?
 		return value;
 	}
 
+	/**
+	 * Get the compile time generated accessor of given property, if available.
+	 * @param property The bean property
+	 * @return The property accessor, <code>null</code> if not available
+	 */
+	private static PropertyMetadata getAccessor(BeanProperty<?> property) {
+		return (property instanceof AbstractBeanProperty) ? ((AbstractBeanProperty<?>) property).getAccessor() : null;
+	}
+
 	/**
 	 * Get the value to write on bean property, converting <code>null</code> values
 	 * to <code>false</code> or <code>0</code> for primitive types.
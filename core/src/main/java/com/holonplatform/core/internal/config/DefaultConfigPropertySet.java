@@ -17,15 +17,23 @@ package com.holonplatform.core.internal.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
 
+import com.holonplatform.core.Registration;
 import com.holonplatform.core.config.ConfigProperty;
 import com.holonplatform.core.config.ConfigPropertyProvider;
 import com.holonplatform.core.config.ConfigPropertySet;
@@ -34,6 +42,13 @@ import com.holonplatform.core.internal.utils.ObjectUtils;
 
 /**
  * Base {@link ConfigPropertySet} implementation.
+ * <p>
+ * The property providers are flattened into a single lookup chain of <code>(provider, key prefix)</code> pairs, one
+ * for the property set name and one for each alias name. The values resolved from
+ * {@link ConfigPropertyProvider#isCacheable()} providers are cached, and the cache is discarded when one of the
+ * providers notifies a change. Non cacheable providers (for example the {@link System} properties provider) are
+ * always queried.
+ * </p>
  * 
  * @since 5.0.0
  */
@@ -54,6 +69,26 @@ public class DefaultConfigPropertySet implements ConfigPropertySet {
 	 */
 	private final List<String> aliasNames = new LinkedList<>();
 
+	/**
+	 * Flattened property sources, in lookup order
+	 */
+	private volatile PropertySource[] sources = new PropertySource[0];
+
+	/**
+	 * Resolved property values, by property key
+	 */
+	private volatile ConcurrentMap<String, ResolvedValue> resolved = new ConcurrentHashMap<>(8, 0.75f, 2);
+
+	/**
+	 * Change listeners
+	 */
+	private final List<ChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Change listener registrations, by property provider
+	 */
+	private final Map<ConfigPropertyProvider, Registration> providerRegistrations = new IdentityHashMap<>(4);
+
 	/**
 	 * Construct a new property set
 	 * @param name Property set name (not null)
@@ -99,14 +134,54 @@ public class DefaultConfigPropertySet implements ConfigPropertySet {
 	 * Add a {@link ConfigPropertyProvider} for configuration properties resolution.
 	 * @param propertyProvider The property provider to add
 	 */
-	public void addPropertyProvider(ConfigPropertyProvider propertyProvider) {
+	public synchronized void addPropertyProvider(ConfigPropertyProvider propertyProvider) {
 		ObjectUtils.argumentNotNull(propertyProvider, "Property provider must be not null");
+		final PropertySource[] current = sources;
+		final PropertySource[] chain = Arrays.copyOf(current, current.length + 1 + aliasNames.size());
+		int index = current.length;
 		propertyProviders.add(ConfigPropertyProvider.prefixed(propertyProvider, (getName() + ".")));
+		chain[index++] = new PropertySource(propertyProvider, getName() + ".");
 		for (String alias : aliasNames) {
 			propertyProviders.add(ConfigPropertyProvider.prefixed(propertyProvider, (alias + ".")));
+			chain[index++] = new PropertySource(propertyProvider, alias + ".");
+		}
+		sources = chain;
+		resolved = new ConcurrentHashMap<>(8, 0.75f, 2);
+		if (!providerRegistrations.containsKey(propertyProvider)) {
+			final SourceChangeListener listener = new SourceChangeListener(this);
+			listener.registration = propertyProvider.addChangeListener(listener);
+			providerRegistrations.put(propertyProvider, listener.registration);
 		}
 	}
 
+	/**
+	 * Remove a {@link ConfigPropertyProvider} from the configuration properties resolution, unregistering the change
+	 * listener which was added to it by {@link #addPropertyProvider(ConfigPropertyProvider)}.
+	 * @param propertyProvider The property provider to remove
+	 * @return <code>true</code> if the property provider was removed, <code>false</code> if it was not bound to this
+	 *         property set
+	 * @since 5.6.0
+	 */
+	public synchronized boolean removePropertyProvider(ConfigPropertyProvider propertyProvider) {
+		ObjectUtils.argumentNotNull(propertyProvider, "Property provider must be not null");
+		final Registration registration = providerRegistrations.remove(propertyProvider);
+		if (registration == null) {
+			return false;
+		}
+		registration.remove();
+		final List<PropertySource> chain = new ArrayList<>(sources.length);
+		propertyProviders.clear();
+		for (PropertySource source : sources) {
+			if (source.provider != propertyProvider) {
+				chain.add(source);
+				propertyProviders.add(ConfigPropertyProvider.prefixed(source.provider, source.prefix));
+			}
+		}
+		sources = chain.toArray(new PropertySource[chain.size()]);
+		resolved = new ConcurrentHashMap<>(8, 0.75f, 2);
+		return true;
+	}
+
 	/**
 	 * Add an alias property set name to lookup if a property was not found using
 	 * primary property set name
@@ -126,8 +201,8 @@ public class DefaultConfigPropertySet implements ConfigPropertySet {
 	@Override
 	public <T> boolean hasConfigProperty(ConfigProperty<T> property) {
 		ObjectUtils.argumentNotNull(property, "Property must be not null");
-		for (ConfigPropertyProvider propertyProvider : getPropertyProviders()) {
-			if (propertyProvider.containsProperty(property.getKey())) {
+		for (PropertySource source : sources) {
+			if (source.provider.containsProperty(source.prefix + property.getKey())) {
 				return true;
 			}
 		}
@@ -141,20 +216,81 @@ public class DefaultConfigPropertySet implements ConfigPropertySet {
 	 * com.holonplatform.core.config.ConfigPropertySet#getConfigPropertyValue(com.
 	 * holonplatform.core.config. ConfigProperty)
 	 */
+	@SuppressWarnings("unchecked")
 	@Override
 	public <T> Optional<T> getConfigPropertyValue(ConfigProperty<T> property) {
 		ObjectUtils.argumentNotNull(property, "Configuration property must be not null");
 
-		T value = null;
+		ResolvedValue value = resolved.get(property.getKey());
+		if (value == null || value.type != property.getType()) {
+			value = resolve(property.getKey(), property.getType());
+		}
+
+		return Optional.ofNullable((T) value.getValue());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.config.ConfigPropertySet#addChangeListener(com.holonplatform.core.config.
+	 * ConfigPropertySet.ChangeListener)
+	 */
+	@Override
+	public Registration addChangeListener(ChangeListener listener) {
+		ObjectUtils.argumentNotNull(listener, "Listener must be not null");
+		changeListeners.add(listener);
+		return () -> changeListeners.remove(listener);
+	}
 
-		for (ConfigPropertyProvider propertyProvider : getPropertyProviders()) {
-			value = propertyProvider.getProperty(property.getKey(), property.getType());
-			if (value != null) {
-				break;
+	/**
+	 * Resolve the value of given property key using the property sources chain. The value provided by the first
+	 * cacheable source is cached, along with the non cacheable sources which precede it in the chain.
+	 * @param key Property key
+	 * @param type Property type
+	 * @return The resolved value
+	 */
+	private ResolvedValue resolve(String key, Class<?> type) {
+		final ConcurrentMap<String, ResolvedValue> values = resolved;
+		final PropertySource[] chain = sources;
+
+		final List<ConfigPropertyProvider> uncachedProviders = new ArrayList<>(2);
+		final List<String> uncachedKeys = new ArrayList<>(2);
+		Object value = null;
+		RuntimeException error = null;
+		for (PropertySource source : chain) {
+			final String sourceKey = source.prefix + key;
+			if (source.provider.isCacheable()) {
+				try {
+					value = source.provider.getProperty(sourceKey, type);
+				} catch (RuntimeException e) {
+					error = e;
+					break;
+				}
+				if (value != null) {
+					break;
+				}
+			} else {
+				uncachedProviders.add(source.provider);
+				uncachedKeys.add(sourceKey);
 			}
 		}
 
-		return Optional.ofNullable(value);
+		final ResolvedValue resolvedValue = new ResolvedValue(type, value, error,
+				uncachedProviders.toArray(new ConfigPropertyProvider[uncachedProviders.size()]),
+				uncachedKeys.toArray(new String[uncachedKeys.size()]));
+		if (error == null) {
+			values.put(key, resolvedValue);
+		}
+		return resolvedValue;
+	}
+
+	/**
+	 * Invoked when a property source notifies a change: discards the resolved values and notifies the listeners.
+	 */
+	protected void onPropertySourceChange() {
+		resolved = new ConcurrentHashMap<>(8, 0.75f, 2);
+		for (ChangeListener listener : changeListeners) {
+			listener.onChange(this);
+		}
 	}
 
 	/*
@@ -188,6 +324,88 @@ public class DefaultConfigPropertySet implements ConfigPropertySet {
 		return properties;
 	}
 
+	/**
+	 * A property provider {@link ConfigPropertyProvider.ChangeListener} which references the property set weakly, so
+	 * that a long-lived property provider does not retain the property sets it is bound to. The listener unregisters
+	 * itself when the property set is no longer referenced.
+	 */
+	private static final class SourceChangeListener implements ConfigPropertyProvider.ChangeListener {
+
+		private final WeakReference<DefaultConfigPropertySet> propertySet;
+		volatile Registration registration;
+
+		SourceChangeListener(DefaultConfigPropertySet propertySet) {
+			super();
+			this.propertySet = new WeakReference<>(propertySet);
+		}
+
+		@Override
+		public void onChange(ConfigPropertyProvider provider) {
+			final DefaultConfigPropertySet set = propertySet.get();
+			if (set != null) {
+				set.onPropertySourceChange();
+			} else {
+				final Registration r = registration;
+				if (r != null) {
+					r.remove();
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * A property provider bound to a property key prefix.
+	 */
+	private static final class PropertySource {
+
+		final ConfigPropertyProvider provider;
+		final String prefix;
+
+		PropertySource(ConfigPropertyProvider provider, String prefix) {
+			super();
+			this.provider = provider;
+			this.prefix = prefix;
+		}
+
+	}
+
+	/**
+	 * A resolved property value.
+	 */
+	private static final class ResolvedValue {
+
+		final Class<?> type;
+		private final Object value;
+		private final RuntimeException error;
+		private final ConfigPropertyProvider[] uncachedProviders;
+		private final String[] uncachedKeys;
+
+		ResolvedValue(Class<?> type, Object value, RuntimeException error, ConfigPropertyProvider[] uncachedProviders,
+				String[] uncachedKeys) {
+			super();
+			this.type = type;
+			this.value = value;
+			this.error = error;
+			this.uncachedProviders = uncachedProviders;
+			this.uncachedKeys = uncachedKeys;
+		}
+
+		Object getValue() {
+			for (int i = 0; i < uncachedProviders.length; i++) {
+				final Object uncached = uncachedProviders[i].getProperty(uncachedKeys[i], type);
+				if (uncached != null) {
+					return uncached;
+				}
+			}
+			if (error != null) {
+				throw error;
+			}
+			return value;
+		}
+
+	}
+
 	// Builder
 
 	/*
@@ -379,7 +597,7 @@ public class DefaultConfigPropertySet implements ConfigPropertySet {
 				for (Entry<ConfigProperty<?>, Object> value : values.entrySet()) {
 					properties.put(instance.getName() + "." + value.getKey().getKey(), value.getValue());
 				}
-				instance.addPropertyProvider(ConfigPropertyProvider.using(properties));
+				instance.addPropertyProvider(new MapConfigPropertyProvider(properties, true));
 			}
 
 			return (C) instance;
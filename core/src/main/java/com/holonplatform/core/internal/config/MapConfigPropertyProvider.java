@@ -19,8 +19,8 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.stream.Stream;
 
+import com.holonplatform.core.TypeConverterRegistry;
 import com.holonplatform.core.config.ConfigPropertyProvider;
-import com.holonplatform.core.internal.utils.ConversionUtils;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.internal.utils.TypeUtils;
 
@@ -36,13 +36,38 @@ public class MapConfigPropertyProvider implements ConfigPropertyProvider {
 	 */
 	private final Map<String, Object> properties;
 
+	/*
+	 * Whether the property source is never modified
+	 */
+	private final boolean cacheable;
+
 	/**
 	 * Constructor
 	 * @param properties Property source
 	 */
 	public MapConfigPropertyProvider(Map<String, Object> properties) {
+		this(properties, false);
+	}
+
+	/**
+	 * Constructor
+	 * @param properties Property source
+	 * @param cacheable Whether the given property source is never modified, so the property values can be cached
+	 * @since 5.6.0
+	 */
+	public MapConfigPropertyProvider(Map<String, Object> properties, boolean cacheable) {
 		super();
 		this.properties = (properties != null) ? properties : Collections.emptyMap();
+		this.cacheable = cacheable;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.config.ConfigPropertyProvider#isCacheable()
+	 */
+	@Override
+	public boolean isCacheable() {
+		return cacheable;
 	}
 
 	/*
@@ -69,7 +94,7 @@ public class MapConfigPropertyProvider implements ConfigPropertyProvider {
 			if (TypeUtils.isAssignable(value.getClass(), targetType)) {
 				return (T) value;
 			} else if (TypeUtils.isString(value.getClass())) {
-				return ConversionUtils.convertStringValue(value.toString(), targetType);
+				return TypeConverterRegistry.getDefault().convertString(value.toString(), targetType);
 			} else {
 				throw new IllegalArgumentException(
 						"Property " + key + " type is not consistent " + "with required type: " + targetType.getName()
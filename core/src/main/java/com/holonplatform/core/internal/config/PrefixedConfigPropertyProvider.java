@@ -17,6 +17,7 @@ package com.holonplatform.core.internal.config;
 
 import java.util.stream.Stream;
 
+import com.holonplatform.core.Registration;
 import com.holonplatform.core.config.ConfigPropertyProvider;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 
@@ -97,6 +98,26 @@ public class PrefixedConfigPropertyProvider implements ConfigPropertyProvider {
 				.map(n -> n.substring(getPrefix().length()));
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.config.ConfigPropertyProvider#isCacheable()
+	 */
+	@Override
+	public boolean isCacheable() {
+		return wrappedProvider.isCacheable();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.config.ConfigPropertyProvider#addChangeListener(com.holonplatform.core.config.
+	 * ConfigPropertyProvider.ChangeListener)
+	 */
+	@Override
+	public Registration addChangeListener(ChangeListener listener) {
+		ObjectUtils.argumentNotNull(listener, "Listener must be not null");
+		return wrappedProvider.addChangeListener(p -> listener.onChange(this));
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
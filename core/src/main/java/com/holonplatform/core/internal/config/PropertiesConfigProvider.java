@@ -19,6 +19,7 @@ import java.util.Enumeration;
 import java.util.Properties;
 import java.util.stream.Stream;
 
+import com.holonplatform.core.TypeConverterRegistry;
 import com.holonplatform.core.config.ConfigPropertyProvider;
 import com.holonplatform.core.internal.utils.ConversionUtils;
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -35,13 +36,47 @@ public class PropertiesConfigProvider implements ConfigPropertyProvider {
 	 */
 	protected final Properties properties;
 
+	/*
+	 * Whether the properties are never modified
+	 */
+	private final boolean cacheable;
+
 	/**
 	 * Constructor
 	 * @param properties Properties instance
 	 */
 	public PropertiesConfigProvider(Properties properties) {
+		this(properties, false);
+	}
+
+	/**
+	 * Constructor
+	 * @param properties Properties instance
+	 * @param cacheable Whether the given properties are never modified, so the property values can be cached
+	 * @since 5.6.0
+	 */
+	public PropertiesConfigProvider(Properties properties, boolean cacheable) {
 		super();
 		this.properties = (properties != null) ? properties : new Properties();
+		this.cacheable = cacheable;
+	}
+
+	/**
+	 * Get the current property source.
+	 * @return The properties
+	 * @since 5.6.0
+	 */
+	protected Properties getProperties() {
+		return properties;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.config.ConfigPropertyProvider#isCacheable()
+	 */
+	@Override
+	public boolean isCacheable() {
+		return cacheable;
 	}
 
 	/*
@@ -50,7 +85,7 @@ public class PropertiesConfigProvider implements ConfigPropertyProvider {
 	 */
 	@Override
 	public boolean containsProperty(String key) {
-		return properties.containsKey(key);
+		return getProperties().containsKey(key);
 	}
 
 	/*
@@ -62,9 +97,9 @@ public class PropertiesConfigProvider implements ConfigPropertyProvider {
 		ObjectUtils.argumentNotNull(key, "Property name must be not null");
 		ObjectUtils.argumentNotNull(targetType, "Property type must be not null");
 
-		String value = properties.getProperty(key);
+		String value = getProperties().getProperty(key);
 		if (value != null) {
-			return ConversionUtils.convertStringValue(value, targetType);
+			return TypeConverterRegistry.getDefault().convertString(value, targetType);
 		}
 
 		return null;
@@ -77,7 +112,7 @@ public class PropertiesConfigProvider implements ConfigPropertyProvider {
 	@SuppressWarnings("unchecked")
 	@Override
 	public Stream<String> getPropertyNames() throws UnsupportedOperationException {
-		return ConversionUtils.enumerationAsStream((Enumeration<String>) properties.propertyNames());
+		return ConversionUtils.enumerationAsStream((Enumeration<String>) getProperties().propertyNames());
 	}
 
 	/*
@@ -86,7 +121,7 @@ public class PropertiesConfigProvider implements ConfigPropertyProvider {
 	 */
 	@Override
 	public String toString() {
-		return "PropertiesConfigProvider [properties=" + properties + "]";
+		return "PropertiesConfigProvider [properties=" + getProperties() + "]";
 	}
 
 }
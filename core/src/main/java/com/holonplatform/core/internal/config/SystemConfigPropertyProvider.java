@@ -18,6 +18,7 @@ package com.holonplatform.core.internal.config;
 import java.util.Enumeration;
 import java.util.stream.Stream;
 
+import com.holonplatform.core.TypeConverterRegistry;
 import com.holonplatform.core.config.ConfigPropertyProvider;
 import com.holonplatform.core.internal.utils.ConversionUtils;
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -49,7 +50,7 @@ public class SystemConfigPropertyProvider implements ConfigPropertyProvider {
 
 		String value = System.getProperty(key);
 		if (value != null) {
-			return ConversionUtils.convertStringValue(value, targetType);
+			return TypeConverterRegistry.getDefault().convertString(value, targetType);
 		}
 		return null;
 	}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.core.config.WatchingConfigPropertyProvider;
+import com.holonplatform.core.internal.CoreLogger;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * A {@link PropertiesConfigProvider} which loads the properties from a file and watches the file for changes.
+ * <p>
+ * When the file is modified, the properties are reloaded and the registered {@link ChangeListener}s are notified. The
+ * reload is deferred until no further change events are received for {@link #DEBOUNCE_MILLIS} milliseconds, so that
+ * a file which is still being written is not read, and it is retried up to {@link #RELOAD_ATTEMPTS} times if the file
+ * cannot be read or parsed. If all the attempts fail, the previously loaded properties are retained.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class WatchingPropertiesConfigProvider extends PropertiesConfigProvider
+		implements WatchingConfigPropertyProvider {
+
+	private static final Logger LOGGER = CoreLogger.create();
+
+	/**
+	 * Quiet period to wait for after the last change event before reloading the file
+	 */
+	public static final long DEBOUNCE_MILLIS = 100L;
+
+	/**
+	 * Max reload attempts
+	 */
+	public static final int RELOAD_ATTEMPTS = 3;
+
+	/**
+	 * Properties file
+	 */
+	private final Path file;
+
+	/**
+	 * Watch service
+	 */
+	private final WatchService watchService;
+
+	/**
+	 * Change listeners
+	 */
+	private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Current properties
+	 */
+	private volatile Properties current;
+
+	/**
+	 * Constructor
+	 * @param file Properties file (not null)
+	 * @throws IOException If the file cannot be read or watched
+	 */
+	public WatchingPropertiesConfigProvider(Path file) throws IOException {
+		super(null, true);
+		ObjectUtils.argumentNotNull(file, "Properties file must be not null");
+		this.file = file.toAbsolutePath();
+		this.current = load(this.file);
+
+		final Path directory = this.file.getParent();
+		this.watchService = directory.getFileSystem().newWatchService();
+		directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+		final Thread watcher = new Thread(this::watch, "config-watcher-" + this.file.getFileName());
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.config.WatchingConfigPropertyProvider#getFile()
+	 */
+	@Override
+	public Path getFile() {
+		return file;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.config.PropertiesConfigProvider#getProperties()
+	 */
+	@Override
+	protected Properties getProperties() {
+		return current;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.config.ConfigPropertyProvider#addChangeListener(com.holonplatform.core.config.
+	 * ConfigPropertyProvider.ChangeListener)
+	 */
+	@Override
+	public Registration addChangeListener(ChangeListener listener) {
+		ObjectUtils.argumentNotNull(listener, "Listener must be not null");
+		listeners.add(listener);
+		return () -> listeners.remove(listener);
+	}
+
+	/**
+	 * Reload the properties from the file and notify the registered listeners.
+	 * @throws IOException If the file cannot be read
+	 */
+	public void reload() throws IOException {
+		update(load(file));
+	}
+
+	private void update(Properties properties) {
+		this.current = properties;
+		for (ChangeListener listener : listeners) {
+			listener.onChange(this);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.config.WatchingConfigPropertyProvider#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		watchService.close();
+	}
+
+	private void watch() {
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				boolean changed = isFileChanged(key);
+				if (!key.reset()) {
+					return;
+				}
+				if (changed) {
+					// wait until the file is no longer being written
+					while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+						isFileChanged(key);
+						if (!key.reset()) {
+							return;
+						}
+					}
+					reloadWithRetry();
+				}
+			}
+		} catch (@SuppressWarnings("unused") InterruptedException | ClosedWatchServiceException e) {
+			// stop watching
+		}
+	}
+
+	private boolean isFileChanged(WatchKey key) {
+		boolean changed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	private void reloadWithRetry() throws InterruptedException {
+		for (int attempt = 1; attempt <= RELOAD_ATTEMPTS; attempt++) {
+			final Properties properties;
+			try {
+				properties = load(file);
+			} catch (IOException | IllegalArgumentException e) {
+				if (attempt == RELOAD_ATTEMPTS) {
+					LOGGER.warn("Failed to reload properties file [" + file + "]", e);
+				} else {
+					Thread.sleep(DEBOUNCE_MILLIS);
+				}
+				continue;
+			}
+			update(properties);
+			return;
+		}
+	}
+
+	private static Properties load(Path file) throws IOException {
+		final Properties properties = new Properties();
+		try (InputStream is = Files.newInputStream(file)) {
+			properties.load(is);
+		}
+		return properties;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.config.PropertiesConfigProvider#toString()
+	 */
+	@Override
+	public String toString() {
+		return "WatchingPropertiesConfigProvider [file=" + file + "]";
+	}
+
+}
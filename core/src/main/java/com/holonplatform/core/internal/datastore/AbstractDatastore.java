@@ -45,6 +45,7 @@ import com.holonplatform.core.datastore.DatastoreCommodityFactory;
 import com.holonplatform.core.datastore.DatastoreCommodityHandler;
 import com.holonplatform.core.datastore.DatastoreCommodityRegistrar;
 import com.holonplatform.core.datastore.DatastoreExpressionResolverRegistrar;
+import com.holonplatform.core.instrumentation.Instrumentation;
 import com.holonplatform.core.internal.Logger;
 import com.holonplatform.core.internal.utils.ClassUtils;
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -75,6 +76,11 @@ public abstract class AbstractDatastore<X extends DatastoreCommodityContext>
 	 */
 	private boolean traceEnabled = false;
 
+	/*
+	 * Operations instrumentation
+	 */
+	private Instrumentation instrumentation;
+
 	/*
 	 * Expression resolvers
 	 */
@@ -265,6 +271,26 @@ public abstract class AbstractDatastore<X extends DatastoreCommodityContext>
 		LOGGER.debug(() -> "Datastore [" + this + "]: setted trace enabled [" + trace + "]");
 	}
 
+	/**
+	 * Get the {@link Instrumentation} notified of the Datastore operations, if configured.
+	 * @return Optional operations instrumentation
+	 * @since 5.6.0
+	 */
+	public Optional<Instrumentation> getInstrumentation() {
+		return Optional.ofNullable(instrumentation);
+	}
+
+	/**
+	 * Set the {@link Instrumentation} to notify of the Datastore operations, i.e. of the <code>execute()</code> and
+	 * query results methods of the commodities created by this Datastore.
+	 * @param instrumentation The operations instrumentation, <code>null</code> to disable the instrumentation
+	 * @since 5.6.0
+	 */
+	public void setInstrumentation(Instrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+		LOGGER.debug(() -> "Datastore [" + this + "]: setted instrumentation [" + instrumentation + "]");
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see
@@ -360,6 +386,9 @@ public abstract class AbstractDatastore<X extends DatastoreCommodityContext>
 			throw new CommodityConfigurationException("The commodity factory [" + factory.getClass().getName()
 					+ "] returned null for commodity type [" + commodityType.getName() + "]");
 		}
+		if (instrumentation != null) {
+			return InstrumentedCommodity.create(commodityType, commodity, instrumentation);
+		}
 		return commodity;
 	}
 
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.datastore;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.DatastoreCommodity;
+import com.holonplatform.core.datastore.operation.commons.DatastoreOperation;
+import com.holonplatform.core.instrumentation.Instrumentation;
+import com.holonplatform.core.instrumentation.Instrumentation.Observation;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.QueryBuilder;
+import com.holonplatform.core.query.QueryProjectionOperations;
+
+/**
+ * {@link InvocationHandler} which notifies an {@link Instrumentation} of the executions of a {@link DatastoreCommodity}.
+ * <p>
+ * The instrumented methods are the operations <code>execute()</code> methods and the query results methods. The
+ * operation name is the commodity type simple name, followed by the method name for the query results methods, while
+ * the operation target is the data target name. The transferred amount is the number of affected rows for the
+ * {@link OperationResult}s and the number of returned rows for the query results.
+ * </p>
+ * <p>
+ * A {@link Stream} result is observed while it is consumed: the rows are counted as they are read and the operation
+ * completion is notified when the stream is closed, or as a failure if the stream consumption throws an exception.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public final class InstrumentedCommodity implements InvocationHandler {
+
+	private final Class<?> commodityType;
+	private final Object commodity;
+	private final Instrumentation instrumentation;
+
+	private InstrumentedCommodity(Class<?> commodityType, Object commodity, Instrumentation instrumentation) {
+		super();
+		this.commodityType = commodityType;
+		this.commodity = commodity;
+		this.instrumentation = instrumentation;
+	}
+
+	/**
+	 * Wrap given commodity to notify given {@link Instrumentation} of its executions.
+	 * @param <C> Commodity type
+	 * @param commodityType The commodity type
+	 * @param commodity The commodity to wrap
+	 * @param instrumentation The instrumentation to notify
+	 * @return The instrumented commodity, or given commodity if the commodity type is not an interface
+	 */
+	public static <C extends DatastoreCommodity> C create(Class<C> commodityType, C commodity,
+			Instrumentation instrumentation) {
+		if (!commodityType.isInterface()) {
+			return commodity;
+		}
+		return commodityType.cast(Proxy.newProxyInstance(commodityType.getClassLoader(),
+				new Class<?>[] { commodityType }, new InstrumentedCommodity(commodityType, commodity, instrumentation)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method,
+	 * java.lang.Object[])
+	 */
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (method.getDeclaringClass() == Object.class) {
+			if ("equals".equals(method.getName())) {
+				return proxy == args[0];
+			}
+			if ("hashCode".equals(method.getName())) {
+				return System.identityHashCode(proxy);
+			}
+			return invoke(method, args);
+		}
+		if (!isInstrumented(method)) {
+			final Object result = invoke(method, args);
+			// keep the proxy for chained builder methods
+			return (result == commodity) ? proxy : result;
+		}
+		final Observation observation = instrumentation.start(Instrumentation.DATASTORE, getOperation(method),
+				getTarget());
+		final Object result;
+		try {
+			result = invoke(method, args);
+		} catch (Throwable e) {
+			observation.failure(e);
+			throw e;
+		}
+		if (result instanceof CompletionStage) {
+			return ((CompletionStage<?>) result).handle((r, e) -> {
+				if (e != null) {
+					observation.failure(e);
+					throw (e instanceof CompletionException) ? (CompletionException) e : new CompletionException(e);
+				}
+				return complete(observation, r);
+			});
+		}
+		return complete(observation, result);
+	}
+
+	private Object invoke(Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(commodity, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static boolean isInstrumented(Method method) {
+		if ("execute".equals(method.getName()) && method.getParameterCount() == 0) {
+			return true;
+		}
+		final Class<?> declaringClass = method.getDeclaringClass();
+		return QueryProjectionOperations.class.isAssignableFrom(declaringClass)
+				&& !QueryBuilder.class.isAssignableFrom(declaringClass);
+	}
+
+	private String getOperation(Method method) {
+		final String name = commodityType.getSimpleName();
+		return "execute".equals(method.getName()) ? name : name + "." + method.getName();
+	}
+
+	private String getTarget() {
+		try {
+			DataTarget<?> target = null;
+			if (commodity instanceof DatastoreOperation) {
+				target = ((DatastoreOperation<?, ?>) commodity).getConfiguration().getTarget();
+			} else if (commodity instanceof QueryBuilder) {
+				target = ((QueryBuilder<?>) commodity).getQueryConfiguration().getTarget().orElse(null);
+			}
+			return (target != null && target.getName() != null) ? target.getName() : "";
+		} catch (@SuppressWarnings("unused") RuntimeException e) {
+			return "";
+		}
+	}
+
+	private static Object complete(Observation observation, Object result) {
+		Object value = result;
+		if (result instanceof OperationResult) {
+			observation.transferred(((OperationResult) result).getAffectedCount());
+		} else if (result instanceof Collection) {
+			observation.transferred(((Collection<?>) result).size());
+		} else if (result instanceof Optional) {
+			observation.transferred(((Optional<?>) result).isPresent() ? 1 : 0);
+		} else if (result instanceof PropertyBox) {
+			observation.transferred(1);
+		} else if (result instanceof Stream) {
+			// completed when closed
+			return observe(observation, (Stream<?>) result);
+		}
+		observation.success();
+		return value;
+	}
+
+	/**
+	 * Wrap given stream to count the rows while they are consumed and to notify the observation when the stream is
+	 * closed.
+	 * @param <T> Stream elements type
+	 * @param observation The observation
+	 * @param stream The stream to observe
+	 * @return The observed stream
+	 */
+	private static <T> Stream<T> observe(Observation observation, Stream<T> stream) {
+		final ObservedStream completion = new ObservedStream(observation);
+		return StreamSupport.stream(new ObservedSpliterator<>(stream.spliterator(), completion), stream.isParallel())
+				.onClose(() -> {
+					try {
+						stream.close();
+					} catch (RuntimeException e) {
+						completion.failure(e);
+						throw e;
+					}
+					completion.success();
+				});
+	}
+
+	/**
+	 * The completion state of an observed {@link Stream}, which notifies the observation only once.
+	 */
+	private static final class ObservedStream {
+
+		final Observation observation;
+		private final AtomicBoolean completed = new AtomicBoolean(false);
+
+		ObservedStream(Observation observation) {
+			super();
+			this.observation = observation;
+		}
+
+		void success() {
+			if (completed.compareAndSet(false, true)) {
+				observation.success();
+			}
+		}
+
+		void failure(Throwable error) {
+			if (completed.compareAndSet(false, true)) {
+				observation.failure(error);
+			}
+		}
+
+	}
+
+	/**
+	 * A {@link Spliterator} which counts the consumed elements and notifies the consumption failures.
+	 * @param <T> Elements type
+	 */
+	private static final class ObservedSpliterator<T> implements Spliterator<T> {
+
+		private final Spliterator<T> spliterator;
+		private final ObservedStream completion;
+
+		ObservedSpliterator(Spliterator<T> spliterator, ObservedStream completion) {
+			super();
+			this.spliterator = spliterator;
+			this.completion = completion;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			try {
+				return spliterator.tryAdvance(e -> {
+					completion.observation.transferred(1);
+					action.accept(e);
+				});
+			} catch (RuntimeException | Error e) {
+				completion.failure(e);
+				throw e;
+			}
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			try {
+				spliterator.forEachRemaining(e -> {
+					completion.observation.transferred(1);
+					action.accept(e);
+				});
+			} catch (RuntimeException | Error e) {
+				completion.failure(e);
+				throw e;
+			}
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			final Spliterator<T> split = spliterator.trySplit();
+			return (split != null) ? new ObservedSpliterator<>(split, completion) : null;
+		}
+
+		@Override
+		public long estimateSize() {
+			return spliterator.estimateSize();
+		}
+
+		@Override
+		public int characteristics() {
+			// not sized, so that operations like count() do not skip the elements traversal
+			return spliterator.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+		}
+
+		@Override
+		public Comparator<? super T> getComparator() {
+			return spliterator.getComparator();
+		}
+
+	}
+
+}
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import com.holonplatform.core.ConstantConverterExpression;
 import com.holonplatform.core.Expression;
@@ -36,6 +37,7 @@ import com.holonplatform.core.internal.DefaultParameterSet;
 import com.holonplatform.core.internal.MutableParameterSet;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.property.PathPropertyBoxAdapter;
+import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.PropertyBox;
 
 /**
@@ -194,24 +196,40 @@ public abstract class AbstractDatastoreOperationDefinition implements DatastoreO
 	 * @param includeNullValues Whether to set <code>null</code> property box values to the <code>null</code> value
 	 * @return Values map
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	protected Map<Path<?>, TypedExpression<?>> asPathValues(PropertyBox value, boolean includeNullValues) {
+		return asPathValues(value, includeNullValues, property -> true);
+	}
+
+	/**
+	 * Get given {@link PropertyBox} as a map of {@link Path} and {@link TypedExpression} values, including only the
+	 * properties which match given filter.
+	 * @param value The property box value (not null)
+	 * @param includeNullValues Whether to set <code>null</code> property box values to the <code>null</code> value
+	 * @param filter The property filter (not null)
+	 * @return Values map
+	 * @since 5.6.0
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	protected Map<Path<?>, TypedExpression<?>> asPathValues(PropertyBox value, boolean includeNullValues,
+			Predicate<Property<?>> filter) {
 		ObjectUtils.argumentNotNull(value, "PropertyBox must be not null");
+		ObjectUtils.argumentNotNull(filter, "Property filter must be not null");
 
 		final Map<Path<?>, TypedExpression<?>> values = new HashMap<>(value.size());
 
 		final PathPropertyBoxAdapter propertyBoxAdapter = PathPropertyBoxAdapter.create(value);
 
-		propertyBoxAdapter.paths().forEach(path -> {
-			propertyBoxAdapter.getValueOrElse(path, pathWithNoValue -> {
-				if (includeNullValues) {
-					values.put(path, NullExpression.create(path));
-				}
-			}).ifPresent(val -> {
-				values.put(path, (val instanceof TypedExpression) ? (TypedExpression<?>) val
-						: ConstantConverterExpression.create((Path) path, val));
-			});
-		});
+		propertyBoxAdapter.propertyPaths().filter(pp -> filter.test(pp.getProperty())).map(pp -> pp.getPath())
+				.forEach(path -> {
+					propertyBoxAdapter.getValueOrElse(path, pathWithNoValue -> {
+						if (includeNullValues) {
+							values.put(path, NullExpression.create(path));
+						}
+					}).ifPresent(val -> {
+						values.put(path, (val instanceof TypedExpression) ? (TypedExpression<?>) val
+								: ConstantConverterExpression.create((Path) path, val));
+					});
+				});
 
 		return values;
 	}
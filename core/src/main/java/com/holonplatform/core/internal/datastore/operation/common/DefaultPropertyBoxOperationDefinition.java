@@ -16,10 +16,13 @@
 package com.holonplatform.core.internal.datastore.operation.common;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import com.holonplatform.core.Path;
 import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.PropertyBox;
 
 /**
@@ -64,6 +67,28 @@ public class DefaultPropertyBoxOperationDefinition extends AbstractDatastoreOper
 		return Collections.emptyMap();
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.datastore.operation.commons.PropertyBoxOperationConfiguration#getDirtyValueExpressions(
+	 * boolean)
+	 */
+	@Override
+	public Map<Path<?>, TypedExpression<?>> getDirtyValueExpressions(boolean includeNullValues) {
+		final PropertyBox box = getValue();
+		if (box == null) {
+			return Collections.emptyMap();
+		}
+		if (!box.isTrackingChanges()) {
+			return asPathValues(box, includeNullValues);
+		}
+		if (!box.isDirty()) {
+			return Collections.emptyMap();
+		}
+		final Set<Property<?>> dirty = new HashSet<>(box.getDirtyProperties());
+		return asPathValues(box, includeNullValues, dirty::contains);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.internal.datastore.operation.AbstractDatastoreOperationDefinition#validate()
@@ -15,33 +15,34 @@
  */
 package com.holonplatform.core.internal.i18n;
 
+import java.io.IOException;
 import java.text.DateFormat;
 import java.text.NumberFormat;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.Temporal;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.holonplatform.core.Registration;
 import com.holonplatform.core.i18n.Localizable;
 import com.holonplatform.core.i18n.Localizable.LocalizationException;
 import com.holonplatform.core.i18n.Localization;
 import com.holonplatform.core.i18n.LocalizationContext;
+import com.holonplatform.core.i18n.LocalizationSnapshot;
 import com.holonplatform.core.i18n.MessageProvider;
 import com.holonplatform.core.i18n.MessageResolver;
 import com.holonplatform.core.i18n.NumberFormatFeature;
 import com.holonplatform.core.i18n.TemporalFormat;
 import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.i18n.LocalizationFormats.NumberKind;
 import com.holonplatform.core.internal.utils.FormatUtils;
+import com.holonplatform.core.internal.utils.MessageTemplate;
 import com.holonplatform.core.internal.utils.ObjectUtils;
-import com.holonplatform.core.internal.utils.TypeUtils;
 import com.holonplatform.core.temporal.TemporalType;
 
 /**
@@ -57,6 +58,12 @@ import com.holonplatform.core.temporal.TemporalType;
  * be provided using {@link #addMessageProvider(MessageProvider)}.
  * </p>
  * 
+ * <p>
+ * The {@link LocalizationSnapshot}s obtained through {@link #snapshot(Locale)}
+ * are cached by Locale, and the cache is invalidated each time the context
+ * configuration changes.
+ * </p>
+ * 
  * @since 5.0.0
  */
 public class DefaultLocalizationContext implements LocalizationContext, MessageResolver {
@@ -98,34 +105,45 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	private TemporalFormat defaultTimeFormatStyle;
 
 	/**
-	 * Default boolean localization
+	 * Default boolean localizations
 	 */
-	private transient Map<Boolean, Localizable> defaultBooleanLocalizations;
+	private transient volatile Localizable defaultTrueLocalization;
+	private transient volatile Localizable defaultFalseLocalization;
 
 	/**
 	 * Message providers
 	 */
-	private List<MessageProvider> messageProviders = new LinkedList<>();
+	private List<MessageProvider> messageProviders = new CopyOnWriteArrayList<>();
 
 	/**
 	 * {@link LocalizationChangeListener}s
 	 */
-	private List<LocalizationChangeListener> localizationChangeListeners = new LinkedList<>();
+	private List<LocalizationChangeListener> localizationChangeListeners = new CopyOnWriteArrayList<>();
 
 	/**
 	 * {@link MissingMessageLocalizationListener}s
 	 */
-	private List<MissingMessageLocalizationListener> missingMessageLocalizationListeners = new LinkedList<>();
+	private List<MissingMessageLocalizationListener> missingMessageLocalizationListeners = new CopyOnWriteArrayList<>();
 
 	/**
 	 * Message arguments placeholder
 	 */
-	private String messageArgumentsPlaceholder = MessageProvider.DEFAULT_MESSAGE_ARGUMENT_PLACEHOLDER;
+	private volatile String messageArgumentsPlaceholder = MessageProvider.DEFAULT_MESSAGE_ARGUMENT_PLACEHOLDER;
 
 	/**
 	 * Current Localization
 	 */
-	private Localization localization;
+	private volatile Localization localization;
+
+	/**
+	 * Localization snapshots, replaced when the context configuration changes
+	 */
+	private transient volatile SnapshotCache snapshots;
+
+	/**
+	 * Parsed message templates, by Locale
+	 */
+	private transient volatile ConcurrentMap<Locale, MessageTemplateCache> messageTemplates;
 
 	/**
 	 * Default constructor
@@ -224,6 +242,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	 */
 	public void addMessageProvider(MessageProvider messageProvider) {
 		this.messageProviders.add(messageProvider);
+		invalidateSnapshots();
 	}
 
 	/**
@@ -241,6 +260,8 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	 */
 	public void setMessageArgumentsPlaceholder(String messageArgumentsPlaceholder) {
 		this.messageArgumentsPlaceholder = messageArgumentsPlaceholder;
+		this.messageTemplates = null;
+		invalidateSnapshots();
 	}
 
 	/**
@@ -250,6 +271,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	public void addMissingMessageLocalizationListener(MissingMessageLocalizationListener listener) {
 		ObjectUtils.argumentNotNull(listener, "The MissingMessageLocalizationListener must be not null");
 		missingMessageLocalizationListeners.add(listener);
+		invalidateSnapshots();
 	}
 
 	/**
@@ -336,10 +358,12 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	@Override
 	public void setDefaultBooleanLocalization(boolean value, Localizable message) {
 		ObjectUtils.argumentNotNull(message, "Localizable message must be not null");
-		if (defaultBooleanLocalizations == null) {
-			defaultBooleanLocalizations = new HashMap<>(2);
+		if (value) {
+			defaultTrueLocalization = message;
+		} else {
+			defaultFalseLocalization = message;
 		}
-		defaultBooleanLocalizations.put(Boolean.valueOf(value), message);
+		invalidateSnapshots();
 	}
 
 	/*
@@ -351,10 +375,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	 */
 	@Override
 	public Optional<Localizable> getDefaultBooleanLocalization(boolean value) {
-		if (defaultBooleanLocalizations != null) {
-			return Optional.ofNullable(defaultBooleanLocalizations.get(Boolean.valueOf(value)));
-		}
-		return Optional.empty();
+		return Optional.ofNullable(value ? defaultTrueLocalization : defaultFalseLocalization);
 	}
 
 	/*
@@ -377,48 +398,9 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	@Override
 	public String format(Number number, int decimalPositions, NumberFormatFeature... features) {
 		if (number != null) {
-
-			int decimals = decimalPositions;
-			if (decimals < 0) {
-				// use default, if any
-				if (getLocalization() != null) {
-					decimals = getLocalization().getDefaultDecimalPositions().orElse(-1);
-				}
-			}
-
-			NumberFormat format = null;
-
-			if (NumberFormatFeature.hasFeature(NumberFormatFeature.PERCENT_STYLE, features)) {
-				format = NumberFormat.getPercentInstance(checkLocalized());
-
-				if (NumberFormatFeature.hasFeature(NumberFormatFeature.HIDE_DECIMALS_WHEN_ALL_ZERO, features)
-						&& !FormatUtils.hasDecimals(number.doubleValue())) {
-					format.setMaximumFractionDigits(0);
-				} else if (decimals > -1) {
-					format.setMinimumFractionDigits(decimals);
-					format.setMaximumFractionDigits(decimals);
-				}
-
-			} else if (TypeUtils.isDecimalNumber(number.getClass())) {
-				format = NumberFormat.getInstance(checkLocalized());
-
-				if (NumberFormatFeature.hasFeature(NumberFormatFeature.HIDE_DECIMALS_WHEN_ALL_ZERO, features)
-						&& !FormatUtils.hasDecimals(number.doubleValue())) {
-					format.setMaximumFractionDigits(0);
-				} else if (decimals > -1) {
-					format.setMinimumFractionDigits(decimals);
-					format.setMaximumFractionDigits(decimals);
-				}
-
-			} else {
-				format = NumberFormat.getIntegerInstance(checkLocalized());
-			}
-
-			if (NumberFormatFeature.hasFeature(NumberFormatFeature.DISABLE_GROUPING, features)) {
-				format.setGroupingUsed(false);
-			}
-
-			return format.format(number);
+			final NumberKind kind = NumberKind.of(number.getClass(), features);
+			return LocalizationFormats.format(kind.create(checkLocalized()), kind, number,
+					LocalizationFormats.getDecimalPositions(decimalPositions, getLocalization()), features);
 		}
 		return null;
 	}
@@ -433,31 +415,9 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	@Override
 	public NumberFormat getNumberFormat(Class<? extends Number> numberType, int decimalPositions,
 			boolean disableGrouping) {
-
-		int decimals = decimalPositions;
-		if (decimals < 0) {
-			// use default, if any
-			if (getLocalization() != null) {
-				decimals = getLocalization().getDefaultDecimalPositions().orElse(-1);
-			}
-		}
-
-		NumberFormat format = null;
-
-		if (TypeUtils.isDecimalNumber(numberType)) {
-			format = NumberFormat.getInstance(checkLocalized());
-			if (decimals > -1) {
-				format.setMinimumFractionDigits(decimals);
-				format.setMaximumFractionDigits(decimals);
-			}
-		} else {
-			format = NumberFormat.getIntegerInstance(checkLocalized());
-		}
-
-		if (disableGrouping) {
-			format.setGroupingUsed(false);
-		}
-		return format;
+		final NumberKind kind = NumberKind.of(numberType);
+		return LocalizationFormats.configure(kind.create(checkLocalized()), kind,
+				LocalizationFormats.getDecimalPositions(decimalPositions, getLocalization()), disableGrouping);
 	}
 
 	/*
@@ -470,6 +430,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	@Override
 	public void setDefaultDateFormatStyle(TemporalFormat format) {
 		this.defaultDateFormatStyle = format;
+		invalidateSnapshots();
 	}
 
 	/*
@@ -482,6 +443,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 	@Override
 	public void setDefaultTimeFormatStyle(TemporalFormat format) {
 		this.defaultTimeFormatStyle = format;
+		invalidateSnapshots();
 	}
 
 	/**
@@ -532,15 +494,10 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 			throw new LocalizationException("Context is not localized");
 		}
 
-		TemporalFormat df = (dateFormat != null) ? dateFormat : TemporalFormat.DEFAULT;
-		TemporalFormat tf = (timeFormat != null) ? timeFormat : TemporalFormat.DEFAULT;
-
-		if (df == TemporalFormat.DEFAULT) {
-			df = lzn.getDefaultDateTemporalFormat().orElse(getDefaultDateFormatStyle().orElse(TemporalFormat.SHORT));
-		}
-		if (tf == TemporalFormat.DEFAULT) {
-			tf = lzn.getDefaultTimeTemporalFormat().orElse(getDefaultTimeFormatStyle().orElse(TemporalFormat.SHORT));
-		}
+		final TemporalFormat df = LocalizationFormats.resolve(dateFormat,
+				lzn.getDefaultDateTemporalFormat().orElse(null), getDefaultDateFormatStyle().orElse(null));
+		final TemporalFormat tf = LocalizationFormats.resolve(timeFormat,
+				lzn.getDefaultTimeTemporalFormat().orElse(null), getDefaultTimeFormatStyle().orElse(null));
 
 		DateFormat formatter;
 
@@ -549,7 +506,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 			if (isUseDateTimeFormatsCache() && timeFormatCache.containsKey(tf)) {
 				formatter = timeFormatCache.get(tf);
 			} else {
-				formatter = DateFormat.getTimeInstance(tf.getTimeStyle(), checkLocalized());
+				formatter = LocalizationFormats.createDateFormat(TemporalType.TIME, df, tf, checkLocalized());
 				if (isUseDateTimeFormatsCache()) {
 					timeFormatCache.put(tf, formatter);
 				}
@@ -561,7 +518,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 			if (isUseDateTimeFormatsCache() && dateTimeFormatCache.containsKey(dtf)) {
 				formatter = dateTimeFormatCache.get(dtf);
 			} else {
-				formatter = DateFormat.getDateTimeInstance(df.getDateStyle(), tf.getTimeStyle(), checkLocalized());
+				formatter = LocalizationFormats.createDateFormat(TemporalType.DATE_TIME, df, tf, checkLocalized());
 				if (isUseDateTimeFormatsCache()) {
 					dateTimeFormatCache.put(dtf, formatter);
 				}
@@ -573,7 +530,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 			if (isUseDateTimeFormatsCache() && dateFormatCache.containsKey(df)) {
 				formatter = dateFormatCache.get(df);
 			} else {
-				formatter = DateFormat.getDateInstance(df.getDateStyle(), checkLocalized());
+				formatter = LocalizationFormats.createDateFormat(TemporalType.DATE, df, tf, checkLocalized());
 				if (isUseDateTimeFormatsCache()) {
 					dateFormatCache.put(df, formatter);
 				}
@@ -620,15 +577,10 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 			throw new LocalizationException("Context is not localized");
 		}
 
-		TemporalFormat df = (dateFormat != null) ? dateFormat : TemporalFormat.DEFAULT;
-		TemporalFormat tf = (timeFormat != null) ? timeFormat : TemporalFormat.DEFAULT;
-
-		if (df == TemporalFormat.DEFAULT) {
-			df = lzn.getDefaultDateTemporalFormat().orElse(getDefaultDateFormatStyle().orElse(TemporalFormat.SHORT));
-		}
-		if (tf == TemporalFormat.DEFAULT) {
-			tf = lzn.getDefaultTimeTemporalFormat().orElse(getDefaultTimeFormatStyle().orElse(TemporalFormat.SHORT));
-		}
+		final TemporalFormat df = LocalizationFormats.resolve(dateFormat,
+				lzn.getDefaultDateTemporalFormat().orElse(null), getDefaultDateFormatStyle().orElse(null));
+		final TemporalFormat tf = LocalizationFormats.resolve(timeFormat,
+				lzn.getDefaultTimeTemporalFormat().orElse(null), getDefaultTimeFormatStyle().orElse(null));
 
 		DateTimeFormatter formatter;
 
@@ -639,7 +591,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 			if (isUseDateTimeFormatsCache() && timeFormatterCache.containsKey(tf)) {
 				formatter = timeFormatterCache.get(tf);
 			} else {
-				formatter = DateTimeFormatter.ofLocalizedTime(tf.getTimeFormatStyle()).withLocale(checkLocalized());
+				formatter = LocalizationFormats.createDateTimeFormatter(TemporalType.TIME, df, tf, checkLocalized());
 				if (isUseDateTimeFormatsCache()) {
 					timeFormatterCache.put(tf, formatter);
 				}
@@ -651,8 +603,8 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 			if (isUseDateTimeFormatsCache() && dateTimeFormatterCache.containsKey(dtf)) {
 				formatter = dateTimeFormatterCache.get(dtf);
 			} else {
-				formatter = DateTimeFormatter.ofLocalizedDateTime(df.getDateFormatStyle(), tf.getTimeFormatStyle())
-						.withLocale(checkLocalized());
+				formatter = LocalizationFormats.createDateTimeFormatter(TemporalType.DATE_TIME, df, tf,
+						checkLocalized());
 				if (isUseDateTimeFormatsCache()) {
 					dateTimeFormatterCache.put(dtf, formatter);
 				}
@@ -664,7 +616,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 			if (isUseDateTimeFormatsCache() && dateFormatterCache.containsKey(df)) {
 				formatter = dateFormatterCache.get(df);
 			} else {
-				formatter = DateTimeFormatter.ofLocalizedDate(df.getDateFormatStyle()).withLocale(checkLocalized());
+				formatter = LocalizationFormats.createDateTimeFormatter(TemporalType.DATE, df, tf, checkLocalized());
 				if (isUseDateTimeFormatsCache()) {
 					dateFormatterCache.put(df, formatter);
 				}
@@ -675,7 +627,156 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 		return formatter;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see com.holonplatform.core.i18n.LocalizationContext#snapshot()
+	 */
+	@Override
+	public LocalizationSnapshot snapshot() {
+		final Localization lzn = getLocalization();
+		if (lzn == null) {
+			throw new LocalizationException("Context is not localized");
+		}
+		final SnapshotCache cache = getSnapshotCache();
+		LocalizationSnapshot snapshot = cache.current;
+		if (snapshot == null || snapshot.getLocalization() != lzn) {
+			snapshot = createSnapshot(lzn);
+			cache.current = snapshot;
+		}
+		return snapshot;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.holonplatform.core.i18n.LocalizationContext#snapshot(java.util.Locale)
+	 */
+	@Override
+	public LocalizationSnapshot snapshot(Locale locale) {
+		ObjectUtils.argumentNotNull(locale, "Locale must be not null");
+		return getSnapshotCache().locales.computeIfAbsent(locale,
+				l -> createSnapshot(Localization.builder(l).build()));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.holonplatform.core.i18n.LocalizationContext#snapshot(com.holonplatform.
+	 * core.i18n.Localization)
+	 */
+	@Override
+	public LocalizationSnapshot snapshot(Localization localization) {
+		ObjectUtils.argumentNotNull(localization, "Localization must be not null");
+		if (localization == getLocalization()) {
+			return snapshot();
+		}
+		return createSnapshot(localization);
+	}
+
+	/**
+	 * Create a new {@link LocalizationSnapshot} for given localization, using the
+	 * current context configuration.
+	 * @param localization The snapshot localization
+	 * @return A new {@link LocalizationSnapshot}
+	 */
+	protected LocalizationSnapshot createSnapshot(Localization localization) {
+		if (localization.getLocale() == null) {
+			throw new LocalizationException("Invalid Localization: missing Locale");
+		}
+		return new DefaultLocalizationSnapshot(localization, messageProviders, messageArgumentsPlaceholder,
+				defaultDateFormatStyle, defaultTimeFormatStyle, defaultTrueLocalization, defaultFalseLocalization,
+				missingMessageLocalizationListeners);
+	}
+
+	/**
+	 * Discard any cached {@link LocalizationSnapshot}.
+	 */
+	protected void invalidateSnapshots() {
+		snapshots = null;
+	}
+
+	private SnapshotCache getSnapshotCache() {
+		SnapshotCache cache = snapshots;
+		if (cache == null) {
+			cache = new SnapshotCache();
+			snapshots = cache;
+		}
+		return cache;
+	}
+
+	/**
+	 * Get the localized message for given code, replacing any message argument
+	 * placeholder with given arguments.
+	 * @param locale         Locale for which to obtain the message localization
+	 * @param code           Message code
+	 * @param defaultMessage Default message to use if the message is not found
+	 * @param arguments      Message arguments
+	 * @return The localized message, or <code>null</code> if not found and no
+	 *         default message was provided
+	 */
 	protected String getMessageUsingProviders(Locale locale, String code, String defaultMessage, Object... arguments) {
+		final String message = findMessage(locale, code, defaultMessage);
+		if (message == null || arguments == null || arguments.length == 0 || messageArgumentsPlaceholder == null) {
+			return message;
+		}
+		return getMessageTemplate(locale, code, message).format(arguments);
+	}
+
+	/**
+	 * Append the localized message for given code to given target, replacing any
+	 * message argument placeholder with given arguments.
+	 * @param target         The target appendable
+	 * @param locale         Locale for which to obtain the message localization
+	 * @param code           Message code
+	 * @param defaultMessage Default message to use if the message is not found
+	 * @param arguments      Message arguments
+	 * @throws IOException If an I/O error occurs
+	 */
+	protected void appendMessageUsingProviders(Appendable target, Locale locale, String code, String defaultMessage,
+			Object... arguments) throws IOException {
+		final String message = findMessage(locale, code, defaultMessage);
+		if (message != null) {
+			if (arguments == null || arguments.length == 0 || messageArgumentsPlaceholder == null) {
+				target.append(message);
+			} else {
+				getMessageTemplate(locale, code, message).appendTo(target, arguments);
+			}
+		}
+	}
+
+	/**
+	 * Get the parsed {@link MessageTemplate} of given message, using the message
+	 * templates cache.
+	 * @param locale  Message Locale
+	 * @param code    Message code
+	 * @param message The message resolved for the code
+	 * @return The message template
+	 */
+	protected MessageTemplate getMessageTemplate(Locale locale, String code, String message) {
+		ConcurrentMap<Locale, MessageTemplateCache> templates = messageTemplates;
+		if (templates == null) {
+			templates = new ConcurrentHashMap<>(4, 0.9f, 1);
+			messageTemplates = templates;
+		}
+		MessageTemplateCache cache = templates.get(locale);
+		if (cache == null) {
+			cache = templates.computeIfAbsent(locale, l -> new MessageTemplateCache());
+		}
+		return cache.get(code, messageArgumentsPlaceholder, message);
+	}
+
+	/**
+	 * Find the message for given code using the message providers, firing the
+	 * missing message listeners if not found.
+	 * @param locale         Locale for which to obtain the message localization
+	 * @param code           Message code
+	 * @param defaultMessage Default message
+	 * @return The message, or the default message if not found
+	 */
+	private String findMessage(Locale locale, String code, String defaultMessage) {
 		ObjectUtils.argumentNotNull(locale, "Locale must be not null");
 		ObjectUtils.argumentNotNull(code, "Message code must be not null");
 
@@ -689,7 +790,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 				LOGGER.debug(() -> "DefaultLocalizationContext: message with code [" + code + "] for Locale [" + locale
 						+ "] found from provider [" + provider + "]: [" + value.get() + "]");
 
-				return resolveMessageArguments(value.get(), arguments);
+				return value.get();
 			}
 		}
 
@@ -699,10 +800,7 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 		// fire listeners
 		fireMissingMessageLocalizationListeners(code, defaultMessage);
 
-		if (defaultMessage != null) {
-			return resolveMessageArguments(defaultMessage, arguments);
-		}
-		return null;
+		return defaultMessage;
 	}
 
 	/*
@@ -764,6 +862,43 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 		return resolveMessageArguments(localizable.getMessage(), localizable.getMessageArguments());
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * com.holonplatform.core.i18n.LocalizationContext#appendMessage(java.lang.
+	 * Appendable, com.holonplatform.core.i18n.Localizable, boolean)
+	 */
+	@Override
+	public void appendMessage(Appendable target, Localizable localizable, boolean lenient) {
+		ObjectUtils.argumentNotNull(target, "Target must be not null");
+		ObjectUtils.argumentNotNull(localizable, "Localizable must not be null");
+		try {
+			if (isLocalized()) {
+				if (localizable.getMessageCode() != null) {
+					appendMessageUsingProviders(target, checkLocalized(), localizable.getMessageCode(),
+							localizable.getMessage(), localizable.getMessageArguments());
+					return;
+				}
+			} else {
+				if (!lenient) {
+					throw new LocalizationException("LocalizationContext is not localized");
+				}
+			}
+			final String message = localizable.getMessage();
+			if (message != null) {
+				final Object[] arguments = localizable.getMessageArguments();
+				if (arguments == null || arguments.length == 0 || messageArgumentsPlaceholder == null) {
+					target.append(message);
+				} else {
+					MessageTemplate.get(messageArgumentsPlaceholder, message).appendTo(target, arguments);
+				}
+			}
+		} catch (IOException e) {
+			throw new LocalizationException("Failed to append the localized message", e);
+		}
+	}
+
 	/**
 	 * Check the LocalizationContext is localized and return current {@link Locale}.
 	 * If LocalizationContext is not localized, an {@link LocalizationException} is
@@ -824,6 +959,18 @@ public class DefaultLocalizationContext implements LocalizationContext, MessageR
 				+ "]";
 	}
 
+	/*
+	 * Localization snapshots holder: a new instance replaces the previous one when
+	 * the context configuration changes, so stale snapshots are never reused
+	 */
+	private static final class SnapshotCache {
+
+		final ConcurrentMap<Locale, LocalizationSnapshot> locales = new ConcurrentHashMap<>(4, 0.9f, 1);
+
+		volatile LocalizationSnapshot current;
+
+	}
+
 	/*
 	 * Support class for dateTime format cache
 	 */
@@ -0,0 +1,443 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.i18n;
+
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.holonplatform.core.i18n.Localizable;
+import com.holonplatform.core.i18n.Localizable.LocalizationException;
+import com.holonplatform.core.i18n.Localization;
+import com.holonplatform.core.i18n.LocalizationContext.MissingMessageLocalizationListener;
+import com.holonplatform.core.i18n.LocalizationSnapshot;
+import com.holonplatform.core.i18n.MessageProvider;
+import com.holonplatform.core.i18n.NumberFormatFeature;
+import com.holonplatform.core.i18n.TemporalFormat;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.i18n.LocalizationFormats.NumberKind;
+import com.holonplatform.core.internal.utils.MessageTemplate;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.temporal.TemporalType;
+
+/**
+ * Default {@link LocalizationSnapshot} implementation.
+ * <p>
+ * All the {@link DateTimeFormatter}s are created at construction time. {@link DateFormat} and {@link NumberFormat}
+ * prototypes are created once and cloned for each use, since they are not thread-safe.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class DefaultLocalizationSnapshot implements LocalizationSnapshot {
+
+	private static final Logger LOGGER = I18nLogger.create();
+
+	private static final TemporalFormat[] FORMATS = TemporalFormat.values();
+
+	private static final NumberKind[] NUMBER_KINDS = NumberKind.values();
+
+	private final Localization localization;
+
+	/*
+	 * The localization locale followed by the parent localizations locales
+	 */
+	private final Locale[] locales;
+
+	private final MessageProvider[] messageProviders;
+
+	private final MissingMessageLocalizationListener[] missingMessageLocalizationListeners;
+
+	private final String messageArgumentsPlaceholder;
+
+	private final MessageTemplateCache messageTemplates = new MessageTemplateCache();
+
+	private final Localizable trueLocalization;
+	private final Localizable falseLocalization;
+
+	private final TemporalFormat defaultDateFormat;
+	private final TemporalFormat defaultTimeFormat;
+	private final int defaultDecimalPositions;
+
+	private final DateTimeFormatter[] dateFormatters;
+	private final DateTimeFormatter[] timeFormatters;
+	private final DateTimeFormatter[] dateTimeFormatters;
+
+	/*
+	 * Lazily created DateFormat prototypes: dates, times and then date-times
+	 */
+	private final AtomicReferenceArray<DateFormat> dateFormats;
+
+	/*
+	 * NumberFormat prototypes, by NumberKind ordinal
+	 */
+	private final NumberFormat[] numberFormats;
+
+	/**
+	 * Constructor.
+	 * @param localization Snapshot localization (not null)
+	 * @param messageProviders Message providers
+	 * @param messageArgumentsPlaceholder Message arguments placeholder, <code>null</code> for none
+	 * @param defaultDateFormatStyle Default dates format style, <code>null</code> for none
+	 * @param defaultTimeFormatStyle Default times format style, <code>null</code> for none
+	 * @param trueLocalization Default <code>true</code> boolean localization, <code>null</code> for none
+	 * @param falseLocalization Default <code>false</code> boolean localization, <code>null</code> for none
+	 * @param missingMessageLocalizationListeners Missing message localization listeners
+	 */
+	public DefaultLocalizationSnapshot(Localization localization, List<MessageProvider> messageProviders,
+			String messageArgumentsPlaceholder, TemporalFormat defaultDateFormatStyle,
+			TemporalFormat defaultTimeFormatStyle, Localizable trueLocalization, Localizable falseLocalization,
+			List<MissingMessageLocalizationListener> missingMessageLocalizationListeners) {
+		super();
+		ObjectUtils.argumentNotNull(localization, "Localization must be not null");
+		ObjectUtils.argumentNotNull(localization.getLocale(), "Localization Locale must be not null");
+		this.localization = localization;
+		this.messageProviders = (messageProviders != null)
+				? messageProviders.toArray(new MessageProvider[messageProviders.size()])
+				: new MessageProvider[0];
+		this.missingMessageLocalizationListeners = (missingMessageLocalizationListeners != null)
+				? missingMessageLocalizationListeners
+						.toArray(new MissingMessageLocalizationListener[missingMessageLocalizationListeners.size()])
+				: new MissingMessageLocalizationListener[0];
+		this.messageArgumentsPlaceholder = messageArgumentsPlaceholder;
+		this.trueLocalization = trueLocalization;
+		this.falseLocalization = falseLocalization;
+
+		// message resolution chain
+		final List<Locale> chain = new ArrayList<>(2);
+		chain.add(localization.getLocale());
+		Optional<Localization> parent = localization.getParent();
+		while (parent.isPresent()) {
+			chain.add(parent.get().getLocale());
+			parent = parent.get().getParent();
+		}
+		this.locales = chain.toArray(new Locale[chain.size()]);
+
+		// defaults
+		this.defaultDateFormat = LocalizationFormats.resolve(null,
+				localization.getDefaultDateTemporalFormat().orElse(null), defaultDateFormatStyle);
+		this.defaultTimeFormat = LocalizationFormats.resolve(null,
+				localization.getDefaultTimeTemporalFormat().orElse(null), defaultTimeFormatStyle);
+		this.defaultDecimalPositions = localization.getDefaultDecimalPositions().orElse(-1);
+
+		// formatters
+		final Locale locale = localization.getLocale();
+		this.dateFormatters = new DateTimeFormatter[FORMATS.length];
+		this.timeFormatters = new DateTimeFormatter[FORMATS.length];
+		this.dateTimeFormatters = new DateTimeFormatter[FORMATS.length * FORMATS.length];
+		for (TemporalFormat df : FORMATS) {
+			dateFormatters[df.ordinal()] = LocalizationFormats.createDateTimeFormatter(TemporalType.DATE, df, df,
+					locale);
+			timeFormatters[df.ordinal()] = LocalizationFormats.createDateTimeFormatter(TemporalType.TIME, df, df,
+					locale);
+			for (TemporalFormat tf : FORMATS) {
+				dateTimeFormatters[df.ordinal() * FORMATS.length + tf.ordinal()] = LocalizationFormats
+						.createDateTimeFormatter(TemporalType.DATE_TIME, df, tf, locale);
+			}
+		}
+		this.dateFormats = new AtomicReferenceArray<>(FORMATS.length * (FORMATS.length + 2));
+		this.numberFormats = new NumberFormat[NUMBER_KINDS.length];
+		for (NumberKind kind : NUMBER_KINDS) {
+			numberFormats[kind.ordinal()] = kind.create(locale);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.i18n.LocalizationSnapshot#getLocalization()
+	 */
+	@Override
+	public Localization getLocalization() {
+		return localization;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.i18n.LocalizationSnapshot#getMessageArgumentsPlaceholder()
+	 */
+	@Override
+	public Optional<String> getMessageArgumentsPlaceholder() {
+		return Optional.ofNullable(messageArgumentsPlaceholder);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.i18n.LocalizationSnapshot#getMessage(java.lang.String, java.lang.Object[])
+	 */
+	@Override
+	public Optional<String> getMessage(String code, Object... arguments) {
+		return Optional.ofNullable(getMessage(code, (String) null, arguments));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.i18n.LocalizationSnapshot#getMessage(java.lang.String, java.lang.String,
+	 * java.lang.Object[])
+	 */
+	@Override
+	public String getMessage(String code, String defaultMessage, Object... arguments) {
+		final String message = findMessage(code, defaultMessage);
+		if (message == null || !hasArguments(arguments)) {
+			return message;
+		}
+		return messageTemplates.get(code, messageArgumentsPlaceholder, message).format(arguments);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.i18n.LocalizationSnapshot#getMessage(com.holonplatform.core.i18n.Localizable)
+	 */
+	@Override
+	public String getMessage(Localizable localizable) {
+		ObjectUtils.argumentNotNull(localizable, "Localizable must not be null");
+		if (localizable.getMessageCode() != null) {
+			return getMessage(localizable.getMessageCode(), localizable.getMessage(),
+					localizable.getMessageArguments());
+		}
+		if (localizable.getMessage() == null || !hasArguments(localizable.getMessageArguments())) {
+			return localizable.getMessage();
+		}
+		return MessageTemplate.get(messageArgumentsPlaceholder, localizable.getMessage())
+				.format(localizable.getMessageArguments());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.i18n.LocalizationSnapshot#appendMessage(java.lang.Appendable, java.lang.String,
+	 * java.lang.String, java.lang.Object[])
+	 */
+	@Override
+	public void appendMessage(Appendable target, String code, String defaultMessage, Object... arguments) {
+		ObjectUtils.argumentNotNull(target, "Target must be not null");
+		final String message = findMessage(code, defaultMessage);
+		if (message != null) {
+			try {
+				if (hasArguments(arguments)) {
+					messageTemplates.get(code, messageArgumentsPlaceholder, message).appendTo(target, arguments);
+				} else {
+					target.append(message);
+				}
+			} catch (IOException e) {
+				throw new LocalizationException("Failed to append the localized message", e);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.i18n.LocalizationSnapshot#appendMessage(java.lang.Appendable,
+	 * com.holonplatform.core.i18n.Localizable)
+	 */
+	@Override
+	public void appendMessage(Appendable target, Localizable localizable) {
+		ObjectUtils.argumentNotNull(target, "Target must be not null");
+		ObjectUtils.argumentNotNull(localizable, "Localizable must not be null");
+		if (localizable.getMessageCode() != null) {
+			appendMessage(target, localizable.getMessageCode(), localizable.getMessage(),
+					localizable.getMessageArguments());
+		} else if (localizable.getMessage() != null) {
+			try {
+				if (hasArguments(localizable.getMessageArguments())) {
+					MessageTemplate.get(messageArgumentsPlaceholder, localizable.getMessage()).appendTo(target,
+							localizable.getMessageArguments());
+				} else {
+					target.append(localizable.getMessage());
+				}
+			} catch (IOException e) {
+				throw new LocalizationException("Failed to append the localized message", e);
+			}
+		}
+	}
+
+	/**
+	 * Find the message with given code using the message providers and the localization chain.
+	 * @param code Message code (not null)
+	 * @param defaultMessage Default message
+	 * @return The message, or the default message if not found
+	 */
+	private String findMessage(String code, String defaultMessage) {
+		ObjectUtils.argumentNotNull(code, "Message code must be not null");
+		for (MessageProvider provider : messageProviders) {
+			for (Locale locale : locales) {
+				Optional<String> value = provider.getMessage(locale, code);
+				if (value.isPresent()) {
+					return value.get();
+				}
+			}
+		}
+
+		LOGGER.debug(() -> "LocalizationSnapshot: message with code [" + code + "] for Locale [" + getLocale()
+				+ "] not found. Use default message [" + defaultMessage + "]");
+
+		for (MissingMessageLocalizationListener listener : missingMessageLocalizationListeners) {
+			listener.messageLocalizationIsMissing(getLocale(), code, defaultMessage);
+		}
+		return defaultMessage;
+	}
+
+	private boolean hasArguments(Object[] arguments) {
+		return messageArgumentsPlaceholder != null && arguments != null && arguments.length > 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.i18n.LocalizationSnapshot#getDefaultBooleanLocalization(boolean)
+	 */
+	@Override
+	public Optional<Localizable> getDefaultBooleanLocalization(boolean value) {
+		return Optional.ofNullable(value ? trueLocalization : falseLocalization);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.i18n.LocalizationSnapshot#format(java.lang.Number, int,
+	 * com.holonplatform.core.i18n.NumberFormatFeature[])
+	 */
+	@Override
+	public String format(Number number, int decimalPositions, NumberFormatFeature... features) {
+		if (number == null) {
+			return null;
+		}
+		final NumberKind kind = NumberKind.of(number.getClass(), features);
+		return LocalizationFormats.format((NumberFormat) numberFormats[kind.ordinal()].clone(), kind, number,
+				(decimalPositions < 0) ? defaultDecimalPositions : decimalPositions, features);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.i18n.LocalizationSnapshot#getNumberFormat(java.lang.Class, int, boolean)
+	 */
+	@Override
+	public NumberFormat getNumberFormat(Class<? extends Number> numberType, int decimalPositions,
+			boolean disableGrouping) {
+		final NumberKind kind = NumberKind.of(numberType);
+		return LocalizationFormats.configure((NumberFormat) numberFormats[kind.ordinal()].clone(), kind,
+				(decimalPositions < 0) ? defaultDecimalPositions : decimalPositions, disableGrouping);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.i18n.LocalizationSnapshot#format(java.util.Date,
+	 * com.holonplatform.core.temporal.TemporalType, com.holonplatform.core.i18n.TemporalFormat,
+	 * com.holonplatform.core.i18n.TemporalFormat)
+	 */
+	@Override
+	public String format(Date date, TemporalType type, TemporalFormat dateFormat, TemporalFormat timeFormat) {
+		if (date != null) {
+			return getDateFormat(type, dateFormat, timeFormat).format(date);
+		}
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.i18n.LocalizationSnapshot#getDateFormat(com.holonplatform.core.temporal.TemporalType,
+	 * com.holonplatform.core.i18n.TemporalFormat, com.holonplatform.core.i18n.TemporalFormat)
+	 */
+	@Override
+	public DateFormat getDateFormat(TemporalType type, TemporalFormat dateFormat, TemporalFormat timeFormat) {
+		final TemporalFormat df = resolveDateFormat(dateFormat);
+		final TemporalFormat tf = resolveTimeFormat(timeFormat);
+		final int index;
+		switch (resolveType(type)) {
+		case TIME:
+			index = FORMATS.length + tf.ordinal();
+			break;
+		case DATE_TIME:
+			index = FORMATS.length * 2 + df.ordinal() * FORMATS.length + tf.ordinal();
+			break;
+		case DATE:
+		default:
+			index = df.ordinal();
+			break;
+		}
+		DateFormat prototype = dateFormats.get(index);
+		if (prototype == null) {
+			prototype = LocalizationFormats.createDateFormat(type, df, tf, getLocale());
+			if (!dateFormats.compareAndSet(index, null, prototype)) {
+				prototype = dateFormats.get(index);
+			}
+		}
+		return (DateFormat) prototype.clone();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.i18n.LocalizationSnapshot#format(java.time.temporal.Temporal,
+	 * com.holonplatform.core.i18n.TemporalFormat, com.holonplatform.core.i18n.TemporalFormat)
+	 */
+	@Override
+	public String format(Temporal temporal, TemporalFormat dateFormat, TemporalFormat timeFormat) {
+		if (temporal != null) {
+			return getDateTimeFormatter(TemporalType.getTemporalType(temporal).orElse(null), dateFormat, timeFormat)
+					.format(temporal);
+		}
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.i18n.LocalizationSnapshot#getDateTimeFormatter(com.holonplatform.core.temporal.TemporalType,
+	 * com.holonplatform.core.i18n.TemporalFormat, com.holonplatform.core.i18n.TemporalFormat)
+	 */
+	@Override
+	public DateTimeFormatter getDateTimeFormatter(TemporalType type, TemporalFormat dateFormat,
+			TemporalFormat timeFormat) {
+		final TemporalFormat df = resolveDateFormat(dateFormat);
+		final TemporalFormat tf = resolveTimeFormat(timeFormat);
+		switch (resolveType(type)) {
+		case TIME:
+			return timeFormatters[tf.ordinal()];
+		case DATE_TIME:
+			return dateTimeFormatters[df.ordinal() * FORMATS.length + tf.ordinal()];
+		case DATE:
+		default:
+			return dateFormatters[df.ordinal()];
+		}
+	}
+
+	private TemporalFormat resolveDateFormat(TemporalFormat format) {
+		return LocalizationFormats.resolve(format, defaultDateFormat, null);
+	}
+
+	private TemporalFormat resolveTimeFormat(TemporalFormat format) {
+		return LocalizationFormats.resolve(format, defaultTimeFormat, null);
+	}
+
+	private static TemporalType resolveType(TemporalType type) {
+		return (type != null) ? type : TemporalType.DATE;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultLocalizationSnapshot [localization=" + localization + ", messageArgumentsPlaceholder="
+				+ messageArgumentsPlaceholder + "]";
+	}
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.i18n;
+
+import java.text.DateFormat;
+import java.text.NumberFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import com.holonplatform.core.i18n.Localization;
+import com.holonplatform.core.i18n.NumberFormatFeature;
+import com.holonplatform.core.i18n.TemporalFormat;
+import com.holonplatform.core.internal.utils.FormatUtils;
+import com.holonplatform.core.internal.utils.TypeUtils;
+import com.holonplatform.core.temporal.TemporalType;
+
+/**
+ * Number and date formatting logic shared by {@link DefaultLocalizationContext} and
+ * {@link DefaultLocalizationSnapshot}.
+ *
+ * @since 5.6.0
+ */
+final class LocalizationFormats {
+
+	/**
+	 * Number format kinds.
+	 */
+	enum NumberKind {
+
+		NUMBER, INTEGER, PERCENT;
+
+		/**
+		 * Create a new {@link NumberFormat} of this kind.
+		 * @param locale Format locale
+		 * @return A new {@link NumberFormat}
+		 */
+		NumberFormat create(Locale locale) {
+			switch (this) {
+			case PERCENT:
+				return NumberFormat.getPercentInstance(locale);
+			case INTEGER:
+				return NumberFormat.getIntegerInstance(locale);
+			case NUMBER:
+			default:
+				return NumberFormat.getInstance(locale);
+			}
+		}
+
+		/**
+		 * Get the kind to use for given number type and features.
+		 * @param numberType Number type
+		 * @param features Number format features
+		 * @return The number format kind
+		 */
+		static NumberKind of(Class<?> numberType, NumberFormatFeature... features) {
+			if (NumberFormatFeature.hasFeature(NumberFormatFeature.PERCENT_STYLE, features)) {
+				return PERCENT;
+			}
+			return TypeUtils.isDecimalNumber(numberType) ? NUMBER : INTEGER;
+		}
+
+	}
+
+	private LocalizationFormats() {
+	}
+
+	/**
+	 * Get the decimal positions to use.
+	 * @param decimalPositions Required decimal positions, a negative number for default
+	 * @param localization Localization which provides the default decimal positions, may be null
+	 * @return The decimal positions, <code>-1</code> if not available
+	 */
+	static int getDecimalPositions(int decimalPositions, Localization localization) {
+		if (decimalPositions < 0 && localization != null) {
+			return localization.getDefaultDecimalPositions().orElse(-1);
+		}
+		return decimalPositions;
+	}
+
+	/**
+	 * Format given number using given {@link NumberFormat}, which is configured according to the number format
+	 * features.
+	 * @param format The number format, obtained using {@link NumberKind#of(Class, NumberFormatFeature...)} (not null)
+	 * @param kind The number format kind
+	 * @param number The number to format (not null)
+	 * @param decimals Decimal positions, <code>-1</code> for none
+	 * @param features Number format features
+	 * @return The formatted number
+	 */
+	static String format(NumberFormat format, NumberKind kind, Number number, int decimals,
+			NumberFormatFeature... features) {
+		if (kind != NumberKind.INTEGER) {
+			if (NumberFormatFeature.hasFeature(NumberFormatFeature.HIDE_DECIMALS_WHEN_ALL_ZERO, features)
+					&& !FormatUtils.hasDecimals(number.doubleValue())) {
+				format.setMaximumFractionDigits(0);
+			} else if (decimals > -1) {
+				format.setMinimumFractionDigits(decimals);
+				format.setMaximumFractionDigits(decimals);
+			}
+		}
+		if (NumberFormatFeature.hasFeature(NumberFormatFeature.DISABLE_GROUPING, features)) {
+			format.setGroupingUsed(false);
+		}
+		return format.format(number);
+	}
+
+	/**
+	 * Configure given {@link NumberFormat}.
+	 * @param format The number format (not null)
+	 * @param kind The number format kind
+	 * @param decimals Decimal positions, <code>-1</code> for none
+	 * @param disableGrouping Whether to disable grouping
+	 * @return The configured number format
+	 */
+	static NumberFormat configure(NumberFormat format, NumberKind kind, int decimals, boolean disableGrouping) {
+		if (kind != NumberKind.INTEGER && decimals > -1) {
+			format.setMinimumFractionDigits(decimals);
+			format.setMaximumFractionDigits(decimals);
+		}
+		if (disableGrouping) {
+			format.setGroupingUsed(false);
+		}
+		return format;
+	}
+
+	/**
+	 * Resolve a {@link TemporalFormat}, using the localization default or the context default when it is
+	 * <code>null</code> or {@link TemporalFormat#DEFAULT}.
+	 * @param format The format to resolve
+	 * @param localizationDefault Localization default format, may be null
+	 * @param contextDefault Context default format, may be null
+	 * @return The resolved format, {@link TemporalFormat#SHORT} if no default is available
+	 */
+	static TemporalFormat resolve(TemporalFormat format, TemporalFormat localizationDefault,
+			TemporalFormat contextDefault) {
+		if (format != null && format != TemporalFormat.DEFAULT) {
+			return format;
+		}
+		if (localizationDefault != null) {
+			return localizationDefault;
+		}
+		return (contextDefault != null) ? contextDefault : TemporalFormat.SHORT;
+	}
+
+	/**
+	 * Create a new {@link DateFormat}.
+	 * @param type Temporal type, {@link TemporalType#DATE} if <code>null</code>
+	 * @param dateFormat Resolved date format
+	 * @param timeFormat Resolved time format
+	 * @param locale Format locale
+	 * @return A new {@link DateFormat}
+	 */
+	static DateFormat createDateFormat(TemporalType type, TemporalFormat dateFormat, TemporalFormat timeFormat,
+			Locale locale) {
+		switch ((type != null) ? type : TemporalType.DATE) {
+		case TIME:
+			return DateFormat.getTimeInstance(timeFormat.getTimeStyle(), locale);
+		case DATE_TIME:
+			return DateFormat.getDateTimeInstance(dateFormat.getDateStyle(), timeFormat.getTimeStyle(), locale);
+		case DATE:
+		default:
+			return DateFormat.getDateInstance(dateFormat.getDateStyle(), locale);
+		}
+	}
+
+	/**
+	 * Create a new {@link DateTimeFormatter}.
+	 * @param type Temporal type, {@link TemporalType#DATE} if <code>null</code>
+	 * @param dateFormat Resolved date format
+	 * @param timeFormat Resolved time format
+	 * @param locale Formatter locale
+	 * @return A new {@link DateTimeFormatter}
+	 */
+	static DateTimeFormatter createDateTimeFormatter(TemporalType type, TemporalFormat dateFormat,
+			TemporalFormat timeFormat, Locale locale) {
+		switch ((type != null) ? type : TemporalType.DATE) {
+		case TIME:
+			return DateTimeFormatter.ofLocalizedTime(timeFormat.getTimeFormatStyle()).withLocale(locale);
+		case DATE_TIME:
+			return DateTimeFormatter.ofLocalizedDateTime(dateFormat.getDateFormatStyle(), timeFormat.getTimeFormatStyle())
+					.withLocale(locale);
+		case DATE:
+		default:
+			return DateTimeFormatter.ofLocalizedDate(dateFormat.getDateFormatStyle()).withLocale(locale);
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.i18n;
+
+import com.holonplatform.core.internal.utils.BoundedCache;
+import com.holonplatform.core.internal.utils.MessageTemplate;
+
+/**
+ * A bounded cache of {@link MessageTemplate}s for a single Locale, by message code. When the cache is full, the least
+ * recently used templates are discarded, using the approximate eviction policy of {@link BoundedCache}.
+ * <p>
+ * A cached template is reused only if the message resolved for its code did not change, so message providers which
+ * reload their messages are supported.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class MessageTemplateCache {
+
+	/**
+	 * Default max number of cached templates
+	 */
+	public static final int DEFAULT_MAX_SIZE = 1024;
+
+	private final BoundedCache<String, MessageTemplate> templates;
+
+	/**
+	 * Constructor using {@link #DEFAULT_MAX_SIZE}.
+	 */
+	public MessageTemplateCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Constructor.
+	 * @param maxSize Max number of cached templates
+	 */
+	public MessageTemplateCache(int maxSize) {
+		super();
+		this.templates = new BoundedCache<>(maxSize);
+	}
+
+	/**
+	 * Get the {@link MessageTemplate} for given message code.
+	 * @param code Message code (not null)
+	 * @param placeholder Argument placeholder (not null)
+	 * @param message The message resolved for the code (not null)
+	 * @return The message template
+	 */
+	public MessageTemplate get(String code, String placeholder, String message) {
+		final MessageTemplate cached = templates.get(code);
+		if (cached != null && cached.matches(placeholder, message)) {
+			return cached;
+		}
+		final MessageTemplate template = MessageTemplate.compile(placeholder, message);
+		templates.put(code, template);
+		return template;
+	}
+
+	/**
+	 * Remove all the cached templates.
+	 */
+	public void clear() {
+		templates.clear();
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.instrumentation;
+
+import java.util.Arrays;
+
+import com.holonplatform.core.instrumentation.Instrumentation;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * An {@link Instrumentation} which notifies a list of instrumentations.
+ *
+ * @since 5.6.0
+ */
+public class CompositeInstrumentation implements Instrumentation {
+
+	private final Instrumentation[] instrumentations;
+
+	/**
+	 * Constructor.
+	 * @param instrumentations The instrumentations to notify (not null)
+	 */
+	public CompositeInstrumentation(Instrumentation... instrumentations) {
+		super();
+		ObjectUtils.argumentNotNull(instrumentations, "Instrumentations must be not null");
+		this.instrumentations = Arrays.stream(instrumentations).filter(i -> i != null).toArray(Instrumentation[]::new);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.instrumentation.Instrumentation#start(java.lang.String, java.lang.String,
+	 * java.lang.String)
+	 */
+	@Override
+	public Observation start(String component, String operation, String target) {
+		final Observation[] observations = new Observation[instrumentations.length];
+		for (int i = 0; i < instrumentations.length; i++) {
+			observations[i] = instrumentations[i].start(component, operation, target);
+		}
+		return new Observation() {
+
+			@Override
+			public void transferred(long amount) {
+				for (Observation observation : observations) {
+					observation.transferred(amount);
+				}
+			}
+
+			@Override
+			public void success() {
+				for (Observation observation : observations) {
+					observation.success();
+				}
+			}
+
+			@Override
+			public void failure(Throwable error) {
+				for (Observation observation : observations) {
+					observation.failure(error);
+				}
+			}
+
+		};
+	}
+
+}
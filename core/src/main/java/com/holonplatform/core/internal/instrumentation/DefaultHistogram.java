@@ -0,0 +1,233 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.holonplatform.core.instrumentation.Histogram;
+
+/**
+ * Default lock-free {@link Histogram} implementation.
+ * <p>
+ * Values lower than 32 are recorded exactly, while each greater power of two range is split into 16 linear buckets.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class DefaultHistogram implements Histogram {
+
+	private static final int LINEAR = 32;
+	private static final int SUB_BUCKETS = 16;
+	private static final int SUB_BUCKET_BITS = 4;
+
+	private static final int BUCKETS = index(Long.MAX_VALUE) + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+	private final AtomicLong max = new AtomicLong(0L);
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.instrumentation.Histogram#record(long)
+	 */
+	@Override
+	public void record(long value) {
+		final long v = Math.max(0L, value);
+		counts.incrementAndGet(index(v));
+		count.increment();
+		sum.add(v);
+		long current;
+		while (v < (current = min.get()) && !min.compareAndSet(current, v)) {
+			// retry
+		}
+		while (v > (current = max.get()) && !max.compareAndSet(current, v)) {
+			// retry
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.instrumentation.Histogram#getCount()
+	 */
+	@Override
+	public long getCount() {
+		return count.sum();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.instrumentation.Histogram#getMin()
+	 */
+	@Override
+	public long getMin() {
+		final long value = min.get();
+		return (value == Long.MAX_VALUE) ? 0L : value;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.instrumentation.Histogram#getMax()
+	 */
+	@Override
+	public long getMax() {
+		return max.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.instrumentation.Histogram#getMean()
+	 */
+	@Override
+	public double getMean() {
+		final long c = count.sum();
+		return (c > 0) ? (double) sum.sum() / c : 0d;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.instrumentation.Histogram#getValueAtPercentile(double)
+	 */
+	@Override
+	public long getValueAtPercentile(double percentile) {
+		final long[] snapshot = new long[BUCKETS];
+		long total = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0L;
+		}
+		final long maxValue = max.get();
+		final double p = Math.min(100d, Math.max(0d, percentile));
+		final long threshold = Math.max(1L, (long) Math.ceil(total * p / 100d));
+		long accumulated = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			accumulated += snapshot[i];
+			if (accumulated >= threshold) {
+				return Math.min(maxValue, highestEquivalentValue(i));
+			}
+		}
+		return maxValue;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.instrumentation.Histogram#reset()
+	 */
+	@Override
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0L);
+		}
+		count.reset();
+		sum.reset();
+		min.set(Long.MAX_VALUE);
+		max.set(0L);
+	}
+
+	/**
+	 * Halve the recorded counts, so that the values recorded afterwards weigh more than the older ones. The mean is
+	 * preserved, while the minimum and maximum values are bounded by the remaining buckets. The values recorded
+	 * concurrently with the decay may be lost.
+	 */
+	protected void decay() {
+		final double mean = getMean();
+		long total = 0L;
+		long lowest = -1L;
+		long highest = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			final long value = counts.updateAndGet(i, c -> c >> 1);
+			if (value > 0) {
+				total += value;
+				if (lowest < 0) {
+					lowest = lowestEquivalentValue(i);
+				}
+				highest = highestEquivalentValue(i);
+			}
+		}
+		count.reset();
+		count.add(total);
+		sum.reset();
+		sum.add(Math.round(mean * total));
+		if (total == 0) {
+			min.set(Long.MAX_VALUE);
+			max.set(0L);
+		} else {
+			min.set(Math.max(min.get(), lowest));
+			max.set(Math.min(max.get(), highest));
+		}
+	}
+
+	/**
+	 * Get the bucket index of given value.
+	 * @param value The value
+	 * @return The bucket index
+	 */
+	private static int index(long value) {
+		if (value < LINEAR) {
+			return (int) value;
+		}
+		final int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+		return LINEAR + (shift - 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+	}
+
+	/**
+	 * Get the lowest value which is recorded in given bucket.
+	 * @param index The bucket index
+	 * @return The lowest bucket value
+	 */
+	private static long lowestEquivalentValue(int index) {
+		if (index < LINEAR) {
+			return index;
+		}
+		final int k = index - LINEAR;
+		final int shift = k / SUB_BUCKETS + 1;
+		final long mantissa = k % SUB_BUCKETS + SUB_BUCKETS;
+		return mantissa << shift;
+	}
+
+	/**
+	 * Get the highest value which is recorded in given bucket.
+	 * @param index The bucket index
+	 * @return The highest bucket value
+	 */
+	private static long highestEquivalentValue(int index) {
+		if (index < LINEAR) {
+			return index;
+		}
+		final int k = index - LINEAR;
+		final int shift = k / SUB_BUCKETS + 1;
+		final long mantissa = k % SUB_BUCKETS + SUB_BUCKETS;
+		// may overflow to Long.MAX_VALUE for the last bucket
+		return ((mantissa + 1) << shift) - 1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [count=" + getCount() + ", min=" + getMin() + ", mean=" + getMean() + ", p50="
+				+ getValueAtPercentile(50) + ", p99=" + getValueAtPercentile(99) + ", max=" + getMax() + "]";
+	}
+
+}
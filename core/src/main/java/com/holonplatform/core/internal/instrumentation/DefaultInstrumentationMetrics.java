@@ -0,0 +1,232 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.instrumentation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.holonplatform.core.instrumentation.Histogram;
+import com.holonplatform.core.instrumentation.InstrumentationMetrics;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+
+/**
+ * Default {@link InstrumentationMetrics} implementation.
+ *
+ * @since 5.6.0
+ */
+public class DefaultInstrumentationMetrics implements InstrumentationMetrics {
+
+	private final ConcurrentMap<Key, Metrics> metrics = new ConcurrentHashMap<>();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.instrumentation.Instrumentation#start(java.lang.String, java.lang.String,
+	 * java.lang.String)
+	 */
+	@Override
+	public Observation start(String component, String operation, String target) {
+		final Key key = new Key(String.valueOf(component), String.valueOf(operation),
+				(target != null) ? target : "");
+		final Metrics operationMetrics = metrics.computeIfAbsent(key, Metrics::new);
+		return operationMetrics.start();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.instrumentation.InstrumentationMetrics#getMetrics(java.lang.String,
+	 * java.lang.String, java.lang.String)
+	 */
+	@Override
+	public Optional<OperationMetrics> getMetrics(String component, String operation, String target) {
+		ObjectUtils.argumentNotNull(component, "Component must be not null");
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		ObjectUtils.argumentNotNull(target, "Target must be not null");
+		return Optional.ofNullable(metrics.get(new Key(component, operation, target)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.instrumentation.InstrumentationMetrics#getMetrics()
+	 */
+	@Override
+	public Collection<OperationMetrics> getMetrics() {
+		return Collections.unmodifiableList(new ArrayList<>(metrics.values()));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.instrumentation.InstrumentationMetrics#reset()
+	 */
+	@Override
+	public void reset() {
+		metrics.clear();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultInstrumentationMetrics [metrics=" + metrics.values() + "]";
+	}
+
+	/**
+	 * Operation metrics key.
+	 */
+	private static final class Key {
+
+		final String component;
+		final String operation;
+		final String target;
+
+		private final int hash;
+
+		Key(String component, String operation, String target) {
+			super();
+			this.component = component;
+			this.operation = operation;
+			this.target = target;
+			this.hash = 31 * (31 * component.hashCode() + operation.hashCode()) + target.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return component.equals(other.component) && operation.equals(other.operation)
+					&& target.equals(other.target);
+		}
+
+	}
+
+	/**
+	 * The metrics of an operation.
+	 */
+	private static final class Metrics implements OperationMetrics {
+
+		private final Key key;
+		private final Histogram latency = new DefaultHistogram();
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder transferred = new LongAdder();
+		private final LongAdder inFlight = new LongAdder();
+
+		Metrics(Key key) {
+			super();
+			this.key = key;
+		}
+
+		Observation start() {
+			inFlight.increment();
+			final long start = System.nanoTime();
+			final AtomicBoolean completed = new AtomicBoolean(false);
+			return new Observation() {
+
+				@Override
+				public void transferred(long amount) {
+					transferred.add(amount);
+				}
+
+				@Override
+				public void success() {
+					if (completed.compareAndSet(false, true)) {
+						complete(start);
+					}
+				}
+
+				@Override
+				public void failure(Throwable error) {
+					if (completed.compareAndSet(false, true)) {
+						errors.increment();
+						complete(start);
+					}
+				}
+
+			};
+		}
+
+		private void complete(long start) {
+			latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+			inFlight.decrement();
+		}
+
+		@Override
+		public String getComponent() {
+			return key.component;
+		}
+
+		@Override
+		public String getOperation() {
+			return key.operation;
+		}
+
+		@Override
+		public String getTarget() {
+			return key.target;
+		}
+
+		@Override
+		public Histogram getLatency() {
+			return latency;
+		}
+
+		@Override
+		public long getCount() {
+			return latency.getCount();
+		}
+
+		@Override
+		public long getErrorCount() {
+			return errors.sum();
+		}
+
+		@Override
+		public long getTransferred() {
+			return transferred.sum();
+		}
+
+		@Override
+		public long getInFlight() {
+			return inFlight.sum();
+		}
+
+		@Override
+		public String toString() {
+			return "OperationMetrics [component=" + key.component + ", operation=" + key.operation + ", target="
+					+ key.target + ", count=" + getCount() + ", errors=" + getErrorCount() + ", transferred="
+					+ getTransferred() + ", inFlight=" + getInFlight() + ", latency=" + latency + "]";
+		}
+
+	}
+
+}
@@ -15,13 +15,14 @@
  */
 package com.holonplatform.core.internal.property;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
+import com.holonplatform.core.ValidationResult;
 import com.holonplatform.core.Validator;
 import com.holonplatform.core.Validator.UnsupportedValidationTypeException;
 import com.holonplatform.core.Validator.ValidationException;
@@ -220,7 +221,7 @@ public abstract class AbstractProperty<T, P extends Property<T>, B extends Prope
 	public void addValidator(Validator<T> validator) {
 		ObjectUtils.argumentNotNull(validator, "Validator must be not null");
 		if (validators == null) {
-			validators = new LinkedList<>();
+			validators = new ArrayList<>(4);
 		}
 		validators.add(validator);
 	}
@@ -259,31 +260,35 @@ public abstract class AbstractProperty<T, P extends Property<T>, B extends Prope
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.Validator.Validatable#validate(java.lang.Object)
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
 	public void validate(T value) throws ValidationException {
-		LinkedList<ValidationException> failures = new LinkedList<>();
-		for (Validator<T> validator : getValidators()) {
+		check(value).throwIfInvalid();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.Validator.Validatable#check(java.lang.Object)
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@Override
+	public ValidationResult check(T value) {
+		final Collection<Validator<T>> validators = getValidators();
+		if (validators.isEmpty()) {
+			return ValidationResult.valid();
+		}
+		final ValidationResult.Builder result = ValidationResult.builder();
+		for (Validator<T> validator : validators) {
 			try {
-				validator.validate(value);
+				result.add(validator.check(value));
 			} catch (UnsupportedValidationTypeException ut) {
 				// try to use conveted value
 				if (!getConverter().isPresent()) {
 					throw ut;
 				}
-				try {
-					((Validator) validator).validate(getConvertedValue(value));
-				} catch (ValidationException cve) {
-					failures.add(cve);
-				}
-			} catch (ValidationException ve) {
-				failures.add(ve);
+				result.add(((Validator) validator).check(getConvertedValue(value)));
 			}
 		}
-		if (!failures.isEmpty()) {
-			throw (failures.size() == 1) ? failures.getFirst()
-					: new ValidationException(failures.toArray(new ValidationException[failures.size()]));
-		}
+		return result.build();
 	}
 
 	/*
@@ -15,9 +15,10 @@
  */
 package com.holonplatform.core.internal.property;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -246,17 +247,19 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 	@SuppressWarnings("unchecked")
 	@Override
 	public void validate() throws ValidationException {
-		final LinkedList<ValidationException> failures = new LinkedList<>();
-		forEach(p -> {
+		List<ValidationException> failures = null;
+		for (Property property : this) {
 			try {
-				p.validate(getValue(p));
+				property.validate(getValue(property));
 			} catch (ValidationException e) {
+				if (failures == null) {
+					failures = new ArrayList<>(4);
+				}
 				failures.add(e);
 			}
-		});
-		if (!failures.isEmpty()) {
-			throw (failures.size() == 1) ? failures.getFirst()
-					: new ValidationException(failures.toArray(new ValidationException[failures.size()]));
+		}
+		if (failures != null) {
+			throw (failures.size() == 1) ? failures.get(0) : new ValidationException(failures);
 		}
 	}
 
@@ -312,6 +315,37 @@ public abstract class AbstractPropertyBox implements PropertyBox {
 		}
 	}
 
+	/**
+	 * Read the value of a property which is known to belong to the box property set, skipping the property set
+	 * membership check. Used by bulk operations.
+	 * @param <T> Property type
+	 * @param property Property for which obtain the value
+	 * @return Property value
+	 * @throws PropertyAccessException Error handling property value
+	 */
+	<T> T readPropertyValue(Property<T> property) throws PropertyAccessException {
+		try {
+			return getAndCheckPropertyValue(property);
+		} catch (PropertyAccessException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new PropertyReadException(property, e);
+		}
+	}
+
+	/**
+	 * Write the value of a writable property which is known to belong to the box property set, skipping the property
+	 * set membership and read-only checks. Used by bulk operations.
+	 * @param <T> Property type
+	 * @param property Property for which to set the value
+	 * @param value Property value
+	 * @throws PropertyAccessException If an error occurred setting the property value
+	 * @throws ValidationException If not {@link #isInvalidAllowed()} and the value is not valid
+	 */
+	<T> void writePropertyValue(Property<T> property, T value) throws PropertyAccessException, ValidationException {
+		setPropertyValue(property, checkupPropertyValue(property, value));
+	}
+
 	/**
 	 * Check property value before putting it in PropertyBox.
 	 * @param <T> Property and value type
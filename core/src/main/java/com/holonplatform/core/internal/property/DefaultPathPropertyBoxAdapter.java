@@ -56,9 +56,11 @@ public class DefaultPathPropertyBoxAdapter extends DefaultPathPropertySetAdapter
 	 * com.holonplatform.core.property.PathPropertyBoxAdapter#containsValue(com.
 	 * holonplatform.core.Path)
 	 */
+	@SuppressWarnings("unchecked")
 	@Override
 	public <T> boolean containsValue(Path<T> path) {
-		return getProperty(path).map(p -> getPropertyBox().containsValue(p)).orElse(false);
+		final Property<T> property = lookup(path);
+		return property != null && getPropertyBox().containsValue(property);
 	}
 
 	/*
@@ -67,9 +69,11 @@ public class DefaultPathPropertyBoxAdapter extends DefaultPathPropertySetAdapter
 	 * @see com.holonplatform.core.property.PathPropertyBoxAdapter#getValue(com.
 	 * holonplatform.core.Path)
 	 */
+	@SuppressWarnings("unchecked")
 	@Override
 	public <T> Optional<T> getValue(Path<T> path) {
-		return getProperty(path).map(p -> getPropertyBox().getValue(p));
+		final Property<T> property = lookup(path);
+		return (property != null) ? Optional.ofNullable(getPropertyBox().getValue(property)) : Optional.empty();
 	}
 
 	/*
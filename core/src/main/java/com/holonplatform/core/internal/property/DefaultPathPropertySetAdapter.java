@@ -15,11 +15,7 @@
  */
 package com.holonplatform.core.internal.property;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -56,8 +52,15 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 	 */
 	private PathMatcher pathMatcher = DefaultPathMatcher.INSTANCE;
 
-	private final Map<Path, Property> pathPropertyCache;
-	private Map<String, Property> namePropertyCache;
+	/**
+	 * Property set metadata, lazily resolved
+	 */
+	private PathPropertySetMetadata metadata;
+
+	/**
+	 * Path lookup cache, used only with a custom {@link PathMatcher}
+	 */
+	private Map<Path, Property> pathPropertyCache;
 
 	/**
 	 * Constructor.
@@ -67,7 +70,6 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 		super();
 		ObjectUtils.argumentNotNull(propertySet, "PropertySet must be not null");
 		this.propertySet = propertySet;
-		this.pathPropertyCache = new HashMap<>(propertySet.size());
 	}
 
 	/**
@@ -101,6 +103,8 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 	public void setPathConverter(PathConverter pathConverter) {
 		ObjectUtils.argumentNotNull(pathConverter, "PathConverter must be not null");
 		this.pathConverter = pathConverter;
+		this.metadata = null;
+		this.pathPropertyCache = null;
 	}
 
 	/**
@@ -110,6 +114,21 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 	public void setPathMatcher(PathMatcher pathMatcher) {
 		ObjectUtils.argumentNotNull(pathMatcher, "PathMatcher must be not null");
 		this.pathMatcher = pathMatcher;
+		this.pathPropertyCache = null;
+	}
+
+	/**
+	 * Get the property set metadata. Using the default {@link PathConverter}, the metadata are shared among all the
+	 * adapters of the same property set.
+	 * @return the property set metadata
+	 */
+	PathPropertySetMetadata getMetadata() {
+		if (metadata == null) {
+			metadata = (getPathConverter() == DefaultPathConverter.INSTANCE)
+					? PathPropertySetMetadata.of(getPropertySet())
+					: new PathPropertySetMetadata(getPropertySet(), getPathConverter());
+		}
+		return metadata;
 	}
 
 	/*
@@ -118,7 +137,8 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 	 */
 	@Override
 	public boolean contains(Path<?> path) {
-		return getProperty(path).isPresent();
+		ObjectUtils.argumentNotNull(path, "Path must be not null");
+		return lookup(path) != null;
 	}
 
 	/*
@@ -129,15 +149,35 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 	@Override
 	public <T> Optional<Property<T>> getProperty(Path<T> path) {
 		ObjectUtils.argumentNotNull(path, "Path must be not null");
-		return Optional.ofNullable(pathPropertyCache.computeIfAbsent(path, p -> {
+		return Optional.ofNullable(lookup(path));
+	}
+
+	/**
+	 * Get the property which corresponds to given path.
+	 * @param path The path (not null)
+	 * @return The property, <code>null</code> if none
+	 */
+	protected Property lookup(Path<?> path) {
+		final PathMatcher matcher = getPathMatcher();
+		if (matcher == DefaultPathMatcher.INSTANCE) {
+			return getMetadata().getProperty(path, false);
+		}
+		if (matcher == DefaultCaseInsensitivePathMatcher.INSTANCE) {
+			return getMetadata().getProperty(path, true);
+		}
+		// custom matcher
+		if (pathPropertyCache == null) {
+			pathPropertyCache = new HashMap<>(getPropertySet().size());
+		}
+		return pathPropertyCache.computeIfAbsent(path, p -> {
 			for (Property property : getPropertySet()) {
 				Optional<Path<?>> propertyPath = getPathConverter().convert(property);
-				if (propertyPath.isPresent() && getPathMatcher().match(propertyPath.get(), p)) {
+				if (propertyPath.isPresent() && matcher.match(propertyPath.get(), p)) {
 					return property;
 				}
 			}
 			return null;
-		}));
+		});
 	}
 
 	/*
@@ -147,25 +187,16 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 	@Override
 	public <T> Optional<Path<T>> getPath(Property<T> property) {
 		ObjectUtils.argumentNotNull(property, "Property must be not null");
-		return getPropertySet().contains(property) ? getPathConverter().convert(property) : Optional.empty();
+		return getMetadata().contains(property) ? getPathConverter().convert(property) : Optional.empty();
 	}
 
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.property.PathPropertySetAdapter#getPathIdentifiers()
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public Set<Path<?>> getPathIdentifiers() {
-		Set<Path<?>> pathIds = new HashSet<>(getPropertySet().getIdentifiers().size());
-		for (Property id : getPropertySet().getIdentifiers()) {
-			Optional<Path<?>> path = getPathConverter().convert(id);
-			if (!path.isPresent()) {
-				return Collections.emptySet();
-			}
-			pathIds.add(path.get());
-		}
-		return pathIds;
+		return getMetadata().getPathIdentifiers();
 	}
 
 	/*
@@ -174,47 +205,28 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 	 */
 	@Override
 	public Stream<Path<?>> paths() {
-		List<Path<?>> paths = new ArrayList<>(getPropertySet().size());
-		for (Property<?> property : getPropertySet()) {
-			getPathConverter().convert(property).ifPresent(p -> paths.add(p));
-		}
-		return paths.stream();
+		return getMetadata().getPaths().stream();
 	}
 
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.property.PathPropertySetAdapter#propertyPaths()
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public Stream<PropertyPath<?>> propertyPaths() {
-		final List<PropertyPath<?>> pps = new ArrayList<>(getPropertySet().size());
-		for (Property<?> property : getPropertySet()) {
-			getPathConverter().convert(property).ifPresent(path -> pps.add(new DefaultPropertyPath(property, path)));
-		}
-		return pps.stream();
+		return getMetadata().getPropertyPaths().stream();
 	}
 
 	// ------- by name
 
-	/**
-	 * Get the name-property cache.
-	 * @return the the name-property cache
-	 */
-	protected Map<String, Property> getNamePropertyCache() {
-		if (namePropertyCache == null) {
-			namePropertyCache = new HashMap<>(getPropertySet().size());
-		}
-		return namePropertyCache;
-	}
-
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.property.PathPropertySetAdapter#contains(java.lang.String)
 	 */
 	@Override
 	public boolean contains(String name) {
-		return getProperty(name).isPresent();
+		ObjectUtils.argumentNotNull(name, "Property name must be not null");
+		return getMetadata().getProperty(name) != null;
 	}
 
 	/*
@@ -226,14 +238,12 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 	public <T> Optional<Property<T>> getProperty(String name, Class<T> type) {
 		ObjectUtils.argumentNotNull(name, "Property name must be not null");
 		ObjectUtils.argumentNotNull(type, "Property type must be not null");
-		Optional<Property<?>> property = getProperty(name);
-		property.ifPresent(p -> {
-			if (!TypeUtils.isAssignable(p.getType(), type)) {
-				throw new TypeMismatchException("Property type " + p.getType().getName()
-						+ " is not compatible with required type " + type.getName());
-			}
-		});
-		return property.map(p -> (Property<T>) p);
+		final Property<?> property = getMetadata().getProperty(name);
+		if (property != null && !TypeUtils.isAssignable(property.getType(), type)) {
+			throw new TypeMismatchException("Property type " + property.getType().getName()
+					+ " is not compatible with required type " + type.getName());
+		}
+		return Optional.ofNullable((Property<T>) property);
 	}
 
 	/*
@@ -243,14 +253,7 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 	@Override
 	public Optional<Property<?>> getProperty(String name) {
 		ObjectUtils.argumentNotNull(name, "Property name must be not null");
-		return Optional.ofNullable(getNamePropertyCache().computeIfAbsent(name, pn -> {
-			for (Property property : getPropertySet()) {
-				if (pn.equals(property.getName())) {
-					return property;
-				}
-			}
-			return null;
-		}));
+		return Optional.ofNullable(getMetadata().getProperty(name));
 	}
 
 	/*
@@ -259,7 +262,7 @@ public class DefaultPathPropertySetAdapter implements PathPropertySetAdapter {
 	 */
 	@Override
 	public Stream<String> names() {
-		return getPropertySet().stream().filter(p -> p.getName() != null).map(p -> p.getName());
+		return getMetadata().getNames().stream();
 	}
 
 	// ------- Internal types
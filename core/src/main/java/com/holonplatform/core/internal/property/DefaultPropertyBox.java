@@ -15,8 +15,13 @@
  */
 package com.holonplatform.core.internal.property;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -27,6 +32,7 @@ import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.Property.PropertyAccessException;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.PropertySetMapping;
 
 /**
  * Default {@link PropertyBox} implementation.
@@ -34,6 +40,10 @@ import com.holonplatform.core.property.PropertySet;
  * Property values are stored internally using a {@link HashMap}. Property value
  * access is thread-safe.
  * </p>
+ * <p>
+ * When change tracking is enabled, the dirty properties are recorded as a bitmask
+ * of the property positions in the property set.
+ * </p>
  * 
  * @since 5.0.0
  * 
@@ -47,6 +57,11 @@ public class DefaultPropertyBox extends AbstractPropertyBox {
 	 */
 	protected final Map<Property<?>, Object> propertyValues;
 
+	/**
+	 * Dirty property positions, <code>null</code> if changes are not tracked
+	 */
+	private BitSet dirty;
+
 	/**
 	 * Construct a new PropertyBox using given <code>properties</code> as property
 	 * set.
@@ -102,10 +117,116 @@ public class DefaultPropertyBox extends AbstractPropertyBox {
 	@Override
 	protected <T> void setPropertyValue(Property<T> property, T value) throws PropertyAccessException {
 		synchronized (propertyValues) {
-			if (value == null) {
-				propertyValues.remove(property);
-			} else {
-				propertyValues.put(property, value);
+			final Object previous = (value == null) ? propertyValues.remove(property)
+					: propertyValues.put(property, value);
+			if (dirty != null && !Objects.deepEquals(previous, value)) {
+				final int index = getPropertyIndex(property);
+				if (index > -1) {
+					dirty.set(index);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Enable the property value changes tracking. The current values are considered the initial box state.
+	 */
+	void trackChanges() {
+		synchronized (propertyValues) {
+			dirty = new BitSet(getPropertySet().size());
+		}
+	}
+
+	/**
+	 * Get the position of given property in the box property set.
+	 * @param property The property
+	 * @return The property position, <code>-1</code> if not found
+	 */
+	private int getPropertyIndex(Property<?> property) {
+		final PropertySet<?> propertySet = getPropertySet();
+		if (propertySet instanceof DefaultPropertySet) {
+			return ((DefaultPropertySet<?>) propertySet).getPropertyIndex(property);
+		}
+		int i = 0;
+		for (Property<?> p : propertySet) {
+			if (p.equals(property)) {
+				return i;
+			}
+			i++;
+		}
+		return -1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBox#isTrackingChanges()
+	 */
+	@Override
+	public boolean isTrackingChanges() {
+		synchronized (propertyValues) {
+			return dirty != null;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBox#getDirtyProperties()
+	 */
+	@Override
+	public List<Property<?>> getDirtyProperties() {
+		final BitSet positions;
+		synchronized (propertyValues) {
+			if (dirty == null || dirty.isEmpty()) {
+				return Collections.emptyList();
+			}
+			positions = (BitSet) dirty.clone();
+		}
+		final List<Property<?>> properties = new ArrayList<>(positions.cardinality());
+		int i = 0;
+		for (Property<?> property : getPropertySet()) {
+			if (positions.get(i++)) {
+				properties.add(property);
+			}
+		}
+		return Collections.unmodifiableList(properties);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBox#isDirty(com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public boolean isDirty(Property<?> property) {
+		ObjectUtils.argumentNotNull(property, "Property must be not null");
+		synchronized (propertyValues) {
+			if (dirty == null || dirty.isEmpty()) {
+				return false;
+			}
+			final int index = getPropertyIndex(property);
+			return index > -1 && dirty.get(index);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBox#isDirty()
+	 */
+	@Override
+	public boolean isDirty() {
+		synchronized (propertyValues) {
+			return dirty != null && !dirty.isEmpty();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBox#clearDirty()
+	 */
+	@Override
+	public void clearDirty() {
+		synchronized (propertyValues) {
+			if (dirty != null) {
+				dirty.clear();
 			}
 		}
 	}
@@ -153,6 +274,8 @@ public class DefaultPropertyBox extends AbstractPropertyBox {
 
 		private final DefaultPropertyBox instance;
 
+		private boolean trackChanges = false;
+
 		/**
 		 * Constructor.
 		 * @param <P>        Actual property type
@@ -243,15 +366,20 @@ public class DefaultPropertyBox extends AbstractPropertyBox {
 		 * @see com.holonplatform.core.property.PropertyBox.Builder#copyValues(com.
 		 * holonplatform.core.property.PropertyBox)
 		 */
-		@SuppressWarnings("unchecked")
 		@Override
 		public Builder copyValues(PropertyBox source) {
 			ObjectUtils.argumentNotNull(source, "Source PropertyBox must be not null");
-			for (Property p : source) {
-				if (!p.isReadOnly() && this.instance.contains(p)) {
-					this.instance.setValue(p, source.getValue(p));
-				}
-			}
+			PropertySetMapping.of(source, this.instance).copy(source, this.instance);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBox.Builder#trackChanges(boolean)
+		 */
+		@Override
+		public Builder trackChanges(boolean trackChanges) {
+			this.trackChanges = trackChanges;
 			return this;
 		}
 
@@ -262,6 +390,9 @@ public class DefaultPropertyBox extends AbstractPropertyBox {
 		 */
 		@Override
 		public PropertyBox build() {
+			if (trackChanges) {
+				instance.trackChanges();
+			}
 			return instance;
 		}
 
@@ -0,0 +1,502 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.property;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.ValidationResult;
+import com.holonplatform.core.Validator;
+import com.holonplatform.core.Validator.ValidationException;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertyBoxBatchValidator;
+import com.holonplatform.core.property.PropertySet;
+
+/**
+ * Default {@link PropertyBoxBatchValidator} implementation.
+ *
+ * @since 5.6.0
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class DefaultPropertyBoxBatchValidator implements PropertyBoxBatchValidator {
+
+	/**
+	 * Max number of rows validated by a single fork/join task
+	 */
+	private static final int LEAF_SIZE = 64;
+
+	/**
+	 * Default stream chunk size
+	 */
+	private static final int DEFAULT_CHUNK_SIZE = 8192;
+
+	/*
+	 * Properties to validate
+	 */
+	private final Property[] properties;
+
+	/*
+	 * PropertyBox validators
+	 */
+	private final Validator<PropertyBox>[] propertyBoxValidators;
+
+	private final boolean failFast;
+	private final boolean parallel;
+	private final ForkJoinPool pool;
+	private final int chunkSize;
+
+	/**
+	 * Constructor.
+	 * @param propertySet Property set (not null)
+	 * @param propertyBoxValidators PropertyBox validators (not null)
+	 * @param mode Validation mode (not null)
+	 * @param parallel Whether to validate the rows in parallel
+	 * @param pool Fork/join pool to use (not null)
+	 * @param chunkSize Stream chunk size
+	 */
+	public DefaultPropertyBoxBatchValidator(PropertySet<?> propertySet,
+			List<Validator<PropertyBox>> propertyBoxValidators, Mode mode, boolean parallel, ForkJoinPool pool,
+			int chunkSize) {
+		super();
+		ObjectUtils.argumentNotNull(propertySet, "PropertySet must be not null");
+		ObjectUtils.argumentNotNull(propertyBoxValidators, "PropertyBox validators must be not null");
+		ObjectUtils.argumentNotNull(mode, "Validation mode must be not null");
+		ObjectUtils.argumentNotNull(pool, "ForkJoinPool must be not null");
+		this.properties = propertySet.stream().toArray(Property[]::new);
+		this.propertyBoxValidators = propertyBoxValidators.toArray(new Validator[propertyBoxValidators.size()]);
+		this.failFast = (mode == Mode.FAIL_FAST);
+		this.parallel = parallel;
+		this.pool = pool;
+		this.chunkSize = chunkSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxBatchValidator#validate(com.holonplatform.core.property.
+	 * PropertyBox)
+	 */
+	@Override
+	public ValidationResult validate(PropertyBox propertyBox) {
+		ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+		final RowFailure failure = validateRow(propertyBox, 0, null);
+		return (failure != null) ? failure.asValidationResult() : ValidationResult.valid();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxBatchValidator#validate(java.util.Collection)
+	 */
+	@Override
+	public Report validate(Collection<? extends PropertyBox> propertyBoxes) {
+		ObjectUtils.argumentNotNull(propertyBoxes, "PropertyBox collection must be not null");
+		final BatchState state = new BatchState();
+		if (parallel && propertyBoxes.size() > LEAF_SIZE) {
+			final PropertyBox[] rows = propertyBoxes.toArray(new PropertyBox[propertyBoxes.size()]);
+			validateRows(rows, rows.length, 0, state);
+		} else {
+			long index = 0;
+			for (PropertyBox propertyBox : propertyBoxes) {
+				if (state.stop) {
+					break;
+				}
+				validateRow(propertyBox, index++, state);
+			}
+		}
+		return state.getReport();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxBatchValidator#validate(java.util.stream.Stream)
+	 */
+	@Override
+	public Report validate(Stream<? extends PropertyBox> propertyBoxes) {
+		ObjectUtils.argumentNotNull(propertyBoxes, "PropertyBox stream must be not null");
+		final BatchState state = new BatchState();
+		final Iterator<? extends PropertyBox> iterator = propertyBoxes.iterator();
+		final PropertyBox[] chunk = new PropertyBox[chunkSize];
+		long baseIndex = 0;
+		while (iterator.hasNext() && !state.stop) {
+			int count = 0;
+			while (count < chunkSize && iterator.hasNext()) {
+				chunk[count++] = iterator.next();
+			}
+			validateRows(chunk, count, baseIndex, state);
+			baseIndex += count;
+		}
+		return state.getReport();
+	}
+
+	/**
+	 * Validate the first <code>count</code> rows of given array, in parallel if enabled.
+	 * @param rows Rows
+	 * @param count Rows count
+	 * @param baseIndex Index of the first row in the batch
+	 * @param state Batch state
+	 */
+	private void validateRows(PropertyBox[] rows, int count, long baseIndex, BatchState state) {
+		if (parallel && count > LEAF_SIZE) {
+			pool.invoke(new ValidationTask(rows, 0, count, baseIndex, state));
+		} else {
+			for (int i = 0; i < count && !state.stop; i++) {
+				validateRow(rows[i], baseIndex + i, state);
+			}
+		}
+	}
+
+	/**
+	 * Validate a row.
+	 * @param propertyBox The row to validate
+	 * @param index Row index
+	 * @param state Batch state, <code>null</code> if not in batch mode
+	 * @return The row failure, <code>null</code> if the row is valid
+	 */
+	private RowFailure validateRow(PropertyBox propertyBox, long index, BatchState state) {
+		Map<Property, ValidationResult> propertyFailures = null;
+		ValidationResult propertyBoxFailures = ValidationResult.valid();
+		for (int i = 0; i < properties.length; i++) {
+			final Property property = properties[i];
+			final ValidationResult result = check(property, propertyBox.getValue(property));
+			if (!result.isValid()) {
+				if (propertyFailures == null) {
+					propertyFailures = new LinkedHashMap<>(4);
+				}
+				propertyFailures.put(property, result);
+				if (failFast) {
+					break;
+				}
+			}
+		}
+		if (propertyBoxValidators.length > 0 && (propertyFailures == null || !failFast)) {
+			final ValidationResult.Builder builder = ValidationResult.builder();
+			for (Validator<PropertyBox> validator : propertyBoxValidators) {
+				builder.add(validator.check(propertyBox));
+				if (failFast && !builder.isValid()) {
+					break;
+				}
+			}
+			propertyBoxFailures = builder.build();
+		}
+		if (state != null) {
+			state.validated.increment();
+		}
+		if (propertyFailures == null && propertyBoxFailures.isValid()) {
+			return null;
+		}
+		final RowFailure failure = new DefaultRowFailure(index, propertyBox,
+				(propertyFailures != null) ? propertyFailures : Collections.emptyMap(), propertyBoxFailures);
+		if (state != null && (!failFast || state.stop())) {
+			state.failures.add(failure);
+		}
+		return failure;
+	}
+
+	/**
+	 * Check given property value using {@link Property#validate(Object)}, in order to honor any property specific
+	 * validation logic, converting the validation exception, if any, into a {@link ValidationResult}.
+	 * @param property Property
+	 * @param value Value to validate
+	 * @return The validation result
+	 */
+	private static ValidationResult check(Property property, Object value) {
+		try {
+			property.validate(value);
+			return ValidationResult.valid();
+		} catch (ValidationException e) {
+			if (!e.getLocalizableMessage().isPresent() && !e.getCauses().isEmpty()) {
+				// unwrap grouped failures
+				final ValidationResult.Builder builder = ValidationResult.builder();
+				for (ValidationException cause : e.getCauses()) {
+					builder.failure(cause);
+				}
+				return builder.build();
+			}
+			return ValidationResult.of(e);
+		}
+	}
+
+	/**
+	 * Batch validation state.
+	 */
+	private static final class BatchState {
+
+		final LongAdder validated = new LongAdder();
+		final Queue<RowFailure> failures = new ConcurrentLinkedQueue<>();
+		volatile boolean stop = false;
+
+		/**
+		 * Stop the batch validation.
+		 * @return <code>true</code> if the validation was stopped by this call, <code>false</code> if it was already
+		 *         stopped
+		 */
+		synchronized boolean stop() {
+			if (stop) {
+				return false;
+			}
+			stop = true;
+			return true;
+		}
+
+		Report getReport() {
+			final List<RowFailure> rows = new ArrayList<>(failures);
+			rows.sort(Comparator.comparingLong(RowFailure::getIndex));
+			return new DefaultReport(validated.sum(), rows);
+		}
+
+	}
+
+	/**
+	 * Fork/join rows validation task.
+	 */
+	private final class ValidationTask extends RecursiveAction {
+
+		private static final long serialVersionUID = -2281604787591718227L;
+
+		private final PropertyBox[] rows;
+		private final int from;
+		private final int to;
+		private final long baseIndex;
+		private final BatchState state;
+
+		ValidationTask(PropertyBox[] rows, int from, int to, long baseIndex, BatchState state) {
+			super();
+			this.rows = rows;
+			this.from = from;
+			this.to = to;
+			this.baseIndex = baseIndex;
+			this.state = state;
+		}
+
+		@Override
+		protected void compute() {
+			if (state.stop) {
+				return;
+			}
+			if (to - from <= LEAF_SIZE) {
+				for (int i = from; i < to && !state.stop; i++) {
+					validateRow(rows[i], baseIndex + i, state);
+				}
+			} else {
+				final int middle = (from + to) >>> 1;
+				invokeAll(new ValidationTask(rows, from, middle, baseIndex, state),
+						new ValidationTask(rows, middle, to, baseIndex, state));
+			}
+		}
+
+	}
+
+	/**
+	 * Default {@link Report} implementation.
+	 */
+	private static final class DefaultReport implements Report {
+
+		private final long validatedCount;
+		private final List<RowFailure> failures;
+
+		DefaultReport(long validatedCount, List<RowFailure> failures) {
+			super();
+			this.validatedCount = validatedCount;
+			this.failures = Collections.unmodifiableList(failures);
+		}
+
+		@Override
+		public boolean isValid() {
+			return failures.isEmpty();
+		}
+
+		@Override
+		public long getValidatedCount() {
+			return validatedCount;
+		}
+
+		@Override
+		public List<RowFailure> getFailures() {
+			return failures;
+		}
+
+		@Override
+		public String toString() {
+			return "Report [validatedCount=" + validatedCount + ", failures=" + failures + "]";
+		}
+
+	}
+
+	/**
+	 * Default {@link RowFailure} implementation.
+	 */
+	private static final class DefaultRowFailure implements RowFailure {
+
+		private final long index;
+		private final PropertyBox propertyBox;
+		private final Map<Property, ValidationResult> propertyFailures;
+		private final ValidationResult propertyBoxFailures;
+
+		DefaultRowFailure(long index, PropertyBox propertyBox, Map<Property, ValidationResult> propertyFailures,
+				ValidationResult propertyBoxFailures) {
+			super();
+			this.index = index;
+			this.propertyBox = propertyBox;
+			this.propertyFailures = Collections.unmodifiableMap(propertyFailures);
+			this.propertyBoxFailures = propertyBoxFailures;
+		}
+
+		@Override
+		public long getIndex() {
+			return index;
+		}
+
+		@Override
+		public PropertyBox getPropertyBox() {
+			return propertyBox;
+		}
+
+		@Override
+		public Map<Property, ValidationResult> getPropertyFailures() {
+			return propertyFailures;
+		}
+
+		@Override
+		public ValidationResult getPropertyBoxFailures() {
+			return propertyBoxFailures;
+		}
+
+		@Override
+		public ValidationResult asValidationResult() {
+			final ValidationResult.Builder builder = ValidationResult.builder();
+			propertyFailures.values().forEach(r -> builder.add(r));
+			builder.add(propertyBoxFailures);
+			return builder.build();
+		}
+
+		@Override
+		public String toString() {
+			return "RowFailure [index=" + index + ", propertyFailures=" + propertyFailures + ", propertyBoxFailures="
+					+ propertyBoxFailures + "]";
+		}
+
+	}
+
+	// Builder
+
+	/**
+	 * Default {@link Builder} implementation.
+	 */
+	public static class DefaultBuilder implements Builder {
+
+		private final PropertySet<?> propertySet;
+		private final List<Validator<PropertyBox>> propertyBoxValidators = new ArrayList<>(4);
+		private Mode mode = Mode.COLLECT_ALL;
+		private boolean parallel = true;
+		private ForkJoinPool pool;
+		private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+		/**
+		 * Constructor.
+		 * @param propertySet Property set (not null)
+		 */
+		public DefaultBuilder(PropertySet<?> propertySet) {
+			super();
+			ObjectUtils.argumentNotNull(propertySet, "PropertySet must be not null");
+			this.propertySet = propertySet;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBoxBatchValidator.Builder#mode(com.holonplatform.core.property.
+		 * PropertyBoxBatchValidator.Mode)
+		 */
+		@Override
+		public Builder mode(Mode mode) {
+			ObjectUtils.argumentNotNull(mode, "Validation mode must be not null");
+			this.mode = mode;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see
+		 * com.holonplatform.core.property.PropertyBoxBatchValidator.Builder#withValidator(com.holonplatform.core.
+		 * Validator)
+		 */
+		@Override
+		public Builder withValidator(Validator<PropertyBox> validator) {
+			ObjectUtils.argumentNotNull(validator, "Validator must be not null");
+			this.propertyBoxValidators.add(validator);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBoxBatchValidator.Builder#parallel(boolean)
+		 */
+		@Override
+		public Builder parallel(boolean parallel) {
+			this.parallel = parallel;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see
+		 * com.holonplatform.core.property.PropertyBoxBatchValidator.Builder#pool(java.util.concurrent.ForkJoinPool)
+		 */
+		@Override
+		public Builder pool(ForkJoinPool pool) {
+			ObjectUtils.argumentNotNull(pool, "ForkJoinPool must be not null");
+			this.pool = pool;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBoxBatchValidator.Builder#chunkSize(int)
+		 */
+		@Override
+		public Builder chunkSize(int chunkSize) {
+			if (chunkSize < 1) {
+				throw new IllegalArgumentException("Chunk size must be greater than 0");
+			}
+			this.chunkSize = chunkSize;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBoxBatchValidator.Builder#build()
+		 */
+		@Override
+		public PropertyBoxBatchValidator build() {
+			return new DefaultPropertyBoxBatchValidator(propertySet, propertyBoxValidators, mode, parallel,
+					(pool != null) ? pool : ForkJoinPool.commonPool(), chunkSize);
+		}
+
+	}
+
+}
@@ -0,0 +1,1284 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.property;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertyBoxCodec;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.VirtualProperty;
+
+/**
+ * Default {@link PropertyBoxCodec} implementation.
+ * <p>
+ * Message layout: the <code>PB</code> magic bytes, the format version, a flags byte, the 8 bytes schema fingerprint and
+ * the optional embedded schema, followed by a single record or, for sequences, by a list of records each one preceded
+ * by a marker byte and terminated by an end marker. A record is made of the null bitmap followed by the non null
+ * values, in schema order.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class DefaultPropertyBoxCodec implements PropertyBoxCodec {
+
+	/**
+	 * Default max length of the variable-length data accepted when decoding: 16 MiB
+	 */
+	public static final int DEFAULT_MAX_LENGTH = 16 * 1024 * 1024;
+
+	private static final int MAGIC_0 = 'P';
+	private static final int MAGIC_1 = 'B';
+	private static final int VERSION = 1;
+
+	private static final int FLAG_SCHEMA = 0x01;
+	private static final int FLAG_SEQUENCE = 0x02;
+
+	private static final int MARKER_RECORD = 1;
+	private static final int MARKER_END = 0;
+
+	/*
+	 * Max encoded sink size kept between the records of a sequence before flushing to the stream
+	 */
+	private static final int FLUSH_SIZE = 8192;
+
+	/*
+	 * Max cached foreign schemas
+	 */
+	private static final int MAX_FOREIGN_SCHEMAS = 32;
+
+	/*
+	 * Date value kinds
+	 */
+	private static final int DATE_UTIL = 0;
+	private static final int DATE_SQL = 1;
+	private static final int DATE_SQL_TIME = 2;
+	private static final int DATE_SQL_TIMESTAMP = 3;
+	private static final int DATE_SERIALIZED = 127;
+
+	/*
+	 * Packages of the classes which can always be deserialized as part of a serialized value
+	 */
+	private static final Set<String> DESERIALIZABLE_PACKAGES = new HashSet<>(
+			Arrays.asList("java.lang", "java.math", "java.time", "java.util"));
+
+	private final PropertySet<?> propertySet;
+	private final Schema schema;
+	private final long fingerprint;
+
+	private final byte[] header;
+	private final byte[] sequenceHeader;
+
+	/*
+	 * Additional types allowed for deserialization
+	 */
+	private final Set<Class<?>> deserializableTypes;
+
+	/*
+	 * Max length of the variable-length data accepted when decoding
+	 */
+	private final int maxLength;
+
+	/*
+	 * Decoding schemas of foreign data, by fingerprint. At most MAX_FOREIGN_SCHEMAS are cached.
+	 */
+	private final ConcurrentMap<Long, Schema> foreignSchemas = new ConcurrentHashMap<>(4);
+
+	/**
+	 * Constructor.
+	 * @param propertySet Property set to use as schema (not null)
+	 * @param embedSchema Whether to embed the schema in the encoded messages
+	 */
+	public DefaultPropertyBoxCodec(PropertySet<?> propertySet, boolean embedSchema) {
+		this(propertySet, embedSchema, null);
+	}
+
+	/**
+	 * Constructor.
+	 * @param propertySet Property set to use as schema (not null)
+	 * @param embedSchema Whether to embed the schema in the encoded messages
+	 * @param deserializableTypes Additional types which are allowed to be deserialized as part of a serialized value
+	 *        (may be null)
+	 */
+	public DefaultPropertyBoxCodec(PropertySet<?> propertySet, boolean embedSchema,
+			Set<Class<?>> deserializableTypes) {
+		this(propertySet, embedSchema, deserializableTypes, DEFAULT_MAX_LENGTH);
+	}
+
+	/**
+	 * Constructor.
+	 * @param propertySet Property set to use as schema (not null)
+	 * @param embedSchema Whether to embed the schema in the encoded messages
+	 * @param deserializableTypes Additional types which are allowed to be deserialized as part of a serialized value
+	 *        (may be null)
+	 * @param maxLength Max length of the variable-length data accepted when decoding, i.e. the max size in bytes of
+	 *        strings, byte arrays and serialized values and the max number of properties of an embedded schema (must
+	 *        be greater than 0)
+	 */
+	public DefaultPropertyBoxCodec(PropertySet<?> propertySet, boolean embedSchema,
+			Set<Class<?>> deserializableTypes, int maxLength) {
+		super();
+		ObjectUtils.argumentNotNull(propertySet, "PropertySet must be not null");
+		if (maxLength <= 0) {
+			throw new IllegalArgumentException("Max length must be greater than 0");
+		}
+		this.propertySet = propertySet;
+		this.maxLength = maxLength;
+		this.deserializableTypes = (deserializableTypes != null) ? new HashSet<>(deserializableTypes)
+				: new HashSet<>(0);
+		final List<Property> ps = new ArrayList<>(propertySet.size());
+		for (Property<?> property : propertySet) {
+			if (!(property instanceof VirtualProperty)) {
+				ps.add(property);
+			}
+		}
+		final Property[] properties = ps.toArray(new Property[ps.size()]);
+		final ValueType[] types = new ValueType[properties.length];
+		final Class[] classes = new Class[properties.length];
+		final String[] names = new String[properties.length];
+		for (int i = 0; i < properties.length; i++) {
+			classes[i] = properties[i].getType();
+			types[i] = ValueType.of(classes[i]);
+			names[i] = (properties[i].getName() != null) ? properties[i].getName() : "";
+		}
+		this.schema = new Schema(properties, types, classes);
+		this.fingerprint = fingerprint(names, types, classes);
+		this.header = header(names, types, classes, embedSchema, false);
+		this.sequenceHeader = header(names, types, classes, embedSchema, true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxCodec#getPropertySet()
+	 */
+	@Override
+	public PropertySet<?> getPropertySet() {
+		return propertySet;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxCodec#getSchemaFingerprint()
+	 */
+	@Override
+	public long getSchemaFingerprint() {
+		return fingerprint;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxCodec#encode(com.holonplatform.core.property.PropertyBox)
+	 */
+	@Override
+	public byte[] encode(PropertyBox propertyBox) {
+		return encodeMessage(propertyBox).toByteArray();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxCodec#encode(com.holonplatform.core.property.PropertyBox,
+	 * java.nio.ByteBuffer)
+	 */
+	@Override
+	public void encode(PropertyBox propertyBox, ByteBuffer buffer) {
+		ObjectUtils.argumentNotNull(buffer, "Buffer must be not null");
+		encodeMessage(propertyBox).writeTo(buffer);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxCodec#encode(com.holonplatform.core.property.PropertyBox,
+	 * java.io.OutputStream)
+	 */
+	@Override
+	public void encode(PropertyBox propertyBox, OutputStream out) throws IOException {
+		ObjectUtils.argumentNotNull(out, "OutputStream must be not null");
+		encodeMessage(propertyBox).writeTo(out);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxCodec#encodeAll(java.lang.Iterable, java.io.OutputStream)
+	 */
+	@Override
+	public void encodeAll(Iterable<? extends PropertyBox> propertyBoxes, OutputStream out) throws IOException {
+		ObjectUtils.argumentNotNull(propertyBoxes, "PropertyBoxes must be not null");
+		ObjectUtils.argumentNotNull(out, "OutputStream must be not null");
+		final ByteSink sink = new ByteSink(FLUSH_SIZE + 1024);
+		sink.write(sequenceHeader);
+		for (PropertyBox propertyBox : propertyBoxes) {
+			ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+			sink.write(MARKER_RECORD);
+			writeRecord(propertyBox, sink);
+			if (sink.size() >= FLUSH_SIZE) {
+				sink.writeTo(out);
+				sink.reset();
+			}
+		}
+		sink.write(MARKER_END);
+		sink.writeTo(out);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxCodec#decode(byte[])
+	 */
+	@Override
+	public PropertyBox decode(byte[] data) {
+		ObjectUtils.argumentNotNull(data, "Data must be not null");
+		return decode(ByteBuffer.wrap(data));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxCodec#decode(java.nio.ByteBuffer)
+	 */
+	@Override
+	public PropertyBox decode(ByteBuffer buffer) {
+		ObjectUtils.argumentNotNull(buffer, "Buffer must be not null");
+		try {
+			return decodeMessage(new BufferSource(buffer, maxLength));
+		} catch (IOException e) {
+			// not expected from a buffer source
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxCodec#decode(java.io.InputStream)
+	 */
+	@Override
+	public PropertyBox decode(InputStream in) throws IOException {
+		ObjectUtils.argumentNotNull(in, "InputStream must be not null");
+		return decodeMessage(new StreamSource(in, maxLength));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxCodec#decodeAll(java.io.InputStream)
+	 */
+	@Override
+	public Stream<PropertyBox> decodeAll(InputStream in) throws IOException {
+		ObjectUtils.argumentNotNull(in, "InputStream must be not null");
+		return decodeSequence(new StreamSource(in, maxLength));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxCodec#decodeAll(java.nio.ByteBuffer)
+	 */
+	@Override
+	public Stream<PropertyBox> decodeAll(ByteBuffer buffer) {
+		ObjectUtils.argumentNotNull(buffer, "Buffer must be not null");
+		try {
+			return decodeSequence(new BufferSource(buffer, maxLength));
+		} catch (IOException e) {
+			// not expected from a buffer source
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// ------- encoding
+
+	private ByteSink encodeMessage(PropertyBox propertyBox) {
+		ObjectUtils.argumentNotNull(propertyBox, "PropertyBox must be not null");
+		final ByteSink sink = new ByteSink(header.length + 128);
+		sink.write(header);
+		writeRecord(propertyBox, sink);
+		return sink;
+	}
+
+	private void writeRecord(PropertyBox propertyBox, ByteSink sink) {
+		final Property[] properties = schema.properties;
+		final int bitmap = sink.reserve(bitmapSize(properties.length));
+		for (int i = 0; i < properties.length; i++) {
+			final Object value = propertyBox.contains(properties[i]) ? propertyBox.getValue(properties[i]) : null;
+			if (value != null) {
+				sink.setBit(bitmap, i);
+				try {
+					writeValue(schema.types[i], value, sink);
+				} catch (ClassCastException e) {
+					throw new PropertyBoxCodec.CodecException(
+							"Invalid value type [" + value.getClass().getName() + "] for property " + properties[i], e);
+				}
+			}
+		}
+	}
+
+	private static void writeValue(ValueType type, Object value, ByteSink sink) {
+		switch (type) {
+		case BOOLEAN:
+			sink.write(((Boolean) value).booleanValue() ? 1 : 0);
+			break;
+		case BYTE:
+			sink.write(((Byte) value).byteValue());
+			break;
+		case SHORT:
+			sink.writeSignedVarLong(((Short) value).longValue());
+			break;
+		case INTEGER:
+			sink.writeSignedVarLong(((Integer) value).longValue());
+			break;
+		case LONG:
+			sink.writeSignedVarLong(((Long) value).longValue());
+			break;
+		case FLOAT:
+			sink.writeInt(Float.floatToIntBits(((Float) value).floatValue()));
+			break;
+		case DOUBLE:
+			sink.writeLong(Double.doubleToLongBits(((Double) value).doubleValue()));
+			break;
+		case CHARACTER:
+			sink.writeVarLong(((Character) value).charValue());
+			break;
+		case STRING:
+			sink.writeString((String) value);
+			break;
+		case BIG_INTEGER:
+			sink.writeBytes(((BigInteger) value).toByteArray());
+			break;
+		case BIG_DECIMAL:
+			sink.writeSignedVarLong(((BigDecimal) value).scale());
+			sink.writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+			break;
+		case ENUM:
+			sink.writeVarLong(((Enum) value).ordinal());
+			break;
+		case LOCAL_DATE:
+			sink.writeSignedVarLong(((LocalDate) value).toEpochDay());
+			break;
+		case LOCAL_TIME:
+			sink.writeVarLong(((LocalTime) value).toNanoOfDay());
+			break;
+		case LOCAL_DATE_TIME:
+			sink.writeSignedVarLong(((LocalDateTime) value).toLocalDate().toEpochDay());
+			sink.writeVarLong(((LocalDateTime) value).toLocalTime().toNanoOfDay());
+			break;
+		case INSTANT:
+			sink.writeSignedVarLong(((Instant) value).getEpochSecond());
+			sink.writeVarLong(((Instant) value).getNano());
+			break;
+		case DATE:
+			writeDate((Date) value, sink);
+			break;
+		case BYTES:
+			sink.writeBytes((byte[]) value);
+			break;
+		case SERIALIZABLE:
+		default:
+			sink.writeBytes(serialize(value));
+			break;
+		}
+	}
+
+	private static void writeDate(Date value, ByteSink sink) {
+		final Class<?> type = value.getClass();
+		if (type == Date.class) {
+			sink.write(DATE_UTIL);
+			sink.writeSignedVarLong(value.getTime());
+		} else if (type == java.sql.Date.class) {
+			sink.write(DATE_SQL);
+			sink.writeSignedVarLong(value.getTime());
+		} else if (type == Time.class) {
+			sink.write(DATE_SQL_TIME);
+			sink.writeSignedVarLong(value.getTime());
+		} else if (type == Timestamp.class) {
+			sink.write(DATE_SQL_TIMESTAMP);
+			// whole seconds and nanoseconds
+			sink.writeSignedVarLong(Math.floorDiv(value.getTime(), 1000L));
+			sink.writeVarLong(((Timestamp) value).getNanos());
+		} else {
+			sink.write(DATE_SERIALIZED);
+			sink.writeBytes(serialize(value));
+		}
+	}
+
+	private static byte[] serialize(Object value) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			oos.writeObject(value);
+		} catch (IOException e) {
+			throw new PropertyBoxCodec.CodecException(
+					"Failed to serialize a value of type [" + value.getClass().getName() + "]", e);
+		}
+		return bytes.toByteArray();
+	}
+
+	// ------- decoding
+
+	private PropertyBox decodeMessage(Source source) throws IOException {
+		final int flags = readHeaderFlags(source);
+		final Schema decodingSchema = readSchema(source, flags);
+		if ((flags & FLAG_SEQUENCE) != 0) {
+			if (source.read() != MARKER_RECORD) {
+				throw new PropertyBoxCodec.CodecException("The message does not contain any PropertyBox");
+			}
+			final PropertyBox propertyBox = readRecord(decodingSchema, source);
+			if (source.read() != MARKER_END) {
+				throw new PropertyBoxCodec.CodecException("The message contains more than one PropertyBox");
+			}
+			return propertyBox;
+		}
+		return readRecord(decodingSchema, source);
+	}
+
+	private Stream<PropertyBox> decodeSequence(Source source) throws IOException {
+		final int flags = readHeaderFlags(source);
+		final Schema decodingSchema = readSchema(source, flags);
+		final Iterator<PropertyBox> iterator = ((flags & FLAG_SEQUENCE) != 0)
+				? new RecordIterator(decodingSchema, source)
+				: Arrays.asList(readRecord(decodingSchema, source)).iterator();
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+	}
+
+	private static int readHeaderFlags(Source source) throws IOException {
+		if (source.read() != MAGIC_0 || source.read() != MAGIC_1) {
+			throw new PropertyBoxCodec.CodecException("Invalid data: not an encoded PropertyBox message");
+		}
+		final int version = source.read();
+		if (version != VERSION) {
+			throw new PropertyBoxCodec.CodecException("Unsupported encoding version: " + version);
+		}
+		return source.read();
+	}
+
+	private Schema readSchema(Source source, int flags) throws IOException {
+		final long messageFingerprint = source.readLong();
+		if ((flags & FLAG_SCHEMA) == 0) {
+			if (messageFingerprint != fingerprint) {
+				throw new PropertyBoxCodec.CodecException("Schema fingerprint mismatch: the data were encoded using "
+						+ "a different property set and the schema was not embedded");
+			}
+			return schema;
+		}
+		// read the embedded schema, growing the arrays as the properties are actually read
+		final int count = source.readLength();
+		String[] names = new String[Math.min(count, 64)];
+		ValueType[] types = new ValueType[names.length];
+		String[] classNames = new String[names.length];
+		for (int i = 0; i < count; i++) {
+			if (i == names.length) {
+				final int size = (int) Math.min(count, names.length * 2L);
+				names = Arrays.copyOf(names, size);
+				types = Arrays.copyOf(types, size);
+				classNames = Arrays.copyOf(classNames, size);
+			}
+			names[i] = source.readString();
+			types[i] = ValueType.of(source.read());
+			classNames[i] = source.readString();
+		}
+		if (messageFingerprint == fingerprint) {
+			return schema;
+		}
+		final Schema cached = foreignSchemas.get(messageFingerprint);
+		if (cached != null) {
+			return cached;
+		}
+		final Schema mapped = mapSchema(names, types, classNames);
+		if (foreignSchemas.size() < MAX_FOREIGN_SCHEMAS) {
+			foreignSchemas.putIfAbsent(messageFingerprint, mapped);
+		}
+		return mapped;
+	}
+
+	/**
+	 * Map a foreign schema to the codec property set, matching the properties by name and type.
+	 * @param names Foreign property names
+	 * @param types Foreign value types
+	 * @param classNames Foreign property type names
+	 * @return The decoding schema
+	 */
+	private Schema mapSchema(String[] names, ValueType[] types, String[] classNames) {
+		final Map<String, Integer> localIndexes = new HashMap<>(schema.properties.length * 2);
+		for (int i = schema.properties.length - 1; i >= 0; i--) {
+			final String name = schema.properties[i].getName();
+			if (name != null) {
+				localIndexes.put(name, i);
+			}
+		}
+		final Property[] properties = new Property[names.length];
+		final Class[] classes = new Class[names.length];
+		for (int i = 0; i < names.length; i++) {
+			final Integer index = localIndexes.get(names[i]);
+			if (index != null && schema.types[index] == types[i]
+					&& ((types[i] != ValueType.ENUM && types[i] != ValueType.SERIALIZABLE)
+							|| schema.classes[index].getName().equals(classNames[i]))) {
+				properties[i] = schema.properties[index];
+				classes[i] = schema.classes[index];
+			}
+		}
+		return new Schema(properties, types, classes);
+	}
+
+	private PropertyBox readRecord(Schema decodingSchema, Source source) throws IOException {
+		final Property[] properties = decodingSchema.properties;
+		final byte[] bitmap = new byte[bitmapSize(properties.length)];
+		source.read(bitmap);
+		final PropertyBox.Builder builder = PropertyBox.builder(propertySet).invalidAllowed(true);
+		for (int i = 0; i < properties.length; i++) {
+			if ((bitmap[i >>> 3] & (1 << (i & 7))) != 0) {
+				final Object value = readValue(decodingSchema, i, source);
+				if (properties[i] != null) {
+					builder.setIgnoreReadOnly(properties[i], value);
+				}
+			}
+		}
+		final PropertyBox propertyBox = builder.build();
+		propertyBox.setInvalidAllowed(false);
+		return propertyBox;
+	}
+
+	private Object readValue(Schema decodingSchema, int index, Source source) throws IOException {
+		switch (decodingSchema.types[index]) {
+		case BOOLEAN:
+			return source.read() != 0;
+		case BYTE:
+			return (byte) source.read();
+		case SHORT:
+			return (short) source.readSignedVarLong();
+		case INTEGER:
+			return (int) source.readSignedVarLong();
+		case LONG:
+			return source.readSignedVarLong();
+		case FLOAT:
+			return Float.intBitsToFloat(source.readInt());
+		case DOUBLE:
+			return Double.longBitsToDouble(source.readLong());
+		case CHARACTER:
+			return (char) source.readVarLong();
+		case STRING:
+			return source.readString();
+		case BIG_INTEGER:
+			return new BigInteger(source.readBytes());
+		case BIG_DECIMAL: {
+			final int scale = (int) source.readSignedVarLong();
+			return new BigDecimal(new BigInteger(source.readBytes()), scale);
+		}
+		case ENUM: {
+			final long ordinal = source.readVarLong();
+			final Object[] constants = decodingSchema.getEnumConstants(index);
+			if (constants == null) {
+				// skipped
+				return null;
+			}
+			if (ordinal >= constants.length) {
+				throw new PropertyBoxCodec.CodecException("Invalid ordinal [" + ordinal + "] for enum type ["
+						+ decodingSchema.classes[index].getName() + "]");
+			}
+			return constants[(int) ordinal];
+		}
+		case LOCAL_DATE:
+			return LocalDate.ofEpochDay(source.readSignedVarLong());
+		case LOCAL_TIME:
+			return LocalTime.ofNanoOfDay(source.readVarLong());
+		case LOCAL_DATE_TIME: {
+			final LocalDate date = LocalDate.ofEpochDay(source.readSignedVarLong());
+			return LocalDateTime.of(date, LocalTime.ofNanoOfDay(source.readVarLong()));
+		}
+		case INSTANT: {
+			final long seconds = source.readSignedVarLong();
+			return Instant.ofEpochSecond(seconds, source.readVarLong());
+		}
+		case DATE:
+			return readDate(source);
+		case BYTES:
+			return source.readBytes();
+		case SERIALIZABLE:
+		default: {
+			final byte[] bytes = source.readBytes();
+			return (decodingSchema.classes[index] != null) ? deserialize(bytes, decodingSchema.classes[index]) : null;
+		}
+		}
+	}
+
+	private Date readDate(Source source) throws IOException {
+		final int kind = source.read();
+		switch (kind) {
+		case DATE_UTIL:
+			return new Date(source.readSignedVarLong());
+		case DATE_SQL:
+			return new java.sql.Date(source.readSignedVarLong());
+		case DATE_SQL_TIME:
+			return new Time(source.readSignedVarLong());
+		case DATE_SQL_TIMESTAMP: {
+			final Timestamp timestamp = new Timestamp(source.readSignedVarLong() * 1000L);
+			timestamp.setNanos((int) source.readVarLong());
+			return timestamp;
+		}
+		case DATE_SERIALIZED:
+			return (Date) deserialize(source.readBytes(), Date.class);
+		default:
+			throw new PropertyBoxCodec.CodecException("Invalid date value kind: " + kind);
+		}
+	}
+
+	/**
+	 * Deserialize a value, only allowing the classes which are assignable to given type, the classes listed in
+	 * {@link #deserializableTypes} and the classes of the {@link #DESERIALIZABLE_PACKAGES}, along with the arrays of
+	 * them. If the type is <code>Object</code>, an interface or an abstract class, the classes assignable to it are
+	 * not allowed by default, since they may be any class.
+	 * @param bytes Serialized value
+	 * @param type Expected value type
+	 * @return Deserialized value
+	 */
+	private Object deserialize(byte[] bytes, Class<?> type) {
+		try (ObjectInputStream ois = new RestrictedObjectInputStream(new ByteArrayInputStream(bytes), type)) {
+			final Object value = ois.readObject();
+			if (value != null && !type.isInstance(value)) {
+				throw new PropertyBoxCodec.CodecException("Invalid value type [" + value.getClass().getName()
+						+ "], expected [" + type.getName() + "]");
+			}
+			return value;
+		} catch (IOException | ClassNotFoundException e) {
+			throw new PropertyBoxCodec.CodecException("Failed to deserialize a value of type [" + type.getName() + "]",
+					e);
+		}
+	}
+
+	/**
+	 * {@link ObjectInputStream} which rejects the classes not allowed for deserialization before they are
+	 * instantiated.
+	 */
+	private final class RestrictedObjectInputStream extends ObjectInputStream {
+
+		/*
+		 * Allowed type, null if the expected type is too broad to allow its subtypes
+		 */
+		private final Class<?> type;
+
+		RestrictedObjectInputStream(InputStream in, Class<?> type) throws IOException {
+			super(in);
+			this.type = isBroad(type) ? null : type;
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+			final Class<?> cls = super.resolveClass(desc);
+			if (!isDeserializable(cls)) {
+				throw new InvalidClassException(cls.getName(), "Class not allowed for deserialization");
+			}
+			return cls;
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+			throw new InvalidClassException("Proxy classes are not allowed for deserialization");
+		}
+
+		private boolean isDeserializable(Class<?> cls) {
+			Class<?> c = cls;
+			while (c.isArray()) {
+				c = c.getComponentType();
+			}
+			if (c.isPrimitive() || (type != null && type.isAssignableFrom(c)) || deserializableTypes.contains(c)) {
+				return true;
+			}
+			final Package pkg = c.getPackage();
+			return pkg != null && DESERIALIZABLE_PACKAGES.contains(pkg.getName());
+		}
+
+		private boolean isBroad(Class<?> cls) {
+			return cls == Object.class || cls.isInterface() || Modifier.isAbstract(cls.getModifiers());
+		}
+
+	}
+
+	// ------- schema
+
+	private static int bitmapSize(int count) {
+		return (count + 7) >>> 3;
+	}
+
+	private static long fingerprint(String[] names, ValueType[] types, Class[] classes) {
+		// 64-bit FNV-1a
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < names.length; i++) {
+			hash = fnv(hash, names[i]);
+			hash = (hash ^ types[i].getTag()) * 0x100000001b3L;
+			hash = fnv(hash, classes[i].getName());
+		}
+		return hash;
+	}
+
+	private static long fnv(long hash, String value) {
+		long h = hash;
+		for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			h = (h ^ (b & 0xFF)) * 0x100000001b3L;
+		}
+		// separator
+		return (h ^ 0xFF) * 0x100000001b3L;
+	}
+
+	private byte[] header(String[] names, ValueType[] types, Class[] classes, boolean embedSchema, boolean sequence) {
+		final ByteSink sink = new ByteSink(64);
+		sink.write(MAGIC_0);
+		sink.write(MAGIC_1);
+		sink.write(VERSION);
+		sink.write((embedSchema ? FLAG_SCHEMA : 0) | (sequence ? FLAG_SEQUENCE : 0));
+		sink.writeLong(fingerprint);
+		if (embedSchema) {
+			sink.writeVarLong(names.length);
+			for (int i = 0; i < names.length; i++) {
+				sink.writeString(names[i]);
+				sink.write(types[i].getTag());
+				sink.writeString(classes[i].getName());
+			}
+		}
+		return sink.toByteArray();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultPropertyBoxCodec [propertySet=" + propertySet + ", fingerprint="
+				+ Long.toHexString(fingerprint) + "]";
+	}
+
+	/**
+	 * Decoding schema.
+	 */
+	private static final class Schema {
+
+		/*
+		 * Target properties, null for the values to skip
+		 */
+		final Property[] properties;
+		final ValueType[] types;
+		final Class[] classes;
+		private final Object[][] enumConstants;
+
+		Schema(Property[] properties, ValueType[] types, Class[] classes) {
+			super();
+			this.properties = properties;
+			this.types = types;
+			this.classes = classes;
+			this.enumConstants = new Object[properties.length][];
+			for (int i = 0; i < properties.length; i++) {
+				if (types[i] == ValueType.ENUM && classes[i] != null) {
+					this.enumConstants[i] = classes[i].getEnumConstants();
+				}
+			}
+		}
+
+		Object[] getEnumConstants(int index) {
+			return enumConstants[index];
+		}
+
+	}
+
+	/**
+	 * Encoded value types. The tags are part of the encoding format and must never change.
+	 */
+	enum ValueType {
+
+		BOOLEAN(1), BYTE(2), SHORT(3), INTEGER(4), LONG(5), FLOAT(6), DOUBLE(7), CHARACTER(8), STRING(9),
+		BIG_INTEGER(10), BIG_DECIMAL(11), ENUM(12), LOCAL_DATE(13), LOCAL_TIME(14), LOCAL_DATE_TIME(15), INSTANT(16),
+		DATE(17), BYTES(18), SERIALIZABLE(127);
+
+		private final int tag;
+
+		private ValueType(int tag) {
+			this.tag = tag;
+		}
+
+		int getTag() {
+			return tag;
+		}
+
+		static ValueType of(int tag) {
+			for (ValueType type : values()) {
+				if (type.tag == tag) {
+					return type;
+				}
+			}
+			throw new PropertyBoxCodec.CodecException("Invalid value type tag: " + tag);
+		}
+
+		static ValueType of(Class<?> type) {
+			if (type == Boolean.class || type == boolean.class) {
+				return BOOLEAN;
+			}
+			if (type == Byte.class || type == byte.class) {
+				return BYTE;
+			}
+			if (type == Short.class || type == short.class) {
+				return SHORT;
+			}
+			if (type == Integer.class || type == int.class) {
+				return INTEGER;
+			}
+			if (type == Long.class || type == long.class) {
+				return LONG;
+			}
+			if (type == Float.class || type == float.class) {
+				return FLOAT;
+			}
+			if (type == Double.class || type == double.class) {
+				return DOUBLE;
+			}
+			if (type == Character.class || type == char.class) {
+				return CHARACTER;
+			}
+			if (type == String.class) {
+				return STRING;
+			}
+			if (type == BigInteger.class) {
+				return BIG_INTEGER;
+			}
+			if (type == BigDecimal.class) {
+				return BIG_DECIMAL;
+			}
+			if (type.isEnum()) {
+				return ENUM;
+			}
+			if (type == LocalDate.class) {
+				return LOCAL_DATE;
+			}
+			if (type == LocalTime.class) {
+				return LOCAL_TIME;
+			}
+			if (type == LocalDateTime.class) {
+				return LOCAL_DATE_TIME;
+			}
+			if (type == Instant.class) {
+				return INSTANT;
+			}
+			if (type == Date.class) {
+				return DATE;
+			}
+			if (type == byte[].class) {
+				return BYTES;
+			}
+			return SERIALIZABLE;
+		}
+
+	}
+
+	/**
+	 * Lazy sequence records iterator.
+	 */
+	private final class RecordIterator implements Iterator<PropertyBox> {
+
+		private final Schema decodingSchema;
+		private final Source source;
+
+		private int marker = -1;
+
+		RecordIterator(Schema decodingSchema, Source source) {
+			super();
+			this.decodingSchema = decodingSchema;
+			this.source = source;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (marker < 0) {
+				try {
+					marker = source.read();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				if (marker != MARKER_RECORD && marker != MARKER_END) {
+					throw new PropertyBoxCodec.CodecException("Invalid record marker: " + marker);
+				}
+			}
+			return marker == MARKER_RECORD;
+		}
+
+		@Override
+		public PropertyBox next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			marker = -1;
+			try {
+				return readRecord(decodingSchema, source);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+	}
+
+	/**
+	 * Growable encoding buffer.
+	 */
+	private static final class ByteSink {
+
+		private byte[] buffer;
+		private int size;
+
+		ByteSink(int capacity) {
+			super();
+			this.buffer = new byte[capacity];
+		}
+
+		int size() {
+			return size;
+		}
+
+		void reset() {
+			size = 0;
+		}
+
+		private void ensure(int length) {
+			if (size + length > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + length));
+			}
+		}
+
+		void write(int b) {
+			ensure(1);
+			buffer[size++] = (byte) b;
+		}
+
+		void write(byte[] bytes) {
+			ensure(bytes.length);
+			System.arraycopy(bytes, 0, buffer, size, bytes.length);
+			size += bytes.length;
+		}
+
+		int reserve(int length) {
+			ensure(length);
+			final int position = size;
+			Arrays.fill(buffer, position, position + length, (byte) 0);
+			size += length;
+			return position;
+		}
+
+		void setBit(int position, int bit) {
+			buffer[position + (bit >>> 3)] |= (1 << (bit & 7));
+		}
+
+		void writeVarLong(long value) {
+			ensure(10);
+			long v = value;
+			while ((v & ~0x7FL) != 0) {
+				buffer[size++] = (byte) ((v & 0x7F) | 0x80);
+				v >>>= 7;
+			}
+			buffer[size++] = (byte) v;
+		}
+
+		void writeSignedVarLong(long value) {
+			writeVarLong((value << 1) ^ (value >> 63));
+		}
+
+		void writeInt(int value) {
+			ensure(4);
+			for (int shift = 24; shift >= 0; shift -= 8) {
+				buffer[size++] = (byte) (value >>> shift);
+			}
+		}
+
+		void writeLong(long value) {
+			ensure(8);
+			for (int shift = 56; shift >= 0; shift -= 8) {
+				buffer[size++] = (byte) (value >>> shift);
+			}
+		}
+
+		void writeBytes(byte[] bytes) {
+			writeVarLong(bytes.length);
+			write(bytes);
+		}
+
+		void writeString(String value) {
+			writeBytes(value.getBytes(StandardCharsets.UTF_8));
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(buffer, size);
+		}
+
+		void writeTo(OutputStream out) throws IOException {
+			out.write(buffer, 0, size);
+		}
+
+		void writeTo(ByteBuffer target) {
+			target.put(buffer, 0, size);
+		}
+
+	}
+
+	/**
+	 * Decoding source.
+	 */
+	private abstract static class Source {
+
+		private final int maxLength;
+
+		Source(int maxLength) {
+			super();
+			this.maxLength = maxLength;
+		}
+
+		/**
+		 * Read the next unsigned byte.
+		 * @return The byte value, from 0 to 255
+		 * @throws IOException If an I/O error occurred or the end of data was reached
+		 */
+		abstract int read() throws IOException;
+
+		/**
+		 * Read bytes to fill given array.
+		 * @param bytes The array to fill
+		 * @throws IOException If an I/O error occurred or the end of data was reached
+		 */
+		abstract void read(byte[] bytes) throws IOException;
+
+		long readVarLong() throws IOException {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				final int b = read();
+				value |= (long) (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new PropertyBoxCodec.CodecException("Malformed variable-length integer");
+		}
+
+		long readSignedVarLong() throws IOException {
+			final long value = readVarLong();
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		int readLength() throws IOException {
+			final long length = readVarLong();
+			if (length < 0 || length > Integer.MAX_VALUE) {
+				throw new PropertyBoxCodec.CodecException("Invalid length: " + length);
+			}
+			if (length > maxLength) {
+				throw new PropertyBoxCodec.CodecException(
+						"Length [" + length + "] exceeds the max allowed length [" + maxLength + "]");
+			}
+			return (int) length;
+		}
+
+		int readInt() throws IOException {
+			int value = 0;
+			for (int i = 0; i < 4; i++) {
+				value = (value << 8) | read();
+			}
+			return value;
+		}
+
+		long readLong() throws IOException {
+			long value = 0;
+			for (int i = 0; i < 8; i++) {
+				value = (value << 8) | read();
+			}
+			return value;
+		}
+
+		byte[] readBytes() throws IOException {
+			final byte[] bytes = new byte[readLength()];
+			read(bytes);
+			return bytes;
+		}
+
+		String readString() throws IOException {
+			return new String(readBytes(), StandardCharsets.UTF_8);
+		}
+
+	}
+
+	private static final class StreamSource extends Source {
+
+		private final InputStream in;
+
+		StreamSource(InputStream in, int maxLength) {
+			super(maxLength);
+			this.in = in;
+		}
+
+		@Override
+		int read() throws IOException {
+			final int b = in.read();
+			if (b < 0) {
+				throw new EOFException("Unexpected end of PropertyBox data");
+			}
+			return b;
+		}
+
+		@Override
+		void read(byte[] bytes) throws IOException {
+			int offset = 0;
+			while (offset < bytes.length) {
+				final int count = in.read(bytes, offset, bytes.length - offset);
+				if (count < 0) {
+					throw new EOFException("Unexpected end of PropertyBox data");
+				}
+				offset += count;
+			}
+		}
+
+	}
+
+	private static final class BufferSource extends Source {
+
+		private final ByteBuffer buffer;
+
+		BufferSource(ByteBuffer buffer, int maxLength) {
+			super(maxLength);
+			this.buffer = buffer;
+		}
+
+		@Override
+		int read() {
+			if (!buffer.hasRemaining()) {
+				throw new PropertyBoxCodec.CodecException("Unexpected end of PropertyBox data");
+			}
+			return buffer.get() & 0xFF;
+		}
+
+		@Override
+		void read(byte[] bytes) {
+			if (buffer.remaining() < bytes.length) {
+				throw new PropertyBoxCodec.CodecException("Unexpected end of PropertyBox data");
+			}
+			buffer.get(bytes);
+		}
+
+		@Override
+		byte[] readBytes() throws IOException {
+			final int length = readLength();
+			if (buffer.remaining() < length) {
+				throw new PropertyBoxCodec.CodecException("Unexpected end of PropertyBox data");
+			}
+			final byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			return bytes;
+		}
+
+	}
+
+	/**
+	 * Default {@link Builder} implementation.
+	 */
+	public static class DefaultBuilder implements Builder {
+
+		private final PropertySet<?> propertySet;
+		private boolean embedSchema = false;
+		private final Set<Class<?>> deserializableTypes = new HashSet<>(4);
+		private int maxLength = DEFAULT_MAX_LENGTH;
+
+		/**
+		 * Constructor.
+		 * @param propertySet Property set to use as schema (not null)
+		 */
+		public DefaultBuilder(PropertySet<?> propertySet) {
+			super();
+			ObjectUtils.argumentNotNull(propertySet, "PropertySet must be not null");
+			this.propertySet = propertySet;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBoxCodec.Builder#embedSchema(boolean)
+		 */
+		@Override
+		public Builder embedSchema(boolean embedSchema) {
+			this.embedSchema = embedSchema;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBoxCodec.Builder#deserializableTypes(java.lang.Class[])
+		 */
+		@Override
+		public Builder deserializableTypes(Class<?>... types) {
+			if (types != null) {
+				for (Class<?> type : types) {
+					ObjectUtils.argumentNotNull(type, "Type must be not null");
+					deserializableTypes.add(type);
+				}
+			}
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBoxCodec.Builder#maxLength(int)
+		 */
+		@Override
+		public Builder maxLength(int maxLength) {
+			if (maxLength <= 0) {
+				throw new IllegalArgumentException("Max length must be greater than 0");
+			}
+			this.maxLength = maxLength;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.core.property.PropertyBoxCodec.Builder#build()
+		 */
+		@Override
+		public PropertyBoxCodec build() {
+			return new DefaultPropertyBoxCodec(propertySet, embedSchema, deserializableTypes, maxLength);
+		}
+
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.property;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertyBoxDiff;
+import com.holonplatform.core.property.PropertySet;
+
+/**
+ * Default {@link PropertyBoxDiff} implementation.
+ *
+ * @since 5.6.0
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class DefaultPropertyBoxDiff implements PropertyBoxDiff {
+
+	private final PropertySet<?> propertySet;
+	private final PropertyBox modified;
+	private final BitSet changed;
+	private final List<Property<?>> changedProperties;
+
+	/**
+	 * Constructor.
+	 * @param propertySet The property set of the modified box
+	 * @param modified The modified box
+	 * @param changed The changed properties bitmask
+	 * @param changedProperties The changed properties
+	 */
+	protected DefaultPropertyBoxDiff(PropertySet<?> propertySet, PropertyBox modified, BitSet changed,
+			List<Property<?>> changedProperties) {
+		super();
+		this.propertySet = propertySet;
+		this.modified = modified;
+		this.changed = changed;
+		this.changedProperties = changedProperties;
+	}
+
+	/**
+	 * Compute the changes between given boxes.
+	 * @param original The original property box (not null)
+	 * @param modified The modified property box (not null)
+	 * @return The changes
+	 */
+	public static PropertyBoxDiff of(PropertyBox original, PropertyBox modified) {
+		ObjectUtils.argumentNotNull(original, "Original PropertyBox must be not null");
+		ObjectUtils.argumentNotNull(modified, "Modified PropertyBox must be not null");
+		final DefaultPropertySetMapping mapping = DefaultPropertySetMapping.of(original, modified);
+		final boolean directOriginal = DefaultPropertySetMapping.isDirect(original, mapping.getSource());
+		final boolean directModified = DefaultPropertySetMapping.isDirect(modified, mapping.getTarget());
+		final BitSet changed = new BitSet(mapping.size());
+		final List<Property<?>> changedProperties = new ArrayList<>();
+		for (int i = 0; i < mapping.size(); i++) {
+			if (mapping.isVirtual(i)) {
+				continue;
+			}
+			final Object value = mapping.readTargetValue(modified, directModified, i);
+			final Object originalValue = (mapping.getSourceProperty(i) != null)
+					? mapping.readSourceValue(original, directOriginal, i)
+					: null;
+			if (!Objects.deepEquals(value, originalValue)) {
+				changed.set(i);
+				changedProperties.add(mapping.getTargetProperty(i));
+			}
+		}
+		return new DefaultPropertyBoxDiff(mapping.getTarget(), modified, changed,
+				Collections.unmodifiableList(changedProperties));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxDiff#getPropertySet()
+	 */
+	@Override
+	public PropertySet<?> getPropertySet() {
+		return propertySet;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxDiff#hasChanges()
+	 */
+	@Override
+	public boolean hasChanges() {
+		return !changed.isEmpty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxDiff#isChanged(com.holonplatform.core.property.Property)
+	 */
+	@Override
+	public boolean isChanged(Property<?> property) {
+		ObjectUtils.argumentNotNull(property, "Property must be not null");
+		return changedProperties.contains(property);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxDiff#getChangedMask()
+	 */
+	@Override
+	public BitSet getChangedMask() {
+		return (BitSet) changed.clone();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxDiff#getChangedProperties()
+	 */
+	@Override
+	public List<Property<?>> getChangedProperties() {
+		return changedProperties;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertyBoxDiff#getChangedValues(boolean)
+	 */
+	@Override
+	public PropertyBox getChangedValues(boolean includeIdentifiers) {
+		final PropertySet.Builder builder = PropertySet.builder();
+		int i = 0;
+		for (Property property : propertySet) {
+			final boolean identifier = includeIdentifiers && propertySet.getIdentifiers().contains(property);
+			if (changed.get(i) || identifier) {
+				builder.add(property);
+				if (identifier) {
+					builder.withIdentifier(property);
+				}
+			}
+			i++;
+		}
+		// one-off property set, the mapping is not cached
+		return new DefaultPropertySetMapping(propertySet, (PropertySet<?>) builder.build()).project(modified);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultPropertyBoxDiff [changedProperties=" + changedProperties + "]";
+	}
+
+}
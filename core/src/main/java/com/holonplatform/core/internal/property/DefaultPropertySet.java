@@ -18,7 +18,9 @@ package com.holonplatform.core.internal.property;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -42,6 +44,11 @@ public class DefaultPropertySet<P extends Property> extends ArrayList<P> impleme
 
 	private static final long serialVersionUID = 288703271476761715L;
 
+	/**
+	 * Max number of cached property set mappings
+	 */
+	private static final int MAX_CACHED_MAPPINGS = 8;
+
 	/**
 	 * Identifiers
 	 */
@@ -52,6 +59,37 @@ public class DefaultPropertySet<P extends Property> extends ArrayList<P> impleme
 	 */
 	private MutableParameterSet configuration;
 
+	/**
+	 * Shared path adapter metadata
+	 */
+	private transient volatile PathPropertySetMetadata pathMetadata;
+
+	/**
+	 * Modification count of the set when the path metadata were computed
+	 */
+	private transient int pathMetadataModCount;
+
+	/**
+	 * Most recently used mappings from other property sets to this one
+	 */
+	private transient volatile DefaultPropertySetMapping[] mappings;
+
+	/**
+	 * Property position index
+	 */
+	private transient volatile Map<Property, Integer> propertyIndex;
+
+	/**
+	 * Modification count of the set when the property index was computed
+	 */
+	private transient int propertyIndexModCount;
+
+	/**
+	 * Number of property replacements, which are not structural modifications and so do not update the
+	 * <code>modCount</code>
+	 */
+	private transient int replacements;
+
 	/**
 	 * Default empty constructor
 	 */
@@ -143,6 +181,7 @@ public class DefaultPropertySet<P extends Property> extends ArrayList<P> impleme
 			identifiers = new LinkedHashSet<>(4);
 		}
 		identifiers.add(property);
+		pathMetadata = null;
 	}
 
 	/**
@@ -154,6 +193,99 @@ public class DefaultPropertySet<P extends Property> extends ArrayList<P> impleme
 		ObjectUtils.argumentNotNull(properties, "Identifier properties must be not null");
 		identifiers = new LinkedHashSet<>(4);
 		properties.forEach(p -> identifiers.add(p));
+		pathMetadata = null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.ArrayList#set(int, java.lang.Object)
+	 */
+	@Override
+	public P set(int index, P element) {
+		final P previous = super.set(index, element);
+		replacements++;
+		return previous;
+	}
+
+	/**
+	 * Get the modification count of this property set, which is updated by any structural modification and by any
+	 * property replacement.
+	 * @return The modification count
+	 */
+	int getModificationCount() {
+		return modCount + replacements;
+	}
+
+	/**
+	 * Get the mapping from given source property set to this property set, using the recently used mappings cache.
+	 * @param source The source property set (not null)
+	 * @return The property set mapping
+	 */
+	DefaultPropertySetMapping getMapping(DefaultPropertySet<?> source) {
+		final DefaultPropertySetMapping[] cached = mappings;
+		if (cached != null) {
+			for (DefaultPropertySetMapping mapping : cached) {
+				if (mapping.isValid(source, this)) {
+					return mapping;
+				}
+			}
+		}
+		final DefaultPropertySetMapping mapping = new DefaultPropertySetMapping(source, this);
+		synchronized (this) {
+			final DefaultPropertySetMapping[] current = mappings;
+			final int size = (current == null) ? 0 : Math.min(current.length, MAX_CACHED_MAPPINGS - 1);
+			final DefaultPropertySetMapping[] updated = new DefaultPropertySetMapping[size + 1];
+			updated[0] = mapping;
+			if (size > 0) {
+				System.arraycopy(current, 0, updated, 1, size);
+			}
+			mappings = updated;
+		}
+		return mapping;
+	}
+
+	/**
+	 * Get the position of given property in this property set, using an index computed at first invocation or if the
+	 * set was modified.
+	 * @param property The property
+	 * @return The position of the first occurrence of the property, <code>-1</code> if not found
+	 */
+	int getPropertyIndex(Property property) {
+		Map<Property, Integer> index = propertyIndex;
+		if (index == null || propertyIndexModCount != getModificationCount()) {
+			synchronized (this) {
+				index = propertyIndex;
+				if (index == null || propertyIndexModCount != getModificationCount()) {
+					propertyIndexModCount = getModificationCount();
+					index = new HashMap<>(size() * 2);
+					for (int i = 0; i < size(); i++) {
+						index.putIfAbsent(get(i), i);
+					}
+					propertyIndex = index;
+				}
+			}
+		}
+		final Integer position = index.get(property);
+		return (position != null) ? position : -1;
+	}
+
+	/**
+	 * Get the path metadata of this property set, computing them at first invocation or if the set was modified.
+	 * @return The path metadata
+	 */
+	PathPropertySetMetadata getPathMetadata() {
+		PathPropertySetMetadata metadata = pathMetadata;
+		if (metadata == null || pathMetadataModCount != getModificationCount()) {
+			synchronized (this) {
+				metadata = pathMetadata;
+				if (metadata == null || pathMetadataModCount != getModificationCount()) {
+					pathMetadataModCount = getModificationCount();
+					metadata = new PathPropertySetMetadata(this, DefaultPathConverter.INSTANCE);
+					pathMetadata = metadata;
+				}
+			}
+		}
+		return metadata;
 	}
 
 	/*
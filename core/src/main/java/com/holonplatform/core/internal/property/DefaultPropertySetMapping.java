@@ -0,0 +1,301 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.property;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.PropertySetMapping;
+import com.holonplatform.core.property.VirtualProperty;
+
+/**
+ * Default {@link PropertySetMapping} implementation.
+ * <p>
+ * When the boxes are {@link AbstractPropertyBox} instances which use the mapped property sets, the values are read and
+ * written directly, skipping the property set membership checks.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class DefaultPropertySetMapping implements PropertySetMapping {
+
+	private final PropertySet<?> source;
+	private final PropertySet<?> target;
+
+	/*
+	 * Target properties, in target property set order
+	 */
+	private final Property[] targetProperties;
+
+	/*
+	 * The source property equal to the target property with the same index, null if none
+	 */
+	private final Property[] sourceProperties;
+
+	/*
+	 * Whether the target property with the same index is mapped and writable
+	 */
+	private final boolean[] writable;
+
+	private final List<Property<?>> mappedProperties;
+
+	private final int sourceModCount;
+	private final int targetModCount;
+
+	/**
+	 * Constructor.
+	 * @param source Source property set (not null)
+	 * @param target Target property set (not null)
+	 */
+	public DefaultPropertySetMapping(PropertySet<?> source, PropertySet<?> target) {
+		super();
+		ObjectUtils.argumentNotNull(source, "Source PropertySet must be not null");
+		ObjectUtils.argumentNotNull(target, "Target PropertySet must be not null");
+		this.source = source;
+		this.target = target;
+
+		final Map<Property, Property> sourceIndex = new HashMap<>(source.size() * 2);
+		for (Property property : source) {
+			sourceIndex.putIfAbsent(property, property);
+		}
+		this.targetProperties = new Property[target.size()];
+		this.sourceProperties = new Property[target.size()];
+		this.writable = new boolean[target.size()];
+		final List<Property<?>> mapped = new ArrayList<>(target.size());
+		int i = 0;
+		for (Property property : target) {
+			targetProperties[i] = property;
+			sourceProperties[i] = sourceIndex.get(property);
+			if (sourceProperties[i] != null && !property.isReadOnly()) {
+				writable[i] = true;
+				mapped.add(property);
+			}
+			i++;
+		}
+		this.mappedProperties = Collections.unmodifiableList(mapped);
+		this.sourceModCount = (source instanceof DefaultPropertySet)
+				? ((DefaultPropertySet<?>) source).getModificationCount()
+				: 0;
+		this.targetModCount = (target instanceof DefaultPropertySet)
+				? ((DefaultPropertySet<?>) target).getModificationCount()
+				: 0;
+	}
+
+	/**
+	 * Get the mapping from given source property set to given target property set, using the cached mapping if
+	 * available.
+	 * @param source Source property set (not null)
+	 * @param target Target property set (not null)
+	 * @return The property set mapping
+	 */
+	public static DefaultPropertySetMapping of(PropertySet<?> source, PropertySet<?> target) {
+		ObjectUtils.argumentNotNull(source, "Source PropertySet must be not null");
+		ObjectUtils.argumentNotNull(target, "Target PropertySet must be not null");
+		final PropertySet<?> s = unwrap(source);
+		final PropertySet<?> t = unwrap(target);
+		if (s instanceof DefaultPropertySet && t instanceof DefaultPropertySet) {
+			return ((DefaultPropertySet<?>) t).getMapping((DefaultPropertySet<?>) s);
+		}
+		return new DefaultPropertySetMapping(s, t);
+	}
+
+	/**
+	 * Get the actual property set of given property set, i.e. the property set of an {@link AbstractPropertyBox}.
+	 * @param propertySet The property set
+	 * @return The actual property set
+	 */
+	static PropertySet<?> unwrap(PropertySet<?> propertySet) {
+		return (propertySet instanceof AbstractPropertyBox) ? ((AbstractPropertyBox) propertySet).getPropertySet()
+				: propertySet;
+	}
+
+	/**
+	 * Checks whether this mapping is valid for given property sets, i.e. it was built from the same property set
+	 * instances and they were not modified since then.
+	 * @param source Source property set
+	 * @param target Target property set
+	 * @return <code>true</code> if valid
+	 */
+	boolean isValid(DefaultPropertySet<?> source, DefaultPropertySet<?> target) {
+		return this.source == source && this.target == target && sourceModCount == source.getModificationCount()
+				&& targetModCount == target.getModificationCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertySetMapping#getSource()
+	 */
+	@Override
+	public PropertySet<?> getSource() {
+		return source;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertySetMapping#getTarget()
+	 */
+	@Override
+	public PropertySet<?> getTarget() {
+		return target;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertySetMapping#getMappedProperties()
+	 */
+	@Override
+	public List<Property<?>> getMappedProperties() {
+		return mappedProperties;
+	}
+
+	/**
+	 * Get the number of target properties.
+	 * @return the target properties count
+	 */
+	int size() {
+		return targetProperties.length;
+	}
+
+	/**
+	 * Get the target property at given index.
+	 * @param index Target property index
+	 * @return The target property
+	 */
+	Property getTargetProperty(int index) {
+		return targetProperties[index];
+	}
+
+	/**
+	 * Get the source property equal to the target property at given index.
+	 * @param index Target property index
+	 * @return The source property, <code>null</code> if none
+	 */
+	Property getSourceProperty(int index) {
+		return sourceProperties[index];
+	}
+
+	/**
+	 * Checks whether given box uses given property set, so that its values can be accessed directly.
+	 * @param box The property box
+	 * @param propertySet The property set
+	 * @return <code>true</code> if the box is an {@link AbstractPropertyBox} which uses the property set
+	 */
+	static boolean isDirect(PropertyBox box, PropertySet<?> propertySet) {
+		return box instanceof AbstractPropertyBox && ((AbstractPropertyBox) box).getPropertySet() == propertySet;
+	}
+
+	/**
+	 * Read the value of the source property equal to the target property at given index.
+	 * @param box The source box
+	 * @param direct Whether the box values can be accessed directly
+	 * @param index Target property index
+	 * @return The source value, <code>null</code> if none
+	 */
+	Object readSourceValue(PropertyBox box, boolean direct, int index) {
+		final Property property = sourceProperties[index];
+		if (direct) {
+			return ((AbstractPropertyBox) box).readPropertyValue(property);
+		}
+		return box.contains(property) ? box.getValue(property) : null;
+	}
+
+	/**
+	 * Read the value of the target property at given index.
+	 * @param box The target box
+	 * @param direct Whether the box values can be accessed directly
+	 * @param index Target property index
+	 * @return The target value, <code>null</code> if none
+	 */
+	Object readTargetValue(PropertyBox box, boolean direct, int index) {
+		final Property property = targetProperties[index];
+		if (direct) {
+			return ((AbstractPropertyBox) box).readPropertyValue(property);
+		}
+		return box.contains(property) ? box.getValue(property) : null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertySetMapping#copy(com.holonplatform.core.property.PropertyBox,
+	 * com.holonplatform.core.property.PropertyBox)
+	 */
+	@Override
+	public void copy(PropertyBox sourceBox, PropertyBox targetBox) {
+		ObjectUtils.argumentNotNull(sourceBox, "Source PropertyBox must be not null");
+		ObjectUtils.argumentNotNull(targetBox, "Target PropertyBox must be not null");
+		copy(sourceBox, targetBox, false);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.property.PropertySetMapping#project(com.holonplatform.core.property.PropertyBox)
+	 */
+	@Override
+	public PropertyBox project(PropertyBox sourceBox) {
+		ObjectUtils.argumentNotNull(sourceBox, "Source PropertyBox must be not null");
+		final PropertyBox box = new DefaultPropertyBox(target);
+		box.setInvalidAllowed(true);
+		copy(sourceBox, box, true);
+		box.setInvalidAllowed(sourceBox.isInvalidAllowed());
+		return box;
+	}
+
+	private void copy(PropertyBox sourceBox, PropertyBox targetBox, boolean skipNullValues) {
+		final boolean directSource = isDirect(sourceBox, source);
+		final boolean directTarget = isDirect(targetBox, target);
+		for (int i = 0; i < targetProperties.length; i++) {
+			if (!writable[i] || (!directSource && !sourceBox.contains(sourceProperties[i]))) {
+				continue;
+			}
+			final Object value = readSourceValue(sourceBox, directSource, i);
+			if (value == null && skipNullValues) {
+				continue;
+			}
+			if (directTarget) {
+				((AbstractPropertyBox) targetBox).writePropertyValue(targetProperties[i], value);
+			} else if (targetBox.contains(targetProperties[i])) {
+				targetBox.setValue(targetProperties[i], value);
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the target property at given index is a {@link VirtualProperty}.
+	 * @param index Target property index
+	 * @return <code>true</code> if virtual
+	 */
+	boolean isVirtual(int index) {
+		return targetProperties[index] instanceof VirtualProperty;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultPropertySetMapping [mappedProperties=" + mappedProperties + "]";
+	}
+
+}
@@ -15,6 +15,7 @@
  */
 package com.holonplatform.core.internal.property;
 
+import com.holonplatform.core.TypeConverterRegistry;
 import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.PropertyValueConverter;
 
@@ -62,7 +63,9 @@ public class EnumByNameConverter<E extends Enum<E>> implements PropertyValueConv
 			throws com.holonplatform.core.property.PropertyValueConverter.PropertyConversionException {
 		if (value != null) {
 			try {
-				return Enum.valueOf((Class<E>) ((enumType != null) ? enumType : property.getType()), value);
+				return TypeConverterRegistry.getDefault()
+						.getStringConverter((Class<E>) ((enumType != null) ? enumType : property.getType()))
+						.orElseThrow(() -> new IllegalArgumentException("Not an enum type")).convert(value);
 			} catch (@SuppressWarnings("unused") IllegalArgumentException e) {
 				throw new PropertyConversionException(property, "Unable to convert value to required Enum type "
 						+ ((enumType != null) ? enumType : property.getType()) + "invalid enum value: " + value);
@@ -15,6 +15,7 @@
  */
 package com.holonplatform.core.internal.property;
 
+import com.holonplatform.core.TypeConverterRegistry;
 import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.PropertyValueConverter;
 
@@ -56,17 +57,18 @@ public class EnumByOrdinalConverter<E extends Enum<E>> implements PropertyValueC
 	 * @see com.holonplatform.core.property.PropertyValueConverter#fromModel(java.lang.Object,
 	 * com.holonplatform.core.property.Property)
 	 */
+	@SuppressWarnings("unchecked")
 	@Override
 	public E fromModel(Integer value, Property<E> property) throws PropertyConversionException {
 		if (value != null) {
-			E[] values = (enumType != null) ? enumType.getEnumConstants() : property.getType().getEnumConstants();
-			if (value.intValue() < 0 || value.intValue() >= values.length) {
-				throw new IllegalArgumentException("Unable to convert value to required Enum type "
-						+ ((enumType != null) ? enumType : property.getType()) + ": ordinal value " + value
-						+ " is out of range");
+			final Class<E> type = (Class<E>) ((enumType != null) ? enumType : property.getType());
+			try {
+				return TypeConverterRegistry.getDefault().getConverter(Integer.class, type)
+						.orElseThrow(() -> new IllegalArgumentException("Not an enum type")).convert(value);
+			} catch (@SuppressWarnings("unused") IllegalArgumentException e) {
+				throw new IllegalArgumentException("Unable to convert value to required Enum type " + type
+						+ ": ordinal value " + value + " is out of range");
 			}
-			return values[value.intValue()];
-
 		}
 		return null;
 	}
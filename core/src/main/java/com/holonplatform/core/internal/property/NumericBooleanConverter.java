@@ -15,7 +15,7 @@
  */
 package com.holonplatform.core.internal.property;
 
-import com.holonplatform.core.internal.utils.ConversionUtils;
+import com.holonplatform.core.TypeConverterRegistry;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.PropertyValueConverter;
@@ -74,7 +74,7 @@ public class NumericBooleanConverter<MODEL extends Number> implements PropertyVa
 	@Override
 	public MODEL toModel(Boolean value, Property<Boolean> property) throws PropertyConversionException {
 		try {
-			return ConversionUtils.convertNumberToTargetClass(
+			return TypeConverterRegistry.getDefault().convert(
 					(value == null || !value.booleanValue()) ? Integer.valueOf(0) : Integer.valueOf(1), getModelType());
 		} catch (Exception e) {
 			throw new PropertyConversionException(property, e);
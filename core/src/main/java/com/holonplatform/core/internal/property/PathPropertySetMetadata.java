@@ -0,0 +1,209 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.property;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.internal.property.DefaultPathPropertySetAdapter.DefaultPropertyPath;
+import com.holonplatform.core.property.PathPropertySetAdapter.PathConverter;
+import com.holonplatform.core.property.PathPropertySetAdapter.PropertyPath;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertySet;
+
+/**
+ * Immutable {@link PropertySet} path metadata used by the {@link DefaultPathPropertySetAdapter}: the property paths,
+ * the path and name indexes, both case sensitive and case insensitive.
+ * <p>
+ * Using the default {@link PathConverter}, the metadata are computed once per {@link DefaultPropertySet} instance and
+ * shared by all the adapters of that property set, including the adapters of any {@link AbstractPropertyBox} which
+ * uses it.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+final class PathPropertySetMetadata {
+
+	/*
+	 * Index by path instance, resolved to the first property with the same relative name
+	 */
+	private final Map<Path, Property> byPath;
+	private final Map<Path, Property> byPathIgnoreCase;
+
+	/*
+	 * Index by path relative name
+	 */
+	private final Map<String, Property> byRelativeName;
+	private final Map<String, Property> byRelativeNameIgnoreCase;
+
+	/*
+	 * Index by property name
+	 */
+	private final Map<String, Property> byName;
+
+	/*
+	 * Properties of the set
+	 */
+	private final Set<Property> properties;
+
+	private final List<Path<?>> paths;
+	private final List<PropertyPath<?>> propertyPaths;
+	private final List<String> names;
+	private final Set<Path<?>> pathIdentifiers;
+
+	/**
+	 * Constructor.
+	 * @param propertySet The property set (not null)
+	 * @param pathConverter The path converter (not null)
+	 */
+	PathPropertySetMetadata(PropertySet<?> propertySet, PathConverter pathConverter) {
+		super();
+		final int size = propertySet.size();
+		this.byPath = new IdentityHashMap<>(size);
+		this.byPathIgnoreCase = new IdentityHashMap<>(size);
+		this.byRelativeName = new HashMap<>(size * 2);
+		this.byRelativeNameIgnoreCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		this.byName = new HashMap<>(size * 2);
+		this.properties = new HashSet<>(size * 2);
+
+		final List<Path<?>> ps = new ArrayList<>(size);
+		final List<PropertyPath<?>> pps = new ArrayList<>(size);
+		final List<String> ns = new ArrayList<>(size);
+		for (Property property : propertySet) {
+			properties.add(property);
+			if (property.getName() != null) {
+				ns.add(property.getName());
+				byName.putIfAbsent(property.getName(), property);
+			}
+			final Optional<Path<?>> path = pathConverter.convert(property);
+			if (path.isPresent()) {
+				final String relativeName = path.get().relativeName();
+				byRelativeName.putIfAbsent(relativeName, property);
+				byRelativeNameIgnoreCase.putIfAbsent(relativeName, property);
+				byPath.putIfAbsent(path.get(), byRelativeName.get(relativeName));
+				byPathIgnoreCase.putIfAbsent(path.get(), byRelativeNameIgnoreCase.get(relativeName));
+				ps.add(path.get());
+				pps.add(new DefaultPropertyPath(property, path.get()));
+			}
+		}
+		this.paths = Collections.unmodifiableList(ps);
+		this.propertyPaths = Collections.unmodifiableList(pps);
+		this.names = Collections.unmodifiableList(ns);
+
+		Set<Path<?>> ids = new HashSet<>(propertySet.getIdentifiers().size());
+		for (Property id : propertySet.getIdentifiers()) {
+			final Optional<Path<?>> path = pathConverter.convert(id);
+			if (!path.isPresent()) {
+				ids = Collections.emptySet();
+				break;
+			}
+			ids.add(path.get());
+		}
+		this.pathIdentifiers = Collections.unmodifiableSet(ids);
+	}
+
+	/**
+	 * Get the metadata of given property set, using the default {@link PathConverter}.
+	 * @param propertySet The property set (not null)
+	 * @return The shared property set metadata if available, new metadata otherwise
+	 */
+	static PathPropertySetMetadata of(PropertySet<?> propertySet) {
+		PropertySet<?> set = propertySet;
+		if (set instanceof AbstractPropertyBox) {
+			set = ((AbstractPropertyBox) set).getPropertySet();
+		}
+		if (set instanceof DefaultPropertySet) {
+			return ((DefaultPropertySet<?>) set).getPathMetadata();
+		}
+		return new PathPropertySetMetadata(set, DefaultPathConverter.INSTANCE);
+	}
+
+	/**
+	 * Get the property which corresponds to given path, matching the path relative name.
+	 * @param path The path (not null)
+	 * @param ignoreCase Whether to ignore the relative name case
+	 * @return The property, <code>null</code> if none
+	 */
+	Property getProperty(Path<?> path, boolean ignoreCase) {
+		final Property property = ignoreCase ? byPathIgnoreCase.get(path) : byPath.get(path);
+		if (property != null) {
+			return property;
+		}
+		final String relativeName = path.relativeName();
+		return ignoreCase ? byRelativeNameIgnoreCase.get(relativeName) : byRelativeName.get(relativeName);
+	}
+
+	/**
+	 * Get the first property with given name.
+	 * @param name The property name
+	 * @return The property, <code>null</code> if none
+	 */
+	Property getProperty(String name) {
+		return byName.get(name);
+	}
+
+	/**
+	 * Get whether the property set contains given property.
+	 * @param property The property
+	 * @return <code>true</code> if the property set contains given property
+	 */
+	boolean contains(Property property) {
+		return property != null && properties.contains(property);
+	}
+
+	/**
+	 * Get the property paths.
+	 * @return the paths, in property set order
+	 */
+	List<Path<?>> getPaths() {
+		return paths;
+	}
+
+	/**
+	 * Get the property-path pairs.
+	 * @return the property paths, in property set order
+	 */
+	List<PropertyPath<?>> getPropertyPaths() {
+		return propertyPaths;
+	}
+
+	/**
+	 * Get the property names.
+	 * @return the names, in property set order
+	 */
+	List<String> getNames() {
+		return names;
+	}
+
+	/**
+	 * Get the identifier paths.
+	 * @return the identifier paths, empty if any identifier property cannot be converted to a path
+	 */
+	Set<Path<?>> getPathIdentifiers() {
+		return pathIdentifiers;
+	}
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.utils;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A concurrent cache bounded to a maximum number of entries.
+ * <p>
+ * Reads are lock-free and only mark the entry as referenced. When the cache exceeds its max size, an eviction sweep
+ * discards the entries which were not referenced since the previous sweep, giving a second chance to the referenced
+ * ones. This approximates a least recently used eviction policy, and the cache size may temporarily exceed the max
+ * size while a sweep is in progress.
+ * </p>
+ * @param <K> Key type
+ * @param <V> Value type
+ *
+ * @since 5.6.0
+ */
+public final class BoundedCache<K, V> {
+
+	private final ConcurrentMap<K, Entry<V>> entries;
+
+	private final int maxSize;
+
+	/*
+	 * Whether an eviction sweep is in progress
+	 */
+	private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+	/**
+	 * Constructor.
+	 * @param maxSize Max number of cached entries (must be greater than 0)
+	 */
+	public BoundedCache(int maxSize) {
+		super();
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Cache max size must be greater than 0");
+		}
+		this.maxSize = maxSize;
+		this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 16));
+	}
+
+	/**
+	 * Get the value cached for given key.
+	 * @param key The key (not null)
+	 * @return The cached value, <code>null</code> if none
+	 */
+	public V get(K key) {
+		final Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		entry.reference();
+		return entry.value;
+	}
+
+	/**
+	 * Cache given value, replacing any value previously cached for the same key.
+	 * @param key The key (not null)
+	 * @param value The value (not null)
+	 */
+	public void put(K key, V value) {
+		if (entries.put(key, new Entry<>(value)) == null) {
+			evictIfFull(key);
+		}
+	}
+
+	/**
+	 * Cache given value, unless a value is already cached for the same key.
+	 * @param key The key (not null)
+	 * @param value The value (not null)
+	 * @return The value already cached for the key, if any, or the given value
+	 */
+	public V putIfAbsent(K key, V value) {
+		final Entry<V> existing = entries.putIfAbsent(key, new Entry<>(value));
+		if (existing != null) {
+			existing.reference();
+			return existing.value;
+		}
+		evictIfFull(key);
+		return value;
+	}
+
+	/**
+	 * Get the number of cached entries.
+	 * @return The cache size
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Remove all the cached entries.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Run an eviction sweep if the cache exceeds its max size and no other sweep is in progress.
+	 * @param inserted The key just inserted, which is never evicted by this sweep
+	 */
+	private void evictIfFull(K inserted) {
+		if (entries.size() <= maxSize || !evicting.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			// at most two passes: the first one may only clear the referenced marks
+			for (int pass = 0; pass < 2 && entries.size() > maxSize; pass++) {
+				final Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+				while (iterator.hasNext() && entries.size() > maxSize) {
+					final Map.Entry<K, Entry<V>> entry = iterator.next();
+					if (!entry.getKey().equals(inserted) && !entry.getValue().unreference()) {
+						iterator.remove();
+					}
+				}
+			}
+		} finally {
+			evicting.set(false);
+		}
+	}
+
+	/**
+	 * Cache entry.
+	 * @param <V> Value type
+	 */
+	private static final class Entry<V> {
+
+		final V value;
+
+		volatile boolean referenced;
+
+		Entry(V value) {
+			super();
+			this.value = value;
+		}
+
+		/**
+		 * Mark the entry as referenced, avoiding a volatile write if it is already marked.
+		 */
+		void reference() {
+			if (!referenced) {
+				referenced = true;
+			}
+		}
+
+		/**
+		 * Clear the referenced mark.
+		 * @return Whether the entry was referenced
+		 */
+		boolean unreference() {
+			if (referenced) {
+				referenced = false;
+				return true;
+			}
+			return false;
+		}
+
+	}
+
+}
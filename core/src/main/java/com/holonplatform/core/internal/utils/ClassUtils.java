@@ -15,11 +15,26 @@
  */
 package com.holonplatform.core.internal.utils;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
 
 /**
  * Class management and inspection utilities.
@@ -107,6 +122,30 @@ public final class ClassUtils implements Serializable {
 		return cl;
 	}
 
+	/**
+	 * Check whether given class is cache safe with respect to given ClassLoader, i.e. whether the class is loaded by
+	 * the given ClassLoader or by one of its parents, so that holding a reference to it does not prevent a child
+	 * ClassLoader from being garbage collected.
+	 * @param clazz The class to check (not null)
+	 * @param classLoader The ClassLoader which owns the cache (may be null for the bootstrap ClassLoader)
+	 * @return <code>true</code> if the class is cache safe
+	 */
+	public static boolean isCacheSafe(Class<?> clazz, ClassLoader classLoader) {
+		ObjectUtils.argumentNotNull(clazz, "Class must be not null");
+		final ClassLoader target = clazz.getClassLoader();
+		if (target == null) {
+			return true;
+		}
+		ClassLoader current = classLoader;
+		while (current != null) {
+			if (current == target) {
+				return true;
+			}
+			current = current.getParent();
+		}
+		return false;
+	}
+
 	/**
 	 * Check if a method is a JavaBean getter method
 	 * @param method Method
@@ -189,4 +228,61 @@ public final class ClassUtils implements Serializable {
 
 	}
 
+	/**
+	 * Get the fully qualified names of the classes which belong to given package or to any of its sub packages,
+	 * scanning the class path resources of given {@link ClassLoader}.
+	 * <p>
+	 * Both the file system directories and the <code>jar</code> archives are supported. The classes are not loaded.
+	 * </p>
+	 * @param packageName The package name (not null)
+	 * @param classLoader ClassLoader to use, <code>null</code> to use default
+	 * @return The class names, an empty list if none
+	 * @throws IOException Error reading the class path resources
+	 * @since 5.6.0
+	 */
+	public static List<String> getClassNames(String packageName, ClassLoader classLoader) throws IOException {
+		ObjectUtils.argumentNotNull(packageName, "Package name must be not null");
+		final ClassLoader cl = (classLoader != null) ? classLoader : ClassUtils.getDefaultClassLoader();
+		final String packagePath = packageName.replace('.', '/');
+		final Set<String> names = new LinkedHashSet<>();
+		final Enumeration<URL> resources = cl.getResources(packagePath);
+		while (resources.hasMoreElements()) {
+			final URL url = resources.nextElement();
+			if ("file".equals(url.getProtocol())) {
+				final java.nio.file.Path root;
+				try {
+					root = Paths.get(url.toURI());
+				} catch (URISyntaxException e) {
+					throw new IOException("Invalid class path resource URL: " + url, e);
+				}
+				try (Stream<java.nio.file.Path> files = Files.walk(root)) {
+					files.filter(f -> Files.isRegularFile(f)).map(f -> root.relativize(f).toString())
+							.forEach(f -> addClassName(names, packagePath + "/" + f.replace(File.separatorChar, '/')));
+				}
+			} else if ("jar".equals(url.getProtocol())) {
+				final URLConnection connection = url.openConnection();
+				if (connection instanceof JarURLConnection) {
+					connection.setUseCaches(false);
+					try (JarFile jar = ((JarURLConnection) connection).getJarFile()) {
+						final Enumeration<JarEntry> entries = jar.entries();
+						while (entries.hasMoreElements()) {
+							final JarEntry entry = entries.nextElement();
+							if (!entry.isDirectory() && entry.getName().startsWith(packagePath + "/")) {
+								addClassName(names, entry.getName());
+							}
+						}
+					}
+				}
+			}
+		}
+		return new ArrayList<>(names);
+	}
+
+	private static void addClassName(Set<String> names, String resourceName) {
+		if (resourceName.endsWith(".class") && !resourceName.endsWith("package-info.class")
+				&& !resourceName.endsWith("module-info.class")) {
+			names.add(resourceName.substring(0, resourceName.length() - 6).replace('/', '.'));
+		}
+	}
+
 }
@@ -20,12 +20,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.Serializable;
-import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.sql.Time;
-import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -34,17 +31,22 @@ import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import com.holonplatform.core.TypeConverterRegistry;
 import com.holonplatform.core.exceptions.TypeMismatchException;
 
 /**
@@ -63,19 +65,36 @@ public final class ConversionUtils implements Serializable {
 
 	private static final char[] HEX_CHARS = "0123456789ABCDEF".toCharArray();
 
-	private static final Set<String> BOOLEAN_TRUE_VALUES = new HashSet<>(4);
-	private static final Set<String> BOOLEAN_FALSE_VALUES = new HashSet<>(4);
+	/**
+	 * String to number parsers, by number type
+	 */
+	private static final Map<Class<?>, Function<String, ? extends Number>> NUMBER_PARSERS = new HashMap<>(32);
 
 	static {
-		BOOLEAN_TRUE_VALUES.add("true");
-		BOOLEAN_TRUE_VALUES.add("on");
-		BOOLEAN_TRUE_VALUES.add("yes");
-		BOOLEAN_TRUE_VALUES.add("1");
-
-		BOOLEAN_FALSE_VALUES.add("false");
-		BOOLEAN_FALSE_VALUES.add("off");
-		BOOLEAN_FALSE_VALUES.add("no");
-		BOOLEAN_FALSE_VALUES.add("0");
+		final Function<String, Byte> byteParser = v -> FormatUtils.isHexNumber(v) ? Byte.decode(v) : Byte.valueOf(v);
+		final Function<String, Short> shortParser = v -> FormatUtils.isHexNumber(v) ? Short.decode(v)
+				: Short.valueOf(v);
+		final Function<String, Integer> intParser = v -> FormatUtils.isHexNumber(v) ? Integer.decode(v)
+				: Integer.valueOf(v);
+		final Function<String, Long> longParser = v -> FormatUtils.isHexNumber(v) ? Long.decode(v) : Long.valueOf(v);
+		final Function<String, Float> floatParser = Float::valueOf;
+		final Function<String, Double> doubleParser = Double::valueOf;
+		NUMBER_PARSERS.put(Byte.class, byteParser);
+		NUMBER_PARSERS.put(byte.class, byteParser);
+		NUMBER_PARSERS.put(Short.class, shortParser);
+		NUMBER_PARSERS.put(short.class, shortParser);
+		NUMBER_PARSERS.put(Integer.class, intParser);
+		NUMBER_PARSERS.put(int.class, intParser);
+		NUMBER_PARSERS.put(Long.class, longParser);
+		NUMBER_PARSERS.put(long.class, longParser);
+		NUMBER_PARSERS.put(BigInteger.class,
+				(Function<String, BigInteger>) v -> FormatUtils.isHexNumber(v) ? decodeBigInteger(v) : new BigInteger(v));
+		NUMBER_PARSERS.put(Float.class, floatParser);
+		NUMBER_PARSERS.put(float.class, floatParser);
+		NUMBER_PARSERS.put(Double.class, doubleParser);
+		NUMBER_PARSERS.put(double.class, doubleParser);
+		NUMBER_PARSERS.put(BigDecimal.class, (Function<String, BigDecimal>) BigDecimal::new);
+		NUMBER_PARSERS.put(Number.class, (Function<String, BigDecimal>) BigDecimal::new);
 	}
 
 	/*
@@ -149,7 +168,7 @@ public final class ConversionUtils implements Serializable {
 	 * @return Value converted to Enum type, or <code>null</code> if given value was null
 	 * @throws IllegalArgumentException Failed to convert to Enum type
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@SuppressWarnings("unchecked")
 	public static <T extends Enum<T>> T convertEnumValue(Class<T> type, Object value) throws IllegalArgumentException {
 		if (type == null) {
 			throw new IllegalArgumentException("Type class must not be null");
@@ -163,29 +182,8 @@ public final class ConversionUtils implements Serializable {
 			throw new IllegalArgumentException("The target type " + type + " does not refer to an enum");
 		}
 
-		Class<Enum> enm = (Class<Enum>) enumType;
-
 		if (value != null) {
-			if (TypeUtils.isEnum(value.getClass())) {
-				try {
-					return (T) value;
-				} catch (Exception e) {
-					throw new IllegalArgumentException(e);
-				}
-			} else if (TypeUtils.isNumber(value.getClass())) {
-				Integer ordinal = convertNumberToTargetClass((Number) value, int.class);
-				Enum[] enmValues = enm.getEnumConstants();
-				if (ordinal == null || ordinal.intValue() >= enmValues.length) {
-					throw new IllegalArgumentException("Unable to convert to required Enum type " + type
-							+ ": ordinal value " + ordinal + " is out of range");
-				}
-				return (T) enmValues[ordinal.intValue()];
-			} else if (TypeUtils.isString(value.getClass())) {
-				return (T) Enum.valueOf(enm, (String) value);
-			} else {
-				throw new IllegalArgumentException(
-						"Unable to convert type " + value.getClass() + " to required Enum type");
-			}
+			return TypeConverterRegistry.getDefault().convert(value, (Class<T>) enumType);
 		}
 		return null;
 	}
@@ -195,65 +193,17 @@ public final class ConversionUtils implements Serializable {
 	 * <p>
 	 * Supported types are: Characters, Booleans, Numbers and Enums.
 	 * </p>
+	 * <p>
+	 * The conversion is performed using the default {@link TypeConverterRegistry}.
+	 * </p>
 	 * @param <T> Type to obtain
 	 * @param str String to convert
 	 * @param type Expected conversion type
 	 * @return Converted string
 	 * @throws IllegalArgumentException Conversion failed
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public static <T> T convertStringValue(String str, Class<T> type) throws IllegalArgumentException {
-		if (str != null && str.length() > 0) {
-
-			if (type == null) {
-				throw new IllegalArgumentException("Type class must not be null");
-			}
-
-			String value = str.trim();
-
-			if (TypeUtils.isString(type)) {
-				return (T) value;
-			}
-
-			if (TypeUtils.isCharacter(type)) {
-				if (value.length() > 1) {
-					throw new IllegalArgumentException(
-							"Can only convert a String with length of 1 to a Character: " + value);
-				}
-				return (T) Character.valueOf(value.charAt(0));
-			}
-
-			if (TypeUtils.isBoolean(type)) {
-				String bv = value.toLowerCase();
-				if (BOOLEAN_TRUE_VALUES.contains(bv)) {
-					return (T) Boolean.TRUE;
-				} else if (BOOLEAN_FALSE_VALUES.contains(bv)) {
-					return (T) Boolean.FALSE;
-				} else {
-					throw new IllegalArgumentException("Invalid boolean value '" + value + "'");
-				}
-			}
-
-			if (TypeUtils.isEnum(type)) {
-				Class<?> enumType = type;
-				while (enumType != null && !enumType.isEnum()) {
-					enumType = enumType.getSuperclass();
-				}
-				if (enumType == null) {
-					throw new IllegalArgumentException("The target type " + type + " does not refer to an enum");
-				}
-				final Class<Enum> enm = (Class<Enum>) enumType;
-				return (T) Enum.valueOf(enm, value);
-			}
-
-			if (TypeUtils.isNumber(type)) {
-				return (T) parseNumber(value, (Class<? extends Number>) type);
-			}
-
-			throw new IllegalArgumentException("Unsupported String conversion class: " + type);
-
-		}
-		return null;
+		return TypeConverterRegistry.getDefault().convertString(str, type);
 	}
 
 	/**
@@ -275,28 +225,27 @@ public final class ConversionUtils implements Serializable {
 			throw new IllegalArgumentException("Target class must not be null");
 		}
 
-		String trimmed = FormatUtils.trimAll(value);
-
-		if (TypeUtils.isByte(targetClass)) {
-			return (T) (FormatUtils.isHexNumber(trimmed) ? Byte.decode(trimmed) : Byte.valueOf(trimmed));
-		} else if (TypeUtils.isShort(targetClass)) {
-			return (T) (FormatUtils.isHexNumber(trimmed) ? Short.decode(trimmed) : Short.valueOf(trimmed));
-		} else if (TypeUtils.isInteger(targetClass)) {
-			return (T) (FormatUtils.isHexNumber(trimmed) ? Integer.decode(trimmed) : Integer.valueOf(trimmed));
-		} else if (TypeUtils.isLong(targetClass)) {
-			return (T) (FormatUtils.isHexNumber(trimmed) ? Long.decode(trimmed) : Long.valueOf(trimmed));
-		} else if (BigInteger.class == targetClass) {
-			return (T) (FormatUtils.isHexNumber(trimmed) ? decodeBigInteger(trimmed) : new BigInteger(trimmed));
-		} else if (TypeUtils.isFloat(targetClass)) {
-			return (T) Float.valueOf(trimmed);
-		} else if (TypeUtils.isDouble(targetClass)) {
-			return (T) Double.valueOf(trimmed);
-		} else if (BigDecimal.class == targetClass || Number.class == targetClass) {
-			return (T) new BigDecimal(trimmed);
-		} else {
+		final Function<String, ? extends Number> parser = NUMBER_PARSERS.get(targetClass);
+		if (parser == null) {
 			throw new IllegalArgumentException(
 					"Cannot convert String [" + value + "] to target class [" + targetClass.getName() + "]");
 		}
+		return (T) parser.apply(FormatUtils.trimAll(value));
+	}
+
+	/**
+	 * Get the function to parse a String value into a {@link Number} instance of the given target class, if
+	 * available. The parser behaves like {@link #parseNumber(String, Class)}, but it does not trim the value and it
+	 * does not check it for <code>null</code>.
+	 * @param <T> Number type
+	 * @param targetClass the target class to parse into (not null)
+	 * @return Optional parser function, empty if given number type is not supported
+	 * @since 5.6.0
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Number> Optional<Function<String, T>> getNumberParser(Class<T> targetClass) {
+		ObjectUtils.argumentNotNull(targetClass, "Target class must be not null");
+		return Optional.ofNullable((Function<String, T>) NUMBER_PARSERS.get(targetClass));
 	}
 
 	/**
@@ -673,78 +622,19 @@ public final class ConversionUtils implements Serializable {
 
 	/**
 	 * Try to convert given value to target type, if a default conversion logic is available.
+	 * <p>
+	 * The conversion is performed using the default {@link TypeConverterRegistry}.
+	 * </p>
 	 * @param <T> Target type
 	 * @param value Value to convert
 	 * @param targetType Target type (not null)
 	 * @return Converted value or <code>null</code> if value was <code>null</code>
 	 * @throws TypeMismatchException If a conversion logic is not available
 	 * @since 5.1.0
+	 * @see TypeConverterRegistry
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public static <T> T convert(Object value, Class<T> targetType) throws TypeMismatchException {
-		ObjectUtils.argumentNotNull(targetType, "Target type must be not null");
-		if (value != null) {
-
-			if (TypeUtils.isAssignable(value.getClass(), targetType)) {
-				return (T) value;
-			}
-
-			// enum
-			if (TypeUtils.isEnum(targetType)) {
-				return (T) ConversionUtils.convertEnumValue((Class<Enum>) targetType, value);
-			}
-
-			// number
-			if (TypeUtils.isNumber(targetType) && TypeUtils.isNumber(value.getClass())) {
-				return (T) ConversionUtils.convertNumberToTargetClass((Number) value, (Class<Number>) targetType);
-			}
-
-			// date and times
-			if (Date.class.isAssignableFrom(value.getClass())) {
-				if (LocalDate.class.isAssignableFrom(targetType)) {
-					return (T) ConversionUtils.toLocalDate((Date) value);
-				}
-				if (LocalDateTime.class.isAssignableFrom(targetType)) {
-					return (T) ConversionUtils.toLocalDateTime((Date) value);
-				}
-				if (LocalTime.class.isAssignableFrom(targetType)) {
-					return (T) ConversionUtils.toLocalTime((Date) value);
-				}
-			}
-
-			if (Timestamp.class.isAssignableFrom(value.getClass())) {
-				if (LocalDateTime.class.isAssignableFrom(targetType)) {
-					return (T) ((Timestamp) value).toLocalDateTime();
-				}
-				if (LocalDate.class.isAssignableFrom(targetType)) {
-					return (T) ((Timestamp) value).toLocalDateTime().toLocalDate();
-				}
-				if (LocalTime.class.isAssignableFrom(targetType)) {
-					return (T) ((Timestamp) value).toLocalDateTime().toLocalTime();
-				}
-				if (java.util.Date.class.isAssignableFrom(targetType)) {
-					Calendar c = Calendar.getInstance();
-					c.setTimeInMillis(((Timestamp) value).getTime());
-					return (T) c.getTime();
-				}
-			}
-
-			if (Time.class.isAssignableFrom(value.getClass())) {
-				if (LocalTime.class.isAssignableFrom(targetType)) {
-					return (T) ((Time) value).toLocalTime();
-				}
-			}
-
-			// String to Reader
-			if (TypeUtils.isString(value.getClass()) && Reader.class.isAssignableFrom(targetType)) {
-				return (T) new StringReader((String) value);
-			}
-
-			throw new TypeMismatchException(
-					"Cannot convert value type [" + value.getClass() + "] to type [" + targetType + "]");
-		}
-
-		return null;
+		return TypeConverterRegistry.getDefault().convert(value, targetType);
 	}
 
 }
@@ -16,6 +16,8 @@
 package com.holonplatform.core.internal.utils;
 
 import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -32,6 +34,16 @@ public final class FormatUtils implements Serializable {
 	 */
 	private static final Pattern SPECIAL_REGEX_CHARS = Pattern.compile("[{}()\\[\\].+*?^$\\\\|]");
 
+	/**
+	 * Max number of compiled patterns to cache
+	 */
+	private static final int PATTERN_CACHE_MAX_SIZE = 512;
+
+	/**
+	 * Compiled patterns cache
+	 */
+	private static final Map<PatternKey, Pattern> PATTERN_CACHE = new ConcurrentHashMap<>();
+
 	/**
 	 * Pattern to validate a RFC822 compliant e-mail address using regular expressions
 	 */
@@ -191,12 +203,7 @@ public final class FormatUtils implements Serializable {
 	public static String resolveMessageArguments(String placeholder, String message, Object[] arguments) {
 		ObjectUtils.argumentNotNull(placeholder, "Argument placeholder must be not null");
 		if (message != null && arguments != null && arguments.length > 0) {
-			final Pattern pattern = Pattern.compile(FormatUtils.escapeRegexCharacters(placeholder));
-			String resolved = message;
-			for (Object argument : arguments) {
-				resolved = pattern.matcher(resolved).replaceFirst((argument != null) ? argument.toString() : "");
-			}
-			return resolved;
+			return MessageTemplate.get(placeholder, message).format(arguments);
 		}
 		return message;
 	}
@@ -208,7 +215,81 @@ public final class FormatUtils implements Serializable {
 	 */
 	public static boolean isValidEmailAddress(CharSequence email) {
 		ObjectUtils.argumentNotNull(email, "Email must be not null");
-		return Pattern.matches(EMAIL_RFC822_REGEXP_PATTERN, email);
+		return getEmailPattern().matcher(email).matches();
+	}
+
+	/**
+	 * Get the compiled {@link Pattern} to validate a RFC822 compliant e-mail address.
+	 * @return The e-mail address pattern
+	 * @see #EMAIL_RFC822_REGEXP_PATTERN
+	 */
+	public static Pattern getEmailPattern() {
+		return EmailPatternHolder.PATTERN;
+	}
+
+	/**
+	 * Get the compiled {@link Pattern} for given regular expression and flags.
+	 * <p>
+	 * Compiled patterns are immutable and thread-safe, so they are cached and shared: the same instance is returned for
+	 * the same regular expression and flags, up to a maximum number of cached patterns.
+	 * </p>
+	 * @param regex The regular expression (not null)
+	 * @param flags Match flags, a bit mask as defined in {@link Pattern#compile(String, int)}
+	 * @return The compiled pattern
+	 */
+	public static Pattern getPattern(String regex, int flags) {
+		ObjectUtils.argumentNotNull(regex, "Regular expression must be not null");
+		final PatternKey key = new PatternKey(regex, flags);
+		final Pattern pattern = PATTERN_CACHE.get(key);
+		if (pattern != null) {
+			return pattern;
+		}
+		if (PATTERN_CACHE.size() >= PATTERN_CACHE_MAX_SIZE) {
+			return Pattern.compile(regex, flags);
+		}
+		return PATTERN_CACHE.computeIfAbsent(key, k -> Pattern.compile(k.regex, k.flags));
+	}
+
+	/**
+	 * Lazy holder of the e-mail address pattern.
+	 */
+	private static final class EmailPatternHolder {
+
+		static final Pattern PATTERN = Pattern.compile(EMAIL_RFC822_REGEXP_PATTERN);
+
+	}
+
+	/**
+	 * Compiled patterns cache key.
+	 */
+	private static final class PatternKey {
+
+		final String regex;
+		final int flags;
+
+		PatternKey(String regex, int flags) {
+			super();
+			this.regex = regex;
+			this.flags = flags;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * regex.hashCode() + flags;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof PatternKey)) {
+				return false;
+			}
+			final PatternKey other = (PatternKey) obj;
+			return flags == other.flags && regex.equals(other.regex);
+		}
+
 	}
 
 }
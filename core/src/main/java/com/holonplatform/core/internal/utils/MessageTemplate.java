@@ -0,0 +1,210 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.internal.utils;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A pre-parsed message template, in which each occurrence of an argument placeholder is replaced by the message
+ * argument with the same position.
+ * <p>
+ * A template holds only the offsets of the placeholders in the source message, so the arguments substitution appends
+ * the message fragments directly to the target, without intermediate strings. Any placeholder which exceeds the
+ * number of arguments is left as is. Templates are immutable and thread-safe.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public final class MessageTemplate {
+
+	/**
+	 * Max number of cached templates for each placeholder
+	 */
+	private static final int CACHE_MAX_SIZE = 512;
+
+	/**
+	 * Templates cache, by placeholder and message
+	 */
+	private static final ConcurrentMap<String, BoundedCache<String, MessageTemplate>> CACHE = new ConcurrentHashMap<>(
+			4, 0.9f, 1);
+
+	private static final int[] NO_PLACEHOLDERS = new int[0];
+
+	private final String placeholder;
+	private final String message;
+
+	/*
+	 * Start offsets of the placeholders in the message
+	 */
+	private final int[] placeholders;
+
+	private MessageTemplate(String placeholder, String message, int[] placeholders) {
+		super();
+		this.placeholder = placeholder;
+		this.message = message;
+		this.placeholders = placeholders;
+	}
+
+	/**
+	 * Parse given message into a {@link MessageTemplate}.
+	 * @param placeholder Argument placeholder (not null)
+	 * @param message Message to parse (not null)
+	 * @return A new {@link MessageTemplate}
+	 */
+	public static MessageTemplate compile(String placeholder, String message) {
+		ObjectUtils.argumentNotNull(placeholder, "Argument placeholder must be not null");
+		ObjectUtils.argumentNotNull(message, "Message must be not null");
+		if (placeholder.isEmpty()) {
+			return new MessageTemplate(placeholder, message, NO_PLACEHOLDERS);
+		}
+		int count = 0;
+		int[] offsets = NO_PLACEHOLDERS;
+		int index = message.indexOf(placeholder);
+		while (index > -1) {
+			if (count == offsets.length) {
+				final int[] expanded = new int[Math.max(4, count * 2)];
+				System.arraycopy(offsets, 0, expanded, 0, count);
+				offsets = expanded;
+			}
+			offsets[count++] = index;
+			index = message.indexOf(placeholder, index + placeholder.length());
+		}
+		if (count < offsets.length) {
+			final int[] trimmed = new int[count];
+			System.arraycopy(offsets, 0, trimmed, 0, count);
+			offsets = trimmed;
+		}
+		return new MessageTemplate(placeholder, message, offsets);
+	}
+
+	/**
+	 * Get the {@link MessageTemplate} for given placeholder and message, using a shared {@link BoundedCache} which
+	 * holds the most recently used templates.
+	 * @param placeholder Argument placeholder (not null)
+	 * @param message Message (not null)
+	 * @return The message template
+	 */
+	public static MessageTemplate get(String placeholder, String message) {
+		ObjectUtils.argumentNotNull(placeholder, "Argument placeholder must be not null");
+		ObjectUtils.argumentNotNull(message, "Message must be not null");
+		BoundedCache<String, MessageTemplate> templates = CACHE.get(placeholder);
+		if (templates == null) {
+			templates = CACHE.computeIfAbsent(placeholder, p -> new BoundedCache<>(CACHE_MAX_SIZE));
+		}
+		final MessageTemplate template = templates.get(message);
+		if (template != null) {
+			return template;
+		}
+		return templates.putIfAbsent(message, compile(placeholder, message));
+	}
+
+	/**
+	 * Get the argument placeholder.
+	 * @return The argument placeholder
+	 */
+	public String getPlaceholder() {
+		return placeholder;
+	}
+
+	/**
+	 * Get the source message.
+	 * @return The source message
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * Get the number of argument placeholders in the message.
+	 * @return The placeholders count
+	 */
+	public int getArgumentCount() {
+		return placeholders.length;
+	}
+
+	/**
+	 * Gets whether this template matches given placeholder and message.
+	 * @param placeholder Argument placeholder
+	 * @param message Message
+	 * @return <code>true</code> if this template was built from given placeholder and message
+	 */
+	public boolean matches(String placeholder, String message) {
+		return this.placeholder.equals(placeholder) && this.message.equals(message);
+	}
+
+	/**
+	 * Replace the message placeholders with given arguments.
+	 * @param arguments Message arguments
+	 * @return The resolved message
+	 */
+	public String format(Object[] arguments) {
+		if (placeholders.length == 0 || arguments == null || arguments.length == 0) {
+			return message;
+		}
+		final StringBuilder sb = new StringBuilder(message.length() + arguments.length * 8);
+		appendTo(sb, arguments);
+		return sb.toString();
+	}
+
+	/**
+	 * Append the message to given {@link StringBuilder}, replacing the message placeholders with given arguments.
+	 * @param target The target builder (not null)
+	 * @param arguments Message arguments
+	 */
+	public void appendTo(StringBuilder target, Object[] arguments) {
+		try {
+			appendTo((Appendable) target, arguments);
+		} catch (IOException e) {
+			// never thrown by StringBuilder
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Append the message to given {@link Appendable}, replacing the message placeholders with given arguments.
+	 * @param target The target appendable (not null)
+	 * @param arguments Message arguments
+	 * @throws IOException If an I/O error occurs
+	 */
+	public void appendTo(Appendable target, Object[] arguments) throws IOException {
+		final int count = (arguments != null) ? Math.min(arguments.length, placeholders.length) : 0;
+		int position = 0;
+		for (int i = 0; i < count; i++) {
+			target.append(message, position, placeholders[i]);
+			final Object argument = arguments[i];
+			if (argument instanceof CharSequence) {
+				target.append((CharSequence) argument);
+			} else if (argument != null) {
+				target.append(argument.toString());
+			}
+			position = placeholders[i] + placeholder.length();
+		}
+		target.append(message, position, message.length());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "MessageTemplate [placeholder=" + placeholder + ", message=" + message + ", arguments="
+				+ placeholders.length + "]";
+	}
+
+}
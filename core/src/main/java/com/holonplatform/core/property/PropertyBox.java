@@ -16,10 +16,13 @@
 package com.holonplatform.core.property;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 import com.holonplatform.core.Context;
+import com.holonplatform.core.ValidationResult;
 import com.holonplatform.core.Validator;
 import com.holonplatform.core.Validator.Validatable;
 import com.holonplatform.core.Validator.ValidationException;
@@ -139,6 +142,65 @@ public interface PropertyBox extends PropertySet<Property> {
 	 */
 	void setInvalidAllowed(boolean invalidAllowed);
 
+	/**
+	 * Gets whether this box tracks the property value changes, i.e. records which properties were modified after the
+	 * box was built.
+	 * <p>
+	 * Change tracking can be enabled using {@link Builder#trackChanges(boolean)}. Default is <code>false</code>.
+	 * </p>
+	 * @return <code>true</code> if the property value changes are tracked
+	 * @since 5.6.0
+	 */
+	default boolean isTrackingChanges() {
+		return false;
+	}
+
+	/**
+	 * Get the <em>dirty</em> properties, i.e. the properties whose value was changed since the box was built or since
+	 * the last {@link #clearDirty()} invocation. Setting a property to a value equal to the current one does not make
+	 * it dirty.
+	 * @return The dirty properties, in property set order. Always empty if the box does not track changes
+	 * @see #isTrackingChanges()
+	 * @since 5.6.0
+	 */
+	default List<Property<?>> getDirtyProperties() {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Gets whether the value of given property was changed since the box was built or since the last
+	 * {@link #clearDirty()} invocation.
+	 * @param property The property to check (not null)
+	 * @return <code>true</code> if the property is dirty. Always <code>false</code> if the box does not track changes
+	 * @see #isTrackingChanges()
+	 * @since 5.6.0
+	 */
+	default boolean isDirty(Property<?> property) {
+		return false;
+	}
+
+	/**
+	 * Gets whether any property value was changed since the box was built or since the last {@link #clearDirty()}
+	 * invocation.
+	 * @return <code>true</code> if at least one property is dirty. Always <code>false</code> if the box does not track
+	 *         changes
+	 * @see #isTrackingChanges()
+	 * @since 5.6.0
+	 */
+	default boolean isDirty() {
+		return !getDirtyProperties().isEmpty();
+	}
+
+	/**
+	 * Mark all the properties as not dirty, for example after the box values were persisted. Has no effect if the box
+	 * does not track changes.
+	 * @see #isTrackingChanges()
+	 * @since 5.6.0
+	 */
+	default void clearDirty() {
+		// noop
+	}
+
 	/**
 	 * Checks the validity of the value of each property in the box against every registered property validator, if any.
 	 * If one or more value is not valid, an {@link ValidationException} is thrown.
@@ -146,6 +208,22 @@ public interface PropertyBox extends PropertySet<Property> {
 	 */
 	void validate() throws ValidationException;
 
+	/**
+	 * Checks the validity of the value of each property in the box against every registered property validator, if any,
+	 * collecting all the validation failures into a {@link ValidationResult} without throwing any
+	 * {@link ValidationException}.
+	 * @return The validation result
+	 * @since 5.6.0
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	default ValidationResult validateAll() {
+		final ValidationResult.Builder result = ValidationResult.builder();
+		for (Property property : this) {
+			result.add(property.check(getValue(property)));
+		}
+		return result.build();
+	}
+
 	// Helpers
 
 	/**
@@ -164,16 +242,9 @@ public interface PropertyBox extends PropertySet<Property> {
 	 * @param propertySet Property set of the cloned PropertyBox (not null)
 	 * @return A new, cloned, PropertyBox instance with given property set
 	 */
-	@SuppressWarnings("unchecked")
 	default <P extends Property> PropertyBox cloneBox(PropertySet<P> propertySet) {
 		ObjectUtils.argumentNotNull(propertySet, "Property set must be not null");
-		Builder builder = builder(propertySet).invalidAllowed(true);
-		propertySet.forEach(p -> {
-			if (!p.isReadOnly()) {
-				this.getValueIfPresent(p).ifPresent(v -> builder.set(p, v));
-			}
-		});
-		return builder.invalidAllowed(this.isInvalidAllowed()).build();
+		return PropertySetMapping.of(this, propertySet).project(this);
 	}
 
 	/**
@@ -187,6 +258,17 @@ public interface PropertyBox extends PropertySet<Property> {
 		return cloneBox(PropertySet.of(propertySet));
 	}
 
+	/**
+	 * Compute the changes between this box, considered as the original one, and given <code>modified</code> box.
+	 * @param modified The modified property box (not null)
+	 * @return The changes, computed against the <code>modified</code> box property set
+	 * @see PropertyBoxDiff
+	 * @since 5.6.0
+	 */
+	default PropertyBoxDiff diff(PropertyBox modified) {
+		return PropertyBoxDiff.of(this, modified);
+	}
+
 	/**
 	 * Present given <code>property</code> value, obtained from this PropertyBox, as a {@link String}, using current
 	 * {@link PropertyValuePresenterRegistry} if available as {@link Context} resource to obtain a suitable
@@ -358,6 +440,24 @@ public interface PropertyBox extends PropertySet<Property> {
 		 */
 		Builder copyValues(PropertyBox source);
 
+		/**
+		 * Set whether the {@link PropertyBox} to build tracks the property value changes. The values set using this
+		 * builder are considered the initial box state, and any subsequent value change makes the property
+		 * <em>dirty</em>. Default is <code>false</code>.
+		 * @param trackChanges Whether to track the property value changes
+		 * @return this
+		 * @throws UnsupportedOperationException If change tracking is enabled but not supported by the concrete
+		 *         builder (default)
+		 * @see PropertyBox#getDirtyProperties()
+		 * @since 5.6.0
+		 */
+		default Builder trackChanges(boolean trackChanges) {
+			if (trackChanges) {
+				throw new UnsupportedOperationException("PropertyBox change tracking is not supported");
+			}
+			return this;
+		}
+
 		/**
 		 * Build the {@link PropertyBox}
 		 * @return PropertyBox instance
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.property;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.ValidationResult;
+import com.holonplatform.core.Validator;
+import com.holonplatform.core.internal.property.DefaultPropertyBoxBatchValidator;
+
+/**
+ * Validates batches of {@link PropertyBox} instances against the properties of a {@link PropertySet}, and against
+ * optional {@link PropertyBox} level validators.
+ * <p>
+ * Each property value is validated using {@link Property#validate(Object)}, just like {@link PropertyBox#validate()}
+ * does, so any property specific validation logic is honored. The property set is collected once, when the batch
+ * validator is built, so a batch validator instance is meant to be reused for all the batches which refer to the same
+ * property set.
+ * </p>
+ * <p>
+ * By default, the {@link PropertyBox} instances are validated in parallel using the fork/join framework, and the
+ * validation is performed in chunks when the source is a {@link Stream}, so that the stream is never fully collected
+ * in memory.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public interface PropertyBoxBatchValidator {
+
+	/**
+	 * Validate a single {@link PropertyBox}.
+	 * @param propertyBox The property box to validate (not null)
+	 * @return The validation result
+	 */
+	ValidationResult validate(PropertyBox propertyBox);
+
+	/**
+	 * Validate given {@link PropertyBox} collection.
+	 * @param propertyBoxes The property boxes to validate (not null)
+	 * @return The validation report
+	 */
+	Report validate(Collection<? extends PropertyBox> propertyBoxes);
+
+	/**
+	 * Validate given {@link PropertyBox} stream.
+	 * <p>
+	 * The row indexes of the validation report refer to the stream encounter order.
+	 * </p>
+	 * @param propertyBoxes The property boxes to validate (not null)
+	 * @return The validation report
+	 */
+	Report validate(Stream<? extends PropertyBox> propertyBoxes);
+
+	/**
+	 * Get a builder to create a new {@link PropertyBoxBatchValidator}.
+	 * @param <P> Property type
+	 * @param propertySet The property set which provides the properties to validate (not null)
+	 * @return A new {@link Builder}
+	 */
+	@SuppressWarnings("rawtypes")
+	static <P extends Property> Builder builder(PropertySet<P> propertySet) {
+		return new DefaultPropertyBoxBatchValidator.DefaultBuilder(propertySet);
+	}
+
+	/**
+	 * Create a new {@link PropertyBoxBatchValidator} using the default configuration.
+	 * @param <P> Property type
+	 * @param propertySet The property set which provides the properties to validate (not null)
+	 * @return A new {@link PropertyBoxBatchValidator}
+	 */
+	@SuppressWarnings("rawtypes")
+	static <P extends Property> PropertyBoxBatchValidator create(PropertySet<P> propertySet) {
+		return builder(propertySet).build();
+	}
+
+	/**
+	 * Batch validation mode.
+	 */
+	public enum Mode {
+
+		/**
+		 * Validate all the rows, collecting all the validation failures.
+		 */
+		COLLECT_ALL,
+
+		/**
+		 * Stop the validation as soon as a validation failure is detected. Only the first detected invalid row is
+		 * reported: when the rows are validated in parallel, it may not be the invalid row with the lowest index.
+		 */
+		FAIL_FAST;
+
+	}
+
+	/**
+	 * Batch validation report.
+	 */
+	public interface Report {
+
+		/**
+		 * Gets whether all the validated rows are valid.
+		 * @return <code>true</code> if no validation failure was detected, <code>false</code> otherwise
+		 */
+		boolean isValid();
+
+		/**
+		 * Get the number of the rows which were actually validated.
+		 * <p>
+		 * Using {@link Mode#FAIL_FAST}, it may be less than the total number of rows.
+		 * </p>
+		 * @return The validated rows count
+		 */
+		long getValidatedCount();
+
+		/**
+		 * Get the invalid rows, ordered by row index.
+		 * @return The invalid rows, an empty list if none
+		 */
+		List<RowFailure> getFailures();
+
+	}
+
+	/**
+	 * The validation failures of a batch row.
+	 */
+	public interface RowFailure {
+
+		/**
+		 * Get the row index, i.e. the position of the {@link PropertyBox} in the validated batch (0-based).
+		 * @return The row index
+		 */
+		long getIndex();
+
+		/**
+		 * Get the invalid {@link PropertyBox}.
+		 * @return The invalid property box
+		 */
+		PropertyBox getPropertyBox();
+
+		/**
+		 * Get the validation failures for each invalid property.
+		 * @return A map of invalid properties and their validation result, empty if none
+		 */
+		@SuppressWarnings("rawtypes")
+		Map<Property, ValidationResult> getPropertyFailures();
+
+		/**
+		 * Get the validation result of the {@link PropertyBox} level validators.
+		 * @return The {@link PropertyBox} level validation result
+		 */
+		ValidationResult getPropertyBoxFailures();
+
+		/**
+		 * Get all the row validation failures as a single {@link ValidationResult}.
+		 * @return The row validation result
+		 */
+		ValidationResult asValidationResult();
+
+	}
+
+	/**
+	 * {@link PropertyBoxBatchValidator} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the validation mode. Default is {@link Mode#COLLECT_ALL}.
+		 * @param mode The validation mode (not null)
+		 * @return this
+		 */
+		Builder mode(Mode mode);
+
+		/**
+		 * Add a {@link PropertyBox} level validator, invoked for each row after the property validators.
+		 * @param validator The validator to add (not null)
+		 * @return this
+		 */
+		Builder withValidator(Validator<PropertyBox> validator);
+
+		/**
+		 * Set whether to validate the rows in parallel. Default is <code>true</code>.
+		 * @param parallel Whether to validate the rows in parallel
+		 * @return this
+		 */
+		Builder parallel(boolean parallel);
+
+		/**
+		 * Set the {@link ForkJoinPool} to use for parallel validation. If not specified, the
+		 * {@link ForkJoinPool#commonPool()} is used.
+		 * @param pool The fork/join pool to use (not null)
+		 * @return this
+		 */
+		Builder pool(ForkJoinPool pool);
+
+		/**
+		 * Set the number of rows to read from a {@link Stream} source before validating them. Default is
+		 * <code>8192</code>.
+		 * @param chunkSize The chunk size (greater than 0)
+		 * @return this
+		 */
+		Builder chunkSize(int chunkSize);
+
+		/**
+		 * Build the {@link PropertyBoxBatchValidator}.
+		 * @return A new {@link PropertyBoxBatchValidator}
+		 */
+		PropertyBoxBatchValidator build();
+
+	}
+
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.property;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.internal.property.DefaultPropertyBoxCodec;
+
+/**
+ * Compact binary codec for {@link PropertyBox} instances.
+ * <p>
+ * A codec is bound to a {@link PropertySet}, which acts as the encoding schema: the property values are written
+ * positionally, in the property set order, without any property name or type information. Each encoded message starts
+ * with a small header which contains a 64-bit fingerprint of the schema, used by the decoder to check that the data was
+ * written using the same schema. Optionally, the full schema can be embedded in the header: in that case, data written
+ * using a different property set can be decoded too, matching the properties by name and skipping the unknown ones.
+ * </p>
+ * <p>
+ * Numeric, boolean and temporal values are encoded using variable-length integers, <code>null</code> values are
+ * tracked using a bitmap and are not written at all. Values of any other type are written using Java serialization,
+ * so they must be {@link java.io.Serializable}: when decoding, only the classes compatible with the property type and
+ * a restricted set of platform and explicitly allowed classes are deserialized (see
+ * {@link Builder#deserializableTypes(Class...)}). {@link VirtualProperty} values are never encoded.
+ * </p>
+ * <p>
+ * A sequence of {@link PropertyBox} instances can be encoded as a single message using
+ * {@link #encodeAll(Iterable, OutputStream)}, and decoded lazily using {@link #decodeAll(InputStream)}, so that the
+ * whole sequence is never collected in memory.
+ * </p>
+ * <p>
+ * Codec instances are immutable and thread-safe, and they should be reused for all the data which refer to the same
+ * property set.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public interface PropertyBoxCodec {
+
+	/**
+	 * Get the property set used as encoding schema.
+	 * @return The property set
+	 */
+	PropertySet<?> getPropertySet();
+
+	/**
+	 * Get the 64-bit fingerprint of the encoding schema.
+	 * @return The schema fingerprint
+	 */
+	long getSchemaFingerprint();
+
+	/**
+	 * Encode given {@link PropertyBox}.
+	 * @param propertyBox The property box to encode (not null)
+	 * @return The encoded bytes
+	 * @throws CodecException If a property value cannot be encoded
+	 */
+	byte[] encode(PropertyBox propertyBox);
+
+	/**
+	 * Encode given {@link PropertyBox} into given buffer, starting from the buffer current position.
+	 * @param propertyBox The property box to encode (not null)
+	 * @param buffer The buffer into which to write the encoded bytes (not null)
+	 * @throws java.nio.BufferOverflowException If there is insufficient space in the buffer
+	 * @throws CodecException If a property value cannot be encoded
+	 */
+	void encode(PropertyBox propertyBox, ByteBuffer buffer);
+
+	/**
+	 * Encode given {@link PropertyBox} into given stream.
+	 * @param propertyBox The property box to encode (not null)
+	 * @param out The stream into which to write the encoded bytes (not null)
+	 * @throws IOException If an I/O error occurred
+	 * @throws CodecException If a property value cannot be encoded
+	 */
+	void encode(PropertyBox propertyBox, OutputStream out) throws IOException;
+
+	/**
+	 * Encode given {@link PropertyBox} sequence into given stream, as a single message.
+	 * @param propertyBoxes The property boxes to encode (not null)
+	 * @param out The stream into which to write the encoded bytes (not null)
+	 * @throws IOException If an I/O error occurred
+	 * @throws CodecException If a property value cannot be encoded
+	 */
+	void encodeAll(Iterable<? extends PropertyBox> propertyBoxes, OutputStream out) throws IOException;
+
+	/**
+	 * Encode given {@link PropertyBox} stream into given stream, as a single message.
+	 * @param propertyBoxes The property boxes to encode (not null)
+	 * @param out The stream into which to write the encoded bytes (not null)
+	 * @throws IOException If an I/O error occurred
+	 * @throws CodecException If a property value cannot be encoded
+	 */
+	default void encodeAll(Stream<? extends PropertyBox> propertyBoxes, OutputStream out) throws IOException {
+		encodeAll((Iterable<PropertyBox>) () -> propertyBoxes.map(b -> (PropertyBox) b).iterator(), out);
+	}
+
+	/**
+	 * Decode a {@link PropertyBox} from given bytes.
+	 * @param data The encoded bytes (not null)
+	 * @return The decoded property box
+	 * @throws CodecException If the data are not valid or were encoded using an incompatible schema
+	 */
+	PropertyBox decode(byte[] data);
+
+	/**
+	 * Decode a {@link PropertyBox} from given buffer, starting from the buffer current position. When this method
+	 * returns, the buffer position is set after the last decoded byte.
+	 * @param buffer The buffer from which to read the encoded bytes (not null)
+	 * @return The decoded property box
+	 * @throws CodecException If the data are not valid or were encoded using an incompatible schema
+	 */
+	PropertyBox decode(ByteBuffer buffer);
+
+	/**
+	 * Decode a {@link PropertyBox} from given stream.
+	 * <p>
+	 * The stream is read byte by byte and never beyond the end of the message, so a buffered stream should be provided
+	 * for best performance.
+	 * </p>
+	 * @param in The stream from which to read the encoded bytes (not null)
+	 * @return The decoded property box
+	 * @throws IOException If an I/O error occurred
+	 * @throws CodecException If the data are not valid or were encoded using an incompatible schema
+	 */
+	PropertyBox decode(InputStream in) throws IOException;
+
+	/**
+	 * Decode a {@link PropertyBox} sequence from given stream. The message header is read immediately, while the
+	 * property boxes are decoded lazily, as the returned stream is consumed.
+	 * <p>
+	 * Any {@link IOException} thrown while consuming the returned stream is wrapped into an
+	 * {@link java.io.UncheckedIOException}. A message which contains a single encoded {@link PropertyBox} is decoded as a
+	 * sequence of one element.
+	 * </p>
+	 * @param in The stream from which to read the encoded bytes (not null)
+	 * @return The decoded property boxes stream
+	 * @throws IOException If an I/O error occurred reading the message header
+	 * @throws CodecException If the data are not valid or were encoded using an incompatible schema
+	 */
+	Stream<PropertyBox> decodeAll(InputStream in) throws IOException;
+
+	/**
+	 * Decode a {@link PropertyBox} sequence from given buffer. The message header is read immediately, while the
+	 * property boxes are decoded lazily, as the returned stream is consumed.
+	 * @param buffer The buffer from which to read the encoded bytes (not null)
+	 * @return The decoded property boxes stream
+	 * @throws CodecException If the data are not valid or were encoded using an incompatible schema
+	 */
+	Stream<PropertyBox> decodeAll(ByteBuffer buffer);
+
+	/**
+	 * Get a builder to create a new {@link PropertyBoxCodec}.
+	 * @param <P> Property type
+	 * @param propertySet The property set to use as encoding schema (not null)
+	 * @return A new {@link Builder}
+	 */
+	@SuppressWarnings("rawtypes")
+	static <P extends Property> Builder builder(PropertySet<P> propertySet) {
+		return new DefaultPropertyBoxCodec.DefaultBuilder(propertySet);
+	}
+
+	/**
+	 * Create a new {@link PropertyBoxCodec} using the default configuration, i.e. without schema embedding.
+	 * @param <P> Property type
+	 * @param propertySet The property set to use as encoding schema (not null)
+	 * @return A new {@link PropertyBoxCodec}
+	 */
+	@SuppressWarnings("rawtypes")
+	static <P extends Property> PropertyBoxCodec create(PropertySet<P> propertySet) {
+		return builder(propertySet).build();
+	}
+
+	/**
+	 * {@link PropertyBoxCodec} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set whether to embed the schema, i.e. the property names and types, in each encoded message. Default is
+		 * <code>false</code>.
+		 * @param embedSchema Whether to embed the schema
+		 * @return this
+		 */
+		Builder embedSchema(boolean embedSchema);
+
+		/**
+		 * Add the types which are allowed to be deserialized when decoding the values written using Java
+		 * serialization, besides the property types and their subtypes, the <code>java.lang</code>,
+		 * <code>java.math</code>, <code>java.time</code> and <code>java.util</code> package classes and the arrays
+		 * of them. Any other class found in the serialized data is rejected before it is instantiated.
+		 * <p>
+		 * The subtypes of a property type are not allowed if the property type is <code>Object</code>, an interface
+		 * or an abstract class: in this case, the value classes must be explicitly listed using this method.
+		 * </p>
+		 * @param types The additional deserializable types
+		 * @return this
+		 */
+		Builder deserializableTypes(Class<?>... types);
+
+		/**
+		 * Set the max length of the variable-length data accepted when decoding, i.e. the max size in bytes of the
+		 * strings, byte arrays and serialized values and the max number of properties of an embedded schema. Any
+		 * longer data is rejected before allocating its memory. Default is 16 MiB.
+		 * @param maxLength The max length (must be greater than 0)
+		 * @return this
+		 */
+		Builder maxLength(int maxLength);
+
+		/**
+		 * Build the {@link PropertyBoxCodec}.
+		 * @return A new {@link PropertyBoxCodec}
+		 */
+		PropertyBoxCodec build();
+
+	}
+
+	/**
+	 * Exception thrown when a {@link PropertyBox} cannot be encoded or decoded.
+	 */
+	@SuppressWarnings("serial")
+	public static class CodecException extends RuntimeException {
+
+		/**
+		 * Constructor with error message
+		 * @param message Error message
+		 */
+		public CodecException(String message) {
+			super(message);
+		}
+
+		/**
+		 * Constructor with error message and cause
+		 * @param message Error message
+		 * @param cause Cause
+		 */
+		public CodecException(String message, Throwable cause) {
+			super(message, cause);
+		}
+
+	}
+
+}
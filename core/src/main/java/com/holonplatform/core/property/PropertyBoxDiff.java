@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.property;
+
+import java.util.BitSet;
+import java.util.List;
+
+import com.holonplatform.core.internal.property.DefaultPropertyBoxDiff;
+
+/**
+ * The changed properties between an original and a modified {@link PropertyBox}.
+ * <p>
+ * The changes are computed against the property set of the modified box: a property is changed if its value in the
+ * modified box is not equal to its value in the original box, or if the original box does not contain the property
+ * and the modified box value is not <code>null</code>. {@link VirtualProperty} values are never compared.
+ * </p>
+ * <p>
+ * The {@link #getChangedValues(boolean)} method can be used to obtain a {@link PropertyBox} which contains only the
+ * changed values, for example to update only the modified data model attributes.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public interface PropertyBoxDiff {
+
+	/**
+	 * Get the property set to which the changes refer, i.e. the property set of the modified box.
+	 * @return The property set
+	 */
+	PropertySet<?> getPropertySet();
+
+	/**
+	 * Get whether any property changed.
+	 * @return <code>true</code> if at least one property changed
+	 */
+	boolean hasChanges();
+
+	/**
+	 * Get whether given property changed.
+	 * @param property The property to check (not null)
+	 * @return <code>true</code> if the property belongs to the property set and its value changed
+	 */
+	boolean isChanged(Property<?> property);
+
+	/**
+	 * Get the changed properties bitmask: the bit at index <code>i</code> is set if the property at position
+	 * <code>i</code> of the property set changed.
+	 * @return The changed properties bitmask (a copy)
+	 */
+	BitSet getChangedMask();
+
+	/**
+	 * Get the changed properties, in property set order.
+	 * @return The changed properties, an empty list if none
+	 */
+	List<Property<?>> getChangedProperties();
+
+	/**
+	 * Get a new {@link PropertyBox} which contains only the changed properties and their values in the modified box.
+	 * @param includeIdentifiers Whether to include the property set identifier properties, even if not changed
+	 * @return A new {@link PropertyBox} with the changed values
+	 */
+	PropertyBox getChangedValues(boolean includeIdentifiers);
+
+	/**
+	 * Compute the changes between given boxes.
+	 * @param original The original property box (not null)
+	 * @param modified The modified property box (not null)
+	 * @return The changes
+	 */
+	static PropertyBoxDiff of(PropertyBox original, PropertyBox modified) {
+		return DefaultPropertyBoxDiff.of(original, modified);
+	}
+
+}
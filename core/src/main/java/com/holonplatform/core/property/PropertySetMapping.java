@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.property;
+
+import java.util.List;
+
+import com.holonplatform.core.internal.property.DefaultPropertySetMapping;
+
+/**
+ * A positional mapping between the properties of a source {@link PropertySet} and the properties of a target
+ * {@link PropertySet}, used to copy the values of the matching properties between {@link PropertyBox} instances.
+ * <p>
+ * A source property matches a target property if the two are equal and the target property is not read-only. The
+ * mapping is computed once, so the values are copied without any property set lookup. When both the property sets
+ * are the default implementations, the mappings are cached and reused, so {@link #of(PropertySet, PropertySet)} is
+ * cheap to call repeatedly.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public interface PropertySetMapping {
+
+	/**
+	 * Get the source property set.
+	 * @return The source property set
+	 */
+	PropertySet<?> getSource();
+
+	/**
+	 * Get the target property set.
+	 * @return The target property set
+	 */
+	PropertySet<?> getTarget();
+
+	/**
+	 * Get the target properties whose value is copied from the source, in target property set order.
+	 * @return The mapped properties, an empty list if none
+	 */
+	List<Property<?>> getMappedProperties();
+
+	/**
+	 * Copy the values of the mapped properties from given source box to given target box, including the
+	 * <code>null</code> values.
+	 * @param source The source property box (not null)
+	 * @param target The target property box (not null)
+	 * @throws com.holonplatform.core.Validator.ValidationException If the target box does not allow invalid values and
+	 *         a copied value is not valid
+	 */
+	void copy(PropertyBox source, PropertyBox target);
+
+	/**
+	 * Project given box onto the target property set, i.e. create a new {@link PropertyBox} with the target property
+	 * set and copy the values of the mapped properties from given box.
+	 * @param source The source property box (not null)
+	 * @return A new {@link PropertyBox} with the target property set
+	 */
+	PropertyBox project(PropertyBox source);
+
+	/**
+	 * Get the mapping from given source property set to given target property set.
+	 * <p>
+	 * If a {@link PropertyBox} is provided as property set, the mapping refers to the property set of the box.
+	 * </p>
+	 * @param source The source property set (not null)
+	 * @param target The target property set (not null)
+	 * @return The property set mapping
+	 */
+	static PropertySetMapping of(PropertySet<?> source, PropertySet<?> target) {
+		return DefaultPropertySetMapping.of(source, target);
+	}
+
+}
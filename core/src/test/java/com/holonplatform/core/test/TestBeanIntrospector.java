@@ -18,18 +18,31 @@ package com.holonplatform.core.test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.ref.WeakReference;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 
 import com.holonplatform.core.DataMappable;
+import com.holonplatform.core.beans.BeanIntrospectionMetrics;
 import com.holonplatform.core.beans.BeanIntrospector;
 import com.holonplatform.core.beans.BeanPropertySet;
+import com.holonplatform.core.internal.beans.BeanIntrospectorWarmUp;
+import com.holonplatform.core.internal.beans.DefaultBeanIntrospector;
 import com.holonplatform.core.property.BooleanProperty;
 import com.holonplatform.core.property.NumericProperty;
 import com.holonplatform.core.property.PathProperty;
@@ -37,13 +50,80 @@ import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.StringProperty;
 import com.holonplatform.core.property.TemporalProperty;
 import com.holonplatform.core.temporal.TemporalType;
+import com.holonplatform.core.test.data.TestBean;
+import com.holonplatform.core.test.data.TestBean2;
 import com.holonplatform.core.test.data.TestBean4;
 import com.holonplatform.core.test.data.TestBeanPropertyBean;
 import com.holonplatform.core.test.data.TestEnum;
 import com.holonplatform.core.test.data.TestEnum2;
+import com.holonplatform.core.test.data.TestQueryData;
 
 public class TestBeanIntrospector {
 
+	@Test
+	public void testClearCacheReleasesValues() throws Exception {
+		final DefaultBeanIntrospector introspector = new DefaultBeanIntrospector(getClass().getClassLoader());
+		final WeakReference<BeanPropertySet<TestBean2>> set = new WeakReference<>(
+				introspector.getPropertySet(TestBean2.class));
+		assertNotNull(set.get());
+		introspector.clearCache();
+		for (int i = 0; i < 50 && set.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(set.get());
+	}
+
+	@Test
+	public void testConcurrentIntrospection() throws Exception {
+		final DefaultBeanIntrospector introspector = new DefaultBeanIntrospector(getClass().getClassLoader());
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<BeanPropertySet<TestBean>>> futures = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				futures.add(executor.submit(() -> introspector.getPropertySet(TestBean.class)));
+			}
+			final BeanPropertySet<TestBean> set = futures.get(0).get();
+			for (Future<BeanPropertySet<TestBean>> future : futures) {
+				assertSame(set, future.get());
+			}
+			assertEquals(1, introspector.getCacheSize());
+
+			BeanIntrospectionMetrics metrics = introspector.getMetrics().orElse(null);
+			assertNotNull(metrics);
+			assertEquals(1, metrics.getIntrospectionCount());
+			assertFalse(metrics.getPostProcessorMetrics().isEmpty());
+			assertTrue(metrics.getPostProcessorMetrics().get(0).getInvocationCount() > 0);
+
+			// warm-up
+			final int count = introspector.warmUp(Arrays.asList(TestBean.class, TestBean2.class), executor).get();
+			assertEquals(2, count);
+			assertEquals(2, introspector.getCacheSize());
+			assertEquals(2, introspector.getMetrics().get().getIntrospectionCount());
+
+			final List<Class<?>> beanClasses = BeanIntrospectorWarmUp.getBeanClasses(TestBean.class.getPackage().getName(),
+					null);
+			assertTrue(beanClasses.contains(TestBean.class));
+			assertTrue(beanClasses.contains(TestBean4.class));
+			assertFalse(beanClasses.contains(TestEnum.class));
+			assertFalse(beanClasses.contains(TestQueryData.class));
+			assertSame(set, introspector.getPropertySet(TestBean.class));
+
+			// clear
+			introspector.clearCache();
+			assertEquals(0, introspector.getCacheSize());
+			assertNotSame(set, introspector.getPropertySet(TestBean.class));
+			assertEquals(1, introspector.getCacheSize());
+
+			introspector.resetMetrics();
+			metrics = introspector.getMetrics().get();
+			assertEquals(0, metrics.getIntrospectionCount());
+			assertTrue(metrics.getPostProcessorMetrics().isEmpty());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	public void testProperties() {
 
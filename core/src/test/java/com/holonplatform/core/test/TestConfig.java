@@ -23,14 +23,27 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
+import com.holonplatform.core.Registration;
 import com.holonplatform.core.beans.BeanConfigProperties;
 import com.holonplatform.core.config.ConfigPropertyProvider;
+import com.holonplatform.core.config.WatchingConfigPropertyProvider;
+import com.holonplatform.core.internal.config.DefaultConfigPropertySet;
+import com.holonplatform.core.internal.config.MapConfigPropertyProvider;
 import com.holonplatform.core.internal.config.PrefixedConfigPropertyProvider;
 import com.holonplatform.core.internal.config.PropertiesConfigProvider;
 import com.holonplatform.core.internal.utils.ClassUtils;
@@ -129,4 +142,103 @@ public class TestConfig {
 
 	}
 
+	@Test
+	public void testConfigCache() {
+
+		final String key = BeanConfigProperties.NAME + "."
+				+ BeanConfigProperties.BEAN_INTROSPECTOR_CACHE_ENABLED.getKey();
+
+		final AtomicInteger reads = new AtomicInteger();
+		final List<ConfigPropertyProvider.ChangeListener> listeners = new ArrayList<>();
+		final Map<String, Object> values = new HashMap<>();
+		values.put(key, "false");
+
+		final ConfigPropertyProvider provider = new MapConfigPropertyProvider(values) {
+
+			@Override
+			public <T> T getProperty(String name, Class<T> targetType) throws IllegalArgumentException {
+				reads.incrementAndGet();
+				return super.getProperty(name, targetType);
+			}
+
+			@Override
+			public boolean isCacheable() {
+				return true;
+			}
+
+			@Override
+			public Registration addChangeListener(ChangeListener listener) {
+				listeners.add(listener);
+				return () -> listeners.remove(listener);
+			}
+
+		};
+
+		final BeanConfigProperties cfg = BeanConfigProperties.builder().withSystemPropertySource()
+				.withPropertySource(provider).build();
+
+		final AtomicInteger changes = new AtomicInteger();
+		cfg.addChangeListener(ps -> changes.incrementAndGet());
+
+		assertFalse(cfg.isBeanIntrospectorCacheEnabled());
+		assertFalse(cfg.isBeanIntrospectorCacheEnabled());
+		assertEquals(1, reads.get());
+
+		// non cacheable sources are always queried
+		System.setProperty(key, "true");
+		try {
+			assertTrue(cfg.isBeanIntrospectorCacheEnabled());
+		} finally {
+			System.clearProperty(key);
+		}
+		assertFalse(cfg.isBeanIntrospectorCacheEnabled());
+		assertEquals(1, reads.get());
+
+		values.put(key, "true");
+		assertFalse(cfg.isBeanIntrospectorCacheEnabled());
+		assertEquals(1, listeners.size());
+		listeners.forEach(l -> l.onChange(provider));
+		assertEquals(1, changes.get());
+		assertTrue(cfg.isBeanIntrospectorCacheEnabled());
+		assertEquals(2, reads.get());
+
+		assertTrue(((DefaultConfigPropertySet) cfg).removePropertyProvider(provider));
+		assertEquals(0, listeners.size());
+		assertFalse(((DefaultConfigPropertySet) cfg).removePropertyProvider(provider));
+		assertEquals(2, reads.get());
+
+	}
+
+	@Test
+	public void testWatchingProvider() throws Exception {
+
+		final String key = BeanConfigProperties.NAME + "."
+				+ BeanConfigProperties.BEAN_INTROSPECTOR_CACHE_ENABLED.getKey();
+
+		final Path file = Files.createTempFile("holon-test", ".properties");
+		try {
+			Files.write(file, Collections.singletonList(key + "=false"), StandardCharsets.ISO_8859_1);
+
+			try (WatchingConfigPropertyProvider provider = ConfigPropertyProvider.watching(file)) {
+				assertEquals(file.toAbsolutePath(), provider.getFile());
+				assertTrue(provider.isCacheable());
+				assertEquals(Boolean.FALSE, provider.getProperty(key, Boolean.class));
+
+				final BeanConfigProperties cfg = BeanConfigProperties.builder().withPropertySource(provider).build();
+				assertFalse(cfg.isBeanIntrospectorCacheEnabled());
+
+				final CountDownLatch latch = new CountDownLatch(1);
+				cfg.addChangeListener(ps -> latch.countDown());
+
+				Files.write(file, Collections.singletonList(key + "=true"), StandardCharsets.ISO_8859_1);
+
+				assertTrue(latch.await(30, TimeUnit.SECONDS));
+				assertTrue(cfg.isBeanIntrospectorCacheEnabled());
+			}
+		} finally {
+			Files.deleteIfExists(file);
+		}
+
+	}
+
 }
@@ -20,11 +20,17 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 
 import com.holonplatform.core.Context;
 import com.holonplatform.core.ContextScope;
+import com.holonplatform.core.ContextSnapshot;
 import com.holonplatform.core.exceptions.TypeMismatchException;
 import com.holonplatform.core.internal.ContextManager;
 import com.holonplatform.core.internal.ContextResourceMap;
@@ -151,6 +157,71 @@ public class TestContext {
 
 	}
 
+	@Test
+	public void testThreadInheritance() throws InterruptedException {
+		final ContextScope scope = Context.get().threadScope().orElse(null);
+		scope.put("inherited", "parent");
+		try {
+			final AtomicReference<String> child = new AtomicReference<>();
+			final Thread thread = new Thread(() -> {
+				child.set(Context.get().resource("inherited", String.class).orElse(null));
+				// child changes are not visible to the parent thread
+				scope.put("inherited", "child");
+			});
+			thread.start();
+			thread.join();
+			assertEquals("parent", child.get());
+			assertEquals("parent", Context.get().resource("inherited", String.class).orElse(null));
+		} finally {
+			scope.remove("inherited");
+		}
+	}
+
+	@Test
+	public void testContextPropagation() throws Exception {
+		final ContextScope scope = Context.get().threadScope().orElse(null);
+
+		assertTrue(ContextSnapshot.capture().isEmpty());
+
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			// start the pool thread without resources to inherit
+			executor.submit(() -> null).get();
+
+			scope.put("propagated", "value");
+			final ContextSnapshot snapshot = ContextSnapshot.capture();
+			assertFalse(snapshot.isEmpty());
+
+			assertFalse(executor.submit(() -> Context.get().resource("propagated", String.class).isPresent()).get());
+			assertEquals("value", executor
+					.submit(snapshot.wrap(() -> Context.get().resource("propagated", String.class).orElse(null))).get());
+
+			final AtomicReference<String> value = new AtomicReference<>();
+			final CompletableFuture<Void> done = new CompletableFuture<>();
+			ContextSnapshot.propagating(executor).execute(() -> {
+				value.set(Context.get().resource("propagated", String.class).orElse(null));
+				done.complete(null);
+			});
+			done.get();
+			assertEquals("value", value.get());
+
+			// previous resources are restored
+			assertFalse(executor.submit(() -> Context.get().resource("propagated", String.class).isPresent()).get());
+
+			final CompletionStage<String> stage = ContextSnapshot
+					.propagating(CompletableFuture.supplyAsync(() -> "x", executor))
+					.thenApplyAsync(v -> v + Context.get().resource("propagated", String.class).orElse(null), executor);
+			assertEquals("xvalue", stage.toCompletableFuture().get());
+
+			scope.remove("propagated");
+			assertEquals("value", snapshot.get(() -> Context.get().resource("propagated", String.class).orElse(null)));
+			assertFalse(Context.get().resource("propagated", String.class).isPresent());
+		} finally {
+			scope.remove("propagated");
+			executor.shutdown();
+		}
+	}
+
 	public static final class DummyScope implements ContextScope {
 
 		private final ContextResourceMap resources = new ContextResourceMap("dummy", true);
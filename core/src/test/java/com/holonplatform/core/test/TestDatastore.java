@@ -36,6 +36,9 @@ import com.holonplatform.core.datastore.DatastoreConfigProperties;
 import com.holonplatform.core.datastore.bulk.BulkDelete;
 import com.holonplatform.core.datastore.bulk.BulkInsert;
 import com.holonplatform.core.datastore.bulk.BulkUpdate;
+import com.holonplatform.core.instrumentation.Instrumentation;
+import com.holonplatform.core.instrumentation.InstrumentationMetrics;
+import com.holonplatform.core.instrumentation.InstrumentationMetrics.OperationMetrics;
 import com.holonplatform.core.internal.datastore.AbstractDatastore;
 import com.holonplatform.core.internal.query.DefaultQueryDefinition;
 import com.holonplatform.core.property.PropertyBox;
@@ -71,6 +74,36 @@ public class TestDatastore {
 
 	}
 
+	@Test
+	public void testDatastoreInstrumentation() {
+
+		DummyDatastore ds = new DummyDatastore();
+		ds.registerCommodity(new DummyQueryFactory());
+
+		final InstrumentationMetrics metrics = Instrumentation.metrics();
+		ds.setInstrumentation(metrics);
+		assertTrue(ds.getInstrumentation().isPresent());
+
+		final DataTarget<String> qt = DataTarget.named("tt");
+
+		Query q = ds.query().target(qt);
+		assertEquals(0, q.list(TestPropertySet.NAME).size());
+		assertEquals(0, q.list(TestPropertySet.NAME).size());
+		assertEquals(0L, q.count());
+
+		OperationMetrics om = metrics.getMetrics(Instrumentation.DATASTORE, "Query.list", "tt").orElse(null);
+		assertNotNull(om);
+		assertEquals(2, om.getCount());
+		assertEquals(0, om.getErrorCount());
+		assertEquals(0, om.getInFlight());
+		assertEquals(2, om.getLatency().getCount());
+		assertTrue(metrics.getMetrics(Instrumentation.DATASTORE, "Query.count", "tt").isPresent());
+		assertEquals(2, metrics.getMetrics().size());
+
+		ds.setInstrumentation(null);
+		assertTrue(ds.query() instanceof DummyQuery);
+	}
+
 	@Test
 	public void testDatastoreConfig() {
 
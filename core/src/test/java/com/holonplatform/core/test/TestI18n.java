@@ -33,6 +33,7 @@ import java.util.Date;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -42,6 +43,7 @@ import com.holonplatform.core.i18n.Localizable;
 import com.holonplatform.core.i18n.Localizable.LocalizationException;
 import com.holonplatform.core.i18n.Localization;
 import com.holonplatform.core.i18n.LocalizationContext;
+import com.holonplatform.core.i18n.LocalizationSnapshot;
 import com.holonplatform.core.i18n.MessageProvider;
 import com.holonplatform.core.i18n.NumberFormatFeature;
 import com.holonplatform.core.i18n.TemporalFormat;
@@ -521,4 +523,124 @@ public class TestI18n {
 
 	}
 
+	@Test
+	public void testSnapshots() {
+
+		final AtomicInteger missing = new AtomicInteger();
+
+		final LocalizationContext ctx = LocalizationContext.builder().withInitialLocale(Locale.US)
+				.withMessageProvider(MessageProvider.fromProperties("messages/messages").build())
+				.withDefaultBooleanLocalization(true, Localizable.of("Yes"))
+				.withMissingMessageLocalizationListener((locale, code, dft) -> missing.incrementAndGet()).build();
+
+		final LocalizationSnapshot current = ctx.snapshot();
+		assertEquals(Locale.US, current.getLocale());
+		assertTrue(current == ctx.snapshot());
+		assertEquals("Test_en_US", current.getMessage("test.msg", "dft"));
+		assertEquals("Yes", current.getDefaultBooleanLocalization(true).map(l -> l.getMessage()).orElse(null));
+		assertFalse(current.getDefaultBooleanLocalization(false).isPresent());
+
+		ctx.localize(Locale.ITALIAN);
+		assertEquals(Locale.US, current.getLocale());
+		assertEquals("Test_en_US", current.getMessage("test.msg", "dft"));
+		assertEquals(Locale.ITALIAN, ctx.snapshot().getLocale());
+
+		final LocalizationSnapshot it = ctx.snapshot(Locale.ITALY);
+		assertTrue(it == ctx.snapshot(Locale.ITALY));
+		assertEquals("Test_it_IT", it.getMessage("test.msg", "dft"));
+		assertEquals("Test_it_IT", it.getMessage("test.msg").orElse(null));
+		assertEquals("dft", it.getMessage("xxx", "dft"));
+		assertFalse(it.getMessage("xxx").isPresent());
+		assertEquals(2, missing.get());
+		assertEquals("TestDFT", it.getMessage(Localizable.builder().message("x").messageCode("test.dft").build()));
+
+		DefaultLocalization l1 = new DefaultLocalization(Locale.GERMAN);
+		DefaultLocalization l2 = new DefaultLocalization(new Locale("it", "IT", "var"));
+		l1.setParent(l2);
+		final LocalizationSnapshot chained = ctx.snapshot(l1);
+		ctx.localize(l1);
+		assertEquals(ctx.getMessage("test.msg", "dft"), chained.getMessage("test.msg", "dft"));
+		assertTrue(ctx.snapshot() == ctx.snapshot(l1));
+
+		// formats
+		ctx.localize(Locale.ITALY);
+		final LocalDateTime dt = LocalDateTime.of(2018, Month.MARCH, 15, 10, 30);
+		final Date date = new Date();
+		assertEquals(ctx.format(dt), it.format(dt));
+		assertEquals(ctx.format(dt, TemporalFormat.LONG, TemporalFormat.MEDIUM),
+				it.format(dt, TemporalFormat.LONG, TemporalFormat.MEDIUM));
+		assertEquals(ctx.format(date, TemporalType.DATE_TIME), it.format(date, TemporalType.DATE_TIME));
+		assertEquals(ctx.format(1234.5, 2), it.format(1234.5, 2));
+		assertEquals(ctx.format(0.25, NumberFormatFeature.PERCENT_STYLE),
+				it.format(0.25, NumberFormatFeature.PERCENT_STYLE));
+		assertEquals(ctx.format(12345, NumberFormatFeature.DISABLE_GROUPING),
+				it.format(12345, NumberFormatFeature.DISABLE_GROUPING));
+		assertTrue(it.getDateFormat(TemporalType.DATE, null, null) != it.getDateFormat(TemporalType.DATE, null,
+				null));
+
+		// configuration changes invalidate the cached snapshots
+		ctx.setDefaultBooleanLocalization(false, Localizable.of("No"));
+		final LocalizationSnapshot it2 = ctx.snapshot(Locale.ITALY);
+		assertFalse(it == it2);
+		assertFalse(it.getDefaultBooleanLocalization(false).isPresent());
+		assertEquals("No", it2.getDefaultBooleanLocalization(false).map(l -> l.getMessage()).orElse(null));
+
+		// concurrent use
+		final Locale[] locales = new Locale[] { Locale.US, Locale.ITALY, Locale.ENGLISH, Locale.FRANCE };
+		final String[] expected = new String[] { "Test_en_US", "Test_it_IT", "Test_en", "Test" };
+		IntStream.range(0, 10000).parallel().forEach(i -> {
+			final LocalizationSnapshot snapshot = ctx.snapshot(locales[i % locales.length]);
+			assertEquals(expected[i % locales.length], snapshot.getMessage("test.msg", "dft"));
+			assertNotNull(snapshot.format(LocalDate.of(2018, 1, 1)));
+		});
+
+		assertThrows(LocalizationException.class, () -> LocalizationContext.builder().build().snapshot());
+	}
+
+	@Test
+	public void testMessageTemplates() {
+
+		final AtomicInteger version = new AtomicInteger();
+
+		final DefaultLocalizationContext ctx = new DefaultLocalizationContext(Locale.US);
+		ctx.addMessageProvider((locale, code) -> {
+			if ("greeting".equals(code)) {
+				return Optional.of((version.get() == 0) ? "Hello &, you have & messages" : "Hi &");
+			}
+			return Optional.empty();
+		});
+
+		assertEquals("Hello John, you have 3 messages", ctx.getMessage("greeting", "dft", "John", 3));
+		assertEquals("Hello Jane, you have 0 messages", ctx.getMessage("greeting", "dft", "Jane", 0));
+		assertEquals("Default Jane", ctx.getMessage("missing", "Default &", "Jane"));
+
+		// message provider changes are detected
+		version.set(1);
+		assertEquals("Hi John", ctx.getMessage("greeting", "dft", "John", 3));
+
+		final StringBuilder sb = new StringBuilder();
+		ctx.appendMessage(sb, Localizable.builder().messageCode("greeting").message("dft").messageArguments("A")
+				.build());
+		sb.append('|');
+		ctx.appendMessage(sb, Localizable.builder().message("Value: &").messageArguments(1).build());
+		assertEquals("Hi A|Value: 1", sb.toString());
+
+		final StringBuilder sb2 = new StringBuilder();
+		LocalizationContext.builder().build().appendMessage(sb2,
+				Localizable.builder().message("Value: &").messageArguments(2).build(), true);
+		assertEquals("Value: 2", sb2.toString());
+		assertThrows(LocalizationException.class, () -> LocalizationContext.builder().build().appendMessage(sb2,
+				Localizable.builder().message("Value: &").messageArguments(2).build()));
+
+		final LocalizationSnapshot snapshot = ctx.snapshot(Locale.ITALY);
+		final StringBuilder sb3 = new StringBuilder();
+		snapshot.appendMessage(sb3, "greeting", "dft", "B");
+		snapshot.appendMessage(sb3, Localizable.builder().message(" &&").messageArguments("x", "y").build());
+		assertEquals("Hi B xy", sb3.toString());
+
+		ctx.setMessageArgumentsPlaceholder("{}");
+		assertEquals("Hi &", ctx.getMessage("greeting", "dft", "John"));
+		assertEquals("Value John", ctx.getMessage("missing", "Value {}", "John"));
+	}
+
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.DatastoreCommodity;
+import com.holonplatform.core.instrumentation.Histogram;
+import com.holonplatform.core.instrumentation.Instrumentation;
+import com.holonplatform.core.instrumentation.Instrumentation.Observation;
+import com.holonplatform.core.instrumentation.InstrumentationMetrics;
+import com.holonplatform.core.instrumentation.InstrumentationMetrics.OperationMetrics;
+import com.holonplatform.core.internal.datastore.InstrumentedCommodity;
+
+public class TestInstrumentation {
+
+	@Test
+	public void testHistogram() throws Exception {
+		final Histogram histogram = Histogram.create();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getValueAtPercentile(50));
+
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 4; t++) {
+				futures.add(executor.submit(() -> {
+					for (long v = 1; v <= 10000; v++) {
+						histogram.record(v);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(40000, histogram.getCount());
+		assertEquals(1, histogram.getMin());
+		assertEquals(10000, histogram.getMax());
+		assertEquals(5000.5d, histogram.getMean(), 0.001d);
+		assertEquals(5000d, histogram.getValueAtPercentile(50), 5000 * 0.07d);
+		assertEquals(9900d, histogram.getValueAtPercentile(99), 9900 * 0.07d);
+		assertEquals(10000, histogram.getValueAtPercentile(100));
+
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+	}
+
+	@Test
+	public void testMetrics() {
+		final InstrumentationMetrics metrics = Instrumentation.metrics();
+		final AtomicInteger started = new AtomicInteger();
+		final Instrumentation instrumentation = Instrumentation.compose(metrics, (c, o, t) -> {
+			started.incrementAndGet();
+			return Observation.NONE;
+		});
+
+		final Observation o1 = instrumentation.start("test", "op", "target");
+		final Observation o2 = instrumentation.start("test", "op", "target");
+
+		OperationMetrics om = metrics.getMetrics("test", "op", "target").orElse(null);
+		assertEquals(2, om.getInFlight());
+		assertEquals(0, om.getCount());
+
+		o1.transferred(10);
+		o1.success();
+		o2.failure(new RuntimeException());
+		// completed only once
+		o2.success();
+
+		assertEquals(2, started.get());
+		assertEquals(0, om.getInFlight());
+		assertEquals(2, om.getCount());
+		assertEquals(1, om.getErrorCount());
+		assertEquals(10, om.getTransferred());
+		assertTrue(om.getLatency().getMax() >= 0);
+
+		assertEquals(1, metrics.getMetrics().size());
+		metrics.reset();
+		assertTrue(metrics.getMetrics().isEmpty());
+	}
+
+	@Test
+	public void testStreamResults() {
+		final InstrumentationMetrics metrics = Instrumentation.metrics();
+		final StreamOperation operation = InstrumentedCommodity.create(StreamOperation.class,
+				() -> Stream.of("a", "b", "c"), metrics);
+
+		final Stream<String> stream = operation.execute();
+		final OperationMetrics om = metrics.getMetrics(Instrumentation.DATASTORE, "StreamOperation", "").orElse(null);
+		// not completed until the stream is closed
+		assertEquals(1, om.getInFlight());
+		assertEquals(0, om.getCount());
+
+		assertEquals(Arrays.asList("a", "b", "c"), stream.collect(Collectors.toList()));
+		assertEquals(1, om.getInFlight());
+		assertEquals(3, om.getTransferred());
+
+		stream.close();
+		assertEquals(0, om.getInFlight());
+		assertEquals(1, om.getCount());
+		assertEquals(0, om.getErrorCount());
+
+		// consumption failure
+		try (Stream<String> failing = operation.execute()) {
+			assertThrows(IllegalStateException.class, () -> failing.map(v -> {
+				if ("b".equals(v)) {
+					throw new IllegalStateException("failed");
+				}
+				return v;
+			}).forEach(v -> {
+				// noop
+			}));
+		}
+		assertEquals(0, om.getInFlight());
+		assertEquals(2, om.getCount());
+		assertEquals(1, om.getErrorCount());
+	}
+
+	@Test
+	public void testAsyncStreamResults() throws Exception {
+		final InstrumentationMetrics metrics = Instrumentation.metrics();
+		final CompletableFuture<Stream<String>> result = new CompletableFuture<>();
+		final AsyncStreamOperation operation = InstrumentedCommodity.create(AsyncStreamOperation.class, () -> result,
+				metrics);
+
+		final CompletableFuture<Stream<String>> stage = operation.execute().toCompletableFuture();
+		result.complete(Stream.of("a", "b"));
+		final OperationMetrics om = metrics.getMetrics(Instrumentation.DATASTORE, "AsyncStreamOperation", "")
+				.orElse(null);
+		assertEquals(1, om.getInFlight());
+		try (Stream<String> stream = stage.get()) {
+			assertEquals(2, stream.count());
+		}
+		assertEquals(0, om.getInFlight());
+		assertEquals(2, om.getTransferred());
+
+		final CompletableFuture<Stream<String>> failed = new CompletableFuture<>();
+		final AsyncStreamOperation failing = InstrumentedCommodity.create(AsyncStreamOperation.class, () -> failed,
+				metrics);
+		final CompletableFuture<Stream<String>> failedStage = failing.execute().toCompletableFuture();
+		final RuntimeException error = new IllegalStateException("failed");
+		failed.completeExceptionally(error);
+		final ExecutionException ee = assertThrows(ExecutionException.class, () -> failedStage.get());
+		assertEquals(error, ee.getCause());
+		assertEquals(1, om.getErrorCount());
+	}
+
+	@FunctionalInterface
+	public interface StreamOperation extends DatastoreCommodity {
+
+		Stream<String> execute();
+
+	}
+
+	@FunctionalInterface
+	public interface AsyncStreamOperation extends DatastoreCommodity {
+
+		CompletionStage<Stream<String>> execute();
+
+	}
+
+}
@@ -203,4 +203,34 @@ public class TestPathPropertySetAdapter {
 		assertFalse(adapter.contains(Path.of("p1", String.class)));
 	}
 
+	@Test
+	public void testCaseInsensitivePathMatcher() {
+		final PathPropertySetAdapter adapter = PathPropertySetAdapter.builder(SET).withCaseInsensitivePathMatcher()
+				.build();
+
+		assertEquals(P1, adapter.getProperty(Path.of("P1", String.class)).orElse(null));
+		assertEquals(P3, adapter.getProperty(Path.of("P3", String.class).parent(Path.of("p1", String.class)))
+				.orElse(null));
+		assertFalse(adapter.contains(Path.of("p3", String.class)));
+		assertEquals(P2, adapter.getProperty(P2).orElse(null));
+	}
+
+	@Test
+	public void testSharedMetadata() {
+		final StringProperty d1 = StringProperty.create("d1");
+		final StringProperty d2 = StringProperty.create("d1");
+
+		// same relative name: the first property wins, even looking up the second instance
+		final PropertySet<?> set = PropertySet.of(d1, d2, P2);
+		for (int i = 0; i < 3; i++) {
+			final PathPropertySetAdapter adapter = PathPropertySetAdapter.create(set);
+			assertTrue(adapter.getProperty(d2).get() == d1);
+			assertEquals(P2, adapter.getProperty(Path.of("p2", Integer.class)).orElse(null));
+			assertEquals(P2, adapter.getProperty("p2").orElse(null));
+			assertEquals(3, adapter.paths().count());
+			assertEquals(3, adapter.names().count());
+			assertTrue(adapter.getPathIdentifiers().isEmpty());
+		}
+	}
+
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.validation.constraints.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.Validator;
+import com.holonplatform.core.Validator.ValidationException;
+import com.holonplatform.core.beans.BeanIntrospector;
+import com.holonplatform.core.beans.BeanPropertySet;
+import com.holonplatform.core.internal.property.DefaultStringProperty;
+import com.holonplatform.core.property.NumericProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertyBoxBatchValidator;
+import com.holonplatform.core.property.PropertyBoxBatchValidator.Mode;
+import com.holonplatform.core.property.PropertyBoxBatchValidator.Report;
+import com.holonplatform.core.property.PropertyBoxBatchValidator.RowFailure;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.StringProperty;
+import com.holonplatform.core.test.data.TestBeanPropertyBean;
+
+public class TestPropertyBoxBatchValidator {
+
+	private static final NumericProperty<Integer> ID = NumericProperty.integerType("id");
+	private static final StringProperty NAME = StringProperty.create("name").withValidator(Validator.notNull())
+			.withValidator(Validator.max(3));
+	private static final PropertySet<?> SET = PropertySet.of(ID, NAME);
+
+	private static List<PropertyBox> rows(int count) {
+		return IntStream.range(0, count).mapToObj(i -> PropertyBox.builder(SET).invalidAllowed(true).set(ID, i)
+				.set(NAME, (i % 5 == 0) ? null : (i % 7 == 0) ? "xxxx" : "ok").build()).collect(Collectors.toList());
+	}
+
+	private static long expectedFailures(int count) {
+		return IntStream.range(0, count).filter(i -> i % 5 == 0 || i % 7 == 0).count();
+	}
+
+	@Test
+	public void testCollectAll() {
+		final List<PropertyBox> rows = rows(1000);
+
+		for (boolean parallel : new boolean[] { true, false }) {
+			Report report = PropertyBoxBatchValidator.builder(SET).parallel(parallel).build().validate(rows);
+			assertFalse(report.isValid());
+			assertEquals(1000, report.getValidatedCount());
+			assertEquals(expectedFailures(1000), report.getFailures().size());
+
+			RowFailure failure = report.getFailures().get(0);
+			assertEquals(0, failure.getIndex());
+			assertEquals(Integer.valueOf(0), failure.getPropertyBox().getValue(ID));
+			assertTrue(failure.getPropertyFailures().containsKey(NAME));
+			assertTrue(failure.getPropertyBoxFailures().isValid());
+
+			failure = report.getFailures().get(2);
+			assertEquals(7, failure.getIndex());
+			assertEquals(1, failure.asValidationResult().getFailures().size());
+
+			long previous = -1;
+			for (RowFailure f : report.getFailures()) {
+				assertTrue(f.getIndex() > previous);
+				previous = f.getIndex();
+			}
+		}
+	}
+
+	@Test
+	public void testStream() {
+		final Report report = PropertyBoxBatchValidator.builder(SET).chunkSize(100).build()
+				.validate(rows(1000).stream());
+		assertEquals(1000, report.getValidatedCount());
+		assertEquals(expectedFailures(1000), report.getFailures().size());
+		assertEquals(0, report.getFailures().get(0).getIndex());
+		assertEquals(995, report.getFailures().get(report.getFailures().size() - 1).getIndex());
+	}
+
+	@Test
+	public void testFailFast() {
+		final Report report = PropertyBoxBatchValidator.builder(SET).mode(Mode.FAIL_FAST).build()
+				.validate(rows(10000));
+		assertFalse(report.isValid());
+		assertFalse(report.getFailures().isEmpty());
+		assertTrue(report.getValidatedCount() < 10000);
+
+		for (boolean parallel : new boolean[] { true, false }) {
+			final List<PropertyBox> invalid = IntStream.range(0, 10000).mapToObj(
+					i -> PropertyBox.builder(SET).invalidAllowed(true).set(ID, i).set(NAME, "xxxx").build())
+					.collect(Collectors.toList());
+			assertEquals(1, PropertyBoxBatchValidator.builder(SET).mode(Mode.FAIL_FAST).parallel(parallel).build()
+					.validate(invalid).getFailures().size());
+		}
+	}
+
+	@Test
+	public void testPropertyBoxValidators() {
+		final PropertyBoxBatchValidator validator = PropertyBoxBatchValidator.builder(SET)
+				.withValidator(Validator.create(box -> box.getValue(ID) % 2 == 0, "Odd id")).build();
+
+		final List<PropertyBox> rows = new ArrayList<>();
+		rows.add(PropertyBox.builder(SET).set(ID, 2).set(NAME, "a").build());
+		rows.add(PropertyBox.builder(SET).set(ID, 3).set(NAME, "b").build());
+
+		final Report report = validator.validate(rows);
+		assertEquals(1, report.getFailures().size());
+		assertEquals(1, report.getFailures().get(0).getIndex());
+		assertTrue(report.getFailures().get(0).getPropertyFailures().isEmpty());
+		assertEquals("Odd id",
+				report.getFailures().get(0).getPropertyBoxFailures().getFailures().get(0).getMessage());
+
+		assertTrue(validator.validate(rows.get(0)).isValid());
+		assertFalse(validator.validate(rows.get(1)).isValid());
+	}
+
+	@Test
+	public void testBeanValidation() {
+		final BeanPropertySet<TestBeanPropertyBean> set = BeanIntrospector.get()
+				.getPropertySet(TestBeanPropertyBean.class);
+		final PropertySet<?> ps = PropertySet.of(set.property("name"), set.property("email"),
+				set.property("intval"));
+
+		final List<PropertyBox> rows = new ArrayList<>();
+		rows.add(PropertyBox.builder(ps).invalidAllowed(true).set(set.property("name"), "n")
+				.set(set.property("email"), "test@test.org").set(set.property("intval"), 5).build());
+		rows.add(PropertyBox.builder(ps).invalidAllowed(true).set(set.property("name"), " ")
+				.set(set.property("email"), "xxx").set(set.property("intval"), 11).build());
+
+		final Report report = PropertyBoxBatchValidator.create(ps).validate(rows);
+		assertEquals(1, report.getFailures().size());
+		assertEquals(3, report.getFailures().get(0).getPropertyFailures().size());
+	}
+
+	@Test
+	public void testBeanValidationPatternFlags() {
+		final BeanPropertySet<PatternBean> set = BeanIntrospector.get().getPropertySet(PatternBean.class);
+		final PropertySet<?> ps = PropertySet.of(set.property("code"));
+
+		final List<PropertyBox> rows = new ArrayList<>();
+		rows.add(PropertyBox.builder(ps).invalidAllowed(true).set(set.property("code"), "abc").build());
+		rows.add(PropertyBox.builder(ps).invalidAllowed(true).set(set.property("code"), "ABC").build());
+		rows.add(PropertyBox.builder(ps).invalidAllowed(true).set(set.property("code"), "ab1").build());
+
+		final Report report = PropertyBoxBatchValidator.create(ps).validate(rows);
+		assertEquals(1, report.getFailures().size());
+		assertEquals(2, report.getFailures().get(0).getIndex());
+	}
+
+	@Test
+	public void testPropertyValidateOverride() {
+		final CodeProperty code = new CodeProperty("code");
+		final PropertySet<?> ps = PropertySet.of(ID, code);
+
+		final List<PropertyBox> rows = new ArrayList<>();
+		rows.add(PropertyBox.builder(ps).invalidAllowed(true).set(ID, 1).set(code, "ABC").build());
+		rows.add(PropertyBox.builder(ps).invalidAllowed(true).set(ID, 2).set(code, "abc").build());
+		rows.add(PropertyBox.builder(ps).invalidAllowed(true).set(ID, 3).set(code, "a").build());
+
+		final Report report = PropertyBoxBatchValidator.create(ps).validate(rows);
+		assertEquals(2, report.getFailures().size());
+
+		RowFailure failure = report.getFailures().get(0);
+		assertEquals(1, failure.getIndex());
+		assertEquals(1, failure.getPropertyFailures().get(code).getFailures().size());
+		assertEquals("Not upper case", failure.getPropertyFailures().get(code).getFailures().get(0).getMessage());
+
+		// grouped failures are unwrapped
+		failure = report.getFailures().get(1);
+		assertEquals(2, failure.getIndex());
+		assertEquals(2, failure.getPropertyFailures().get(code).getFailures().size());
+
+		assertTrue(PropertyBoxBatchValidator.create(ps).validate(rows.get(0)).isValid());
+	}
+
+	private static class CodeProperty extends DefaultStringProperty {
+
+		private static final long serialVersionUID = 1L;
+
+		CodeProperty(String name) {
+			super(name);
+		}
+
+		@Override
+		public void validate(String value) throws ValidationException {
+			super.validate(value);
+			if (value != null) {
+				final List<ValidationException> failures = new ArrayList<>(2);
+				if (!value.equals(value.toUpperCase())) {
+					failures.add(new ValidationException("Not upper case"));
+				}
+				if (value.length() < 2) {
+					failures.add(new ValidationException("Too short"));
+				}
+				if (!failures.isEmpty()) {
+					throw (failures.size() == 1) ? failures.get(0) : new ValidationException(failures);
+				}
+			}
+		}
+
+	}
+
+	public static class PatternBean {
+
+		@Pattern(regexp = "[a-z]+", flags = Pattern.Flag.CASE_INSENSITIVE)
+		private String code;
+
+		public String getCode() {
+			return code;
+		}
+
+		public void setCode(String code) {
+			this.code = code;
+		}
+
+	}
+
+}
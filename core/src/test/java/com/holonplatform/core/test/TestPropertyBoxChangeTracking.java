@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.internal.datastore.operation.common.DefaultPropertyBoxOperationDefinition;
+import com.holonplatform.core.property.NumericProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.StringProperty;
+
+public class TestPropertyBoxChangeTracking {
+
+	private static final NumericProperty<Long> ID = NumericProperty.longType("id");
+	private static final StringProperty NAME = StringProperty.create("name");
+	private static final StringProperty CODE = StringProperty.create("code");
+
+	private static final PropertySet<?> SET = PropertySet.builderOf(ID, NAME, CODE).withIdentifier(ID).build();
+
+	@Test
+	public void testChangeTracking() {
+		PropertyBox box = PropertyBox.builder(SET).set(ID, 1L).set(NAME, "test").build();
+		assertFalse(box.isTrackingChanges());
+		box.setValue(NAME, "changed");
+		assertFalse(box.isDirty());
+		assertTrue(box.getDirtyProperties().isEmpty());
+
+		box = PropertyBox.builder(SET).trackChanges(true).set(ID, 1L).set(NAME, "test").build();
+		assertTrue(box.isTrackingChanges());
+		assertFalse(box.isDirty());
+
+		// same value
+		box.setValue(NAME, "test");
+		assertFalse(box.isDirty());
+
+		box.setValue(CODE, "c");
+		box.setValue(NAME, null);
+		assertTrue(box.isDirty());
+		assertTrue(box.isDirty(NAME));
+		assertTrue(box.isDirty(CODE));
+		assertFalse(box.isDirty(ID));
+		assertEquals(Arrays.asList(NAME, CODE), box.getDirtyProperties());
+
+		box.clearDirty();
+		assertFalse(box.isDirty());
+		assertTrue(box.getDirtyProperties().isEmpty());
+
+		box.setValue(ID, 2L);
+		assertEquals(Collections.singletonList(ID), box.getDirtyProperties());
+	}
+
+	@Test
+	public void testDirtyValueExpressions() {
+		final DefaultPropertyBoxOperationDefinition definition = new DefaultPropertyBoxOperationDefinition();
+
+		final PropertyBox box = PropertyBox.builder(SET).trackChanges(true).set(ID, 1L).set(NAME, "test").build();
+		definition.setValue(box);
+		assertTrue(definition.isChangeTracked());
+		assertTrue(definition.isUnchanged());
+		assertTrue(definition.getDirtyValueExpressions(true).isEmpty());
+
+		box.setValue(CODE, "c");
+		assertFalse(definition.isUnchanged());
+		assertEquals(Collections.singletonList(CODE), definition.getDirtyProperties());
+		Map<Path<?>, TypedExpression<?>> values = definition.getDirtyValueExpressions(true);
+		assertEquals(1, values.size());
+		assertTrue(values.containsKey(CODE));
+
+		box.setValue(NAME, null);
+		assertEquals(2, definition.getDirtyValueExpressions(true).size());
+		assertEquals(1, definition.getDirtyValueExpressions(false).size());
+
+		// not tracked
+		definition.setValue(PropertyBox.builder(SET).set(ID, 1L).set(NAME, "test").build());
+		assertFalse(definition.isChangeTracked());
+		assertFalse(definition.isUnchanged());
+		assertEquals(3, definition.getDirtyValueExpressions(true).size());
+		assertEquals(definition.getValueExpressions(false).keySet(),
+				definition.getDirtyValueExpressions(false).keySet());
+	}
+
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertyBoxCodec;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.VirtualProperty;
+import com.holonplatform.core.test.data.TestEnum;
+
+public class TestPropertyBoxCodec {
+
+	private static final PathProperty<Long> ID = PathProperty.create("id", Long.class);
+	private static final PathProperty<String> NAME = PathProperty.create("name", String.class);
+	private static final PathProperty<Boolean> ACTIVE = PathProperty.create("active", Boolean.class);
+	private static final PathProperty<Integer> COUNT = PathProperty.create("count", Integer.class);
+	private static final PathProperty<Double> RATIO = PathProperty.create("ratio", Double.class);
+	private static final PathProperty<BigDecimal> AMOUNT = PathProperty.create("amount", BigDecimal.class);
+	private static final PathProperty<TestEnum> ENUM = PathProperty.create("enum", TestEnum.class);
+	private static final PathProperty<LocalDate> DATE = PathProperty.create("date", LocalDate.class);
+	private static final PathProperty<LocalDateTime> TIMESTAMP = PathProperty.create("timestamp",
+			LocalDateTime.class);
+	private static final PathProperty<Instant> INSTANT = PathProperty.create("instant", Instant.class);
+	private static final PathProperty<Date> LEGACY_DATE = PathProperty.create("legacyDate", Date.class);
+	private static final PathProperty<byte[]> DATA = PathProperty.create("data", byte[].class);
+	private static final PathProperty<List> LIST = PathProperty.create("list", List.class);
+	private static final VirtualProperty<String> VIRTUAL = VirtualProperty.create(String.class,
+			pb -> "v" + pb.getValue(ID));
+
+	private static final PropertySet<?> SET = PropertySet.of(ID, NAME, ACTIVE, COUNT, RATIO, AMOUNT, ENUM, DATE,
+			TIMESTAMP, INSTANT, LEGACY_DATE, DATA, LIST, VIRTUAL);
+
+	private static PropertyBox row(long id) {
+		return PropertyBox.builder(SET).set(ID, id).set(NAME, "name" + id).set(ACTIVE, id % 2 == 0)
+				.set(COUNT, (int) -id).set(RATIO, id / 3d).set(AMOUNT, new BigDecimal("-12.345"))
+				.set(ENUM, TestEnum.TWO).set(DATE, LocalDate.of(1979, 3, 9))
+				.set(TIMESTAMP, LocalDateTime.of(2018, 3, 10, 18, 30, 15, 123456789))
+				.set(INSTANT, Instant.ofEpochSecond(-1000L, 999)).set(LEGACY_DATE, new Date(1234567890L))
+				.set(DATA, new byte[] { 1, 2, 3 }).set(LIST, Arrays.asList("a", "b")).build();
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static void assertSameValues(PropertyBox expected, PropertyBox actual) {
+		for (Property property : SET) {
+			if (property == DATA) {
+				assertArrayEquals((byte[]) expected.getValue(property), (byte[]) actual.getValue(property));
+			} else {
+				assertEquals(expected.getValue(property), actual.getValue(property));
+			}
+		}
+	}
+
+	@Test
+	public void testEncodeDecode() throws Exception {
+		final PropertyBoxCodec codec = PropertyBoxCodec.create(SET);
+		final PropertyBox box = row(7);
+
+		final byte[] bytes = codec.encode(box);
+		assertSameValues(box, codec.decode(bytes));
+		assertEquals("v7", codec.decode(bytes).getValue(VIRTUAL));
+
+		final ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 10);
+		codec.encode(box, buffer);
+		assertEquals(bytes.length, buffer.position());
+		buffer.flip();
+		assertSameValues(box, codec.decode(buffer));
+		assertFalse(buffer.hasRemaining());
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		codec.encode(box, out);
+		assertArrayEquals(bytes, out.toByteArray());
+		assertSameValues(box, codec.decode(new ByteArrayInputStream(out.toByteArray())));
+
+		// nulls
+		final PropertyBox empty = PropertyBox.builder(SET).set(ID, 1L).build();
+		final PropertyBox decoded = codec.decode(codec.encode(empty));
+		assertEquals(Long.valueOf(1L), decoded.getValue(ID));
+		assertNull(decoded.getValue(NAME));
+		assertNull(decoded.getValue(DATA));
+		assertTrue(codec.encode(empty).length < 20);
+
+		// invalid data
+		assertThrows(PropertyBoxCodec.CodecException.class, () -> codec.decode(new byte[] { 1, 2, 3 }));
+		assertThrows(PropertyBoxCodec.CodecException.class,
+				() -> codec.decode(Arrays.copyOf(bytes, bytes.length - 1)));
+	}
+
+	@Test
+	public void testSequence() throws Exception {
+		final PropertyBoxCodec codec = PropertyBoxCodec.create(SET);
+		final List<PropertyBox> rows = IntStream.range(0, 2000).mapToObj(i -> row(i)).collect(Collectors.toList());
+
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		codec.encodeAll(rows.stream(), out);
+
+		final List<PropertyBox> decoded = codec.decodeAll(new ByteArrayInputStream(out.toByteArray()))
+				.collect(Collectors.toList());
+		assertEquals(rows.size(), decoded.size());
+		for (int i = 0; i < rows.size(); i++) {
+			assertSameValues(rows.get(i), decoded.get(i));
+		}
+
+		assertEquals(rows.size(), codec.decodeAll(ByteBuffer.wrap(out.toByteArray())).count());
+
+		// single message as sequence
+		assertEquals(1, codec.decodeAll(ByteBuffer.wrap(codec.encode(row(1)))).count());
+
+		// empty sequence
+		out.reset();
+		codec.encodeAll(Arrays.asList(), out);
+		assertEquals(0, codec.decodeAll(new ByteArrayInputStream(out.toByteArray())).count());
+	}
+
+	@Test
+	public void testSchema() {
+		final PathProperty<String> extra = PathProperty.create("extra", String.class);
+		final PropertySet<?> other = PropertySet.of(NAME, ID, extra);
+		final PropertyBoxCodec codec = PropertyBoxCodec.create(SET);
+		final PropertyBoxCodec otherCodec = PropertyBoxCodec.create(other);
+
+		assertEquals(codec.getSchemaFingerprint(), PropertyBoxCodec.create(SET).getSchemaFingerprint());
+		assertNotEquals(codec.getSchemaFingerprint(), otherCodec.getSchemaFingerprint());
+
+		// fingerprint mismatch
+		final byte[] bytes = codec.encode(row(3));
+		assertThrows(PropertyBoxCodec.CodecException.class, () -> otherCodec.decode(bytes));
+
+		// embedded schema
+		final byte[] embedded = PropertyBoxCodec.builder(SET).embedSchema(true).build().encode(row(3));
+		assertTrue(embedded.length > bytes.length);
+		assertSameValues(row(3), codec.decode(embedded));
+
+		final PropertyBox decoded = otherCodec.decode(embedded);
+		assertEquals(Long.valueOf(3L), decoded.getValue(ID));
+		assertEquals("name3", decoded.getValue(NAME));
+		assertFalse(decoded.containsValue(extra));
+	}
+
+	@Test
+	public void testDates() {
+		final PathProperty<Timestamp> sqlTimestamp = PathProperty.create("sqlTimestamp", Timestamp.class);
+		final PropertySet<?> set = PropertySet.of(ID, LEGACY_DATE, sqlTimestamp);
+		final PropertyBoxCodec codec = PropertyBoxCodec.create(set);
+
+		final Timestamp timestamp = new Timestamp(-1234567890L);
+		timestamp.setNanos(123456789);
+
+		for (Date date : new Date[] { new Date(1234567890L), new java.sql.Date(1234567890L),
+				new Time(1234567890L), timestamp }) {
+			final PropertyBox decoded = codec.decode(codec
+					.encode(PropertyBox.builder(set).set(ID, 1L).set(LEGACY_DATE, date).set(sqlTimestamp, timestamp)
+							.build()));
+			assertEquals(date.getClass(), decoded.getValue(LEGACY_DATE).getClass());
+			assertEquals(date, decoded.getValue(LEGACY_DATE));
+			assertEquals(timestamp, decoded.getValue(sqlTimestamp));
+			assertEquals(123456789, decoded.getValue(sqlTimestamp).getNanos());
+		}
+	}
+
+	@Test
+	public void testRestrictedDeserialization() {
+		final PathProperty<Object> value = PathProperty.create("value", Object.class);
+		final PropertySet<?> set = PropertySet.of(ID, value);
+		final byte[] bytes = PropertyBoxCodec.create(set).encode(PropertyBox.builder(set).set(ID, 1L)
+				.set(value, new ArrayList<>(Arrays.asList(new TestSerializable("x")))).build());
+
+		// Object type only allows the explicit types and packages
+		assertThrows(PropertyBoxCodec.CodecException.class, () -> PropertyBoxCodec.create(set).decode(bytes));
+		assertEquals(1, ((List<?>) PropertyBoxCodec.builder(set).deserializableTypes(TestSerializable.class).build()
+				.decode(bytes).getValue(value)).size());
+
+		// Serializable type
+		final PathProperty<Serializable> serializable = PathProperty.create("value", Serializable.class);
+		final PropertySet<?> serializableSet = PropertySet.of(ID, serializable);
+		final byte[] serializableBytes = PropertyBoxCodec.create(serializableSet).encode(
+				PropertyBox.builder(serializableSet).set(ID, 1L).set(serializable, new TestSerializable("x")).build());
+		assertThrows(PropertyBoxCodec.CodecException.class,
+				() -> PropertyBoxCodec.create(serializableSet).decode(serializableBytes));
+		assertEquals("x", PropertyBoxCodec.builder(serializableSet).deserializableTypes(TestSerializable.class)
+				.build().decode(serializableBytes).getValue(serializable).toString());
+
+		@SuppressWarnings("rawtypes")
+		final PathProperty<ArrayList> list = PathProperty.create("value", ArrayList.class);
+		final PropertySet<?> listSet = PropertySet.of(ID, list);
+		final byte[] listBytes = PropertyBoxCodec.create(listSet).encode(PropertyBox.builder(listSet).set(ID, 1L)
+				.set(list, new ArrayList<>(Arrays.asList(new TestSerializable("x")))).build());
+
+		// nested class not allowed
+		assertThrows(PropertyBoxCodec.CodecException.class, () -> PropertyBoxCodec.create(listSet).decode(listBytes));
+		assertEquals(1, PropertyBoxCodec.builder(listSet).deserializableTypes(TestSerializable.class).build()
+				.decode(listBytes).getValue(list).size());
+	}
+
+	@Test
+	public void testMaxLength() throws Exception {
+		final PropertyBoxCodec codec = PropertyBoxCodec.builder(SET).maxLength(8).build();
+		final PropertyBox small = PropertyBox.builder(SET).set(ID, 1L).set(NAME, "small").build();
+		final PropertyBox large = PropertyBox.builder(SET).set(ID, 1L).set(NAME, "large value").build();
+
+		assertEquals("small", codec.decode(codec.encode(small)).getValue(NAME));
+		final byte[] bytes = codec.encode(large);
+		assertThrows(PropertyBoxCodec.CodecException.class, () -> codec.decode(bytes));
+		assertThrows(PropertyBoxCodec.CodecException.class, () -> codec.decode(new ByteArrayInputStream(bytes)));
+		assertEquals("large value", PropertyBoxCodec.create(SET).decode(new ByteArrayInputStream(bytes))
+				.getValue(NAME));
+
+		// declared length larger than the actual data, on a stream source
+		final byte[] forged = Arrays.copyOf(bytes, bytes.length + 5);
+		final int offset = indexOf(bytes, "large value".getBytes()) - 1;
+		forged[offset] = (byte) 0xFF;
+		forged[offset + 1] = (byte) 0xFF;
+		forged[offset + 2] = (byte) 0xFF;
+		forged[offset + 3] = (byte) 0xFF;
+		forged[offset + 4] = (byte) 0x07;
+		assertThrows(PropertyBoxCodec.CodecException.class,
+				() -> PropertyBoxCodec.create(SET).decode(new ByteArrayInputStream(forged)));
+
+		// embedded schema properties count
+		final byte[] embedded = PropertyBoxCodec.builder(SET).embedSchema(true).build().encode(small);
+		assertThrows(PropertyBoxCodec.CodecException.class, () -> codec.decode(embedded));
+
+		assertThrows(IllegalArgumentException.class, () -> PropertyBoxCodec.builder(SET).maxLength(0));
+	}
+
+	private static int indexOf(byte[] bytes, byte[] value) {
+		for (int i = 0; i <= bytes.length - value.length; i++) {
+			if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + value.length), value)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@SuppressWarnings("serial")
+	private static final class TestSerializable implements Serializable {
+
+		private final String value;
+
+		TestSerializable(String value) {
+			super();
+			this.value = value;
+		}
+
+		@Override
+		public String toString() {
+			return value;
+		}
+
+	}
+
+}
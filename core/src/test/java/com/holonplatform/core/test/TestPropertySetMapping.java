@@ -0,0 +1,149 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.Validator;
+import com.holonplatform.core.Validator.ValidationException;
+import com.holonplatform.core.internal.property.DefaultPropertySet;
+import com.holonplatform.core.property.NumericProperty;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertyBoxDiff;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.property.PropertySetMapping;
+import com.holonplatform.core.property.StringProperty;
+import com.holonplatform.core.property.VirtualProperty;
+
+public class TestPropertySetMapping {
+
+	private static final NumericProperty<Long> ID = NumericProperty.longType("id");
+	private static final StringProperty NAME = StringProperty.create("name").withValidator(Validator.max(5));
+	private static final StringProperty CODE = StringProperty.create("code");
+	private static final VirtualProperty<String> VIRTUAL = VirtualProperty.create(String.class,
+			pb -> pb.getValue(NAME) + "!");
+
+	private static final PropertySet<?> SET = PropertySet.builderOf(ID, NAME, CODE, VIRTUAL)
+			.withIdentifier(ID).build();
+	private static final PropertySet<?> SUBSET = PropertySet.of(NAME, ID, VIRTUAL);
+
+	@Test
+	public void testMapping() {
+		final PropertySetMapping mapping = PropertySetMapping.of(SET, SUBSET);
+		assertSame(mapping, PropertySetMapping.of(SET, SUBSET));
+		assertEquals(Arrays.asList(NAME, ID), mapping.getMappedProperties());
+
+		final PropertyBox box = PropertyBox.builder(SET).set(ID, 1L).set(NAME, "test").set(CODE, "c").build();
+
+		final PropertyBox projected = box.cloneBox(SUBSET);
+		assertEquals(Long.valueOf(1L), projected.getValue(ID));
+		assertEquals("test", projected.getValue(NAME));
+		assertEquals("test!", projected.getValue(VIRTUAL));
+		assertFalse(projected.contains(CODE));
+
+		final PropertyBox target = PropertyBox.builder(SUBSET).set(ID, 2L).set(NAME, "other").build();
+		box.setValue(NAME, null);
+		mapping.copy(box, target);
+		assertEquals(Long.valueOf(1L), target.getValue(ID));
+		assertNull(target.getValue(NAME));
+
+		// copy from a box with a different property set
+		final PropertyBox copy = PropertyBox.builder(SET).copyValues(projected).build();
+		assertEquals(Long.valueOf(1L), copy.getValue(ID));
+		assertEquals("test", copy.getValue(NAME));
+		assertNull(copy.getValue(CODE));
+
+		// validation
+		final PropertyBox invalid = PropertyBox.builder(SUBSET).invalidAllowed(true).set(NAME, "too long").build();
+		assertThrows(ValidationException.class, () -> PropertyBox.builder(SET).copyValues(invalid));
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Test
+	public void testPropertyReplacement() {
+		final DefaultPropertySet<Property> target = new DefaultPropertySet<>(2);
+		target.add(ID);
+		target.add(NAME);
+
+		final PropertySetMapping mapping = PropertySetMapping.of(SET, target);
+		assertTrue(mapping.getMappedProperties().contains(NAME));
+
+		// not a structural modification
+		target.set(1, CODE);
+		final PropertySetMapping replaced = PropertySetMapping.of(SET, target);
+		assertNotSame(mapping, replaced);
+		assertFalse(replaced.getMappedProperties().contains(NAME));
+		assertTrue(replaced.getMappedProperties().contains(CODE));
+		assertSame(replaced, PropertySetMapping.of(SET, target));
+
+		final PropertyBox box = PropertyBox.builder(SET).set(ID, 1L).set(NAME, "test").set(CODE, "c").build();
+		assertEquals("c", box.cloneBox(target).getValue(CODE));
+	}
+
+	@Test
+	public void testDiff() {
+		final PropertyBox original = PropertyBox.builder(SET).set(ID, 1L).set(NAME, "test").set(CODE, "c").build();
+		final PropertyBox modified = original.cloneBox();
+
+		PropertyBoxDiff diff = original.diff(modified);
+		assertFalse(diff.hasChanges());
+		assertTrue(diff.getChangedProperties().isEmpty());
+
+		modified.setValue(NAME, "abc");
+		modified.setValue(CODE, null);
+
+		diff = original.diff(modified);
+		assertTrue(diff.hasChanges());
+		assertEquals(Arrays.asList(NAME, CODE), diff.getChangedProperties());
+		assertTrue(diff.isChanged(NAME));
+		assertFalse(diff.isChanged(ID));
+		assertFalse(diff.isChanged(VIRTUAL));
+
+		final BitSet mask = diff.getChangedMask();
+		assertEquals(2, mask.cardinality());
+		assertTrue(mask.get(1));
+		assertTrue(mask.get(2));
+
+		PropertyBox changed = diff.getChangedValues(true);
+		assertEquals(3, changed.size());
+		assertEquals(Long.valueOf(1L), changed.getValue(ID));
+		assertEquals("abc", changed.getValue(NAME));
+		assertNull(changed.getValue(CODE));
+		assertTrue(changed.getIdentifiers().contains(ID));
+
+		changed = diff.getChangedValues(false);
+		assertEquals(2, changed.size());
+		assertFalse(changed.contains(ID));
+
+		// properties missing from the original box
+		final PropertyBox partial = PropertyBox.builder(SUBSET).set(ID, 1L).build();
+		diff = partial.diff(modified);
+		assertEquals(Arrays.asList(NAME), diff.getChangedProperties());
+	}
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.time.LocalDate;
+import java.util.Calendar;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.Registration;
+import com.holonplatform.core.TypeConverterRegistry;
+import com.holonplatform.core.TypeConverterRegistry.TypeConverter;
+import com.holonplatform.core.exceptions.TypeMismatchException;
+import com.holonplatform.core.internal.utils.ClassUtils;
+import com.holonplatform.core.internal.utils.ConversionUtils;
+import com.holonplatform.core.test.data.TestEnum;
+
+public class TestTypeConverterRegistry {
+
+	@Test
+	public void testBuiltin() {
+		final TypeConverterRegistry registry = TypeConverterRegistry.create();
+
+		assertNull(registry.convert(null, Integer.class));
+		assertEquals("x", registry.convert("x", String.class));
+
+		assertEquals(Long.valueOf(7L), registry.convert(Integer.valueOf(7), Long.class));
+		assertEquals(Integer.valueOf(7), registry.convert(Long.valueOf(7L), Integer.class));
+		assertEquals(Integer.valueOf(7), registry.convert(Long.valueOf(7L), int.class));
+		assertEquals(Short.valueOf((short) 7), registry.convert(Integer.valueOf(7), Short.class));
+		assertEquals(Double.valueOf(7d), registry.convert(Integer.valueOf(7), Double.class));
+		assertEquals(BigInteger.valueOf(7L), registry.convert(Integer.valueOf(7), BigInteger.class));
+		assertEquals(new BigDecimal("7"), registry.convert(Integer.valueOf(7), BigDecimal.class));
+		assertEquals(Integer.valueOf(7), registry.convert(new BigDecimal("7.3"), Integer.class));
+
+		assertThrows(IllegalArgumentException.class, () -> registry.convert(Long.MAX_VALUE, Integer.class));
+		assertThrows(IllegalArgumentException.class, () -> registry.convert(Integer.valueOf(300), Byte.class));
+
+		assertEquals(TestEnum.TWO, registry.convert(Integer.valueOf(1), TestEnum.class));
+		assertEquals(TestEnum.TWO, registry.convert("TWO", TestEnum.class));
+		assertEquals(TestEnum.TWO, registry.convert(TestEnum.TWO, TestEnum.class));
+		assertThrows(IllegalArgumentException.class, () -> registry.convert(Integer.valueOf(-1), TestEnum.class));
+		assertThrows(IllegalArgumentException.class, () -> registry.convert("XXX", TestEnum.class));
+		assertThrows(IllegalArgumentException.class, () -> registry.convert(new Date(), TestEnum.class));
+
+		final Calendar c = Calendar.getInstance();
+		c.set(2018, 2, 10);
+		assertEquals(LocalDate.of(2018, 3, 10), registry.convert(c.getTime(), LocalDate.class));
+
+		assertThrows(TypeMismatchException.class, () -> registry.convert(new Date(), Integer.class));
+		assertFalse(registry.getConverter(Date.class, Integer.class).isPresent());
+
+		final TypeConverter<Long, Integer> converter = registry.getConverter(Long.class, Integer.class).orElse(null);
+		assertSame(converter, registry.getConverter(Long.class, Integer.class).orElse(null));
+	}
+
+	@Test
+	public void testStrings() {
+		final TypeConverterRegistry registry = TypeConverterRegistry.create();
+
+		assertNull(registry.convertString(null, Integer.class));
+		assertNull(registry.convertString("", Integer.class));
+		assertEquals(Integer.valueOf(3), registry.convertString(" 3 ", Integer.class));
+		assertEquals(Integer.valueOf(1000), registry.convertString("1 000", Integer.class));
+		assertEquals(Long.valueOf(1000000L), registry.convertString("1 000 000", long.class));
+		assertEquals(Integer.valueOf(255), registry.convertString("0xFF", int.class));
+		assertEquals(new BigDecimal("3.5"), registry.convertString("3.5", Number.class));
+		assertEquals(Boolean.TRUE, registry.convertString("Yes", Boolean.class));
+		assertEquals(Boolean.FALSE, registry.convertString("off", boolean.class));
+		assertEquals(Character.valueOf('c'), registry.convertString("c", char.class));
+		assertEquals(TestEnum.ONE, registry.convertString("ONE", TestEnum.class));
+
+		assertThrows(IllegalArgumentException.class, () -> registry.convertString("x", Boolean.class));
+		assertThrows(IllegalArgumentException.class, () -> registry.convertString("cc", Character.class));
+		assertThrows(IllegalArgumentException.class, () -> registry.convertString("x", Date.class));
+
+		assertTrue(ConversionUtils.getNumberParser(Long.class).isPresent());
+		assertFalse(ConversionUtils.getNumberParser(java.util.concurrent.atomic.AtomicLong.class).isPresent());
+	}
+
+	@Test
+	public void testRegistration() {
+		final TypeConverterRegistry registry = TypeConverterRegistry.create();
+
+		assertThrows(TypeMismatchException.class, () -> registry.convert(new StringBuilder("a"), Integer.class));
+		assertThrows(IllegalArgumentException.class, () -> registry.convertString("a", StringBuilder.class));
+
+		final Registration r1 = registry.register(CharSequence.class, Integer.class, v -> v.length());
+		final Registration r2 = registry.register(String.class, StringBuilder.class, StringBuilder::new);
+
+		assertEquals(Integer.valueOf(3), registry.convert(new StringBuilder("abc"), Integer.class));
+		// registered converters take precedence over builtin ones
+		assertEquals(Integer.valueOf(2), registry.convert("10", Integer.class));
+		assertEquals("ab", registry.convertString("ab", StringBuilder.class).toString());
+
+		r1.remove();
+		r2.remove();
+
+		assertThrows(TypeMismatchException.class, () -> registry.convert(new StringBuilder("a"), Integer.class));
+		assertThrows(IllegalArgumentException.class, () -> registry.convertString("a", StringBuilder.class));
+
+		// default registry is not affected
+		assertThrows(TypeMismatchException.class,
+				() -> TypeConverterRegistry.getDefault().convert(new StringBuilder("a"), Integer.class));
+	}
+
+	@Test
+	public void testCacheSafety() throws Exception {
+		final ClassLoader cl = TestTypeConverterRegistry.class.getClassLoader();
+		assertTrue(ClassUtils.isCacheSafe(String.class, null));
+		assertTrue(ClassUtils.isCacheSafe(TestEnum.class, cl));
+		assertFalse(ClassUtils.isCacheSafe(TestEnum.class, null));
+		try (URLClassLoader child = new URLClassLoader(new URL[0], cl)) {
+			assertTrue(ClassUtils.isCacheSafe(TestEnum.class, child));
+			assertFalse(ClassUtils.isCacheSafe(TestEnum.class, child.getParent().getParent()));
+		}
+	}
+
+}
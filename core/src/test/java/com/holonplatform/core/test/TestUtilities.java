@@ -43,11 +43,14 @@ import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 
 import com.holonplatform.core.Initializer;
+import com.holonplatform.core.internal.i18n.MessageTemplateCache;
 import com.holonplatform.core.internal.utils.AnnotationUtils;
+import com.holonplatform.core.internal.utils.BoundedCache;
 import com.holonplatform.core.internal.utils.CalendarUtils;
 import com.holonplatform.core.internal.utils.ClassUtils;
 import com.holonplatform.core.internal.utils.ConversionUtils;
 import com.holonplatform.core.internal.utils.FormatUtils;
+import com.holonplatform.core.internal.utils.MessageTemplate;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.internal.utils.TypeUtils;
 import com.holonplatform.core.test.data.TestClass;
@@ -121,6 +124,41 @@ public class TestUtilities {
 		assertEquals("msg&", resolved);
 		resolved = FormatUtils.resolveMessageArguments("&", "msg&", new Object[] { null });
 		assertEquals("msg", resolved);
+		resolved = FormatUtils.resolveMessageArguments("{}", "{}: {} and {}", new Object[] { "$1", 2 });
+		assertEquals("$1: 2 and {}", resolved);
+
+		final MessageTemplate template = MessageTemplate.compile("&", "a&b&c&");
+		assertEquals(3, template.getArgumentCount());
+		assertTrue(MessageTemplate.get("&", "a&b&c&") == MessageTemplate.get("&", "a&b&c&"));
+		assertTrue(MessageTemplate.get("&", "a&b&c&").matches("&", "a&b&c&"));
+		final StringBuilder sb = new StringBuilder("[");
+		template.appendTo(sb, new Object[] { 1, "x", null });
+		assertEquals("[a1bxc", sb.toString());
+		assertEquals("no args", MessageTemplate.compile("&", "no args").format(new Object[] { "a" }));
+
+		// most recently used templates are kept
+		final MessageTemplateCache cache = new MessageTemplateCache(2);
+		final MessageTemplate first = cache.get("c1", "&", "a&");
+		final MessageTemplate second = cache.get("c2", "&", "b&");
+		assertTrue(first == cache.get("c1", "&", "a&"));
+		cache.get("c3", "&", "c&");
+		assertTrue(first == cache.get("c1", "&", "a&"));
+		assertFalse(second == cache.get("c2", "&", "b&"));
+		assertFalse(first == cache.get("c1", "&", "changed&"));
+
+		// referenced entries survive the eviction sweeps
+		final BoundedCache<Integer, String> bounded = new BoundedCache<>(16);
+		for (int i = 0; i < 1000; i++) {
+			bounded.putIfAbsent(i, String.valueOf(i));
+			assertEquals("0", bounded.get(0));
+			assertTrue(bounded.size() <= 16);
+		}
+		assertEquals("999", bounded.get(999));
+		assertEquals("0", bounded.putIfAbsent(0, "x"));
+		bounded.put(0, "x");
+		assertEquals("x", bounded.get(0));
+		bounded.clear();
+		assertEquals(0, bounded.size());
 
 		assertTrue(FormatUtils.isValidEmailAddress("test@test.com"));
 		assertFalse(FormatUtils.isValidEmailAddress("test@"));
@@ -28,10 +28,16 @@ import java.util.Date;
 
 import org.junit.jupiter.api.Test;
 
+import com.holonplatform.core.ValidationResult;
 import com.holonplatform.core.Validator;
+import com.holonplatform.core.Validator.PatternFlag;
 import com.holonplatform.core.Validator.UnsupportedValidationTypeException;
 import com.holonplatform.core.Validator.ValidationException;
+import com.holonplatform.core.i18n.Localizable;
 import com.holonplatform.core.internal.BuiltinValidator;
+import com.holonplatform.core.internal.property.DefaultStringProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.StringProperty;
 
 public class TestValidators {
 
@@ -132,6 +138,9 @@ public class TestValidators {
 		Validator.pattern("\\d+").validate("012");
 
 		assertThrows(ValidationException.class, () -> Validator.pattern("\\d+").validate("a1"));
+
+		Validator.pattern("[a-z]+", PatternFlag.CASE_INSENSITIVE).validate("aBc");
+		assertThrows(ValidationException.class, () -> Validator.pattern("[a-z]+").validate("aBc"));
 	}
 
 	@Test
@@ -175,6 +184,19 @@ public class TestValidators {
 		assertThrows(ValidationException.class, () -> Validator.digits(3, 2).validate(4000.6));
 		assertThrows(ValidationException.class, () -> Validator.digits(3, 2).validate(4000));
 		assertThrows(ValidationException.class, () -> Validator.digits(3, 0).validate(0.4));
+
+		Validator.digits(3, 2).validate(new BigDecimal("-123.50"));
+		Validator.digits(3, 2).validate(new BigDecimal("1E+2"));
+		Validator.digits(1, 3).validate(new BigDecimal("0.001"));
+		Validator.digits(3, 0).validate(-999L);
+		Validator.digits(3, 0).validate(BigInteger.valueOf(-999));
+		Validator.digits(19, 0).validate(Long.MIN_VALUE);
+
+		assertThrows(ValidationException.class, () -> Validator.digits(2, 2).validate(new BigDecimal("1E+2")));
+		assertThrows(ValidationException.class, () -> Validator.digits(1, 2).validate(new BigDecimal("0.001")));
+		assertThrows(ValidationException.class, () -> Validator.digits(3, 0).validate(-1000L));
+		assertThrows(ValidationException.class, () -> Validator.digits(3, 0).validate(BigInteger.valueOf(1000)));
+		assertThrows(ValidationException.class, () -> Validator.digits(18, 0).validate(Long.MIN_VALUE));
 	}
 
 	@Test
@@ -329,4 +351,105 @@ public class TestValidators {
 		assertTrue(((BuiltinValidator<?>) v).getDescriptor().get().isEmail());
 	}
 
+	@Test
+	public void testCheck() {
+		assertTrue(Validator.notNull().check(1).isValid());
+
+		final ValidationResult notNull = Validator.notNull().check(null);
+		assertFalse(notNull.isValid());
+		assertEquals(1, notNull.getFailures().size());
+		assertEquals(Validator.ValidationMessage.NOT_NULL.getMessageCode(),
+				notNull.getFailures().get(0).getMessageCode());
+		assertThrows(ValidationException.class, () -> notNull.throwIfInvalid());
+
+		ValidationResult result = Validator.max(3).check(5);
+		assertFalse(result.isValid());
+		assertEquals(Long.valueOf(3), result.getFailures().get(0).getMessageArguments()[0]);
+
+		assertTrue(Validator.in(1, 2).check(2).isValid());
+		assertFalse(Validator.in(1, 2).check(3).isValid());
+
+		assertThrows(UnsupportedValidationTypeException.class, () -> Validator.notEmpty().check(1));
+
+		final Validator<String> custom = v -> {
+			if (v == null) {
+				throw new ValidationException("custom");
+			}
+		};
+		assertTrue(custom.check("a").isValid());
+		result = custom.check(null);
+		assertFalse(result.isValid());
+		assertEquals("custom", result.getFailures().get(0).getMessage());
+
+		final StringProperty property = StringProperty.create("test").withValidator(Validator.notNull())
+				.withValidator(Validator.max(2)).withValidator(custom);
+		assertTrue(property.check("ab").isValid());
+		result = property.check("abc");
+		assertEquals(1, result.getFailures().size());
+		result = property.check(null);
+		assertEquals(2, result.getFailures().size());
+
+		ValidationException ve = assertThrows(ValidationException.class, () -> property.validate(null));
+		assertEquals(2, ve.getCauses().size());
+	}
+
+	@Test
+	public void testPropertyBoxValidateAll() {
+		final StringProperty p1 = StringProperty.create("p1").withValidator(Validator.notNull());
+		final StringProperty p2 = StringProperty.create("p2").withValidator(Validator.notNull())
+				.withValidator(Validator.notBlank());
+
+		PropertyBox box = PropertyBox.builder(p1, p2).set(p1, "a").set(p2, "b").build();
+		assertTrue(box.validateAll().isValid());
+		box.validate();
+
+		box = PropertyBox.builder(p1, p2).build();
+		ValidationResult result = box.validateAll();
+		assertFalse(result.isValid());
+		assertEquals(3, result.getFailures().size());
+
+		final PropertyBox invalid = box;
+		ValidationException ve = assertThrows(ValidationException.class, () -> invalid.validate());
+		assertEquals(2, ve.getCauses().size());
+	}
+
+	@Test
+	public void testValidationResultBuilder() {
+		final ValidationResult.Builder builder = ValidationResult.builder();
+		builder.failure(Localizable.of("first"));
+		final ValidationResult first = builder.build();
+		builder.failure(Localizable.of("second"));
+		assertEquals(1, first.getFailures().size());
+		assertEquals(2, builder.build().getFailures().size());
+
+		final ValidationException ve = assertThrows(ValidationException.class, () -> first.throwIfInvalid());
+		assertTrue(ve.getStackTrace().length > 0);
+	}
+
+	@Test
+	public void testPropertyBoxCustomValidate() {
+		final StringProperty custom = new DefaultStringProperty("custom") {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void validate(String value) throws ValidationException {
+				if (value == null) {
+					throw new ValidationException("custom");
+				}
+			}
+
+		};
+		final StringProperty p2 = StringProperty.create("p2").withValidator(Validator.notNull());
+
+		final PropertyBox box = PropertyBox.builder(custom, p2).set(p2, "a").build();
+		ValidationException ve = assertThrows(ValidationException.class, () -> box.validate());
+		assertEquals("custom", ve.getMessage());
+
+		final PropertyBox box2 = PropertyBox.builder(custom, p2).build();
+		ve = assertThrows(ValidationException.class, () -> box2.validate());
+		assertEquals(2, ve.getCauses().size());
+		assertTrue(ve.getStackTrace().length > 0);
+	}
+
 }
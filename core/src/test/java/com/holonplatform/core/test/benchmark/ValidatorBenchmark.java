@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.core.test.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.holonplatform.core.ValidationResult;
+import com.holonplatform.core.Validator;
+import com.holonplatform.core.Validator.PatternFlag;
+import com.holonplatform.core.Validator.ValidationException;
+
+/**
+ * Builtin {@link Validator}s per-call cost benchmarks.
+ * <p>
+ * Run with <code>mvn test-compile</code> and then launch the {@link #main(String[])} method using the test classpath.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+	private final Validator<String> pattern = Validator.pattern("[a-z]+[0-9]*", PatternFlag.CASE_INSENSITIVE);
+
+	private final Validator<String> email = Validator.email();
+
+	private final Validator<String> in = Validator.in("a", "b", "c", "d", "e", "f", "g", "h", "i", "l", "m", "n");
+
+	private final Validator<String> notIn = Validator.notIn("a", "b", "c", "d", "e", "f", "g", "h", "i", "l", "m",
+			"n");
+
+	private final Validator<BigDecimal> decimalDigits = Validator.digits(5, 2);
+
+	private final Validator<Long> longDigits = Validator.digits(5, 0);
+
+	private final BigDecimal decimalValue = new BigDecimal("12345.67");
+
+	private final BigDecimal invalidDecimalValue = new BigDecimal("12345.678");
+
+	private final Long longValue = Long.valueOf(12345L);
+
+	@Benchmark
+	public ValidationResult patternValid() {
+		return pattern.check("Holon2020");
+	}
+
+	@Benchmark
+	public ValidationResult patternInvalid() {
+		return pattern.check("Holon-2020");
+	}
+
+	@Benchmark
+	public ValidationResult emailValid() {
+		return email.check("test@holon-platform.com");
+	}
+
+	@Benchmark
+	public ValidationResult inValid() {
+		return in.check("n");
+	}
+
+	@Benchmark
+	public ValidationResult notInValid() {
+		return notIn.check("z");
+	}
+
+	@Benchmark
+	public ValidationResult decimalDigitsValid() {
+		return decimalDigits.check(decimalValue);
+	}
+
+	@Benchmark
+	public ValidationResult longDigitsValid() {
+		return longDigits.check(longValue);
+	}
+
+	@Benchmark
+	public ValidationResult decimalDigitsInvalidCheck() {
+		return decimalDigits.check(invalidDecimalValue);
+	}
+
+	@Benchmark
+	public Object decimalDigitsInvalidValidate() {
+		try {
+			decimalDigits.validate(invalidDecimalValue);
+			return null;
+		} catch (ValidationException e) {
+			return e;
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ValidatorBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
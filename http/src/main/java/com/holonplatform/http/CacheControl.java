@@ -89,6 +89,19 @@ public interface CacheControl extends Serializable {
 		return new CacheControlDirectives.CacheControlBuilder();
 	}
 
+	/**
+	 * Parse a HTTP <code>Cache-Control</code> header value into a {@link CacheControl} instance. Unknown directives are
+	 * ignored and a <code>max-age</code> or <code>s-maxage</code> directive with an invalid value is parsed as
+	 * <code>0</code>.
+	 * @param header The header value to parse
+	 * @return The parsed {@link CacheControl}, with no directives enabled if the header value is <code>null</code> or
+	 *         empty
+	 * @since 5.6.0
+	 */
+	static CacheControl parse(String header) {
+		return CacheControlDirectives.parse(header);
+	}
+
 	/**
 	 * {@link CacheControl} builder.
 	 */
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * HTTP content codings enumeration, providing the streams to encode and decode a message body according to the
+ * {@link HttpHeaders#CONTENT_ENCODING} header.
+ * 
+ * @since 5.6.0
+ */
+public enum ContentEncoding {
+
+	/**
+	 * GZIP file format coding
+	 */
+	GZIP("gzip"),
+
+	/**
+	 * ZLIB data format coding. Since some implementations send raw DEFLATE data without the ZLIB wrapper, both
+	 * formats are accepted when decoding.
+	 */
+	DEFLATE("deflate");
+
+	/**
+	 * Identity coding name, i.e. no encoding
+	 */
+	public static final String IDENTITY = "identity";
+
+	/**
+	 * Accept-Encoding header value which lists all the supported codings
+	 */
+	public static final String ACCEPT_ALL = "gzip, deflate";
+
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Coding name
+	 */
+	private final String encodingName;
+
+	/**
+	 * Constructor
+	 * @param encodingName Coding name
+	 */
+	private ContentEncoding(String encodingName) {
+		this.encodingName = encodingName;
+	}
+
+	/**
+	 * Coding name, as used in the {@link HttpHeaders#CONTENT_ENCODING} header
+	 * @return the coding name
+	 */
+	public String getEncodingName() {
+		return encodingName;
+	}
+
+	/**
+	 * Wrap given stream to encode the data written to it. The returned stream must be closed to complete the
+	 * encoding: closing it does not close the wrapped stream.
+	 * @param stream The stream to which to write the encoded data (not null)
+	 * @return The encoding stream
+	 * @throws IOException If an I/O error occurred
+	 */
+	public OutputStream encode(OutputStream stream) throws IOException {
+		final OutputStream target = new NonClosingOutputStream(stream);
+		switch (this) {
+		case DEFLATE:
+			return new DeflaterOutputStream(target, new Deflater(), BUFFER_SIZE) {
+
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						def.end();
+					}
+				}
+
+			};
+		case GZIP:
+		default:
+			return new GZIPOutputStream(target, BUFFER_SIZE);
+		}
+	}
+
+	/**
+	 * Wrap given stream to decode the data read from it, streaming.
+	 * @param stream The encoded data stream (not null)
+	 * @return The decoding stream
+	 * @throws IOException If an I/O error occurred or the stream data is not well formed
+	 */
+	public InputStream decode(InputStream stream) throws IOException {
+		switch (this) {
+		case DEFLATE:
+			final PushbackInputStream pis = new PushbackInputStream(stream, 2);
+			final byte[] head = new byte[2];
+			int read = 0;
+			int r;
+			while (read < 2 && (r = pis.read(head, read, 2 - read)) != -1) {
+				read += r;
+			}
+			if (read > 0) {
+				pis.unread(head, 0, read);
+			}
+			if (read == 0) {
+				return pis;
+			}
+			// a ZLIB header has the DEFLATE compression method and a checksum multiple of 31
+			final boolean zlib = read == 2 && (head[0] & 0x0F) == 8
+					&& (((head[0] & 0xFF) << 8) | (head[1] & 0xFF)) % 31 == 0;
+			return zlib ? new InflaterInputStream(pis, new Inflater(), BUFFER_SIZE)
+					: new InflaterInputStream(pis, new Inflater(true), BUFFER_SIZE);
+		case GZIP:
+		default:
+			return new GZIPInputStream(stream, BUFFER_SIZE);
+		}
+	}
+
+	/**
+	 * Get the {@link ContentEncoding} which corresponds to given coding name, ignoring case. The legacy
+	 * <code>x-gzip</code> name is supported too.
+	 * @param encodingName The coding name
+	 * @return Optional {@link ContentEncoding}, empty if the coding is not supported
+	 */
+	public static Optional<ContentEncoding> of(String encodingName) {
+		if (encodingName != null) {
+			final String name = encodingName.trim();
+			if (GZIP.encodingName.equalsIgnoreCase(name) || "x-gzip".equalsIgnoreCase(name)) {
+				return Optional.of(GZIP);
+			}
+			if (DEFLATE.encodingName.equalsIgnoreCase(name)) {
+				return Optional.of(DEFLATE);
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Check whether all the codings listed in given {@link HttpHeaders#CONTENT_ENCODING} header value are supported.
+	 * @param contentEncoding The header value
+	 * @return <code>true</code> if given value is not empty and all its codings are either supported or
+	 *         <code>identity</code>
+	 */
+	public static boolean isSupported(String contentEncoding) {
+		if (contentEncoding == null || contentEncoding.trim().isEmpty()) {
+			return false;
+		}
+		for (String coding : contentEncoding.split(",")) {
+			if (!IDENTITY.equalsIgnoreCase(coding.trim()) && !of(coding).isPresent()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Wrap given stream to decode the data read from it according to a {@link HttpHeaders#CONTENT_ENCODING} header
+	 * value. When more codings are listed, they are decoded in the reverse order in which they were applied.
+	 * @param stream The encoded data stream (not null)
+	 * @param contentEncoding The header value. If <code>null</code> or empty, the stream is returned as is
+	 * @return The decoding stream
+	 * @throws IOException If a listed coding is not supported or the stream data is not well formed
+	 */
+	public static InputStream decode(InputStream stream, String contentEncoding) throws IOException {
+		if (contentEncoding == null || contentEncoding.trim().isEmpty()) {
+			return stream;
+		}
+		final String[] codings = contentEncoding.split(",");
+		InputStream decoded = stream;
+		for (int i = codings.length - 1; i >= 0; i--) {
+			final String coding = codings[i].trim();
+			if (!coding.isEmpty() && !IDENTITY.equalsIgnoreCase(coding)) {
+				decoded = of(coding).orElseThrow(() -> new IOException("Unsupported content encoding: " + coding))
+						.decode(decoded);
+			}
+		}
+		return decoded;
+	}
+
+	/**
+	 * Stream which does not close the wrapped stream.
+	 */
+	private static final class NonClosingOutputStream extends FilterOutputStream {
+
+		NonClosingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+
+	}
+
+}
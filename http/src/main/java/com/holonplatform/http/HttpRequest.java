@@ -75,9 +75,10 @@ public interface HttpRequest extends HttpMessage<String> {
 	Optional<Cookie> getRequestCookie(String name);
 
 	/**
-	 * Get request body input stream
+	 * Get request body input stream. When the request declares a {@link HttpHeaders#CONTENT_ENCODING} supported by
+	 * {@link ContentEncoding}, concrete implementations should return the decoded body stream.
 	 * @return Request body input stream
-	 * @throws IOException I/O error
+	 * @throws IOException I/O error, or unsupported request content encoding
 	 * @throws UnsupportedOperationException If underlying concrete implementation does not support message content
 	 *         access
 	 */
@@ -368,4 +368,24 @@ public enum HttpStatus {
 		return statusCode >= 300 && statusCode < 400;
 	}
 
+	/**
+	 * Gets whether given <code>statusCode</code> is a <em>client error</em>, i.e. a <code>4xx</code> status code
+	 * @param statusCode Status code
+	 * @return <code>true</code> if given <code>statusCode</code> is a <em>client error</em> status code
+	 * @since 5.6.0
+	 */
+	public static boolean isClientErrorStatusCode(int statusCode) {
+		return statusCode >= 400 && statusCode < 500;
+	}
+
+	/**
+	 * Gets whether given <code>statusCode</code> is a <em>server error</em>, i.e. a <code>5xx</code> status code
+	 * @param statusCode Status code
+	 * @return <code>true</code> if given <code>statusCode</code> is a <em>server error</em> status code
+	 * @since 5.6.0
+	 */
+	public static boolean isServerErrorStatusCode(int statusCode) {
+		return statusCode >= 500 && statusCode < 600;
+	}
+
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.exceptions;
+
+/**
+ * Exception thrown when a client request is rejected without being sent because the concurrency limit of its target
+ * was exceeded.
+ *
+ * @since 5.6.0
+ */
+public class ConcurrencyLimitExceededException extends HttpClientInvocationException {
+
+	private static final long serialVersionUID = -4032866270735781925L;
+
+	/**
+	 * Constructor with error message
+	 * @param message Error message
+	 */
+	public ConcurrencyLimitExceededException(String message) {
+		super(message);
+	}
+
+}
@@ -15,6 +15,7 @@
  */
 package com.holonplatform.http.internal;
 
+import java.util.Locale;
 import java.util.Optional;
 
 import com.holonplatform.http.CacheControl;
@@ -155,6 +156,62 @@ public class CacheControlDirectives implements CacheControl {
 		return Optional.empty();
 	}
 
+	/**
+	 * Parse a HTTP <code>Cache-Control</code> header value.
+	 * @param header The header value to parse
+	 * @return The parsed {@link CacheControl}
+	 */
+	public static CacheControl parse(String header) {
+		final CacheControlDirectives directives = new CacheControlDirectives();
+		if (header != null) {
+			for (String token : header.split(",")) {
+				final int idx = token.indexOf('=');
+				final String name = ((idx > -1) ? token.substring(0, idx) : token).trim().toLowerCase(Locale.ENGLISH);
+				final String value = (idx > -1) ? token.substring(idx + 1).trim().replace("\"", "") : null;
+				switch (name) {
+				case "max-age":
+					directives.maxAge = parseSeconds(value);
+					break;
+				case "s-maxage":
+					directives.sMaxAge = parseSeconds(value);
+					break;
+				case "no-cache":
+					directives.noCache = true;
+					break;
+				case "no-store":
+					directives.noStore = true;
+					break;
+				case "no-transform":
+					directives.noTransform = true;
+					break;
+				case "must-revalidate":
+					directives.mustRevalidate = true;
+					break;
+				case "proxy-revalidate":
+					directives.proxyRevalidate = true;
+					break;
+				case "private":
+					directives.cachePrivate = true;
+					break;
+				default:
+					break;
+				}
+			}
+		}
+		return directives;
+	}
+
+	private static long parseSeconds(String value) {
+		if (value != null) {
+			try {
+				return Math.max(0, Long.parseLong(value));
+			} catch (@SuppressWarnings("unused") NumberFormatException e) {
+				// invalid delta-seconds
+			}
+		}
+		return 0;
+	}
+
 	private static void appendDirective(StringBuilder builder, String value) {
 		if (builder.length() > 0) {
 			builder.append(", ");
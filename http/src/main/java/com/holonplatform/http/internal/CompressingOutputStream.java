@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.ContentEncoding;
+
+/**
+ * An {@link OutputStream} which compresses the written data using a {@link ContentEncoding} only when its size exceeds
+ * a threshold.
+ * <p>
+ * The data is buffered until the threshold is exceeded: at that point the target stream is opened declaring that the
+ * data is compressed, and the buffered and following data are compressed while they are written. If the threshold is
+ * never exceeded, the target stream is opened declaring that the data is not compressed when {@link #finish()} is
+ * invoked, and the buffered data is written as is. Closing this stream does not close the target stream.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class CompressingOutputStream extends OutputStream {
+
+	/**
+	 * Target stream provider.
+	 */
+	@FunctionalInterface
+	public interface Target {
+
+		/**
+		 * Open the target stream.
+		 * @param compressed Whether the data written to the stream is compressed
+		 * @return The target stream
+		 * @throws IOException If an I/O error occurred
+		 */
+		OutputStream open(boolean compressed) throws IOException;
+
+	}
+
+	private final Target target;
+	private final ContentEncoding encoding;
+	private final int threshold;
+
+	private ByteArrayOutputStream buffer;
+	private OutputStream stream;
+	private boolean finished = false;
+
+	/**
+	 * Constructor.
+	 * @param target The target stream provider (not null)
+	 * @param encoding The coding to use to compress the data (not null)
+	 * @param threshold The data size in bytes beyond which the data is compressed
+	 */
+	public CompressingOutputStream(Target target, ContentEncoding encoding, int threshold) {
+		super();
+		ObjectUtils.argumentNotNull(target, "Target must be not null");
+		ObjectUtils.argumentNotNull(encoding, "Encoding must be not null");
+		this.target = target;
+		this.encoding = encoding;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Get whether the data is compressed, i.e. whether the threshold was exceeded.
+	 * @return <code>true</code> if the data is compressed
+	 */
+	public boolean isCompressed() {
+		return stream != null && buffer == null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.OutputStream#write(int)
+	 */
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.OutputStream#write(byte[], int, int)
+	 */
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (finished) {
+			throw new IOException("Stream finished");
+		}
+		if (stream == null) {
+			final int buffered = (buffer != null) ? buffer.size() : 0;
+			if (buffered + len <= threshold) {
+				if (buffer == null) {
+					buffer = new ByteArrayOutputStream(Math.min(threshold, 8192));
+				}
+				buffer.write(b, off, len);
+				return;
+			}
+			stream = encoding.encode(target.open(true));
+			if (buffer != null) {
+				buffer.writeTo(stream);
+				buffer = null;
+			}
+		}
+		stream.write(b, off, len);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.OutputStream#flush()
+	 */
+	@Override
+	public void flush() throws IOException {
+		// the buffered data is never flushed, since the target is not open until the threshold is exceeded
+		if (stream != null) {
+			stream.flush();
+		}
+	}
+
+	/**
+	 * Complete the data writing without closing the target stream: if the threshold was not exceeded, the target
+	 * stream is opened and the buffered data is written as is, otherwise the compression is completed.
+	 * @throws IOException If an I/O error occurred
+	 */
+	public void finish() throws IOException {
+		if (!finished) {
+			finished = true;
+			if (stream != null) {
+				// closing the encoding stream does not close the target stream
+				stream.close();
+			} else if (buffer != null) {
+				final OutputStream out = target.open(false);
+				buffer.writeTo(out);
+				out.flush();
+				buffer = null;
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.OutputStream#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		finish();
+	}
+
+}
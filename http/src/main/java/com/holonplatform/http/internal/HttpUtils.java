@@ -17,8 +17,12 @@ package com.holonplatform.http.internal;
 
 import java.io.Serializable;
 import java.net.URI;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collection;
@@ -30,7 +34,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.TimeZone;
 
 import com.holonplatform.http.HttpHeaders;
 
@@ -50,6 +53,28 @@ public final class HttpUtils implements Serializable {
 	public static final String[] DATE_FORMATS = new String[] { "EEE, dd MMM yyyy HH:mm:ss zzz",
 			"EEE, dd-MMM-yy HH:mm:ss zzz", "EEE MMM dd HH:mm:ss yyyy" };
 
+	/**
+	 * Preferred HTTP date formatter, i.e. <code>Sun, 06 Nov 1994 08:49:37 GMT</code>
+	 * @see <a href="https://tools.ietf.org/html/rfc7231#section-7.1.1.1">Section 7.1.1.1 of RFC 7231</a>
+	 */
+	public static final DateTimeFormatter RFC_1123_DATE_FORMATTER = DateTimeFormatter.RFC_1123_DATE_TIME
+			.withZone(ZoneOffset.UTC);
+
+	/**
+	 * Obsolete RFC 850 HTTP date formatter, i.e. <code>Sunday, 06-Nov-94 08:49:37 GMT</code>. The abbreviated day
+	 * names are accepted too and the two digits years are interpreted from 1970 to 2069.
+	 */
+	public static final DateTimeFormatter RFC_850_DATE_FORMATTER = new DateTimeFormatterBuilder()
+			.parseCaseInsensitive().appendPattern("[EEEE][EEE], dd-MMM-").appendValueReduced(ChronoField.YEAR, 2, 2, 1970)
+			.appendPattern(" HH:mm:ss zzz").toFormatter(Locale.US).withZone(ZoneOffset.UTC);
+
+	/**
+	 * Obsolete ANSI C <code>asctime()</code> HTTP date formatter, i.e. <code>Sun Nov  6 08:49:37 1994</code>
+	 */
+	public static final DateTimeFormatter ASCTIME_DATE_FORMATTER = new DateTimeFormatterBuilder()
+			.parseCaseInsensitive().appendPattern("EEE MMM [ ]d HH:mm:ss yyyy").toFormatter(Locale.US)
+			.withZone(ZoneOffset.UTC);
+
 	/*
 	 * Empty private constructor: this class is intended only to provide constants ad utility methods.
 	 */
@@ -66,20 +91,49 @@ public final class HttpUtils implements Serializable {
 	}
 
 	/**
-	 * Get a header date value as {@link Date}
+	 * Get the target of given request URI, i.e. its scheme, host and port.
+	 * @param requestURI The request URI
+	 * @return The request target, or given URI if it has no authority or it is not valid
+	 * @since 5.6.0
+	 */
+	public static String getRequestTarget(String requestURI) {
+		if (requestURI != null) {
+			try {
+				final URI uri = URI.create(requestURI);
+				if (uri.getAuthority() != null) {
+					return (uri.getScheme() != null) ? uri.getScheme() + "://" + uri.getAuthority()
+							: uri.getAuthority();
+				}
+			} catch (@SuppressWarnings("unused") IllegalArgumentException e) {
+				// ignore
+			}
+		}
+		return requestURI;
+	}
+
+	/**
+	 * Get a header date value as {@link Date}. The date format is detected from the value, so that each value is
+	 * parsed only once, using {@link #RFC_1123_DATE_FORMATTER}, {@link #RFC_850_DATE_FORMATTER} or
+	 * {@link #ASCTIME_DATE_FORMATTER}.
 	 * @param headerValue Header
 	 * @return Date or <code>null</code> if header is null or invalid
 	 */
 	public static Date parseHeaderDate(String headerValue) {
 		if (headerValue != null && headerValue.length() >= 3) {
-			for (String dateFormat : DATE_FORMATS) {
-				SimpleDateFormat simpleDateFormat = new SimpleDateFormat(dateFormat, Locale.US);
-				simpleDateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
-				try {
-					return simpleDateFormat.parse(headerValue);
-				} catch (@SuppressWarnings("unused") ParseException ex) {
-					// ignore
-				}
+			final String value = headerValue.trim();
+			final DateTimeFormatter formatter;
+			if (value.indexOf(',') < 0) {
+				formatter = ASCTIME_DATE_FORMATTER;
+			} else {
+				// the RFC 850 date parts are separated by dashes
+				final int dash = value.indexOf('-');
+				formatter = (dash > 0 && dash < value.indexOf(':')) ? RFC_850_DATE_FORMATTER
+						: RFC_1123_DATE_FORMATTER;
+			}
+			try {
+				return Date.from(Instant.from(formatter.parse(value)));
+			} catch (@SuppressWarnings("unused") DateTimeException ex) {
+				// ignore
 			}
 		}
 		return null;
@@ -18,9 +18,9 @@ package com.holonplatform.http.internal.rest;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -57,7 +57,7 @@ public abstract class AbstractRequestDefinition<R extends RequestConfiguration<R
 	/**
 	 * Request paths
 	 */
-	protected final List<String> requestPaths = new LinkedList<>();
+	protected final List<String> requestPaths = new ArrayList<>(4);
 
 	/**
 	 * Template parameters
@@ -79,6 +79,11 @@ public abstract class AbstractRequestDefinition<R extends RequestConfiguration<R
 	 */
 	protected PropertySet<?> propertySet;
 
+	/**
+	 * Request URI expanded by a {@link com.holonplatform.http.rest.RequestTemplate}, if any
+	 */
+	private String expandedRequestURI;
+
 	/**
 	 * Get the actual request definition instance.
 	 * @return the actual request definition instance
@@ -96,6 +101,7 @@ public abstract class AbstractRequestDefinition<R extends RequestConfiguration<R
 	public R target(URI baseUri) {
 		ObjectUtils.argumentNotNull(baseUri, "Base URI target must be not null");
 		this.baseRequestURI = baseUri;
+		this.expandedRequestURI = null;
 		return getActualDefinition();
 	}
 
@@ -110,6 +116,7 @@ public abstract class AbstractRequestDefinition<R extends RequestConfiguration<R
 	public R path(String path) {
 		ObjectUtils.argumentNotNull(path, "Request path must be not null");
 		requestPaths.add(path);
+		this.expandedRequestURI = null;
 		return getActualDefinition();
 	}
 
@@ -124,6 +131,7 @@ public abstract class AbstractRequestDefinition<R extends RequestConfiguration<R
 		ObjectUtils.argumentNotNull(name, "Query parameter name must be not null");
 		Object[] v = (values != null) ? values : new Object[0];
 		queryParameters.put(name, v);
+		this.expandedRequestURI = null;
 		return getActualDefinition();
 	}
 
@@ -139,6 +147,7 @@ public abstract class AbstractRequestDefinition<R extends RequestConfiguration<R
 		ObjectUtils.argumentNotNull(name, "Template variable name must be not null");
 		ObjectUtils.argumentNotNull(value, "Template variable value must be not null");
 		templateParameters.put(name, value);
+		this.expandedRequestURI = null;
 		return getActualDefinition();
 	}
 
@@ -379,13 +388,14 @@ public abstract class AbstractRequestDefinition<R extends RequestConfiguration<R
 	@Override
 	public Optional<String> getRequestPath() {
 		if (!requestPaths.isEmpty()) {
-			StringBuilder sb = new StringBuilder("");
+			StringBuilder sb = new StringBuilder();
 			for (String path : requestPaths) {
 				String p = path;
-				if (p.startsWith("/") && sb.toString().endsWith("/")) {
+				final boolean trailingSlash = sb.length() > 0 && sb.charAt(sb.length() - 1) == '/';
+				if (p.startsWith("/") && trailingSlash) {
 					p = (p.length() > 1) ? p.substring(1) : "";
 				}
-				if (!p.startsWith("/") && !sb.toString().endsWith("/")) {
+				if (!p.startsWith("/") && !trailingSlash) {
 					sb.append('/');
 				}
 				sb.append(p);
@@ -405,12 +415,75 @@ public abstract class AbstractRequestDefinition<R extends RequestConfiguration<R
 	 */
 	@Override
 	public String getRequestURI() {
-		StringBuilder sb = new StringBuilder();
-		sb.append(getBaseRequestURI().orElseThrow(() -> new HttpClientInvocationException("Missing target base URI"))
-				.toString());
-		sb.append(getRequestPath().map(p -> (sb.toString().endsWith("/") && p.startsWith("/")) ? p.substring(1) : p)
-				.orElse(""));
-		return sb.toString();
+		final String base = getBaseRequestURI()
+				.orElseThrow(() -> new HttpClientInvocationException("Missing target base URI")).toString();
+		return getRequestPath().map(p -> (base.endsWith("/") && p.startsWith("/")) ? base + p.substring(1) : base + p)
+				.orElse(base);
+	}
+
+	/**
+	 * Get the fully encoded request URI, including the query parameters, when this definition was built by a
+	 * {@link com.holonplatform.http.rest.RequestTemplate} and its target, path, query or template parameters were not
+	 * changed afterwards.
+	 * @return Optional expanded request URI
+	 * @since 5.6.0
+	 */
+	public Optional<String> getExpandedRequestURI() {
+		return Optional.ofNullable(expandedRequestURI);
+	}
+
+	/**
+	 * Get the fully encoded request URI, including the query parameters.
+	 * <p>
+	 * The URI expanded by a {@link com.holonplatform.http.rest.RequestTemplate} is returned when available, otherwise
+	 * the request URI is expanded using the same encoding rules, so that a template parameter value is always encoded
+	 * in the same way (for example, a <code>/</code> is always encoded as <code>%2F</code>).
+	 * </p>
+	 * @return The encoded request URI
+	 * @throws IllegalArgumentException If a template parameter value is missing
+	 * @since 5.6.0
+	 */
+	public String getEncodedRequestURI() {
+		return (expandedRequestURI != null) ? expandedRequestURI
+				: DefaultRequestTemplate.expandURI(getRequestURI(), queryParameters, templateParameters);
+	}
+
+	/**
+	 * Configure this definition from a {@link com.holonplatform.http.rest.RequestTemplate}.
+	 * @param target The request target
+	 * @param path The request path
+	 * @param templateParameters The template parameters
+	 * @param queryParameters The query parameters
+	 * @param headers The headers
+	 * @param expandedURI The expanded and encoded request URI
+	 */
+	void applyTemplate(URI target, String path, Map<String, Object> templateParameters,
+			Map<String, Object[]> queryParameters, Map<String, String> headers, String expandedURI) {
+		this.baseRequestURI = target;
+		this.requestPaths.add(path);
+		this.templateParameters.putAll(templateParameters);
+		this.queryParameters.putAll(queryParameters);
+		this.headers.putAll(headers);
+		this.expandedRequestURI = expandedURI;
+	}
+
+	/**
+	 * Copy the configuration of this definition into given definition.
+	 * @param <D> Definition type
+	 * @param definition The definition to configure
+	 * @return The configured definition
+	 * @since 5.6.0
+	 */
+	protected <D extends AbstractRequestDefinition<?>> D copyTo(D definition) {
+		final AbstractRequestDefinition<?> target = definition;
+		target.baseRequestURI = baseRequestURI;
+		target.requestPaths.addAll(requestPaths);
+		target.templateParameters.putAll(templateParameters);
+		target.queryParameters.putAll(queryParameters);
+		target.headers.putAll(headers);
+		target.propertySet = propertySet;
+		target.expandedRequestURI = expandedRequestURI;
+		return definition;
 	}
 
 	/*
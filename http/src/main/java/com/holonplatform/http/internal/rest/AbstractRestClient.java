@@ -20,10 +20,16 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import com.holonplatform.core.instrumentation.Instrumentation;
 import com.holonplatform.core.internal.Logger;
 import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.ContentEncoding;
+import com.holonplatform.http.HttpHeaders;
 import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.rest.HttpCache;
+import com.holonplatform.http.rest.RequestTemplate;
 import com.holonplatform.http.rest.RestClient;
+import com.holonplatform.http.rest.RetryPolicy;
 
 /**
  * Abstract {@link RestClient} implementation.
@@ -47,6 +53,36 @@ public abstract class AbstractRestClient implements RestClient, Invoker {
 	 */
 	private final Map<String, String> defaultHeaders = new HashMap<>(4);
 
+	/**
+	 * HTTP cache
+	 */
+	private HttpCache cache;
+
+	/**
+	 * Retry policy
+	 */
+	private RetryPolicy retryPolicy;
+
+	/**
+	 * Invocations instrumentation
+	 */
+	private Instrumentation instrumentation;
+
+	/**
+	 * Request entities coding
+	 */
+	private ContentEncoding compression;
+
+	/**
+	 * Minimum request entity size to compress it
+	 */
+	private int compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
+
+	/**
+	 * Invoker to use with the HTTP cache and/or the retry policy
+	 */
+	private Invoker invoker;
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.http.RestClient#setDefaultTarget(java.net.URI)
@@ -98,6 +134,150 @@ public abstract class AbstractRestClient implements RestClient, Invoker {
 		return this;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#withCache(com.holonplatform.http.rest.HttpCache)
+	 */
+	@Override
+	public RestClient withCache(HttpCache cache) {
+		this.cache = cache;
+		configureInvoker();
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#getCache()
+	 */
+	@Override
+	public Optional<HttpCache> getCache() {
+		return Optional.ofNullable(cache);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#withRetryPolicy(com.holonplatform.http.rest.RetryPolicy)
+	 */
+	@Override
+	public RestClient withRetryPolicy(RetryPolicy retryPolicy) {
+		this.retryPolicy = retryPolicy;
+		configureInvoker();
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#getRetryPolicy()
+	 */
+	@Override
+	public Optional<RetryPolicy> getRetryPolicy() {
+		return Optional.ofNullable(retryPolicy);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#withInstrumentation(com.holonplatform.core.
+	 * instrumentation.Instrumentation)
+	 */
+	@Override
+	public RestClient withInstrumentation(Instrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+		configureInvoker();
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#getInstrumentation()
+	 */
+	@Override
+	public Optional<Instrumentation> getInstrumentation() {
+		return Optional.ofNullable(instrumentation);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#withCompression(com.holonplatform.http.ContentEncoding,
+	 * int)
+	 */
+	@Override
+	public RestClient withCompression(ContentEncoding encoding, int threshold) {
+		if (threshold < 0) {
+			throw new IllegalArgumentException("Compression threshold must be greater than or equal to 0");
+		}
+		this.compression = encoding;
+		this.compressionThreshold = threshold;
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#getCompression()
+	 */
+	@Override
+	public Optional<ContentEncoding> getCompression() {
+		return Optional.ofNullable(compression);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#getCompressionThreshold()
+	 */
+	@Override
+	public int getCompressionThreshold() {
+		return compressionThreshold;
+	}
+
+	/**
+	 * Get the {@link Invoker} to use with the request definitions: if a {@link HttpCache}, a {@link RetryPolicy} or an
+	 * {@link Instrumentation} are configured, an invoker which uses the cache, retries the failed requests and/or
+	 * notifies the instrumentation and delegates the actual invocations to this client is returned, otherwise this
+	 * client.
+	 * @return The request definitions invoker
+	 */
+	protected Invoker getInvoker() {
+		return (invoker != null) ? invoker : this;
+	}
+
+	/**
+	 * Build the invoker chain according to the current configuration. The retries are performed behind the HTTP cache,
+	 * so that only the actual server invocations are retried, while the instrumentation is the outermost invoker, so
+	 * that the invocations are observed as seen by the caller.
+	 */
+	private void configureInvoker() {
+		Invoker chain = this;
+		if (retryPolicy != null) {
+			chain = new RetryingInvoker(chain, retryPolicy);
+		}
+		if (cache != null) {
+			chain = new CachingInvoker(chain, cache, getCachedResponseFactory());
+		}
+		if (instrumentation != null) {
+			chain = new InstrumentingInvoker(chain, instrumentation);
+		}
+		this.invoker = (chain != this) ? chain : null;
+	}
+
+	/**
+	 * Get the factory to use to build the responses served by the {@link HttpCache}. The default factory supports only
+	 * the <code>byte[]</code>, {@link String} and {@link java.io.InputStream} response types: the concrete clients
+	 * should override this method to provide a factory which reads the response entity using their own message
+	 * converters.
+	 * @return The cached responses factory
+	 */
+	protected CachedResponseFactory getCachedResponseFactory() {
+		return CachedResponseFactory.getDefault();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#getResponseFactory()
+	 */
+	@Override
+	public CachedResponseFactory getResponseFactory() {
+		return getCachedResponseFactory();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.http.RestClient#request()
@@ -110,7 +290,7 @@ public abstract class AbstractRestClient implements RestClient, Invoker {
 		getDefaultTarget().ifPresent(t -> definition.target(t));
 
 		// set default headers
-		defaultHeaders.forEach((n, v) -> {
+		getRequestHeaders().forEach((n, v) -> {
 			if (!definition.getHeaders().containsKey(n)) {
 				definition.getHeaders().put(n, v);
 			}
@@ -121,8 +301,43 @@ public abstract class AbstractRestClient implements RestClient, Invoker {
 		return definition;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#template(java.lang.String)
+	 */
+	@Override
+	public RequestTemplate<RequestDefinition> template(String path) {
+		return template(getDefaultTarget().orElseThrow(
+				() -> new IllegalStateException("A default target must be configured to use a request template")),
+				path);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClientOperations#template(java.net.URI, java.lang.String)
+	 */
+	@Override
+	public RequestTemplate<RequestDefinition> template(URI target, String path) {
+		return new DefaultRequestTemplate<>(this::buildDefinition, target, path, getRequestHeaders());
+	}
+
+	/**
+	 * Get the headers to add to each request: the default headers and, if the content coding support is enabled, the
+	 * {@link HttpHeaders#ACCEPT_ENCODING} header.
+	 * @return The request headers
+	 */
+	private Map<String, String> getRequestHeaders() {
+		if (compression == null || defaultHeaders.containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+			return defaultHeaders;
+		}
+		final Map<String, String> headers = new HashMap<>(defaultHeaders);
+		headers.put(HttpHeaders.ACCEPT_ENCODING, ContentEncoding.ACCEPT_ALL);
+		return headers;
+	}
+
 	/**
-	 * Build a new RequestDefinition to be used for request configuration.
+	 * Build a new RequestDefinition to be used for request configuration. The request definition should use the
+	 * {@link Invoker} provided by {@link #getInvoker()}.
 	 * @return Request definition of expected type
 	 */
 	protected abstract RequestDefinition buildDefinition();
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.exceptions.HttpEntityProcessingException;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
+
+/**
+ * Default {@link ResponseEntity} built from a response stored in the HTTP cache, which supports the
+ * <code>byte[]</code>, {@link String}, {@link InputStream} and {@link Void} entity types.
+ *
+ * @param <T> Response entity type
+ *
+ * @since 5.6.0
+ */
+public class CachedResponseEntity<T> implements ResponseEntity<T> {
+
+	private final HttpCacheEntry entry;
+	private final ResponseType<T> type;
+	private final Map<String, List<String>> headers;
+
+	/**
+	 * Constructor.
+	 * @param request The request definition
+	 * @param entry The stored response (not null)
+	 * @param type The response type (not null)
+	 */
+	public CachedResponseEntity(RequestConfiguration<?> request, HttpCacheEntry entry, ResponseType<T> type) {
+		super();
+		ObjectUtils.argumentNotNull(entry, "Cache entry must be not null");
+		ObjectUtils.argumentNotNull(type, "Response type must be not null");
+		this.entry = entry;
+		this.type = type;
+		this.headers = entry.getResponseHeaders(System.currentTimeMillis());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.HttpResponse#getStatusCode()
+	 */
+	@Override
+	public int getStatusCode() {
+		return entry.getStatusCode();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.messaging.MessageHeaders#getHeaders()
+	 */
+	@Override
+	public Map<String, List<String>> getHeaders() {
+		return headers;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.messaging.Message#getPayload()
+	 */
+	@Override
+	public Optional<T> getPayload() throws UnsupportedOperationException {
+		return as(type);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.messaging.Message#getPayloadType()
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public Class<? extends T> getPayloadType() throws UnsupportedOperationException {
+		return (Class<? extends T>) type.getType();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.ResponseEntity#as(java.lang.Class)
+	 */
+	@Override
+	public <E> Optional<E> as(Class<E> entityType) {
+		ObjectUtils.argumentNotNull(entityType, "Entity type must be not null");
+		return as(ResponseType.of(entityType));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.ResponseEntity#as(com.holonplatform.http.rest.ResponseType)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <E> Optional<E> as(ResponseType<E> entityType) {
+		ObjectUtils.argumentNotNull(entityType, "Entity type must be not null");
+		final byte[] body = entry.getBody();
+		if (Void.class == entityType.getType() || body.length == 0) {
+			return Optional.empty();
+		}
+		if (byte[].class == entityType.getType()) {
+			return Optional.of((E) body.clone());
+		}
+		if (String.class == entityType.getType()) {
+			return Optional.of((E) new String(body, getCharset()));
+		}
+		if (InputStream.class == entityType.getType()) {
+			return Optional.of((E) new ByteArrayInputStream(body));
+		}
+		throw new HttpEntityProcessingException("Failed to read HTTP entity as [" + entityType
+				+ "]: the cached response supports only byte[], String and InputStream entity types");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.ResponseEntity#close()
+	 */
+	@Override
+	public void close() {
+		// noop
+	}
+
+	private Charset getCharset() {
+		return getHeaderValue(HttpHeaders.CONTENT_TYPE).map(contentType -> {
+			for (String parameter : contentType.split(";")) {
+				final String p = parameter.trim();
+				if (p.regionMatches(true, 0, "charset=", 0, 8)) {
+					try {
+						return Charset.forName(p.substring(8).replace("\"", "").trim());
+					} catch (@SuppressWarnings("unused") Exception e) {
+						// ignore
+					}
+				}
+			}
+			return null;
+		}).orElse(StandardCharsets.UTF_8);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "CachedResponseEntity [entry=" + entry + ", type=" + type + "]";
+	}
+
+}
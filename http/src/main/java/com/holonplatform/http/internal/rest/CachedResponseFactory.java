@@ -0,0 +1,50 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
+
+/**
+ * Factory to build a {@link ResponseEntity} from a response stored in the HTTP cache. The concrete REST client
+ * implementations should provide a factory which reads the response entity using their own message converters.
+ *
+ * @since 5.6.0
+ */
+@FunctionalInterface
+public interface CachedResponseFactory {
+
+	/**
+	 * Build a {@link ResponseEntity} using given stored response.
+	 * @param <T> Response type
+	 * @param request The request definition
+	 * @param entry The stored response
+	 * @param responseType The expected response type
+	 * @return A new {@link ResponseEntity}
+	 */
+	<T> ResponseEntity<T> create(RequestConfiguration<?> request, HttpCacheEntry entry, ResponseType<T> responseType);
+
+	/**
+	 * Get the default {@link CachedResponseFactory}, which supports the <code>byte[]</code>, {@link String},
+	 * {@link java.io.InputStream} and {@link Void} response types.
+	 * @return The default factory
+	 */
+	static CachedResponseFactory getDefault() {
+		return CachedResponseEntity::new;
+	}
+
+}
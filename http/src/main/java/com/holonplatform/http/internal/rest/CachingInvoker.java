@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.util.Map;
+import java.util.Optional;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.rest.HttpCache;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClient.RequestDefinition;
+
+/**
+ * An {@link Invoker} which uses a {@link HttpCache} to serve the cacheable requests, delegating the actual request
+ * invocations to a concrete {@link Invoker}.
+ *
+ * @since 5.6.0
+ */
+public class CachingInvoker implements Invoker {
+
+	private final Invoker invoker;
+	private final DefaultHttpCache cache;
+	private final CachedResponseFactory responseFactory;
+
+	/**
+	 * Constructor.
+	 * @param invoker The concrete invoker (not null)
+	 * @param cache The cache to use (not null)
+	 * @param responseFactory The factory to use to build the responses from the stored entries (not null)
+	 */
+	public CachingInvoker(Invoker invoker, HttpCache cache, CachedResponseFactory responseFactory) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		ObjectUtils.argumentNotNull(responseFactory, "Response factory must be not null");
+		this.invoker = invoker;
+		this.cache = DefaultHttpCache.of(cache);
+		this.responseFactory = responseFactory;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#getResponseFactory()
+	 */
+	@Override
+	public CachedResponseFactory getResponseFactory() {
+		return responseFactory;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#invoke(com.holonplatform.http.rest.RestClient.RequestDefinition,
+	 * com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		if (!cache.isCacheable(method, requestDefinition, requestEntity, responseType)) {
+			final ResponseEntity<T> response = invoker.invoke(requestDefinition, method, requestEntity, responseType,
+					onlySuccessfulStatusCode);
+			cache.invalidate(method, requestDefinition, response.getStatusCode());
+			return response;
+		}
+		final HttpCacheInvocation invocation = cache.begin(requestDefinition);
+		final Optional<HttpCacheEntry> fresh = invocation.lookup();
+		if (fresh.isPresent()) {
+			return HttpCacheInvocation.checkStatus(invocation.toResponse(fresh.get(), responseType, responseFactory),
+					onlySuccessfulStatusCode);
+		}
+		final RequestDefinition definition = withConditionalHeaders(requestDefinition, invocation);
+		final ResponseEntity<T> response = invoker.invoke(definition, method, requestEntity, responseType, false);
+		return HttpCacheInvocation.checkStatus(invocation.complete(response, responseType, responseFactory),
+				onlySuccessfulStatusCode);
+	}
+
+	/**
+	 * Get the request definition to use to perform given cache invocation request: if a stored response has to be
+	 * revalidated, a copy of the request definition which includes the conditional headers, so that the caller's
+	 * definition is never modified. If the definition cannot be copied, the request is performed without revalidation.
+	 * @param requestDefinition The request definition
+	 * @param invocation The cache invocation
+	 * @return The request definition to use
+	 */
+	private static RequestDefinition withConditionalHeaders(RequestDefinition requestDefinition,
+			HttpCacheInvocation invocation) {
+		final Map<String, String> conditionalHeaders = invocation.getConditionalHeaders();
+		if (conditionalHeaders.isEmpty() || !(requestDefinition instanceof DefaultRequestDefinition)) {
+			return requestDefinition;
+		}
+		final DefaultRequestDefinition definition = ((DefaultRequestDefinition) requestDefinition).copy();
+		definition.getHeaders().putAll(conditionalHeaders);
+		return definition;
+	}
+
+}
@@ -0,0 +1,675 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.CacheControl;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.rest.HttpCache;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
+
+/**
+ * Default {@link HttpCache} implementation.
+ * <p>
+ * The memory store is a LRU map bounded by number of entries and size, and the entries evicted from memory are moved
+ * to the {@link HttpCacheDiskStore}, if configured. The cache is thread safe.
+ * </p>
+ * <p>
+ * The memory store and the disk store are guarded by distinct locks, and the disk store I/O is never performed while
+ * holding the memory store lock: the entries evicted from memory are collected under the memory store lock and
+ * written to the disk store afterwards. Until written, the evicted entries are kept as <em>pending</em> disk writes,
+ * which are still served by the cache and which are discarded if the entry is replaced or removed in the meantime.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class DefaultHttpCache implements HttpCache {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	/**
+	 * Status codes which are cacheable by default, as defined in section 6.1 of RFC 7231
+	 */
+	private static final Set<Integer> CACHEABLE_STATUS_CODES = Collections
+			.unmodifiableSet(new HashSet<>(Arrays.asList(200, 203, 204, 300, 301, 404, 405, 410, 414, 501)));
+
+	/**
+	 * Request headers which make a request not served by the cache
+	 */
+	private static final String[] UNCACHEABLE_REQUEST_HEADERS = new String[] { HttpHeaders.IF_NONE_MATCH,
+			HttpHeaders.IF_MODIFIED_SINCE, HttpHeaders.IF_MATCH, HttpHeaders.IF_UNMODIFIED_SINCE, HttpHeaders.IF_RANGE,
+			HttpHeaders.RANGE };
+
+	private final int maxEntries;
+	private final long maxSize;
+	private final boolean shared;
+	private final boolean heuristicFreshness;
+	private final HttpCacheDiskStore diskStore;
+
+	private final LinkedHashMap<String, HttpCacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long size = 0;
+
+	/**
+	 * Entries evicted from memory and not yet written to the disk store, guarded by the memory store lock
+	 */
+	private final Map<String, HttpCacheEntry> pendingWrites = new HashMap<>();
+
+	/**
+	 * Removals counter, guarded by the memory store lock, used to detect a removal concurrent to a disk store read
+	 */
+	private long removals = 0;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder revalidations = new LongAdder();
+	private final LongAdder notModified = new LongAdder();
+	private final LongAdder stores = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Constructor.
+	 * @param maxEntries Maximum number of entries kept in memory
+	 * @param maxSize Maximum size in bytes of the entries kept in memory
+	 * @param shared Whether the cache is a shared cache
+	 * @param heuristicFreshness Whether to use a heuristic freshness lifetime
+	 * @param diskStore Optional disk store
+	 */
+	public DefaultHttpCache(int maxEntries, long maxSize, boolean shared, boolean heuristicFreshness,
+			HttpCacheDiskStore diskStore) {
+		super();
+		this.maxEntries = maxEntries;
+		this.maxSize = maxSize;
+		this.shared = shared;
+		this.heuristicFreshness = heuristicFreshness;
+		this.diskStore = diskStore;
+	}
+
+	/**
+	 * Get the {@link DefaultHttpCache} instance from given {@link HttpCache}.
+	 * @param cache The cache (not null)
+	 * @return The {@link DefaultHttpCache}
+	 * @throws IllegalArgumentException If given cache is not a {@link DefaultHttpCache}
+	 */
+	public static DefaultHttpCache of(HttpCache cache) {
+		ObjectUtils.argumentNotNull(cache, "HttpCache must be not null");
+		if (!(cache instanceof DefaultHttpCache)) {
+			throw new IllegalArgumentException("Unsupported HttpCache implementation: " + cache.getClass().getName()
+					+ " - use HttpCache.builder() to obtain a HttpCache");
+		}
+		return (DefaultHttpCache) cache;
+	}
+
+	/**
+	 * Get whether the cache is a shared cache.
+	 * @return <code>true</code> if the cache is a shared cache
+	 */
+	public boolean isShared() {
+		return shared;
+	}
+
+	/**
+	 * Get whether to use a heuristic freshness lifetime.
+	 * @return <code>true</code> to use a heuristic freshness lifetime
+	 */
+	public boolean isHeuristicFreshness() {
+		return heuristicFreshness;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpCache#size()
+	 */
+	@Override
+	public int size() {
+		final int memory;
+		synchronized (this) {
+			memory = entries.size() + pendingWrites.size();
+		}
+		if (diskStore != null) {
+			synchronized (diskStore) {
+				return memory + diskStore.size();
+			}
+		}
+		return memory;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpCache#clear()
+	 */
+	@Override
+	public void clear() {
+		synchronized (this) {
+			entries.clear();
+			size = 0;
+			pendingWrites.clear();
+			removals++;
+		}
+		if (diskStore != null) {
+			synchronized (diskStore) {
+				diskStore.clear();
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpCache#getMetrics()
+	 */
+	@Override
+	public Metrics getMetrics() {
+		return new DefaultMetrics(hits.sum(), misses.sum(), revalidations.sum(), notModified.sum(), stores.sum(),
+				evictions.sum());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.HttpCache#resetMetrics()
+	 */
+	@Override
+	public void resetMetrics() {
+		hits.reset();
+		misses.reset();
+		revalidations.reset();
+		notModified.reset();
+		stores.reset();
+		evictions.reset();
+	}
+
+	// ------- Cache operations
+
+	/**
+	 * Checks whether a request can be served by the cache: only <code>GET</code> requests without a request entity
+	 * and without conditional or range headers are cacheable, if the request does not specify the
+	 * <code>no-store</code> cache directive.
+	 * <p>
+	 * Requests which expect an {@link InputStream} response are never cacheable, since storing the response would
+	 * require to read the whole body in memory, defeating the purpose of streaming it.
+	 * </p>
+	 * @param method The request method
+	 * @param request The request definition
+	 * @param requestEntity The request entity
+	 * @param responseType The expected response type
+	 * @return <code>true</code> if the request is cacheable
+	 */
+	public boolean isCacheable(HttpMethod method, RequestConfiguration<?> request, RequestEntity<?> requestEntity,
+			ResponseType<?> responseType) {
+		if (HttpMethod.GET != method || (requestEntity != null && requestEntity.getPayload().isPresent())) {
+			return false;
+		}
+		if (responseType != null && InputStream.class == responseType.getType()) {
+			return false;
+		}
+		for (String header : UNCACHEABLE_REQUEST_HEADERS) {
+			if (getHeader(request.getHeaders(), header).isPresent()) {
+				return false;
+			}
+		}
+		return !getRequestCacheControl(request).isNoStore();
+	}
+
+	/**
+	 * Begin a cacheable request invocation.
+	 * @param request The request definition
+	 * @return The cache invocation
+	 */
+	public HttpCacheInvocation begin(RequestConfiguration<?> request) {
+		return new HttpCacheInvocation(this, request, getKey(request), getRequestCacheControl(request));
+	}
+
+	/**
+	 * Invalidate the stored response for the request URI if given non cacheable request method is unsafe and the
+	 * response status code is successful or a redirection, as defined in section 4.4 of RFC 7234.
+	 * @param method The request method
+	 * @param request The request definition
+	 * @param statusCode The response status code
+	 */
+	public void invalidate(HttpMethod method, RequestConfiguration<?> request, int statusCode) {
+		if (!isSafe(method) && statusCode >= 200 && statusCode < 400) {
+			remove(getKey(request));
+		}
+	}
+
+	/**
+	 * Get the stored entry with given key, moving it into memory if it is found in the disk store.
+	 * @param key The cache key
+	 * @return Optional stored entry
+	 */
+	Optional<HttpCacheEntry> get(String key) {
+		final long removalsBefore;
+		final HttpCacheEntry pending;
+		List<HttpCacheEntry> evicted = null;
+		synchronized (this) {
+			final HttpCacheEntry entry = entries.get(key);
+			if (entry != null) {
+				return Optional.of(entry);
+			}
+			// not yet written to the disk store
+			pending = pendingWrites.remove(key);
+			if (pending != null) {
+				evicted = putInMemory(pending);
+			}
+			removalsBefore = removals;
+		}
+		if (pending != null) {
+			writeToDisk(evicted);
+			return Optional.of(pending);
+		}
+		if (diskStore == null) {
+			return Optional.empty();
+		}
+		final Optional<HttpCacheEntry> stored;
+		synchronized (diskStore) {
+			stored = diskStore.take(key);
+		}
+		if (!stored.isPresent()) {
+			return stored;
+		}
+		final HttpCacheEntry result;
+		synchronized (this) {
+			final HttpCacheEntry current = entries.get(key);
+			if (current != null) {
+				// concurrently stored
+				result = current;
+			} else if (removals != removalsBefore) {
+				// concurrently removed
+				result = null;
+			} else {
+				evicted = putInMemory(stored.get());
+				result = stored.get();
+			}
+		}
+		writeToDisk(evicted);
+		return Optional.ofNullable(result);
+	}
+
+	/**
+	 * Store given entry, replacing any previous entry with the same key. An entry larger than the cache maximum size is
+	 * not stored and any previous entry with the same key is removed.
+	 * @param entry The entry to store
+	 */
+	void put(HttpCacheEntry entry) {
+		if (entry.getWeight() > maxSize) {
+			remove(entry.getKey());
+			return;
+		}
+		final List<HttpCacheEntry> evicted;
+		synchronized (this) {
+			pendingWrites.remove(entry.getKey());
+			evicted = putInMemory(entry);
+		}
+		stores.increment();
+		LOGGER.debug(() -> "HttpCache: stored [" + entry + "]");
+		if (diskStore != null) {
+			synchronized (diskStore) {
+				diskStore.remove(entry.getKey());
+			}
+			writeToDisk(evicted);
+		}
+	}
+
+	/**
+	 * Remove the entry with given key.
+	 * @param key The cache key
+	 */
+	void remove(String key) {
+		synchronized (this) {
+			final HttpCacheEntry removed = entries.remove(key);
+			if (removed != null) {
+				size -= removed.getWeight();
+			}
+			pendingWrites.remove(key);
+			removals++;
+		}
+		if (diskStore != null) {
+			synchronized (diskStore) {
+				diskStore.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Checks whether a response can be stored, as defined in section 3 of RFC 7234.
+	 * @param request The request definition
+	 * @param entry The response as a cache entry
+	 * @return <code>true</code> if the response can be stored
+	 */
+	boolean isStorable(RequestConfiguration<?> request, HttpCacheEntry entry) {
+		if (!CACHEABLE_STATUS_CODES.contains(entry.getStatusCode())) {
+			return false;
+		}
+		final CacheControl cacheControl = entry.getCacheControl();
+		if (cacheControl.isNoStore() || getRequestCacheControl(request).isNoStore()) {
+			return false;
+		}
+		if (shared) {
+			if (cacheControl.isPrivate()) {
+				return false;
+			}
+			if (getHeader(request.getHeaders(), HttpHeaders.AUTHORIZATION).isPresent()
+					&& !cacheControl.isMustRevalidate() && cacheControl.getSMaxAge() < 0) {
+				return false;
+			}
+		}
+		if (entry.getHeaderValue(HttpHeaders.VARY).map(v -> v.trim().equals("*")).orElse(false)) {
+			return false;
+		}
+		return entry.hasExplicitExpiration(shared) || entry.hasValidators()
+				|| (heuristicFreshness && entry.getLastModified().isPresent());
+	}
+
+	void hit() {
+		hits.increment();
+	}
+
+	void miss() {
+		misses.increment();
+	}
+
+	void revalidation() {
+		revalidations.increment();
+	}
+
+	void notModified() {
+		notModified.increment();
+	}
+
+	/**
+	 * Put given entry in the memory store, evicting the least recently used entries if the limits are exceeded. Must
+	 * be invoked holding the memory store lock.
+	 * @param entry The entry to put
+	 * @return The evicted entries to write to the disk store, <code>null</code> if none
+	 */
+	private List<HttpCacheEntry> putInMemory(HttpCacheEntry entry) {
+		final HttpCacheEntry previous = entries.put(entry.getKey(), entry);
+		if (previous != null) {
+			size -= previous.getWeight();
+		}
+		size += entry.getWeight();
+		// check limits
+		List<HttpCacheEntry> evicted = null;
+		final Iterator<HttpCacheEntry> iterator = entries.values().iterator();
+		while ((entries.size() > maxEntries || size > maxSize) && iterator.hasNext()) {
+			final HttpCacheEntry eldest = iterator.next();
+			iterator.remove();
+			size -= eldest.getWeight();
+			evictions.increment();
+			if (diskStore != null) {
+				if (evicted == null) {
+					evicted = new ArrayList<>(2);
+				}
+				evicted.add(eldest);
+				pendingWrites.put(eldest.getKey(), eldest);
+			}
+		}
+		return evicted;
+	}
+
+	/**
+	 * Write given evicted entries to the disk store. Must be invoked without holding the memory store lock. An entry
+	 * which was replaced, removed or moved back into memory while being written is removed from the disk store.
+	 * @param evicted The evicted entries (may be null)
+	 */
+	private void writeToDisk(List<HttpCacheEntry> evicted) {
+		if (evicted == null || diskStore == null) {
+			return;
+		}
+		for (HttpCacheEntry entry : evicted) {
+			synchronized (diskStore) {
+				final boolean stillPending;
+				synchronized (this) {
+					stillPending = pendingWrites.get(entry.getKey()) == entry;
+				}
+				if (stillPending) {
+					diskStore.put(entry);
+					final boolean superseded;
+					synchronized (this) {
+						superseded = !pendingWrites.remove(entry.getKey(), entry);
+					}
+					if (superseded) {
+						diskStore.remove(entry.getKey());
+					}
+				}
+			}
+		}
+	}
+
+	// ------- Utils
+
+	/**
+	 * Get the cache key of given request, which includes the request URI, the URI template parameters and the query
+	 * parameters.
+	 * @param request The request definition
+	 * @return The cache key
+	 */
+	public static String getKey(RequestConfiguration<?> request) {
+		final StringBuilder sb = new StringBuilder(request.getRequestURI());
+		new TreeMap<>(request.getTemplateParameters())
+				.forEach((n, v) -> sb.append(" {").append(n).append("}=").append(v));
+		new TreeMap<>(request.getQueryParameters())
+				.forEach((n, v) -> sb.append(" ?").append(n).append('=').append(Arrays.toString(v)));
+		return sb.toString();
+	}
+
+	/**
+	 * Get the value of a header from given headers map, ignoring the header name case.
+	 * @param headers The headers map
+	 * @param name The header name
+	 * @return Optional header value
+	 */
+	static Optional<String> getHeader(Map<String, String> headers, String name) {
+		if (headers != null) {
+			for (Entry<String, String> header : headers.entrySet()) {
+				if (name.equalsIgnoreCase(header.getKey())) {
+					return Optional.ofNullable(header.getValue());
+				}
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Get the request cache directives, using the <code>Pragma: no-cache</code> header when the request has no
+	 * <code>Cache-Control</code> header.
+	 * @param request The request definition
+	 * @return The request {@link CacheControl}
+	 */
+	static CacheControl getRequestCacheControl(RequestConfiguration<?> request) {
+		final Optional<String> header = getHeader(request.getHeaders(), HttpHeaders.CACHE_CONTROL);
+		if (header.isPresent()) {
+			return CacheControl.parse(header.get());
+		}
+		if (getHeader(request.getHeaders(), HttpHeaders.PRAGMA).map(p -> p.contains("no-cache")).orElse(false)) {
+			return CacheControl.builder().noCache(true).build();
+		}
+		return CacheControl.parse(null);
+	}
+
+	private static boolean isSafe(HttpMethod method) {
+		return HttpMethod.GET == method || HttpMethod.HEAD == method || HttpMethod.OPTIONS == method
+				|| HttpMethod.TRACE == method;
+	}
+
+	// ------- Metrics
+
+	private static final class DefaultMetrics implements Metrics {
+
+		private final long hits;
+		private final long misses;
+		private final long revalidations;
+		private final long notModified;
+		private final long stores;
+		private final long evictions;
+
+		DefaultMetrics(long hits, long misses, long revalidations, long notModified, long stores, long evictions) {
+			super();
+			this.hits = hits;
+			this.misses = misses;
+			this.revalidations = revalidations;
+			this.notModified = notModified;
+			this.stores = stores;
+			this.evictions = evictions;
+		}
+
+		@Override
+		public long getHitCount() {
+			return hits;
+		}
+
+		@Override
+		public long getMissCount() {
+			return misses;
+		}
+
+		@Override
+		public long getRevalidationCount() {
+			return revalidations;
+		}
+
+		@Override
+		public long getNotModifiedCount() {
+			return notModified;
+		}
+
+		@Override
+		public long getStoreCount() {
+			return stores;
+		}
+
+		@Override
+		public long getEvictionCount() {
+			return evictions;
+		}
+
+		@Override
+		public String toString() {
+			return "HttpCacheMetrics [hits=" + hits + ", misses=" + misses + ", revalidations=" + revalidations
+					+ ", notModified=" + notModified + ", stores=" + stores + ", evictions=" + evictions + "]";
+		}
+
+	}
+
+	// ------- Builder
+
+	/**
+	 * Default {@link HttpCache} builder.
+	 */
+	public static class DefaultBuilder implements HttpCache.Builder {
+
+		private int maxEntries = DEFAULT_MAX_ENTRIES;
+		private long maxSize = DEFAULT_MAX_SIZE;
+		private boolean shared = true;
+		private boolean heuristicFreshness = false;
+		private Path diskStoreDirectory;
+		private long diskStoreMaxSize;
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.HttpCache.Builder#maxEntries(int)
+		 */
+		@Override
+		public HttpCache.Builder maxEntries(int maxEntries) {
+			if (maxEntries < 1) {
+				throw new IllegalArgumentException("The maximum number of entries must be greater than 0");
+			}
+			this.maxEntries = maxEntries;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.HttpCache.Builder#maxSize(long)
+		 */
+		@Override
+		public HttpCache.Builder maxSize(long maxSize) {
+			if (maxSize < 1) {
+				throw new IllegalArgumentException("The maximum size must be greater than 0");
+			}
+			this.maxSize = maxSize;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.HttpCache.Builder#diskStore(java.nio.file.Path, long)
+		 */
+		@Override
+		public HttpCache.Builder diskStore(Path directory, long maxSize) {
+			ObjectUtils.argumentNotNull(directory, "Disk store directory must be not null");
+			if (maxSize < 1) {
+				throw new IllegalArgumentException("The disk store maximum size must be greater than 0");
+			}
+			this.diskStoreDirectory = directory;
+			this.diskStoreMaxSize = maxSize;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.HttpCache.Builder#shared(boolean)
+		 */
+		@Override
+		public HttpCache.Builder shared(boolean shared) {
+			this.shared = shared;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.HttpCache.Builder#heuristicFreshness(boolean)
+		 */
+		@Override
+		public HttpCache.Builder heuristicFreshness(boolean heuristicFreshness) {
+			this.heuristicFreshness = heuristicFreshness;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.HttpCache.Builder#build()
+		 */
+		@Override
+		public HttpCache build() {
+			return new DefaultHttpCache(maxEntries, maxSize, shared, heuristicFreshness,
+					(diskStoreDirectory != null) ? new HttpCacheDiskStore(diskStoreDirectory, diskStoreMaxSize)
+							: null);
+		}
+
+	}
+
+}
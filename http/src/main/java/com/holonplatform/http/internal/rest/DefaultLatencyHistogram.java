@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import com.holonplatform.core.internal.instrumentation.DefaultHistogram;
+import com.holonplatform.http.rest.LatencyHistogram;
+
+/**
+ * Default {@link LatencyHistogram} implementation, which uses a {@link DefaultHistogram} to record the values.
+ *
+ * @since 5.6.0
+ */
+public class DefaultLatencyHistogram extends DefaultHistogram implements LatencyHistogram {
+
+	private final int decaySamples;
+
+	/**
+	 * Constructor.
+	 * @param decaySamples The number of samples after which the recorded counts are halved, <code>0</code> to never
+	 *        decay the recorded values
+	 */
+	public DefaultLatencyHistogram(int decaySamples) {
+		super();
+		if (decaySamples < 0) {
+			throw new IllegalArgumentException("The decay samples must be greater than or equal to 0");
+		}
+		this.decaySamples = decaySamples;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.instrumentation.DefaultHistogram#record(long)
+	 */
+	@Override
+	public void record(long value) {
+		super.record(value);
+		if (decaySamples > 0 && getCount() >= decaySamples) {
+			synchronized (this) {
+				// check again to decay only once
+				if (getCount() >= decaySamples) {
+					decay();
+				}
+			}
+		}
+	}
+
+}
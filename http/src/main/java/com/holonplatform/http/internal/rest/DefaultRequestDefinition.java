@@ -17,6 +17,7 @@ package com.holonplatform.http.internal.rest;
 
 import java.io.InputStream;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.http.HttpMethod;
@@ -49,6 +50,15 @@ public class DefaultRequestDefinition extends AbstractRequestDefinition<RequestD
 		this.invoker = invoker;
 	}
 
+	/**
+	 * Create a copy of this definition, bound to the same {@link Invoker}.
+	 * @return A new {@link DefaultRequestDefinition} with the same configuration
+	 * @since 5.6.0
+	 */
+	public DefaultRequestDefinition copy() {
+		return copyTo(new DefaultRequestDefinition(invoker));
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.http.internal.rest.AbstractRequestDefinition#getActualDefinition()
@@ -107,4 +117,19 @@ public class DefaultRequestDefinition extends AbstractRequestDefinition<RequestD
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RestClient.RequestDefinition#getAsStream(java.lang.Class)
+	 */
+	@Override
+	public <T> Stream<T> getAsStream(Class<T> responseType) {
+		ObjectUtils.argumentNotNull(responseType, "Response type must be not null");
+		final ResponseEntity<InputStream> response = invoker.invoke(this, HttpMethod.GET, null,
+				ResponseType.of(InputStream.class), true);
+		if (response == null) {
+			throw new HttpClientInvocationException("The invoker [" + invoker + "] returned a null response");
+		}
+		return JsonArrayReader.stream(this, response, ResponseType.of(responseType), invoker.getResponseFactory());
+	}
+
 }
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Supplier;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.rest.RequestTemplate;
+import com.holonplatform.http.rest.RestClient.RequestDefinition;
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
+
+/**
+ * Default {@link RequestTemplate} implementation.
+ * <p>
+ * The full URI template (target and path) is split into pre-encoded literal parts and placeholders when the template
+ * is created, so that binding the parameter values only requires to append the literals and the encoded values to a
+ * single buffer.
+ * </p>
+ *
+ * @param <R> Request definition type
+ *
+ * @since 5.6.0
+ */
+public class DefaultRequestTemplate<R extends RequestConfiguration<R>> implements RequestTemplate<R> {
+
+	private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+	/**
+	 * Characters allowed in a template parameter value bound in the URI path
+	 */
+	private static final boolean[] PATH_SEGMENT = allowed("!$&'()*+,;=:@");
+
+	/**
+	 * Characters allowed in a template parameter value or a query parameter value bound in the URI query
+	 */
+	private static final boolean[] QUERY_VALUE = allowed("!$'()*,;:@/?");
+
+	/**
+	 * Characters allowed in the template literals, which are assumed to be already encoded
+	 */
+	private static final boolean[] LITERAL = allowed("!$&'()*+,;=:@/?#[]%");
+
+	private final Supplier<R> definitionFactory;
+	private final URI target;
+	private final String path;
+	private final Map<String, Object[]> queryParameters;
+	private final Map<String, String> headers;
+
+	/**
+	 * Compiled template: the literal parts, one more than the placeholders
+	 */
+	private final String[] literals;
+
+	/**
+	 * Compiled template: the parameter index of each placeholder
+	 */
+	private final int[] placeholders;
+
+	/**
+	 * Compiled template: whether each placeholder is part of the URI query
+	 */
+	private final boolean[] queryPlaceholders;
+
+	private final List<String> parameterNames;
+	private final int literalsLength;
+
+	/**
+	 * Constructor.
+	 * @param definitionFactory The factory to use to build the request definitions (not null)
+	 * @param target The request target (not null)
+	 * @param path The template path (not null)
+	 * @param headers The template headers (not null)
+	 */
+	public DefaultRequestTemplate(Supplier<R> definitionFactory, URI target, String path,
+			Map<String, String> headers) {
+		this(definitionFactory, target, path, Collections.emptyMap(), headers);
+	}
+
+	private DefaultRequestTemplate(Supplier<R> definitionFactory, URI target, String path,
+			Map<String, Object[]> queryParameters, Map<String, String> headers) {
+		this(definitionFactory, target, path, getFullTemplate(target, path), queryParameters, headers);
+	}
+
+	private DefaultRequestTemplate(Supplier<R> definitionFactory, URI target, String path, String template,
+			Map<String, Object[]> queryParameters, Map<String, String> headers) {
+		super();
+		ObjectUtils.argumentNotNull(definitionFactory, "Request definition factory must be not null");
+		ObjectUtils.argumentNotNull(headers, "Headers must be not null");
+		this.definitionFactory = definitionFactory;
+		this.target = target;
+		this.path = path;
+		this.queryParameters = Collections.unmodifiableMap(new LinkedHashMap<>(queryParameters));
+		this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers));
+
+		// compile
+		final List<String> literalParts = new ArrayList<>();
+		final List<Integer> indexes = new ArrayList<>();
+		final List<Boolean> queries = new ArrayList<>();
+		final Map<String, Integer> names = new LinkedHashMap<>();
+		final StringBuilder literal = new StringBuilder();
+		boolean query = false;
+		int i = 0;
+		while (i < template.length()) {
+			final char c = template.charAt(i);
+			if (c == '{') {
+				final int end = template.indexOf('}', i);
+				if (end < 0) {
+					throw new IllegalArgumentException("Unclosed template parameter in [" + template + "]");
+				}
+				String name = template.substring(i + 1, end);
+				final int regex = name.indexOf(':');
+				name = ((regex > -1) ? name.substring(0, regex) : name).trim();
+				if (name.isEmpty()) {
+					throw new IllegalArgumentException("Empty template parameter name in [" + template + "]");
+				}
+				literalParts.add(literal.toString());
+				literal.setLength(0);
+				indexes.add(names.computeIfAbsent(name, n -> names.size()));
+				queries.add(query);
+				i = end + 1;
+			} else {
+				if (c == '?') {
+					query = true;
+				}
+				encode(String.valueOf(c), LITERAL, literal);
+				i++;
+			}
+		}
+		appendQueryParameters(literal, query);
+		literalParts.add(literal.toString());
+
+		this.literals = literalParts.toArray(new String[literalParts.size()]);
+		this.placeholders = indexes.stream().mapToInt(Integer::intValue).toArray();
+		this.queryPlaceholders = new boolean[queries.size()];
+		for (int q = 0; q < queries.size(); q++) {
+			this.queryPlaceholders[q] = queries.get(q);
+		}
+		this.parameterNames = Collections.unmodifiableList(new ArrayList<>(names.keySet()));
+		this.literalsLength = Arrays.stream(literals).mapToInt(String::length).sum();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RequestTemplate#getPath()
+	 */
+	@Override
+	public String getPath() {
+		return path;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RequestTemplate#getParameterNames()
+	 */
+	@Override
+	public List<String> getParameterNames() {
+		return parameterNames;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RequestTemplate#withHeader(java.lang.String, java.lang.String[])
+	 */
+	@Override
+	public RequestTemplate<R> withHeader(String name, String... values) {
+		ObjectUtils.argumentNotNull(name, "Header name must be not null");
+		final Map<String, String> newHeaders = new LinkedHashMap<>(headers);
+		newHeaders.put(name, (values != null) ? String.join(", ", values) : "");
+		return new DefaultRequestTemplate<>(definitionFactory, target, path, queryParameters, newHeaders);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RequestTemplate#withQueryParameter(java.lang.String, java.lang.Object[])
+	 */
+	@Override
+	public RequestTemplate<R> withQueryParameter(String name, Object... values) {
+		ObjectUtils.argumentNotNull(name, "Query parameter name must be not null");
+		final Map<String, Object[]> newQueryParameters = new LinkedHashMap<>(queryParameters);
+		newQueryParameters.put(name, (values != null) ? values.clone() : new Object[0]);
+		return new DefaultRequestTemplate<>(definitionFactory, target, path, newQueryParameters, headers);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RequestTemplate#expand(java.lang.Object[])
+	 */
+	@Override
+	public String expand(Object... values) {
+		final Object[] bound = (values != null) ? values : new Object[0];
+		for (int i = 0; i < parameterNames.size(); i++) {
+			if (i >= bound.length || bound[i] == null) {
+				throw new IllegalArgumentException(
+						"Missing value for template parameter [" + parameterNames.get(i) + "]");
+			}
+		}
+		final StringBuilder sb = new StringBuilder(literalsLength + 16 * placeholders.length);
+		for (int i = 0; i < placeholders.length; i++) {
+			sb.append(literals[i]);
+			encode(bound[placeholders[i]].toString(), queryPlaceholders[i] ? QUERY_VALUE : PATH_SEGMENT, sb);
+		}
+		sb.append(literals[placeholders.length]);
+		return sb.toString();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RequestTemplate#expand(java.util.Map)
+	 */
+	@Override
+	public String expand(Map<String, ?> values) {
+		return expand(getValues(values));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RequestTemplate#request(java.lang.Object[])
+	 */
+	@Override
+	public R request(Object... values) {
+		final String uri = expand(values);
+		final Map<String, Object> templateParameters = new HashMap<>(parameterNames.size() * 2);
+		for (int i = 0; i < parameterNames.size(); i++) {
+			templateParameters.put(parameterNames.get(i), values[i]);
+		}
+		final R definition = definitionFactory.get();
+		if (definition instanceof AbstractRequestDefinition) {
+			((AbstractRequestDefinition<?>) definition).applyTemplate(target, path, templateParameters,
+					queryParameters, headers, uri);
+		} else {
+			definition.target(target).path(path).resolve(templateParameters);
+			queryParameters.forEach(definition::queryParameter);
+			headers.forEach(definition::header);
+		}
+		return definition;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RequestTemplate#request(java.util.Map)
+	 */
+	@Override
+	public R request(Map<String, ?> values) {
+		return request(getValues(values));
+	}
+
+	/**
+	 * Expand given request URI template and append the query parameters, encoding the template parameter and query
+	 * parameter values as a request template does.
+	 * <p>
+	 * Used to build the request URI of a request definition which is not (or no longer) bound to a request template, so
+	 * that the same template and values always produce the same URI.
+	 * </p>
+	 * @param uri The full request URI template (not null)
+	 * @param queryParameters The query parameters (not null)
+	 * @param values The template parameter values by name
+	 * @return The expanded and encoded request URI
+	 * @throws IllegalArgumentException If a template parameter value is missing
+	 */
+	public static String expandURI(String uri, Map<String, Object[]> queryParameters, Map<String, ?> values) {
+		ObjectUtils.argumentNotNull(uri, "Request URI must be not null");
+		ObjectUtils.argumentNotNull(queryParameters, "Query parameters must be not null");
+		return new DefaultRequestTemplate<RequestDefinition>(() -> null, null, null, uri, queryParameters,
+				Collections.emptyMap()).expand(values);
+	}
+
+	/**
+	 * Get the values of the template parameters in the parameters order.
+	 * @param values The values by name
+	 * @return The parameter values
+	 */
+	private Object[] getValues(Map<String, ?> values) {
+		final Object[] bound = new Object[parameterNames.size()];
+		if (values != null) {
+			for (int i = 0; i < bound.length; i++) {
+				bound[i] = values.get(parameterNames.get(i));
+			}
+		}
+		return bound;
+	}
+
+	/**
+	 * Append the encoded template query parameters to given buffer.
+	 * @param sb The buffer
+	 * @param query Whether the buffer already contains a query
+	 */
+	private void appendQueryParameters(StringBuilder sb, boolean query) {
+		boolean first = !query;
+		for (Entry<String, Object[]> parameter : queryParameters.entrySet()) {
+			final Object[] values = (parameter.getValue().length > 0) ? parameter.getValue() : new Object[] { null };
+			for (Object value : values) {
+				sb.append(first ? '?' : '&');
+				first = false;
+				encode(parameter.getKey(), QUERY_VALUE, sb);
+				if (value != null) {
+					sb.append('=');
+					encode(value.toString(), QUERY_VALUE, sb);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the full URI template, joining the target and the path as a request definition does.
+	 * @param target The request target
+	 * @param path The path
+	 * @return The full URI template
+	 */
+	private static String getFullTemplate(URI target, String path) {
+		ObjectUtils.argumentNotNull(target, "Request target must be not null");
+		ObjectUtils.argumentNotNull(path, "Template path must be not null");
+		final String base = target.toString();
+		final String p = path.startsWith("/") ? path : "/" + path;
+		return base.endsWith("/") ? base + p.substring(1) : base + p;
+	}
+
+	/**
+	 * Append given value to the buffer, percent-encoding the UTF-8 bytes of the characters which are not allowed.
+	 * @param value The value
+	 * @param allowed The allowed ASCII characters
+	 * @param sb The buffer
+	 */
+	private static void encode(String value, boolean[] allowed, StringBuilder sb) {
+		final int length = value.length();
+		for (int i = 0; i < length; i++) {
+			final char c = value.charAt(i);
+			if (c < 128 && allowed[c]) {
+				sb.append(c);
+			} else {
+				final int end = (Character.isHighSurrogate(c) && i + 1 < length) ? i + 2 : i + 1;
+				for (byte b : value.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+					sb.append('%').append(HEX[(b >> 4) & 0x0F]).append(HEX[b & 0x0F]);
+				}
+				i = end - 1;
+			}
+		}
+	}
+
+	/**
+	 * Build the allowed ASCII characters table, including the RFC 3986 unreserved characters and given characters.
+	 * @param characters The additional allowed characters
+	 * @return The allowed characters table
+	 */
+	private static boolean[] allowed(String characters) {
+		final boolean[] allowed = new boolean[128];
+		for (char c = 'a'; c <= 'z'; c++) {
+			allowed[c] = true;
+		}
+		for (char c = 'A'; c <= 'Z'; c++) {
+			allowed[c] = true;
+		}
+		for (char c = '0'; c <= '9'; c++) {
+			allowed[c] = true;
+		}
+		for (char c : "-._~".toCharArray()) {
+			allowed[c] = true;
+		}
+		for (char c : characters.toCharArray()) {
+			allowed[c] = true;
+		}
+		return allowed;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultRequestTemplate [target=" + target + ", path=" + path + ", parameterNames=" + parameterNames
+				+ ", queryParameters=" + queryParameters.keySet() + ", headers=" + headers + "]";
+	}
+
+}
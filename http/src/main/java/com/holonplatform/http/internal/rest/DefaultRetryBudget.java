@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.util.concurrent.TimeUnit;
+
+import com.holonplatform.http.rest.RetryBudget;
+
+/**
+ * Default {@link RetryBudget} implementation.
+ * <p>
+ * The deposited tokens are capped to the ones deposited by the last 1000 original requests, while the reserve of the
+ * minimum additional requests per second is refilled over time.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class DefaultRetryBudget implements RetryBudget {
+
+	private static final int DEPOSIT_WINDOW = 1000;
+
+	private final double ratio;
+	private final int minPerSecond;
+	private final double maxBalance;
+
+	private double balance = 0d;
+	private double reserve;
+	private long lastRefill;
+	private long rejected = 0L;
+
+	/**
+	 * Constructor.
+	 * @param ratio The ratio of additional requests to original requests (must be greater than or equal to 0)
+	 * @param minPerSecond The minimum number of additional requests per second (must be greater than or equal to 0)
+	 */
+	public DefaultRetryBudget(double ratio, int minPerSecond) {
+		super();
+		if (ratio < 0d) {
+			throw new IllegalArgumentException("The retry ratio must be greater than or equal to 0");
+		}
+		if (minPerSecond < 0) {
+			throw new IllegalArgumentException("The minimum retries per second must be greater than or equal to 0");
+		}
+		this.ratio = ratio;
+		this.minPerSecond = minPerSecond;
+		this.maxBalance = Math.max(1d, ratio * DEPOSIT_WINDOW);
+		this.reserve = minPerSecond;
+		this.lastRefill = System.nanoTime();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RetryBudget#deposit()
+	 */
+	@Override
+	public synchronized void deposit() {
+		balance = Math.min(maxBalance, balance + ratio);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RetryBudget#tryWithdraw()
+	 */
+	@Override
+	public synchronized boolean tryWithdraw() {
+		refill();
+		if (reserve >= 1d) {
+			reserve -= 1d;
+			return true;
+		}
+		if (balance >= 1d) {
+			balance -= 1d;
+			return true;
+		}
+		rejected++;
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RetryBudget#getBalance()
+	 */
+	@Override
+	public synchronized double getBalance() {
+		refill();
+		return Math.floor(reserve) + balance;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RetryBudget#getRejectedCount()
+	 */
+	@Override
+	public synchronized long getRejectedCount() {
+		return rejected;
+	}
+
+	private void refill() {
+		final long now = System.nanoTime();
+		final double elapsed = (now - lastRefill) / (double) TimeUnit.SECONDS.toNanos(1);
+		reserve = Math.min(minPerSecond, reserve + elapsed * minPerSecond);
+		lastRefill = now;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultRetryBudget [ratio=" + ratio + ", minPerSecond=" + minPerSecond + "]";
+	}
+
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.HttpStatus;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.http.exceptions.HttpStatusCodeException;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.RetryBudget;
+import com.holonplatform.http.rest.RetryPolicy;
+
+/**
+ * Default {@link RetryPolicy} implementation.
+ *
+ * @since 5.6.0
+ */
+public class DefaultRetryPolicy implements RetryPolicy {
+
+	/**
+	 * The idempotent methods, retryable by default
+	 */
+	public static final Set<HttpMethod> IDEMPOTENT_METHODS = Collections.unmodifiableSet(EnumSet.of(HttpMethod.GET,
+			HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE, HttpMethod.TRACE));
+
+	private static final int[] DEFAULT_STATUS_CODES = new int[] { HttpStatus.TOO_MANY_REQUESTS.getCode(),
+			HttpStatus.BAD_GATEWAY.getCode(), HttpStatus.SERVICE_UNAVAILABLE.getCode(),
+			HttpStatus.GATEWAY_TIMEOUT.getCode() };
+
+	private final int maxAttempts;
+	private final long initialDelay;
+	private final long maxDelay;
+	private final double multiplier;
+	private final boolean jitter;
+	private final Set<HttpMethod> methods;
+	private final Set<Integer> statusCodes;
+	private final Predicate<Throwable> condition;
+	private final RetryBudget budget;
+
+	DefaultRetryPolicy(DefaultBuilder builder) {
+		super();
+		this.maxAttempts = builder.maxAttempts;
+		this.initialDelay = builder.initialDelay;
+		this.maxDelay = builder.maxDelay;
+		this.multiplier = builder.multiplier;
+		this.jitter = builder.jitter;
+		this.methods = builder.methods.isEmpty() ? EnumSet.noneOf(HttpMethod.class) : EnumSet.copyOf(builder.methods);
+		this.statusCodes = new HashSet<>(builder.statusCodes);
+		this.condition = builder.condition;
+		this.budget = builder.budget;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RetryPolicy#getMaxAttempts()
+	 */
+	@Override
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RetryPolicy#isRetryableMethod(com.holonplatform.http.HttpMethod)
+	 */
+	@Override
+	public boolean isRetryableMethod(HttpMethod method) {
+		return method != null && methods.contains(method);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RetryPolicy#isRetryableStatus(int)
+	 */
+	@Override
+	public boolean isRetryableStatus(int statusCode) {
+		return statusCodes.contains(statusCode);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RetryPolicy#isRetryableException(java.lang.Throwable)
+	 */
+	@Override
+	public boolean isRetryableException(Throwable error) {
+		if (error instanceof HttpStatusCodeException) {
+			return isRetryableStatus(((HttpStatusCodeException) error).getStatusCode());
+		}
+		if (error instanceof HttpClientInvocationException) {
+			return true;
+		}
+		return error != null && condition != null && condition.test(error);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RetryPolicy#getDelay(int, com.holonplatform.http.rest.ResponseEntity)
+	 */
+	@Override
+	public long getDelay(int attempt, ResponseEntity<?> response) {
+		final double exponential = initialDelay * Math.pow(multiplier, Math.max(0, attempt - 2));
+		final long delay = (long) Math.min(maxDelay, exponential);
+		final long jittered = (jitter && delay > 0) ? ThreadLocalRandom.current().nextLong(delay + 1) : delay;
+		return Math.max(jittered, Math.min(maxDelay, getRetryAfter(response)));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.rest.RetryPolicy#getBudget()
+	 */
+	@Override
+	public Optional<RetryBudget> getBudget() {
+		return Optional.ofNullable(budget);
+	}
+
+	/**
+	 * Checks whether given request can be retried, i.e. if the method is retryable and the request entity, if any, is
+	 * not an {@link InputStream} which cannot be sent again.
+	 * @param policy The retry policy
+	 * @param method The request method
+	 * @param requestEntity The request entity
+	 * @return <code>true</code> if the request can be retried
+	 */
+	public static boolean isRetryable(RetryPolicy policy, HttpMethod method, RequestEntity<?> requestEntity) {
+		return policy.getMaxAttempts() > 1 && policy.isRetryableMethod(method) && (requestEntity == null
+				|| !requestEntity.getPayload().filter(p -> p instanceof InputStream).isPresent());
+	}
+
+	/**
+	 * Get the delay in milliseconds requested by the {@link HttpHeaders#RETRY_AFTER} header of given response, if any.
+	 * Only the delta seconds form is supported.
+	 * @param response The response
+	 * @return The delay in milliseconds, <code>0</code> if not available
+	 */
+	private static long getRetryAfter(ResponseEntity<?> response) {
+		if (response != null) {
+			final Optional<String> value = response.getHeaderValue(HttpHeaders.RETRY_AFTER);
+			if (value.isPresent()) {
+				try {
+					return TimeUnit.SECONDS.toMillis(Math.max(0L, Long.parseLong(value.get().trim())));
+				} catch (@SuppressWarnings("unused") NumberFormatException e) {
+					// HTTP date form not supported
+				}
+			}
+		}
+		return 0L;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultRetryPolicy [maxAttempts=" + maxAttempts + ", initialDelay=" + initialDelay + ", maxDelay="
+				+ maxDelay + ", multiplier=" + multiplier + ", jitter=" + jitter + ", methods=" + methods
+				+ ", statusCodes=" + statusCodes + ", budget=" + budget + "]";
+	}
+
+	/**
+	 * Default {@link RetryPolicy.Builder}.
+	 */
+	public static class DefaultBuilder implements RetryPolicy.Builder {
+
+		private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+		private long initialDelay = DEFAULT_INITIAL_DELAY;
+		private long maxDelay = DEFAULT_MAX_DELAY;
+		private double multiplier = 2d;
+		private boolean jitter = true;
+		private Set<HttpMethod> methods = EnumSet.copyOf(IDEMPOTENT_METHODS);
+		private Set<Integer> statusCodes = Arrays.stream(DEFAULT_STATUS_CODES).boxed().collect(Collectors.toSet());
+		private Predicate<Throwable> condition;
+		private RetryBudget budget;
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.RetryPolicy.Builder#maxAttempts(int)
+		 */
+		@Override
+		public RetryPolicy.Builder maxAttempts(int maxAttempts) {
+			if (maxAttempts < 1) {
+				throw new IllegalArgumentException("The maximum number of attempts must be greater than 0");
+			}
+			this.maxAttempts = maxAttempts;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.RetryPolicy.Builder#backoff(long, long, java.util.concurrent.TimeUnit)
+		 */
+		@Override
+		public RetryPolicy.Builder backoff(long initialDelay, long maxDelay, TimeUnit unit) {
+			ObjectUtils.argumentNotNull(unit, "Time unit must be not null");
+			if (initialDelay < 0) {
+				throw new IllegalArgumentException("The initial delay must be greater than or equal to 0");
+			}
+			if (maxDelay < initialDelay) {
+				throw new IllegalArgumentException("The maximum delay must be greater than or equal to the initial delay");
+			}
+			this.initialDelay = unit.toMillis(initialDelay);
+			this.maxDelay = unit.toMillis(maxDelay);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.RetryPolicy.Builder#multiplier(double)
+		 */
+		@Override
+		public RetryPolicy.Builder multiplier(double multiplier) {
+			if (multiplier < 1d) {
+				throw new IllegalArgumentException("The backoff multiplier must be greater than or equal to 1");
+			}
+			this.multiplier = multiplier;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.RetryPolicy.Builder#jitter(boolean)
+		 */
+		@Override
+		public RetryPolicy.Builder jitter(boolean jitter) {
+			this.jitter = jitter;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.RetryPolicy.Builder#methods(com.holonplatform.http.HttpMethod[])
+		 */
+		@Override
+		public RetryPolicy.Builder methods(HttpMethod... methods) {
+			this.methods = EnumSet.noneOf(HttpMethod.class);
+			if (methods != null) {
+				Arrays.stream(methods).filter(m -> m != null).forEach(this.methods::add);
+			}
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.RetryPolicy.Builder#statusCodes(int[])
+		 */
+		@Override
+		public RetryPolicy.Builder statusCodes(int... statusCodes) {
+			this.statusCodes = new HashSet<>();
+			if (statusCodes != null) {
+				Arrays.stream(statusCodes).forEach(this.statusCodes::add);
+			}
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.RetryPolicy.Builder#retryOn(java.util.function.Predicate)
+		 */
+		@Override
+		public RetryPolicy.Builder retryOn(Predicate<Throwable> condition) {
+			ObjectUtils.argumentNotNull(condition, "Retry condition must be not null");
+			this.condition = condition;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.RetryPolicy.Builder#budget(com.holonplatform.http.rest.RetryBudget)
+		 */
+		@Override
+		public RetryPolicy.Builder budget(RetryBudget budget) {
+			this.budget = budget;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.http.rest.RetryPolicy.Builder#build()
+		 */
+		@Override
+		public RetryPolicy build() {
+			return new DefaultRetryPolicy(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.internal.HttpLogger;
+
+/**
+ * {@link DefaultHttpCache} disk store, which keeps the cache entries evicted from memory as files in a directory, up
+ * to a maximum size. The disk store is not thread safe: the access is synchronized by the {@link DefaultHttpCache}.
+ * <p>
+ * Any I/O error is logged and the related entry is discarded, since the cache contents can always be obtained again
+ * from the server.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class HttpCacheDiskStore {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	private static final String FILE_EXTENSION = ".cache";
+
+	private final Path directory;
+	private final long maxSize;
+
+	/**
+	 * Stored file sizes by cache key, in access order
+	 */
+	private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long size = 0;
+
+	/**
+	 * Constructor. The entries already available in the directory are loaded in the store index.
+	 * @param directory The store directory (not null)
+	 * @param maxSize The maximum store size in bytes
+	 */
+	public HttpCacheDiskStore(Path directory, long maxSize) {
+		super();
+		ObjectUtils.argumentNotNull(directory, "Disk store directory must be not null");
+		this.directory = directory;
+		this.maxSize = maxSize;
+		load();
+	}
+
+	/**
+	 * Get the number of stored entries.
+	 * @return The number of entries
+	 */
+	public int size() {
+		return index.size();
+	}
+
+	/**
+	 * Check whether an entry with given key is stored.
+	 * @param key The cache key
+	 * @return <code>true</code> if the entry is stored
+	 */
+	public boolean contains(String key) {
+		return index.containsKey(key);
+	}
+
+	/**
+	 * Store given entry, removing the least recently used entries when the maximum size is exceeded.
+	 * @param entry The entry to store
+	 */
+	public void put(HttpCacheEntry entry) {
+		remove(entry.getKey());
+		final Path file = getFile(entry.getKey());
+		final Path tmp = directory.resolve(file.getFileName().toString() + ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+				entry.writeTo(out);
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+			final long fileSize = Files.size(file);
+			index.put(entry.getKey(), fileSize);
+			size += fileSize;
+		} catch (IOException e) {
+			LOGGER.warn("Failed to write the HTTP cache entry [" + entry + "] into the disk store", e);
+			delete(tmp);
+			return;
+		}
+		// check size
+		final Iterator<Map.Entry<String, Long>> iterator = index.entrySet().iterator();
+		while (size > maxSize && iterator.hasNext()) {
+			final Map.Entry<String, Long> eldest = iterator.next();
+			iterator.remove();
+			size -= eldest.getValue();
+			delete(getFile(eldest.getKey()));
+		}
+	}
+
+	/**
+	 * Remove the entry with given key and return it.
+	 * @param key The cache key
+	 * @return The removed entry, empty if not stored or not readable
+	 */
+	public Optional<HttpCacheEntry> take(String key) {
+		if (!index.containsKey(key)) {
+			return Optional.empty();
+		}
+		final Path file = getFile(key);
+		HttpCacheEntry entry = null;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			entry = HttpCacheEntry.readFrom(in);
+		} catch (IOException e) {
+			LOGGER.warn("Failed to read the HTTP cache entry [" + key + "] from the disk store", e);
+		}
+		remove(key);
+		return Optional.ofNullable(entry).filter(e -> key.equals(e.getKey()));
+	}
+
+	/**
+	 * Remove the entry with given key, if stored.
+	 * @param key The cache key
+	 */
+	public void remove(String key) {
+		final Long fileSize = index.remove(key);
+		if (fileSize != null) {
+			size -= fileSize;
+			delete(getFile(key));
+		}
+	}
+
+	/**
+	 * Remove all the stored entries.
+	 */
+	public void clear() {
+		for (String key : new ArrayList<>(index.keySet())) {
+			remove(key);
+		}
+	}
+
+	private void load() {
+		try {
+			Files.createDirectories(directory);
+			final List<Path> files = new ArrayList<>();
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+				stream.forEach(files::add);
+			}
+			// least recently modified first
+			files.sort(Comparator.comparingLong(HttpCacheDiskStore::getLastModified));
+			for (Path file : files) {
+				try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+					final String key = in.readUTF();
+					if (file.equals(getFile(key))) {
+						final long fileSize = Files.size(file);
+						index.put(key, fileSize);
+						size += fileSize;
+						continue;
+					}
+				} catch (IOException e) {
+					LOGGER.debug(() -> "Invalid HTTP cache disk store file [" + file + "]", e);
+				}
+				delete(file);
+			}
+		} catch (IOException e) {
+			LOGGER.warn("Failed to load the HTTP cache disk store [" + directory + "]", e);
+		}
+	}
+
+	private Path getFile(String key) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+			final StringBuilder sb = new StringBuilder(digest.length * 2 + FILE_EXTENSION.length());
+			for (byte b : digest) {
+				sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return directory.resolve(sb.append(FILE_EXTENSION).toString());
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is always available
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static long getLastModified(Path file) {
+		try {
+			return Files.getLastModifiedTime(file).toMillis();
+		} catch (@SuppressWarnings("unused") IOException e) {
+			return 0L;
+		}
+	}
+
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			LOGGER.debug(() -> "Failed to delete the HTTP cache disk store file [" + file + "]", e);
+		}
+	}
+
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.CacheControl;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.internal.HttpUtils;
+
+/**
+ * A response stored in the {@link DefaultHttpCache}, with the RFC 7234 age and freshness calculations.
+ *
+ * @since 5.6.0
+ */
+public class HttpCacheEntry {
+
+	private final String key;
+	private final int statusCode;
+	private final Map<String, List<String>> headers;
+	private final byte[] body;
+	private final long requestTime;
+	private final long responseTime;
+	private final Map<String, String> varyHeaders;
+
+	private final CacheControl cacheControl;
+
+	/**
+	 * Constructor.
+	 * @param key The cache key (not null)
+	 * @param statusCode The response status code
+	 * @param headers The response headers (not null)
+	 * @param body The response body (not null)
+	 * @param requestTime The time at which the request was sent, in milliseconds
+	 * @param responseTime The time at which the response was received, in milliseconds
+	 * @param varyHeaders The request headers values selected by the response <code>Vary</code> header (not null)
+	 */
+	public HttpCacheEntry(String key, int statusCode, Map<String, List<String>> headers, byte[] body, long requestTime,
+			long responseTime, Map<String, String> varyHeaders) {
+		super();
+		ObjectUtils.argumentNotNull(key, "Cache key must be not null");
+		ObjectUtils.argumentNotNull(headers, "Headers must be not null");
+		ObjectUtils.argumentNotNull(body, "Body must be not null");
+		ObjectUtils.argumentNotNull(varyHeaders, "Vary headers must be not null");
+		this.key = key;
+		this.statusCode = statusCode;
+		this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		headers.forEach((n, v) -> {
+			if (n != null && v != null) {
+				this.headers.put(n, Collections.unmodifiableList(new ArrayList<>(v)));
+			}
+		});
+		this.body = body;
+		this.requestTime = requestTime;
+		this.responseTime = responseTime;
+		this.varyHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		this.varyHeaders.putAll(varyHeaders);
+		this.cacheControl = CacheControl.parse(getHeaderValue(HttpHeaders.CACHE_CONTROL).orElse(null));
+	}
+
+	/**
+	 * Get the cache key.
+	 * @return the cache key
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Get the response status code.
+	 * @return the status code
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * Get the stored response headers.
+	 * @return the response headers, with case insensitive names
+	 */
+	public Map<String, List<String>> getHeaders() {
+		return Collections.unmodifiableMap(headers);
+	}
+
+	/**
+	 * Get the response headers to serve at given time, including the {@link HttpHeaders#AGE} header.
+	 * @param now Current time in milliseconds
+	 * @return the response headers
+	 */
+	public Map<String, List<String>> getResponseHeaders(long now) {
+		final Map<String, List<String>> responseHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		responseHeaders.putAll(headers);
+		responseHeaders.put(HttpHeaders.AGE, Collections.singletonList(String.valueOf(getCurrentAge(now) / 1000)));
+		return responseHeaders;
+	}
+
+	/**
+	 * Get the response body.
+	 * @return the response body bytes, empty if none
+	 */
+	public byte[] getBody() {
+		return body;
+	}
+
+	/**
+	 * Get the time at which the request was sent.
+	 * @return the request time in milliseconds
+	 */
+	public long getRequestTime() {
+		return requestTime;
+	}
+
+	/**
+	 * Get the time at which the response was received.
+	 * @return the response time in milliseconds
+	 */
+	public long getResponseTime() {
+		return responseTime;
+	}
+
+	/**
+	 * Get the response cache control directives.
+	 * @return the response {@link CacheControl}
+	 */
+	public CacheControl getCacheControl() {
+		return cacheControl;
+	}
+
+	/**
+	 * Get the approximate size of this entry in bytes.
+	 * @return the entry weight
+	 */
+	public long getWeight() {
+		long weight = body.length + key.length();
+		for (Entry<String, List<String>> header : headers.entrySet()) {
+			weight += header.getKey().length();
+			for (String value : header.getValue()) {
+				weight += value.length();
+			}
+		}
+		return weight;
+	}
+
+	/**
+	 * Get the first value of the response header with given name.
+	 * @param name The header name
+	 * @return Optional header value
+	 */
+	public Optional<String> getHeaderValue(String name) {
+		final List<String> values = headers.get(name);
+		return (values != null && !values.isEmpty()) ? Optional.ofNullable(values.get(0)) : Optional.empty();
+	}
+
+	/**
+	 * Get the response <code>ETag</code>.
+	 * @return Optional entity tag
+	 */
+	public Optional<String> getETag() {
+		return getHeaderValue(HttpHeaders.ETAG);
+	}
+
+	/**
+	 * Get the response <code>Last-Modified</code> header value.
+	 * @return Optional last modified date header value
+	 */
+	public Optional<String> getLastModified() {
+		return getHeaderValue(HttpHeaders.LAST_MODIFIED);
+	}
+
+	/**
+	 * Get whether the response provides a validator which can be used to perform a conditional request.
+	 * @return <code>true</code> if an <code>ETag</code> or a <code>Last-Modified</code> header is available
+	 */
+	public boolean hasValidators() {
+		return getETag().isPresent() || getLastModified().isPresent();
+	}
+
+	/**
+	 * Checks whether the request headers selected by the response <code>Vary</code> header match the ones of given
+	 * request headers.
+	 * @param requestHeaders The request headers
+	 * @return <code>true</code> if the stored response can be used for the request
+	 */
+	public boolean matches(Map<String, String> requestHeaders) {
+		for (Entry<String, String> vary : varyHeaders.entrySet()) {
+			final String value = DefaultHttpCache.getHeader(requestHeaders, vary.getKey()).orElse("");
+			if (!vary.getValue().equals(value)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Get the current age of the response, as defined in section 4.2.3 of RFC 7234.
+	 * @param now Current time in milliseconds
+	 * @return The current age in milliseconds
+	 */
+	public long getCurrentAge(long now) {
+		final long date = getDate().orElse(responseTime);
+		final long apparentAge = Math.max(0, responseTime - date);
+		final long ageValue = getHeaderValue(HttpHeaders.AGE).map(HttpCacheEntry::parseSeconds).orElse(0L) * 1000;
+		final long correctedAge = ageValue + (responseTime - requestTime);
+		return Math.max(apparentAge, correctedAge) + (now - responseTime);
+	}
+
+	/**
+	 * Get the response freshness lifetime, as defined in section 4.2.1 of RFC 7234.
+	 * @param shared Whether the cache is a shared cache
+	 * @param heuristic Whether to compute a heuristic freshness lifetime when no explicit expiration time is available
+	 * @return The freshness lifetime in milliseconds
+	 */
+	public long getFreshnessLifetime(boolean shared, boolean heuristic) {
+		if (shared && cacheControl.getSMaxAge() > -1) {
+			return cacheControl.getSMaxAge() * 1000;
+		}
+		if (cacheControl.getMaxAge() > -1) {
+			return cacheControl.getMaxAge() * 1000;
+		}
+		final long date = getDate().orElse(responseTime);
+		final Optional<String> expires = getHeaderValue(HttpHeaders.EXPIRES);
+		if (expires.isPresent()) {
+			// an invalid date represents a time in the past
+			final Date expiresDate = HttpUtils.parseHeaderDate(expires.get());
+			return (expiresDate != null) ? Math.max(0, expiresDate.getTime() - date) : 0;
+		}
+		if (heuristic) {
+			final Date lastModified = getLastModified().map(HttpUtils::parseHeaderDate).orElse(null);
+			if (lastModified != null) {
+				return Math.max(0, date - lastModified.getTime()) / 10;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Checks whether the response has an explicit expiration time.
+	 * @param shared Whether the cache is a shared cache
+	 * @return <code>true</code> if the response provides an explicit expiration time
+	 */
+	public boolean hasExplicitExpiration(boolean shared) {
+		return (shared && cacheControl.getSMaxAge() > -1) || cacheControl.getMaxAge() > -1
+				|| getHeaderValue(HttpHeaders.EXPIRES).isPresent();
+	}
+
+	/**
+	 * Checks whether the response is fresh, i.e. whether it can be served without contacting the server.
+	 * @param now Current time in milliseconds
+	 * @param shared Whether the cache is a shared cache
+	 * @param heuristic Whether to use a heuristic freshness lifetime
+	 * @param requestCacheControl The request cache control directives
+	 * @return <code>true</code> if the response is fresh
+	 */
+	public boolean isFresh(long now, boolean shared, boolean heuristic, CacheControl requestCacheControl) {
+		if (cacheControl.isNoCache() || requestCacheControl.isNoCache()) {
+			return false;
+		}
+		final long age = getCurrentAge(now);
+		if (requestCacheControl.getMaxAge() > -1 && age > requestCacheControl.getMaxAge() * 1000) {
+			return false;
+		}
+		return getFreshnessLifetime(shared, heuristic) > age;
+	}
+
+	/**
+	 * Create a new entry updating this one with the headers of a <code>304 Not Modified</code> response, as defined in
+	 * section 4.3.4 of RFC 7234.
+	 * @param notModifiedHeaders The 304 response headers
+	 * @param requestTime The time at which the conditional request was sent
+	 * @param responseTime The time at which the 304 response was received
+	 * @return The updated entry
+	 */
+	public HttpCacheEntry revalidated(Map<String, List<String>> notModifiedHeaders, long requestTime,
+			long responseTime) {
+		final Map<String, List<String>> updated = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		updated.putAll(headers);
+		if (notModifiedHeaders != null) {
+			notModifiedHeaders.forEach((n, v) -> {
+				if (n != null && v != null && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(n)) {
+					updated.put(n, v);
+				}
+			});
+		}
+		return new HttpCacheEntry(key, statusCode, updated, body, requestTime, responseTime, varyHeaders);
+	}
+
+	private Optional<Long> getDate() {
+		return getHeaderValue(HttpHeaders.DATE).map(HttpUtils::parseHeaderDate).map(Date::getTime);
+	}
+
+	private static long parseSeconds(String value) {
+		try {
+			return Math.max(0, Long.parseLong(value.trim()));
+		} catch (@SuppressWarnings("unused") NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Write this entry into given output stream.
+	 * @param out The output stream
+	 * @throws IOException If an I/O error occurs
+	 */
+	void writeTo(DataOutputStream out) throws IOException {
+		out.writeUTF(key);
+		out.writeInt(statusCode);
+		out.writeLong(requestTime);
+		out.writeLong(responseTime);
+		out.writeInt(headers.size());
+		for (Entry<String, List<String>> header : headers.entrySet()) {
+			out.writeUTF(header.getKey());
+			out.writeInt(header.getValue().size());
+			for (String value : header.getValue()) {
+				out.writeUTF(value);
+			}
+		}
+		out.writeInt(varyHeaders.size());
+		for (Entry<String, String> vary : varyHeaders.entrySet()) {
+			out.writeUTF(vary.getKey());
+			out.writeUTF(vary.getValue());
+		}
+		out.writeInt(body.length);
+		out.write(body);
+	}
+
+	/**
+	 * Read an entry from given input stream.
+	 * @param in The input stream
+	 * @return The entry
+	 * @throws IOException If an I/O error occurs
+	 */
+	static HttpCacheEntry readFrom(DataInputStream in) throws IOException {
+		final String key = in.readUTF();
+		final int statusCode = in.readInt();
+		final long requestTime = in.readLong();
+		final long responseTime = in.readLong();
+		final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		final int headersCount = in.readInt();
+		for (int i = 0; i < headersCount; i++) {
+			final String name = in.readUTF();
+			final int valuesCount = in.readInt();
+			final List<String> values = new ArrayList<>(valuesCount);
+			for (int j = 0; j < valuesCount; j++) {
+				values.add(in.readUTF());
+			}
+			headers.put(name, values);
+		}
+		final Map<String, String> varyHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		final int varyCount = in.readInt();
+		for (int i = 0; i < varyCount; i++) {
+			varyHeaders.put(in.readUTF(), in.readUTF());
+		}
+		final byte[] body = new byte[in.readInt()];
+		in.readFully(body);
+		return new HttpCacheEntry(key, statusCode, headers, body, requestTime, responseTime, varyHeaders);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "HttpCacheEntry [key=" + key + ", statusCode=" + statusCode + ", size=" + body.length
+				+ ", responseTime=" + responseTime + "]";
+	}
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.http.CacheControl;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpStatus;
+import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
+
+/**
+ * A cacheable request invocation handled by a {@link DefaultHttpCache}.
+ * <p>
+ * The invocation is used as follows: {@link #lookup()} returns the stored response if it is fresh, otherwise the
+ * request is performed, sending the {@link #getConditionalHeaders()} along with the request definition headers if a
+ * stale response has to be revalidated, and {@link #complete(ResponseEntity, ResponseType, CachedResponseFactory)}
+ * processes the server response. The request definition is never modified.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class HttpCacheInvocation {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private final DefaultHttpCache cache;
+	private final RequestConfiguration<?> request;
+	private final String key;
+	private final CacheControl requestCacheControl;
+	private final long requestTime;
+
+	/**
+	 * The stored response to revalidate
+	 */
+	private HttpCacheEntry stored;
+
+	/**
+	 * The conditional headers to send to revalidate the stored response
+	 */
+	private final Map<String, String> conditionalHeaders = new HashMap<>(2);
+
+	/**
+	 * Constructor.
+	 * @param cache The cache
+	 * @param request The request definition
+	 * @param key The cache key
+	 * @param requestCacheControl The request cache directives
+	 */
+	HttpCacheInvocation(DefaultHttpCache cache, RequestConfiguration<?> request, String key,
+			CacheControl requestCacheControl) {
+		super();
+		this.cache = cache;
+		this.request = request;
+		this.key = key;
+		this.requestCacheControl = requestCacheControl;
+		this.requestTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * Lookup for a fresh stored response. If a stale response with validators is found, the conditional request headers
+	 * to send are made available through {@link #getConditionalHeaders()}.
+	 * @return The fresh stored response, empty if the request has to be performed
+	 */
+	public Optional<HttpCacheEntry> lookup() {
+		final HttpCacheEntry entry = cache.get(key).filter(e -> e.matches(request.getHeaders())).orElse(null);
+		if (entry != null && entry.isFresh(System.currentTimeMillis(), cache.isShared(), cache.isHeuristicFreshness(),
+				requestCacheControl)) {
+			cache.hit();
+			LOGGER.debug(() -> "HttpCache: hit [" + key + "]");
+			return Optional.of(entry);
+		}
+		if (entry != null && entry.hasValidators()) {
+			stored = entry;
+			entry.getETag().ifPresent(etag -> conditionalHeaders.put(HttpHeaders.IF_NONE_MATCH, etag));
+			entry.getLastModified().ifPresent(lm -> conditionalHeaders.put(HttpHeaders.IF_MODIFIED_SINCE, lm));
+			cache.revalidation();
+			LOGGER.debug(() -> "HttpCache: revalidate [" + key + "]");
+		} else {
+			cache.miss();
+			LOGGER.debug(() -> "HttpCache: miss [" + key + "]");
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Get the conditional request headers to send, besides the request definition headers, to revalidate the stale
+	 * stored response found by {@link #lookup()}.
+	 * @return The conditional request headers, empty if no revalidation is needed
+	 */
+	public Map<String, String> getConditionalHeaders() {
+		return Collections.unmodifiableMap(conditionalHeaders);
+	}
+
+	/**
+	 * Process the server response: a <code>304 Not Modified</code> response is replaced by the updated stored
+	 * response, a storable response is stored and the response built from the stored entry is returned.
+	 * @param <T> Response type
+	 * @param response The server response
+	 * @param responseType The expected response type
+	 * @param responseFactory The factory to use to build the responses from the stored entries
+	 * @return The response to return
+	 */
+	public <T> ResponseEntity<T> complete(ResponseEntity<T> response, ResponseType<T> responseType,
+			CachedResponseFactory responseFactory) {
+		final long responseTime = System.currentTimeMillis();
+		final int statusCode = response.getStatusCode();
+		// check not modified
+		if (HttpStatus.NOT_MODIFIED.getCode() == statusCode && stored != null) {
+			final HttpCacheEntry entry = stored.revalidated(response.getHeaders(), requestTime, responseTime);
+			close(response);
+			cache.put(entry);
+			cache.notModified();
+			return responseFactory.create(request, entry, responseType);
+		}
+		// check storable
+		final HttpCacheEntry candidate = new HttpCacheEntry(key, statusCode, response.getHeaders(), EMPTY, requestTime,
+				responseTime, getVaryHeaders(response));
+		if (cache.isStorable(request, candidate)) {
+			final byte[] body = response.as(byte[].class).orElse(EMPTY);
+			close(response);
+			final HttpCacheEntry entry = new HttpCacheEntry(key, statusCode, candidate.getHeaders(), body,
+					requestTime, responseTime, getVaryHeaders(response));
+			cache.put(entry);
+			return responseFactory.create(request, entry, responseType);
+		}
+		cache.remove(key);
+		return response;
+	}
+
+	/**
+	 * Build the response to return from given stored entry.
+	 * @param <T> Response type
+	 * @param entry The stored entry
+	 * @param responseType The expected response type
+	 * @param responseFactory The factory to use to build the response
+	 * @return The response
+	 */
+	public <T> ResponseEntity<T> toResponse(HttpCacheEntry entry, ResponseType<T> responseType,
+			CachedResponseFactory responseFactory) {
+		return responseFactory.create(request, entry, responseType);
+	}
+
+	/**
+	 * Check the status code of given response, if only successful responses are expected.
+	 * @param <T> Response type
+	 * @param response The response
+	 * @param onlySuccessfulStatusCode Whether only successful responses are expected
+	 * @return The response
+	 * @throws UnsuccessfulResponseException If the response status code is not successful and only successful
+	 *         responses are expected
+	 */
+	public static <T> ResponseEntity<T> checkStatus(ResponseEntity<T> response, boolean onlySuccessfulStatusCode) {
+		if (onlySuccessfulStatusCode && !HttpStatus.isSuccessStatusCode(response.getStatusCode())) {
+			throw new UnsuccessfulResponseException(response);
+		}
+		return response;
+	}
+
+	private Map<String, String> getVaryHeaders(ResponseEntity<?> response) {
+		final Optional<String> vary = response.getHeaderValue(HttpHeaders.VARY);
+		if (!vary.isPresent()) {
+			return Collections.emptyMap();
+		}
+		final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		for (String name : vary.get().split(",")) {
+			if (!name.trim().isEmpty()) {
+				headers.put(name.trim(), DefaultHttpCache.getHeader(request.getHeaders(), name.trim()).orElse(""));
+			}
+		}
+		return headers;
+	}
+
+	private static void close(ResponseEntity<?> response) {
+		try {
+			response.close();
+		} catch (Exception e) {
+			LOGGER.debug(() -> "Failed to close the response", e);
+		}
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import com.holonplatform.core.instrumentation.Instrumentation;
+import com.holonplatform.core.instrumentation.Instrumentation.Observation;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.HttpStatus;
+import com.holonplatform.http.internal.HttpUtils;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClient.RequestDefinition;
+
+/**
+ * An {@link Invoker} which notifies an {@link Instrumentation} of each request invocation, delegating the actual
+ * request invocations to a concrete {@link Invoker}.
+ * <p>
+ * The operation name is the request method and the operation target is the request scheme, host and port. A request
+ * invocation fails when an exception is thrown or the response status is a server error. The transferred amount is
+ * the response <code>Content-Length</code>, if declared.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class InstrumentingInvoker implements Invoker {
+
+	private final Invoker invoker;
+	private final Instrumentation instrumentation;
+
+	/**
+	 * Constructor.
+	 * @param invoker The concrete invoker (not null)
+	 * @param instrumentation The instrumentation to notify (not null)
+	 */
+	public InstrumentingInvoker(Invoker invoker, Instrumentation instrumentation) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		ObjectUtils.argumentNotNull(instrumentation, "Instrumentation must be not null");
+		this.invoker = invoker;
+		this.instrumentation = instrumentation;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#getResponseFactory()
+	 */
+	@Override
+	public CachedResponseFactory getResponseFactory() {
+		return invoker.getResponseFactory();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#invoke(com.holonplatform.http.rest.RestClient.RequestDefinition,
+	 * com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		final Observation observation = instrumentation.start(Instrumentation.REST_CLIENT, method.getMethodName(),
+				HttpUtils.getRequestTarget(requestDefinition.getRequestURI()));
+		final ResponseEntity<T> response;
+		try {
+			response = invoker.invoke(requestDefinition, method, requestEntity, responseType,
+					onlySuccessfulStatusCode);
+		} catch (RuntimeException e) {
+			observation.failure(e);
+			throw e;
+		}
+		complete(observation, response);
+		return response;
+	}
+
+	/**
+	 * Notify the completion of a request invocation.
+	 * @param observation The request invocation observation
+	 * @param response The response
+	 */
+	public static void complete(Observation observation, ResponseEntity<?> response) {
+		try {
+			response.getContentLength().ifPresent(observation::transferred);
+		} catch (@SuppressWarnings("unused") NumberFormatException e) {
+			// ignore
+		}
+		if (HttpStatus.isServerErrorStatusCode(response.getStatusCode())) {
+			observation.failure(null);
+		} else {
+			observation.success();
+		}
+	}
+
+}
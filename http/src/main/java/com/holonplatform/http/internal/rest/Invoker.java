@@ -42,4 +42,14 @@ public interface Invoker {
 	<T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
 			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode);
 
+	/**
+	 * Get the factory to use to build a response from a buffered response body, for example to decode the elements of
+	 * a streamed JSON array response.
+	 * @return The response factory
+	 * @since 5.6.0
+	 */
+	default CachedResponseFactory getResponseFactory() {
+		return CachedResponseFactory.getDefault();
+	}
+
 }
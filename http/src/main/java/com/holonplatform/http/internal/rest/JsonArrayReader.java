@@ -0,0 +1,334 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.MediaType;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
+
+/**
+ * Reads the elements of a JSON array from an {@link InputStream} one at a time, without reading the whole array in
+ * memory: each element is returned as the raw UTF-8 JSON bytes, so that it can be decoded using any JSON converter.
+ * <p>
+ * An empty stream and the <code>null</code> JSON literal are read as an empty array.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class JsonArrayReader implements Closeable {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	private static final int NOT_STARTED = 0;
+	private static final int STARTED = 1;
+	private static final int ENDED = 2;
+
+	private final InputStream stream;
+	private final ByteArrayOutputStream element = new ByteArrayOutputStream(256);
+
+	private int state = NOT_STARTED;
+	private long count = 0;
+
+	/**
+	 * Constructor.
+	 * @param stream The JSON array stream (not null)
+	 */
+	public JsonArrayReader(InputStream stream) {
+		super();
+		ObjectUtils.argumentNotNull(stream, "Stream must be not null");
+		this.stream = (stream instanceof BufferedInputStream) ? stream : new BufferedInputStream(stream, 8192);
+	}
+
+	/**
+	 * Get the number of elements read so far.
+	 * @return The read elements count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Read the next array element.
+	 * @return The next element JSON bytes, <code>null</code> if the array end was reached
+	 * @throws IOException If an I/O error occurred or the stream is not a well formed JSON array
+	 */
+	public byte[] next() throws IOException {
+		if (state == ENDED) {
+			return null;
+		}
+		if (state == NOT_STARTED) {
+			int c = skipWhitespaces();
+			if (c == -1) {
+				state = ENDED;
+				return null;
+			}
+			if (c == 'n') {
+				if (stream.read() != 'u' || stream.read() != 'l' || stream.read() != 'l') {
+					throw new IOException("Invalid JSON array: expected [null]");
+				}
+				state = ENDED;
+				return null;
+			}
+			if (c != '[') {
+				throw new IOException("Invalid JSON array: expected [[] but found [" + (char) c + "]");
+			}
+			state = STARTED;
+		}
+		return readElement();
+	}
+
+	/**
+	 * Read the next element, up to the next <code>,</code> or to the array end.
+	 * @return The element bytes
+	 * @throws IOException If an I/O error occurred or the element is not well formed
+	 */
+	private byte[] readElement() throws IOException {
+		element.reset();
+		int depth = 0;
+		boolean string = false;
+		boolean escape = false;
+		while (true) {
+			final int c = stream.read();
+			if (c == -1) {
+				throw new IOException("Invalid JSON array: unexpected end of stream after " + count + " elements");
+			}
+			if (string) {
+				element.write(c);
+				if (escape) {
+					escape = false;
+				} else if (c == '\\') {
+					escape = true;
+				} else if (c == '"') {
+					string = false;
+				}
+				continue;
+			}
+			switch (c) {
+			case '"':
+				string = true;
+				element.write(c);
+				break;
+			case '{':
+			case '[':
+				depth++;
+				element.write(c);
+				break;
+			case '}':
+			case ']':
+				if (depth == 0) {
+					if (c == '}') {
+						throw new IOException("Invalid JSON array: unexpected [}] after " + count + " elements");
+					}
+					state = ENDED;
+					if (element.size() == 0 && count == 0) {
+						// empty array
+						return null;
+					}
+					return complete();
+				}
+				depth--;
+				element.write(c);
+				break;
+			case ',':
+				if (depth == 0) {
+					return complete();
+				}
+				element.write(c);
+				break;
+			case ' ':
+			case '\t':
+			case '\r':
+			case '\n':
+				if (depth > 0) {
+					element.write(c);
+				}
+				break;
+			default:
+				element.write(c);
+				break;
+			}
+		}
+	}
+
+	private byte[] complete() throws IOException {
+		if (element.size() == 0) {
+			throw new IOException("Invalid JSON array: empty element after " + count + " elements");
+		}
+		count++;
+		return element.toByteArray();
+	}
+
+	private int skipWhitespaces() throws IOException {
+		int c;
+		do {
+			c = stream.read();
+		} while (c == ' ' || c == '\t' || c == '\r' || c == '\n');
+		return c;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		state = ENDED;
+		stream.close();
+	}
+
+	/**
+	 * Get a {@link Stream} which lazily decodes the elements of the JSON array contained in given response, using a
+	 * {@link CachedResponseFactory} to convert each element into the required type. The response is closed when the
+	 * array end is reached, when the stream is closed or when an error occurs.
+	 * @param <T> Element type
+	 * @param request The request definition
+	 * @param response The response which contains the JSON array (not null)
+	 * @param elementType The element type (not null)
+	 * @param factory The factory to use to decode the elements (not null)
+	 * @return The elements stream
+	 */
+	public static <T> Stream<T> stream(RequestConfiguration<?> request, ResponseEntity<InputStream> response,
+			ResponseType<T> elementType, CachedResponseFactory factory) {
+		ObjectUtils.argumentNotNull(response, "Response must be not null");
+		ObjectUtils.argumentNotNull(elementType, "Element type must be not null");
+		ObjectUtils.argumentNotNull(factory, "Response factory must be not null");
+		final InputStream payload;
+		try {
+			payload = response.getPayload().orElse(null);
+		} catch (RuntimeException e) {
+			close(response);
+			throw new HttpClientInvocationException(e);
+		}
+		if (payload == null) {
+			close(response);
+			return Stream.empty();
+		}
+		final ElementIterator<T> iterator = new ElementIterator<>(request, response, new JsonArrayReader(payload),
+				elementType, factory);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+				.onClose(iterator::close);
+	}
+
+	private static void close(ResponseEntity<?> response) {
+		try {
+			response.close();
+		} catch (Exception e) {
+			LOGGER.debug(() -> "Failed to close the response", e);
+		}
+	}
+
+	/**
+	 * Iterator which decodes the elements read by a {@link JsonArrayReader}.
+	 * @param <T> Element type
+	 */
+	private static final class ElementIterator<T> implements Iterator<T> {
+
+		private final RequestConfiguration<?> request;
+		private final ResponseEntity<InputStream> response;
+		private final JsonArrayReader reader;
+		private final ResponseType<T> elementType;
+		private final CachedResponseFactory factory;
+		private final Map<String, List<String>> headers;
+
+		private byte[] next;
+		private boolean closed = false;
+
+		ElementIterator(RequestConfiguration<?> request, ResponseEntity<InputStream> response, JsonArrayReader reader,
+				ResponseType<T> elementType, CachedResponseFactory factory) {
+			super();
+			this.request = request;
+			this.response = response;
+			this.reader = reader;
+			this.elementType = elementType;
+			this.factory = factory;
+			this.headers = Collections.singletonMap(HttpHeaders.CONTENT_TYPE, Collections.singletonList(
+					response.getHeaderValue(HttpHeaders.CONTENT_TYPE).orElse(MediaType.APPLICATION_JSON.toString())));
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next == null && !closed) {
+				try {
+					next = reader.next();
+				} catch (IOException e) {
+					close();
+					throw new HttpClientInvocationException("Failed to read the JSON array response", e);
+				}
+				if (next == null) {
+					close();
+				}
+			}
+			return next != null;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			final byte[] bytes = next;
+			next = null;
+			final long now = System.currentTimeMillis();
+			final HttpCacheEntry entry = new HttpCacheEntry("element", response.getStatusCode(), headers, bytes, now,
+					now, Collections.emptyMap());
+			final ResponseEntity<T> decoded = factory.create(request, entry, elementType);
+			try {
+				return decoded.getPayload().orElse(null);
+			} catch (RuntimeException e) {
+				close();
+				throw (e instanceof HttpClientInvocationException) ? e : new HttpClientInvocationException(e);
+			} finally {
+				decoded.close();
+			}
+		}
+
+		void close() {
+			if (!closed) {
+				closed = true;
+				next = null;
+				try {
+					reader.close();
+				} catch (IOException e) {
+					LOGGER.debug(() -> "Failed to close the response stream", e);
+				}
+				JsonArrayReader.close(response);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.internal.rest;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.http.internal.HttpLogger;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClient.RequestDefinition;
+import com.holonplatform.http.rest.RetryBudget;
+import com.holonplatform.http.rest.RetryPolicy;
+
+/**
+ * An {@link Invoker} which retries the failed requests according to a {@link RetryPolicy}, delegating the actual
+ * request invocations to a concrete {@link Invoker}.
+ *
+ * @since 5.6.0
+ */
+public class RetryingInvoker implements Invoker {
+
+	private static final Logger LOGGER = HttpLogger.create();
+
+	private final Invoker invoker;
+	private final RetryPolicy policy;
+
+	/**
+	 * Constructor.
+	 * @param invoker The concrete invoker (not null)
+	 * @param policy The retry policy (not null)
+	 */
+	public RetryingInvoker(Invoker invoker, RetryPolicy policy) {
+		super();
+		ObjectUtils.argumentNotNull(invoker, "Invoker must be not null");
+		ObjectUtils.argumentNotNull(policy, "Retry policy must be not null");
+		this.invoker = invoker;
+		this.policy = policy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#getResponseFactory()
+	 */
+	@Override
+	public CachedResponseFactory getResponseFactory() {
+		return invoker.getResponseFactory();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.Invoker#invoke(com.holonplatform.http.rest.RestClient.RequestDefinition,
+	 * com.holonplatform.http.HttpMethod, com.holonplatform.http.rest.RequestEntity,
+	 * com.holonplatform.http.rest.ResponseType, boolean)
+	 */
+	@Override
+	public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
+			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+		if (!DefaultRetryPolicy.isRetryable(policy, method, requestEntity)) {
+			return invoker.invoke(requestDefinition, method, requestEntity, responseType, onlySuccessfulStatusCode);
+		}
+		policy.getBudget().ifPresent(RetryBudget::deposit);
+		int attempt = 1;
+		while (true) {
+			ResponseEntity<T> response = null;
+			RuntimeException error = null;
+			try {
+				response = invoker.invoke(requestDefinition, method, requestEntity, responseType, false);
+			} catch (RuntimeException e) {
+				error = e;
+			}
+			final boolean retryable = (error != null) ? policy.isRetryableException(error)
+					: policy.isRetryableStatus(response.getStatusCode());
+			if (!retryable || attempt >= policy.getMaxAttempts()
+					|| !policy.getBudget().map(RetryBudget::tryWithdraw).orElse(Boolean.TRUE)) {
+				if (error != null) {
+					throw error;
+				}
+				return HttpCacheInvocation.checkStatus(response, onlySuccessfulStatusCode);
+			}
+			attempt++;
+			final long delay = policy.getDelay(attempt, response);
+			if (response != null) {
+				close(response);
+			}
+			final int current = attempt;
+			final String cause = (error != null) ? error.getMessage() : ("status " + response.getStatusCode());
+			LOGGER.debug(() -> "RestClient: retry [" + requestDefinition.getRequestURI() + "] attempt " + current
+					+ " in " + delay + " ms (" + cause + ")");
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new HttpClientInvocationException("Request retry interrupted", e);
+			}
+		}
+	}
+
+	private static void close(ResponseEntity<?> response) {
+		try {
+			response.close();
+		} catch (Exception e) {
+			LOGGER.debug(() -> "Failed to close the response", e);
+		}
+	}
+
+}
@@ -20,25 +20,36 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
 import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.http.ContentEncoding;
 import com.holonplatform.http.Cookie;
+import com.holonplatform.http.HttpHeaders;
 import com.holonplatform.http.HttpMethod;
 import com.holonplatform.http.HttpRequest;
 import com.holonplatform.http.internal.AbstractHttpRequest;
+import com.holonplatform.http.internal.HttpUtils;
 import com.holonplatform.http.servlet.ServletHttpRequest;
 
 /**
  * {@link HttpRequest} implementation using {@link HttpServletRequest} as concrete request.
+ * <p>
+ * The request headers, parameters and cookies are read from the concrete request only once, when first accessed, and
+ * the headers are exposed as a case-insensitive map. The values parsed from the <code>Date</code>,
+ * <code>Accept-Language</code> and <code>Authorization</code> headers are memoized too. Like the concrete request,
+ * this class is not meant to be shared among threads.
+ * </p>
  * 
  * @since 5.0.6
  */
@@ -46,6 +57,29 @@ public class DefaultServletHttpRequest extends AbstractHttpRequest implements Se
 
 	protected final HttpServletRequest request;
 
+	/**
+	 * Lazily materialized headers
+	 */
+	private Map<String, List<String>> headers;
+
+	/**
+	 * Lazily materialized request parameters
+	 */
+	private Map<String, List<String>> parameters;
+
+	/**
+	 * Lazily converted cookies, by name
+	 */
+	private Map<String, Cookie> cookies;
+
+	/**
+	 * Memoized header values
+	 */
+	private Optional<Date> date;
+	private List<Locale> locales;
+	private Optional<String> authorizationBearer;
+	private Optional<String[]> authorizationBasicCredentials;
+
 	/**
 	 * Constructor
 	 * @param request HttpServletRequest (not null)
@@ -109,11 +143,7 @@ public class DefaultServletHttpRequest extends AbstractHttpRequest implements Se
 	@Override
 	public Optional<List<String>> getMultiValueRequestParameter(String name) {
 		ObjectUtils.argumentNotNull(name, "Parameter name must be not null");
-		String[] values = request.getParameterValues(name);
-		if (values != null) {
-			return Optional.of(Arrays.asList(values));
-		}
-		return Optional.empty();
+		return Optional.ofNullable(getRequestParameters().get(name));
 	}
 
 	/*
@@ -122,17 +152,21 @@ public class DefaultServletHttpRequest extends AbstractHttpRequest implements Se
 	 */
 	@Override
 	public Map<String, List<String>> getRequestParameters() {
-		Map<String, String[]> params = request.getParameterMap();
-		if (params != null && !params.isEmpty()) {
-			final Map<String, List<String>> rqp = new HashMap<>(params.size());
-			params.entrySet().forEach(e -> {
-				if (e.getValue() != null) {
-					rqp.put(e.getKey(), Arrays.asList(e.getValue()));
-				}
-			});
-			return rqp;
+		if (parameters == null) {
+			final Map<String, String[]> params = request.getParameterMap();
+			if (params != null && !params.isEmpty()) {
+				final Map<String, List<String>> rqp = new HashMap<>(params.size());
+				params.entrySet().forEach(e -> {
+					if (e.getValue() != null) {
+						rqp.put(e.getKey(), Collections.unmodifiableList(Arrays.asList(e.getValue())));
+					}
+				});
+				parameters = Collections.unmodifiableMap(rqp);
+			} else {
+				parameters = Collections.emptyMap();
+			}
 		}
-		return Collections.emptyMap();
+		return parameters;
 	}
 
 	/*
@@ -142,23 +176,23 @@ public class DefaultServletHttpRequest extends AbstractHttpRequest implements Se
 	@Override
 	public Optional<Cookie> getRequestCookie(String name) {
 		ObjectUtils.argumentNotNull(name, "Cookie name must be not null");
-		javax.servlet.http.Cookie[] rcookies = request.getCookies();
-		if (rcookies != null) {
-			javax.servlet.http.Cookie rcookie = null;
-			for (javax.servlet.http.Cookie cookie : rcookies) {
-				if (name.equals(cookie.getName())) {
-					rcookie = cookie;
-					break;
+		if (cookies == null) {
+			final javax.servlet.http.Cookie[] rcookies = request.getCookies();
+			if (rcookies != null && rcookies.length > 0) {
+				final Map<String, Cookie> converted = new HashMap<>(rcookies.length);
+				for (javax.servlet.http.Cookie rcookie : rcookies) {
+					// the first cookie with a given name takes precedence
+					converted.computeIfAbsent(rcookie.getName(),
+							n -> Cookie.builder().name(rcookie.getName()).value(rcookie.getValue())
+									.version(rcookie.getVersion()).path(rcookie.getPath()).domain(rcookie.getDomain())
+									.build());
 				}
-			}
-
-			if (rcookie != null) {
-				return Optional.of(com.holonplatform.http.Cookie.builder().name(rcookie.getName())
-						.value(rcookie.getValue()).version(rcookie.getVersion()).path(rcookie.getPath())
-						.domain(rcookie.getDomain()).build());
+				cookies = converted;
+			} else {
+				cookies = Collections.emptyMap();
 			}
 		}
-		return Optional.empty();
+		return Optional.ofNullable(cookies.get(name));
 	}
 
 	/*
@@ -167,7 +201,7 @@ public class DefaultServletHttpRequest extends AbstractHttpRequest implements Se
 	 */
 	@Override
 	public InputStream getBody() throws IOException, UnsupportedOperationException {
-		return request.getInputStream();
+		return ContentEncoding.decode(request.getInputStream(), request.getHeader(HttpHeaders.CONTENT_ENCODING));
 	}
 
 	/*
@@ -176,16 +210,23 @@ public class DefaultServletHttpRequest extends AbstractHttpRequest implements Se
 	 */
 	@Override
 	public Map<String, List<String>> getHeaders() {
-		final Map<String, List<String>> headers = new HashMap<>();
-		final Enumeration<String> headerNames = request.getHeaderNames();
-		while (headerNames.hasMoreElements()) {
-			final String headerName = headerNames.nextElement();
-			final List<String> values = new ArrayList<>();
-			final Enumeration<String> headerValues = request.getHeaders(headerName);
-			while (headerValues.hasMoreElements()) {
-				values.add(headerValues.nextElement());
+		if (headers == null) {
+			final Map<String, List<String>> values = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+			final Enumeration<String> headerNames = request.getHeaderNames();
+			if (headerNames != null) {
+				while (headerNames.hasMoreElements()) {
+					final String headerName = headerNames.nextElement();
+					final Enumeration<String> headerValues = request.getHeaders(headerName);
+					if (headerValues != null && headerValues.hasMoreElements()) {
+						final List<String> hvs = values.computeIfAbsent(headerName, n -> new ArrayList<>(1));
+						while (headerValues.hasMoreElements()) {
+							hvs.add(headerValues.nextElement());
+						}
+					}
+				}
 			}
-			headers.put(headerName, values);
+			values.replaceAll((n, v) -> Collections.unmodifiableList(v));
+			headers = Collections.unmodifiableMap(values);
 		}
 		return headers;
 	}
@@ -197,15 +238,59 @@ public class DefaultServletHttpRequest extends AbstractHttpRequest implements Se
 	@Override
 	public Optional<List<String>> getHeader(String name) {
 		ObjectUtils.argumentNotNull(name, "Header name must be not null");
-		final Enumeration<String> headerValues = request.getHeaders(name);
-		if (headerValues != null) {
-			final List<String> values = new LinkedList<>();
-			while (headerValues.hasMoreElements()) {
-				values.add(headerValues.nextElement());
-			}
-			return Optional.of(values);
+		return Optional.ofNullable(getHeaders().get(name));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.HttpHeaders#getDate()
+	 */
+	@Override
+	public Optional<Date> getDate() {
+		if (date == null) {
+			date = getHeaderValue(DATE).map(HttpUtils::parseHeaderDate);
+		}
+		// Date is mutable
+		return date.map(d -> new Date(d.getTime()));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.HttpHeaders#getLocales()
+	 */
+	@Override
+	public List<Locale> getLocales() {
+		if (locales == null) {
+			locales = Collections
+					.unmodifiableList(HttpUtils.getAcceptLanguageLocales(getHeaderValue(ACCEPT_LANGUAGE).orElse(null)));
+		}
+		return locales;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.HttpHeaders#getAuthorizationBearer()
+	 */
+	@Override
+	public Optional<String> getAuthorizationBearer() {
+		if (authorizationBearer == null) {
+			authorizationBearer = getHeaderValue(AUTHORIZATION).map(HttpUtils::extractAuthorizationBearer);
+		}
+		return authorizationBearer;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.HttpHeaders#getAuthorizationBasicCredentials()
+	 */
+	@Override
+	public Optional<String[]> getAuthorizationBasicCredentials() {
+		if (authorizationBasicCredentials == null) {
+			authorizationBasicCredentials = getHeaderValue(AUTHORIZATION)
+					.map(HttpUtils::extractAuthorizationBasicCredentials);
 		}
-		return Optional.empty();
+		// arrays are mutable
+		return authorizationBasicCredentials.map(String[]::clone);
 	}
 
 	/*
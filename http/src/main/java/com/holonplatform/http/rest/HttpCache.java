@@ -0,0 +1,194 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.rest;
+
+import java.nio.file.Path;
+
+import com.holonplatform.http.CacheControl;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.internal.rest.DefaultHttpCache;
+
+/**
+ * A size-bounded client side HTTP response cache, which can be configured for a {@link RestClient} using
+ * {@link RestClient#withCache(HttpCache)}.
+ * <p>
+ * The cache follows the RFC 7234 semantics: only the responses to <code>GET</code> requests are stored, the
+ * {@link CacheControl} directives of requests and responses are honored (<code>no-store</code>, <code>no-cache</code>,
+ * <code>max-age</code>, <code>s-maxage</code>, <code>private</code>, <code>must-revalidate</code>) and the response
+ * freshness is computed using the {@link HttpHeaders#AGE}, {@link HttpHeaders#DATE} and {@link HttpHeaders#EXPIRES}
+ * headers. Stale responses are revalidated using a conditional request with the {@link HttpHeaders#IF_NONE_MATCH} and
+ * {@link HttpHeaders#IF_MODIFIED_SINCE} headers and a <code>304 Not Modified</code> response is served from the
+ * cache. A successful request with an unsafe method invalidates the cached response for the same request URI.
+ * </p>
+ * <p>
+ * The responses are stored in memory, up to the configured maximum number of entries and size. An optional disk
+ * store can be configured to keep the responses evicted from memory.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public interface HttpCache {
+
+	/**
+	 * Default maximum number of entries kept in memory
+	 */
+	static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	/**
+	 * Default maximum size in bytes of the responses kept in memory
+	 */
+	static final long DEFAULT_MAX_SIZE = 10L * 1024 * 1024;
+
+	/**
+	 * Get the number of responses currently stored in the cache, including the ones in the disk store.
+	 * @return The number of stored responses
+	 */
+	int size();
+
+	/**
+	 * Remove all the stored responses, including the ones in the disk store.
+	 */
+	void clear();
+
+	/**
+	 * Get a snapshot of the cache metrics.
+	 * @return The cache metrics
+	 */
+	Metrics getMetrics();
+
+	/**
+	 * Reset the cache metrics.
+	 */
+	void resetMetrics();
+
+	/**
+	 * Create a new {@link HttpCache} using the default configuration.
+	 * @return A new {@link HttpCache}
+	 */
+	static HttpCache create() {
+		return builder().build();
+	}
+
+	/**
+	 * Get a builder to create and configure a new {@link HttpCache}.
+	 * @return A new {@link HttpCache} builder
+	 */
+	static Builder builder() {
+		return new DefaultHttpCache.DefaultBuilder();
+	}
+
+	/**
+	 * {@link HttpCache} metrics.
+	 */
+	public interface Metrics {
+
+		/**
+		 * Get the number of requests served from the cache without contacting the server.
+		 * @return The cache hits count
+		 */
+		long getHitCount();
+
+		/**
+		 * Get the number of cacheable requests for which no stored response was available.
+		 * @return The cache misses count
+		 */
+		long getMissCount();
+
+		/**
+		 * Get the number of conditional requests performed to revalidate a stale stored response.
+		 * @return The revalidations count
+		 */
+		long getRevalidationCount();
+
+		/**
+		 * Get the number of revalidations for which the server returned a <code>304 Not Modified</code> response, so
+		 * that the stored response was served.
+		 * @return The not modified revalidations count
+		 */
+		long getNotModifiedCount();
+
+		/**
+		 * Get the number of responses stored in the cache.
+		 * @return The stored responses count
+		 */
+		long getStoreCount();
+
+		/**
+		 * Get the number of responses evicted from memory because of the cache size limits.
+		 * @return The evictions count
+		 */
+		long getEvictionCount();
+
+	}
+
+	/**
+	 * {@link HttpCache} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the maximum number of responses to keep in memory. Default is {@link HttpCache#DEFAULT_MAX_ENTRIES}.
+		 * @param maxEntries The maximum number of entries (must be greater than 0)
+		 * @return this
+		 */
+		Builder maxEntries(int maxEntries);
+
+		/**
+		 * Set the maximum size in bytes of the responses to keep in memory. Default is
+		 * {@link HttpCache#DEFAULT_MAX_SIZE}. Responses larger than this size are never stored.
+		 * @param maxSize The maximum size in bytes (must be greater than 0)
+		 * @return this
+		 */
+		Builder maxSize(long maxSize);
+
+		/**
+		 * Enable the disk store, using given directory to keep the responses evicted from memory. The responses found
+		 * in the directory when the cache is created are reused.
+		 * @param directory The disk store directory (not null)
+		 * @param maxSize The maximum size in bytes of the disk store (must be greater than 0)
+		 * @return this
+		 */
+		Builder diskStore(Path directory, long maxSize);
+
+		/**
+		 * Set whether the cache is a shared cache. A shared cache does not store the responses marked as
+		 * <code>private</code> and the responses to requests with an {@link HttpHeaders#AUTHORIZATION} header, and
+		 * uses the <code>s-maxage</code> directive when available. Default is <code>true</code>, since the stored
+		 * responses are served regardless of the request credentials: a private cache should only be used when all
+		 * the requests are performed on behalf of the same user.
+		 * @param shared Whether the cache is a shared cache
+		 * @return this
+		 */
+		Builder shared(boolean shared);
+
+		/**
+		 * Set whether to use a heuristic freshness lifetime for the responses without an explicit expiration time,
+		 * computed as the 10% of the time elapsed since the {@link HttpHeaders#LAST_MODIFIED} date. Default is
+		 * <code>false</code>, so that such responses are always revalidated.
+		 * @param heuristicFreshness Whether to use a heuristic freshness lifetime
+		 * @return this
+		 */
+		Builder heuristicFreshness(boolean heuristicFreshness);
+
+		/**
+		 * Build the {@link HttpCache}.
+		 * @return A new {@link HttpCache}
+		 */
+		HttpCache build();
+
+	}
+
+}
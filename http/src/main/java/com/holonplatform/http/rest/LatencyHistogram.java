@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.rest;
+
+import com.holonplatform.core.instrumentation.Histogram;
+import com.holonplatform.http.internal.rest.DefaultLatencyHistogram;
+
+/**
+ * A {@link Histogram} of request latencies, expressed in milliseconds.
+ * <p>
+ * To follow the latency changes over time, the recorded counts are halved each time the configured number of samples
+ * is reached, so that the recent samples weigh more than the older ones. The {@link #getCount()} method returns the
+ * decayed number of recorded values.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public interface LatencyHistogram extends Histogram {
+
+	/**
+	 * Default number of samples after which the recorded counts are halved
+	 */
+	static final int DEFAULT_DECAY_SAMPLES = 1000;
+
+	/**
+	 * Create a new {@link LatencyHistogram} using the {@link #DEFAULT_DECAY_SAMPLES}.
+	 * @return A new {@link LatencyHistogram}
+	 */
+	static LatencyHistogram create() {
+		return create(DEFAULT_DECAY_SAMPLES);
+	}
+
+	/**
+	 * Create a new {@link LatencyHistogram}.
+	 * @param decaySamples The number of samples after which the recorded counts are halved, <code>0</code> to never
+	 *        decay the recorded values
+	 * @return A new {@link LatencyHistogram}
+	 */
+	static LatencyHistogram create(int decaySamples) {
+		return new DefaultLatencyHistogram(decaySamples);
+	}
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.rest;
+
+import java.util.List;
+import java.util.Map;
+
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
+
+/**
+ * A compiled and immutable request template, which can be obtained using {@link RestClient#template(String)} and
+ * reused to build many requests with the same target, path, query parameters and headers.
+ * <p>
+ * The URI template is parsed once, when the template is created: the literal parts are pre-encoded and the
+ * <code>{name}</code> placeholders are bound for each request, encoding the values according to their position (path
+ * or query). The template headers, which include the client default headers, are pre-joined as well.
+ * </p>
+ * <p>
+ * The request definitions built from a template can be further configured: in that case, a change of the request
+ * target, path, query or template parameters causes the request URI to be resolved as for any other request.
+ * </p>
+ *
+ * @param <R> Request definition type
+ *
+ * @since 5.6.0
+ */
+public interface RequestTemplate<R extends RequestConfiguration<R>> {
+
+	/**
+	 * Get the template path.
+	 * @return The template path
+	 */
+	String getPath();
+
+	/**
+	 * Get the names of the template parameters, in the order in which they first appear in the template.
+	 * @return The template parameter names, an empty list if none
+	 */
+	List<String> getParameterNames();
+
+	/**
+	 * Get a new template which includes given header.
+	 * @param name The header name (not null)
+	 * @param values The header values
+	 * @return A new {@link RequestTemplate}
+	 */
+	RequestTemplate<R> withHeader(String name, String... values);
+
+	/**
+	 * Get a new template which includes given query parameter.
+	 * @param name The query parameter name (not null)
+	 * @param values The query parameter values
+	 * @return A new {@link RequestTemplate}
+	 */
+	RequestTemplate<R> withQueryParameter(String name, Object... values);
+
+	/**
+	 * Get the encoded request URI obtained by binding given values to the template parameters.
+	 * @param values The template parameter values, in the order given by {@link #getParameterNames()}
+	 * @return The request URI
+	 * @throws IllegalArgumentException If a parameter value is missing
+	 */
+	String expand(Object... values);
+
+	/**
+	 * Get the encoded request URI obtained by binding given values to the template parameters.
+	 * @param values The template parameter values, by name
+	 * @return The request URI
+	 * @throws IllegalArgumentException If a parameter value is missing
+	 */
+	String expand(Map<String, ?> values);
+
+	/**
+	 * Build a new request definition, binding given values to the template parameters.
+	 * @param values The template parameter values, in the order given by {@link #getParameterNames()}
+	 * @return A new request definition
+	 * @throws IllegalArgumentException If a parameter value is missing
+	 */
+	R request(Object... values);
+
+	/**
+	 * Build a new request definition, binding given values to the template parameters.
+	 * @param values The template parameter values, by name
+	 * @return A new request definition
+	 * @throws IllegalArgumentException If a parameter value is missing
+	 */
+	R request(Map<String, ?> values);
+
+}
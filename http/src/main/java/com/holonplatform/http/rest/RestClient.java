@@ -21,6 +21,7 @@ import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.holonplatform.core.internal.utils.ClassUtils;
 import com.holonplatform.http.HttpMethod;
@@ -192,6 +193,26 @@ public interface RestClient extends RestClientOperations<RestClient, RequestDefi
 			return getForEntity(rt).orElse(Collections.emptyList());
 		}
 
+		/**
+		 * Invoke the request using <code>GET</code> method and receive a JSON array response entity payload back as a
+		 * {@link Stream} of elements.
+		 * <p>
+		 * The array elements are read from the response stream and decoded one at a time, while the stream is
+		 * consumed, so that the whole array is never kept in memory. The returned stream should be closed to release
+		 * the response resources if it is not fully consumed, for example using a <code>try-with-resources</code>
+		 * block: the response is closed automatically when the array end is reached.
+		 * </p>
+		 * @param <T> Response element type
+		 * @param responseType Expected array element type
+		 * @return A stream of the response array elements, an empty stream if the response entity is empty
+		 * @throws HttpClientInvocationException Internal invocation failure (for example, an I/O error on communication
+		 *         channel or a malformed JSON array, also thrown during the stream consumption)
+		 * @throws UnsuccessfulResponseException In case the status code of the response returned by the server is not a
+		 *         successful type status code, i.e. it is not a <code>2xx</code> status code
+		 * @since 5.6.0
+		 */
+		<T> Stream<T> getAsStream(Class<T> responseType);
+
 		// POST
 
 		/**
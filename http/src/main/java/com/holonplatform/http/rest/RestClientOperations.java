@@ -22,10 +22,12 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 
+import com.holonplatform.core.instrumentation.Instrumentation;
 import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.http.CacheControl;
+import com.holonplatform.http.ContentEncoding;
 import com.holonplatform.http.HttpHeaders;
 import com.holonplatform.http.HttpMethod;
 import com.holonplatform.http.MediaType;
@@ -45,6 +47,12 @@ import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
 @SuppressWarnings("rawtypes")
 public interface RestClientOperations<C extends RestClientOperations<C, R>, R extends RequestConfiguration<R> & InvocationOperations> {
 
+	/**
+	 * Default minimum request entity size in bytes to compress it when the content coding support is enabled
+	 * @see #withCompression(ContentEncoding)
+	 */
+	static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+
 	/**
 	 * Request configuration builder.
 	 *
@@ -861,6 +869,95 @@ public interface RestClientOperations<C extends RestClientOperations<C, R>, R ex
 	 */
 	C clearDefaultHeaders();
 
+	/**
+	 * Set the {@link HttpCache} to use to serve the cacheable requests. The same cache can be shared by more clients.
+	 * @param cache The HTTP cache to use, <code>null</code> to disable the response caching
+	 * @return The updated RestClient
+	 * @since 5.6.0
+	 */
+	C withCache(HttpCache cache);
+
+	/**
+	 * Get the {@link HttpCache} used to serve the cacheable requests, if configured.
+	 * @return Optional HTTP cache
+	 * @since 5.6.0
+	 */
+	Optional<HttpCache> getCache();
+
+	/**
+	 * Set the {@link RetryPolicy} to use to retry the failed requests.
+	 * @param retryPolicy The retry policy to use, <code>null</code> to disable the request retries
+	 * @return The updated RestClient
+	 * @since 5.6.0
+	 */
+	C withRetryPolicy(RetryPolicy retryPolicy);
+
+	/**
+	 * Get the {@link RetryPolicy} used to retry the failed requests, if configured.
+	 * @return Optional retry policy
+	 * @since 5.6.0
+	 */
+	Optional<RetryPolicy> getRetryPolicy();
+
+	/**
+	 * Set the {@link Instrumentation} to notify of each request invocation, using {@link Instrumentation#REST_CLIENT} as
+	 * component name, the request method as operation name and the request scheme, host and port as operation target.
+	 * @param instrumentation The instrumentation to notify, <code>null</code> to disable the instrumentation
+	 * @return The updated RestClient
+	 * @since 5.6.0
+	 */
+	C withInstrumentation(Instrumentation instrumentation);
+
+	/**
+	 * Get the {@link Instrumentation} notified of each request invocation, if configured.
+	 * @return Optional instrumentation
+	 * @since 5.6.0
+	 */
+	Optional<Instrumentation> getInstrumentation();
+
+	/**
+	 * Enable the HTTP content coding support.
+	 * <p>
+	 * When enabled, the request entities whose serialized size exceeds the given threshold are compressed using the
+	 * given {@link ContentEncoding} while they are written, and the {@link HttpHeaders#ACCEPT_ENCODING} header is added
+	 * to the requests which do not declare it, listing all the supported codings. The compressed responses are always
+	 * decoded transparently, streaming.
+	 * </p>
+	 * @param encoding The coding to use to compress the request entities, <code>null</code> to disable the content
+	 *        coding support
+	 * @param threshold The minimum request entity size in bytes to compress it (must be greater than or equal to 0)
+	 * @return The updated RestClient
+	 * @since 5.6.0
+	 */
+	C withCompression(ContentEncoding encoding, int threshold);
+
+	/**
+	 * Enable the HTTP content coding support, compressing the request entities larger than
+	 * {@link #DEFAULT_COMPRESSION_THRESHOLD} bytes.
+	 * @param encoding The coding to use to compress the request entities, <code>null</code> to disable the content
+	 *        coding support
+	 * @return The updated RestClient
+	 * @see #withCompression(ContentEncoding, int)
+	 * @since 5.6.0
+	 */
+	default C withCompression(ContentEncoding encoding) {
+		return withCompression(encoding, DEFAULT_COMPRESSION_THRESHOLD);
+	}
+
+	/**
+	 * Get the coding used to compress the request entities, if the content coding support is enabled.
+	 * @return Optional request entities coding
+	 * @since 5.6.0
+	 */
+	Optional<ContentEncoding> getCompression();
+
+	/**
+	 * Get the minimum request entity size in bytes to compress it.
+	 * @return The compression threshold
+	 * @since 5.6.0
+	 */
+	int getCompressionThreshold();
+
 	/**
 	 * Create a new request definition, to be used to configure request and invoke response.
 	 * <p>
@@ -871,4 +968,29 @@ public interface RestClientOperations<C extends RestClientOperations<C, R>, R ex
 	 */
 	R request();
 
+	/**
+	 * Create a new {@link RequestTemplate} for given path, using the default target request URI.
+	 * <p>
+	 * The template includes the client default headers which are configured when the template is created.
+	 * </p>
+	 * @param path The template path, which may contain <code>{name}</code> template parameters (not null)
+	 * @return A new {@link RequestTemplate}
+	 * @throws IllegalStateException If a default target request URI is not configured
+	 * @see #defaultTarget(URI)
+	 * @since 5.6.0
+	 */
+	RequestTemplate<R> template(String path);
+
+	/**
+	 * Create a new {@link RequestTemplate} for given target and path.
+	 * <p>
+	 * The template includes the client default headers which are configured when the template is created.
+	 * </p>
+	 * @param target The template target URI (not null)
+	 * @param path The template path, which may contain <code>{name}</code> template parameters (not null)
+	 * @return A new {@link RequestTemplate}
+	 * @since 5.6.0
+	 */
+	RequestTemplate<R> template(URI target, String path);
+
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.rest;
+
+import com.holonplatform.http.internal.rest.DefaultRetryBudget;
+
+/**
+ * A budget which limits the number of additional requests (retries and hedged requests) with respect to the number of
+ * original requests, in order to avoid overloading a slow or failing server.
+ * <p>
+ * Each original request deposits a fraction of a token and each additional request withdraws a whole token. A minimum
+ * number of additional requests per second is always allowed. The same budget can be shared by more
+ * {@link RetryPolicy} and hedging policies, and by more clients, to obtain a global limit.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public interface RetryBudget {
+
+	/**
+	 * Default ratio of additional requests to original requests
+	 */
+	static final double DEFAULT_RATIO = 0.1d;
+
+	/**
+	 * Default minimum number of additional requests per second
+	 */
+	static final int DEFAULT_MIN_PER_SECOND = 10;
+
+	/**
+	 * Register an original request.
+	 */
+	void deposit();
+
+	/**
+	 * Try to withdraw a token for an additional request.
+	 * @return <code>true</code> if the additional request is allowed, <code>false</code> if the budget is exhausted
+	 */
+	boolean tryWithdraw();
+
+	/**
+	 * Get the number of additional requests currently allowed.
+	 * @return The available tokens
+	 */
+	double getBalance();
+
+	/**
+	 * Get the number of additional requests which were denied because the budget was exhausted.
+	 * @return The rejections count
+	 */
+	long getRejectedCount();
+
+	/**
+	 * Create a new {@link RetryBudget} using the {@link #DEFAULT_RATIO} and the {@link #DEFAULT_MIN_PER_SECOND}.
+	 * @return A new {@link RetryBudget}
+	 */
+	static RetryBudget create() {
+		return create(DEFAULT_RATIO, DEFAULT_MIN_PER_SECOND);
+	}
+
+	/**
+	 * Create a new {@link RetryBudget}.
+	 * @param ratio The ratio of additional requests to original requests (must be greater than or equal to 0)
+	 * @param minPerSecond The minimum number of additional requests per second (must be greater than or equal to 0)
+	 * @return A new {@link RetryBudget}
+	 */
+	static RetryBudget create(double ratio, int minPerSecond) {
+		return new DefaultRetryBudget(ratio, minPerSecond);
+	}
+
+}
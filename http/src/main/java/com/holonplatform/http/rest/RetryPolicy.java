@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.rest;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.HttpStatus;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.http.exceptions.HttpStatusCodeException;
+import com.holonplatform.http.internal.rest.DefaultRetryPolicy;
+
+/**
+ * Policy to retry the failed requests of a {@link RestClient}, which can be configured using
+ * {@link RestClient#withRetryPolicy(RetryPolicy)}.
+ * <p>
+ * A request is retried when the invocation fails with a {@link HttpClientInvocationException} or when the response
+ * status code is a retryable one (by default {@link HttpStatus#TOO_MANY_REQUESTS}, {@link HttpStatus#BAD_GATEWAY},
+ * {@link HttpStatus#SERVICE_UNAVAILABLE} and {@link HttpStatus#GATEWAY_TIMEOUT}), up to the configured maximum number
+ * of attempts. By default, only the idempotent {@link HttpMethod}s are retried.
+ * </p>
+ * <p>
+ * The delay between two attempts grows exponentially and is randomized using the <em>full jitter</em> strategy. A
+ * {@link HttpHeaders#RETRY_AFTER} response header, expressed in seconds, is honored up to the maximum delay. An
+ * optional {@link RetryBudget} can be used to limit the overall number of retries.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public interface RetryPolicy {
+
+	/**
+	 * Default maximum number of attempts, including the original request
+	 */
+	static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	/**
+	 * Default initial backoff delay in milliseconds
+	 */
+	static final long DEFAULT_INITIAL_DELAY = 100L;
+
+	/**
+	 * Default maximum backoff delay in milliseconds
+	 */
+	static final long DEFAULT_MAX_DELAY = 10000L;
+
+	/**
+	 * Get the maximum number of attempts, including the original request.
+	 * @return The maximum number of attempts
+	 */
+	int getMaxAttempts();
+
+	/**
+	 * Get whether the requests with given method can be retried.
+	 * @param method The request method
+	 * @return <code>true</code> if the requests with given method can be retried
+	 */
+	boolean isRetryableMethod(HttpMethod method);
+
+	/**
+	 * Get whether a response with given status code should be retried.
+	 * @param statusCode The response status code
+	 * @return <code>true</code> if the response should be retried
+	 */
+	boolean isRetryableStatus(int statusCode);
+
+	/**
+	 * Get whether a request invocation failed with given exception should be retried. A {@link HttpStatusCodeException}
+	 * is retried if its status code is retryable.
+	 * @param error The invocation exception
+	 * @return <code>true</code> if the request should be retried
+	 */
+	boolean isRetryableException(Throwable error);
+
+	/**
+	 * Get the jittered delay in milliseconds to wait before given attempt.
+	 * @param attempt The attempt number, where <code>2</code> is the first retry
+	 * @param response The retried response, <code>null</code> if the previous attempt failed with an exception
+	 * @return The delay in milliseconds
+	 */
+	long getDelay(int attempt, ResponseEntity<?> response);
+
+	/**
+	 * Get the budget used to limit the overall number of retries, if any.
+	 * @return Optional retry budget
+	 */
+	Optional<RetryBudget> getBudget();
+
+	/**
+	 * Create a new {@link RetryPolicy} using the default configuration.
+	 * @return A new {@link RetryPolicy}
+	 */
+	static RetryPolicy create() {
+		return builder().build();
+	}
+
+	/**
+	 * Get a builder to create and configure a new {@link RetryPolicy}.
+	 * @return A new {@link RetryPolicy} builder
+	 */
+	static Builder builder() {
+		return new DefaultRetryPolicy.DefaultBuilder();
+	}
+
+	/**
+	 * {@link RetryPolicy} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the maximum number of attempts, including the original request. Default is
+		 * {@link RetryPolicy#DEFAULT_MAX_ATTEMPTS}.
+		 * @param maxAttempts The maximum number of attempts (must be greater than 0)
+		 * @return this
+		 */
+		Builder maxAttempts(int maxAttempts);
+
+		/**
+		 * Set the exponential backoff delays. Defaults are {@link RetryPolicy#DEFAULT_INITIAL_DELAY} and
+		 * {@link RetryPolicy#DEFAULT_MAX_DELAY} milliseconds.
+		 * @param initialDelay The delay before the first retry (must be greater than or equal to 0)
+		 * @param maxDelay The maximum delay (must be greater than or equal to the initial delay)
+		 * @param unit The delays time unit (not null)
+		 * @return this
+		 */
+		Builder backoff(long initialDelay, long maxDelay, TimeUnit unit);
+
+		/**
+		 * Set the factor by which the backoff delay is multiplied at each retry. Default is <code>2</code>.
+		 * @param multiplier The backoff multiplier (must be greater than or equal to 1)
+		 * @return this
+		 */
+		Builder multiplier(double multiplier);
+
+		/**
+		 * Set whether to randomize the backoff delays. Default is <code>true</code>.
+		 * @param jitter Whether to randomize the backoff delays
+		 * @return this
+		 */
+		Builder jitter(boolean jitter);
+
+		/**
+		 * Set the request methods which can be retried, replacing the default idempotent methods.
+		 * @param methods The retryable methods
+		 * @return this
+		 */
+		Builder methods(HttpMethod... methods);
+
+		/**
+		 * Set the response status codes which should be retried, replacing the default ones.
+		 * @param statusCodes The retryable status codes
+		 * @return this
+		 */
+		Builder statusCodes(int... statusCodes);
+
+		/**
+		 * Set an additional condition to retry the request invocations failed with an exception which is not a
+		 * {@link HttpClientInvocationException} or a {@link HttpStatusCodeException}.
+		 * @param condition The retry condition (not null)
+		 * @return this
+		 */
+		Builder retryOn(Predicate<Throwable> condition);
+
+		/**
+		 * Set the budget to use to limit the overall number of retries.
+		 * @param budget The retry budget
+		 * @return this
+		 */
+		Builder budget(RetryBudget budget);
+
+		/**
+		 * Build the {@link RetryPolicy}.
+		 * @return A new {@link RetryPolicy}
+		 */
+		RetryPolicy build();
+
+	}
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.http.ContentEncoding;
+import com.holonplatform.http.internal.CompressingOutputStream;
+
+public class TestContentEncoding {
+
+	private static final byte[] DATA = Stream.generate(() -> "content").limit(200).collect(Collectors.joining(","))
+			.getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	public void testEncoding() throws IOException {
+		for (ContentEncoding encoding : ContentEncoding.values()) {
+			final byte[] encoded = encode(encoding, DATA);
+			assertTrue(encoded.length < DATA.length);
+			assertArrayEquals(DATA, read(encoding.decode(new ByteArrayInputStream(encoded))));
+			assertArrayEquals(DATA,
+					read(ContentEncoding.decode(new ByteArrayInputStream(encoded), encoding.getEncodingName())));
+		}
+
+		// raw deflate data
+		final ByteArrayOutputStream raw = new ByteArrayOutputStream();
+		try (DeflaterOutputStream os = new DeflaterOutputStream(raw, new Deflater(Deflater.DEFAULT_COMPRESSION, true))) {
+			os.write(DATA);
+		}
+		assertArrayEquals(DATA, read(ContentEncoding.DEFLATE.decode(new ByteArrayInputStream(raw.toByteArray()))));
+
+		// multiple codings
+		final byte[] encoded = encode(ContentEncoding.GZIP, encode(ContentEncoding.DEFLATE, DATA));
+		assertArrayEquals(DATA,
+				read(ContentEncoding.decode(new ByteArrayInputStream(encoded), "deflate, identity, x-gzip")));
+
+		assertArrayEquals(DATA, read(ContentEncoding.decode(new ByteArrayInputStream(DATA), null)));
+		assertArrayEquals(DATA, read(ContentEncoding.decode(new ByteArrayInputStream(DATA), "identity")));
+
+		assertTrue(ContentEncoding.isSupported("GZIP"));
+		assertFalse(ContentEncoding.isSupported("br"));
+		assertFalse(ContentEncoding.isSupported(null));
+		assertThrows(IOException.class, () -> ContentEncoding.decode(new ByteArrayInputStream(DATA), "gzip, br"));
+	}
+
+	@Test
+	public void testCompressingOutputStream() throws IOException {
+		final ByteArrayOutputStream target = new ByteArrayOutputStream();
+		final AtomicReference<Boolean> compressed = new AtomicReference<>();
+
+		CompressingOutputStream os = new CompressingOutputStream(c -> {
+			compressed.set(c);
+			return target;
+		}, ContentEncoding.GZIP, DATA.length);
+		os.write(DATA, 0, 10);
+		os.write(DATA, 10, DATA.length - 10);
+		os.flush();
+		assertEquals(0, target.size());
+		os.close();
+		assertFalse(compressed.get());
+		assertFalse(os.isCompressed());
+		assertArrayEquals(DATA, target.toByteArray());
+
+		target.reset();
+		os = new CompressingOutputStream(c -> {
+			compressed.set(c);
+			return target;
+		}, ContentEncoding.GZIP, 100);
+		os.write(DATA, 0, 10);
+		os.write(DATA, 10, DATA.length - 10);
+		os.close();
+		assertTrue(compressed.get());
+		assertTrue(os.isCompressed());
+		assertArrayEquals(DATA, read(ContentEncoding.GZIP.decode(new ByteArrayInputStream(target.toByteArray()))));
+	}
+
+	private static byte[] encode(ContentEncoding encoding, byte[] data) throws IOException {
+		final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+		try (OutputStream os = encoding.encode(encoded)) {
+			os.write(data);
+		}
+		return encoded.toByteArray();
+	}
+
+	private static byte[] read(InputStream stream) throws IOException {
+		final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (InputStream is = stream) {
+			final byte[] buffer = new byte[1024];
+			int read;
+			while ((read = is.read(buffer)) != -1) {
+				bos.write(buffer, 0, read);
+			}
+		}
+		return bos.toByteArray();
+	}
+
+}
@@ -18,10 +18,12 @@ package com.holonplatform.http.test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Locale;
 
@@ -65,4 +67,17 @@ public class TestHttp {
 
 	}
 
+	@Test
+	public void testHeaderDate() {
+		final long expected = 784111777000L;
+		assertEquals(expected, HttpUtils.parseHeaderDate("Sun, 06 Nov 1994 08:49:37 GMT").getTime());
+		assertEquals(expected, HttpUtils.parseHeaderDate("Sunday, 06-Nov-94 08:49:37 GMT").getTime());
+		assertEquals(expected, HttpUtils.parseHeaderDate("Sun, 06-Nov-94 08:49:37 GMT").getTime());
+		assertEquals(expected, HttpUtils.parseHeaderDate("Sun Nov  6 08:49:37 1994").getTime());
+		assertEquals(expected, HttpUtils.parseHeaderDate(
+				HttpUtils.RFC_1123_DATE_FORMATTER.format(Instant.ofEpochMilli(expected))).getTime());
+		assertNull(HttpUtils.parseHeaderDate("invalid"));
+		assertNull(HttpUtils.parseHeaderDate(null));
+	}
+
 }
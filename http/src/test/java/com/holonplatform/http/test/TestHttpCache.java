@@ -0,0 +1,395 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.http.CacheControl;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
+import com.holonplatform.http.internal.rest.AbstractRestClient;
+import com.holonplatform.http.internal.rest.CachedResponseEntity;
+import com.holonplatform.http.internal.rest.DefaultRequestDefinition;
+import com.holonplatform.http.internal.rest.HttpCacheEntry;
+import com.holonplatform.http.rest.HttpCache;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClient;
+
+public class TestHttpCache {
+
+	@Test
+	public void testCacheControlParse() {
+		CacheControl cc = CacheControl.parse("public, max-age=60, s-maxage=\"30\", no-cache, must-revalidate");
+		assertEquals(60, cc.getMaxAge());
+		assertEquals(30, cc.getSMaxAge());
+		assertTrue(cc.isNoCache());
+		assertTrue(cc.isMustRevalidate());
+		assertFalse(cc.isNoStore());
+		assertFalse(cc.isPrivate());
+
+		cc = CacheControl.parse("No-Store, private, max-age=x");
+		assertTrue(cc.isNoStore());
+		assertTrue(cc.isPrivate());
+		assertEquals(0, cc.getMaxAge());
+		assertEquals(-1, cc.getSMaxAge());
+
+		cc = CacheControl.parse(null);
+		assertEquals(-1, cc.getMaxAge());
+		assertFalse(cc.asHeader().isPresent());
+	}
+
+	@Test
+	public void testFreshResponses() {
+		final TestServer server = new TestServer();
+		server.headers.put(HttpHeaders.CACHE_CONTROL, "max-age=60");
+
+		final HttpCache cache = HttpCache.create();
+		final RestClient client = new TestRestClient(server).withCache(cache);
+
+		assertEquals("value1", client.request().path("data").getForEntity(String.class).orElse(null));
+		assertEquals("value1", client.request().path("data").getForEntity(String.class).orElse(null));
+		ResponseEntity<byte[]> response = client.request().path("data").get(byte[].class);
+		assertEquals(200, response.getStatusCode());
+		assertEquals("value1", new String(response.getPayload().orElse(null), StandardCharsets.UTF_8));
+		assertTrue(response.getHeaderValue(HttpHeaders.AGE).isPresent());
+		assertEquals(1, server.calls.get());
+
+		// different query parameters
+		assertEquals("value2",
+				client.request().path("data").queryParameter("q", "a").getForEntity(String.class).orElse(null));
+		assertEquals(2, server.calls.get());
+
+		// request no-cache
+		client.request().path("data").cacheControl(CacheControl.builder().noCache(true).build())
+				.getForEntity(String.class);
+		assertEquals(3, server.calls.get());
+
+		// request no-store
+		client.request().path("data").header(HttpHeaders.CACHE_CONTROL, "no-store").getForEntity(String.class);
+		assertEquals(4, server.calls.get());
+
+		assertEquals(2, cache.getMetrics().getHitCount());
+		assertEquals(3, cache.getMetrics().getMissCount());
+		assertEquals(2, cache.size());
+
+		// unsafe method invalidation
+		client.request().path("data").delete();
+		assertEquals(1, cache.size());
+		assertEquals("value6", client.request().path("data").getForEntity(String.class).orElse(null));
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		cache.resetMetrics();
+		assertEquals(0, cache.getMetrics().getHitCount());
+	}
+
+	@Test
+	public void testNotCacheableResponses() {
+		final TestServer server = new TestServer();
+		final HttpCache cache = HttpCache.builder().shared(true).build();
+		final RestClient client = new TestRestClient(server).withCache(cache);
+
+		// no freshness and no validators
+		client.request().path("data").getForEntity(String.class);
+		client.request().path("data").getForEntity(String.class);
+		assertEquals(2, server.calls.get());
+
+		server.headers.put(HttpHeaders.CACHE_CONTROL, "max-age=60, no-store");
+		client.request().path("data").getForEntity(String.class);
+		client.request().path("data").getForEntity(String.class);
+		assertEquals(4, server.calls.get());
+
+		// private in shared cache
+		server.headers.put(HttpHeaders.CACHE_CONTROL, "max-age=60, private");
+		client.request().path("data").getForEntity(String.class);
+		client.request().path("data").getForEntity(String.class);
+		assertEquals(6, server.calls.get());
+
+		// private in private cache
+		final RestClient privateClient = new TestRestClient(server)
+				.withCache(HttpCache.builder().shared(false).build());
+		privateClient.request().path("data").getForEntity(String.class);
+		privateClient.request().path("data").getForEntity(String.class);
+		assertEquals(7, server.calls.get());
+
+		// authorization in default (shared) cache
+		server.headers.put(HttpHeaders.CACHE_CONTROL, "max-age=60");
+		final RestClient defaultClient = new TestRestClient(server).withCache(HttpCache.create());
+		assertEquals("value8",
+				defaultClient.request().path("data").authorizationBearer("user1").getForEntity(String.class).get());
+		assertEquals("value9",
+				defaultClient.request().path("data").authorizationBearer("user2").getForEntity(String.class).get());
+		assertEquals(9, server.calls.get());
+
+		// Vary: *
+		server.headers.put(HttpHeaders.CACHE_CONTROL, "max-age=60");
+		server.headers.put(HttpHeaders.VARY, "*");
+		client.request().path("data").getForEntity(String.class);
+		client.request().path("data").getForEntity(String.class);
+		assertEquals(11, server.calls.get());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testVary() {
+		final TestServer server = new TestServer();
+		server.headers.put(HttpHeaders.CACHE_CONTROL, "max-age=60");
+		server.headers.put(HttpHeaders.VARY, "Accept-Language");
+		final RestClient client = new TestRestClient(server).withCache(HttpCache.create());
+
+		client.request().path("data").acceptLanguage("it").getForEntity(String.class);
+		client.request().path("data").acceptLanguage("it").getForEntity(String.class);
+		assertEquals(1, server.calls.get());
+		client.request().path("data").acceptLanguage("en").getForEntity(String.class);
+		assertEquals(2, server.calls.get());
+	}
+
+	@Test
+	public void testRevalidation() {
+		final TestServer server = new TestServer();
+		server.headers.put(HttpHeaders.CACHE_CONTROL, "no-cache");
+		server.headers.put(HttpHeaders.ETAG, "\"v1\"");
+		server.headers.put(HttpHeaders.LAST_MODIFIED, "Wed, 21 Oct 2015 07:28:00 GMT");
+
+		final HttpCache cache = HttpCache.create();
+		final RestClient client = new TestRestClient(server).withCache(cache);
+
+		assertEquals("value1", client.request().path("data").getForEntity(String.class).orElse(null));
+		assertEquals("value1", client.request().path("data").getForEntity(String.class).orElse(null));
+		assertEquals(2, server.calls.get());
+		assertEquals("\"v1\"", server.lastHeaders.get(HttpHeaders.IF_NONE_MATCH));
+		assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", server.lastHeaders.get(HttpHeaders.IF_MODIFIED_SINCE));
+		assertEquals(1, server.notModified.get());
+
+		// conditional headers are never added to the request definition
+		final RestClient.RequestDefinition request = client.request().path("data");
+		server.watched = request;
+		request.getForEntity(String.class);
+		assertEquals("\"v1\"", server.lastHeaders.get(HttpHeaders.IF_NONE_MATCH));
+		assertFalse(server.watchedHeaders.containsKey(HttpHeaders.IF_NONE_MATCH));
+		assertFalse(request.getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH));
+		server.watched = null;
+
+		// changed entity
+		server.headers.put(HttpHeaders.ETAG, "\"v2\"");
+		assertEquals("value4", client.request().path("data").getForEntity(String.class).orElse(null));
+		assertEquals("value4", client.request().path("data").getForEntity(String.class).orElse(null));
+		assertEquals(3, server.notModified.get());
+
+		assertEquals(0, cache.getMetrics().getHitCount());
+		assertEquals(1, cache.getMetrics().getMissCount());
+		assertEquals(4, cache.getMetrics().getRevalidationCount());
+		assertEquals(3, cache.getMetrics().getNotModifiedCount());
+
+		// stale response
+		server.headers.put(HttpHeaders.CACHE_CONTROL, "max-age=0");
+		client.request().path("stale").getForEntity(String.class);
+		client.request().path("stale").getForEntity(String.class);
+		assertEquals(4, server.notModified.get());
+	}
+
+	@Test
+	public void testUnsuccessfulResponses() {
+		final TestServer server = new TestServer();
+		server.headers.put(HttpHeaders.CACHE_CONTROL, "max-age=60");
+		server.status = 404;
+		final HttpCache cache = HttpCache.create();
+		final RestClient client = new TestRestClient(server).withCache(cache);
+
+		assertEquals(404, client.request().path("data").get(String.class).getStatusCode());
+		assertThrows(UnsuccessfulResponseException.class,
+				() -> client.request().path("data").getForEntity(String.class));
+		assertEquals(1, server.calls.get());
+		assertEquals(1, cache.getMetrics().getHitCount());
+	}
+
+	@Test
+	public void testEvictionAndDiskStore() throws IOException {
+		final Path directory = Files.createTempDirectory("holon-http-cache");
+		try {
+			final TestServer server = new TestServer();
+			server.headers.put(HttpHeaders.CACHE_CONTROL, "max-age=60");
+
+			HttpCache cache = HttpCache.builder().maxEntries(2).diskStore(directory, 1024 * 1024).build();
+			RestClient client = new TestRestClient(server).withCache(cache);
+
+			for (int i = 0; i < 4; i++) {
+				client.request().path("data").resolve("id", i).path("{id}").getForEntity(String.class);
+			}
+			assertEquals(4, server.calls.get());
+			assertEquals(4, cache.size());
+			assertEquals(2, cache.getMetrics().getEvictionCount());
+
+			// served from the disk store
+			assertEquals("value1",
+					client.request().path("data").resolve("id", 0).path("{id}").getForEntity(String.class)
+							.orElse(null));
+			assertEquals(4, server.calls.get());
+
+			// reload disk store
+			cache = HttpCache.builder().maxEntries(2).diskStore(directory, 1024 * 1024).build();
+			client = new TestRestClient(server).withCache(cache);
+			assertEquals(2, cache.size());
+			client.request().path("data").resolve("id", 1).path("{id}").getForEntity(String.class);
+			assertEquals(4, server.calls.get());
+
+			cache.clear();
+			try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+				assertEquals(0, files.count());
+			}
+
+			// memory size limit
+			cache = HttpCache.builder().maxSize(10).build();
+			client = new TestRestClient(server).withCache(cache);
+			client.request().path("data").getForEntity(String.class);
+			assertEquals(0, cache.size());
+		} finally {
+			try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+				files.forEach(f -> f.toFile().delete());
+			}
+			Files.deleteIfExists(directory);
+		}
+	}
+
+	@Test
+	public void testConcurrentEvictionAndDiskStore() throws Exception {
+		final Path directory = Files.createTempDirectory("holon-http-cache");
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final TestServer server = new TestServer();
+			server.headers.put(HttpHeaders.CACHE_CONTROL, "max-age=60");
+
+			final HttpCache cache = HttpCache.builder().maxEntries(3).diskStore(directory, 1024 * 1024).build();
+			final RestClient client = new TestRestClient(server).withCache(cache);
+
+			final int ids = 20;
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				final int offset = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 200; i++) {
+						assertTrue(client.request().path("data").resolve("id", (i + offset) % ids).path("{id}")
+								.getForEntity(String.class).isPresent());
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			assertEquals(ids, cache.size());
+
+			// all the entries are served by the cache
+			final int calls = server.calls.get();
+			for (int i = 0; i < ids; i++) {
+				client.request().path("data").resolve("id", i).path("{id}").getForEntity(String.class);
+			}
+			assertEquals(calls, server.calls.get());
+
+			cache.clear();
+			assertEquals(0, cache.size());
+		} finally {
+			executor.shutdownNow();
+			try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+				files.forEach(f -> f.toFile().delete());
+			}
+			Files.deleteIfExists(directory);
+		}
+	}
+
+	private static class TestServer {
+
+		final AtomicInteger calls = new AtomicInteger();
+		final AtomicInteger notModified = new AtomicInteger();
+		final Map<String, String> headers = new HashMap<>();
+		volatile Map<String, String> lastHeaders = Collections.emptyMap();
+		volatile RestClient.RequestDefinition watched;
+		volatile Map<String, String> watchedHeaders = Collections.emptyMap();
+		int status = 200;
+
+		HttpCacheEntry handle(RestClient.RequestDefinition request, HttpMethod method) {
+			final int call = calls.incrementAndGet();
+			lastHeaders = new HashMap<>(request.getHeaders());
+			final RestClient.RequestDefinition w = watched;
+			if (w != null) {
+				watchedHeaders = new HashMap<>(w.getHeaders());
+			}
+			final Map<String, List<String>> responseHeaders = new HashMap<>();
+			headers.forEach((n, v) -> responseHeaders.put(n, Collections.singletonList(v)));
+			responseHeaders.put(HttpHeaders.CONTENT_TYPE, Collections.singletonList("text/plain; charset=UTF-8"));
+			final long now = System.currentTimeMillis();
+			final String etag = headers.get(HttpHeaders.ETAG);
+			if (HttpMethod.GET == method && etag != null && etag.equals(lastHeaders.get(HttpHeaders.IF_NONE_MATCH))) {
+				notModified.incrementAndGet();
+				return new HttpCacheEntry("response", 304, responseHeaders, new byte[0], now, now,
+						Collections.emptyMap());
+			}
+			return new HttpCacheEntry("response", status, responseHeaders,
+					("value" + call).getBytes(StandardCharsets.UTF_8), now, now, Collections.emptyMap());
+		}
+
+	}
+
+	private static class TestRestClient extends AbstractRestClient {
+
+		private final TestServer server;
+
+		TestRestClient(TestServer server) {
+			super();
+			this.server = server;
+			defaultTarget(java.net.URI.create("http://localhost/test"));
+		}
+
+		@Override
+		public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
+				RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+			final ResponseEntity<T> response = new CachedResponseEntity<>(requestDefinition,
+					server.handle(requestDefinition, method), responseType);
+			if (onlySuccessfulStatusCode && response.getStatusCode() >= 300) {
+				throw new UnsuccessfulResponseException(response);
+			}
+			return response;
+		}
+
+		@Override
+		protected RequestDefinition buildDefinition() {
+			return new DefaultRequestDefinition(getInvoker());
+		}
+
+	}
+
+}
@@ -16,15 +16,19 @@
 package com.holonplatform.http.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -32,6 +36,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 import javax.servlet.ReadListener;
@@ -42,6 +47,7 @@ import javax.servlet.http.HttpSession;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 
+import com.holonplatform.http.ContentEncoding;
 import com.holonplatform.http.HttpHeaders;
 import com.holonplatform.http.HttpMethod;
 import com.holonplatform.http.servlet.ServletHttpRequest;
@@ -58,6 +64,14 @@ public class TestHttpRequest {
 
 		assertEquals("/", request.getContextPath());
 		assertEquals("application/json", request.getHeaderValue(HttpHeaders.ACCEPT).orElse(null));
+		assertEquals("application/json", request.getHeaderValue("accept").orElse(null));
+		assertFalse(request.getHeader(HttpHeaders.AUTHORIZATION).isPresent());
+		assertSame(request.getHeaders(), request.getHeaders());
+		assertEquals(2, request.getHeaders().size());
+		assertEquals(Locale.US, request.getLocale().orElse(null));
+		assertSame(request.getLocales(), request.getLocales());
+		assertEquals(Arrays.asList("v2a", "v2b"), request.getMultiValueRequestParameter("p2").orElse(null));
+		assertSame(request.getRequestParameters(), request.getRequestParameters());
 		assertEquals("en-us", request.getHeaderValue(HttpHeaders.ACCEPT_LANGUAGE).orElse(null));
 		assertNotNull(request.getHeader(HttpHeaders.ACCEPT).orElse(null));
 		assertEquals(1, request.getHeader(HttpHeaders.ACCEPT_LANGUAGE).get().size());
@@ -89,6 +103,24 @@ public class TestHttpRequest {
 		assertEquals("test", textBuilder.toString());
 	}
 
+	@Test
+	public void testServletHttpRequestCompressedBody() throws IOException {
+
+		final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+		try (OutputStream os = ContentEncoding.GZIP.encode(encoded)) {
+			os.write("compressed".getBytes(StandardCharsets.UTF_8));
+		}
+
+		HttpServletRequest servletRequest = buildHttpServletRequest("");
+		when(servletRequest.getInputStream()).thenReturn(new TestServletInputStream(encoded.toByteArray()));
+		when(servletRequest.getHeader(HttpHeaders.CONTENT_ENCODING)).thenReturn("gzip");
+
+		ServletHttpRequest request = ServletHttpRequest.create(servletRequest);
+		try (Reader reader = new InputStreamReader(request.getBody(), StandardCharsets.UTF_8)) {
+			assertEquals("compressed", new BufferedReader(reader).readLine());
+		}
+	}
+
 	@SuppressWarnings("resource")
 	private static HttpServletRequest buildHttpServletRequest(String content) throws IOException {
 
@@ -150,7 +182,11 @@ public class TestHttpRequest {
 		private int last = 0;
 
 		public TestServletInputStream(String content) {
-			bis = new ByteArrayInputStream(content.getBytes());
+			this(content.getBytes());
+		}
+
+		public TestServletInputStream(byte[] content) {
+			bis = new ByteArrayInputStream(content);
 		}
 
 		@Override
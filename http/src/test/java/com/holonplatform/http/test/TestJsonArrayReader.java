@@ -0,0 +1,174 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.http.internal.rest.AbstractRestClient;
+import com.holonplatform.http.internal.rest.CachedResponseEntity;
+import com.holonplatform.http.internal.rest.DefaultRequestDefinition;
+import com.holonplatform.http.internal.rest.HttpCacheEntry;
+import com.holonplatform.http.internal.rest.JsonArrayReader;
+import com.holonplatform.http.rest.HttpCache;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClient;
+
+public class TestJsonArrayReader {
+
+	@Test
+	public void testReader() throws IOException {
+		assertEquals(Arrays.asList("1", "\"a,]b\\\"c\"", "{\"x\":[1, {\"y\":\"}\"}]}", "null", "[]"),
+				read(" [1 , \"a,]b\\\"c\",\n{\"x\":[1, {\"y\":\"}\"}]}, null,[] ] "));
+		assertEquals(Collections.emptyList(), read("[]"));
+		assertEquals(Collections.emptyList(), read(" [ \n ] "));
+		assertEquals(Collections.emptyList(), read(""));
+		assertEquals(Collections.emptyList(), read("null"));
+		assertEquals(Arrays.asList("\"è\""), read("[\"è\"]"));
+
+		assertThrows(IOException.class, () -> read("{}"));
+		assertThrows(IOException.class, () -> read("[1,2"));
+		assertThrows(IOException.class, () -> read("[1,,2]"));
+		assertThrows(IOException.class, () -> read("[1,]"));
+		assertThrows(IOException.class, () -> read("[1}"));
+	}
+
+	@Test
+	public void testStream() {
+		final AtomicBoolean closed = new AtomicBoolean();
+		final RestClient client = new TestRestClient("[\"a\",\"b\",\"c\"]", closed);
+
+		try (Stream<String> stream = client.request().path("data").getAsStream(String.class)) {
+			assertEquals(Arrays.asList("\"a\"", "\"b\"", "\"c\""), stream.collect(Collectors.toList()));
+		}
+		assertTrue(closed.get());
+
+		// early close
+		closed.set(false);
+		try (Stream<String> stream = client.request().path("data").getAsStream(String.class)) {
+			assertEquals("\"a\"", stream.findFirst().orElse(null));
+		}
+		assertTrue(closed.get());
+
+		// malformed
+		closed.set(false);
+		final RestClient malformed = new TestRestClient("[1,2", closed);
+		assertThrows(HttpClientInvocationException.class,
+				() -> malformed.request().path("data").getAsStream(String.class).count());
+		assertTrue(closed.get());
+	}
+
+	@Test
+	public void testStreamWithCache() {
+		final AtomicBoolean closed = new AtomicBoolean();
+		final TestRestClient server = new TestRestClient("[\"a\",\"b\"]", closed);
+		final HttpCache cache = HttpCache.create();
+		final RestClient client = server.withCache(cache);
+
+		for (int i = 1; i <= 2; i++) {
+			closed.set(false);
+			try (Stream<String> stream = client.request().path("data").getAsStream(String.class)) {
+				// the response body is not read until the stream is consumed
+				assertFalse(closed.get());
+				assertEquals(Arrays.asList("\"a\"", "\"b\""), stream.collect(Collectors.toList()));
+			}
+			assertTrue(closed.get());
+			assertEquals(i, server.calls.get());
+		}
+		assertEquals(0, cache.size());
+	}
+
+	private static List<String> read(String json) throws IOException {
+		final List<String> elements = new ArrayList<>();
+		try (JsonArrayReader reader = new JsonArrayReader(
+				new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))) {
+			byte[] element;
+			while ((element = reader.next()) != null) {
+				elements.add(new String(element, StandardCharsets.UTF_8));
+			}
+			assertEquals(elements.size(), reader.getCount());
+		}
+		return elements;
+	}
+
+	private static class TestRestClient extends AbstractRestClient {
+
+		private final String body;
+		private final AtomicBoolean closed;
+		final AtomicInteger calls = new AtomicInteger();
+
+		TestRestClient(String body, AtomicBoolean closed) {
+			super();
+			this.body = body;
+			this.closed = closed;
+			defaultTarget(java.net.URI.create("http://localhost/test"));
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
+				RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+			assertEquals(InputStream.class, responseType.getType());
+			calls.incrementAndGet();
+			final long now = System.currentTimeMillis();
+			final Map<String, List<String>> headers = new HashMap<>();
+			headers.put(HttpHeaders.CONTENT_TYPE, Collections.singletonList("application/json"));
+			headers.put(HttpHeaders.CACHE_CONTROL, Collections.singletonList("max-age=60"));
+			final HttpCacheEntry entry = new HttpCacheEntry("test", 200, headers, body.getBytes(StandardCharsets.UTF_8),
+					now, now, Collections.emptyMap());
+			return (ResponseEntity<T>) new CachedResponseEntity<InputStream>(requestDefinition, entry,
+					ResponseType.of(InputStream.class)) {
+
+				@Override
+				public void close() {
+					closed.set(true);
+				}
+
+			};
+		}
+
+		@Override
+		protected RequestDefinition buildDefinition() {
+			return new DefaultRequestDefinition(getInvoker());
+		}
+
+	}
+
+}
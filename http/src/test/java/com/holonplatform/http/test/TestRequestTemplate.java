@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.internal.rest.AbstractRestClient;
+import com.holonplatform.http.internal.rest.DefaultRequestDefinition;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.RequestTemplate;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClient;
+import com.holonplatform.http.rest.RestClient.RequestDefinition;
+
+public class TestRequestTemplate {
+
+	@Test
+	public void testExpand() {
+		final RestClient client = new TestRestClient();
+		final RequestTemplate<RequestDefinition> template = client.template("/users/{id}/items/{item}");
+
+		assertEquals("/users/{id}/items/{item}", template.getPath());
+		assertEquals(Arrays.asList("id", "item"), template.getParameterNames());
+		assertEquals("http://localhost/api/users/1/items/a", template.expand(1, "a"));
+
+		final Map<String, Object> values = new HashMap<>();
+		values.put("item", "b");
+		values.put("id", 2);
+		assertEquals("http://localhost/api/users/2/items/b", template.expand(values));
+
+		assertThrows(IllegalArgumentException.class, () -> template.expand(1));
+		assertThrows(IllegalArgumentException.class, () -> template.expand(1, null));
+		assertThrows(IllegalArgumentException.class, () -> client.template("/users/{id"));
+
+		assertEquals("http://localhost/api/users/1/x/1",
+				client.template("users/{id}/x/{id:[0-9]+}").expand(1));
+		assertEquals("http://other/a/b", client.template(URI.create("http://other/"), "/a/b").expand());
+
+		assertThrows(IllegalStateException.class, () -> new TestRestClient(null).template("/test"));
+	}
+
+	@Test
+	public void testEncoding() {
+		final RestClient client = new TestRestClient();
+		final RequestTemplate<RequestDefinition> template = client.template("/search/{path}?q={q}");
+
+		assertEquals("http://localhost/api/search/a%2Fb%20c?q=x/y%26z%3D1",
+				template.expand("a/b c", "x/y&z=1"));
+		assertEquals("http://localhost/api/search/%C3%A8%F0%9F%98%80?q=%2B", template.expand("è😀", "+"));
+
+		final RequestTemplate<RequestDefinition> query = template.withQueryParameter("page", 1)
+				.withQueryParameter("tag", "a b", "c");
+		assertEquals("http://localhost/api/search/p?q=v&page=1&tag=a%20b&tag=c", query.expand("p", "v"));
+		assertEquals("http://localhost/api/search/p?q=v", template.expand("p", "v"));
+
+		assertEquals("http://localhost/api/list?size=10", client.template("/list").withQueryParameter("size", 10)
+				.expand());
+	}
+
+	@Test
+	public void testRequest() {
+		final RestClient client = new TestRestClient();
+		client.withDefaultHeader(HttpHeaders.ACCEPT_LANGUAGE, "it");
+		final RequestTemplate<RequestDefinition> template = client.template("/users/{id}")
+				.withHeader("X-Test", "a", "b").withQueryParameter("active", true);
+
+		final RequestDefinition definition = template.request(1);
+		assertEquals("http://localhost/api/users/{id}", definition.getRequestURI());
+		assertEquals(1, definition.getTemplateParameters().get("id"));
+		assertTrue(definition.getQueryParameters().containsKey("active"));
+		assertEquals("a, b", definition.getHeaders().get("X-Test"));
+		assertEquals("it", definition.getHeaders().get(HttpHeaders.ACCEPT_LANGUAGE));
+		assertEquals("http://localhost/api/users/1?active=true",
+				((DefaultRequestDefinition) definition).getExpandedRequestURI().orElse(null));
+
+		// the expanded URI is discarded when the URI definition changes
+		definition.queryParameter("other", 1);
+		assertFalse(((DefaultRequestDefinition) definition).getExpandedRequestURI().isPresent());
+
+		final DefaultRequestDefinition plain = (DefaultRequestDefinition) client.request().path("users");
+		assertFalse(plain.getExpandedRequestURI().isPresent());
+		assertEquals("http://localhost/api/users", plain.getRequestURI());
+		assertEquals("http://localhost/api/users", plain.getEncodedRequestURI());
+	}
+
+	@Test
+	public void testEncodedRequestURI() {
+		final RestClient client = new TestRestClient();
+		final RequestTemplate<RequestDefinition> template = client.template("/files/{name}")
+				.withQueryParameter("q", "x/y z");
+
+		final DefaultRequestDefinition definition = (DefaultRequestDefinition) template.request("a/b c");
+		final String expected = "http://localhost/api/files/a%2Fb%20c?q=x/y%20z";
+		assertEquals(expected, template.expand("a/b c"));
+		assertEquals(expected, definition.getEncodedRequestURI());
+
+		// the modified definition is encoded in the same way
+		definition.resolve("name", "a/b c");
+		assertFalse(definition.getExpandedRequestURI().isPresent());
+		assertEquals(expected, definition.getEncodedRequestURI());
+
+		final DefaultRequestDefinition plain = (DefaultRequestDefinition) client.request().path("files/{name}")
+				.resolve("name", "a/b c").queryParameter("q", "x/y z");
+		assertEquals(expected, plain.getEncodedRequestURI());
+
+		assertThrows(IllegalArgumentException.class,
+				() -> ((DefaultRequestDefinition) client.request().path("files/{name}")).getEncodedRequestURI());
+	}
+
+	private static class TestRestClient extends AbstractRestClient {
+
+		TestRestClient() {
+			this(URI.create("http://localhost/api"));
+		}
+
+		TestRestClient(URI target) {
+			super();
+			if (target != null) {
+				defaultTarget(target);
+			}
+		}
+
+		@Override
+		public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
+				RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		protected RequestDefinition buildDefinition() {
+			return new DefaultRequestDefinition(getInvoker());
+		}
+
+	}
+
+}
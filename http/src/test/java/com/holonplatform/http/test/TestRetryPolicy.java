@@ -0,0 +1,306 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.http.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.instrumentation.Instrumentation;
+import com.holonplatform.core.instrumentation.InstrumentationMetrics;
+import com.holonplatform.core.instrumentation.InstrumentationMetrics.OperationMetrics;
+import com.holonplatform.http.HttpHeaders;
+import com.holonplatform.http.HttpMethod;
+import com.holonplatform.http.HttpStatus;
+import com.holonplatform.http.exceptions.HttpClientInvocationException;
+import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
+import com.holonplatform.http.internal.rest.AbstractRestClient;
+import com.holonplatform.http.internal.rest.CachedResponseEntity;
+import com.holonplatform.http.internal.rest.DefaultRequestDefinition;
+import com.holonplatform.http.internal.rest.HttpCacheEntry;
+import com.holonplatform.http.rest.LatencyHistogram;
+import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.ResponseEntity;
+import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClient;
+import com.holonplatform.http.rest.RetryBudget;
+import com.holonplatform.http.rest.RetryPolicy;
+
+public class TestRetryPolicy {
+
+	@Test
+	public void testStatusClassification() {
+		assertTrue(HttpStatus.isClientErrorStatusCode(404));
+		assertFalse(HttpStatus.isClientErrorStatusCode(500));
+		assertTrue(HttpStatus.isServerErrorStatusCode(503));
+		assertFalse(HttpStatus.isServerErrorStatusCode(200));
+	}
+
+	@Test
+	public void testPolicy() {
+		final RetryPolicy policy = RetryPolicy.builder().backoff(100, 1000, TimeUnit.MILLISECONDS).build();
+		assertEquals(RetryPolicy.DEFAULT_MAX_ATTEMPTS, policy.getMaxAttempts());
+		assertTrue(policy.isRetryableMethod(HttpMethod.GET));
+		assertTrue(policy.isRetryableMethod(HttpMethod.PUT));
+		assertFalse(policy.isRetryableMethod(HttpMethod.POST));
+		assertFalse(policy.isRetryableMethod(HttpMethod.PATCH));
+		assertTrue(policy.isRetryableStatus(503));
+		assertTrue(policy.isRetryableStatus(429));
+		assertFalse(policy.isRetryableStatus(500));
+		assertTrue(policy.isRetryableException(new HttpClientInvocationException("test")));
+		assertFalse(policy.isRetryableException(new IllegalStateException()));
+
+		for (int i = 0; i < 100; i++) {
+			final long delay = policy.getDelay(3, null);
+			assertTrue(delay >= 0 && delay <= 200);
+			assertTrue(policy.getDelay(10, null) <= 1000);
+		}
+
+		final RetryPolicy fixed = RetryPolicy.builder().backoff(100, 1000, TimeUnit.MILLISECONDS).jitter(false)
+				.methods(HttpMethod.POST).statusCodes(500).retryOn(e -> e instanceof IllegalStateException).build();
+		assertEquals(100, fixed.getDelay(2, null));
+		assertEquals(400, fixed.getDelay(4, null));
+		assertEquals(1000, fixed.getDelay(10, null));
+		assertTrue(fixed.isRetryableMethod(HttpMethod.POST));
+		assertFalse(fixed.isRetryableMethod(HttpMethod.GET));
+		assertTrue(fixed.isRetryableStatus(500));
+		assertFalse(fixed.isRetryableStatus(503));
+		assertTrue(fixed.isRetryableException(new IllegalStateException()));
+
+		assertThrows(IllegalArgumentException.class, () -> RetryPolicy.builder().maxAttempts(0));
+		assertThrows(IllegalArgumentException.class,
+				() -> RetryPolicy.builder().backoff(10, 5, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void testBudget() {
+		final RetryBudget budget = RetryBudget.create(0.5, 0);
+		assertFalse(budget.tryWithdraw());
+		assertEquals(1, budget.getRejectedCount());
+		budget.deposit();
+		assertFalse(budget.tryWithdraw());
+		budget.deposit();
+		assertTrue(budget.tryWithdraw());
+		assertFalse(budget.tryWithdraw());
+		assertEquals(3, budget.getRejectedCount());
+
+		final RetryBudget reserve = RetryBudget.create(0, 2);
+		assertTrue(reserve.tryWithdraw());
+		assertTrue(reserve.tryWithdraw());
+		assertFalse(reserve.tryWithdraw());
+	}
+
+	@Test
+	public void testHistogram() {
+		final LatencyHistogram histogram = LatencyHistogram.create(0);
+		assertEquals(0, histogram.getValueAtPercentile(99));
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i);
+		}
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1, histogram.getMin());
+		assertEquals(1000, histogram.getMax());
+		assertEquals(500.5d, histogram.getMean(), 0.001d);
+		assertEquals(10, histogram.getValueAtPercentile(1));
+		assertEquals(500, histogram.getValueAtPercentile(50), 500 * 0.07);
+		assertEquals(950, histogram.getValueAtPercentile(95), 950 * 0.07);
+		assertEquals(1000, histogram.getValueAtPercentile(100));
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+
+		final LatencyHistogram decaying = LatencyHistogram.create(100);
+		for (int i = 0; i < 99; i++) {
+			decaying.record(10);
+		}
+		decaying.record(10);
+		assertEquals(50, decaying.getCount());
+		assertEquals(10, decaying.getMean(), 0.001d);
+		assertEquals(10, decaying.getMax());
+		for (int i = 0; i < 200; i++) {
+			decaying.record(1000);
+		}
+		assertEquals(1000, decaying.getValueAtPercentile(50), 1000 * 0.07);
+	}
+
+	@Test
+	public void testRetries() {
+		final TestServer server = new TestServer();
+		final RestClient client = new TestRestClient(server)
+				.withRetryPolicy(RetryPolicy.builder().backoff(0, 0, TimeUnit.MILLISECONDS).build());
+
+		server.statuses.add(503);
+		server.statuses.add(502);
+		assertEquals("value3", client.request().path("data").getForEntity(String.class).orElse(null));
+		assertEquals(3, server.calls.get());
+
+		// max attempts
+		server.calls.set(0);
+		server.statuses.add(503);
+		server.statuses.add(503);
+		server.statuses.add(503);
+		assertThrows(UnsuccessfulResponseException.class,
+				() -> client.request().path("data").getForEntity(String.class));
+		assertEquals(3, server.calls.get());
+		server.statuses.add(503);
+		server.statuses.add(503);
+		server.statuses.add(503);
+		assertEquals(503, client.request().path("data").get(String.class).getStatusCode());
+		assertEquals(6, server.calls.get());
+
+		// not retryable status
+		server.calls.set(0);
+		server.statuses.add(500);
+		assertEquals(500, client.request().path("data").get(String.class).getStatusCode());
+		assertEquals(1, server.calls.get());
+
+		// not idempotent method
+		server.calls.set(0);
+		server.statuses.add(503);
+		assertEquals(503, client.request().path("data").post(RequestEntity.text("x")).getStatusCode());
+		assertEquals(1, server.calls.get());
+
+		// invocation errors
+		server.calls.set(0);
+		server.failures.set(2);
+		assertEquals("value3", client.request().path("data").getForEntity(String.class).orElse(null));
+		assertEquals(3, server.calls.get());
+
+		// budget
+		final RetryBudget budget = RetryBudget.create(0, 1);
+		final RestClient budgeted = new TestRestClient(server).withRetryPolicy(
+				RetryPolicy.builder().backoff(0, 0, TimeUnit.MILLISECONDS).maxAttempts(5).budget(budget).build());
+		server.calls.set(0);
+		server.statuses.add(503);
+		server.statuses.add(503);
+		server.statuses.add(503);
+		assertEquals(503, budgeted.request().path("data").get(String.class).getStatusCode());
+		assertEquals(2, server.calls.get());
+		assertEquals(1, budget.getRejectedCount());
+		server.statuses.clear();
+	}
+
+	@Test
+	public void testRetryAfter() {
+		final TestServer server = new TestServer();
+		server.headers.put(HttpHeaders.RETRY_AFTER, "1");
+		final RetryPolicy policy = RetryPolicy.builder().backoff(0, 50, TimeUnit.MILLISECONDS).build();
+		final RestClient client = new TestRestClient(server).withRetryPolicy(policy);
+		assertTrue(client.getRetryPolicy().isPresent());
+
+		server.statuses.add(503);
+		final long start = System.currentTimeMillis();
+		assertEquals(200, client.request().path("data").get(String.class).getStatusCode());
+		final long elapsed = System.currentTimeMillis() - start;
+		assertTrue(elapsed >= 50 && elapsed < 1000);
+		assertEquals(2, server.calls.get());
+
+		client.withRetryPolicy(null);
+		assertFalse(client.getRetryPolicy().isPresent());
+	}
+
+	@Test
+	public void testInstrumentation() {
+		final TestServer server = new TestServer();
+		final InstrumentationMetrics metrics = Instrumentation.metrics();
+		final RestClient client = new TestRestClient(server).withInstrumentation(metrics)
+				.withRetryPolicy(RetryPolicy.builder().backoff(0, 0, TimeUnit.MILLISECONDS).build());
+		assertTrue(client.getInstrumentation().isPresent());
+
+		server.statuses.add(503);
+		assertEquals("value2", client.request().path("data").getForEntity(String.class).orElse(null));
+		server.statuses.add(500);
+		assertEquals(500, client.request().path("data").get(String.class).getStatusCode());
+
+		final OperationMetrics get = metrics.getMetrics(Instrumentation.REST_CLIENT, "GET", "http://localhost")
+				.orElse(null);
+		assertNotNull(get);
+		assertEquals(2, get.getCount());
+		assertEquals(1, get.getErrorCount());
+		assertEquals(0, get.getInFlight());
+		assertEquals(2, get.getLatency().getCount());
+
+		client.withInstrumentation(null);
+		assertFalse(client.getInstrumentation().isPresent());
+		client.request().path("data").get(String.class);
+		assertEquals(2, get.getCount());
+	}
+
+	private static class TestServer {
+
+		final AtomicInteger calls = new AtomicInteger();
+		final AtomicInteger failures = new AtomicInteger();
+		final Queue<Integer> statuses = new LinkedList<>();
+		final Map<String, String> headers = new HashMap<>();
+
+		HttpCacheEntry handle() {
+			final int call = calls.incrementAndGet();
+			if (failures.getAndUpdate(f -> Math.max(0, f - 1)) > 0) {
+				throw new HttpClientInvocationException("Connection reset");
+			}
+			final Integer status = statuses.poll();
+			final Map<String, List<String>> responseHeaders = new HashMap<>();
+			headers.forEach((n, v) -> responseHeaders.put(n, Collections.singletonList(v)));
+			responseHeaders.put(HttpHeaders.CONTENT_TYPE, Collections.singletonList("text/plain; charset=UTF-8"));
+			final long now = System.currentTimeMillis();
+			return new HttpCacheEntry("response", (status != null) ? status : 200, responseHeaders,
+					("value" + call).getBytes(StandardCharsets.UTF_8), now, now, Collections.emptyMap());
+		}
+
+	}
+
+	private static class TestRestClient extends AbstractRestClient {
+
+		private final TestServer server;
+
+		TestRestClient(TestServer server) {
+			super();
+			this.server = server;
+			defaultTarget(java.net.URI.create("http://localhost/test"));
+		}
+
+		@Override
+		public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
+				RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
+			final ResponseEntity<T> response = new CachedResponseEntity<>(requestDefinition, server.handle(),
+					responseType);
+			if (onlySuccessfulStatusCode && !HttpStatus.isSuccessStatusCode(response.getStatusCode())) {
+				throw new UnsuccessfulResponseException(response);
+			}
+			return response;
+		}
+
+		@Override
+		protected RequestDefinition buildDefinition() {
+			return new DefaultRequestDefinition(getInvoker());
+		}
+
+	}
+
+}
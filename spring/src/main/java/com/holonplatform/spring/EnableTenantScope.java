@@ -42,6 +42,20 @@ public @interface EnableTenantScope {
 	 */
 	public static final String TENANT_RESOLVER_PROPERTY_NAME = "holon.tenant-scope.tenant-resolver";
 
+	/**
+	 * Property which can be used to configure the max idle time, in seconds, of the tenant bean stores. It has the
+	 * same meaning of the {@link #maxIdleTime()} attribute, but higher precedence.
+	 * @since 5.6.0
+	 */
+	public static final String MAX_IDLE_TIME_PROPERTY_NAME = "holon.tenant-scope.max-idle-time";
+
+	/**
+	 * Property which can be used to configure the max number of tenant bean stores. It has the same meaning of the
+	 * {@link #maxTenants()} attribute, but higher precedence.
+	 * @since 5.6.0
+	 */
+	public static final String MAX_TENANTS_PROPERTY_NAME = "holon.tenant-scope.max-tenants";
+
 	/**
 	 * Configures the name of the {@link TenantResolver} type bean definition to be used to obtain the current tenant
 	 * id.
@@ -69,4 +83,26 @@ public @interface EnableTenantScope {
 	 */
 	boolean enableTenantScopeManager() default true;
 
+	/**
+	 * The max idle time, in seconds, after which the bean store of a tenant which was not accessed is evicted,
+	 * invoking the scoped beans destruction callbacks.
+	 * <p>
+	 * A <code>0</code> or negative value (the default) disables idle eviction.
+	 * </p>
+	 * @return The tenant bean stores max idle time in seconds
+	 * @since 5.6.0
+	 */
+	long maxIdleTime() default -1;
+
+	/**
+	 * The max number of tenant bean stores. When exceeded, the least recently accessed tenant bean store is evicted,
+	 * invoking the scoped beans destruction callbacks.
+	 * <p>
+	 * A <code>0</code> or negative value (the default) means no limit.
+	 * </p>
+	 * @return The max number of tenant bean stores
+	 * @since 5.6.0
+	 */
+	int maxTenants() default -1;
+
 }
@@ -31,4 +31,49 @@ public interface TenantScopeManager {
 	 */
 	void discardTenantBeanStore(String tenantId);
 
+	/**
+	 * Get the tenant bean stores statistics.
+	 * @return The current tenant bean stores statistics
+	 * @throws UnsupportedOperationException If the statistics are not supported by the concrete implementation
+	 *         (default)
+	 * @since 5.6.0
+	 */
+	default Statistics getStatistics() {
+		throw new UnsupportedOperationException("Tenant bean stores statistics are not supported");
+	}
+
+	/**
+	 * Tenant bean stores statistics.
+	 * 
+	 * @since 5.6.0
+	 */
+	public interface Statistics {
+
+		/**
+		 * Get the number of live tenant bean stores.
+		 * @return The live tenant bean stores count
+		 */
+		int getLiveBeanStores();
+
+		/**
+		 * Get the total number of tenant bean stores created.
+		 * @return The created tenant bean stores count
+		 */
+		long getCreatedBeanStores();
+
+		/**
+		 * Get the total number of tenant bean stores evicted because idle or because the max tenants limit was
+		 * exceeded.
+		 * @return The evicted tenant bean stores count
+		 */
+		long getEvictedBeanStores();
+
+		/**
+		 * Get the total number of tenant bean stores destroyed, either explicitly or by eviction.
+		 * @return The destroyed tenant bean stores count
+		 */
+		long getDestroyedBeanStores();
+
+	}
+
 }
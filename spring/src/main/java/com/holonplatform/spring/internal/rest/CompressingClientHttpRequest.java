@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.spring.internal.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.holonplatform.http.ContentEncoding;
+import com.holonplatform.http.internal.CompressingOutputStream;
+
+/**
+ * A {@link ClientHttpRequest} wrapper which compresses the request body using a {@link ContentEncoding} when its size
+ * exceeds a threshold, setting the <code>Content-Encoding</code> header accordingly.
+ * <p>
+ * {@link #finish()} must be invoked once the body is written, before the request is executed.
+ * </p>
+ *
+ * @since 5.6.0
+ */
+public class CompressingClientHttpRequest implements ClientHttpRequest {
+
+	private final ClientHttpRequest request;
+	private final ContentEncoding encoding;
+	private final int threshold;
+
+	private CompressingOutputStream body;
+
+	/**
+	 * Constructor.
+	 * @param request The concrete request (not null)
+	 * @param encoding The coding to use to compress the body (not null)
+	 * @param threshold The body size in bytes beyond which the body is compressed
+	 */
+	public CompressingClientHttpRequest(ClientHttpRequest request, ContentEncoding encoding, int threshold) {
+		super();
+		this.request = request;
+		this.encoding = encoding;
+		this.threshold = threshold;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.HttpRequest#getMethodValue()
+	 */
+	@Override
+	public String getMethodValue() {
+		return request.getMethodValue();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.HttpRequest#getMethod()
+	 */
+	@Override
+	public HttpMethod getMethod() {
+		return request.getMethod();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.HttpRequest#getURI()
+	 */
+	@Override
+	public URI getURI() {
+		return request.getURI();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.HttpMessage#getHeaders()
+	 */
+	@Override
+	public HttpHeaders getHeaders() {
+		return request.getHeaders();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.HttpOutputMessage#getBody()
+	 */
+	@Override
+	public OutputStream getBody() throws IOException {
+		if (body == null) {
+			body = new CompressingOutputStream(compressed -> {
+				if (compressed) {
+					final HttpHeaders headers = request.getHeaders();
+					headers.set(HttpHeaders.CONTENT_ENCODING, encoding.getEncodingName());
+					// the compressed length is not known in advance
+					headers.remove(HttpHeaders.CONTENT_LENGTH);
+				}
+				return request.getBody();
+			}, encoding, threshold);
+		}
+		return body;
+	}
+
+	/**
+	 * Complete the request body writing, if the body was written.
+	 * @throws IOException If an I/O error occurred
+	 */
+	public void finish() throws IOException {
+		if (body != null) {
+			body.finish();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.client.ClientHttpRequest#execute()
+	 */
+	@Override
+	public ClientHttpResponse execute() throws IOException {
+		finish();
+		return request.execute();
+	}
+
+}
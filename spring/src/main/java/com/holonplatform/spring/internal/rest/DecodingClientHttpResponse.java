@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.spring.internal.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import com.holonplatform.http.ContentEncoding;
+
+/**
+ * A {@link ClientHttpResponse} wrapper which decodes the response body according to the <code>Content-Encoding</code>
+ * header, streaming. The <code>Content-Encoding</code> and <code>Content-Length</code> headers, which refer to the
+ * encoded body, are not exposed.
+ *
+ * @since 5.6.0
+ */
+public class DecodingClientHttpResponse implements ClientHttpResponse {
+
+	private final ClientHttpResponse response;
+	private final String contentEncoding;
+	private final HttpHeaders headers;
+
+	private InputStream body;
+
+	/**
+	 * Constructor.
+	 * @param response The concrete response
+	 * @param contentEncoding The response content encoding
+	 */
+	private DecodingClientHttpResponse(ClientHttpResponse response, String contentEncoding) {
+		super();
+		this.response = response;
+		this.contentEncoding = contentEncoding;
+		final HttpHeaders responseHeaders = new HttpHeaders();
+		responseHeaders.putAll(response.getHeaders());
+		responseHeaders.remove(HttpHeaders.CONTENT_ENCODING);
+		responseHeaders.remove(HttpHeaders.CONTENT_LENGTH);
+		this.headers = HttpHeaders.readOnlyHttpHeaders(responseHeaders);
+	}
+
+	/**
+	 * Wrap given response to decode its body, if it declares a supported content encoding.
+	 * @param response The response to wrap
+	 * @return The decoding response, or given response if it is not encoded or its encoding is not supported
+	 */
+	public static ClientHttpResponse of(ClientHttpResponse response) {
+		final String contentEncoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+		if (ContentEncoding.isSupported(contentEncoding)) {
+			return new DecodingClientHttpResponse(response, contentEncoding);
+		}
+		return response;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.HttpInputMessage#getBody()
+	 */
+	@Override
+	public InputStream getBody() throws IOException {
+		if (body == null) {
+			body = ContentEncoding.decode(response.getBody(), contentEncoding);
+		}
+		return body;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.HttpMessage#getHeaders()
+	 */
+	@Override
+	public HttpHeaders getHeaders() {
+		return headers;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.client.ClientHttpResponse#getStatusCode()
+	 */
+	@Override
+	public HttpStatus getStatusCode() throws IOException {
+		return response.getStatusCode();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.client.ClientHttpResponse#getRawStatusCode()
+	 */
+	@Override
+	public int getRawStatusCode() throws IOException {
+		return response.getRawStatusCode();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.client.ClientHttpResponse#getStatusText()
+	 */
+	@Override
+	public String getStatusText() throws IOException {
+		return response.getStatusText();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.http.client.ClientHttpResponse#close()
+	 */
+	@Override
+	public void close() {
+		response.close();
+	}
+
+}
@@ -16,28 +16,38 @@
 package com.holonplatform.spring.internal.rest;
 
 import java.io.IOException;
+import java.net.URI;
+import java.util.function.Supplier;
 
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.holonplatform.http.ContentEncoding;
 import com.holonplatform.http.HttpMethod;
 import com.holonplatform.http.HttpStatus;
 import com.holonplatform.http.MediaType;
 import com.holonplatform.http.exceptions.HttpClientInvocationException;
 import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
 import com.holonplatform.http.internal.HttpUtils;
+import com.holonplatform.http.internal.rest.AbstractRequestDefinition;
 import com.holonplatform.http.internal.rest.AbstractRestClient;
+import com.holonplatform.http.internal.rest.CachedResponseFactory;
 import com.holonplatform.http.internal.rest.DefaultRequestDefinition;
+import com.holonplatform.http.internal.rest.HttpCacheEntry;
 import com.holonplatform.http.rest.RequestEntity;
 import com.holonplatform.http.rest.ResponseEntity;
 import com.holonplatform.http.rest.ResponseType;
+import com.holonplatform.http.rest.RestClientOperations.RequestConfiguration;
 import com.holonplatform.spring.SpringRestClient;
 
 /**
@@ -87,12 +97,19 @@ public class RestTemplateRestClient extends AbstractRestClient implements Spring
 	public <T, R> ResponseEntity<T> invoke(RequestDefinition requestDefinition, HttpMethod method,
 			RequestEntity<R> requestEntity, ResponseType<T> responseType, boolean onlySuccessfulStatusCode) {
 
-		// URI
-		final UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(requestDefinition.getRequestURI());
-		// query parameters
-		requestDefinition.getQueryParameters().forEach((n, v) -> builder.queryParam(n, v));
-		// template parameters
-		final String uri = builder.buildAndExpand(requestDefinition.getTemplateParameters()).toUriString();
+		// URI encoded as a request template does, if supported
+		final boolean encoded = requestDefinition instanceof AbstractRequestDefinition;
+		final String uri;
+		if (encoded) {
+			uri = ((AbstractRequestDefinition<?>) requestDefinition).getEncodedRequestURI();
+		} else {
+			// URI
+			final UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(requestDefinition.getRequestURI());
+			// query parameters
+			requestDefinition.getQueryParameters().forEach((n, v) -> builder.queryParam(n, v));
+			// template parameters
+			uri = builder.buildAndExpand(requestDefinition.getTemplateParameters()).toUriString();
+		}
 
 		// headers
 		HttpHeaders headers = new HttpHeaders();
@@ -109,12 +126,14 @@ public class RestTemplateRestClient extends AbstractRestClient implements Spring
 		}
 
 		// get response, checking propertySet
+		final Supplier<org.springframework.http.ResponseEntity<Resource>> invocation = encoded
+				? () -> invoke(URI.create(uri), requestMethod, entity, responseType)
+				: () -> invoke(uri, requestMethod, entity, responseType);
 		final org.springframework.http.ResponseEntity<Resource> response;
 		if (requestDefinition.getPropertySet().isPresent()) {
-			response = requestDefinition.getPropertySet().get()
-					.execute(() -> invoke(uri, requestMethod, entity, responseType));
+			response = requestDefinition.getPropertySet().get().execute(invocation::get);
 		} else {
-			response = invoke(uri, requestMethod, entity, responseType);
+			response = invocation.get();
 		}
 
 		// check error status code
@@ -135,7 +154,30 @@ public class RestTemplateRestClient extends AbstractRestClient implements Spring
 	 */
 	@Override
 	protected RequestDefinition buildDefinition() {
-		return new DefaultRequestDefinition(this);
+		return new DefaultRequestDefinition(getInvoker());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.http.internal.rest.AbstractRestClient#getCachedResponseFactory()
+	 */
+	@Override
+	protected CachedResponseFactory getCachedResponseFactory() {
+		return new CachedResponseFactory() {
+
+			@Override
+			public <T> ResponseEntity<T> create(RequestConfiguration<?> request, HttpCacheEntry entry,
+					ResponseType<T> responseType) {
+				final HttpHeaders headers = new HttpHeaders();
+				headers.putAll(entry.getResponseHeaders(System.currentTimeMillis()));
+				return new SpringResponseEntity<>(
+						org.springframework.http.ResponseEntity.status(entry.getStatusCode()).headers(headers)
+								.body(new ByteArrayResource(entry.getBody())),
+						responseType, getRestTemplate().getMessageConverters(),
+						request.getPropertySet().orElse(null));
+			}
+
+		};
 	}
 
 	/**
@@ -150,12 +192,64 @@ public class RestTemplateRestClient extends AbstractRestClient implements Spring
 	protected <T> org.springframework.http.ResponseEntity<Resource> invoke(String uri,
 			org.springframework.http.HttpMethod requestMethod, HttpEntity<?> request, ResponseType<T> responseType) {
 		try {
-			return getRestTemplate().exchange(uri, requestMethod, request, Resource.class);
+			return getRestTemplate().execute(uri, requestMethod, getRequestCallback(request), getResponseExtractor());
+		} catch (Exception e) {
+			throw new HttpClientInvocationException(e);
+		}
+	}
+
+	/**
+	 * Invoke for a response using an already encoded request URI
+	 * @param <T> Response payload type
+	 * @param uri Encoded URI
+	 * @param requestMethod Method
+	 * @param request Request entity
+	 * @param responseType Expected response payload type
+	 * @return Response entity
+	 * @since 5.6.0
+	 */
+	protected <T> org.springframework.http.ResponseEntity<Resource> invoke(URI uri,
+			org.springframework.http.HttpMethod requestMethod, HttpEntity<?> request, ResponseType<T> responseType) {
+		try {
+			return getRestTemplate().execute(uri, requestMethod, getRequestCallback(request), getResponseExtractor());
 		} catch (Exception e) {
 			throw new HttpClientInvocationException(e);
 		}
 	}
 
+	/**
+	 * Get the {@link RequestCallback} which writes given request entity, compressing the request body if the content
+	 * coding support is enabled.
+	 * @param request Request entity
+	 * @return The request callback
+	 * @since 5.6.0
+	 */
+	protected RequestCallback getRequestCallback(HttpEntity<?> request) {
+		final RequestCallback callback = getRestTemplate().httpEntityCallback(request, Resource.class);
+		final ContentEncoding encoding = getCompression().orElse(null);
+		if (encoding == null || !request.hasBody()) {
+			return callback;
+		}
+		final int threshold = getCompressionThreshold();
+		return r -> {
+			final CompressingClientHttpRequest compressing = new CompressingClientHttpRequest(r, encoding, threshold);
+			callback.doWithRequest(compressing);
+			compressing.finish();
+		};
+	}
+
+	/**
+	 * Get the {@link ResponseExtractor} which reads the response, decoding the response body according to its content
+	 * encoding.
+	 * @return The response extractor
+	 * @since 5.6.0
+	 */
+	protected ResponseExtractor<org.springframework.http.ResponseEntity<Resource>> getResponseExtractor() {
+		final ResponseExtractor<org.springframework.http.ResponseEntity<Resource>> extractor = getRestTemplate()
+				.responseEntityExtractor(Resource.class);
+		return r -> extractor.extractData(DecodingClientHttpResponse.of(r));
+	}
+
 	private static final String APPLICATION_FORM_URLENCODED_MEDIA_TYPE = MediaType.APPLICATION_FORM_URLENCODED
 			.toString();
 
@@ -65,4 +65,17 @@ public class DefaultTenantScopeManager implements TenantScopeManager {
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.spring.TenantScopeManager#getStatistics()
+	 */
+	@Override
+	public Statistics getStatistics() {
+		final TenantScope tenantScope = tenantScopeRef.get();
+		if (tenantScope != null) {
+			return tenantScope.getStatistics();
+		}
+		return new TenantScope.DefaultStatistics(0, 0, 0, 0);
+	}
+
 }
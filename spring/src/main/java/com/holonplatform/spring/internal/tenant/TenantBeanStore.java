@@ -53,7 +53,12 @@ class TenantBeanStore implements Serializable {
 	 */
 	private final DestructionCallback destructionCallback;
 
-	private boolean destroyed = false;
+	private volatile boolean destroyed = false;
+
+	/**
+	 * Last access time, in nanoseconds
+	 */
+	private volatile long lastAccessTime;
 
 	/**
 	 * Constructor with store destruction callback
@@ -63,6 +68,7 @@ class TenantBeanStore implements Serializable {
 	public TenantBeanStore(String name, DestructionCallback destructionCallback) {
 		this.name = name;
 		this.destructionCallback = destructionCallback;
+		this.lastAccessTime = System.nanoTime();
 	}
 
 	/**
@@ -73,6 +79,40 @@ class TenantBeanStore implements Serializable {
 		this(name, null);
 	}
 
+	/**
+	 * Get the bean store name.
+	 * @return The bean store name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Get whether this bean store has been destroyed.
+	 * @return <code>true</code> if this bean store has been destroyed
+	 */
+	public boolean isDestroyed() {
+		return destroyed;
+	}
+
+	/**
+	 * Get the last access time of this bean store, as returned by {@link System#nanoTime()}.
+	 * @return The last access time
+	 */
+	public long getLastAccessTime() {
+		return lastAccessTime;
+	}
+
+	/**
+	 * Set the last access time of this bean store.
+	 * @param time The access time, as returned by {@link System#nanoTime()}
+	 */
+	void touch(long time) {
+		if (lastAccessTime != time) {
+			lastAccessTime = time;
+		}
+	}
+
 	/**
 	 * Get the bean instance with given <code>beanName</code>.
 	 * @param beanName      Bean name to obtain
@@ -126,32 +166,30 @@ class TenantBeanStore implements Serializable {
 	/**
 	 * Destroy this bean store
 	 */
-	public void destroy() {
+	public synchronized void destroy() {
 		if (destroyed) {
 			LOGGER.debug(() -> this + " has already been destroyed, ignoring");
 			return;
 		}
-		try {
-			LOGGER.debug(() -> "Destroying " + this);
-
-			for (Runnable destructionCallback : destructionCallbacks.values()) {
-				try {
-					destructionCallback.run();
-				} catch (Exception e) {
-					LOGGER.error("TenantBeanStore destruction callback failed", e);
-				}
+		destroyed = true;
+
+		LOGGER.debug(() -> "Destroying " + this);
+
+		for (Runnable destructionCallback : destructionCallbacks.values()) {
+			try {
+				destructionCallback.run();
+			} catch (Exception e) {
+				LOGGER.error("TenantBeanStore destruction callback failed", e);
 			}
-			destructionCallbacks.clear();
-			objectMap.clear();
-			if (destructionCallback != null) {
-				try {
-					destructionCallback.beanStoreDestroyed(this);
-				} catch (Exception e) {
-					LOGGER.error("TenantBeanStore final destruction callback failed", e);
-				}
+		}
+		destructionCallbacks.clear();
+		objectMap.clear();
+		if (destructionCallback != null) {
+			try {
+				destructionCallback.beanStoreDestroyed(this);
+			} catch (Exception e) {
+				LOGGER.error("TenantBeanStore final destruction callback failed", e);
 			}
-		} finally {
-			destroyed = true;
 		}
 	}
 
@@ -3,21 +3,40 @@ package com.holonplatform.spring.internal.tenant;
 import java.io.Serializable;
 import java.lang.ref.WeakReference;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.Scope;
 
 import com.holonplatform.core.internal.Logger;
-import com.holonplatform.core.internal.Logger.Level;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.tenancy.TenantResolver;
+import com.holonplatform.spring.TenantScopeManager;
 import com.holonplatform.spring.internal.SpringLogger;
 
 /**
  * Spring scope related to current tenant id using a {@link TenantResolver}.
+ * <p>
+ * The tenant bean stores can be automatically evicted when they are not accessed for a configured idle time, or when
+ * the number of tenant bean stores exceeds a configured maximum. In the latter case, the least recently accessed bean
+ * store is evicted. When a bean store is evicted, the scoped beans destruction callbacks are invoked.
+ * </p>
+ * <p>
+ * The idle bean stores eviction and the evicted bean stores destruction are performed by a background thread, so that
+ * the scoped beans destruction callbacks are not invoked in the thread which is accessing a tenant scoped bean.
+ * </p>
  */
 public class TenantScope implements Scope {
 
@@ -41,18 +60,36 @@ public class TenantScope implements Scope {
 	 */
 	private final TenantBeanStoresManager storesManager;
 
+	/**
+	 * Singleton tenant resolver
+	 */
+	private volatile TenantResolver tenantResolver;
+
 	/**
 	 * Construct a new TenantScope
 	 * @param tenantResolverBeanName TenantResolver bean name
 	 * @param beanFactory BeanFactory
 	 */
 	public TenantScope(String tenantResolverBeanName, BeanFactory beanFactory) {
+		this(tenantResolverBeanName, beanFactory, -1, -1);
+	}
+
+	/**
+	 * Construct a new TenantScope
+	 * @param tenantResolverBeanName TenantResolver bean name
+	 * @param beanFactory BeanFactory
+	 * @param maxIdleTime Max idle time in milliseconds after which a tenant bean store is evicted, <code>0</code> or
+	 *        negative to disable idle time eviction
+	 * @param maxTenants Max number of tenant bean stores, <code>0</code> or negative for no limit
+	 * @since 5.6.0
+	 */
+	public TenantScope(String tenantResolverBeanName, BeanFactory beanFactory, long maxIdleTime, int maxTenants) {
 		super();
 		ObjectUtils.argumentNotNull(tenantResolverBeanName, "Tenant resolver bean name must be not null");
 		ObjectUtils.argumentNotNull(beanFactory, "BeanFactory must be not null");
 		this.tenantResolverBeanName = tenantResolverBeanName;
 		this.beanFactory = new WeakReference<>(beanFactory);
-		this.storesManager = new TenantBeanStoresManager();
+		this.storesManager = new TenantBeanStoresManager(maxIdleTime, maxTenants);
 	}
 
 	@Override
@@ -85,6 +122,7 @@ public class TenantScope implements Scope {
 	 */
 	public void destroy() {
 		this.storesManager.destroy();
+		this.tenantResolver = null;
 	}
 
 	/**
@@ -97,27 +135,46 @@ public class TenantScope implements Scope {
 		this.storesManager.destroy(tenantId);
 	}
 
+	/**
+	 * Get the tenant bean stores statistics.
+	 * @return The tenant bean stores statistics
+	 * @since 5.6.0
+	 */
+	public TenantScopeManager.Statistics getStatistics() {
+		return this.storesManager.getStatistics();
+	}
+
 	/**
 	 * Get the {@link TenantBeanStore} for current tenant id
 	 * @return TenantBeanStore
 	 */
-	private synchronized TenantBeanStore getBeanStore() {
-		return storesManager.getBeanStore(getTenantResolver().getTenantId()
+	private TenantBeanStore getBeanStore() {
+		final TenantResolver resolver = getTenantResolver();
+		return storesManager.getBeanStore(resolver.getTenantId()
 				.orElseThrow(() -> new IllegalStateException("No tenant id available from the TenantResolver ["
-						+ getTenantResolver() + "] - Tenant resolver bean name: [" + tenantResolverBeanName + "]")));
+						+ resolver + "] - Tenant resolver bean name: [" + tenantResolverBeanName + "]")));
 	}
 
 	/**
-	 * Get the {@link TenantResolver} to use from the BeanFactory.
+	 * Get the {@link TenantResolver} to use from the BeanFactory. If the {@link TenantResolver} bean is a singleton,
+	 * the instance is cached and the BeanFactory is no longer queried.
 	 * @return The TenantResolver bean instance
 	 */
 	private TenantResolver getTenantResolver() throws IllegalStateException {
+		final TenantResolver cached = tenantResolver;
+		if (cached != null) {
+			return cached;
+		}
 		final BeanFactory factory = beanFactory.get();
 		if (factory == null) {
 			throw new IllegalStateException("A BeanFactory is not available");
 		}
 		try {
-			return factory.getBean(tenantResolverBeanName, TenantResolver.class);
+			final TenantResolver resolver = factory.getBean(tenantResolverBeanName, TenantResolver.class);
+			if (factory.isSingleton(tenantResolverBeanName)) {
+				tenantResolver = resolver;
+			}
+			return resolver;
 		} catch (Exception e) {
 			throw new IllegalStateException("Tenant scope: failed to obtain a valid TenantResolver", e);
 		}
@@ -142,40 +199,297 @@ public class TenantScope implements Scope {
 		 */
 		private final Map<String, TenantBeanStore> stores = new ConcurrentHashMap<>();
 
+		/**
+		 * Max idle time in nanoseconds, 0 if disabled
+		 */
+		private final long maxIdleTime;
+
+		/**
+		 * Max bean stores, 0 if no limit
+		 */
+		private final int maxTenants;
+
+		/**
+		 * Next idle bean stores eviction check time, in nanoseconds
+		 */
+		private final AtomicLong nextIdleCheck = new AtomicLong();
+
+		/**
+		 * Statistics
+		 */
+		private final LongAdder created = new LongAdder();
+		private final LongAdder evicted = new LongAdder();
+		private final LongAdder destroyed = new LongAdder();
+
+		/**
+		 * Bean stores in access order, from the least recently accessed, <code>null</code> if there is no max bean
+		 * stores limit. Guarded by {@link #recencyLock}.
+		 */
+		private final transient LinkedHashMap<String, TenantBeanStore> recency;
+
+		/**
+		 * Lock for the bean stores access order
+		 */
+		private final transient ReentrantLock recencyLock = new ReentrantLock();
+
+		/**
+		 * Bean stores eviction executor, <code>null</code> if eviction is disabled
+		 */
+		private final transient ThreadPoolExecutor evictionExecutor;
+
+		/**
+		 * Constructor with no eviction.
+		 */
+		TenantBeanStoresManager() {
+			this(-1, -1);
+		}
+
+		/**
+		 * Constructor
+		 * @param maxIdleTime Max idle time in milliseconds, <code>0</code> or negative to disable
+		 * @param maxTenants Max bean stores, <code>0</code> or negative for no limit
+		 */
+		TenantBeanStoresManager(long maxIdleTime, int maxTenants) {
+			super();
+			this.maxIdleTime = (maxIdleTime > 0) ? TimeUnit.MILLISECONDS.toNanos(maxIdleTime) : 0;
+			this.maxTenants = (maxTenants > 0) ? maxTenants : 0;
+			this.nextIdleCheck.set(System.nanoTime() + this.maxIdleTime);
+			this.recency = (this.maxTenants > 0) ? new LinkedHashMap<>(16, 0.75f, true) : null;
+			if (this.maxIdleTime > 0 || this.maxTenants > 0) {
+				// at most one thread, terminated when idle
+				this.evictionExecutor = new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+						r -> {
+							final Thread thread = new Thread(r, "tenant-scope-eviction");
+							thread.setDaemon(true);
+							return thread;
+						});
+			} else {
+				this.evictionExecutor = null;
+			}
+		}
+
 		/**
 		 * Get (and creta if not present) the TenantBeanStore associated with given <code>tenantId</code>.
 		 * @param tenantId Tenant id
 		 * @return TenantBeanStore
 		 */
-		@SuppressWarnings("serial")
 		public TenantBeanStore getBeanStore(final String tenantId) {
-			TenantBeanStore beanStore = stores.get(tenantId);
-			if (beanStore == null) {
-				beanStore = new TenantBeanStore(tenantId, new TenantBeanStore.DestructionCallback() {
+			if (maxIdleTime <= 0 && maxTenants <= 0) {
+				final TenantBeanStore beanStore = stores.get(tenantId);
+				return (beanStore == null || beanStore.isDestroyed()) ? createBeanStore(tenantId) : beanStore;
+			}
+			final long now = System.nanoTime();
+			// touch atomically with respect to eviction, which is performed under the same map entry lock
+			TenantBeanStore beanStore = stores.computeIfPresent(tenantId, (id, current) -> {
+				current.touch(now);
+				return current;
+			});
+			if (beanStore == null || beanStore.isDestroyed()) {
+				beanStore = createBeanStore(tenantId);
+			} else if (recency != null && recencyLock.tryLock()) {
+				// the access order update is skipped under contention, approximating the LRU order
+				try {
+					recency.get(tenantId);
+				} finally {
+					recencyLock.unlock();
+				}
+			}
+			if (maxIdleTime > 0) {
+				scheduleIdleEviction(now);
+			}
+			return beanStore;
+		}
 
-					@Override
-					public void beanStoreDestroyed(TenantBeanStore beanStore) {
-						removeBeanStore(tenantId);
+		/**
+		 * Get or create the TenantBeanStore associated with given <code>tenantId</code>, replacing any destroyed one.
+		 * @param tenantId Tenant id
+		 * @return TenantBeanStore
+		 */
+		@SuppressWarnings("serial")
+		private TenantBeanStore createBeanStore(final String tenantId) {
+			while (true) {
+				final TenantBeanStore beanStore = stores.computeIfAbsent(tenantId, id -> {
+					final TenantBeanStore tbs = new TenantBeanStore(id, new TenantBeanStore.DestructionCallback() {
+
+						@Override
+						public void beanStoreDestroyed(TenantBeanStore beanStore) {
+							removeBeanStore(beanStore);
+						}
+
+					});
+					created.increment();
+					LOGGER.debug(() -> "Added [" + tbs + "] to: " + this);
+					return tbs;
+				});
+				if (!beanStore.isDestroyed()) {
+					if (recency != null) {
+						recencyLock.lock();
+						try {
+							recency.put(tenantId, beanStore);
+						} finally {
+							recencyLock.unlock();
+						}
+						if (stores.size() > maxTenants) {
+							evictLeastRecentlyUsed(beanStore);
+						}
 					}
+					return beanStore;
+				}
+				// concurrently destroyed
+				stores.remove(tenantId, beanStore);
+			}
+		}
 
-				});
-				stores.put(tenantId, beanStore);
+		/**
+		 * Removes the given TenantBeanStore, if it is the one currently associated to its tenant id.
+		 * @param beanStore The bean store to remove
+		 */
+		void removeBeanStore(final TenantBeanStore beanStore) {
+			if (stores.remove(beanStore.getName(), beanStore)) {
+				removeRecency(beanStore);
+				destroyed.increment();
+				LOGGER.debug(() -> "Removed [" + beanStore + "] from: " + this);
+			}
+		}
 
-				if (LOGGER.isEnabled(Level.DEBUG)) {
-					final TenantBeanStore tbs = beanStore;
-					LOGGER.debug(() -> "Added [" + tbs + "] to: " + this);
+		/**
+		 * Schedule the eviction of the bean stores which were not accessed for more than the max idle time. The check
+		 * is performed at most once in half the max idle time.
+		 * @param now Current time in nanoseconds
+		 */
+		private void scheduleIdleEviction(long now) {
+			final long next = nextIdleCheck.get();
+			if (now - next < 0 || !nextIdleCheck.compareAndSet(next, now + Math.max(maxIdleTime / 2, 1))) {
+				return;
+			}
+			try {
+				evictionExecutor.execute(this::evictIdle);
+			} catch (@SuppressWarnings("unused") RejectedExecutionException e) {
+				// destroyed
+			}
+		}
+
+		/**
+		 * Evict the bean stores which were not accessed for more than the max idle time.
+		 */
+		void evictIdle() {
+			final long now = System.nanoTime();
+			for (TenantBeanStore beanStore : stores.values()) {
+				if (now - beanStore.getLastAccessTime() > maxIdleTime) {
+					if (evict(beanStore, bs -> now - bs.getLastAccessTime() > maxIdleTime, false)) {
+						LOGGER.debug(() -> "Evicted idle bean store [" + beanStore + "]");
+					}
 				}
 			}
-			return beanStore;
 		}
 
 		/**
-		 * Removes the TenantBeanStore associated to given <code>tenantId</code>, if any.
-		 * @param tenantId Tenant id
+		 * Evict the least recently accessed bean stores until the max bean stores limit is satisfied. The evicted bean
+		 * stores are destroyed using the eviction executor.
+		 * @param current The current bean store, which is never evicted
 		 */
-		void removeBeanStore(final String tenantId) {
-			final TenantBeanStore removed = stores.remove(tenantId);
-			LOGGER.debug(() -> "Removed [" + removed + "] from: " + this);
+		private void evictLeastRecentlyUsed(TenantBeanStore current) {
+			while (stores.size() > maxTenants) {
+				final TenantBeanStore eldest = getLeastRecentlyUsed(current);
+				if (eldest == null) {
+					return;
+				}
+				final long lastAccessTime = eldest.getLastAccessTime();
+				if (evict(eldest, bs -> bs.getLastAccessTime() == lastAccessTime, true)) {
+					LOGGER.debug(
+							() -> "Max tenants [" + maxTenants + "] exceeded: evicted bean store [" + eldest + "]");
+				} else {
+					// concurrently accessed
+					recencyLock.lock();
+					try {
+						recency.get(eldest.getName());
+					} finally {
+						recencyLock.unlock();
+					}
+				}
+			}
+		}
+
+		/**
+		 * Get the least recently accessed bean store, discarding the stale access order entries, if any.
+		 * @param current The current bean store, which is never returned
+		 * @return The least recently accessed bean store, <code>null</code> if none
+		 */
+		private TenantBeanStore getLeastRecentlyUsed(TenantBeanStore current) {
+			recencyLock.lock();
+			try {
+				final Iterator<TenantBeanStore> iterator = recency.values().iterator();
+				while (iterator.hasNext()) {
+					final TenantBeanStore beanStore = iterator.next();
+					if (stores.get(beanStore.getName()) != beanStore) {
+						// no longer bound to its tenant id
+						iterator.remove();
+					} else if (beanStore != current) {
+						return beanStore;
+					}
+				}
+				return null;
+			} finally {
+				recencyLock.unlock();
+			}
+		}
+
+		/**
+		 * Remove given bean store from the access order, if it is still the one bound to its tenant id.
+		 * @param beanStore The bean store
+		 */
+		private void removeRecency(TenantBeanStore beanStore) {
+			if (recency != null) {
+				recencyLock.lock();
+				try {
+					recency.remove(beanStore.getName(), beanStore);
+				} finally {
+					recencyLock.unlock();
+				}
+			}
+		}
+
+		/**
+		 * Evict given bean store if it is still the one bound to its tenant id and it matches given condition. The
+		 * condition is checked and the bean store removed atomically with respect to the bean store access in
+		 * {@link #getBeanStore(String)}, then the bean store is destroyed.
+		 * @param beanStore The bean store to evict
+		 * @param condition The eviction condition
+		 * @param async Whether to destroy the bean store using the eviction executor
+		 * @return <code>true</code> if the bean store was evicted
+		 */
+		private boolean evict(TenantBeanStore beanStore, Predicate<TenantBeanStore> condition, boolean async) {
+			final boolean[] removed = new boolean[1];
+			stores.computeIfPresent(beanStore.getName(), (id, current) -> {
+				if (current == beanStore && condition.test(current)) {
+					removed[0] = true;
+					return null;
+				}
+				return current;
+			});
+			if (removed[0]) {
+				removeRecency(beanStore);
+				evicted.increment();
+				destroyed.increment();
+				if (async) {
+					try {
+						evictionExecutor.execute(beanStore::destroy);
+						return true;
+					} catch (@SuppressWarnings("unused") RejectedExecutionException e) {
+						// destroyed
+					}
+				}
+				beanStore.destroy();
+			}
+			return removed[0];
+		}
+
+		/**
+		 * Get the bean stores statistics.
+		 * @return The bean stores statistics
+		 */
+		TenantScopeManager.Statistics getStatistics() {
+			return new DefaultStatistics(stores.size(), created.sum(), evicted.sum(), destroyed.sum());
 		}
 
 		void destroy(String tenantId) {
@@ -193,6 +507,13 @@ public class TenantScope implements Scope {
 
 			LOGGER.debug(() -> "Destroying [" + this + "]");
 
+			if (evictionExecutor != null) {
+				// run the pending tasks, including the evicted bean stores destruction
+				for (Runnable task : evictionExecutor.shutdownNow()) {
+					task.run();
+				}
+			}
+
 			for (TenantBeanStore beanStore : new HashSet<>(stores.values())) {
 				beanStore.destroy();
 			}
@@ -205,4 +526,52 @@ public class TenantScope implements Scope {
 
 	}
 
+	/**
+	 * Default {@link TenantScopeManager.Statistics} implementation.
+	 */
+	static class DefaultStatistics implements TenantScopeManager.Statistics {
+
+		private final int liveBeanStores;
+		private final long createdBeanStores;
+		private final long evictedBeanStores;
+		private final long destroyedBeanStores;
+
+		DefaultStatistics(int liveBeanStores, long createdBeanStores, long evictedBeanStores,
+				long destroyedBeanStores) {
+			super();
+			this.liveBeanStores = liveBeanStores;
+			this.createdBeanStores = createdBeanStores;
+			this.evictedBeanStores = evictedBeanStores;
+			this.destroyedBeanStores = destroyedBeanStores;
+		}
+
+		@Override
+		public int getLiveBeanStores() {
+			return liveBeanStores;
+		}
+
+		@Override
+		public long getCreatedBeanStores() {
+			return createdBeanStores;
+		}
+
+		@Override
+		public long getEvictedBeanStores() {
+			return evictedBeanStores;
+		}
+
+		@Override
+		public long getDestroyedBeanStores() {
+			return destroyedBeanStores;
+		}
+
+		@Override
+		public String toString() {
+			return "TenantScopeStatistics [liveBeanStores=" + liveBeanStores + ", createdBeanStores="
+					+ createdBeanStores + ", evictedBeanStores=" + evictedBeanStores + ", destroyedBeanStores="
+					+ destroyedBeanStores + "]";
+		}
+
+	}
+
 }
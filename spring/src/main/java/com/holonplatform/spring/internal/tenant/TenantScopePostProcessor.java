@@ -16,6 +16,7 @@
 package com.holonplatform.spring.internal.tenant;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
@@ -51,15 +52,32 @@ public class TenantScopePostProcessor implements BeanFactoryPostProcessor {
 	 */
 	private final boolean enableTenantScopeManager;
 
+	/**
+	 * Tenant bean stores max idle time in seconds
+	 */
+	private final long maxIdleTime;
+
+	/**
+	 * Max tenant bean stores
+	 */
+	private final int maxTenants;
+
 	/**
 	 * The tenant scope
 	 */
 	private TenantScope tenantScope;
 
 	public TenantScopePostProcessor(String tenantResolver, boolean enableTenantScopeManager) {
+		this(tenantResolver, enableTenantScopeManager, -1, -1);
+	}
+
+	public TenantScopePostProcessor(String tenantResolver, boolean enableTenantScopeManager, long maxIdleTime,
+			int maxTenants) {
 		super();
 		this.tenantResolver = tenantResolver;
 		this.enableTenantScopeManager = enableTenantScopeManager;
+		this.maxIdleTime = maxIdleTime;
+		this.maxTenants = maxTenants;
 	}
 
 	/*
@@ -94,7 +112,8 @@ public class TenantScopePostProcessor implements BeanFactoryPostProcessor {
 					"The tenant scope cannot be registered: missing TenantResolver bean definition name");
 		}
 
-		tenantScope = new TenantScope(tenantResolverBeanName, beanFactory);
+		tenantScope = new TenantScope(tenantResolverBeanName, beanFactory,
+				(maxIdleTime > 0) ? TimeUnit.SECONDS.toMillis(maxIdleTime) : -1, maxTenants);
 
 		beanFactory.registerScope(TenantScope.SCOPE_NAME, tenantScope);
 
@@ -62,9 +62,20 @@ public class TenantScopeRegistrar implements ImportBeanDefinitionRegistrar, Envi
 			boolean enableTenantScopeManager = BeanRegistryUtils.getAnnotationValue(attributes,
 					"enableTenantScopeManager", true);
 
+			// eviction
+			long maxIdleTime = BeanRegistryUtils.getAnnotationValue(attributes, "maxIdleTime", -1L);
+			if (environment.containsProperty(EnableTenantScope.MAX_IDLE_TIME_PROPERTY_NAME)) {
+				maxIdleTime = environment.getProperty(EnableTenantScope.MAX_IDLE_TIME_PROPERTY_NAME, Long.class, -1L);
+			}
+			int maxTenants = BeanRegistryUtils.getAnnotationValue(attributes, "maxTenants", -1);
+			if (environment.containsProperty(EnableTenantScope.MAX_TENANTS_PROPERTY_NAME)) {
+				maxTenants = environment.getProperty(EnableTenantScope.MAX_TENANTS_PROPERTY_NAME, Integer.class, -1);
+			}
+
 			final BeanDefinitionBuilder postProcessorBuilder = BeanDefinitionBuilder
 					.genericBeanDefinition(TenantScopePostProcessor.class).setDestroyMethodName("unregister")
 					.addConstructorArgValue(tenantResolver).addConstructorArgValue(enableTenantScopeManager)
+					.addConstructorArgValue(maxIdleTime).addConstructorArgValue(maxTenants)
 					.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
 			registry.registerBeanDefinition(TENANT_SCOPE_POST_PROCESSOR_NAME, postProcessorBuilder.getBeanDefinition());
 
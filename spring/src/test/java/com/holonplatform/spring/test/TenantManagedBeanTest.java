@@ -23,14 +23,21 @@ public class TenantManagedBeanTest implements Serializable {
 
 	private static final long serialVersionUID = -3226380157091323902L;
 
-	private boolean destroyed;
+	private volatile boolean destroyed;
+
+	private volatile String destroyThreadName;
 
 	public boolean isDestroyed() {
 		return destroyed;
 	}
 
+	public String getDestroyThreadName() {
+		return destroyThreadName;
+	}
+
 	@PreDestroy
 	public void preDestroy() {
+		destroyThreadName = Thread.currentThread().getName();
 		destroyed = true;
 	}
 
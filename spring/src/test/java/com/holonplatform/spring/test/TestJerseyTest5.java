@@ -0,0 +1,302 @@
+/*
+ * Copyright 2016-2018 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.spring.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.Application;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.TestProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import com.holonplatform.test.JerseyTest5;
+
+/**
+ * Tests for the {@link JerseyTest5} test container lifecycles, driving the test lifecycle methods directly.
+ */
+public class TestJerseyTest5 {
+
+	@Path("ping")
+	public static class PingResource {
+
+		@GET
+		public String ping() {
+			return "pong";
+		}
+
+	}
+
+	abstract static class LifecycleApp extends JerseyTest5 {
+
+		final AtomicInteger resets = new AtomicInteger();
+		volatile boolean failReset = false;
+
+		@Override
+		protected Application configure() {
+			set(CONTAINER_LIFECYCLE, lifecycle());
+			return new ResourceConfig(PingResource.class);
+		}
+
+		abstract ContainerLifecycle lifecycle();
+
+		@Override
+		protected void resetState() throws Exception {
+			resets.incrementAndGet();
+			if (failReset) {
+				throw new IllegalStateException("reset failed");
+			}
+		}
+
+		int port() {
+			return getPort();
+		}
+
+		URI baseUri() {
+			return getBaseUri();
+		}
+
+		String ping() {
+			return target("ping").request().get(String.class);
+		}
+
+	}
+
+	static class PerMethodApp extends LifecycleApp {
+
+		@Override
+		protected Application configure() {
+			// avoid conflicts with the default port
+			set(TestProperties.CONTAINER_PORT, 0);
+			return super.configure();
+		}
+
+		@Override
+		ContainerLifecycle lifecycle() {
+			return ContainerLifecycle.PER_METHOD;
+		}
+
+	}
+
+	static class PerClassApp extends LifecycleApp {
+
+		@Override
+		ContainerLifecycle lifecycle() {
+			return ContainerLifecycle.PER_CLASS;
+		}
+
+	}
+
+	static class PerSuiteApp1 extends LifecycleApp {
+
+		@Override
+		ContainerLifecycle lifecycle() {
+			return ContainerLifecycle.PER_SUITE;
+		}
+
+		@Override
+		protected Object getSharedContainerKey() {
+			return "jersey-test-5-suite";
+		}
+
+	}
+
+	static class PerSuiteApp2 extends PerSuiteApp1 {
+
+	}
+
+	@Test
+	public void testPort() {
+		final PerClassApp shared = new PerClassApp();
+		// free port for the shared containers
+		assertEquals(0, shared.port());
+
+		final LifecycleApp perMethod = new LifecycleApp() {
+
+			@Override
+			ContainerLifecycle lifecycle() {
+				return ContainerLifecycle.PER_METHOD;
+			}
+
+		};
+		assertEquals(TestProperties.DEFAULT_CONTAINER_PORT, perMethod.port());
+		assertEquals(0, new PerMethodApp().port());
+	}
+
+	@Test
+	public void testPerMethod() throws Exception {
+		final PerMethodApp app = new PerMethodApp();
+		app.setUp();
+		final Client client = app.client();
+		try {
+			assertTrue(app.port() > 0);
+			assertEquals("pong", app.ping());
+		} finally {
+			app.tearDown();
+		}
+		assertEquals(0, app.resets.get());
+		// the client is closed
+		assertThrows(IllegalStateException.class, () -> client.target("http://localhost"));
+	}
+
+	@Test
+	public void testPerClass() throws Exception {
+		final PerClassApp app1 = new PerClassApp();
+		final PerClassApp app2 = new PerClassApp();
+
+		app1.setUp();
+		final Client client = app1.client();
+		final URI uri = app1.baseUri();
+		final int port = app1.port();
+		try {
+			assertTrue(port > 0);
+			assertNotEquals(TestProperties.DEFAULT_CONTAINER_PORT, port);
+			assertEquals("pong", app1.ping());
+		} finally {
+			app1.tearDown();
+		}
+		assertEquals(1, app1.resets.get());
+
+		// shared by the test methods of the class
+		app2.setUp();
+		try {
+			assertSame(client, app2.client());
+			assertEquals(uri, app2.baseUri());
+			assertEquals("pong", app2.ping());
+		} finally {
+			app2.tearDown();
+		}
+		assertEquals(1, app2.resets.get());
+
+		// stopped after the test class
+		JerseyTest5.releaseSharedContainer(testInfo(PerClassApp.class));
+		assertThrows(IllegalStateException.class, () -> client.target(uri));
+		final Client probe = ClientBuilder.newClient();
+		try {
+			assertThrows(ProcessingException.class,
+					() -> probe.target(uri).path("ping").request().get(String.class));
+		} finally {
+			probe.close();
+		}
+
+		// a new container is started
+		final PerClassApp app3 = new PerClassApp();
+		app3.setUp();
+		try {
+			assertNotSame(client, app3.client());
+			assertEquals("pong", app3.ping());
+		} finally {
+			app3.tearDown();
+			JerseyTest5.releaseSharedContainer(testInfo(PerClassApp.class));
+		}
+	}
+
+	@Test
+	public void testPerSuite() throws Exception {
+		final PerSuiteApp1 app1 = new PerSuiteApp1();
+		app1.setUp();
+		final Client client = app1.client();
+		final URI uri = app1.baseUri();
+		try {
+			assertTrue(app1.port() > 0);
+			assertEquals("pong", app1.ping());
+		} finally {
+			app1.tearDown();
+		}
+
+		// not released at the end of the test class
+		JerseyTest5.releaseSharedContainer(testInfo(PerSuiteApp1.class));
+
+		// shared by the test classes with the same key
+		final PerSuiteApp2 app2 = new PerSuiteApp2();
+		app2.setUp();
+		try {
+			assertSame(client, app2.client());
+			assertEquals(uri, app2.baseUri());
+			assertEquals("pong", app2.ping());
+		} finally {
+			app2.tearDown();
+		}
+		assertEquals(1, app1.resets.get());
+		assertEquals(1, app2.resets.get());
+	}
+
+	@Test
+	public void testResetStateFailure() throws Exception {
+		final PerClassApp app = new PerClassApp();
+		app.setUp();
+		final Client client = app.client();
+		app.failReset = true;
+		assertThrows(IllegalStateException.class, () -> app.tearDown());
+		assertEquals(1, app.resets.get());
+
+		// the shared container is still available
+		final PerClassApp next = new PerClassApp();
+		next.setUp();
+		try {
+			assertSame(client, next.client());
+			assertEquals("pong", next.ping());
+		} finally {
+			next.tearDown();
+			JerseyTest5.releaseSharedContainer(testInfo(PerClassApp.class));
+		}
+	}
+
+	private static TestInfo testInfo(Class<?> testClass) {
+		return new TestInfo() {
+
+			@Override
+			public String getDisplayName() {
+				return testClass.getSimpleName();
+			}
+
+			@Override
+			public Set<String> getTags() {
+				return Collections.emptySet();
+			}
+
+			@Override
+			public Optional<Class<?>> getTestClass() {
+				return Optional.of(testClass);
+			}
+
+			@Override
+			public Optional<Method> getTestMethod() {
+				return Optional.empty();
+			}
+
+		};
+	}
+
+}
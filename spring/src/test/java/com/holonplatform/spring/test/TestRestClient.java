@@ -16,20 +16,26 @@
 package com.holonplatform.spring.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.FormParam;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -37,8 +43,14 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Application;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.StreamingOutput;
 
@@ -52,15 +64,20 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.FormHttpMessageConverter;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 
 import com.holonplatform.core.internal.utils.ConversionUtils;
+import com.holonplatform.http.ContentEncoding;
 import com.holonplatform.http.HttpResponse;
 import com.holonplatform.http.HttpStatus;
 import com.holonplatform.http.exceptions.UnsuccessfulResponseException;
+import com.holonplatform.http.rest.HttpCache;
 import com.holonplatform.http.rest.RequestEntity;
+import com.holonplatform.http.rest.RequestTemplate;
 import com.holonplatform.http.rest.ResponseEntity;
 import com.holonplatform.http.rest.RestClient;
+import com.holonplatform.http.rest.RestClient.RequestDefinition;
 import com.holonplatform.spring.EnableBeanContext;
 import com.holonplatform.spring.SpringRestClient;
 import com.holonplatform.test.JerseyTest5;
@@ -88,6 +105,8 @@ public class TestRestClient extends JerseyTest5 {
 		SLF4JBridgeHandler.install();
 	}
 
+	static final AtomicInteger CACHED_CALLS = new AtomicInteger();
+
 	@Path("test")
 	public static class TestResource {
 
@@ -109,6 +128,13 @@ public class TestRestClient extends JerseyTest5 {
 			return Response.ok().type(MediaType.APPLICATION_JSON).entity(new TestData(id, "value" + id)).build();
 		}
 
+		@GET
+		@Path("segment/{value}")
+		@Produces(MediaType.TEXT_PLAIN)
+		public String getSegment(@PathParam("value") String value) {
+			return value;
+		}
+
 		@GET
 		@Path("data")
 		@Produces(MediaType.APPLICATION_JSON)
@@ -154,6 +180,42 @@ public class TestRestClient extends JerseyTest5 {
 			return Response.accepted().build();
 		}
 
+		@GET
+		@Path("cached/{id}")
+		@Produces(MediaType.APPLICATION_JSON)
+		public Response getCached(@PathParam("id") int id, @Context Request request) {
+			CACHED_CALLS.incrementAndGet();
+			final EntityTag etag = new EntityTag("v" + id);
+			final CacheControl cacheControl = new CacheControl();
+			cacheControl.setNoCache(true);
+			final ResponseBuilder notModified = request.evaluatePreconditions(etag);
+			if (notModified != null) {
+				return notModified.cacheControl(cacheControl).build();
+			}
+			return Response.ok().type(MediaType.APPLICATION_JSON).entity(new TestData(id, "value" + id)).tag(etag)
+					.cacheControl(cacheControl).build();
+		}
+
+		@POST
+		@Path("compressed")
+		@Consumes(MediaType.TEXT_PLAIN)
+		public Response postCompressed(@HeaderParam(HttpHeaders.CONTENT_ENCODING) String contentEncoding,
+				@HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding, InputStream body)
+				throws IOException {
+			final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+			try (InputStream is = ContentEncoding.decode(body, contentEncoding)) {
+				StreamUtils.copy(is, decoded);
+			}
+			final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+			try (OutputStream os = ContentEncoding.GZIP.encode(encoded)) {
+				decoded.writeTo(os);
+			}
+			return Response.ok(encoded.toByteArray()).type(MediaType.TEXT_PLAIN)
+					.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+					.header("X-Request-Encoding", (contentEncoding != null) ? contentEncoding : "none")
+					.header("X-Accept-Encoding", acceptEncoding).build();
+		}
+
 		@GET
 		@Path("status/400")
 		public Response get400() {
@@ -305,6 +367,7 @@ public class TestRestClient extends JerseyTest5 {
 
 	@Override
 	protected Application configure() {
+		set(CONTAINER_LIFECYCLE, ContainerLifecycle.PER_CLASS);
 		return new ResourceConfig(TestResource.class);
 	}
 
@@ -322,6 +385,10 @@ public class TestRestClient extends JerseyTest5 {
 		assertNotNull(td);
 		assertEquals(2, tds.size());
 
+		try (Stream<TestData> stream = client.request().path("test").path("data").getAsStream(TestData.class)) {
+			assertEquals(tds, stream.collect(Collectors.toList()));
+		}
+
 		ResponseEntity<?> rspe = client.request().path("test").path("data/{id}").resolve("id", 1).get(TestData.class);
 		assertEquals(TestData.class, rspe.getPayloadType());
 
@@ -341,6 +408,83 @@ public class TestRestClient extends JerseyTest5 {
 		assertEquals(HttpStatus.OK, rsp.getStatus());
 	}
 
+	@Test
+	public void testCache() {
+
+		final HttpCache cache = HttpCache.create();
+		final RestClient client = SpringRestClient.create(restTemplate).defaultTarget(getBaseUri()).withCache(cache);
+		CACHED_CALLS.set(0);
+
+		TestData td = client.request().path("test").path("cached/{id}").resolve("id", 3).getForEntity(TestData.class)
+				.orElse(null);
+		assertNotNull(td);
+		assertEquals("value3", td.getValue());
+
+		td = client.request().path("test").path("cached/{id}").resolve("id", 3).getForEntity(TestData.class)
+				.orElse(null);
+		assertNotNull(td);
+		assertEquals(3, td.getCode());
+		assertEquals("value3", td.getValue());
+
+		ResponseEntity<TestData> rsp = client.request().path("test").path("cached/{id}").resolve("id", 3)
+				.get(TestData.class);
+		assertEquals(HttpStatus.OK, rsp.getStatus());
+		assertTrue(rsp.as(String.class).orElse("").contains("value3"));
+
+		assertEquals(3, CACHED_CALLS.get());
+		assertEquals(1, cache.getMetrics().getMissCount());
+		assertEquals(2, cache.getMetrics().getNotModifiedCount());
+	}
+
+	@Test
+	public void testTemplate() {
+		final RestClient client = SpringRestClient.create(restTemplate).defaultTarget(getBaseUri());
+		final RequestTemplate<RequestDefinition> template = client.template("test/data/{id}");
+
+		for (int i = 1; i <= 3; i++) {
+			TestData td = template.request(i).getForEntity(TestData.class).orElse(null);
+			assertNotNull(td);
+			assertEquals(i, td.getCode());
+			assertEquals("value" + i, td.getValue());
+		}
+
+		TestData td = template.request(1).resolve("id", 2).getForEntity(TestData.class).orElse(null);
+		assertNotNull(td);
+		assertEquals(2, td.getCode());
+
+		// same encoding when the definition is modified
+		final RequestTemplate<RequestDefinition> segment = client.template("test/segment/{value}");
+		assertEquals("a/b c", segment.request("a/b c").getForEntity(String.class).orElse(null));
+		assertEquals("a/b c", segment.request("x").resolve("value", "a/b c").getForEntity(String.class).orElse(null));
+		assertEquals("a/b c",
+				client.request().path("test/segment/{value}").resolve("value", "a/b c").getForEntity(String.class)
+						.orElse(null));
+	}
+
+	@Test
+	public void testCompression() {
+		final RestClient client = SpringRestClient.create(restTemplate).defaultTarget(getBaseUri())
+				.withCompression(ContentEncoding.GZIP, 64);
+
+		final String small = "small";
+		ResponseEntity<String> rsp = client.request().path("test").path("compressed")
+				.post(RequestEntity.text(small), String.class);
+		assertEquals(small, rsp.getPayload().orElse(null));
+		assertEquals("none", rsp.getHeaderValue("X-Request-Encoding").orElse(null));
+		assertEquals(ContentEncoding.ACCEPT_ALL, rsp.getHeaderValue("X-Accept-Encoding").orElse(null));
+		assertFalse(rsp.getHeaderValue(HttpHeaders.CONTENT_ENCODING).isPresent());
+
+		final String large = Stream.generate(() -> "compressed").limit(100).collect(Collectors.joining(","));
+		rsp = client.request().path("test").path("compressed").post(RequestEntity.text(large), String.class);
+		assertEquals(large, rsp.getPayload().orElse(null));
+		assertEquals("gzip", rsp.getHeaderValue("X-Request-Encoding").orElse(null));
+
+		client.withCompression(null);
+		rsp = client.request().path("test").path("compressed").post(RequestEntity.text(large), String.class);
+		assertEquals(large, rsp.getPayload().orElse(null));
+		assertEquals("none", rsp.getHeaderValue("X-Request-Encoding").orElse(null));
+	}
+
 	@Test
 	public void testFactory() {
 
@@ -0,0 +1,129 @@
+package com.holonplatform.spring.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.holonplatform.core.tenancy.TenantResolver;
+import com.holonplatform.spring.EnableTenantScope;
+import com.holonplatform.spring.ScopeTenant;
+import com.holonplatform.spring.TenantScopeManager;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = TestTenantScopeEviction.Config.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class TestTenantScopeEviction {
+
+	private static final ThreadLocal<String> CURRENT_TENANT_ID = new ThreadLocal<>();
+
+	@Configuration
+	@EnableTenantScope(maxTenants = 2, maxIdleTime = 1)
+	protected static class Config {
+
+		@Bean
+		public TenantResolver tenantResolver() {
+			return () -> Optional.ofNullable(CURRENT_TENANT_ID.get());
+		}
+
+		@Bean
+		@ScopeTenant
+		public TenantManagedBeanTest tenantManagedBeanTest() {
+			return new TenantManagedBeanTest();
+		}
+
+	}
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@Autowired
+	private TenantScopeManager manager;
+
+	private TenantManagedBeanTest getBean(String tenantId) {
+		try {
+			CURRENT_TENANT_ID.set(tenantId);
+			return applicationContext.getBean(TenantManagedBeanTest.class);
+		} finally {
+			CURRENT_TENANT_ID.remove();
+		}
+	}
+
+	private static void awaitDestroyed(TenantManagedBeanTest bean) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + 5000;
+		while (!bean.isDestroyed() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+	}
+
+	@Test
+	public void testMaxTenants() throws InterruptedException {
+
+		final TenantManagedBeanTest t1 = getBean("T1");
+		final TenantManagedBeanTest t2 = getBean("T2");
+		assertSame(t1, getBean("T1"));
+
+		assertEquals(2, manager.getStatistics().getLiveBeanStores());
+
+		// T2 is the least recently used
+		final TenantManagedBeanTest t3 = getBean("T3");
+		// evicted bean stores are destroyed in background
+		awaitDestroyed(t2);
+		assertTrue(t2.isDestroyed());
+		assertEquals("tenant-scope-eviction", t2.getDestroyThreadName());
+		assertFalse(t1.isDestroyed());
+		assertFalse(t3.isDestroyed());
+
+		TenantScopeManager.Statistics statistics = manager.getStatistics();
+		assertEquals(2, statistics.getLiveBeanStores());
+		assertEquals(3, statistics.getCreatedBeanStores());
+		assertEquals(1, statistics.getEvictedBeanStores());
+		assertEquals(1, statistics.getDestroyedBeanStores());
+
+		assertNotSame(t2, getBean("T2"));
+		awaitDestroyed(t1);
+		assertTrue(t1.isDestroyed());
+
+		manager.discardTenantBeanStore("T3");
+		assertTrue(t3.isDestroyed());
+
+		statistics = manager.getStatistics();
+		assertEquals(1, statistics.getLiveBeanStores());
+		assertEquals(2, statistics.getEvictedBeanStores());
+		assertEquals(3, statistics.getDestroyedBeanStores());
+	}
+
+	@Test
+	public void testIdleEviction() throws InterruptedException {
+
+		final TenantManagedBeanTest t1 = getBean("T1");
+		final TenantManagedBeanTest t2 = getBean("T2");
+
+		Thread.sleep(800);
+		assertSame(t2, getBean("T2"));
+		Thread.sleep(800);
+
+		assertSame(t2, getBean("T2"));
+		// idle eviction is performed in background
+		awaitDestroyed(t1);
+		assertTrue(t1.isDestroyed());
+		assertFalse(t2.isDestroyed());
+		assertEquals(1, manager.getStatistics().getLiveBeanStores());
+
+		assertNotSame(t1, getBean("T1"));
+	}
+
+}
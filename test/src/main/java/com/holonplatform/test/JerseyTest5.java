@@ -47,9 +47,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Handler;
 import java.util.logging.Level;
@@ -75,8 +77,10 @@ import org.glassfish.jersey.test.TestProperties;
 import org.glassfish.jersey.test.spi.TestContainer;
 import org.glassfish.jersey.test.spi.TestContainerException;
 import org.glassfish.jersey.test.spi.TestContainerFactory;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
 
 /**
  * Parent class for testing JAX-RS and Jersey-based applications using Jersey test framework and JUnit 5.
@@ -127,7 +131,15 @@ import org.junit.jupiter.api.BeforeEach;
  * <li>A Servlet-based deployment context, of type {@link ServletDeploymentContext}, compatible with Servlet-based test
  * containers.</li>
  * </ol>
- * 
+ * <p>
+ * By default, a new test container and a new test client are used for each test method. The
+ * <tt>{@value #CONTAINER_LIFECYCLE}</tt> property can be used to share the same test container and test client among
+ * the test methods of a test class ({@link ContainerLifecycle#PER_CLASS}) or among all the test classes which declare
+ * the same {@link #getSharedContainerKey() shared container key} ({@link ContainerLifecycle#PER_SUITE}), avoiding to
+ * start a new container for each test method. When the test container is shared, the {@link #resetState()} method is
+ * invoked after each test method to reset the state of the tested application and, unless a port is explicitly
+ * configured, the test container is started on a free port, so that more test classes can run in parallel.
+ * </p>
  */
 public abstract class JerseyTest5 {
 
@@ -141,6 +153,49 @@ public abstract class JerseyTest5 {
 	 */
 	private static Class<? extends TestContainerFactory> defaultTestContainerFactoryClass;
 
+	/**
+	 * Name of the property which can be used to configure the test container lifecycle. The property value must be
+	 * the name of a {@link ContainerLifecycle} constant, and it can be set using {@link #set(String, Object)} or
+	 * overridden with a system property. Default is {@link ContainerLifecycle#PER_METHOD}.
+	 */
+	public static final String CONTAINER_LIFECYCLE = "holon.test.container.lifecycle";
+
+	/**
+	 * Test container lifecycle modes.
+	 */
+	public enum ContainerLifecycle {
+
+		/**
+		 * A new test container and a new test client are created and started before each test method, and stopped
+		 * after each test method.
+		 */
+		PER_METHOD,
+
+		/**
+		 * The test container and the test client are created and started before the first test method of a test
+		 * class, shared by all the test methods of the class and stopped after the last one.
+		 */
+		PER_CLASS,
+
+		/**
+		 * The test container and the test client are created and started before the first test method of the first
+		 * test class which declares a {@link JerseyTest5#getSharedContainerKey() shared container key}, shared by all
+		 * the test classes which declare the same key and stopped at JVM shutdown.
+		 */
+		PER_SUITE
+
+	}
+
+	/**
+	 * Shared test containers bound to a test class, using the test class as key.
+	 */
+	private static final Map<Class<?>, SharedContainer> CLASS_CONTAINERS = new ConcurrentHashMap<>();
+
+	/**
+	 * Shared test containers bound to a test suite, using the shared container key as key.
+	 */
+	private static final Map<Object, SharedContainer> SUITE_CONTAINERS = new ConcurrentHashMap<>();
+
 	/**
 	 * Configured deployment context for the tested application.
 	 */
@@ -173,6 +228,11 @@ public abstract class JerseyTest5 {
 	private JerseyTestLogHandler logHandler;
 	private final Map<Logger, Level> logLevelMap = new IdentityHashMap<>();
 
+	/**
+	 * The shared test container used by the current test, if any.
+	 */
+	private SharedContainer sharedContainer;
+
 	/**
 	 * Initialize JerseyTest instance.
 	 * <p>
@@ -360,6 +420,51 @@ public abstract class JerseyTest5 {
 		return null;
 	}
 
+	/**
+	 * Get the test container lifecycle, using the <tt>{@value #CONTAINER_LIFECYCLE}</tt> property value if available.
+	 * This method can be overridden.
+	 *
+	 * @return the test container lifecycle, {@link ContainerLifecycle#PER_METHOD} by default.
+	 */
+	protected ContainerLifecycle getContainerLifecycle() {
+		final String value = getProperty(CONTAINER_LIFECYCLE);
+		if (value != null) {
+			try {
+				return ContainerLifecycle.valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+			} catch (final IllegalArgumentException e) {
+				LOGGER.log(Level.CONFIG, "Value of " + CONTAINER_LIFECYCLE + " property is not a valid lifecycle ["
+						+ value + "]." + " Reverting to default [" + ContainerLifecycle.PER_METHOD + "].", e);
+			}
+		}
+		return ContainerLifecycle.PER_METHOD;
+	}
+
+	/**
+	 * Get the key which identifies the test container shared by the test classes which use the
+	 * {@link ContainerLifecycle#PER_SUITE} lifecycle: the test classes which return the same key share the same test
+	 * container and test client, created using the deployment context and the client configuration of the first test
+	 * which runs. This method can be overridden.
+	 *
+	 * @return the shared container key, the test class by default.
+	 */
+	protected Object getSharedContainerKey() {
+		return getClass();
+	}
+
+	/**
+	 * Reset the state of the tested application between test methods when the test container is shared, i.e. when the
+	 * test container lifecycle is not {@link ContainerLifecycle#PER_METHOD}. This method is invoked after each test
+	 * method and can be overridden.
+	 * <p>
+	 * Default implementation of the method is "no-op".
+	 * </p>
+	 *
+	 * @throws Exception if an exception is thrown while resetting the state.
+	 */
+	protected void resetState() throws Exception {
+		// do nothing
+	}
+
 	private static String getSystemProperty(final String propertyName) {
 		final Properties systemProperties = AccessController.doPrivileged(PropertiesHelper.getSystemProperties());
 		return systemProperties.getProperty(propertyName);
@@ -566,6 +671,10 @@ public abstract class JerseyTest5 {
 	 * Set up the test by creating a test container instance, {@link TestContainer#start() starting} it and by creating
 	 * a new {@link #configureClient(org.glassfish.jersey.client.ClientConfig) pre-configured} test client. The test
 	 * container is obtained from the {@link #getTestContainerFactory() test container factory}.
+	 * <p>
+	 * When the test container is shared according to the {@link #getContainerLifecycle() container lifecycle}, the
+	 * shared test container and test client are used, creating and starting them only if not already available.
+	 * </p>
 	 *
 	 * @throws TestContainerException if the default test container factory cannot be obtained, or the test application
 	 *         deployment context is not supported by the test container factory.
@@ -577,6 +686,18 @@ public abstract class JerseyTest5 {
 			registerLogHandler();
 		}
 
+		final ContainerLifecycle lifecycle = getContainerLifecycle();
+		if (lifecycle != ContainerLifecycle.PER_METHOD) {
+			final SharedContainer shared = (lifecycle == ContainerLifecycle.PER_CLASS)
+					? CLASS_CONTAINERS.computeIfAbsent(getClass(), k -> new SharedContainer(false))
+					: SUITE_CONTAINERS.computeIfAbsent(getSharedContainerKey(), k -> new SharedContainer(true));
+			shared.start(this);
+			sharedContainer = shared;
+			setTestContainer(shared.container);
+			setClient(shared.client);
+			return;
+		}
+
 		final TestContainer testContainer = createTestContainer(context);
 
 		// Set current instance of test container and start it.
@@ -592,6 +713,10 @@ public abstract class JerseyTest5 {
 	 * {@link #getTestContainerFactory() test container factory} and by {@link javax.ws.rs.client.Client#close()
 	 * closing} and discarding the {@link #configureClient(org.glassfish.jersey.client.ClientConfig) pre-configured}
 	 * test client that was {@link #setUp() set up} for the test.
+	 * <p>
+	 * When the test container is shared, the test container and the test client are left running and the
+	 * {@link #resetState()} method is invoked instead.
+	 * </p>
 	 *
 	 * @throws Exception if an exception is thrown during tearing down the test environment.
 	 */
@@ -601,6 +726,17 @@ public abstract class JerseyTest5 {
 			unregisterLogHandler();
 		}
 
+		if (sharedContainer != null) {
+			try {
+				resetState();
+			} finally {
+				sharedContainer = null;
+				setTestContainer(null);
+				setClient(null);
+			}
+			return;
+		}
+
 		try {
 			TestContainer oldContainer = setTestContainer(null);
 			if (oldContainer != null) {
@@ -611,6 +747,17 @@ public abstract class JerseyTest5 {
 		}
 	}
 
+	/**
+	 * Stop the test container and close the test client shared by the test methods of a test class, if the test class
+	 * uses the {@link ContainerLifecycle#PER_CLASS} lifecycle.
+	 *
+	 * @param testInfo the test class information.
+	 */
+	@AfterAll
+	public static void releaseSharedContainer(final TestInfo testInfo) {
+		testInfo.getTestClass().map(CLASS_CONTAINERS::remove).ifPresent(SharedContainer::stop);
+	}
+
 	/**
 	 * Get the JAX-RS test client that is {@link #configureClient(org.glassfish.jersey.client.ClientConfig)
 	 * pre-configured} for this test. This method can be overridden.
@@ -673,7 +820,8 @@ public abstract class JerseyTest5 {
 	 * <p>
 	 * Prior to every test method run, a new client instance is configured and created using the client configuration
 	 * provided by the {@link org.glassfish.jersey.test.spi.TestContainer} as well as any internal {@code JerseyTest}
-	 * client configuration settings.
+	 * client configuration settings. When the test container is shared, the client instance is created only once along
+	 * with the test container and shared as well.
 	 * </p>
 	 * <p>
 	 * Before the actual client instance creation, Jersey test framework invokes this method in order to allow the
@@ -712,6 +860,12 @@ public abstract class JerseyTest5 {
 
 	/**
 	 * Get the port to be used for test application deployments.
+	 * <p>
+	 * If no port is configured using the {@link TestProperties#CONTAINER_PORT} property, the
+	 * {@link TestProperties#DEFAULT_CONTAINER_PORT} is used when the test container lifecycle is
+	 * {@link ContainerLifecycle#PER_METHOD}, while <code>0</code> is used otherwise to start the shared test container
+	 * on a free port.
+	 * </p>
 	 *
 	 * @return The HTTP port of the URI
 	 */
@@ -741,7 +895,7 @@ public abstract class JerseyTest5 {
 						e);
 			}
 		}
-		return TestProperties.DEFAULT_CONTAINER_PORT;
+		return (getContainerLifecycle() == ContainerLifecycle.PER_METHOD) ? TestProperties.DEFAULT_CONTAINER_PORT : 0;
 	}
 
 	/**
@@ -908,6 +1062,61 @@ public abstract class JerseyTest5 {
 		}
 	}
 
+	/**
+	 * A test container and a test client shared by more tests.
+	 */
+	private static final class SharedContainer {
+
+		private final boolean stopAtShutdown;
+
+		private volatile TestContainer container;
+		private volatile Client client;
+
+		private SharedContainer(final boolean stopAtShutdown) {
+			this.stopAtShutdown = stopAtShutdown;
+		}
+
+		/**
+		 * Create and start the test container and the test client using given test, if not already started.
+		 *
+		 * @param test the test.
+		 */
+		synchronized void start(final JerseyTest5 test) {
+			if (container != null) {
+				return;
+			}
+			final TestContainer testContainer = test.createTestContainer(test.context);
+			testContainer.start();
+			try {
+				client = test.getClient(testContainer.getClientConfig());
+			} catch (final RuntimeException e) {
+				testContainer.stop();
+				throw e;
+			}
+			container = testContainer;
+			if (stopAtShutdown) {
+				Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "jersey-test-container-shutdown"));
+			}
+		}
+
+		/**
+		 * Stop the test container and close the test client, if started.
+		 */
+		synchronized void stop() {
+			final TestContainer testContainer = container;
+			container = null;
+			try {
+				if (testContainer != null) {
+					testContainer.stop();
+				}
+			} finally {
+				closeIfNotNull(client);
+				client = null;
+			}
+		}
+
+	}
+
 	/**
 	 * Custom logging handler used to store log records produces during an invocation of a test.
 	 */